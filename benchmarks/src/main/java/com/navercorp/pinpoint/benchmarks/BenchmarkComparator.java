@@ -0,0 +1,255 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with {@code -rf csv} and reports the regressions.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar -rf csv -rff baseline.csv
+ * (apply the change and rebuild)
+ * java -jar benchmarks/target/benchmarks.jar -rf csv -rff current.csv
+ * java -cp benchmarks/target/benchmarks.jar com.navercorp.pinpoint.benchmarks.BenchmarkComparator baseline.csv current.csv 5
+ * </pre>
+ * A benchmark regresses when the score is worse than the baseline by more than threshold percent
+ * and the difference is larger than the sum of the score errors.
+ * The exit code is 1 if any benchmark regressed, so the comparison can gate a build.
+ */
+public class BenchmarkComparator {
+
+    static final double DEFAULT_THRESHOLD_PERCENT = 5.0;
+
+    private final double thresholdPercent;
+
+    public BenchmarkComparator(double thresholdPercent) {
+        if (thresholdPercent < 0) {
+            throw new IllegalArgumentException("thresholdPercent must be 'thresholdPercent >= 0'");
+        }
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparator <baseline.csv> <current.csv> [thresholdPercent]");
+            System.exit(2);
+            return;
+        }
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        final BenchmarkComparator comparator = new BenchmarkComparator(threshold);
+
+        final Map<String, Result> baseline = readCsv(Paths.get(args[0]));
+        final Map<String, Result> current = readCsv(Paths.get(args[1]));
+        final List<Comparison> comparisons = comparator.compare(baseline, current);
+        final int regressions = comparator.print(comparisons, System.out);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    public List<Comparison> compare(Map<String, Result> baseline, Map<String, Result> current) {
+        final List<Comparison> comparisons = new ArrayList<>(current.size());
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            final Result base = baseline.get(entry.getKey());
+            if (base == null) {
+                continue;
+            }
+            comparisons.add(compare(entry.getKey(), base, entry.getValue()));
+        }
+        return comparisons;
+    }
+
+    Comparison compare(String key, Result base, Result current) {
+        final double diff = current.score - base.score;
+        final double changePercent = base.score == 0 ? 0 : diff / base.score * 100;
+        // throughput: higher is better. time per operation: lower is better
+        final double worsePercent = base.isHigherBetter() ? -changePercent : changePercent;
+        final double error = safeError(base.error) + safeError(current.error);
+        final boolean regression = worsePercent > thresholdPercent && Math.abs(diff) > error;
+        return new Comparison(key, base, current, changePercent, regression);
+    }
+
+    private static double safeError(double error) {
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    int print(List<Comparison> comparisons, PrintStream out) {
+        int regressions = 0;
+        out.printf(Locale.ROOT, "%-90s %14s %14s %9s %s%n", "Benchmark", "Baseline", "Current", "Change", "Unit");
+        for (Comparison comparison : comparisons) {
+            final String mark = comparison.regression ? "  REGRESSION" : "";
+            out.printf(Locale.ROOT, "%-90s %14.3f %14.3f %+8.2f%% %s%s%n", comparison.key,
+                    comparison.base.score, comparison.current.score, comparison.changePercent, comparison.current.unit, mark);
+            if (comparison.regression) {
+                regressions++;
+            }
+        }
+        out.printf(Locale.ROOT, "%d benchmarks, %d regressions (threshold %.1f%%)%n", comparisons.size(), regressions, thresholdPercent);
+        return regressions;
+    }
+
+    static Map<String, Result> readCsv(Path path) throws IOException {
+        final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        final Map<String, Result> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+        final List<String> header = parseCsvLine(lines.get(0));
+        final int benchmarkIndex = header.indexOf("Benchmark");
+        final int modeIndex = header.indexOf("Mode");
+        final int scoreIndex = header.indexOf("Score");
+        final int unitIndex = header.indexOf("Unit");
+        final int errorIndex = findErrorIndex(header);
+        if (benchmarkIndex == -1 || modeIndex == -1 || scoreIndex == -1 || unitIndex == -1) {
+            throw new IOException("not a JMH csv result:" + path);
+        }
+
+        for (int i = 1; i < lines.size(); i++) {
+            final String line = lines.get(i);
+            if (line.isEmpty()) {
+                continue;
+            }
+            final List<String> columns = parseCsvLine(line);
+            // the secondary results of -prof gc are separate rows. their benchmark name has a suffix (ex. :gc.alloc.rate)
+            final StringBuilder key = new StringBuilder(columns.get(benchmarkIndex));
+            for (int column = 0; column < header.size(); column++) {
+                final String name = header.get(column);
+                if (name.startsWith("Param: ") && column < columns.size() && !columns.get(column).isEmpty()) {
+                    key.append(':').append(name.substring("Param: ".length())).append('=').append(columns.get(column));
+                }
+            }
+            final String mode = columns.get(modeIndex);
+            key.append(" (").append(mode).append(')');
+
+            final double score = parseDouble(columns.get(scoreIndex));
+            final double error = errorIndex == -1 ? Double.NaN : parseDouble(columns.get(errorIndex));
+            results.put(key.toString(), new Result(mode, score, error, columns.get(unitIndex)));
+        }
+        return results;
+    }
+
+    private static int findErrorIndex(List<String> header) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).startsWith("Score Error")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double parseDouble(String value) {
+        if (value.isEmpty()) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(value);
+    }
+
+    static List<String> parseCsvLine(String line) {
+        final List<String> columns = new ArrayList<>();
+        final StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        column.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    column.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    public static class Result {
+        private final String mode;
+        private final double score;
+        private final double error;
+        private final String unit;
+
+        public Result(String mode, double score, double error, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        boolean isHigherBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "mode='" + mode + '\'' +
+                    ", score=" + score +
+                    ", error=" + error +
+                    ", unit='" + unit + '\'' +
+                    '}';
+        }
+    }
+
+    public static class Comparison {
+        private final String key;
+        private final Result base;
+        private final Result current;
+        private final double changePercent;
+        private final boolean regression;
+
+        Comparison(String key, Result base, Result current, double changePercent, boolean regression) {
+            this.key = key;
+            this.base = base;
+            this.current = current;
+            this.changePercent = changePercent;
+            this.regression = regression;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public double getChangePercent() {
+            return changePercent;
+        }
+
+        public boolean isRegression() {
+            return regression;
+        }
+    }
+}
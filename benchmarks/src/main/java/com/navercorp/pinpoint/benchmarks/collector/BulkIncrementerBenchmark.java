@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.benchmarks.collector;
+
+import com.google.common.util.concurrent.AtomicLongMap;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementer;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.CallRowKey;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.ColumnName;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.DefaultRowInfo;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.ResponseColumnName;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowInfo;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKey;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKeyMerge;
+import com.navercorp.pinpoint.collector.util.AtomicLongMapUtils;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics increment of the collector. {@link BulkIncrementer} against the previous single AtomicLongMap implementation.
+ * Run with several threads to measure the contention.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar BulkIncrementerBenchmark -t 8 -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkIncrementerBenchmark {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("ApplicationStatisticsSelf");
+    private static final int ROW_SIZE = 64;
+    private static final int COLUMN_SIZE = 16;
+
+    private final RowKey[] rowKeys = new RowKey[ROW_SIZE];
+    private final ColumnName[] columnNames = new ColumnName[COLUMN_SIZE];
+
+    private BulkIncrementer bulkIncrementer;
+    private AtomicLongMapIncrementer atomicLongMapIncrementer;
+
+    @Setup
+    public void setup() {
+        final long timeSlot = System.currentTimeMillis();
+        for (int i = 0; i < ROW_SIZE; i++) {
+            rowKeys[i] = new CallRowKey("application-" + i, (short) 1010, timeSlot);
+        }
+        for (int i = 0; i < COLUMN_SIZE; i++) {
+            columnNames[i] = new ResponseColumnName("agent-" + i, (short) (i % 5));
+        }
+        final RowKeyMerge rowKeyMerge = new RowKeyMerge(Bytes.toBytes("C"));
+        this.bulkIncrementer = new BulkIncrementer(rowKeyMerge);
+        this.atomicLongMapIncrementer = new AtomicLongMapIncrementer(rowKeyMerge);
+    }
+
+    /**
+     * the collector flushes every second. clear the counters to keep the map size bounded
+     */
+    @TearDown(Level.Iteration)
+    public void flush() {
+        bulkIncrementer.getIncrements(null);
+        atomicLongMapIncrementer.getIncrements();
+    }
+
+    @Benchmark
+    public void bulkIncrementer() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        bulkIncrementer.increment(TABLE_NAME, rowKeys[random.nextInt(ROW_SIZE)], columnNames[random.nextInt(COLUMN_SIZE)]);
+    }
+
+    @Benchmark
+    public void atomicLongMap() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        atomicLongMapIncrementer.increment(TABLE_NAME, rowKeys[random.nextInt(ROW_SIZE)], columnNames[random.nextInt(COLUMN_SIZE)]);
+    }
+
+    /**
+     * previous BulkIncrementer
+     */
+    private static class AtomicLongMapIncrementer {
+        private final RowKeyMerge rowKeyMerge;
+        private final AtomicLongMap<RowInfo> counter = AtomicLongMap.create();
+
+        private AtomicLongMapIncrementer(RowKeyMerge rowKeyMerge) {
+            this.rowKeyMerge = rowKeyMerge;
+        }
+
+        private void increment(TableName tableName, RowKey rowKey, ColumnName columnName) {
+            RowInfo rowInfo = new DefaultRowInfo(tableName, rowKey, columnName);
+            counter.incrementAndGet(rowInfo);
+        }
+
+        private Map<TableName, List<Increment>> getIncrements() {
+            final Map<RowInfo, Long> snapshot = AtomicLongMapUtils.remove(counter);
+            return rowKeyMerge.createBulkIncrement(snapshot, null);
+        }
+    }
+}
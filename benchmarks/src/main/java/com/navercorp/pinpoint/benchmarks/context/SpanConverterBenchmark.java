@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.benchmarks.context;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.compress.GrpcSpanProcessorV2;
+import com.navercorp.pinpoint.profiler.context.compress.SpanProcessorV1;
+import com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanMessageConverter;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.Shared;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.context.thrift.DefaultTransactionIdEncoder;
+import com.navercorp.pinpoint.profiler.context.thrift.SpanThriftMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span to wire message conversion on the sender thread.
+ * The converters sort and compact the span events in place, so a new span is built for every invocation.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar SpanConverterBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpanConverterBenchmark {
+
+    private static final String APPLICATION_NAME = "applicationName";
+    private static final String AGENT_ID = "agentId";
+    private static final long AGENT_START_TIME = System.currentTimeMillis();
+
+    @Param({"1", "16", "64"})
+    public int spanEventSize;
+
+    private SpanThriftMessageConverter thriftConverter;
+    private GrpcSpanMessageConverter grpcConverter;
+
+    private Span span;
+
+    @Setup
+    public void setup() {
+        final short serviceType = ServiceType.STAND_ALONE.getCode();
+        final DefaultTransactionIdEncoder transactionIdEncoder = new DefaultTransactionIdEncoder(AGENT_ID, AGENT_START_TIME);
+        this.thriftConverter = new SpanThriftMessageConverter(APPLICATION_NAME, AGENT_ID, AGENT_START_TIME, serviceType,
+                transactionIdEncoder, new SpanProcessorV1());
+        this.grpcConverter = new GrpcSpanMessageConverter(AGENT_ID, serviceType, new GrpcSpanProcessorV2());
+    }
+
+    @Setup(Level.Invocation)
+    public void newSpan() {
+        final long startTime = System.currentTimeMillis();
+        final TraceId traceId = new DefaultTraceId(AGENT_ID, AGENT_START_TIME, 1L);
+        final TraceRoot traceRoot = new DefaultTraceRoot(traceId, AGENT_ID, startTime, 1L);
+        final Shared shared = traceRoot.getShared();
+        shared.setRpcName("/api/orders");
+        shared.setEndPoint("localhost:8080");
+        shared.setStatusCode(200);
+
+        final Span span = new Span(traceRoot);
+        span.setStartTime(startTime);
+        span.setElapsedTime(spanEventSize * 2);
+        span.setServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setApiId(1);
+        span.setRemoteAddr("127.0.0.1");
+        span.addAnnotation(new Annotation(AnnotationKey.HTTP_URL.getCode(), "/api/orders?id=1"));
+
+        final List<SpanEvent> spanEventList = new ArrayList<SpanEvent>(spanEventSize);
+        for (int i = 0; i < spanEventSize; i++) {
+            final SpanEvent spanEvent = new SpanEvent();
+            spanEvent.setSequence((short) i);
+            spanEvent.setDepth(i % 8 + 1);
+            spanEvent.setStartTime(startTime + i);
+            spanEvent.setElapsedTime(1);
+            spanEvent.setServiceType(ServiceType.INTERNAL_METHOD.getCode());
+            spanEvent.setApiId(i + 10);
+            spanEvent.addAnnotation(new Annotation(AnnotationKey.ARGS0.getCode(), "arg" + i));
+            spanEventList.add(spanEvent);
+        }
+        span.setSpanEventList(spanEventList);
+        this.span = span;
+    }
+
+    @Benchmark
+    public Object thrift() {
+        return thriftConverter.toMessage(span);
+    }
+
+    @Benchmark
+    public Object grpc() {
+        return grpcConverter.toMessage(span);
+    }
+}
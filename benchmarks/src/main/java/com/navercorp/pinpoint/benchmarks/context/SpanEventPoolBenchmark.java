@@ -0,0 +1,191 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.benchmarks.context;
+
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.CallStack;
+import com.navercorp.pinpoint.profiler.context.CallStackFactoryV1;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanEventPool;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanFactory;
+import com.navercorp.pinpoint.profiler.context.DefaultTrace;
+import com.navercorp.pinpoint.profiler.context.EmptySpanEventPool;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHandle;
+import com.navercorp.pinpoint.profiler.context.compress.SpanProcessorV1;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.context.recorder.DefaultSpanRecorder;
+import com.navercorp.pinpoint.profiler.context.recorder.WrappedSpanEventRecorder;
+import com.navercorp.pinpoint.profiler.context.storage.BufferedStorage;
+import com.navercorp.pinpoint.profiler.context.thrift.DefaultTransactionIdEncoder;
+import com.navercorp.pinpoint.profiler.context.thrift.SpanThriftMessageConverter;
+import com.navercorp.pinpoint.profiler.metadata.DefaultSqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.DefaultStringMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.SimpleCache;
+import com.navercorp.pinpoint.profiler.metadata.SqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.StringMetaDataService;
+import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.EmptyDataSender;
+import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span event recording with and without the {@link DefaultSpanEventPool}.
+ * A whole trace is recorded per invocation, and the span chunks and the span are converted to thrift on the calling thread,
+ * so the pooled events are released and reused in the same loop as the sender thread does.
+ * Compare gc.alloc.rate.norm of the two pool types.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar SpanEventPoolBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpanEventPoolBenchmark {
+
+    private static final String APPLICATION_NAME = "applicationName";
+    private static final String AGENT_ID = "agentId";
+    private static final long AGENT_START_TIME = System.currentTimeMillis();
+    private static final int API_ID = 100;
+    private static final int BUFFER_SIZE = 20;
+
+    /**
+     * EMPTY : plain allocation (profiler.span.event.recycle.enable=false), POOLED : {@link DefaultSpanEventPool}
+     */
+    @Param({"EMPTY", "POOLED"})
+    public String poolType;
+
+    /**
+     * span events per trace
+     */
+    @Param({"8", "64"})
+    public int spanEventSize;
+
+    private SpanEventPool spanEventPool;
+    private CallStackFactoryV1 callStackFactory;
+    private ConvertDataSender dataSender;
+    private StringMetaDataService stringMetaDataService;
+    private SqlMetaDataService sqlMetaDataService;
+    private long transactionId;
+
+    @Setup
+    public void setup() {
+        this.spanEventPool = newSpanEventPool(poolType);
+        this.callStackFactory = new CallStackFactoryV1(64, spanEventPool);
+
+        final DefaultTransactionIdEncoder transactionIdEncoder = new DefaultTransactionIdEncoder(AGENT_ID, AGENT_START_TIME);
+        final SpanThriftMessageConverter messageConverter = new SpanThriftMessageConverter(APPLICATION_NAME, AGENT_ID, AGENT_START_TIME,
+                ServiceType.STAND_ALONE.getCode(), transactionIdEncoder, new SpanProcessorV1(), spanEventPool);
+        this.dataSender = new ConvertDataSender(messageConverter);
+
+        final EnhancedDataSender<Object> metaDataSender = emptyDataSender();
+        this.stringMetaDataService = new DefaultStringMetaDataService(metaDataSender, newCache());
+        this.sqlMetaDataService = new DefaultSqlMetaDataService(metaDataSender, newCache());
+    }
+
+    private static SpanEventPool newSpanEventPool(String poolType) {
+        if ("POOLED".equals(poolType)) {
+            return new DefaultSpanEventPool(8192, 1);
+        }
+        return EmptySpanEventPool.INSTANCE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EnhancedDataSender<Object> emptyDataSender() {
+        return (EnhancedDataSender<Object>) EmptyDataSender.INSTANCE;
+    }
+
+    private static SimpleCache<String> newCache() {
+        return new SimpleCache<String>(new SimpleCache.BypassTransformer(), 1024);
+    }
+
+    @Benchmark
+    public void recordTrace(Blackhole blackhole) {
+        final Trace trace = newTrace();
+        final int spanEventSize = this.spanEventSize;
+        for (int i = 0; i < spanEventSize; i++) {
+            final SpanEventRecorder recorder = trace.traceBlockBegin();
+            recorder.recordServiceType(ServiceType.INTERNAL_METHOD);
+            recorder.recordApiId(API_ID);
+            trace.traceBlockEnd();
+        }
+        trace.close();
+        blackhole.consume(dataSender.lastMessage);
+    }
+
+    private Trace newTrace() {
+        final TraceId traceId = new DefaultTraceId(AGENT_ID, AGENT_START_TIME, transactionId++);
+        final TraceRoot traceRoot = new DefaultTraceRoot(traceId, AGENT_ID, AGENT_START_TIME, transactionId);
+
+        final CallStack<SpanEvent> callStack = callStackFactory.newCallStack();
+        final Span span = new DefaultSpanFactory().newSpan(traceRoot);
+        final BufferedStorage storage = new BufferedStorage(new DefaultSpanChunkFactory(traceRoot), dataSender, BUFFER_SIZE, spanEventPool);
+
+        final SpanRecorder spanRecorder = new DefaultSpanRecorder(span, true, true, stringMetaDataService, sqlMetaDataService);
+        final WrappedSpanEventRecorder spanEventRecorder = new WrappedSpanEventRecorder(traceRoot, new TraceBenchmark.UnsupportedAsyncContextFactory(), stringMetaDataService, sqlMetaDataService);
+
+        return new DefaultTrace(span, callStack, storage, true, spanRecorder, spanEventRecorder, ActiveTraceHandle.EMPTY_HANDLE);
+    }
+
+    /**
+     * Converts on the calling thread. the converter releases the span events to the pool.
+     */
+    private static class ConvertDataSender implements DataSender<Object> {
+
+        private final SpanThriftMessageConverter messageConverter;
+        private Object lastMessage;
+
+        private ConvertDataSender(SpanThriftMessageConverter messageConverter) {
+            this.messageConverter = messageConverter;
+        }
+
+        @Override
+        public boolean send(Object data) {
+            this.lastMessage = messageConverter.toMessage(data);
+            return true;
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
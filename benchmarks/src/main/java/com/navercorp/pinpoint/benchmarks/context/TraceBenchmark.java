@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.benchmarks.context;
+
+import com.navercorp.pinpoint.bootstrap.context.AsyncContext;
+import com.navercorp.pinpoint.bootstrap.context.AsyncState;
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.AsyncContextFactory;
+import com.navercorp.pinpoint.profiler.context.AsyncId;
+import com.navercorp.pinpoint.profiler.context.CallStack;
+import com.navercorp.pinpoint.profiler.context.CallStackFactoryV1;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanFactory;
+import com.navercorp.pinpoint.profiler.context.DefaultTrace;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHandle;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.context.recorder.DefaultSpanRecorder;
+import com.navercorp.pinpoint.profiler.context.recorder.WrappedSpanEventRecorder;
+import com.navercorp.pinpoint.profiler.context.storage.Storage;
+import com.navercorp.pinpoint.profiler.metadata.DefaultSqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.DefaultStringMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.SimpleCache;
+import com.navercorp.pinpoint.profiler.metadata.SqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.StringMetaDataService;
+import com.navercorp.pinpoint.profiler.sender.EmptyDataSender;
+import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a traced method call. traceBlockBegin()/traceBlockEnd() pair of {@link DefaultTrace}.
+ * The storage discards the span events, so the cost of the sender thread is not included.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar TraceBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceBenchmark {
+
+    private static final String AGENT_ID = "agentId";
+    private static final long AGENT_START_TIME = System.currentTimeMillis();
+    private static final int API_ID = 100;
+
+    /**
+     * nested method calls per trace
+     */
+    @Param({"1", "8", "32"})
+    public int depth;
+
+    private Trace trace;
+
+    @Setup
+    public void setup() {
+        final TraceId traceId = new DefaultTraceId(AGENT_ID, AGENT_START_TIME, 1L);
+        final TraceRoot traceRoot = new DefaultTraceRoot(traceId, AGENT_ID, AGENT_START_TIME, 1L);
+
+        final CallStack<SpanEvent> callStack = new CallStackFactoryV1(64).newCallStack();
+        final Span span = new DefaultSpanFactory().newSpan(traceRoot);
+
+        final EnhancedDataSender<Object> dataSender = emptyDataSender();
+        final StringMetaDataService stringMetaDataService = new DefaultStringMetaDataService(dataSender, newCache());
+        final SqlMetaDataService sqlMetaDataService = new DefaultSqlMetaDataService(dataSender, newCache());
+
+        final SpanRecorder spanRecorder = new DefaultSpanRecorder(span, true, true, stringMetaDataService, sqlMetaDataService);
+        final WrappedSpanEventRecorder spanEventRecorder = new WrappedSpanEventRecorder(traceRoot, new UnsupportedAsyncContextFactory(), stringMetaDataService, sqlMetaDataService);
+
+        this.trace = new DefaultTrace(span, callStack, new DiscardStorage(), true, spanRecorder, spanEventRecorder, ActiveTraceHandle.EMPTY_HANDLE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EnhancedDataSender<Object> emptyDataSender() {
+        return (EnhancedDataSender<Object>) EmptyDataSender.INSTANCE;
+    }
+
+    private static SimpleCache<String> newCache() {
+        return new SimpleCache<String>(new SimpleCache.BypassTransformer(), 1024);
+    }
+
+    /**
+     * depth nested traced methods
+     */
+    @Benchmark
+    public void traceBlock(Blackhole blackhole) {
+        final Trace trace = this.trace;
+        final int depth = this.depth;
+        for (int i = 0; i < depth; i++) {
+            final SpanEventRecorder recorder = trace.traceBlockBegin();
+            recorder.recordServiceType(ServiceType.INTERNAL_METHOD);
+            recorder.recordApiId(API_ID);
+            blackhole.consume(recorder);
+        }
+        for (int i = 0; i < depth; i++) {
+            trace.traceBlockEnd();
+        }
+    }
+
+    private static class DiscardStorage implements Storage {
+        @Override
+        public void store(SpanEvent spanEvent) {
+        }
+
+        @Override
+        public void store(Span span) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    static class UnsupportedAsyncContextFactory implements AsyncContextFactory {
+        @Override
+        public AsyncId newAsyncId() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncContext newAsyncContext(TraceRoot traceRoot, AsyncId asyncId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncContext newAsyncContext(TraceRoot traceRoot, AsyncId asyncId, AsyncState asyncState) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
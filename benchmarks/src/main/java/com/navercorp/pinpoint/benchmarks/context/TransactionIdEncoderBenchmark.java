@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.benchmarks.context;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.TransactionIdEncoder;
+import com.navercorp.pinpoint.profiler.context.thrift.DefaultTransactionIdEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction id encoding of {@link DefaultTransactionIdEncoder}.
+ * The prefix of the local agent is cached. The transaction id of a remote agent is fully encoded.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar TransactionIdEncoderBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionIdEncoderBenchmark {
+
+    private static final String AGENT_ID = "order-api-0123456789";
+    private static final long AGENT_START_TIME = System.currentTimeMillis();
+
+    private TransactionIdEncoder transactionIdEncoder;
+
+    private TraceId localTraceId;
+    private TraceId restartedAgentTraceId;
+    private TraceId remoteTraceId;
+
+    @Setup
+    public void setup() {
+        this.transactionIdEncoder = new DefaultTransactionIdEncoder(AGENT_ID, AGENT_START_TIME);
+
+        this.localTraceId = new DefaultTraceId(AGENT_ID, AGENT_START_TIME, 1234567L);
+        this.restartedAgentTraceId = new DefaultTraceId(AGENT_ID, AGENT_START_TIME - 60000, 1234567L);
+        this.remoteTraceId = new DefaultTraceId("payment-api-9876543210", AGENT_START_TIME - 60000, 1234567L);
+    }
+
+    @Benchmark
+    public ByteBuffer localAgent() {
+        return transactionIdEncoder.encodeTransactionId(localTraceId);
+    }
+
+    @Benchmark
+    public ByteBuffer restartedAgent() {
+        return transactionIdEncoder.encodeTransactionId(restartedAgentTraceId);
+    }
+
+    @Benchmark
+    public ByteBuffer remoteAgent() {
+        return transactionIdEncoder.encodeTransactionId(remoteTraceId);
+    }
+}
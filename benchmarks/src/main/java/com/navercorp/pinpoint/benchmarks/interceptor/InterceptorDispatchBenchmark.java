@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.benchmarks.interceptor;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.AroundInterceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.AroundInterceptor1;
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistryAdaptor;
+import com.navercorp.pinpoint.profiler.interceptor.registry.DefaultInterceptorRegistryBinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor dispatch of the instrumented method.
+ * The benchmark methods mimic the bytecode injected by the instrumentation engine:
+ * the interceptor is looked up from {@link InterceptorRegistry} by id and invoked around the original method.
+ * The interceptors do nothing, so the score is the dispatch cost only. directCall is the uninstrumented method.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar InterceptorDispatchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorDispatchBenchmark {
+
+    private DefaultInterceptorRegistryBinder interceptorRegistryBinder;
+
+    private int aroundInterceptorId;
+    private int aroundInterceptor1Id;
+
+    private String arg = "arg";
+
+    @Setup
+    public void setup() {
+        this.interceptorRegistryBinder = new DefaultInterceptorRegistryBinder();
+        this.interceptorRegistryBinder.bind();
+
+        final InterceptorRegistryAdaptor registryAdaptor = interceptorRegistryBinder.getInterceptorRegistryAdaptor();
+        // fill the registry like an application with many instrumented methods
+        for (int i = 0; i < 1000; i++) {
+            registryAdaptor.addInterceptor(new EmptyAroundInterceptor());
+        }
+        this.aroundInterceptorId = registryAdaptor.addInterceptor(new EmptyAroundInterceptor());
+        this.aroundInterceptor1Id = registryAdaptor.addInterceptor(new EmptyAroundInterceptor1());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.interceptorRegistryBinder.unbind();
+    }
+
+    private String targetMethod(String arg) {
+        return arg;
+    }
+
+    @Benchmark
+    public Object directCall() {
+        return targetMethod(arg);
+    }
+
+    /**
+     * AroundInterceptor. the arguments are boxed into Object[]
+     */
+    @Benchmark
+    public Object aroundInterceptor() {
+        final Object[] args = new Object[]{arg};
+        final Interceptor interceptor = InterceptorRegistry.getInterceptor(aroundInterceptorId);
+        ((AroundInterceptor) interceptor).before(this, args);
+        Object result = null;
+        Throwable throwable = null;
+        try {
+            result = targetMethod(arg);
+            return result;
+        } catch (RuntimeException e) {
+            throwable = e;
+            throw e;
+        } finally {
+            ((AroundInterceptor) interceptor).after(this, args, result, throwable);
+        }
+    }
+
+    /**
+     * AroundInterceptor1. the argument is passed without allocation
+     */
+    @Benchmark
+    public Object aroundInterceptor1() {
+        final Interceptor interceptor = InterceptorRegistry.getInterceptor(aroundInterceptor1Id);
+        ((AroundInterceptor1) interceptor).before(this, arg);
+        Object result = null;
+        Throwable throwable = null;
+        try {
+            result = targetMethod(arg);
+            return result;
+        } catch (RuntimeException e) {
+            throwable = e;
+            throw e;
+        } finally {
+            ((AroundInterceptor1) interceptor).after(this, arg, result, throwable);
+        }
+    }
+
+    private static class EmptyAroundInterceptor implements AroundInterceptor {
+        @Override
+        public void before(Object target, Object[] args) {
+        }
+
+        @Override
+        public void after(Object target, Object[] args, Object result, Throwable throwable) {
+        }
+    }
+
+    private static class EmptyAroundInterceptor1 implements AroundInterceptor1 {
+        @Override
+        public void before(Object target, Object arg0) {
+        }
+
+        @Override
+        public void after(Object target, Object arg0, Object result, Throwable throwable) {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.benchmarks.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.DefaultActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.id.AtomicIdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ReuseResponseTimeCollector;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
+import com.navercorp.pinpoint.profiler.sampler.BasicTraceSampler;
+import com.navercorp.pinpoint.profiler.sampler.SamplingRateSampler;
+import com.navercorp.pinpoint.profiler.sampler.SamplingRuleTable;
+import com.navercorp.pinpoint.profiler.sampler.TrueSampler;
+import com.navercorp.pinpoint.profiler.sampler.UrlPathTraceSampler;
+import com.navercorp.pinpoint.profiler.sampler.UrlTraceSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampling decision at the entry point of every transaction.
+ * The samplers share their counters between threads. Use -t to measure the contention.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar SamplerBenchmark -t 8
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SamplerBenchmark {
+
+    private static final String SAMPLING_RULES = "/health=0, /static/**=0, regex:/api/v[0-9]+/orders/.*=10, /api/payments=1";
+
+    private Sampler trueSampler;
+    private Sampler samplingRateSampler;
+    private Sampler adaptiveSampler;
+
+    private TraceSampler basicTraceSampler;
+    private UrlPathTraceSampler urlTraceSampler;
+
+    @Setup
+    public void setup() {
+        this.trueSampler = new TrueSampler();
+        this.samplingRateSampler = new SamplingRateSampler(20);
+
+        final ResponseTimeCollector responseTimeCollector = new ReuseResponseTimeCollector();
+        final ActiveTraceRepository activeTraceRepository = new DefaultActiveTraceRepository(responseTimeCollector);
+        this.adaptiveSampler = new AdaptiveSampler(100, 2, 1000, activeTraceRepository, responseTimeCollector);
+
+        final IdGenerator idGenerator = new AtomicIdGenerator();
+        this.basicTraceSampler = new BasicTraceSampler(idGenerator, samplingRateSampler);
+        this.urlTraceSampler = new UrlTraceSampler(idGenerator, basicTraceSampler, SamplingRuleTable.parse(SAMPLING_RULES));
+    }
+
+    @Benchmark
+    public boolean trueSampler() {
+        return trueSampler.isSampling();
+    }
+
+    @Benchmark
+    public boolean samplingRateSampler() {
+        return samplingRateSampler.isSampling();
+    }
+
+    @Benchmark
+    public boolean adaptiveSampler() {
+        return adaptiveSampler.isSampling();
+    }
+
+    @Benchmark
+    public TraceSampler.State basicTraceSampler() {
+        return basicTraceSampler.isNewSampled();
+    }
+
+    /**
+     * regex rule. the match result is cached after the first request
+     */
+    @Benchmark
+    public TraceSampler.State urlTraceSampler_rule() {
+        return urlTraceSampler.isNewSampled("/api/v2/orders/1234");
+    }
+
+    @Benchmark
+    public TraceSampler.State urlTraceSampler_noRule() {
+        return urlTraceSampler.isNewSampled("/api/products");
+    }
+}
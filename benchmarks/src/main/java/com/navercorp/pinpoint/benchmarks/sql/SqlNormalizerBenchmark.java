@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.benchmarks.sql;
+
+import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.common.profiler.sql.CharArraySqlParser;
+import com.navercorp.pinpoint.common.profiler.sql.DefaultSqlParser;
+import com.navercorp.pinpoint.common.profiler.sql.NormalizedSql;
+import com.navercorp.pinpoint.common.profiler.sql.SqlParser;
+import com.navercorp.pinpoint.profiler.metadata.DefaultCachingSqlNormalizer;
+import com.navercorp.pinpoint.profiler.metadata.SimpleCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalization cost of the sql generated by ORM frameworks.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar SqlNormalizerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlNormalizerBenchmark {
+
+    // hibernate. bind variables only. the normalized sql is the original sql
+    private static final String HIBERNATE = "select order0_.id as id1_3_0_, order0_.created_at as created_2_3_0_, " +
+            "order0_.customer_id as customer5_3_0_, order0_.status as status3_3_0_, order0_.total_amount as total_am4_3_0_, " +
+            "customer1_.id as id1_1_1_, customer1_.email as email2_1_1_, customer1_.name as name3_1_1_ " +
+            "from orders order0_ left outer join customer customer1_ on order0_.customer_id=customer1_.id " +
+            "where order0_.status=? and order0_.created_at>=? order by order0_.created_at desc limit ?";
+
+    // mybatis ${} substitution. string and number literals
+    private static final String MYBATIS_LITERAL = "SELECT p.product_id, p.name, p.price, s.quantity FROM product p " +
+            "INNER JOIN stock s ON s.product_id = p.product_id " +
+            "WHERE p.category_id = 1024 AND p.name LIKE 'pinpoint%' AND p.price BETWEEN 10.5 AND 200 " +
+            "AND s.warehouse = 'seoul-01' /* product.findByCategory */ ORDER BY p.price LIMIT 20 OFFSET 40";
+
+    // jpa in-list expansion of literals
+    private static final String IN_LIST = "update account set status='DORMANT', updated_at=now() " +
+            "where account_id in (1001, 1002, 1003, 1004, 1005, 1006, 1007, 1008, 1009, 1010, 1011, 1012, 1013, 1014, 1015, 1016) " +
+            "and last_login < '2020-01-01 00:00:00'";
+
+    @Param({"HIBERNATE", "MYBATIS_LITERAL", "IN_LIST"})
+    public String sqlType;
+
+    private String sql;
+
+    private final SqlParser defaultSqlParser = new DefaultSqlParser();
+    private final SqlParser charArraySqlParser = new CharArraySqlParser();
+
+    private DefaultCachingSqlNormalizer cachingNormalizer;
+    private DefaultCachingSqlNormalizer parsingResultCachingNormalizer;
+
+    @Setup
+    public void setup() {
+        this.sql = getSql(sqlType);
+
+        this.cachingNormalizer = new DefaultCachingSqlNormalizer(newCache());
+        this.parsingResultCachingNormalizer = new DefaultCachingSqlNormalizer(newCache(), 1024, 0);
+    }
+
+    private static SimpleCache<String> newCache() {
+        return new SimpleCache<String>(new SimpleCache.BypassTransformer(), 1024);
+    }
+
+    private static String getSql(String sqlType) {
+        if ("HIBERNATE".equals(sqlType)) {
+            return HIBERNATE;
+        }
+        if ("MYBATIS_LITERAL".equals(sqlType)) {
+            return MYBATIS_LITERAL;
+        }
+        if ("IN_LIST".equals(sqlType)) {
+            return IN_LIST;
+        }
+        throw new IllegalArgumentException("unknown sqlType:" + sqlType);
+    }
+
+    @Benchmark
+    public NormalizedSql defaultSqlParser() {
+        return defaultSqlParser.normalizedSql(sql);
+    }
+
+    @Benchmark
+    public NormalizedSql charArraySqlParser() {
+        return charArraySqlParser.normalizedSql(sql);
+    }
+
+    /**
+     * every execution normalizes the sql before the sql cache lookup
+     */
+    @Benchmark
+    public ParsingResult cachingSqlNormalizer() {
+        final ParsingResult parsingResult = cachingNormalizer.wrapSql(sql);
+        cachingNormalizer.normalizedSql(parsingResult);
+        return parsingResult;
+    }
+
+    /**
+     * fast path. the parsing result of the original sql is reused
+     */
+    @Benchmark
+    public ParsingResult cachingSqlNormalizer_parsingResultCache() {
+        final ParsingResult parsingResult = parsingResultCachingNormalizer.wrapSql(sql);
+        parsingResultCachingNormalizer.normalizedSql(parsingResult);
+        return parsingResult;
+    }
+}
@@ -33,6 +33,14 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
     private int collectorTcpServerPort = 9994;
 
     private int spanDataSenderWriteQueueSize = 1024 * 5;
+    private static String DEFAULT_DATA_SENDER_WRITE_QUEUE_TYPE = "LINKED";
+    private String spanDataSenderWriteQueueType = DEFAULT_DATA_SENDER_WRITE_QUEUE_TYPE;
+    private static String DEFAULT_DATA_SENDER_WRITE_QUEUE_WAIT_STRATEGY = "PARK";
+    private String spanDataSenderWriteQueueWaitStrategy = DEFAULT_DATA_SENDER_WRITE_QUEUE_WAIT_STRATEGY;
+    private static int DEFAULT_DATA_SENDER_WRITE_DRAIN_SIZE = 10;
+    private int spanDataSenderWriteDrainSizeMin = DEFAULT_DATA_SENDER_WRITE_DRAIN_SIZE;
+    private int spanDataSenderWriteDrainSizeMax = DEFAULT_DATA_SENDER_WRITE_DRAIN_SIZE;
+    private long spanDataSenderWriteLingerTime = 0;
     private int spanDataSenderSocketSendBufferSize = 1024 * 64 * 16;
     private int spanDataSenderSocketTimeout = 1000 * 3;
     private int spanDataSenderChunkSize = 1024 * 16;
@@ -44,6 +52,11 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
     private String spanDataSenderSocketType = "OIO";
 
     private int statDataSenderWriteQueueSize = 1024 * 5;
+    private String statDataSenderWriteQueueType = DEFAULT_DATA_SENDER_WRITE_QUEUE_TYPE;
+    private String statDataSenderWriteQueueWaitStrategy = DEFAULT_DATA_SENDER_WRITE_QUEUE_WAIT_STRATEGY;
+    private int statDataSenderWriteDrainSizeMin = DEFAULT_DATA_SENDER_WRITE_DRAIN_SIZE;
+    private int statDataSenderWriteDrainSizeMax = DEFAULT_DATA_SENDER_WRITE_DRAIN_SIZE;
+    private long statDataSenderWriteLingerTime = 0;
     private int statDataSenderSocketSendBufferSize = 1024 * 64 * 16;
     private int statDataSenderSocketTimeout = 1000 * 3;
     private int statDataSenderChunkSize = 1024 * 16;
@@ -90,6 +103,11 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
         this.collectorTcpServerPort = profilerConfig.readInt("profiler.collector.tcp.port", 9994);
 
         this.spanDataSenderWriteQueueSize = profilerConfig.readInt("profiler.spandatasender.write.queue.size", 1024 * 5);
+        this.spanDataSenderWriteQueueType = profilerConfig.readString("profiler.spandatasender.write.queue.type", DEFAULT_DATA_SENDER_WRITE_QUEUE_TYPE);
+        this.spanDataSenderWriteQueueWaitStrategy = profilerConfig.readString("profiler.spandatasender.write.queue.waitstrategy", DEFAULT_DATA_SENDER_WRITE_QUEUE_WAIT_STRATEGY);
+        this.spanDataSenderWriteDrainSizeMin = profilerConfig.readInt("profiler.spandatasender.write.drain.size.min", DEFAULT_DATA_SENDER_WRITE_DRAIN_SIZE);
+        this.spanDataSenderWriteDrainSizeMax = profilerConfig.readInt("profiler.spandatasender.write.drain.size.max", DEFAULT_DATA_SENDER_WRITE_DRAIN_SIZE);
+        this.spanDataSenderWriteLingerTime = profilerConfig.readLong("profiler.spandatasender.write.linger.ms", 0);
         this.spanDataSenderSocketSendBufferSize = profilerConfig.readInt("profiler.spandatasender.socket.sendbuffersize", 1024 * 64 * 16);
         this.spanDataSenderSocketTimeout = profilerConfig.readInt("profiler.spandatasender.socket.timeout", 1000 * 3);
         this.spanDataSenderChunkSize = profilerConfig.readInt("profiler.spandatasender.chunk.size", 1024 * 16);
@@ -99,6 +117,11 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
         this.spanDataSenderTransportType = profilerConfig.readString("profiler.spandatasender.transport.type", "UDP");
 
         this.statDataSenderWriteQueueSize = profilerConfig.readInt("profiler.statdatasender.write.queue.size", 1024 * 5);
+        this.statDataSenderWriteQueueType = profilerConfig.readString("profiler.statdatasender.write.queue.type", DEFAULT_DATA_SENDER_WRITE_QUEUE_TYPE);
+        this.statDataSenderWriteQueueWaitStrategy = profilerConfig.readString("profiler.statdatasender.write.queue.waitstrategy", DEFAULT_DATA_SENDER_WRITE_QUEUE_WAIT_STRATEGY);
+        this.statDataSenderWriteDrainSizeMin = profilerConfig.readInt("profiler.statdatasender.write.drain.size.min", DEFAULT_DATA_SENDER_WRITE_DRAIN_SIZE);
+        this.statDataSenderWriteDrainSizeMax = profilerConfig.readInt("profiler.statdatasender.write.drain.size.max", DEFAULT_DATA_SENDER_WRITE_DRAIN_SIZE);
+        this.statDataSenderWriteLingerTime = profilerConfig.readLong("profiler.statdatasender.write.linger.ms", 0);
         this.statDataSenderSocketSendBufferSize = profilerConfig.readInt("profiler.statdatasender.socket.sendbuffersize", 1024 * 64 * 16);
         this.statDataSenderSocketTimeout = profilerConfig.readInt("profiler.statdatasender.socket.timeout", 1000 * 3);
         this.statDataSenderChunkSize = profilerConfig.readInt("profiler.statdatasender.chunk.size", 1024 * 16);
@@ -157,6 +180,31 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
         return statDataSenderWriteQueueSize;
     }
 
+    @Override
+    public String getStatDataSenderWriteQueueType() {
+        return statDataSenderWriteQueueType;
+    }
+
+    @Override
+    public String getStatDataSenderWriteQueueWaitStrategy() {
+        return statDataSenderWriteQueueWaitStrategy;
+    }
+
+    @Override
+    public int getStatDataSenderWriteDrainSizeMin() {
+        return statDataSenderWriteDrainSizeMin;
+    }
+
+    @Override
+    public int getStatDataSenderWriteDrainSizeMax() {
+        return statDataSenderWriteDrainSizeMax;
+    }
+
+    @Override
+    public long getStatDataSenderWriteLingerTime() {
+        return statDataSenderWriteLingerTime;
+    }
+
     @Override
     public int getStatDataSenderSocketSendBufferSize() {
         return statDataSenderSocketSendBufferSize;
@@ -192,6 +240,31 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
         return spanDataSenderWriteQueueSize;
     }
 
+    @Override
+    public String getSpanDataSenderWriteQueueType() {
+        return spanDataSenderWriteQueueType;
+    }
+
+    @Override
+    public String getSpanDataSenderWriteQueueWaitStrategy() {
+        return spanDataSenderWriteQueueWaitStrategy;
+    }
+
+    @Override
+    public int getSpanDataSenderWriteDrainSizeMin() {
+        return spanDataSenderWriteDrainSizeMin;
+    }
+
+    @Override
+    public int getSpanDataSenderWriteDrainSizeMax() {
+        return spanDataSenderWriteDrainSizeMax;
+    }
+
+    @Override
+    public long getSpanDataSenderWriteLingerTime() {
+        return spanDataSenderWriteLingerTime;
+    }
+
     @Override
     public int getSpanDataSenderSocketSendBufferSize() {
         return spanDataSenderSocketSendBufferSize;
@@ -302,6 +375,11 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
                 ", collectorTcpServerIp='" + collectorTcpServerIp + '\'' +
                 ", collectorTcpServerPort=" + collectorTcpServerPort +
                 ", spanDataSenderWriteQueueSize=" + spanDataSenderWriteQueueSize +
+                ", spanDataSenderWriteQueueType='" + spanDataSenderWriteQueueType + '\'' +
+                ", spanDataSenderWriteQueueWaitStrategy='" + spanDataSenderWriteQueueWaitStrategy + '\'' +
+                ", spanDataSenderWriteDrainSizeMin=" + spanDataSenderWriteDrainSizeMin +
+                ", spanDataSenderWriteDrainSizeMax=" + spanDataSenderWriteDrainSizeMax +
+                ", spanDataSenderWriteLingerTime=" + spanDataSenderWriteLingerTime +
                 ", spanDataSenderSocketSendBufferSize=" + spanDataSenderSocketSendBufferSize +
                 ", spanDataSenderSocketTimeout=" + spanDataSenderSocketTimeout +
                 ", spanDataSenderChunkSize=" + spanDataSenderChunkSize +
@@ -310,6 +388,11 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
                 ", spanDataSenderTransportType='" + spanDataSenderTransportType + '\'' +
                 ", spanDataSenderSocketType='" + spanDataSenderSocketType + '\'' +
                 ", statDataSenderWriteQueueSize=" + statDataSenderWriteQueueSize +
+                ", statDataSenderWriteQueueType='" + statDataSenderWriteQueueType + '\'' +
+                ", statDataSenderWriteQueueWaitStrategy='" + statDataSenderWriteQueueWaitStrategy + '\'' +
+                ", statDataSenderWriteDrainSizeMin=" + statDataSenderWriteDrainSizeMin +
+                ", statDataSenderWriteDrainSizeMax=" + statDataSenderWriteDrainSizeMax +
+                ", statDataSenderWriteLingerTime=" + statDataSenderWriteLingerTime +
                 ", statDataSenderSocketSendBufferSize=" + statDataSenderSocketSendBufferSize +
                 ", statDataSenderSocketTimeout=" + statDataSenderSocketTimeout +
                 ", statDataSenderChunkSize=" + statDataSenderChunkSize +
@@ -47,11 +47,31 @@ public interface ThriftTransportConfig {
 
     String getStatDataSenderWriteBufferLowWaterMark();
 
+    String getStatDataSenderWriteQueueType();
+
+    String getStatDataSenderWriteQueueWaitStrategy();
+
+    int getStatDataSenderWriteDrainSizeMin();
+
+    int getStatDataSenderWriteDrainSizeMax();
+
+    long getStatDataSenderWriteLingerTime();
+
 
     int getSpanDataSenderWriteQueueSize();
 
     int getSpanDataSenderSocketSendBufferSize();
 
+    String getSpanDataSenderWriteQueueType();
+
+    String getSpanDataSenderWriteQueueWaitStrategy();
+
+    int getSpanDataSenderWriteDrainSizeMin();
+
+    int getSpanDataSenderWriteDrainSizeMax();
+
+    long getSpanDataSenderWriteLingerTime();
+
     boolean isTcpDataSenderCommandAcceptEnable();
 
     boolean isTcpDataSenderCommandActiveThreadEnable();
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.context;
+
+import com.navercorp.pinpoint.common.annotations.InterfaceAudience;
+
+/**
+ * Agent internal hook which applies the sampling rule of the entry point url.
+ * Implemented by the {@link TraceContext} of the agent and used by the request trace reader.
+ * Not a plugin api. plugins create a new trace with {@link TraceContext#newTraceObject()}.
+ */
+@InterfaceAudience.Private
+public interface EntryPointTraceFactory {
+
+    /**
+     * @param urlPath entry point url. nullable
+     */
+    Trace newTraceObject(String urlPath);
+
+    /**
+     * @param urlPath entry point url. nullable
+     */
+    Trace newAsyncTraceObject(String urlPath);
+}
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.bootstrap.plugin.request;
 
+import com.navercorp.pinpoint.bootstrap.context.EntryPointTraceFactory;
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
@@ -33,6 +34,8 @@ public class RequestTraceReader<T> {
     private final boolean isDebug = logger.isDebugEnabled();
 
     private final TraceContext traceContext;
+    // @Nullable
+    private final EntryPointTraceFactory entryPointTraceFactory;
     private final RequestAdaptor<T> requestAdaptor;
     private final boolean async;
 
@@ -45,6 +48,7 @@ public class RequestTraceReader<T> {
 
     public RequestTraceReader(final TraceContext traceContext, RequestAdaptor<T> requestAdaptor, final boolean async) {
         this.traceContext = Assert.requireNonNull(traceContext, "traceContext");
+        this.entryPointTraceFactory = getEntryPointTraceFactory(traceContext);
         this.requestAdaptor = Assert.requireNonNull(requestAdaptor, "requestAdaptor");
          this.traceHeaderReader = new DefaultTraceHeaderReader<T>(requestAdaptor);
         this.async = async;
@@ -52,6 +56,13 @@ public class RequestTraceReader<T> {
         this.nameSpaceChecker = NameSpaceCheckFactory.newNamespace(requestAdaptor, applicationNamespace);
     }
 
+    private static EntryPointTraceFactory getEntryPointTraceFactory(TraceContext traceContext) {
+        if (traceContext instanceof EntryPointTraceFactory) {
+            return (EntryPointTraceFactory) traceContext;
+        }
+        return null;
+    }
+
     // Read the transaction information from the request.
     public Trace read(T request) {
         Assert.requireNonNull(request, "request");
@@ -83,7 +94,7 @@ public class RequestTraceReader<T> {
     }
 
     private Trace newTrace(T request) {
-        final Trace trace = newTrace();
+        final Trace trace = newTrace(requestAdaptor.getRpcName(request));
         if (trace.canSampled()) {
             if (isDebug) {
                 logger.debug("TraceID not exist. start new trace. requestUrl:{}, remoteAddr:{}", requestAdaptor.getRpcName(request), requestAdaptor.getRemoteAddress(request));
@@ -129,7 +140,14 @@ public class RequestTraceReader<T> {
         return this.traceContext.continueTraceObject(traceId);
     }
 
-    private Trace newTrace() {
+    private Trace newTrace(String urlPath) {
+        if (this.entryPointTraceFactory != null) {
+            // sampling rule of the url
+            if (this.async) {
+                return this.entryPointTraceFactory.newAsyncTraceObject(urlPath);
+            }
+            return this.entryPointTraceFactory.newTraceObject(urlPath);
+        }
         if (this.async) {
             return this.traceContext.newAsyncTraceObject();
         }
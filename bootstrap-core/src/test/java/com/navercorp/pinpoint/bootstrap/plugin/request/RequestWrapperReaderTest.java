@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.bootstrap.plugin.request;
 
 import com.navercorp.pinpoint.bootstrap.config.DefaultProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.context.EntryPointTraceFactory;
 import com.navercorp.pinpoint.bootstrap.context.Header;
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
@@ -28,7 +29,10 @@ import static org.mockito.ArgumentMatchers.anyShort;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import static org.junit.Assert.*;
 
@@ -79,4 +83,24 @@ public class RequestWrapperReaderTest {
         ServerRequestWrapper newServerRequestWrapper = mock(ServerRequestWrapper.class);
         assertEquals(newTrace, reader.read(newServerRequestWrapper));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void read_entryPointTraceFactory() {
+        Trace newTrace = mock(Trace.class);
+        when(newTrace.canSampled()).thenReturn(Boolean.TRUE);
+
+        TraceContext traceContext = mock(TraceContext.class, withSettings().extraInterfaces(EntryPointTraceFactory.class));
+        EntryPointTraceFactory entryPointTraceFactory = (EntryPointTraceFactory) traceContext;
+        when(entryPointTraceFactory.newTraceObject("/order")).thenReturn(newTrace);
+        when(traceContext.getProfilerConfig()).thenReturn(new DefaultProfilerConfig());
+
+        RequestAdaptor<ServerRequestWrapper> serverRequestWrapperAdaptor = new ServerRequestWrapperAdaptor();
+        final RequestTraceReader<ServerRequestWrapper> reader = new RequestTraceReader<ServerRequestWrapper>(traceContext, serverRequestWrapperAdaptor);
+
+        // new trace with the sampling rule of the url
+        ServerRequestWrapper newServerRequestWrapper = mock(ServerRequestWrapper.class);
+        when(newServerRequestWrapper.getRpcName()).thenReturn("/order");
+        assertEquals(newTrace, reader.read(newServerRequestWrapper));
+        verify(traceContext, never()).newTraceObject();
+    }
+}
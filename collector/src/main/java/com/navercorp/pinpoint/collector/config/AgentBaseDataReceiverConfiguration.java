@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.config;
 
+import com.navercorp.pinpoint.collector.monitor.WorkPriority;
 import com.navercorp.pinpoint.common.server.config.AnnotationVisitor;
 import com.navercorp.pinpoint.common.server.config.LoggingEvent;
 import com.navercorp.pinpoint.common.util.Assert;
@@ -25,6 +26,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
 import javax.annotation.PostConstruct;
+import java.util.Objects;
 
 /**
  * @author Taejin Koo
@@ -48,6 +50,18 @@ public class AgentBaseDataReceiverConfiguration {
     @Value("${collector.receiver.base.worker.monitor:false}")
     private boolean workerMonitorEnable;
 
+    @Value("${collector.receiver.base.worker.priorityQueue:false}")
+    private boolean workerPriorityQueueEnable;
+
+    @Value("${collector.receiver.base.worker.priority:NORMAL}")
+    private WorkPriority workerPriority;
+
+    @Value("${collector.receiver.base.worker.codel.target:100}")
+    private long workerCodelTargetMillis;
+
+    @Value("${collector.receiver.base.worker.codel.interval:1000}")
+    private long workerCodelIntervalMillis;
+
 
     public AgentBaseDataReceiverConfiguration() {
     }
@@ -67,6 +81,8 @@ public class AgentBaseDataReceiverConfiguration {
         Assert.isTrue(bindPort > 0, "bindPort must be greater than 0");
         Assert.isTrue(workerThreadSize > 0, "workerThreadSize must be greater than 0");
         Assert.isTrue(workerQueueSize > 0, "workerQueueSize must be greater than 0");
+        Objects.requireNonNull(workerPriority, "workerPriority");
+        Assert.isTrue(workerCodelIntervalMillis > 0, "workerCodelIntervalMillis must be greater than 0");
     }
 
     public String getBindIp() {
@@ -90,6 +106,22 @@ public class AgentBaseDataReceiverConfiguration {
         return workerMonitorEnable;
     }
 
+    public boolean isWorkerPriorityQueueEnable() {
+        return workerPriorityQueueEnable;
+    }
+
+    public WorkPriority getWorkerPriority() {
+        return workerPriority;
+    }
+
+    public long getWorkerCodelTargetMillis() {
+        return workerCodelTargetMillis;
+    }
+
+    public long getWorkerCodelIntervalMillis() {
+        return workerCodelIntervalMillis;
+    }
+
 
     @Override
     public String toString() {
@@ -99,6 +131,10 @@ public class AgentBaseDataReceiverConfiguration {
         sb.append(", workerThreadSize=").append(workerThreadSize);
         sb.append(", workerQueueSize=").append(workerQueueSize);
         sb.append(", workerMonitorEnable=").append(workerMonitorEnable);
+        sb.append(", workerPriorityQueueEnable=").append(workerPriorityQueueEnable);
+        sb.append(", workerPriority=").append(workerPriority);
+        sb.append(", workerCodelTargetMillis=").append(workerCodelTargetMillis);
+        sb.append(", workerCodelIntervalMillis=").append(workerCodelIntervalMillis);
         sb.append('}');
         return sb.toString();
     }
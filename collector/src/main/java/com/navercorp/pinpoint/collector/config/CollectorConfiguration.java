@@ -64,6 +64,37 @@ public class CollectorConfiguration {
     @Value("${cluster.listen.port:-1}")
     private int clusterListenPort;
 
+    @Value("${collector.span.batch.enable:false}")
+    private boolean spanBatchEnable;
+
+    @Value("${collector.span.batch.threadSize:4}")
+    private int spanBatchThreadSize;
+
+    @Value("${collector.span.batch.size:128}")
+    private int spanBatchSize;
+
+    @Value("${collector.span.batch.flushInterval:20}")
+    private long spanBatchFlushInterval;
+
+    // 64MB
+    @Value("${collector.span.batch.maxInFlightBytes:67108864}")
+    private long spanBatchMaxInFlightBytes;
+
+    @Value("${collector.span.batch.offerTimeout:100}")
+    private long spanBatchOfferTimeout;
+
+    @Value("${collector.metric.stage.enable:true}")
+    private boolean stageMetricEnable;
+
+    @Value("${collector.hostApplicationMap.cacheSize:65536}")
+    private int hostApplicationMapCacheSize;
+
+    @Value("${collector.scatterHeatmap.enable:false}")
+    private boolean scatterHeatmapEnable;
+
+    @Value("${collector.agentStat.rollup.enable:false}")
+    private boolean agentStatRollupEnable;
+
     public int getAgentEventWorkerThreadSize() {
         return this.agentEventWorkerThreadSize;
     }
@@ -129,6 +160,86 @@ public class CollectorConfiguration {
         this.clusterListenPort = clusterListenPort;
     }
 
+    public boolean isSpanBatchEnable() {
+        return spanBatchEnable;
+    }
+
+    public void setSpanBatchEnable(boolean spanBatchEnable) {
+        this.spanBatchEnable = spanBatchEnable;
+    }
+
+    public int getSpanBatchThreadSize() {
+        return spanBatchThreadSize;
+    }
+
+    public void setSpanBatchThreadSize(int spanBatchThreadSize) {
+        this.spanBatchThreadSize = spanBatchThreadSize;
+    }
+
+    public int getSpanBatchSize() {
+        return spanBatchSize;
+    }
+
+    public void setSpanBatchSize(int spanBatchSize) {
+        this.spanBatchSize = spanBatchSize;
+    }
+
+    public long getSpanBatchFlushInterval() {
+        return spanBatchFlushInterval;
+    }
+
+    public void setSpanBatchFlushInterval(long spanBatchFlushInterval) {
+        this.spanBatchFlushInterval = spanBatchFlushInterval;
+    }
+
+    public long getSpanBatchMaxInFlightBytes() {
+        return spanBatchMaxInFlightBytes;
+    }
+
+    public void setSpanBatchMaxInFlightBytes(long spanBatchMaxInFlightBytes) {
+        this.spanBatchMaxInFlightBytes = spanBatchMaxInFlightBytes;
+    }
+
+    public long getSpanBatchOfferTimeout() {
+        return spanBatchOfferTimeout;
+    }
+
+    public void setSpanBatchOfferTimeout(long spanBatchOfferTimeout) {
+        this.spanBatchOfferTimeout = spanBatchOfferTimeout;
+    }
+
+    public boolean isStageMetricEnable() {
+        return stageMetricEnable;
+    }
+
+    public void setStageMetricEnable(boolean stageMetricEnable) {
+        this.stageMetricEnable = stageMetricEnable;
+    }
+
+    public int getHostApplicationMapCacheSize() {
+        return hostApplicationMapCacheSize;
+    }
+
+    public void setHostApplicationMapCacheSize(int hostApplicationMapCacheSize) {
+        this.hostApplicationMapCacheSize = hostApplicationMapCacheSize;
+    }
+
+    public boolean isScatterHeatmapEnable() {
+        return scatterHeatmapEnable;
+    }
+
+    public void setScatterHeatmapEnable(boolean scatterHeatmapEnable) {
+        this.scatterHeatmapEnable = scatterHeatmapEnable;
+    }
+
+    public boolean isAgentStatRollupEnable() {
+        return agentStatRollupEnable;
+    }
+
+    public void setAgentStatRollupEnable(boolean agentStatRollupEnable) {
+        this.agentStatRollupEnable = agentStatRollupEnable;
+    }
+
     @PostConstruct
     public void log() {
         logger.info("{}", this);
@@ -148,6 +259,16 @@ public class CollectorConfiguration {
         sb.append(", clusterSessionTimeout=").append(clusterSessionTimeout);
         sb.append(", clusterListenIp='").append(clusterListenIp).append('\'');
         sb.append(", clusterListenPort=").append(clusterListenPort);
+        sb.append(", spanBatchEnable=").append(spanBatchEnable);
+        sb.append(", spanBatchThreadSize=").append(spanBatchThreadSize);
+        sb.append(", spanBatchSize=").append(spanBatchSize);
+        sb.append(", spanBatchFlushInterval=").append(spanBatchFlushInterval);
+        sb.append(", spanBatchMaxInFlightBytes=").append(spanBatchMaxInFlightBytes);
+        sb.append(", spanBatchOfferTimeout=").append(spanBatchOfferTimeout);
+        sb.append(", stageMetricEnable=").append(stageMetricEnable);
+        sb.append(", hostApplicationMapCacheSize=").append(hostApplicationMapCacheSize);
+        sb.append(", scatterHeatmapEnable=").append(scatterHeatmapEnable);
+        sb.append(", agentStatRollupEnable=").append(agentStatRollupEnable);
         sb.append('}');
         return sb.toString();
     }
@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.collector.config;
 
+import com.navercorp.pinpoint.collector.monitor.WorkPriority;
+
 /**
  * @author Taejin Koo
  */
@@ -39,10 +41,22 @@ public interface DataReceiverGroupConfiguration {
 
     int getSocketCount();
 
+    boolean isUdpBatchEnable();
+
+    int getUdpBatchSize();
+
     int getWorkerThreadSize();
 
     int getWorkerQueueSize();
 
     boolean isWorkerMonitorEnable();
 
+    boolean isWorkerPriorityQueueEnable();
+
+    WorkPriority getWorkerPriority();
+
+    long getWorkerCodelTargetMillis();
+
+    long getWorkerCodelIntervalMillis();
+
 }
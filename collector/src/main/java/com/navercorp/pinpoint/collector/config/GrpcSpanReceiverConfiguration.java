@@ -72,6 +72,14 @@ public class GrpcSpanReceiverConfiguration {
     private int grpcStreamSchedulerPeriodMillis;
     @Value("${collector.receiver.grpc.span.stream.scheduler.recovery.message.count:10}")
     private int grpcStreamSchedulerRecoveryMessageCount;
+    @Value("${collector.receiver.grpc.span.stream.flow.control.enable:false}")
+    private boolean grpcStreamFlowControlEnable;
+    @Value("${collector.receiver.grpc.span.stream.flow.control.resume.period.millis:20}")
+    private int grpcStreamFlowControlResumePeriodMillis;
+    @Value("${collector.receiver.grpc.span.stream.flow.control.high.watermark.percent:80}")
+    private int grpcStreamFlowControlHighWatermarkPercent;
+    @Value("${collector.receiver.grpc.span.stream.flow.control.low.watermark.percent:50}")
+    private int grpcStreamFlowControlLowWatermarkPercent;
 
     private ServerOption grpcServerOption;
 
@@ -106,6 +114,9 @@ public class GrpcSpanReceiverConfiguration {
         Assert.isTrue(grpcWorkerExecutorQueueSize > 0, "grpcWorkerExecutorQueueSize must be greater than 0");
 
         Assert.isTrue(grpcStreamSchedulerThreadSize > 0, "grpcStreamSchedulerThreadSize must be greater than 0");
+        Assert.isTrue(grpcStreamFlowControlResumePeriodMillis > 0, "grpcStreamFlowControlResumePeriodMillis must be greater than 0");
+        Assert.isTrue(grpcStreamFlowControlHighWatermarkPercent > 0 && grpcStreamFlowControlHighWatermarkPercent <= 100, "grpcStreamFlowControlHighWatermarkPercent must be between 1 and 100");
+        Assert.isTrue(grpcStreamFlowControlLowWatermarkPercent >= 0 && grpcStreamFlowControlLowWatermarkPercent <= grpcStreamFlowControlHighWatermarkPercent, "grpcStreamFlowControlLowWatermarkPercent must be between 0 and grpcStreamFlowControlHighWatermarkPercent");
     }
 
 
@@ -161,6 +172,30 @@ public class GrpcSpanReceiverConfiguration {
         return grpcStreamSchedulerRecoveryMessageCount;
     }
 
+    public boolean isGrpcStreamFlowControlEnable() {
+        return grpcStreamFlowControlEnable;
+    }
+
+    public int getGrpcStreamFlowControlResumePeriodMillis() {
+        return grpcStreamFlowControlResumePeriodMillis;
+    }
+
+    public int getGrpcStreamFlowControlHighWatermarkPercent() {
+        return grpcStreamFlowControlHighWatermarkPercent;
+    }
+
+    public int getGrpcStreamFlowControlLowWatermarkPercent() {
+        return grpcStreamFlowControlLowWatermarkPercent;
+    }
+
+    public int getGrpcStreamFlowControlHighWatermark() {
+        return Math.max(1, (int) ((long) grpcWorkerExecutorQueueSize * grpcStreamFlowControlHighWatermarkPercent / 100));
+    }
+
+    public int getGrpcStreamFlowControlLowWatermark() {
+        return Math.min(getGrpcStreamFlowControlHighWatermark(), (int) ((long) grpcWorkerExecutorQueueSize * grpcStreamFlowControlLowWatermarkPercent / 100));
+    }
+
     public ServerOption getGrpcServerOption() {
         return grpcServerOption;
     }
@@ -181,6 +216,10 @@ public class GrpcSpanReceiverConfiguration {
         sb.append(", grpcStreamCallInitRequestCount=").append(grpcStreamCallInitRequestCount);
         sb.append(", grpcStreamSchedulerPeriodMillis=").append(grpcStreamSchedulerPeriodMillis);
         sb.append(", grpcStreamSchedulerRecoveryMessageCount=").append(grpcStreamSchedulerRecoveryMessageCount);
+        sb.append(", grpcStreamFlowControlEnable=").append(grpcStreamFlowControlEnable);
+        sb.append(", grpcStreamFlowControlResumePeriodMillis=").append(grpcStreamFlowControlResumePeriodMillis);
+        sb.append(", grpcStreamFlowControlHighWatermarkPercent=").append(grpcStreamFlowControlHighWatermarkPercent);
+        sb.append(", grpcStreamFlowControlLowWatermarkPercent=").append(grpcStreamFlowControlLowWatermarkPercent);
         sb.append(", grpcServerOption=").append(grpcServerOption);
         sb.append('}');
         return sb.toString();
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.config;
 
+import com.navercorp.pinpoint.collector.monitor.WorkPriority;
 import com.navercorp.pinpoint.common.server.config.AnnotationVisitor;
 import com.navercorp.pinpoint.common.server.config.LoggingEvent;
 import com.navercorp.pinpoint.common.util.Assert;
@@ -59,6 +60,15 @@ public class SpanReceiverConfiguration implements DataReceiverGroupConfiguration
     @Value("${collector.receiver.span.udp.reuseport:false}")
     private boolean reusePort;
 
+    @Value("${collector.receiver.span.udp.batch:false}")
+    private boolean udpBatchEnable;
+
+    @Value("${collector.receiver.span.udp.batch.size:64}")
+    private int udpBatchSize;
+
+    @Value("${collector.receiver.span.decode.direct:false}")
+    private boolean directDecodeEnable;
+
     @Value("${collector.receiver.span.udp.socket.count:-1}")
     private int socketCount;
 
@@ -71,6 +81,18 @@ public class SpanReceiverConfiguration implements DataReceiverGroupConfiguration
     @Value("${collector.receiver.span.worker.monitor:true}")
     private boolean workerMonitorEnable;
 
+    @Value("${collector.receiver.span.worker.priorityQueue:false}")
+    private boolean workerPriorityQueueEnable;
+
+    @Value("${collector.receiver.span.worker.priority:NORMAL}")
+    private WorkPriority workerPriority;
+
+    @Value("${collector.receiver.span.worker.codel.target:100}")
+    private long workerCodelTargetMillis;
+
+    @Value("${collector.receiver.span.worker.codel.interval:1000}")
+    private long workerCodelIntervalMillis;
+
 
     public SpanReceiverConfiguration() {
     }
@@ -79,6 +101,8 @@ public class SpanReceiverConfiguration implements DataReceiverGroupConfiguration
     public  void validate() {
         Assert.isTrue(workerThreadSize > 0, "workerThreadSize must be greater than 0");
         Assert.isTrue(workerQueueSize > 0, "workerQueueSize must be greater than 0");
+        Objects.requireNonNull(workerPriority, "workerPriority");
+        Assert.isTrue(workerCodelIntervalMillis > 0, "workerCodelIntervalMillis must be greater than 0");
 
         Assert.isTrue(isTcpEnable || isUdpEnable, "spanReceiver does not allow tcp and udp disable");
 
@@ -91,6 +115,7 @@ public class SpanReceiverConfiguration implements DataReceiverGroupConfiguration
             Objects.requireNonNull(udpBindIp, "udpBindIp");
             Assert.isTrue(udpBindPort > 0, "udpBindPort must be greater than 0");
             Assert.isTrue(udpReceiveBufferSize > 0, "udpReceiveBufferSize must be greater than 0");
+            Assert.isTrue(udpBatchSize > 0, "udpBatchSize must be greater than 0");
         }
     }
 
@@ -147,6 +172,20 @@ public class SpanReceiverConfiguration implements DataReceiverGroupConfiguration
         return socketCount;
     }
 
+    @Override
+    public boolean isUdpBatchEnable() {
+        return udpBatchEnable;
+    }
+
+    @Override
+    public int getUdpBatchSize() {
+        return udpBatchSize;
+    }
+
+    public boolean isDirectDecodeEnable() {
+        return directDecodeEnable;
+    }
+
     @Override
     public int getWorkerThreadSize() {
         return workerThreadSize;
@@ -162,6 +201,26 @@ public class SpanReceiverConfiguration implements DataReceiverGroupConfiguration
         return workerMonitorEnable;
     }
 
+    @Override
+    public boolean isWorkerPriorityQueueEnable() {
+        return workerPriorityQueueEnable;
+    }
+
+    @Override
+    public WorkPriority getWorkerPriority() {
+        return workerPriority;
+    }
+
+    @Override
+    public long getWorkerCodelTargetMillis() {
+        return workerCodelTargetMillis;
+    }
+
+    @Override
+    public long getWorkerCodelIntervalMillis() {
+        return workerCodelIntervalMillis;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("SpanReceiverConfiguration{");
@@ -173,10 +232,17 @@ public class SpanReceiverConfiguration implements DataReceiverGroupConfiguration
         sb.append(", udpBindPort=").append(udpBindPort);
         sb.append(", udpReceiveBufferSize=").append(udpReceiveBufferSize);
         sb.append(", reusePort=").append(reusePort);
+        sb.append(", udpBatchEnable=").append(udpBatchEnable);
+        sb.append(", udpBatchSize=").append(udpBatchSize);
+        sb.append(", directDecodeEnable=").append(directDecodeEnable);
         sb.append(", socketCount=").append(socketCount);
         sb.append(", workerThreadSize=").append(workerThreadSize);
         sb.append(", workerQueueSize=").append(workerQueueSize);
         sb.append(", workerMonitorEnable=").append(workerMonitorEnable);
+        sb.append(", workerPriorityQueueEnable=").append(workerPriorityQueueEnable);
+        sb.append(", workerPriority=").append(workerPriority);
+        sb.append(", workerCodelTargetMillis=").append(workerCodelTargetMillis);
+        sb.append(", workerCodelIntervalMillis=").append(workerCodelIntervalMillis);
         sb.append('}');
         return sb.toString();
     }
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.config;
 
+import com.navercorp.pinpoint.collector.monitor.WorkPriority;
 import com.navercorp.pinpoint.common.server.config.AnnotationVisitor;
 import com.navercorp.pinpoint.common.server.config.LoggingEvent;
 import com.navercorp.pinpoint.common.util.Assert;
@@ -64,6 +65,12 @@ public class StatReceiverConfiguration implements DataReceiverGroupConfiguration
     @Value("${collector.receiver.stat.udp.reuseport:false}")
     private boolean reusePort;
 
+    @Value("${collector.receiver.stat.udp.batch:false}")
+    private boolean udpBatchEnable;
+
+    @Value("${collector.receiver.stat.udp.batch.size:64}")
+    private int udpBatchSize;
+
     @Value("${collector.receiver.stat.worker.threadSize:128}")
     private int workerThreadSize;
 
@@ -73,6 +80,18 @@ public class StatReceiverConfiguration implements DataReceiverGroupConfiguration
     @Value("${collector.receiver.stat.worker.monitor:false}")
     private boolean workerMonitorEnable;
 
+    @Value("${collector.receiver.stat.worker.priorityQueue:false}")
+    private boolean workerPriorityQueueEnable;
+
+    @Value("${collector.receiver.stat.worker.priority:LOW}")
+    private WorkPriority workerPriority;
+
+    @Value("${collector.receiver.stat.worker.codel.target:100}")
+    private long workerCodelTargetMillis;
+
+    @Value("${collector.receiver.stat.worker.codel.interval:1000}")
+    private long workerCodelIntervalMillis;
+
     @PostConstruct
     public void log() {
         logger.info("{}", this);
@@ -85,6 +104,8 @@ public class StatReceiverConfiguration implements DataReceiverGroupConfiguration
     private void validate() {
         Assert.isTrue(workerThreadSize > 0, "workerThreadSize must be greater than 0");
         Assert.isTrue(workerQueueSize > 0, "workerQueueSize must be greater than 0");
+        Objects.requireNonNull(workerPriority, "workerPriority");
+        Assert.isTrue(workerCodelIntervalMillis > 0, "workerCodelIntervalMillis must be greater than 0");
         Assert.isTrue(isTcpEnable || isUdpEnable, "statReceiver does not allow tcp and udp disable");
 
         if (isTcpEnable) {
@@ -96,6 +117,7 @@ public class StatReceiverConfiguration implements DataReceiverGroupConfiguration
             Objects.requireNonNull(udpBindIp, "udpBindIp");
             Assert.isTrue(udpBindPort > 0, "udpBindPort must be greater than 0");
             Assert.isTrue(udpReceiveBufferSize > 0, "udpReceiveBufferSize must be greater than 0");
+            Assert.isTrue(udpBatchSize > 0, "udpBatchSize must be greater than 0");
         }
     }
 
@@ -145,6 +167,16 @@ public class StatReceiverConfiguration implements DataReceiverGroupConfiguration
         return socketCount;
     }
 
+    @Override
+    public boolean isUdpBatchEnable() {
+        return udpBatchEnable;
+    }
+
+    @Override
+    public int getUdpBatchSize() {
+        return udpBatchSize;
+    }
+
     @Override
     public int getWorkerThreadSize() {
         return workerThreadSize;
@@ -160,6 +192,26 @@ public class StatReceiverConfiguration implements DataReceiverGroupConfiguration
         return workerMonitorEnable;
     }
 
+    @Override
+    public boolean isWorkerPriorityQueueEnable() {
+        return workerPriorityQueueEnable;
+    }
+
+    @Override
+    public WorkPriority getWorkerPriority() {
+        return workerPriority;
+    }
+
+    @Override
+    public long getWorkerCodelTargetMillis() {
+        return workerCodelTargetMillis;
+    }
+
+    @Override
+    public long getWorkerCodelIntervalMillis() {
+        return workerCodelIntervalMillis;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("StatReceiverConfiguration{");
@@ -172,9 +224,15 @@ public class StatReceiverConfiguration implements DataReceiverGroupConfiguration
         sb.append(", udpReceiveBufferSize=").append(udpReceiveBufferSize);
         sb.append(", socketCount=").append(socketCount);
         sb.append(", reusePort=").append(reusePort);
+        sb.append(", udpBatchEnable=").append(udpBatchEnable);
+        sb.append(", udpBatchSize=").append(udpBatchSize);
         sb.append(", workerThreadSize=").append(workerThreadSize);
         sb.append(", workerQueueSize=").append(workerQueueSize);
         sb.append(", workerMonitorEnable=").append(workerMonitorEnable);
+        sb.append(", workerPriorityQueueEnable=").append(workerPriorityQueueEnable);
+        sb.append(", workerPriority=").append(workerPriority);
+        sb.append(", workerCodelTargetMillis=").append(workerCodelTargetMillis);
+        sb.append(", workerCodelIntervalMillis=").append(workerCodelIntervalMillis);
         sb.append('}');
         return sb.toString();
     }
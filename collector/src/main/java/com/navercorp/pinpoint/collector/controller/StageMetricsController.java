@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.controller;
+
+import com.navercorp.pinpoint.collector.manage.StageMetricsManager;
+import com.navercorp.pinpoint.collector.monitor.StageTimerSnapshot;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Latency (milliseconds) and throughput of the collector ingestion stages
+ */
+@Controller
+public class StageMetricsController {
+
+    private final StageMetricsManager stageMetricsManager;
+
+    public StageMetricsController(StageMetricsManager stageMetricsManager) {
+        this.stageMetricsManager = Objects.requireNonNull(stageMetricsManager, "stageMetricsManager");
+    }
+
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET)
+    @ResponseBody
+    public List<StageTimerSnapshot> getStageMetrics() {
+        return stageMetricsManager.getSnapshotList();
+    }
+
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+
+/**
+ * min/max/sum/count of the agent stat gauges per 1 minute, 10 minutes and 1 hour. served as the long range agent stat charts
+ */
+public interface AgentStatRollupDao extends CachedStatisticsDao {
+    void update(String agentId, AgentStatRollupType rollupType, int fieldIndex, long timestamp, double value);
+
+    /**
+     * write the slots not closed yet too. called on shutdown
+     */
+    void closeAll();
+}
@@ -3,6 +3,8 @@ package com.navercorp.pinpoint.collector.dao;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 
+import java.util.List;
+
 /**
  * @author Woonduk Kang(emeroad)
  */
@@ -10,4 +12,16 @@ public interface TraceDao {
     boolean insert(SpanBo span);
 
     boolean insertSpanChunk(SpanChunkBo spanChunk);
+
+    /**
+     * multi-put of the span list
+     * @return the number of rejected puts
+     */
+    int insertSpanList(List<SpanBo> spanList);
+
+    /**
+     * multi-put of the span chunk list
+     * @return the number of rejected puts
+     */
+    int insertSpanChunkList(List<SpanChunkBo> spanChunkList);
 }
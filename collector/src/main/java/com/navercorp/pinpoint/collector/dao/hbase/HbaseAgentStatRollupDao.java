@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.collector.dao.AgentStatRollupDao;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.AgentStatRollupRowKey;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.TableDescriptor;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupResolution;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupValue;
+import com.navercorp.pinpoint.common.server.util.AgentStatRollupUtils;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregates the agent stat gauges in memory and writes the aggregates of each flush to the AgentStatRollup table.
+ * HBase can not increment min/max, so a flush does not overwrite the previous one.
+ * Each flush writes new columns named by the writer id of this collector and a flush sequence.
+ * <ul>
+ *     <li>1 minute slots are written on every flush.</li>
+ *     <li>10 minutes and 1 hour slots are kept in memory and written once when the slot is closed, or by {@link #closeAll()}.</li>
+ *     <li>The rows of a failed put are merged back and written again by the next flush.</li>
+ * </ul>
+ */
+@Repository
+public class HbaseAgentStatRollupDao implements AgentStatRollupDao {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final HbaseOperations2 hbaseTemplate;
+
+    private final TableDescriptor<HbaseColumnFamily.AgentStatRollup> descriptor;
+
+    private final RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
+
+    private final long writerId;
+
+    private final AtomicLong flushSequence = new AtomicLong();
+
+    private final StageTimer flushTimer;
+
+    private final ConcurrentMap<AgentStatRollupRowKey, RollupRow> rows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HbaseAgentStatRollupDao(HbaseOperations2 hbaseTemplate,
+                                   TableDescriptor<HbaseColumnFamily.AgentStatRollup> descriptor,
+                                   @Qualifier("agentStatRollupRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
+                                   CollectorStageMetrics stageMetrics) {
+        this(hbaseTemplate, descriptor, rowKeyDistributorByHashPrefix, ThreadLocalRandom.current().nextLong(),
+                stageMetrics.getStageTimer(CollectorStageMetrics.Stage.STATISTICS_FLUSH));
+    }
+
+    public HbaseAgentStatRollupDao(HbaseOperations2 hbaseTemplate,
+                                   TableDescriptor<HbaseColumnFamily.AgentStatRollup> descriptor,
+                                   RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
+                                   long writerId, StageTimer flushTimer) {
+        this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
+        this.descriptor = Objects.requireNonNull(descriptor, "descriptor");
+        this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
+        this.writerId = writerId;
+        this.flushTimer = Objects.requireNonNull(flushTimer, "flushTimer");
+    }
+
+    @Override
+    public void update(String agentId, AgentStatRollupType rollupType, int fieldIndex, long timestamp, double value) {
+        Objects.requireNonNull(agentId, "agentId");
+        Objects.requireNonNull(rollupType, "rollupType");
+
+        for (AgentStatRollupResolution resolution : AgentStatRollupResolution.values()) {
+            final long slotTime = resolution.getSlotTime(timestamp);
+            final AgentStatRollupRowKey rowKey = new AgentStatRollupRowKey(agentId, rollupType, resolution, slotTime);
+            while (true) {
+                final RollupRow row = rows.computeIfAbsent(rowKey, key -> new RollupRow(rollupType.getFieldCount()));
+                if (row.add(fieldIndex, value)) {
+                    break;
+                }
+                // removed by flushAll(). retry with a new row
+            }
+        }
+    }
+
+    @Override
+    public void flushAll() {
+        flushAll(System.currentTimeMillis());
+    }
+
+    @Override
+    public void closeAll() {
+        flushAll(Long.MAX_VALUE);
+    }
+
+    void flushAll(long currentTime) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        final long startTime = flushTimer.start();
+        final Map<AgentStatRollupRowKey, AgentStatRollupValue[]> flushed = new HashMap<>();
+        try {
+            final List<Put> puts = new ArrayList<>();
+            final long sequence = flushSequence.incrementAndGet();
+            for (AgentStatRollupRowKey rowKey : rows.keySet()) {
+                if (!isWritable(rowKey, currentTime)) {
+                    continue;
+                }
+                final RollupRow row = rows.remove(rowKey);
+                if (row == null) {
+                    continue;
+                }
+                final AgentStatRollupValue[] values = row.close();
+                flushed.put(rowKey, values);
+                final Put put = createPut(rowKey, values, sequence);
+                if (put != null) {
+                    puts.add(put);
+                }
+            }
+            if (puts.isEmpty()) {
+                return;
+            }
+
+            final TableName tableName = descriptor.getTableName();
+            if (logger.isDebugEnabled()) {
+                logger.debug("flush {} to [{}] Put:{}", this.getClass().getSimpleName(), tableName.getNameAsString(), puts.size());
+            }
+            hbaseTemplate.put(tableName, puts);
+        } catch (RuntimeException e) {
+            flushTimer.error();
+            logger.warn("flush fail, retry with the next flush. rows:{}", flushed.size());
+            restore(flushed);
+            throw e;
+        } finally {
+            flushTimer.stop(startTime);
+        }
+    }
+
+    private boolean isWritable(AgentStatRollupRowKey rowKey, long currentTime) {
+        final AgentStatRollupResolution resolution = rowKey.getResolution();
+        if (resolution == AgentStatRollupResolution.ONE_MINUTE) {
+            return true;
+        }
+        // write a coarse slot once it is closed instead of a new column per flush
+        return currentTime >= rowKey.getSlotTime() + resolution.getSlotSize();
+    }
+
+    private void restore(Map<AgentStatRollupRowKey, AgentStatRollupValue[]> flushed) {
+        for (Map.Entry<AgentStatRollupRowKey, AgentStatRollupValue[]> entry : flushed.entrySet()) {
+            final AgentStatRollupValue[] values = entry.getValue();
+            while (true) {
+                final RollupRow row = rows.computeIfAbsent(entry.getKey(), key -> new RollupRow(values.length));
+                if (row.merge(values)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private Put createPut(AgentStatRollupRowKey rowKey, AgentStatRollupValue[] values, long sequence) {
+        Put put = null;
+        for (int fieldIndex = 0; fieldIndex < values.length; fieldIndex++) {
+            final AgentStatRollupValue value = values[fieldIndex];
+            if (value == null || value.getCount() == 0) {
+                continue;
+            }
+            if (put == null) {
+                final byte[] distributedKey = rowKeyDistributorByHashPrefix.getDistributedKey(rowKey.getRowKey());
+                put = new Put(distributedKey);
+            }
+            final byte[] columnName = AgentStatRollupUtils.makeColumnName(fieldIndex, writerId, sequence);
+            put.addColumn(descriptor.getColumnFamilyName(), columnName, value.toBytes());
+        }
+        return put;
+    }
+
+    private static class RollupRow {
+        private final AgentStatRollupValue[] values;
+        private boolean closed;
+
+        private RollupRow(int fieldCount) {
+            this.values = new AgentStatRollupValue[fieldCount];
+        }
+
+        private synchronized boolean add(int fieldIndex, double value) {
+            if (closed) {
+                return false;
+            }
+            AgentStatRollupValue rollupValue = values[fieldIndex];
+            if (rollupValue == null) {
+                rollupValue = new AgentStatRollupValue();
+                values[fieldIndex] = rollupValue;
+            }
+            rollupValue.add(value);
+            return true;
+        }
+
+        private synchronized boolean merge(AgentStatRollupValue[] values) {
+            if (closed) {
+                return false;
+            }
+            for (int fieldIndex = 0; fieldIndex < values.length; fieldIndex++) {
+                final AgentStatRollupValue value = values[fieldIndex];
+                if (value == null) {
+                    continue;
+                }
+                AgentStatRollupValue rollupValue = this.values[fieldIndex];
+                if (rollupValue == null) {
+                    rollupValue = new AgentStatRollupValue();
+                    this.values[fieldIndex] = rollupValue;
+                }
+                rollupValue.merge(value);
+            }
+            return true;
+        }
+
+        private synchronized AgentStatRollupValue[] close() {
+            this.closed = true;
+            return values;
+        }
+    }
+}
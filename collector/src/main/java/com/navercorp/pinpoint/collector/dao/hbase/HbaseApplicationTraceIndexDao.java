@@ -28,6 +28,7 @@ import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.common.server.util.SpanUtils;
 
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 import org.slf4j.Logger;
@@ -35,6 +36,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -74,20 +77,48 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
             logger.debug("insert ApplicationTraceIndex: {}", span);
         }
 
+        final long acceptedTime = acceptedTimeService.getAcceptedTime();
+        final Put put = createPut(span, acceptedTime);
+
+        final TableName applicationTraceIndexTableName = descriptor.getTableName();
+        hbaseTemplate.asyncPut(applicationTraceIndexTableName, put);
+    }
+
+    @Override
+    public void insertSpanList(List<SpanBo> spanList) {
+        Objects.requireNonNull(spanList, "spanList");
+        if (spanList.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("insert ApplicationTraceIndex size: {}", spanList.size());
+        }
+
+        final List<Put> puts = new ArrayList<>(spanList.size());
+        for (SpanBo span : spanList) {
+            // written by the batch thread. the accepted time of the receiver thread is in the span
+            puts.add(createPut(span, span.getCollectorAcceptTime()));
+        }
+
+        final TableName applicationTraceIndexTableName = descriptor.getTableName();
+        final List<Put> rejectedPuts = hbaseTemplate.asyncPut(applicationTraceIndexTableName, puts);
+        if (CollectionUtils.isNotEmpty(rejectedPuts)) {
+            logger.warn("ApplicationTraceIndex multi-put rejected. size:{}, rejected:{}", puts.size(), rejectedPuts.size());
+        }
+    }
+
+    private Put createPut(SpanBo span, long acceptedTime) {
         final Buffer buffer = new AutomaticBuffer(10 + HbaseTableConstatns.AGENT_NAME_MAX_LEN);
         buffer.putVInt(span.getElapsed());
         buffer.putSVInt(span.getErrCode());
         buffer.putPrefixedString(span.getAgentId());
         final byte[] value = buffer.getBuffer();
 
-        final long acceptedTime = acceptedTimeService.getAcceptedTime();
         final byte[] distributedKey = createRowKey(span, acceptedTime);
         final Put put = new Put(distributedKey);
 
         put.addColumn(descriptor.getColumnFamilyName(), makeQualifier(span) , acceptedTime, value);
-
-        final TableName applicationTraceIndexTableName = descriptor.getTableName();
-        hbaseTemplate.asyncPut(applicationTraceIndexTableName, put);
+        return put;
     }
 
     private byte[] makeQualifier(final SpanBo span) {
@@ -17,8 +17,9 @@
 package com.navercorp.pinpoint.collector.dao.hbase;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
 import com.navercorp.pinpoint.collector.dao.HostApplicationMapDao;
-import com.navercorp.pinpoint.collector.util.AtomicLongUpdateMap;
+import com.navercorp.pinpoint.collector.util.SlotDedupCache;
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
@@ -33,6 +34,7 @@ import com.sematext.hbase.wd.AbstractRowKeyDistributor;
 import org.apache.hadoop.hbase.TableName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
@@ -57,19 +59,31 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
 
     private final AbstractRowKeyDistributor rowKeyDistributor;
 
-    // FIXME should modify to save a cachekey at each 30~50 seconds instead of saving at each time
-    private final AtomicLongUpdateMap<CacheKey> updater = new AtomicLongUpdateMap<>();
+    // a mapping is written once per statistics slot
+    private final SlotDedupCache dedupCache;
 
+    @Autowired
     public HbaseHostApplicationMapDao(HbaseOperations2 hbaseTemplate,
                                       TableDescriptor<HbaseColumnFamily.HostStatMap> descriptor,
                                       @Qualifier("acceptApplicationRowKeyDistributor") AbstractRowKeyDistributor rowKeyDistributor,
                                       AcceptedTimeService acceptedTimeService,
-                                      TimeSlot timeSlot) {
+                                      TimeSlot timeSlot,
+                                      CollectorConfiguration collectorConfiguration) {
+        this(hbaseTemplate, descriptor, rowKeyDistributor, acceptedTimeService, timeSlot, collectorConfiguration.getHostApplicationMapCacheSize());
+    }
+
+    public HbaseHostApplicationMapDao(HbaseOperations2 hbaseTemplate,
+                                      TableDescriptor<HbaseColumnFamily.HostStatMap> descriptor,
+                                      AbstractRowKeyDistributor rowKeyDistributor,
+                                      AcceptedTimeService acceptedTimeService,
+                                      TimeSlot timeSlot,
+                                      int cacheSize) {
         this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
         this.descriptor = Objects.requireNonNull(descriptor, "descriptor");
         this.rowKeyDistributor = Objects.requireNonNull(rowKeyDistributor, "rowKeyDistributor");
         this.acceptedTimeService = Objects.requireNonNull(acceptedTimeService, "acceptedTimeService");
         this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
+        this.dedupCache = new SlotDedupCache(cacheSize);
     }
 
 
@@ -87,14 +101,30 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
 
         final long statisticsRowSlot = getSlotTime();
 
-        final CacheKey cacheKey = new CacheKey(host, bindApplicationName, bindServiceType, parentApplicationName, parentServiceType);
-        final boolean needUpdate = updater.update(cacheKey, statisticsRowSlot);
+        final long mappingHash = mappingHash(host, bindApplicationName, bindServiceType, parentApplicationName, parentServiceType);
+        final boolean needUpdate = dedupCache.update(mappingHash, statisticsRowSlot);
         if (needUpdate) {
             insertHostVer2(host, bindApplicationName, bindServiceType, statisticsRowSlot, parentApplicationName, parentServiceType);
         }
     }
 
 
+    @VisibleForTesting
+    static long mappingHash(String host, String bindApplicationName, short bindServiceType, String parentApplicationName, short parentServiceType) {
+        long hash = SlotDedupCache.newHash();
+        hash = SlotDedupCache.hash(hash, host);
+        hash = SlotDedupCache.hash(hash, bindApplicationName);
+        hash = SlotDedupCache.hash(hash, bindServiceType);
+        // may be null for below two parent values.
+        hash = SlotDedupCache.hash(hash, parentApplicationName);
+        hash = SlotDedupCache.hash(hash, parentServiceType);
+        return SlotDedupCache.finish(hash);
+    }
+
+    SlotDedupCache getDedupCache() {
+        return dedupCache;
+    }
+
     private long getSlotTime() {
         final long acceptedTime = acceptedTimeService.getAcceptedTime();
         return timeSlot.getTimeSlot(acceptedTime);
@@ -152,50 +182,4 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
 //        rowKeyBuffer.putPadString(parentAgentId, HbaseTableConstatns.AGENT_NAME_MAX_LEN);
         return rowKeyBuffer.getBuffer();
     }
-
-    private static final class CacheKey {
-        private final String host;
-        private final String applicationName;
-        private final short serviceType;
-
-        private final String parentApplicationName;
-        private final short parentServiceType;
-
-        public CacheKey(String host, String applicationName, short serviceType, String parentApplicationName, short parentServiceType) {
-            this.host = Objects.requireNonNull(host, "host");
-            this.applicationName = Objects.requireNonNull(applicationName, "applicationName");
-            this.serviceType = serviceType;
-
-            // may be null for below two parent values.
-            this.parentApplicationName = parentApplicationName;
-            this.parentServiceType = parentServiceType;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-
-            CacheKey cacheKey = (CacheKey) o;
-
-            if (parentServiceType != cacheKey.parentServiceType) return false;
-            if (serviceType != cacheKey.serviceType) return false;
-            if (!applicationName.equals(cacheKey.applicationName)) return false;
-            if (!host.equals(cacheKey.host)) return false;
-            if (parentApplicationName != null ? !parentApplicationName.equals(cacheKey.parentApplicationName) : cacheKey.parentApplicationName != null)
-                return false;
-
-            return true;
-        }
-
-        @Override
-        public int hashCode() {
-            int result = host.hashCode();
-            result = 31 * result + applicationName.hashCode();
-            result = 31 * result + (int) serviceType;
-            result = 31 * result + (parentApplicationName != null ? parentApplicationName.hashCode() : 0);
-            result = 31 * result + (int) parentServiceType;
-            return result;
-        }
-    }
 }
@@ -22,6 +22,8 @@ import com.navercorp.pinpoint.collector.dao.hbase.statistics.CallRowKey;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.ColumnName;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.ResponseColumnName;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKey;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.TableDescriptor;
@@ -69,6 +71,12 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
 
     private final boolean useBulk;
 
+    private final StageTimer flushTimer;
+
+    // lookup keys of the bulkIncrementer. copied only when a new counter is created
+    private final ThreadLocal<CallRowKey> rowKeyProbe = ThreadLocal.withInitial(CallRowKey::newProbe);
+    private final ThreadLocal<ResponseColumnName> columnNameProbe = ThreadLocal.withInitial(ResponseColumnName::newProbe);
+
     private final TableDescriptor<HbaseColumnFamily.SelfStatMap> descriptor;
 
 
@@ -77,15 +85,17 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
                                    TableDescriptor<HbaseColumnFamily.SelfStatMap> descriptor,
                                    @Qualifier("statisticsSelfRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                    AcceptedTimeService acceptedTimeService, TimeSlot timeSlot,
-                                   @Qualifier("selfBulkIncrementer") BulkIncrementer bulkIncrementer) {
-        this(hbaseTemplate, descriptor, rowKeyDistributorByHashPrefix, acceptedTimeService, timeSlot, bulkIncrementer, true);
+                                   @Qualifier("selfBulkIncrementer") BulkIncrementer bulkIncrementer,
+                                   CollectorStageMetrics stageMetrics) {
+        this(hbaseTemplate, descriptor, rowKeyDistributorByHashPrefix, acceptedTimeService, timeSlot, bulkIncrementer, true,
+                stageMetrics.getStageTimer(CollectorStageMetrics.Stage.STATISTICS_FLUSH));
     }
 
     public HbaseMapResponseTimeDao(HbaseOperations2 hbaseTemplate,
                                    TableDescriptor<HbaseColumnFamily.SelfStatMap> descriptor,
                                    RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                    AcceptedTimeService acceptedTimeService, TimeSlot timeSlot,
-                                   BulkIncrementer bulkIncrementer, boolean useBulk) {
+                                   BulkIncrementer bulkIncrementer, boolean useBulk, StageTimer flushTimer) {
         this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
         this.descriptor = Objects.requireNonNull(descriptor, "descriptor");
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
@@ -93,6 +103,7 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
         this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
         this.bulkIncrementer = Objects.requireNonNull(bulkIncrementer, "bulkIncrementer");
         this.useBulk = useBulk;
+        this.flushTimer = Objects.requireNonNull(flushTimer, "flushTimer");
     }
 
     @Override
@@ -107,10 +118,10 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
         // make row key. rowkey is me
         final long acceptedTime = acceptedTimeService.getAcceptedTime();
         final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
-        final RowKey selfRowKey = new CallRowKey(applicationName, applicationServiceType.getCode(), rowTimeSlot);
+        final RowKey selfRowKey = rowKeyProbe.get().set(applicationName, applicationServiceType.getCode(), rowTimeSlot);
 
         final short slotNumber = ApplicationMapStatisticsUtils.getSlotNumber(applicationServiceType, elapsed, isError);
-        final ColumnName selfColumnName = new ResponseColumnName(agentId, slotNumber);
+        final ColumnName selfColumnName = columnNameProbe.get().set(agentId, slotNumber);
         if (useBulk) {
             TableName mapStatisticsSelfTableName = descriptor.getTableName();
             bulkIncrementer.increment(mapStatisticsSelfTableName, selfRowKey, selfColumnName);
@@ -140,14 +151,22 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
             throw new IllegalStateException("useBulk is " + useBulk);
         }
 
-        Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributorByHashPrefix);
-        for (Map.Entry<TableName, List<Increment>> e : incrementMap.entrySet()) {
-            TableName tableName = e.getKey();
-            List<Increment> increments = e.getValue();
-            if (logger.isDebugEnabled()) {
-                logger.debug("flush {} to [{}] Increment:{}", this.getClass().getSimpleName(), tableName.getNameAsString(), increments.size());
+        final long startTime = flushTimer.start();
+        try {
+            Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributorByHashPrefix);
+            for (Map.Entry<TableName, List<Increment>> e : incrementMap.entrySet()) {
+                TableName tableName = e.getKey();
+                List<Increment> increments = e.getValue();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("flush {} to [{}] Increment:{}", this.getClass().getSimpleName(), tableName.getNameAsString(), increments.size());
+                }
+                hbaseTemplate.increment(tableName, increments);
             }
-            hbaseTemplate.increment(tableName, increments);
+        } catch (RuntimeException e) {
+            flushTimer.error();
+            throw e;
+        } finally {
+            flushTimer.stop(startTime);
         }
     }
 
@@ -22,6 +22,8 @@ import com.navercorp.pinpoint.collector.dao.hbase.statistics.CallRowKey;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.CallerColumnName;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.ColumnName;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKey;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.TableDescriptor;
@@ -70,21 +72,29 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
 
     private final boolean useBulk;
 
+    private final StageTimer flushTimer;
+
+    // lookup keys of the bulkIncrementer. copied only when a new counter is created
+    private final ThreadLocal<CallRowKey> rowKeyProbe = ThreadLocal.withInitial(CallRowKey::newProbe);
+    private final ThreadLocal<CallerColumnName> columnNameProbe = ThreadLocal.withInitial(CallerColumnName::newProbe);
+
 
     @Autowired
     public HbaseMapStatisticsCalleeDao(HbaseOperations2 hbaseTemplate,
                                        TableDescriptor<HbaseColumnFamily.CallerStatMap> descriptor,
                                        @Qualifier("statisticsCalleeRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                        AcceptedTimeService acceptedTimeService, TimeSlot timeSlot,
-                                       @Qualifier("calleeBulkIncrementer") BulkIncrementer bulkIncrementer) {
-        this(hbaseTemplate, descriptor, rowKeyDistributorByHashPrefix, acceptedTimeService, timeSlot, bulkIncrementer, true);
+                                       @Qualifier("calleeBulkIncrementer") BulkIncrementer bulkIncrementer,
+                                       CollectorStageMetrics stageMetrics) {
+        this(hbaseTemplate, descriptor, rowKeyDistributorByHashPrefix, acceptedTimeService, timeSlot, bulkIncrementer, true,
+                stageMetrics.getStageTimer(CollectorStageMetrics.Stage.STATISTICS_FLUSH));
     }
 
     public HbaseMapStatisticsCalleeDao(HbaseOperations2 hbaseTemplate,
                                        TableDescriptor<HbaseColumnFamily.CallerStatMap> descriptor,
                                        RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                        AcceptedTimeService acceptedTimeService, TimeSlot timeSlot,
-                                       BulkIncrementer bulkIncrementer, boolean useBulk) {
+                                       BulkIncrementer bulkIncrementer, boolean useBulk, StageTimer flushTimer) {
         this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
         this.descriptor = Objects.requireNonNull(descriptor, "descriptor");
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
@@ -92,6 +102,7 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
         this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
         this.bulkIncrementer = Objects.requireNonNull(bulkIncrementer, "bulkIncrementer");
         this.useBulk = useBulk;
+        this.flushTimer = Objects.requireNonNull(flushTimer, "flushTimer");
     }
 
     @Override
@@ -110,10 +121,10 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
         // make row key. rowkey is me
         final long acceptedTime = acceptedTimeService.getAcceptedTime();
         final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
-        final RowKey calleeRowKey = new CallRowKey(calleeApplicationName, calleeServiceType.getCode(), rowTimeSlot);
+        final RowKey calleeRowKey = rowKeyProbe.get().set(calleeApplicationName, calleeServiceType.getCode(), rowTimeSlot);
 
         final short callerSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
-        final ColumnName callerColumnName = new CallerColumnName(callerServiceType.getCode(), callerApplicationName, callerHost, callerSlotNumber);
+        final ColumnName callerColumnName = columnNameProbe.get().set(callerServiceType.getCode(), callerApplicationName, callerHost, callerSlotNumber);
 
         if (useBulk) {
             TableName mapStatisticsCallerTableName = descriptor.getTableName();
@@ -144,17 +155,25 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
             throw new IllegalStateException();
         }
 
-        Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributorByHashPrefix);
-
-        for (Map.Entry<TableName, List<Increment>> e : incrementMap.entrySet()) {
-            TableName tableName = e.getKey();
-            List<Increment> increments = e.getValue();
-            if (logger.isDebugEnabled()) {
-                logger.debug("flush {} to [{}] Increment:{}", this.getClass().getSimpleName(), tableName.getNameAsString(), increments.size());
+        final long startTime = flushTimer.start();
+        try {
+            Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributorByHashPrefix);
+
+            for (Map.Entry<TableName, List<Increment>> e : incrementMap.entrySet()) {
+                TableName tableName = e.getKey();
+                List<Increment> increments = e.getValue();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("flush {} to [{}] Increment:{}", this.getClass().getSimpleName(), tableName.getNameAsString(), increments.size());
+                }
+                hbaseTemplate.increment(tableName, increments);
             }
-            hbaseTemplate.increment(tableName, increments);
-        }
 
+        } catch (RuntimeException e) {
+            flushTimer.error();
+            throw e;
+        } finally {
+            flushTimer.stop(startTime);
+        }
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
@@ -22,6 +22,8 @@ import com.navercorp.pinpoint.collector.dao.hbase.statistics.CallRowKey;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.CalleeColumnName;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.ColumnName;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKey;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.TableDescriptor;
@@ -70,6 +72,12 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
 
     private final boolean useBulk;
 
+    private final StageTimer flushTimer;
+
+    // lookup keys of the bulkIncrementer. copied only when a new counter is created
+    private final ThreadLocal<CallRowKey> rowKeyProbe = ThreadLocal.withInitial(CallRowKey::newProbe);
+    private final ThreadLocal<CalleeColumnName> columnNameProbe = ThreadLocal.withInitial(CalleeColumnName::newProbe);
+
 
     @Autowired
     public HbaseMapStatisticsCallerDao(HbaseOperations2 hbaseTemplate,
@@ -77,8 +85,10 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
                                        @Qualifier("statisticsCallerRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                        AcceptedTimeService acceptedTimeService,
                                        TimeSlot timeSlot,
-                                       @Qualifier("callerBulkIncrementer") BulkIncrementer bulkIncrementer) {
-        this(hbaseTemplate, descriptor, rowKeyDistributorByHashPrefix, acceptedTimeService, timeSlot, bulkIncrementer, true);
+                                       @Qualifier("callerBulkIncrementer") BulkIncrementer bulkIncrementer,
+                                       CollectorStageMetrics stageMetrics) {
+        this(hbaseTemplate, descriptor, rowKeyDistributorByHashPrefix, acceptedTimeService, timeSlot, bulkIncrementer, true,
+                stageMetrics.getStageTimer(CollectorStageMetrics.Stage.STATISTICS_FLUSH));
     }
 
     public HbaseMapStatisticsCallerDao(HbaseOperations2 hbaseTemplate,
@@ -86,7 +96,7 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
                                        RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                        AcceptedTimeService acceptedTimeService,
                                        TimeSlot timeSlot,
-                                       BulkIncrementer bulkIncrementer, boolean useBulk) {
+                                       BulkIncrementer bulkIncrementer, boolean useBulk, StageTimer flushTimer) {
         this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
         this.descriptor = Objects.requireNonNull(descriptor, "descriptor");
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
@@ -94,6 +104,7 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
         this.bulkIncrementer = Objects.requireNonNull(bulkIncrementer, "bulkIncrementer");
         this.useBulk = useBulk;
+        this.flushTimer = Objects.requireNonNull(flushTimer, "flushTimer");
     }
 
     @Override
@@ -113,10 +124,10 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         // make row key. rowkey is me
         final long acceptedTime = acceptedTimeService.getAcceptedTime();
         final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
-        final RowKey callerRowKey = new CallRowKey(callerApplicationName, callerServiceType.getCode(), rowTimeSlot);
+        final RowKey callerRowKey = rowKeyProbe.get().set(callerApplicationName, callerServiceType.getCode(), rowTimeSlot);
 
         final short calleeSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
-        final ColumnName calleeColumnName = new CalleeColumnName(callerAgentid, calleeServiceType.getCode(), calleeApplicationName, calleeHost, calleeSlotNumber);
+        final ColumnName calleeColumnName = columnNameProbe.get().set(callerAgentid, calleeServiceType.getCode(), calleeApplicationName, calleeHost, calleeSlotNumber);
         if (useBulk) {
             TableName mapStatisticsCalleeTableName = descriptor.getTableName();
             bulkIncrementer.increment(mapStatisticsCalleeTableName, callerRowKey, calleeColumnName);
@@ -144,16 +155,25 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         if (!useBulk) {
             throw new IllegalStateException();
         }
-        // update statistics by rowkey and column for now. need to update it by rowkey later.
-        Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributorByHashPrefix);
-
-        for (Map.Entry<TableName, List<Increment>> e : incrementMap.entrySet()) {
-            TableName tableName = e.getKey();
-            List<Increment> increments = e.getValue();
-            if (logger.isDebugEnabled()) {
-                logger.debug("flush {} to [{}] Increment:{}", this.getClass().getSimpleName(), tableName.getNameAsString(), increments.size());
+
+        final long startTime = flushTimer.start();
+        try {
+            // update statistics by rowkey and column for now. need to update it by rowkey later.
+            Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributorByHashPrefix);
+
+            for (Map.Entry<TableName, List<Increment>> e : incrementMap.entrySet()) {
+                TableName tableName = e.getKey();
+                List<Increment> increments = e.getValue();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("flush {} to [{}] Increment:{}", this.getClass().getSimpleName(), tableName.getNameAsString(), increments.size());
+                }
+                hbaseTemplate.increment(tableName, increments);
             }
-            hbaseTemplate.increment(tableName, increments);
+        } catch (RuntimeException e) {
+            flushTimer.error();
+            throw e;
+        } finally {
+            flushTimer.stop(startTime);
         }
     }
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
+import com.navercorp.pinpoint.collector.dao.ScatterHeatmapDao;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementer;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.ColumnName;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKey;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.ScatterHeatmapColumnName;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.ScatterHeatmapRowKey;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.TableDescriptor;
+import com.navercorp.pinpoint.common.server.util.ScatterHeatmapUtils;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Increment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bins the accepted spans into the ScatterHeatmap counters.
+ * The counters are pre-aggregated by the {@link BulkIncrementer} and written with the other statistics.
+ */
+@Repository
+public class HbaseScatterHeatmapDao implements ScatterHeatmapDao {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final HbaseOperations2 hbaseTemplate;
+
+    private final TableDescriptor<HbaseColumnFamily.ScatterHeatmap> descriptor;
+
+    private final RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
+
+    private final BulkIncrementer bulkIncrementer;
+
+    private final boolean enable;
+
+    private final StageTimer flushTimer;
+
+    // lookup keys of the bulkIncrementer. copied only when a new counter is created
+    private final ThreadLocal<ScatterHeatmapRowKey> rowKeyProbe = ThreadLocal.withInitial(ScatterHeatmapRowKey::newProbe);
+    private final ThreadLocal<ScatterHeatmapColumnName> columnNameProbe = ThreadLocal.withInitial(ScatterHeatmapColumnName::newProbe);
+
+    @Autowired
+    public HbaseScatterHeatmapDao(HbaseOperations2 hbaseTemplate,
+                                  TableDescriptor<HbaseColumnFamily.ScatterHeatmap> descriptor,
+                                  @Qualifier("scatterHeatmapRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
+                                  @Qualifier("scatterHeatmapBulkIncrementer") BulkIncrementer bulkIncrementer,
+                                  CollectorConfiguration collectorConfiguration,
+                                  CollectorStageMetrics stageMetrics) {
+        this(hbaseTemplate, descriptor, rowKeyDistributorByHashPrefix, bulkIncrementer, collectorConfiguration.isScatterHeatmapEnable(),
+                stageMetrics.getStageTimer(CollectorStageMetrics.Stage.STATISTICS_FLUSH));
+    }
+
+    public HbaseScatterHeatmapDao(HbaseOperations2 hbaseTemplate,
+                                  TableDescriptor<HbaseColumnFamily.ScatterHeatmap> descriptor,
+                                  RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
+                                  BulkIncrementer bulkIncrementer, boolean enable, StageTimer flushTimer) {
+        this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
+        this.descriptor = Objects.requireNonNull(descriptor, "descriptor");
+        this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
+        this.bulkIncrementer = Objects.requireNonNull(bulkIncrementer, "bulkIncrementer");
+        this.enable = enable;
+        this.flushTimer = Objects.requireNonNull(flushTimer, "flushTimer");
+    }
+
+    @Override
+    public void received(String applicationName, long acceptedTime, int elapsed, boolean isError) {
+        if (!enable) {
+            return;
+        }
+        Objects.requireNonNull(applicationName, "applicationName");
+
+        final long rowTimeSlot = ScatterHeatmapUtils.getRowTimeSlot(acceptedTime);
+        final RowKey rowKey = rowKeyProbe.get().set(applicationName, rowTimeSlot);
+
+        final int cellIndex = ScatterHeatmapUtils.getCellIndex(acceptedTime);
+        final int elapsedBucket = ScatterHeatmapUtils.getElapsedBucket(elapsed);
+        final ColumnName columnName = columnNameProbe.get().set(cellIndex, elapsedBucket, isError);
+
+        bulkIncrementer.increment(descriptor.getTableName(), rowKey, columnName);
+    }
+
+    @Override
+    public void flushAll() {
+        if (!enable) {
+            return;
+        }
+
+        final long startTime = flushTimer.start();
+        try {
+            Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributorByHashPrefix);
+            for (Map.Entry<TableName, List<Increment>> e : incrementMap.entrySet()) {
+                TableName tableName = e.getKey();
+                List<Increment> increments = e.getValue();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("flush {} to [{}] Increment:{}", this.getClass().getSimpleName(), tableName.getNameAsString(), increments.size());
+                }
+                hbaseTemplate.increment(tableName, increments);
+            }
+        } catch (RuntimeException e) {
+            flushTimer.error();
+            throw e;
+        } finally {
+            flushTimer.stop(startTime);
+        }
+    }
+}
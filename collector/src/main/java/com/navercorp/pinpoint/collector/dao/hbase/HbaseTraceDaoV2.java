@@ -37,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -78,6 +79,14 @@ public class HbaseTraceDaoV2 implements TraceDao {
             logger.debug("insert trace: {}", spanBo);
         }
 
+        final Put put = createPut(spanBo);
+
+        TableName traceTableName = descriptor.getTableName();
+
+        return hbaseTemplate.asyncPut(traceTableName, put);
+    }
+
+    private Put createPut(SpanBo spanBo) {
         long acceptedTime = spanBo.getCollectorAcceptTime();
 
         TransactionId transactionId = spanBo.getTransactionId();
@@ -85,31 +94,45 @@ public class HbaseTraceDaoV2 implements TraceDao {
         final Put put = new Put(rowKey, acceptedTime);
 
         this.spanSerializer.serialize(spanBo, put, null);
+        return put;
+    }
 
-        TableName traceTableName = descriptor.getTableName();
+    @Override
+    public int insertSpanList(List<SpanBo> spanList) {
+        Objects.requireNonNull(spanList, "spanList");
+        if (spanList.isEmpty()) {
+            return 0;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("insert trace size: {}", spanList.size());
+        }
 
-        return hbaseTemplate.asyncPut(traceTableName, put);
+        final List<Put> puts = new ArrayList<>(spanList.size());
+        for (SpanBo spanBo : spanList) {
+            puts.add(createPut(spanBo));
+        }
+        return asyncPut(puts);
     }
 
-
+    private int asyncPut(List<Put> puts) {
+        final TableName traceTableName = descriptor.getTableName();
+        final List<Put> rejectedPuts = hbaseTemplate.asyncPut(traceTableName, puts);
+        if (CollectionUtils.isNotEmpty(rejectedPuts)) {
+            logger.warn("trace multi-put rejected. size:{}, rejected:{}", puts.size(), rejectedPuts.size());
+            return rejectedPuts.size();
+        }
+        return 0;
+    }
 
     @Override
     public boolean insertSpanChunk(SpanChunkBo spanChunkBo) {
         Objects.requireNonNull(spanChunkBo, "spanChunkBo");
 
-        TransactionId transactionId = spanChunkBo.getTransactionId();
-        final byte[] rowKey = this.rowKeyEncoder.encodeRowKey(transactionId);
-
-        final long acceptedTime = spanChunkBo.getCollectorAcceptTime();
-        final Put put = new Put(rowKey, acceptedTime);
-
-        final List<SpanEventBo> spanEventBoList = spanChunkBo.getSpanEventBoList();
-        if (CollectionUtils.isEmpty(spanEventBoList)) {
+        final Put put = createPut(spanChunkBo);
+        if (put == null) {
             return true;
         }
 
-        this.spanChunkSerializer.serialize(spanChunkBo, put, null);
-
         if (!put.isEmpty()) {
             TableName traceTableName = descriptor.getTableName();
             return hbaseTemplate.asyncPut(traceTableName, put);
@@ -117,4 +140,37 @@ public class HbaseTraceDaoV2 implements TraceDao {
 
         return false;
     }
+
+    private Put createPut(SpanChunkBo spanChunkBo) {
+        final List<SpanEventBo> spanEventBoList = spanChunkBo.getSpanEventBoList();
+        if (CollectionUtils.isEmpty(spanEventBoList)) {
+            return null;
+        }
+
+        TransactionId transactionId = spanChunkBo.getTransactionId();
+        final byte[] rowKey = this.rowKeyEncoder.encodeRowKey(transactionId);
+
+        final long acceptedTime = spanChunkBo.getCollectorAcceptTime();
+        final Put put = new Put(rowKey, acceptedTime);
+
+        this.spanChunkSerializer.serialize(spanChunkBo, put, null);
+        return put;
+    }
+
+    @Override
+    public int insertSpanChunkList(List<SpanChunkBo> spanChunkList) {
+        Objects.requireNonNull(spanChunkList, "spanChunkList");
+
+        final List<Put> puts = new ArrayList<>(spanChunkList.size());
+        for (SpanChunkBo spanChunkBo : spanChunkList) {
+            final Put put = createPut(spanChunkBo);
+            if (put != null && !put.isEmpty()) {
+                puts.add(put);
+            }
+        }
+        if (puts.isEmpty()) {
+            return 0;
+        }
+        return asyncPut(puts);
+    }
 }
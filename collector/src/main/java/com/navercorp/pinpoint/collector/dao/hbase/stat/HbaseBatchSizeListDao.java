@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.navercorp.pinpoint.collector.dao.AgentStatDaoV2;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.HbaseTable;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.BatchSizeSerializer;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeListBo;
+import com.navercorp.pinpoint.common.util.CollectionUtils;
+
+import org.apache.commons.collections.map.MultiKeyMap;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+public class HbaseBatchSizeListDao implements AgentStatDaoV2<BatchSizeListBo> {
+
+    private final HbaseOperations2 hbaseTemplate;
+
+    private final TableNameProvider tableNameProvider;
+
+    private final AgentStatHbaseOperationFactory agentStatHbaseOperationFactory;
+
+    private final BatchSizeSerializer batchSizeSerializer;
+
+    public HbaseBatchSizeListDao(@Qualifier("asyncPutHbaseTemplate") HbaseOperations2 hbaseTemplate, TableNameProvider tableNameProvider,
+                                 AgentStatHbaseOperationFactory agentStatHbaseOperationFactory, BatchSizeSerializer batchSizeSerializer) {
+        this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
+        this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
+        this.agentStatHbaseOperationFactory = Objects.requireNonNull(agentStatHbaseOperationFactory, "agentStatHbaseOperationFactory");
+        this.batchSizeSerializer = Objects.requireNonNull(batchSizeSerializer, "batchSizeSerializer");
+    }
+
+    @Override
+    public void insert(String agentId, List<BatchSizeListBo> batchSizeListBos) {
+        Objects.requireNonNull(agentId, "agentId");
+        if (CollectionUtils.isEmpty(batchSizeListBos)) {
+            return;
+        }
+
+        List<BatchSizeListBo> reorderedBatchSizeListBos = reorderBatchSizeListBos(batchSizeListBos);
+        List<Put> batchSizePuts = this.agentStatHbaseOperationFactory.createPuts(agentId, AgentStatType.BATCH_SIZE, reorderedBatchSizeListBos, batchSizeSerializer);
+        if (!batchSizePuts.isEmpty()) {
+            TableName agentStatTableName = tableNameProvider.getTableName(HbaseTable.AGENT_STAT_VER2);
+            this.hbaseTemplate.asyncPut(agentStatTableName, batchSizePuts);
+        }
+    }
+
+    private List<BatchSizeListBo> reorderBatchSizeListBos(List<BatchSizeListBo> batchSizeListBos) {
+        // reorder batchSizeBo using executor name and timeSlot
+        MultiKeyMap batchSizeListBoMap = new MultiKeyMap();
+
+        for (BatchSizeListBo batchSizeListBo : batchSizeListBos) {
+            for (BatchSizeBo batchSizeBo : batchSizeListBo.getList()) {
+                String executorName = batchSizeBo.getExecutorName();
+                long timestamp = batchSizeBo.getTimestamp();
+                long timeSlot = AgentStatUtils.getBaseTimestamp(timestamp);
+
+                BatchSizeListBo mappedBatchSizeListBo = (BatchSizeListBo) batchSizeListBoMap.get(executorName, timeSlot);
+                if (mappedBatchSizeListBo == null) {
+                    mappedBatchSizeListBo = new BatchSizeListBo();
+                    mappedBatchSizeListBo.setAgentId(batchSizeBo.getAgentId());
+                    mappedBatchSizeListBo.setStartTimestamp(batchSizeBo.getStartTimestamp());
+                    mappedBatchSizeListBo.setTimestamp(batchSizeBo.getTimestamp());
+
+                    batchSizeListBoMap.put(executorName, timeSlot, mappedBatchSizeListBo);
+                }
+
+                // set fastest timestamp
+                if (mappedBatchSizeListBo.getTimestamp() > batchSizeBo.getTimestamp()) {
+                    mappedBatchSizeListBo.setTimestamp(batchSizeBo.getTimestamp());
+                }
+
+                mappedBatchSizeListBo.add(batchSizeBo);
+            }
+        }
+
+        Collection values = batchSizeListBoMap.values();
+        return new ArrayList<BatchSizeListBo>(values);
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.navercorp.pinpoint.collector.dao.AgentStatDaoV2;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.HbaseTable;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.MetadataCacheSerializer;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheListBo;
+import com.navercorp.pinpoint.common.util.CollectionUtils;
+
+import org.apache.commons.collections.map.MultiKeyMap;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+public class HbaseMetadataCacheListDao implements AgentStatDaoV2<MetadataCacheListBo> {
+
+    private final HbaseOperations2 hbaseTemplate;
+
+    private final TableNameProvider tableNameProvider;
+
+    private final AgentStatHbaseOperationFactory agentStatHbaseOperationFactory;
+
+    private final MetadataCacheSerializer metadataCacheSerializer;
+
+    public HbaseMetadataCacheListDao(@Qualifier("asyncPutHbaseTemplate") HbaseOperations2 hbaseTemplate, TableNameProvider tableNameProvider,
+                                     AgentStatHbaseOperationFactory agentStatHbaseOperationFactory, MetadataCacheSerializer metadataCacheSerializer) {
+        this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
+        this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
+        this.agentStatHbaseOperationFactory = Objects.requireNonNull(agentStatHbaseOperationFactory, "agentStatHbaseOperationFactory");
+        this.metadataCacheSerializer = Objects.requireNonNull(metadataCacheSerializer, "metadataCacheSerializer");
+    }
+
+    @Override
+    public void insert(String agentId, List<MetadataCacheListBo> metadataCacheListBos) {
+        Objects.requireNonNull(agentId, "agentId");
+        if (CollectionUtils.isEmpty(metadataCacheListBos)) {
+            return;
+        }
+
+        List<MetadataCacheListBo> reorderedMetadataCacheListBos = reorderMetadataCacheListBos(metadataCacheListBos);
+        List<Put> metadataCachePuts = this.agentStatHbaseOperationFactory.createPuts(agentId, AgentStatType.METADATA_CACHE, reorderedMetadataCacheListBos, metadataCacheSerializer);
+        if (!metadataCachePuts.isEmpty()) {
+            TableName agentStatTableName = tableNameProvider.getTableName(HbaseTable.AGENT_STAT_VER2);
+            this.hbaseTemplate.asyncPut(agentStatTableName, metadataCachePuts);
+        }
+    }
+
+    private List<MetadataCacheListBo> reorderMetadataCacheListBos(List<MetadataCacheListBo> metadataCacheListBos) {
+        // reorder metadataCacheBo using cache name and timeSlot
+        MultiKeyMap metadataCacheListBoMap = new MultiKeyMap();
+
+        for (MetadataCacheListBo metadataCacheListBo : metadataCacheListBos) {
+            for (MetadataCacheBo metadataCacheBo : metadataCacheListBo.getList()) {
+                String name = metadataCacheBo.getName();
+                long timestamp = metadataCacheBo.getTimestamp();
+                long timeSlot = AgentStatUtils.getBaseTimestamp(timestamp);
+
+                MetadataCacheListBo mappedMetadataCacheListBo = (MetadataCacheListBo) metadataCacheListBoMap.get(name, timeSlot);
+                if (mappedMetadataCacheListBo == null) {
+                    mappedMetadataCacheListBo = new MetadataCacheListBo();
+                    mappedMetadataCacheListBo.setAgentId(metadataCacheBo.getAgentId());
+                    mappedMetadataCacheListBo.setStartTimestamp(metadataCacheBo.getStartTimestamp());
+                    mappedMetadataCacheListBo.setTimestamp(metadataCacheBo.getTimestamp());
+
+                    metadataCacheListBoMap.put(name, timeSlot, mappedMetadataCacheListBo);
+                }
+
+                // set fastest timestamp
+                if (mappedMetadataCacheListBo.getTimestamp() > metadataCacheBo.getTimestamp()) {
+                    mappedMetadataCacheListBo.setTimestamp(metadataCacheBo.getTimestamp());
+                }
+
+                mappedMetadataCacheListBo.add(metadataCacheBo);
+            }
+        }
+
+        Collection values = metadataCacheListBoMap.values();
+        return new ArrayList<MetadataCacheListBo>(values);
+    }
+
+}
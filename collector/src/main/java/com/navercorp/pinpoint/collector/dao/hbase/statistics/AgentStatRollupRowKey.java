@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupResolution;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.server.util.AgentStatRollupUtils;
+
+import java.util.Objects;
+
+public class AgentStatRollupRowKey implements RowKey {
+    private final String agentId;
+    private final AgentStatRollupType rollupType;
+    private final AgentStatRollupResolution resolution;
+    private final long slotTime;
+
+    // WARNING - cached hash value should not be included for equals/hashCode
+    private int hash;
+
+    public AgentStatRollupRowKey(String agentId, AgentStatRollupType rollupType, AgentStatRollupResolution resolution, long slotTime) {
+        this.agentId = Objects.requireNonNull(agentId, "agentId");
+        this.rollupType = Objects.requireNonNull(rollupType, "rollupType");
+        this.resolution = Objects.requireNonNull(resolution, "resolution");
+        this.slotTime = slotTime;
+    }
+
+    public AgentStatRollupType getRollupType() {
+        return rollupType;
+    }
+
+    public AgentStatRollupResolution getResolution() {
+        return resolution;
+    }
+
+    public long getSlotTime() {
+        return slotTime;
+    }
+
+    public byte[] getRowKey() {
+        return AgentStatRollupUtils.makeRowKey(agentId, rollupType, resolution, slotTime);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AgentStatRollupRowKey that = (AgentStatRollupRowKey) o;
+
+        if (slotTime != that.slotTime) return false;
+        if (rollupType != that.rollupType) return false;
+        if (resolution != that.resolution) return false;
+        return agentId.equals(that.agentId);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hash != 0) {
+            return hash;
+        }
+        int result = agentId.hashCode();
+        result = 31 * result + rollupType.hashCode();
+        result = 31 * result + resolution.hashCode();
+        result = 31 * result + (int) (slotTime ^ (slotTime >>> 32));
+        hash = result;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AgentStatRollupRowKey{" +
+                "agentId='" + agentId + '\'' +
+                ", rollupType=" + rollupType +
+                ", resolution=" + resolution +
+                ", slotTime=" + slotTime +
+                '}';
+    }
+}
@@ -16,36 +16,189 @@
 
 package com.navercorp.pinpoint.collector.dao.hbase.statistics;
 
-import com.google.common.util.concurrent.AtomicLongMap;
-import com.navercorp.pinpoint.collector.util.AtomicLongMapUtils;
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Increment;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Counters are striped by thread id. Each stripe holds a buffer of (tableName, rowKey, columnName) counters.
+ * The buffer is looked up with a thread local probe key, so increment() does not allocate once the key is interned.
+ * The rowKey and columnName may be reusable probes of the dao as well, they are copied when the key is interned.
+ * {@link #getIncrements(RowKeyDistributorByHashPrefix)} swaps the buffer of each stripe and merges the detached buffers.
  * @author HyunGil Jeong
  */
 public class BulkIncrementer {
 
+    private static final int MAX_STRIPES = 64;
+
+    private static final ThreadLocal<CounterKey> PROBE = ThreadLocal.withInitial(CounterKey::new);
+
     private final RowKeyMerge rowKeyMerge;
 
-    private final AtomicLongMap<RowInfo> counter = AtomicLongMap.create();
+    private final Stripe[] stripes;
+    private final int stripeMask;
 
     public BulkIncrementer(RowKeyMerge rowKeyMerge) {
+        this(rowKeyMerge, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BulkIncrementer(RowKeyMerge rowKeyMerge, int concurrencyLevel) {
         this.rowKeyMerge = Objects.requireNonNull(rowKeyMerge, "rowKeyMerge");
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be 'concurrencyLevel > 0'");
+        }
+        final int stripeSize = stripeSize(concurrencyLevel);
+        this.stripeMask = stripeSize - 1;
+        this.stripes = new Stripe[stripeSize];
+        for (int i = 0; i < stripeSize; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    static int stripeSize(int concurrencyLevel) {
+        int stripeSize = 1;
+        while (stripeSize < concurrencyLevel && stripeSize < MAX_STRIPES) {
+            stripeSize <<= 1;
+        }
+        return stripeSize;
     }
 
     public void increment(TableName tableName, RowKey rowKey, ColumnName columnName) {
-        RowInfo rowInfo = new DefaultRowInfo(tableName, rowKey, columnName);
-        counter.incrementAndGet(rowInfo);
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(rowKey, "rowKey");
+        Objects.requireNonNull(columnName, "columnName");
+
+        final CounterKey probe = PROBE.get().set(tableName, rowKey, columnName);
+        final Stripe stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        try {
+            while (true) {
+                final Buffer buffer = stripe.buffer;
+                buffer.writers.incrementAndGet();
+                try {
+                    // the buffer may be detached between the read and the writers increment
+                    if (stripe.buffer == buffer) {
+                        buffer.increment(probe);
+                        return;
+                    }
+                } finally {
+                    buffer.writers.decrementAndGet();
+                }
+            }
+        } finally {
+            // do not retain the keys of the previous time slot
+            probe.clear();
+        }
     }
 
     public Map<TableName, List<Increment>> getIncrements(RowKeyDistributorByHashPrefix rowKeyDistributor) {
-        final Map<RowInfo, Long> snapshot = AtomicLongMapUtils.remove(counter);
+        final Map<RowInfo, Long> snapshot = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            final Buffer detached = stripe.swap();
+            detached.awaitWriters();
+            detached.drainTo(snapshot);
+        }
         return rowKeyMerge.createBulkIncrement(snapshot, rowKeyDistributor);
     }
+
+    private static class Stripe {
+        private volatile Buffer buffer = new Buffer();
+
+        // getIncrements() is called by a single flush thread
+        private Buffer swap() {
+            final Buffer detached = this.buffer;
+            this.buffer = new Buffer();
+            return detached;
+        }
+    }
+
+    private static class Buffer {
+        private final AtomicInteger writers = new AtomicInteger();
+        private final ConcurrentMap<CounterKey, AtomicLong> counters = new ConcurrentHashMap<>(256);
+
+        private void increment(CounterKey probe) {
+            AtomicLong counter = counters.get(probe);
+            if (counter == null) {
+                // intern a copy of the probe key
+                counter = counters.computeIfAbsent(probe.copy(), k -> new AtomicLong());
+            }
+            counter.incrementAndGet();
+        }
+
+        private void awaitWriters() {
+            // writers leave the detached buffer right after a single increment
+            while (writers.get() != 0) {
+                Thread.yield();
+            }
+        }
+
+        private void drainTo(Map<RowInfo, Long> snapshot) {
+            for (Map.Entry<CounterKey, AtomicLong> entry : counters.entrySet()) {
+                final CounterKey key = entry.getKey();
+                final RowInfo rowInfo = new DefaultRowInfo(key.tableName, key.rowKey, key.columnName);
+                snapshot.merge(rowInfo, entry.getValue().get(), Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Mutable lookup key. the thread local instance is used as a probe, the map holds immutable copies only.
+     */
+    private static final class CounterKey {
+        private TableName tableName;
+        private RowKey rowKey;
+        private ColumnName columnName;
+        private int hash;
+
+        private CounterKey set(TableName tableName, RowKey rowKey, ColumnName columnName) {
+            this.tableName = tableName;
+            this.rowKey = rowKey;
+            this.columnName = columnName;
+            int result = tableName.hashCode();
+            result = 31 * result + rowKey.hashCode();
+            result = 31 * result + columnName.hashCode();
+            this.hash = result;
+            return this;
+        }
+
+        private void clear() {
+            this.tableName = null;
+            this.rowKey = null;
+            this.columnName = null;
+        }
+
+        private CounterKey copy() {
+            final CounterKey copy = new CounterKey();
+            copy.tableName = this.tableName;
+            copy.rowKey = this.rowKey.copy();
+            copy.columnName = this.columnName.copy();
+            copy.hash = this.hash;
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CounterKey)) return false;
+
+            CounterKey that = (CounterKey) o;
+            if (hash != that.hash) return false;
+            if (!tableName.equals(that.tableName)) return false;
+            if (!rowKey.equals(that.rowKey)) return false;
+            return columnName.equals(that.columnName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
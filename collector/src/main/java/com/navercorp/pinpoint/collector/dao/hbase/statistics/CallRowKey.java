@@ -24,18 +24,53 @@ import java.util.Objects;
  * @author emeroad
  */
 public class CallRowKey implements RowKey {
-    private final String callApplicationName;
-    private final short callServiceType;
-    private final long rowTimeSlot;
+    private String callApplicationName;
+    private short callServiceType;
+    private long rowTimeSlot;
 
     // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
 
+    private final boolean probe;
+
     public CallRowKey(String callApplicationName, short callServiceType, long rowTimeSlot) {
         this.callApplicationName = Objects.requireNonNull(callApplicationName, "callApplicationName");
         this.callServiceType = callServiceType;
         this.rowTimeSlot = rowTimeSlot;
+        this.probe = false;
+    }
+
+    /**
+     * Reusable lookup key of a single thread, see {@link #set(String, short, long)}.
+     * The probe is never kept as a map key, {@link #copy()} returns an immutable copy.
+     */
+    public static CallRowKey newProbe() {
+        return new CallRowKey();
+    }
+
+    private CallRowKey() {
+        this.probe = true;
+    }
+
+    public CallRowKey set(String callApplicationName, short callServiceType, long rowTimeSlot) {
+        if (!probe) {
+            throw new IllegalStateException("not a probe");
+        }
+        this.callApplicationName = Objects.requireNonNull(callApplicationName, "callApplicationName");
+        this.callServiceType = callServiceType;
+        this.rowTimeSlot = rowTimeSlot;
+        this.hash = 0;
+        return this;
+    }
+
+    @Override
+    public RowKey copy() {
+        if (!probe) {
+            return this;
+        }
+        return new CallRowKey(callApplicationName, callServiceType, rowTimeSlot);
     }
+
     public byte[] getRowKey() {
         return ApplicationMapStatisticsUtils.makeRowKey(callApplicationName, callServiceType, rowTimeSlot);
     }
@@ -25,24 +25,60 @@ import java.util.Objects;
  * @author emeroad
  */
 public class CalleeColumnName implements ColumnName {
-    private final String callerAgentId;
-    private final short calleeServiceType;
-    private final String calleeApplicationName;
+    private String callerAgentId;
+    private short calleeServiceType;
+    private String calleeApplicationName;
     // called or calling host
-    private final String callHost;
-    private final short columnSlotNumber;
+    private String callHost;
+    private short columnSlotNumber;
 
     // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
 
     private long callCount;
 
+    private final boolean probe;
+
     public CalleeColumnName(String callerAgentId, short calleeServiceType, String calleeApplicationName, String callHost, short columnSlotNumber) {
         this.callerAgentId = Objects.requireNonNull(callerAgentId, "callerAgentId");
         this.calleeServiceType = calleeServiceType;
         this.calleeApplicationName = Objects.requireNonNull(calleeApplicationName, "calleeApplicationName");
         this.callHost = Objects.requireNonNull(callHost, "callHost");
         this.columnSlotNumber = columnSlotNumber;
+        this.probe = false;
+    }
+
+    /**
+     * Reusable lookup key of a single thread, see {@link #set(String, short, String, String, short)}.
+     * The probe is never kept as a map key, {@link #copy()} returns an immutable copy.
+     */
+    public static CalleeColumnName newProbe() {
+        return new CalleeColumnName();
+    }
+
+    private CalleeColumnName() {
+        this.probe = true;
+    }
+
+    public CalleeColumnName set(String callerAgentId, short calleeServiceType, String calleeApplicationName, String callHost, short columnSlotNumber) {
+        if (!probe) {
+            throw new IllegalStateException("not a probe");
+        }
+        this.callerAgentId = Objects.requireNonNull(callerAgentId, "callerAgentId");
+        this.calleeServiceType = calleeServiceType;
+        this.calleeApplicationName = Objects.requireNonNull(calleeApplicationName, "calleeApplicationName");
+        this.callHost = Objects.requireNonNull(callHost, "callHost");
+        this.columnSlotNumber = columnSlotNumber;
+        this.hash = 0;
+        return this;
+    }
+
+    @Override
+    public ColumnName copy() {
+        if (!probe) {
+            return this;
+        }
+        return new CalleeColumnName(callerAgentId, calleeServiceType, calleeApplicationName, callHost, columnSlotNumber);
     }
 
     public long getCallCount() {
@@ -24,22 +24,57 @@ import java.util.Objects;
  * @author emeroad
  */
 public class CallerColumnName implements ColumnName {
-    private final short callerServiceType;
-    private final String callerApplicationName;
+    private short callerServiceType;
+    private String callerApplicationName;
     // called or calling host
-    private final String callHost;
-    private final short columnSlotNumber;
+    private String callHost;
+    private short columnSlotNumber;
 
     // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
 
     private long callCount;
 
+    private final boolean probe;
+
     public CallerColumnName(short callerServiceType, String callerApplicationName, String callHost, short columnSlotNumber) {
         this.callerServiceType = callerServiceType;
         this.callerApplicationName = Objects.requireNonNull(callerApplicationName, "callerApplicationName");
         this.callHost = Objects.requireNonNull(callHost, "callHost");
         this.columnSlotNumber = columnSlotNumber;
+        this.probe = false;
+    }
+
+    /**
+     * Reusable lookup key of a single thread, see {@link #set(short, String, String, short)}.
+     * The probe is never kept as a map key, {@link #copy()} returns an immutable copy.
+     */
+    public static CallerColumnName newProbe() {
+        return new CallerColumnName();
+    }
+
+    private CallerColumnName() {
+        this.probe = true;
+    }
+
+    public CallerColumnName set(short callerServiceType, String callerApplicationName, String callHost, short columnSlotNumber) {
+        if (!probe) {
+            throw new IllegalStateException("not a probe");
+        }
+        this.callerServiceType = callerServiceType;
+        this.callerApplicationName = Objects.requireNonNull(callerApplicationName, "callerApplicationName");
+        this.callHost = Objects.requireNonNull(callHost, "callHost");
+        this.columnSlotNumber = columnSlotNumber;
+        this.hash = 0;
+        return this;
+    }
+
+    @Override
+    public ColumnName copy() {
+        if (!probe) {
+            return this;
+        }
+        return new CallerColumnName(callerServiceType, callerApplicationName, callHost, columnSlotNumber);
     }
 
     public long getCallCount() {
@@ -25,4 +25,12 @@ public interface ColumnName {
     long getCallCount();
 
     void setCallCount(long callCount);
+
+    /**
+     * Called before the key is kept as a map key.
+     * @return this, or an immutable copy if this is a reusable lookup probe
+     */
+    default ColumnName copy() {
+        return this;
+    }
 }
@@ -33,9 +33,42 @@ public class ResponseColumnName implements ColumnName {
 
     private long callCount;
 
+    private final boolean probe;
+
     public ResponseColumnName(String agentId, short columnSlotNumber) {
         this.agentId = Objects.requireNonNull(agentId, "agentId");
         this.columnSlotNumber = columnSlotNumber;
+        this.probe = false;
+    }
+
+    /**
+     * Reusable lookup key of a single thread, see {@link #set(String, short)}.
+     * The probe is never kept as a map key, {@link #copy()} returns an immutable copy.
+     */
+    public static ResponseColumnName newProbe() {
+        return new ResponseColumnName();
+    }
+
+    private ResponseColumnName() {
+        this.probe = true;
+    }
+
+    public ResponseColumnName set(String agentId, short columnSlotNumber) {
+        if (!probe) {
+            throw new IllegalStateException("not a probe");
+        }
+        this.agentId = Objects.requireNonNull(agentId, "agentId");
+        this.columnSlotNumber = columnSlotNumber;
+        this.hash = 0;
+        return this;
+    }
+
+    @Override
+    public ColumnName copy() {
+        if (!probe) {
+            return this;
+        }
+        return new ResponseColumnName(agentId, columnSlotNumber);
     }
 
     public long getCallCount() {
@@ -21,4 +21,12 @@ package com.navercorp.pinpoint.collector.dao.hbase.statistics;
  */
 public interface RowKey {
     byte[] getRowKey();
+
+    /**
+     * Called before the key is kept as a map key.
+     * @return this, or an immutable copy if this is a reusable lookup probe
+     */
+    default RowKey copy() {
+        return this;
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.common.server.util.ScatterHeatmapUtils;
+
+public class ScatterHeatmapColumnName implements ColumnName {
+
+    private int cellIndex;
+    private int elapsedBucket;
+    private boolean error;
+
+    private long callCount;
+
+    private final boolean probe;
+
+    public ScatterHeatmapColumnName(int cellIndex, int elapsedBucket, boolean error) {
+        this.cellIndex = cellIndex;
+        this.elapsedBucket = elapsedBucket;
+        this.error = error;
+        this.probe = false;
+    }
+
+    /**
+     * Reusable lookup key of a single thread, see {@link #set(int, int, boolean)}.
+     * The probe is never kept as a map key, {@link #copy()} returns an immutable copy.
+     */
+    public static ScatterHeatmapColumnName newProbe() {
+        return new ScatterHeatmapColumnName();
+    }
+
+    private ScatterHeatmapColumnName() {
+        this.probe = true;
+    }
+
+    public ScatterHeatmapColumnName set(int cellIndex, int elapsedBucket, boolean error) {
+        if (!probe) {
+            throw new IllegalStateException("not a probe");
+        }
+        this.cellIndex = cellIndex;
+        this.elapsedBucket = elapsedBucket;
+        this.error = error;
+        return this;
+    }
+
+    @Override
+    public ColumnName copy() {
+        if (!probe) {
+            return this;
+        }
+        return new ScatterHeatmapColumnName(cellIndex, elapsedBucket, error);
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public void setCallCount(long callCount) {
+        this.callCount = callCount;
+    }
+
+    public byte[] getColumnName() {
+        return ScatterHeatmapUtils.makeColumnName(cellIndex, elapsedBucket, error);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ScatterHeatmapColumnName that = (ScatterHeatmapColumnName) o;
+
+        if (cellIndex != that.cellIndex) return false;
+        if (elapsedBucket != that.elapsedBucket) return false;
+        return error == that.error;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = cellIndex;
+        result = 31 * result + elapsedBucket;
+        result = 31 * result + (error ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ScatterHeatmapColumnName{" +
+                "cellIndex=" + cellIndex +
+                ", elapsedBucket=" + elapsedBucket +
+                ", error=" + error +
+                ", callCount=" + callCount +
+                '}';
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.common.server.util.ScatterHeatmapUtils;
+
+import java.util.Objects;
+
+public class ScatterHeatmapRowKey implements RowKey {
+    private String applicationName;
+    private long rowTimeSlot;
+
+    // WARNING - cached hash value should not be included for equals/hashCode
+    private int hash;
+
+    private final boolean probe;
+
+    public ScatterHeatmapRowKey(String applicationName, long rowTimeSlot) {
+        this.applicationName = Objects.requireNonNull(applicationName, "applicationName");
+        this.rowTimeSlot = rowTimeSlot;
+        this.probe = false;
+    }
+
+    /**
+     * Reusable lookup key of a single thread, see {@link #set(String, long)}.
+     * The probe is never kept as a map key, {@link #copy()} returns an immutable copy.
+     */
+    public static ScatterHeatmapRowKey newProbe() {
+        return new ScatterHeatmapRowKey();
+    }
+
+    private ScatterHeatmapRowKey() {
+        this.probe = true;
+    }
+
+    public ScatterHeatmapRowKey set(String applicationName, long rowTimeSlot) {
+        if (!probe) {
+            throw new IllegalStateException("not a probe");
+        }
+        this.applicationName = Objects.requireNonNull(applicationName, "applicationName");
+        this.rowTimeSlot = rowTimeSlot;
+        this.hash = 0;
+        return this;
+    }
+
+    @Override
+    public RowKey copy() {
+        if (!probe) {
+            return this;
+        }
+        return new ScatterHeatmapRowKey(applicationName, rowTimeSlot);
+    }
+
+    public byte[] getRowKey() {
+        return ScatterHeatmapUtils.makeRowKey(applicationName, rowTimeSlot);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ScatterHeatmapRowKey that = (ScatterHeatmapRowKey) o;
+
+        if (rowTimeSlot != that.rowTimeSlot) return false;
+        return applicationName.equals(that.applicationName);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hash != 0) {
+            return hash;
+        }
+        int result = applicationName.hashCode();
+        result = 31 * result + (int) (rowTimeSlot ^ (rowTimeSlot >>> 32));
+        hash = result;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ScatterHeatmapRowKey{" +
+                "applicationName='" + applicationName + '\'' +
+                ", rowTimeSlot=" + rowTimeSlot +
+                '}';
+    }
+}
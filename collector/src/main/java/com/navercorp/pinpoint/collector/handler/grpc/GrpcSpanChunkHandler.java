@@ -2,7 +2,9 @@
 package com.navercorp.pinpoint.collector.handler.grpc;
 
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
-import com.navercorp.pinpoint.collector.service.TraceService;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.collector.service.SpanBatchService;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 import com.navercorp.pinpoint.common.server.bo.grpc.GrpcSpanFactory;
 import com.navercorp.pinpoint.grpc.Header;
@@ -27,14 +29,18 @@ public class GrpcSpanChunkHandler implements SimpleHandler {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final boolean isDebug = logger.isDebugEnabled();
 
-    private final TraceService traceService;
+    private final SpanBatchService spanBatchService;
 
     private final GrpcSpanFactory spanFactory;
 
+    private final StageTimer mapTimer;
+
     @Autowired
-    public GrpcSpanChunkHandler(TraceService traceService, GrpcSpanFactory spanFactory) {
-        this.traceService = Objects.requireNonNull(traceService, "traceService");
+    public GrpcSpanChunkHandler(SpanBatchService spanBatchService, GrpcSpanFactory spanFactory, CollectorStageMetrics stageMetrics) {
+        this.spanBatchService = Objects.requireNonNull(spanBatchService, "spanBatchService");
         this.spanFactory = Objects.requireNonNull(spanFactory, "spanFactory");
+        Objects.requireNonNull(stageMetrics, "stageMetrics");
+        this.mapTimer = stageMetrics.getStageTimer(CollectorStageMetrics.GRPC, CollectorStageMetrics.Stage.MAP);
     }
 
     @Override
@@ -56,10 +62,22 @@ public class GrpcSpanChunkHandler implements SimpleHandler {
 
         try {
             final Header agentInfo = ServerContext.getAgentInfo();
-            final SpanChunkBo spanChunkBo = spanFactory.buildSpanChunkBo(spanChunk, agentInfo);
-            this.traceService.insertSpanChunk(spanChunkBo);
+            final SpanChunkBo spanChunkBo = buildSpanChunkBo(spanChunk, agentInfo);
+            this.spanBatchService.insertSpanChunk(spanChunkBo);
         } catch (Exception e) {
             logger.warn("Failed to handle spanChunk={}", MessageFormatUtils.debugLog(spanChunk), e);
         }
     }
-}
\ No newline at end of file
+
+    private SpanChunkBo buildSpanChunkBo(PSpanChunk spanChunk, Header agentInfo) {
+        final long startTime = mapTimer.start();
+        try {
+            return spanFactory.buildSpanChunkBo(spanChunk, agentInfo);
+        } catch (RuntimeException e) {
+            mapTimer.error();
+            throw e;
+        } finally {
+            mapTimer.stop(startTime);
+        }
+    }
+}
@@ -17,7 +17,9 @@
 package com.navercorp.pinpoint.collector.handler.grpc;
 
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
-import com.navercorp.pinpoint.collector.service.TraceService;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.collector.service.SpanBatchService;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.grpc.GrpcSpanFactory;
 import com.navercorp.pinpoint.grpc.Header;
@@ -43,14 +45,18 @@ public class GrpcSpanHandler implements SimpleHandler {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final boolean isDebug = logger.isDebugEnabled();
 
-    private final TraceService traceService;
+    private final SpanBatchService spanBatchService;
 
     private final GrpcSpanFactory spanFactory;
 
+    private final StageTimer mapTimer;
+
     @Autowired
-    public GrpcSpanHandler(TraceService traceService, GrpcSpanFactory spanFactory) {
-        this.traceService = Objects.requireNonNull(traceService, "traceService");
+    public GrpcSpanHandler(SpanBatchService spanBatchService, GrpcSpanFactory spanFactory, CollectorStageMetrics stageMetrics) {
+        this.spanBatchService = Objects.requireNonNull(spanBatchService, "spanBatchService");
         this.spanFactory = Objects.requireNonNull(spanFactory, "spanFactory");
+        Objects.requireNonNull(stageMetrics, "stageMetrics");
+        this.mapTimer = stageMetrics.getStageTimer(CollectorStageMetrics.GRPC, CollectorStageMetrics.Stage.MAP);
     }
 
     @Override
@@ -71,10 +77,22 @@ public class GrpcSpanHandler implements SimpleHandler {
 
         try {
             Header agentInfo = ServerContext.getAgentInfo();
-            final SpanBo spanBo = spanFactory.buildSpanBo(span, agentInfo);
-            traceService.insertSpan(spanBo);
+            final SpanBo spanBo = buildSpanBo(span, agentInfo);
+            spanBatchService.insertSpan(spanBo);
         } catch (Exception e) {
             logger.warn("Failed to handle span={}", MessageFormatUtils.debugLog(span), e);
         }
     }
-}
\ No newline at end of file
+
+    private SpanBo buildSpanBo(PSpan span, Header agentInfo) {
+        final long startTime = mapTimer.start();
+        try {
+            return spanFactory.buildSpanBo(span, agentInfo);
+        } catch (RuntimeException e) {
+            mapTimer.error();
+            throw e;
+        } finally {
+            mapTimer.stop(startTime);
+        }
+    }
+}
@@ -17,10 +17,13 @@
 package com.navercorp.pinpoint.collector.handler.thrift;
 
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
-import com.navercorp.pinpoint.collector.service.TraceService;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.collector.service.SpanBatchService;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 
 import com.navercorp.pinpoint.common.server.bo.thrift.SpanFactory;
+import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.io.request.ServerRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,13 +43,20 @@ public class ThriftSpanChunkHandler implements SimpleHandler {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private final TraceService traceService;
+    private final SpanBatchService spanBatchService;
 
     private final SpanFactory spanFactory;
 
-    public ThriftSpanChunkHandler(TraceService traceService, SpanFactory spanFactory) {
-        this.traceService = Objects.requireNonNull(traceService, "traceService");
+    private final StageTimer mapTimer;
+
+    private final AcceptedTimeService acceptedTimeService;
+
+    public ThriftSpanChunkHandler(SpanBatchService spanBatchService, SpanFactory spanFactory, AcceptedTimeService acceptedTimeService, CollectorStageMetrics stageMetrics) {
+        this.spanBatchService = Objects.requireNonNull(spanBatchService, "spanBatchService");
         this.spanFactory = Objects.requireNonNull(spanFactory, "spanFactory");
+        this.acceptedTimeService = Objects.requireNonNull(acceptedTimeService, "acceptedTimeService");
+        Objects.requireNonNull(stageMetrics, "stageMetrics");
+        this.mapTimer = stageMetrics.getStageTimer(CollectorStageMetrics.THRIFT, CollectorStageMetrics.Stage.MAP);
     }
 
     @Override
@@ -57,6 +67,9 @@ public class ThriftSpanChunkHandler implements SimpleHandler {
         }
         if (data instanceof TSpanChunk) {
             handleSpanChunk((TSpanChunk) data);
+        } else if (data instanceof SpanChunkBo) {
+            // decoded by ThriftSpanBoDecoder
+            handleSpanChunkBo((SpanChunkBo) data);
         } else {
             throw new UnsupportedOperationException("data is not support type : " + data);
         }
@@ -64,10 +77,31 @@ public class ThriftSpanChunkHandler implements SimpleHandler {
 
     private void handleSpanChunk(TSpanChunk tbase) {
         try {
-            final SpanChunkBo spanChunkBo = this.spanFactory.buildSpanChunkBo(tbase);
-            this.traceService.insertSpanChunk(spanChunkBo);
+            final SpanChunkBo spanChunkBo = buildSpanChunkBo(tbase);
+            this.spanBatchService.insertSpanChunk(spanChunkBo);
         } catch (Exception e) {
             logger.warn("Failed to handle SpanChunk={}, Caused={}", tbase, e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    private void handleSpanChunkBo(SpanChunkBo spanChunkBo) {
+        try {
+            spanChunkBo.setCollectorAcceptTime(acceptedTimeService.getAcceptedTime());
+            this.spanBatchService.insertSpanChunk(spanChunkBo);
+        } catch (Exception e) {
+            logger.warn("Failed to handle SpanChunk={}, Caused={}", spanChunkBo, e.getMessage(), e);
+        }
+    }
+
+    private SpanChunkBo buildSpanChunkBo(TSpanChunk tSpanChunk) {
+        final long startTime = mapTimer.start();
+        try {
+            return this.spanFactory.buildSpanChunkBo(tSpanChunk);
+        } catch (RuntimeException e) {
+            mapTimer.error();
+            throw e;
+        } finally {
+            mapTimer.stop(startTime);
+        }
+    }
+}
@@ -17,10 +17,13 @@
 package com.navercorp.pinpoint.collector.handler.thrift;
 
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
-import com.navercorp.pinpoint.collector.service.TraceService;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.collector.service.SpanBatchService;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 
 import com.navercorp.pinpoint.common.server.bo.thrift.SpanFactory;
+import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.io.request.ServerRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,13 +43,20 @@ public class ThriftSpanHandler implements SimpleHandler {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private final TraceService traceService;
+    private final SpanBatchService spanBatchService;
 
     private final SpanFactory spanFactory;
 
-    public ThriftSpanHandler(TraceService traceService, SpanFactory spanFactory) {
-        this.traceService = Objects.requireNonNull(traceService, "traceService");
+    private final StageTimer mapTimer;
+
+    private final AcceptedTimeService acceptedTimeService;
+
+    public ThriftSpanHandler(SpanBatchService spanBatchService, SpanFactory spanFactory, AcceptedTimeService acceptedTimeService, CollectorStageMetrics stageMetrics) {
+        this.spanBatchService = Objects.requireNonNull(spanBatchService, "spanBatchService");
         this.spanFactory = Objects.requireNonNull(spanFactory, "spanFactory");
+        this.acceptedTimeService = Objects.requireNonNull(acceptedTimeService, "acceptedTimeService");
+        Objects.requireNonNull(stageMetrics, "stageMetrics");
+        this.mapTimer = stageMetrics.getStageTimer(CollectorStageMetrics.THRIFT, CollectorStageMetrics.Stage.MAP);
     }
 
     @Override
@@ -58,6 +68,9 @@ public class ThriftSpanHandler implements SimpleHandler {
 
         if (data instanceof TSpan) {
             handleSpan((TSpan) data);
+        } else if (data instanceof SpanBo) {
+            // decoded by ThriftSpanBoDecoder
+            handleSpanBo((SpanBo) data);
         } else {
             throw new UnsupportedOperationException("data is not support type : " + data);
         }
@@ -65,10 +78,31 @@ public class ThriftSpanHandler implements SimpleHandler {
 
     private void handleSpan(TSpan tSpan) {
         try {
-            final SpanBo spanBo = spanFactory.buildSpanBo(tSpan);
-            traceService.insertSpan(spanBo);
+            final SpanBo spanBo = buildSpanBo(tSpan);
+            spanBatchService.insertSpan(spanBo);
         } catch (Exception e) {
             logger.warn("Failed to handle Span={}, Caused:{}", tSpan, e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    private void handleSpanBo(SpanBo spanBo) {
+        try {
+            spanBo.setCollectorAcceptTime(acceptedTimeService.getAcceptedTime());
+            spanBatchService.insertSpan(spanBo);
+        } catch (Exception e) {
+            logger.warn("Failed to handle Span={}, Caused:{}", spanBo, e.getMessage(), e);
+        }
+    }
+
+    private SpanBo buildSpanBo(TSpan tSpan) {
+        final long startTime = mapTimer.start();
+        try {
+            return spanFactory.buildSpanBo(tSpan);
+        } catch (RuntimeException e) {
+            mapTimer.error();
+            throw e;
+        } finally {
+            mapTimer.stop(startTime);
+        }
+    }
+}
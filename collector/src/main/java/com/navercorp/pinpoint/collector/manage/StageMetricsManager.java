@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.manage;
+
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.collector.monitor.StageTimerSnapshot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Exposes {@link CollectorStageMetrics} through JMX
+ */
+public class StageMetricsManager extends AbstractCollectorManager implements StageMetricsManagerMBean {
+
+    private final CollectorStageMetrics collectorStageMetrics;
+
+    public StageMetricsManager(CollectorStageMetrics collectorStageMetrics) {
+        this.collectorStageMetrics = Objects.requireNonNull(collectorStageMetrics, "collectorStageMetrics");
+    }
+
+    @Override
+    public boolean isEnable() {
+        return collectorStageMetrics.isEnable();
+    }
+
+    public List<StageTimerSnapshot> getSnapshotList() {
+        final List<StageTimer> stageTimerList = collectorStageMetrics.getStageTimerList();
+        final List<StageTimerSnapshot> snapshotList = new ArrayList<>(stageTimerList.size());
+        for (StageTimer stageTimer : stageTimerList) {
+            snapshotList.add(new StageTimerSnapshot(stageTimer));
+        }
+        return snapshotList;
+    }
+
+    private <V> Map<String, V> toMap(Function<StageTimerSnapshot, V> function) {
+        final Map<String, V> map = new LinkedHashMap<>();
+        for (StageTimerSnapshot snapshot : getSnapshotList()) {
+            map.put(snapshot.getName(), function.apply(snapshot));
+        }
+        return map;
+    }
+
+    @Override
+    public Map<String, Long> getStageCount() {
+        return toMap(StageTimerSnapshot::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getStageErrorCount() {
+        return toMap(StageTimerSnapshot::getErrorCount);
+    }
+
+    @Override
+    public Map<String, Double> getStageOneMinuteRate() {
+        return toMap(StageTimerSnapshot::getOneMinuteRate);
+    }
+
+    @Override
+    public Map<String, Double> getStageMeanLatency() {
+        return toMap(StageTimerSnapshot::getMean);
+    }
+
+    @Override
+    public Map<String, Double> getStageP99Latency() {
+        return toMap(StageTimerSnapshot::getP99);
+    }
+
+    @Override
+    public Map<String, Double> getStageP999Latency() {
+        return toMap(StageTimerSnapshot::getP999);
+    }
+
+    @Override
+    public Map<String, Double> getStageMaxLatency() {
+        return toMap(StageTimerSnapshot::getMax);
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.manage;
+
+import java.util.Map;
+
+/**
+ * durations are milliseconds
+ */
+public interface StageMetricsManagerMBean {
+
+    boolean isEnable();
+
+    Map<String, Long> getStageCount();
+
+    Map<String, Long> getStageErrorCount();
+
+    Map<String, Double> getStageOneMinuteRate();
+
+    Map<String, Double> getStageMeanLatency();
+
+    Map<String, Double> getStageP99Latency();
+
+    Map<String, Double> getStageP999Latency();
+
+    Map<String, Double> getStageMaxLatency();
+
+}
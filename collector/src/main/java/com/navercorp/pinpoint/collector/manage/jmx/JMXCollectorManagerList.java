@@ -29,6 +29,7 @@ import com.navercorp.pinpoint.collector.manage.ClusterManager;
 import com.navercorp.pinpoint.collector.manage.CollectorManager;
 import com.navercorp.pinpoint.collector.manage.HBaseManager;
 import com.navercorp.pinpoint.collector.manage.HandlerManager;
+import com.navercorp.pinpoint.collector.manage.StageMetricsManager;
 import com.navercorp.pinpoint.rpc.util.ListUtils;
 
 /**
@@ -50,6 +51,9 @@ public class JMXCollectorManagerList {
     @Autowired
     private HBaseManager hBaseManager;
 
+    @Autowired
+    private StageMetricsManager stageMetricsManager;
+
     public List<CollectorManager> getSupportList() {
         if (!isActive) {
             logger.warn("not activating jmx api for admin.");
@@ -61,6 +65,7 @@ public class JMXCollectorManagerList {
         ListUtils.addIfValueNotNull(supportManagerList, handlerManager);
         ListUtils.addIfValueNotNull(supportManagerList, clusterManager);
         ListUtils.addIfValueNotNull(supportManagerList, hBaseManager);
+        ListUtils.addIfValueNotNull(supportManagerList, stageMetricsManager);
 
         return supportManagerList;
     }
@@ -19,6 +19,8 @@ package com.navercorp.pinpoint.collector.mapper.grpc.stat;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
@@ -27,6 +29,8 @@ import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
 import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.grpc.Header;
@@ -37,10 +41,14 @@ import com.navercorp.pinpoint.grpc.trace.PCpuLoad;
 import com.navercorp.pinpoint.grpc.trace.PDataSource;
 import com.navercorp.pinpoint.grpc.trace.PDataSourceList;
 import com.navercorp.pinpoint.grpc.trace.PDeadlock;
+import com.navercorp.pinpoint.grpc.trace.PBatchSizeHistogram;
+import com.navercorp.pinpoint.grpc.trace.PBatchSizeHistogramList;
 import com.navercorp.pinpoint.grpc.trace.PDirectBuffer;
 import com.navercorp.pinpoint.grpc.trace.PFileDescriptor;
 import com.navercorp.pinpoint.grpc.trace.PJvmGc;
 import com.navercorp.pinpoint.grpc.trace.PJvmGcDetailed;
+import com.navercorp.pinpoint.grpc.trace.PMetadataCache;
+import com.navercorp.pinpoint.grpc.trace.PMetadataCacheList;
 import com.navercorp.pinpoint.grpc.trace.PResponseTime;
 import com.navercorp.pinpoint.grpc.trace.PTransaction;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -76,7 +84,11 @@ public class GrpcAgentStatBatchMapper {
 
     private final GrpcDirectBufferBoMapper directBufferBoMapper;
 
-    public GrpcAgentStatBatchMapper(GrpcJvmGcBoMapper jvmGcBoMapper, GrpcJvmGcDetailedBoMapper jvmGcDetailedBoMapper, GrpcCpuLoadBoMapper cpuLoadBoMapper, GrpcTransactionBoMapper transactionBoMapper, GrpcActiveTraceBoMapper activeTraceBoMapper, GrpcDataSourceBoMapper dataSourceBoMapper, GrpcResponseTimeBoMapper responseTimeBoMapper, GrpcDeadlockThreadCountBoMapper deadlockThreadCountBoMapper, GrpcFileDescriptorBoMapper fileDescriptorBoMapper, GrpcDirectBufferBoMapper directBufferBoMapper) {
+    private final GrpcMetadataCacheBoMapper metadataCacheBoMapper;
+
+    private final GrpcBatchSizeBoMapper batchSizeBoMapper;
+
+    public GrpcAgentStatBatchMapper(GrpcJvmGcBoMapper jvmGcBoMapper, GrpcJvmGcDetailedBoMapper jvmGcDetailedBoMapper, GrpcCpuLoadBoMapper cpuLoadBoMapper, GrpcTransactionBoMapper transactionBoMapper, GrpcActiveTraceBoMapper activeTraceBoMapper, GrpcDataSourceBoMapper dataSourceBoMapper, GrpcResponseTimeBoMapper responseTimeBoMapper, GrpcDeadlockThreadCountBoMapper deadlockThreadCountBoMapper, GrpcFileDescriptorBoMapper fileDescriptorBoMapper, GrpcDirectBufferBoMapper directBufferBoMapper, GrpcMetadataCacheBoMapper metadataCacheBoMapper, GrpcBatchSizeBoMapper batchSizeBoMapper) {
         this.jvmGcBoMapper = Objects.requireNonNull(jvmGcBoMapper, "jvmGcBoMapper");
         this.jvmGcDetailedBoMapper = Objects.requireNonNull(jvmGcDetailedBoMapper, "jvmGcDetailedBoMapper");
         this.cpuLoadBoMapper = Objects.requireNonNull(cpuLoadBoMapper, "cpuLoadBoMapper");
@@ -87,6 +99,8 @@ public class GrpcAgentStatBatchMapper {
         this.deadlockThreadCountBoMapper = Objects.requireNonNull(deadlockThreadCountBoMapper, "deadlockThreadCountBoMapper");
         this.fileDescriptorBoMapper = Objects.requireNonNull(fileDescriptorBoMapper, "fileDescriptorBoMapper");
         this.directBufferBoMapper = Objects.requireNonNull(directBufferBoMapper, "directBufferBoMapper");
+        this.metadataCacheBoMapper = Objects.requireNonNull(metadataCacheBoMapper, "metadataCacheBoMapper");
+        this.batchSizeBoMapper = Objects.requireNonNull(batchSizeBoMapper, "batchSizeBoMapper");
     }
 
     public AgentStatBo map(final PAgentStatBatch agentStatBatch, final Header header) {
@@ -111,6 +125,8 @@ public class GrpcAgentStatBatchMapper {
         final List<DeadlockThreadCountBo> deadlockThreadCountBos = new ArrayList<>(agentStatsSize);
         final List<FileDescriptorBo> fileDescriptorBos = new ArrayList<>(agentStatsSize);
         final List<DirectBufferBo> directBufferBos = new ArrayList<>(agentStatsSize);
+        final List<MetadataCacheListBo> metadataCacheListBos = new ArrayList<>(agentStatsSize);
+        final List<BatchSizeListBo> batchSizeListBos = new ArrayList<>(agentStatsSize);
 
         for (PAgentStat agentStat : agentStatBatch.getAgentStatList()) {
             final long timestamp = agentStat.getTimestamp();
@@ -201,6 +217,32 @@ public class GrpcAgentStatBatchMapper {
                 setBaseData(directBufferBo, agentId, startTimestamp, timestamp);
                 directBufferBos.add(directBufferBo);
             }
+
+            // metadataCache
+            if (agentStat.hasMetadataCacheList()) {
+                final PMetadataCacheList metadataCacheList = agentStat.getMetadataCacheList();
+                final MetadataCacheListBo metadataCacheListBo = new MetadataCacheListBo();
+                setBaseData(metadataCacheListBo, agentId, startTimestamp, timestamp);
+                for (PMetadataCache metadataCache : metadataCacheList.getMetadataCacheList()) {
+                    final MetadataCacheBo metadataCacheBo = metadataCacheBoMapper.map(metadataCache);
+                    setBaseData(metadataCacheBo, agentId, startTimestamp, timestamp);
+                    metadataCacheListBo.add(metadataCacheBo);
+                }
+                metadataCacheListBos.add(metadataCacheListBo);
+            }
+
+            // batchSize
+            if (agentStat.hasBatchSizeHistogramList()) {
+                final PBatchSizeHistogramList batchSizeHistogramList = agentStat.getBatchSizeHistogramList();
+                final BatchSizeListBo batchSizeListBo = new BatchSizeListBo();
+                setBaseData(batchSizeListBo, agentId, startTimestamp, timestamp);
+                for (PBatchSizeHistogram batchSizeHistogram : batchSizeHistogramList.getBatchSizeHistogramList()) {
+                    final BatchSizeBo batchSizeBo = batchSizeBoMapper.map(batchSizeHistogram);
+                    setBaseData(batchSizeBo, agentId, startTimestamp, timestamp);
+                    batchSizeListBo.add(batchSizeBo);
+                }
+                batchSizeListBos.add(batchSizeListBo);
+            }
         }
 
         agentStatBo.setJvmGcBos(jvmGcBos);
@@ -213,6 +255,8 @@ public class GrpcAgentStatBatchMapper {
         agentStatBo.setDeadlockThreadCountBos(deadlockThreadCountBos);
         agentStatBo.setFileDescriptorBos(fileDescriptorBos);
         agentStatBo.setDirectBufferBos(directBufferBos);
+        agentStatBo.setMetadataCacheListBos(metadataCacheListBos);
+        agentStatBo.setBatchSizeListBos(batchSizeListBos);
         return agentStatBo;
     }
 
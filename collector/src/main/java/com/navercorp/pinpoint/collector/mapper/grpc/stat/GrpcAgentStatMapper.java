@@ -19,6 +19,8 @@ package com.navercorp.pinpoint.collector.mapper.grpc.stat;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
@@ -27,6 +29,8 @@ import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
 import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.grpc.Header;
@@ -37,10 +41,14 @@ import com.navercorp.pinpoint.grpc.trace.PCpuLoad;
 import com.navercorp.pinpoint.grpc.trace.PDataSource;
 import com.navercorp.pinpoint.grpc.trace.PDataSourceList;
 import com.navercorp.pinpoint.grpc.trace.PDeadlock;
+import com.navercorp.pinpoint.grpc.trace.PBatchSizeHistogram;
+import com.navercorp.pinpoint.grpc.trace.PBatchSizeHistogramList;
 import com.navercorp.pinpoint.grpc.trace.PDirectBuffer;
 import com.navercorp.pinpoint.grpc.trace.PFileDescriptor;
 import com.navercorp.pinpoint.grpc.trace.PJvmGc;
 import com.navercorp.pinpoint.grpc.trace.PJvmGcDetailed;
+import com.navercorp.pinpoint.grpc.trace.PMetadataCache;
+import com.navercorp.pinpoint.grpc.trace.PMetadataCacheList;
 import com.navercorp.pinpoint.grpc.trace.PResponseTime;
 import com.navercorp.pinpoint.grpc.trace.PTransaction;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -72,7 +80,11 @@ public class GrpcAgentStatMapper {
 
     private final GrpcDirectBufferBoMapper directBufferBoMapper;
 
-    public GrpcAgentStatMapper(GrpcJvmGcBoMapper jvmGcBoMapper, GrpcJvmGcDetailedBoMapper jvmGcDetailedBoMapper, GrpcCpuLoadBoMapper cpuLoadBoMapper, GrpcTransactionBoMapper transactionBoMapper, GrpcActiveTraceBoMapper activeTraceBoMapper, GrpcDataSourceBoMapper dataSourceBoMapper, GrpcResponseTimeBoMapper responseTimeBoMapper, GrpcDeadlockThreadCountBoMapper deadlockThreadCountBoMapper, GrpcFileDescriptorBoMapper fileDescriptorBoMapper, GrpcDirectBufferBoMapper directBufferBoMapper) {
+    private final GrpcMetadataCacheBoMapper metadataCacheBoMapper;
+
+    private final GrpcBatchSizeBoMapper batchSizeBoMapper;
+
+    public GrpcAgentStatMapper(GrpcJvmGcBoMapper jvmGcBoMapper, GrpcJvmGcDetailedBoMapper jvmGcDetailedBoMapper, GrpcCpuLoadBoMapper cpuLoadBoMapper, GrpcTransactionBoMapper transactionBoMapper, GrpcActiveTraceBoMapper activeTraceBoMapper, GrpcDataSourceBoMapper dataSourceBoMapper, GrpcResponseTimeBoMapper responseTimeBoMapper, GrpcDeadlockThreadCountBoMapper deadlockThreadCountBoMapper, GrpcFileDescriptorBoMapper fileDescriptorBoMapper, GrpcDirectBufferBoMapper directBufferBoMapper, GrpcMetadataCacheBoMapper metadataCacheBoMapper, GrpcBatchSizeBoMapper batchSizeBoMapper) {
         this.jvmGcBoMapper = Objects.requireNonNull(jvmGcBoMapper, "jvmGcBoMapper");
         this.jvmGcDetailedBoMapper = Objects.requireNonNull(jvmGcDetailedBoMapper, "jvmGcDetailedBoMapper");
         this.cpuLoadBoMapper = Objects.requireNonNull(cpuLoadBoMapper, "cpuLoadBoMapper");
@@ -83,6 +95,8 @@ public class GrpcAgentStatMapper {
         this.deadlockThreadCountBoMapper = Objects.requireNonNull(deadlockThreadCountBoMapper, "deadlockThreadCountBoMapper");
         this.fileDescriptorBoMapper = Objects.requireNonNull(fileDescriptorBoMapper, "fileDescriptorBoMapper");
         this.directBufferBoMapper = Objects.requireNonNull(directBufferBoMapper, "directBufferBoMapper");
+        this.metadataCacheBoMapper = Objects.requireNonNull(metadataCacheBoMapper, "metadataCacheBoMapper");
+        this.batchSizeBoMapper = Objects.requireNonNull(batchSizeBoMapper, "batchSizeBoMapper");
     }
 
 
@@ -186,6 +200,32 @@ public class GrpcAgentStatMapper {
             agentStatBo.setDirectBufferBos(Collections.singletonList(directBufferBo));
         }
 
+        // metadataCache
+        if (agentStat.hasMetadataCacheList()) {
+            final PMetadataCacheList metadataCacheList = agentStat.getMetadataCacheList();
+            final MetadataCacheListBo metadataCacheListBo = new MetadataCacheListBo();
+            setBaseData(metadataCacheListBo, agentId, startTimestamp, timestamp);
+            for (PMetadataCache metadataCache : metadataCacheList.getMetadataCacheList()) {
+                final MetadataCacheBo metadataCacheBo = metadataCacheBoMapper.map(metadataCache);
+                setBaseData(metadataCacheBo, agentId, startTimestamp, timestamp);
+                metadataCacheListBo.add(metadataCacheBo);
+            }
+            agentStatBo.setMetadataCacheListBos(Collections.singletonList(metadataCacheListBo));
+        }
+
+        // batchSize
+        if (agentStat.hasBatchSizeHistogramList()) {
+            final PBatchSizeHistogramList batchSizeHistogramList = agentStat.getBatchSizeHistogramList();
+            final BatchSizeListBo batchSizeListBo = new BatchSizeListBo();
+            setBaseData(batchSizeListBo, agentId, startTimestamp, timestamp);
+            for (PBatchSizeHistogram batchSizeHistogram : batchSizeHistogramList.getBatchSizeHistogramList()) {
+                final BatchSizeBo batchSizeBo = batchSizeBoMapper.map(batchSizeHistogram);
+                setBaseData(batchSizeBo, agentId, startTimestamp, timestamp);
+                batchSizeListBo.add(batchSizeBo);
+            }
+            agentStatBo.setBatchSizeListBos(Collections.singletonList(batchSizeListBo));
+        }
+
         return agentStatBo;
     }
 
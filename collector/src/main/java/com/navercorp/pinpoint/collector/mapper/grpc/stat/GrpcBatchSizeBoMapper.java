@@ -0,0 +1,34 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.mapper.grpc.stat;
+
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeBo;
+import com.navercorp.pinpoint.grpc.trace.PBatchSizeHistogram;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+@Component
+public class GrpcBatchSizeBoMapper {
+
+    public BatchSizeBo map(final PBatchSizeHistogram batchSizeHistogram) {
+        final BatchSizeBo batchSizeBo = new BatchSizeBo();
+        batchSizeBo.setExecutorName(batchSizeHistogram.getExecutorName());
+        batchSizeBo.setHistogram(new ArrayList<>(batchSizeHistogram.getHistogramList()));
+        return batchSizeBo;
+    }
+}
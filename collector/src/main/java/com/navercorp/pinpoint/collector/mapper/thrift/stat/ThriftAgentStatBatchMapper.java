@@ -19,6 +19,8 @@ package com.navercorp.pinpoint.collector.mapper.thrift.stat;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
@@ -27,12 +29,18 @@ import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
 import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
+import com.navercorp.pinpoint.thrift.dto.TBatchSizeHistogram;
+import com.navercorp.pinpoint.thrift.dto.TBatchSizeHistogramList;
 import com.navercorp.pinpoint.thrift.dto.TDataSource;
 import com.navercorp.pinpoint.thrift.dto.TDataSourceList;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCache;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCacheList;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -67,11 +75,16 @@ public class ThriftAgentStatBatchMapper {
 
     private final ThriftDirectBufferBoMapper directBufferBoMapper;
 
+    private final ThriftMetadataCacheBoMapper metadataCacheBoMapper;
+
+    private final ThriftBatchSizeBoMapper batchSizeBoMapper;
+
     public ThriftAgentStatBatchMapper(ThriftJvmGcBoMapper jvmGcBoMapper, ThriftJvmGcDetailedBoMapper jvmGcDetailedBoMapper,
                                       ThriftCpuLoadBoMapper cpuLoadBoMapper, ThriftTransactionBoMapper transactionBoMapper,
                                       ThriftActiveTraceBoMapper activeTraceBoMapper, ThriftDataSourceBoMapper dataSourceBoMapper,
                                       ThriftResponseTimeBoMapper responseTimeBoMapper, ThriftDeadlockThreadCountBoMapper deadlockThreadCountBoMapper,
-                                      ThriftFileDescriptorBoMapper fileDescriptorBoMapper, ThriftDirectBufferBoMapper directBufferBoMapper) {
+                                      ThriftFileDescriptorBoMapper fileDescriptorBoMapper, ThriftDirectBufferBoMapper directBufferBoMapper,
+                                      ThriftMetadataCacheBoMapper metadataCacheBoMapper, ThriftBatchSizeBoMapper batchSizeBoMapper) {
         this.jvmGcBoMapper = Objects.requireNonNull(jvmGcBoMapper, "jvmGcBoMapper");
         this.jvmGcDetailedBoMapper = Objects.requireNonNull(jvmGcDetailedBoMapper, "jvmGcDetailedBoMapper");
         this.cpuLoadBoMapper = Objects.requireNonNull(cpuLoadBoMapper, "cpuLoadBoMapper");
@@ -82,6 +95,8 @@ public class ThriftAgentStatBatchMapper {
         this.deadlockThreadCountBoMapper = Objects.requireNonNull(deadlockThreadCountBoMapper, "deadlockThreadCountBoMapper");
         this.fileDescriptorBoMapper = Objects.requireNonNull(fileDescriptorBoMapper, "fileDescriptorBoMapper");
         this.directBufferBoMapper = Objects.requireNonNull(directBufferBoMapper, "directBufferBoMapper");
+        this.metadataCacheBoMapper = Objects.requireNonNull(metadataCacheBoMapper, "metadataCacheBoMapper");
+        this.batchSizeBoMapper = Objects.requireNonNull(batchSizeBoMapper, "batchSizeBoMapper");
     }
 
 
@@ -108,6 +123,8 @@ public class ThriftAgentStatBatchMapper {
         List<DeadlockThreadCountBo> deadlockThreadCountBos = new ArrayList<>(agentStatsSize);
         List<FileDescriptorBo> fileDescriptorBos = new ArrayList<>(agentStatsSize);
         List<DirectBufferBo> directBufferBos = new ArrayList<>(agentStatsSize);
+        List<MetadataCacheListBo> metadataCacheListBos = new ArrayList<>(agentStatsSize);
+        List<BatchSizeListBo> batchSizeListBos = new ArrayList<>(agentStatsSize);
 
         for (TAgentStat tAgentStat : tAgentStatBatch.getAgentStats()) {
             final long timestamp = tAgentStat.getTimestamp();
@@ -188,6 +205,38 @@ public class ThriftAgentStatBatchMapper {
                 setBaseData(directBufferBo, agentId, startTimestamp, timestamp);
                 directBufferBos.add(directBufferBo);
             }
+
+            // metadataCache
+            if (tAgentStat.isSetMetadataCacheList()) {
+                MetadataCacheListBo metadataCacheListBo = new MetadataCacheListBo();
+                setBaseData(metadataCacheListBo, agentId, startTimestamp, timestamp);
+
+                TMetadataCacheList metadataCacheList = tAgentStat.getMetadataCacheList();
+                if (metadataCacheList.getMetadataCacheListSize() > 0) {
+                    for (TMetadataCache metadataCache : metadataCacheList.getMetadataCacheList()) {
+                        MetadataCacheBo metadataCacheBo = metadataCacheBoMapper.map(metadataCache);
+                        setBaseData(metadataCacheBo, agentId, startTimestamp, timestamp);
+                        metadataCacheListBo.add(metadataCacheBo);
+                    }
+                }
+                metadataCacheListBos.add(metadataCacheListBo);
+            }
+
+            // batchSize
+            if (tAgentStat.isSetBatchSizeHistogramList()) {
+                BatchSizeListBo batchSizeListBo = new BatchSizeListBo();
+                setBaseData(batchSizeListBo, agentId, startTimestamp, timestamp);
+
+                TBatchSizeHistogramList batchSizeHistogramList = tAgentStat.getBatchSizeHistogramList();
+                if (batchSizeHistogramList.getBatchSizeHistogramListSize() > 0) {
+                    for (TBatchSizeHistogram batchSizeHistogram : batchSizeHistogramList.getBatchSizeHistogramList()) {
+                        BatchSizeBo batchSizeBo = batchSizeBoMapper.map(batchSizeHistogram);
+                        setBaseData(batchSizeBo, agentId, startTimestamp, timestamp);
+                        batchSizeListBo.add(batchSizeBo);
+                    }
+                }
+                batchSizeListBos.add(batchSizeListBo);
+            }
         }
 
         agentStatBo.setJvmGcBos(jvmGcBos);
@@ -200,6 +249,8 @@ public class ThriftAgentStatBatchMapper {
         agentStatBo.setDeadlockThreadCountBos(deadlockThreadCountBos);
         agentStatBo.setFileDescriptorBos(fileDescriptorBos);
         agentStatBo.setDirectBufferBos(directBufferBos);
+        agentStatBo.setMetadataCacheListBos(metadataCacheListBos);
+        agentStatBo.setBatchSizeListBos(batchSizeListBos);
         return agentStatBo;
     }
 
@@ -19,6 +19,8 @@ package com.navercorp.pinpoint.collector.mapper.thrift.stat;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
@@ -27,11 +29,17 @@ import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
 import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TBatchSizeHistogram;
+import com.navercorp.pinpoint.thrift.dto.TBatchSizeHistogramList;
 import com.navercorp.pinpoint.thrift.dto.TDataSource;
 import com.navercorp.pinpoint.thrift.dto.TDataSourceList;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCache;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCacheList;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -66,11 +74,16 @@ public class ThriftAgentStatMapper {
 
     private final ThriftDirectBufferBoMapper directBufferBoMapper;
 
+    private final ThriftMetadataCacheBoMapper metadataCacheBoMapper;
+
+    private final ThriftBatchSizeBoMapper batchSizeBoMapper;
+
     public ThriftAgentStatMapper(ThriftJvmGcBoMapper jvmGcBoMapper, ThriftJvmGcDetailedBoMapper jvmGcDetailedBoMapper,
                                  ThriftCpuLoadBoMapper cpuLoadBoMapper, ThriftTransactionBoMapper transactionBoMapper,
                                  ThriftActiveTraceBoMapper activeTraceBoMapper, ThriftDataSourceBoMapper dataSourceBoMapper,
                                  ThriftResponseTimeBoMapper responseTimeBoMapper, ThriftDeadlockThreadCountBoMapper deadlockThreadCountBoMapper,
-                                 ThriftFileDescriptorBoMapper fileDescriptorBoMapper, ThriftDirectBufferBoMapper directBufferBoMapper) {
+                                 ThriftFileDescriptorBoMapper fileDescriptorBoMapper, ThriftDirectBufferBoMapper directBufferBoMapper,
+                                 ThriftMetadataCacheBoMapper metadataCacheBoMapper, ThriftBatchSizeBoMapper batchSizeBoMapper) {
         this.jvmGcBoMapper = Objects.requireNonNull(jvmGcBoMapper, "jvmGcBoMapper");
         this.jvmGcDetailedBoMapper = Objects.requireNonNull(jvmGcDetailedBoMapper, "jvmGcDetailedBoMapper");
         this.cpuLoadBoMapper = Objects.requireNonNull(cpuLoadBoMapper, "cpuLoadBoMapper");
@@ -81,6 +94,8 @@ public class ThriftAgentStatMapper {
         this.deadlockThreadCountBoMapper = Objects.requireNonNull(deadlockThreadCountBoMapper, "deadlockThreadCountBoMapper");
         this.fileDescriptorBoMapper = Objects.requireNonNull(fileDescriptorBoMapper, "fileDescriptorBoMapper");
         this.directBufferBoMapper = Objects.requireNonNull(directBufferBoMapper, "directBufferBoMapper");
+        this.metadataCacheBoMapper = Objects.requireNonNull(metadataCacheBoMapper, "metadataCacheBoMapper");
+        this.batchSizeBoMapper = Objects.requireNonNull(batchSizeBoMapper, "batchSizeBoMapper");
     }
 
     public AgentStatBo map(TAgentStat tAgentStat) {
@@ -162,6 +177,36 @@ public class ThriftAgentStatMapper {
             setBaseData(directBufferBo, agentId, startTimestamp, timestamp);
             agentStatBo.setDirectBufferBos(asList(directBufferBo));
         }
+        // metadataCache
+        if (tAgentStat.isSetMetadataCacheList()) {
+            MetadataCacheListBo metadataCacheListBo = new MetadataCacheListBo();
+            setBaseData(metadataCacheListBo, agentId, startTimestamp, timestamp);
+
+            TMetadataCacheList metadataCacheList = tAgentStat.getMetadataCacheList();
+            if (metadataCacheList.getMetadataCacheListSize() > 0) {
+                for (TMetadataCache metadataCache : metadataCacheList.getMetadataCacheList()) {
+                    MetadataCacheBo metadataCacheBo = metadataCacheBoMapper.map(metadataCache);
+                    setBaseData(metadataCacheBo, agentId, startTimestamp, timestamp);
+                    metadataCacheListBo.add(metadataCacheBo);
+                }
+            }
+            agentStatBo.setMetadataCacheListBos(asList(metadataCacheListBo));
+        }
+        // batchSize
+        if (tAgentStat.isSetBatchSizeHistogramList()) {
+            BatchSizeListBo batchSizeListBo = new BatchSizeListBo();
+            setBaseData(batchSizeListBo, agentId, startTimestamp, timestamp);
+
+            TBatchSizeHistogramList batchSizeHistogramList = tAgentStat.getBatchSizeHistogramList();
+            if (batchSizeHistogramList.getBatchSizeHistogramListSize() > 0) {
+                for (TBatchSizeHistogram batchSizeHistogram : batchSizeHistogramList.getBatchSizeHistogramList()) {
+                    BatchSizeBo batchSizeBo = batchSizeBoMapper.map(batchSizeHistogram);
+                    setBaseData(batchSizeBo, agentId, startTimestamp, timestamp);
+                    batchSizeListBo.add(batchSizeBo);
+                }
+            }
+            agentStatBo.setBatchSizeListBos(asList(batchSizeListBo));
+        }
 
         return agentStatBo;
     }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.mapper.thrift.stat;
+
+import com.navercorp.pinpoint.collector.mapper.thrift.ThriftBoMapper;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheBo;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCache;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ThriftMetadataCacheBoMapper implements ThriftBoMapper<MetadataCacheBo, TMetadataCache> {
+
+    @Override
+    public MetadataCacheBo map(TMetadataCache metadataCache) {
+        MetadataCacheBo metadataCacheBo = new MetadataCacheBo();
+        metadataCacheBo.setName(metadataCache.getName());
+        metadataCacheBo.setHitCount(metadataCache.getHitCount());
+        metadataCacheBo.setMissCount(metadataCache.getMissCount());
+        metadataCacheBo.setEvictionCount(metadataCache.getEvictionCount());
+        metadataCacheBo.setSize(metadataCache.getSize());
+        metadataCacheBo.setWeight(metadataCache.getWeight());
+        return metadataCacheBo;
+    }
+}
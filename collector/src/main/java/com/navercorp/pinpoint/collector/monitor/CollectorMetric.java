@@ -50,13 +50,17 @@ public class CollectorMetric {
 
     private final HBaseAsyncOperationMetrics hBaseAsyncOperationMetrics;
 
+    private final CollectorStageMetrics collectorStageMetrics;
+
     private ScheduledReporter reporter;
 
     private final boolean isEnable = isEnable0(REPORTER_LOGGER_NAME);
 
-    public CollectorMetric(MetricRegistry metricRegistry, Optional<HBaseAsyncOperationMetrics> hBaseAsyncOperationMetrics) {
+    public CollectorMetric(MetricRegistry metricRegistry, Optional<HBaseAsyncOperationMetrics> hBaseAsyncOperationMetrics,
+                           Optional<CollectorStageMetrics> collectorStageMetrics) {
         this.metricRegistry = metricRegistry;
         this.hBaseAsyncOperationMetrics = hBaseAsyncOperationMetrics.orElse(null);
+        this.collectorStageMetrics = collectorStageMetrics.orElse(null);
     }
 
     @PostConstruct
@@ -91,6 +95,10 @@ public class CollectorMetric {
                 metricRegistry.register(metric.getKey(), metric.getValue());
             }
         }
+
+        if (collectorStageMetrics != null) {
+            metricRegistry.registerAll(collectorStageMetrics);
+        }
     }
 
     private void initReporters() {
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Timer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per stage latency and throughput of the collector ingestion path. (agent packet -> HBase)
+ * <ul>
+ *     <li>collector.stage.{transport}.receive : processing of a received message by the receiver. (includes decode and handler)</li>
+ *     <li>collector.stage.{transport}.decode : header and body deserialization (thrift only. gRPC messages are decoded by the grpc marshaller)</li>
+ *     <li>collector.stage.{transport}.handler : dispatch handler execution</li>
+ *     <li>collector.stage.{transport}.map : span -> bo conversion</li>
+ *     <li>collector.stage.dao.write : span write of {@link com.navercorp.pinpoint.collector.service.TraceService}</li>
+ *     <li>collector.stage.statistics.flush : flush of the map statistics</li>
+ * </ul>
+ * Each stage has a {@link Timer} with the {@link HdrHistogramReservoir} and an error {@link Counter}. (name + ".error")
+ */
+public class CollectorStageMetrics implements MetricSet {
+
+    public static final String PREFIX = "collector.stage";
+    public static final String ERROR_SUFFIX = ".error";
+
+    public static final String THRIFT = "thrift";
+    public static final String GRPC = "grpc";
+
+    public static final CollectorStageMetrics DISABLED = new CollectorStageMetrics(false);
+
+    public enum Stage {
+        RECEIVE("receive"),
+        DECODE("decode"),
+        HANDLER("handler"),
+        MAP("map"),
+        DAO_WRITE("dao.write"),
+        STATISTICS_FLUSH("statistics.flush");
+
+        private final String name;
+
+        Stage(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final Stage[] TRANSPORT_STAGES = {Stage.RECEIVE, Stage.DECODE, Stage.HANDLER, Stage.MAP};
+    private static final Stage[] SHARED_STAGES = {Stage.DAO_WRITE, Stage.STATISTICS_FLUSH};
+
+    private final boolean enable;
+    // immutable after construction
+    private final Map<String, StageTimer> stageTimerMap = new LinkedHashMap<>();
+
+    public CollectorStageMetrics(boolean enable) {
+        this.enable = enable;
+        if (enable) {
+            for (String transport : new String[]{THRIFT, GRPC}) {
+                for (Stage stage : TRANSPORT_STAGES) {
+                    addStageTimer(newName(transport, stage));
+                }
+            }
+            for (Stage stage : SHARED_STAGES) {
+                addStageTimer(newName(stage));
+            }
+        }
+    }
+
+    private void addStageTimer(String name) {
+        final Timer timer = new Timer(new HdrHistogramReservoir());
+        final StageTimer stageTimer = new StageTimer(name, timer, new Counter());
+        stageTimerMap.put(name, stageTimer);
+    }
+
+    static String newName(String transport, Stage stage) {
+        return PREFIX + '.' + transport + '.' + stage.getName();
+    }
+
+    static String newName(Stage stage) {
+        return PREFIX + '.' + stage.getName();
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    /**
+     * @param transport {@link #THRIFT} or {@link #GRPC}
+     */
+    public StageTimer getStageTimer(String transport, Stage stage) {
+        Objects.requireNonNull(transport, "transport");
+        Objects.requireNonNull(stage, "stage");
+        return getStageTimer0(newName(transport, stage));
+    }
+
+    /**
+     * stage shared by the transports. {@link Stage#DAO_WRITE}, {@link Stage#STATISTICS_FLUSH}
+     */
+    public StageTimer getStageTimer(Stage stage) {
+        Objects.requireNonNull(stage, "stage");
+        return getStageTimer0(newName(stage));
+    }
+
+    private StageTimer getStageTimer0(String name) {
+        if (!enable) {
+            return StageTimer.DISABLED;
+        }
+        final StageTimer stageTimer = stageTimerMap.get(name);
+        if (stageTimer == null) {
+            throw new IllegalArgumentException("unknown stage:" + name);
+        }
+        return stageTimer;
+    }
+
+    public List<StageTimer> getStageTimerList() {
+        return new ArrayList<>(stageTimerMap.values());
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        if (!enable) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Metric> metrics = new LinkedHashMap<>();
+        for (StageTimer stageTimer : stageTimerMap.values()) {
+            metrics.put(stageTimer.getName(), stageTimer.getTimer());
+            metrics.put(stageTimer.getName() + ERROR_SUFFIX, stageTimer.getErrorCounter());
+        }
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "CollectorStageMetrics{" +
+                "enable=" + enable +
+                ", stages=" + stageTimerMap.keySet() +
+                '}';
+    }
+}
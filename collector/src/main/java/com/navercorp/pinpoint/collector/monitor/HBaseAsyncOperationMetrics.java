@@ -21,6 +21,7 @@ import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricSet;
 import com.navercorp.pinpoint.common.hbase.HBaseAsyncOperation;
+import com.navercorp.pinpoint.common.hbase.spill.SpillHBaseAsyncOperation;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,6 +40,12 @@ public class HBaseAsyncOperationMetrics implements MetricSet {
     private static final String WAITING_COUNT = HBASE_ASYNC_OPS + ".waiting.count";
     private static final String AVERAGE_LATENCY = HBASE_ASYNC_OPS + ".latency.value";
 
+    private static final String HBASE_ASYNC_SPILL = HBASE_ASYNC_OPS + ".spill";
+    private static final String SPILL_COUNT = HBASE_ASYNC_SPILL + ".count";
+    private static final String SPILL_DROP_COUNT = HBASE_ASYNC_SPILL + ".dropped.count";
+    private static final String SPILL_REPLAY_COUNT = HBASE_ASYNC_SPILL + ".replayed.count";
+    private static final String SPILL_SEGMENT_COUNT = HBASE_ASYNC_SPILL + ".segment.count";
+
     private final HBaseAsyncOperation hBaseAsyncOperation;
 
     public HBaseAsyncOperationMetrics(HBaseAsyncOperation hBaseAsyncOperation) {
@@ -83,7 +90,38 @@ public class HBaseAsyncOperationMetrics implements MetricSet {
             }
         });
 
+        if (hBaseAsyncOperation instanceof SpillHBaseAsyncOperation) {
+            addSpillMetrics(gauges, (SpillHBaseAsyncOperation) hBaseAsyncOperation);
+        }
+
         return Collections.unmodifiableMap(gauges);
     }
 
+    private void addSpillMetrics(Map<String, Metric> gauges, SpillHBaseAsyncOperation spillOperation) {
+        gauges.put(SPILL_COUNT, new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return spillOperation.getSpillCount();
+            }
+        });
+        gauges.put(SPILL_DROP_COUNT, new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return spillOperation.getSpillDropCount();
+            }
+        });
+        gauges.put(SPILL_REPLAY_COUNT, new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return spillOperation.getSpillReplayCount();
+            }
+        });
+        gauges.put(SPILL_SEGMENT_COUNT, new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return spillOperation.getSpillSegmentCount();
+            }
+        });
+    }
+
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Reservoir} backed by HdrHistogram. update() is lock-free and does not allocate.
+ * The snapshot covers the values of the previous and the current window,
+ * so the tail latency is not lost by the sampling of the default ExponentiallyDecayingReservoir.
+ * Caution. the value must not be negative. (duration of the Timer is nanoseconds)
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+    public static final long DEFAULT_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+    private final long windowMillis;
+
+    // guarded by this
+    private Histogram intervalHistogram;
+    private Histogram previousWindow;
+    private Histogram currentWindow;
+    private long currentWindowStartTime;
+
+    public HdrHistogramReservoir() {
+        this(DEFAULT_WINDOW_MILLIS);
+    }
+
+    public HdrHistogramReservoir(long windowMillis) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("windowMillis must be 'windowMillis > 0'");
+        }
+        this.windowMillis = windowMillis;
+        this.previousWindow = newHistogram();
+        this.currentWindow = newHistogram();
+        this.currentWindowStartTime = System.currentTimeMillis();
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(Math.max(0, value));
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return new HdrSnapshot(snapshot(System.currentTimeMillis()));
+    }
+
+    synchronized Histogram snapshot(long currentTimeMillis) {
+        this.intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+        // values recorded before this call belong to the current window
+        currentWindow.add(intervalHistogram);
+        if (currentTimeMillis - currentWindowStartTime >= windowMillis) {
+            final Histogram oldWindow = this.previousWindow;
+            this.previousWindow = this.currentWindow;
+            oldWindow.reset();
+            this.currentWindow = oldWindow;
+            this.currentWindowStartTime = currentTimeMillis;
+        }
+
+        final Histogram snapshot = previousWindow.copy();
+        snapshot.add(currentWindow);
+        return snapshot;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "HdrHistogramReservoir{" +
+                "windowMillis=" + windowMillis +
+                '}';
+    }
+
+    static class HdrSnapshot extends Snapshot {
+
+        private final Histogram histogram;
+
+        HdrSnapshot(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+            return histogram.getValueAtPercentile(quantile * 100.0);
+        }
+
+        /**
+         * Caution. expands all the recorded values. the reporters of the collector do not use it
+         */
+        @Override
+        public long[] getValues() {
+            final long[] values = new long[size()];
+            int index = 0;
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                final long valueIteratedTo = histogram.highestEquivalentValue(value.getValueIteratedTo());
+                for (long i = 0; i < value.getCountAddedInThisIterationStep() && index < values.length; i++) {
+                    values[index++] = valueIteratedTo;
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getMaxValue();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.getMinValue();
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getStdDeviation();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            final PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            try {
+                for (long value : getValues()) {
+                    out.printf("%d%n", value);
+                }
+            } finally {
+                out.flush();
+            }
+        }
+    }
+}
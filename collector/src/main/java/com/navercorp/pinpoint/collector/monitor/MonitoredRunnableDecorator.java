@@ -95,7 +95,7 @@ public class MonitoredRunnableDecorator implements RunnableDecorator {
     }
 
 
-    private class InstrumentedRunnable implements Runnable {
+    private class InstrumentedRunnable implements PriorityRunnable {
         private final Runnable runnable;
         private final Timer.Context dispatchDuration;
 
@@ -116,6 +116,18 @@ public class MonitoredRunnableDecorator implements RunnableDecorator {
             }
         }
 
+        @Override
+        public WorkPriority getPriority() {
+            return WorkPriority.of(runnable);
+        }
+
+        @Override
+        public void onShed() {
+            if (runnable instanceof PriorityRunnable) {
+                ((PriorityRunnable) runnable).onShed();
+            }
+        }
+
         @Override
         public String toString() {
             return runnable.toString();
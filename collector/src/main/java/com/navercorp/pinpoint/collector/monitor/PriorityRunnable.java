@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor;
+
+/**
+ * Task that carries its {@link WorkPriority}. Decorators must delegate to the original task.
+ */
+public interface PriorityRunnable extends Runnable {
+
+    /**
+     * @return priority class, or null to use the default priority of the worker queue
+     */
+    WorkPriority getPriority();
+
+    /**
+     * called instead of {@link #run()} when the task is shed by {@link PriorityWorkerQueue}.
+     * release the resources held by the task here.
+     */
+    default void onShed() {
+    }
+}
@@ -0,0 +1,458 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded worker queue with {@link WorkPriority} classes.
+ * <ul>
+ *     <li>Tasks are served from the highest class first, FIFO within a class.</li>
+ *     <li>A full queue makes room by shedding the oldest task of a lower class. The offer fails only if no lower class task is queued.</li>
+ *     <li>CoDel style shedding : once the queue delay stays above codelTarget for codelInterval,
+ *     the oldest task of the lowest queued class is shed on dequeue, at a rate growing with the square root of the shed count.
+ *     {@link WorkPriority#HIGH} tasks are never shed by the queue delay.</li>
+ * </ul>
+ * Shed tasks are not passed to the RejectedExecutionHandler, they are counted by {@link #getShedCount(WorkPriority)}
+ * and {@link PriorityRunnable#onShed()} is called to release their resources.
+ */
+public class PriorityWorkerQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final WorkPriority[] PRIORITIES = WorkPriority.values();
+
+    private final int capacity;
+    private final WorkPriority defaultPriority;
+    private final long codelTargetNanos;
+    private final long codelIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<Node>[] queues;
+    private int count;
+
+    // CoDel state. guarded by lock
+    private long firstAboveTime;
+    private boolean dropping;
+    private long dropNext;
+    private int dropCount;
+
+    private final LongAdder[] shedCounts;
+
+    @SuppressWarnings("unchecked")
+    public PriorityWorkerQueue(int capacity, WorkPriority defaultPriority, long codelTargetMillis, long codelIntervalMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be 'capacity > 0'");
+        }
+        if (codelIntervalMillis <= 0) {
+            throw new IllegalArgumentException("codelIntervalMillis must be 'codelIntervalMillis > 0'");
+        }
+        this.capacity = capacity;
+        this.defaultPriority = Objects.requireNonNull(defaultPriority, "defaultPriority");
+        // codelTargetMillis <= 0 : disable queue delay based shedding
+        this.codelTargetNanos = codelTargetMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(codelTargetMillis) : Long.MAX_VALUE;
+        this.codelIntervalNanos = TimeUnit.MILLISECONDS.toNanos(codelIntervalMillis);
+
+        this.queues = new ArrayDeque[PRIORITIES.length];
+        this.shedCounts = new LongAdder[PRIORITIES.length];
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            this.queues[i] = new ArrayDeque<>();
+            this.shedCounts[i] = new LongAdder();
+        }
+    }
+
+    private WorkPriority priority(Runnable task) {
+        final WorkPriority priority = WorkPriority.of(task);
+        if (priority == null) {
+            return defaultPriority;
+        }
+        return priority;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task, "task");
+        final Node node = new Node(task, priority(task), System.nanoTime());
+        lock.lock();
+        try {
+            if (count >= capacity) {
+                if (!shedLowerThan(node.priority)) {
+                    return false;
+                }
+            }
+            queues[node.priority.ordinal()].addLast(node);
+            count++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean shedLowerThan(WorkPriority priority) {
+        for (int i = PRIORITIES.length - 1; i > priority.ordinal(); i--) {
+            if (shedFirst(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean shedFirst(int index) {
+        final Node shed = queues[index].pollFirst();
+        if (shed == null) {
+            return false;
+        }
+        count--;
+        shedCounts[index].increment();
+        onShed(shed.task);
+        return true;
+    }
+
+    private void onShed(Runnable task) {
+        if (task instanceof PriorityRunnable) {
+            try {
+                ((PriorityRunnable) task).onShed();
+            } catch (RuntimeException e) {
+                logger.warn("onShed fail. task:{}", task, e);
+            }
+        }
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        // worker queue never blocks the receiver thread
+        if (!offer(task)) {
+            throw new IllegalStateException("queue full");
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) {
+        return offer(task);
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return dequeue(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                final Runnable task = dequeue(System.nanoTime());
+                if (task != null) {
+                    return task;
+                }
+                notEmpty.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                final Runnable task = dequeue(System.nanoTime());
+                if (task != null) {
+                    return task;
+                }
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Runnable dequeue(long now) {
+        while (true) {
+            final int index = highestQueued();
+            if (index == -1) {
+                resetCodel();
+                return null;
+            }
+            final ArrayDeque<Node> queue = queues[index];
+            final Node head = queue.peekFirst();
+            if (shouldShed(now - head.enqueueTime, now)) {
+                final int lowest = lowestQueued();
+                if (lowest != WorkPriority.HIGH.ordinal()) {
+                    shedFirst(lowest);
+                    if (lowest == index) {
+                        // the head itself is shed
+                        continue;
+                    }
+                }
+            }
+            queue.pollFirst();
+            count--;
+            return head.task;
+        }
+    }
+
+    private boolean shouldShed(long sojournTime, long now) {
+        if (sojournTime < codelTargetNanos) {
+            resetCodel();
+            return false;
+        }
+        if (firstAboveTime == 0) {
+            firstAboveTime = now + codelIntervalNanos;
+            return false;
+        }
+        if (now - firstAboveTime < 0) {
+            return false;
+        }
+        if (!dropping) {
+            dropping = true;
+            dropCount = 1;
+            dropNext = nextDropTime(now);
+            return true;
+        }
+        if (now - dropNext >= 0) {
+            dropCount++;
+            dropNext = nextDropTime(now);
+            return true;
+        }
+        return false;
+    }
+
+    private long nextDropTime(long now) {
+        return now + (long) (codelIntervalNanos / Math.sqrt(dropCount));
+    }
+
+    private void resetCodel() {
+        firstAboveTime = 0;
+        dropping = false;
+    }
+
+    private int highestQueued() {
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            if (!queues[i].isEmpty()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lowestQueued() {
+        for (int i = PRIORITIES.length - 1; i >= 0; i--) {
+            if (!queues[i].isEmpty()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            final int index = highestQueued();
+            if (index == -1) {
+                return null;
+            }
+            return queues[index].peekFirst().task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            for (ArrayDeque<Node> queue : queues) {
+                final Iterator<Node> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    if (o.equals(iterator.next().task)) {
+                        iterator.remove();
+                        count--;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Objects.requireNonNull(c, "c");
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int drained = 0;
+            for (ArrayDeque<Node> queue : queues) {
+                while (drained < maxElements) {
+                    final Node node = queue.pollFirst();
+                    if (node == null) {
+                        break;
+                    }
+                    c.add(node.task);
+                    count--;
+                    drained++;
+                }
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * weakly consistent snapshot iterator
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        final List<Runnable> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(count);
+            for (ArrayDeque<Node> queue : queues) {
+                for (Node node : queue) {
+                    snapshot.add(node.task);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        final Iterator<Runnable> iterator = snapshot.iterator();
+        return new Iterator<Runnable>() {
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                PriorityWorkerQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    public int size(WorkPriority priority) {
+        lock.lock();
+        try {
+            return queues[priority.ordinal()].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getShedCount(WorkPriority priority) {
+        return shedCounts[priority.ordinal()].sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public WorkPriority getDefaultPriority() {
+        return defaultPriority;
+    }
+
+    @Override
+    public String toString() {
+        return "PriorityWorkerQueue{" +
+                "capacity=" + capacity +
+                ", defaultPriority=" + defaultPriority +
+                ", size=" + size() +
+                ", shedHigh=" + getShedCount(WorkPriority.HIGH) +
+                ", shedNormal=" + getShedCount(WorkPriority.NORMAL) +
+                ", shedLow=" + getShedCount(WorkPriority.LOW) +
+                '}';
+    }
+
+    private static final class Node {
+        private final Runnable task;
+        private final WorkPriority priority;
+        private final long enqueueTime;
+
+        private Node(Runnable task, WorkPriority priority, long enqueueTime) {
+            this.task = task;
+            this.priority = priority;
+            this.enqueueTime = enqueueTime;
+        }
+    }
+}
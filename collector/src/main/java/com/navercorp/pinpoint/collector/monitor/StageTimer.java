@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer and error counter of a collector stage. See {@link CollectorStageMetrics}
+ * <pre>
+ * final long startTime = stageTimer.start();
+ * try {
+ *     ...
+ * } catch (Exception e) {
+ *     stageTimer.error();
+ * } finally {
+ *     stageTimer.stop(startTime);
+ * }
+ * </pre>
+ */
+public class StageTimer {
+
+    public static final StageTimer DISABLED = new StageTimer();
+
+    private final String name;
+    // null if disabled
+    private final Timer timer;
+    private final Counter errorCounter;
+
+    private StageTimer() {
+        this.name = "disabled";
+        this.timer = null;
+        this.errorCounter = null;
+    }
+
+    public StageTimer(String name, Timer timer, Counter errorCounter) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.timer = Objects.requireNonNull(timer, "timer");
+        this.errorCounter = Objects.requireNonNull(errorCounter, "errorCounter");
+    }
+
+    public long start() {
+        if (timer == null) {
+            return 0;
+        }
+        return System.nanoTime();
+    }
+
+    public void stop(long startTime) {
+        if (timer == null) {
+            return;
+        }
+        timer.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    public void error() {
+        if (errorCounter == null) {
+            return;
+        }
+        errorCounter.inc();
+    }
+
+    public void error(long count) {
+        if (errorCounter == null) {
+            return;
+        }
+        errorCounter.inc(count);
+    }
+
+    public boolean isEnable() {
+        return timer != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // nullable
+    public Timer getTimer() {
+        return timer;
+    }
+
+    // nullable
+    public Counter getErrorCounter() {
+        return errorCounter;
+    }
+
+    @Override
+    public String toString() {
+        return "StageTimer{" +
+                "name='" + name + '\'' +
+                '}';
+    }
+}
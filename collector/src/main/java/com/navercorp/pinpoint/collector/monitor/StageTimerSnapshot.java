@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time view of a {@link StageTimer}. durations are milliseconds, rates are per second.
+ */
+public class StageTimerSnapshot {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String name;
+    private final long count;
+    private final long errorCount;
+    private final double oneMinuteRate;
+    private final double mean;
+    private final double p50;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    public StageTimerSnapshot(StageTimer stageTimer) {
+        Objects.requireNonNull(stageTimer, "stageTimer");
+        this.name = stageTimer.getName();
+
+        final Timer timer = stageTimer.getTimer();
+        if (timer == null) {
+            this.count = 0;
+            this.errorCount = 0;
+            this.oneMinuteRate = 0;
+            this.mean = 0;
+            this.p50 = 0;
+            this.p99 = 0;
+            this.p999 = 0;
+            this.max = 0;
+            return;
+        }
+        this.count = timer.getCount();
+        this.errorCount = stageTimer.getErrorCounter().getCount();
+        this.oneMinuteRate = timer.getOneMinuteRate();
+
+        final Snapshot snapshot = timer.getSnapshot();
+        this.mean = toMillis(snapshot.getMean());
+        this.p50 = toMillis(snapshot.getMedian());
+        this.p99 = toMillis(snapshot.get99thPercentile());
+        this.p999 = toMillis(snapshot.get999thPercentile());
+        this.max = toMillis(snapshot.getMax());
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getOneMinuteRate() {
+        return oneMinuteRate;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "StageTimerSnapshot{" +
+                "name='" + name + '\'' +
+                ", count=" + count +
+                ", errorCount=" + errorCount +
+                ", oneMinuteRate=" + oneMinuteRate +
+                ", mean=" + mean +
+                ", p50=" + p50 +
+                ", p99=" + p99 +
+                ", p999=" + p999 +
+                ", max=" + max +
+                '}';
+    }
+}
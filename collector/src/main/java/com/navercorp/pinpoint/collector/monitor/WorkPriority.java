@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor;
+
+/**
+ * Priority class of a receiver worker task. the lower class is shed first by {@link PriorityWorkerQueue}.
+ */
+public enum WorkPriority {
+    /**
+     * agent info, metadata
+     */
+    HIGH,
+    /**
+     * span, span chunk
+     */
+    NORMAL,
+    /**
+     * agent stat
+     */
+    LOW;
+
+    /**
+     * @return the priority of the task, or null if the task is not a {@link PriorityRunnable}
+     */
+    public static WorkPriority of(Runnable task) {
+        if (task instanceof PriorityRunnable) {
+            return ((PriorityRunnable) task).getPriority();
+        }
+        return null;
+    }
+}
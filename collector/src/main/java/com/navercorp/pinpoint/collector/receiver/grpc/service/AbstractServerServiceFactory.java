@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.collector.receiver.grpc.service;
 
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 
 import io.grpc.ServerInterceptor;
@@ -37,6 +39,8 @@ public abstract class AbstractServerServiceFactory implements FactoryBean<Server
 
     protected ServerRequestFactory serverRequestFactory;
 
+    protected CollectorStageMetrics stageMetrics = CollectorStageMetrics.DISABLED;
+
     public AbstractServerServiceFactory() {
         // circular reference workaround
 //        this.dispatchHandlerFactory = Objects.requireNonNull(dispatchHandlerFactory, "dispatchHandlerFactory");
@@ -55,6 +59,14 @@ public abstract class AbstractServerServiceFactory implements FactoryBean<Server
         this.serverRequestFactory = serverRequestFactory;
     }
 
+    public void setStageMetrics(CollectorStageMetrics stageMetrics) {
+        this.stageMetrics = Objects.requireNonNull(stageMetrics, "stageMetrics");
+    }
+
+    protected StageTimer getReceiveTimer() {
+        return stageMetrics.getStageTimer(CollectorStageMetrics.GRPC, CollectorStageMetrics.Stage.RECEIVE);
+    }
+
     @Override
     public void afterPropertiesSet() {
         Objects.requireNonNull(dispatchHandler, "dispatchHandler");
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.receiver.grpc.service;
 
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.grpc.MessageFormatUtils;
 import com.navercorp.pinpoint.grpc.StatusError;
@@ -37,6 +38,7 @@ import com.google.protobuf.GeneratedMessageV3;
 import io.grpc.Status;
 import io.grpc.StatusException;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,17 +54,41 @@ public class SpanService extends SpanGrpc.SpanImplBase {
     private final boolean isDebug = logger.isDebugEnabled();
     private final DispatchHandler dispatchHandler;
     private final ServerRequestFactory serverRequestFactory;
+    private final StageTimer receiveTimer;
+    // @Nullable. auto inbound flow control if null
+    private final StreamFlowController flowController;
 
     public SpanService(DispatchHandler dispatchHandler, ServerRequestFactory serverRequestFactory) {
+        this(dispatchHandler, serverRequestFactory, StageTimer.DISABLED, null);
+    }
+
+    public SpanService(DispatchHandler dispatchHandler, ServerRequestFactory serverRequestFactory, StageTimer receiveTimer) {
+        this(dispatchHandler, serverRequestFactory, receiveTimer, null);
+    }
+
+    public SpanService(DispatchHandler dispatchHandler, ServerRequestFactory serverRequestFactory, StageTimer receiveTimer, StreamFlowController flowController) {
         this.dispatchHandler = Objects.requireNonNull(dispatchHandler, "dispatchHandler");
         this.serverRequestFactory = Objects.requireNonNull(serverRequestFactory, "serverRequestFactory");
+        this.receiveTimer = Objects.requireNonNull(receiveTimer, "receiveTimer");
+        this.flowController = flowController;
     }
 
     @Override
     public StreamObserver<PSpanMessage> sendSpan(final StreamObserver<Empty> responseObserver) {
+        final ServerCallStreamObserver<Empty> flowControlStream = startFlowControl(responseObserver);
         StreamObserver<PSpanMessage> observer = new StreamObserver<PSpanMessage>() {
             @Override
             public void onNext(PSpanMessage spanMessage) {
+                try {
+                    handleSpanMessage(spanMessage);
+                } finally {
+                    if (flowControlStream != null) {
+                        flowController.onMessage(flowControlStream);
+                    }
+                }
+            }
+
+            private void handleSpanMessage(PSpanMessage spanMessage) {
                 if (isDebug) {
                     logger.debug("Send PSpan={}", MessageFormatUtils.debugLog(spanMessage));
                 }
@@ -100,6 +126,18 @@ public class SpanService extends SpanGrpc.SpanImplBase {
         return observer;
     }
 
+    private ServerCallStreamObserver<Empty> startFlowControl(StreamObserver<Empty> responseObserver) {
+        if (flowController == null) {
+            return null;
+        }
+        if (!(responseObserver instanceof ServerCallStreamObserver)) {
+            return null;
+        }
+        final ServerCallStreamObserver<Empty> serverCallStreamObserver = (ServerCallStreamObserver<Empty>) responseObserver;
+        flowController.start(serverCallStreamObserver);
+        return serverCallStreamObserver;
+    }
+
     private <T> Message<T> newMessage(T requestData, short serviceType) {
         final Header header = new HeaderV2(Header.SIGNATURE, HeaderV2.VERSION, serviceType);
         final HeaderEntity headerEntity = new HeaderEntity(new HashMap<>());
@@ -107,10 +145,12 @@ public class SpanService extends SpanGrpc.SpanImplBase {
     }
 
     private void send(final Message<? extends GeneratedMessageV3> message, StreamObserver<Empty> responseObserver) {
+        final long startTime = receiveTimer.start();
         try {
             ServerRequest<? extends GeneratedMessageV3> request = serverRequestFactory.newServerRequest(message);
             this.dispatchHandler.dispatchSendMessage(request);
         } catch (Exception e) {
+            receiveTimer.error();
             logger.warn("Failed to request. message={}", message, e);
             if (e instanceof StatusException || e instanceof StatusRuntimeException) {
                 responseObserver.onError(e);
@@ -118,6 +158,8 @@ public class SpanService extends SpanGrpc.SpanImplBase {
                 // Avoid detailed exception
                 responseObserver.onError(Status.INTERNAL.withDescription("Bad Request").asException());
             }
+        } finally {
+            receiveTimer.stop(startTime);
         }
     }
 
@@ -24,9 +24,16 @@ import io.grpc.ServerServiceDefinition;
  */
 public class SpanServiceFactory extends AbstractServerServiceFactory {
 
+    // @Nullable
+    private StreamFlowController flowController;
+
+    public void setFlowController(StreamFlowController flowController) {
+        this.flowController = flowController;
+    }
+
     @Override
     protected ServerServiceDefinition newServerServiceDefinition() {
-        BindableService spanService = new SpanService(dispatchHandler, serverRequestFactory);
+        BindableService spanService = new SpanService(dispatchHandler, serverRequestFactory, getReceiveTimer(), flowController);
         return spanService.bindService();
     }
 
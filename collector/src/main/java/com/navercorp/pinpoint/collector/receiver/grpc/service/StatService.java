@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.receiver.grpc.service;
 
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.grpc.MessageFormatUtils;
 import com.navercorp.pinpoint.grpc.StatusError;
@@ -53,10 +54,16 @@ public class StatService extends StatGrpc.StatImplBase {
 
     private final DispatchHandler dispatchHandler;
     private final ServerRequestFactory serverRequestFactory;
+    private final StageTimer receiveTimer;
 
     public StatService(DispatchHandler dispatchHandler, ServerRequestFactory serverRequestFactory) {
+        this(dispatchHandler, serverRequestFactory, StageTimer.DISABLED);
+    }
+
+    public StatService(DispatchHandler dispatchHandler, ServerRequestFactory serverRequestFactory, StageTimer receiveTimer) {
         this.dispatchHandler = Objects.requireNonNull(dispatchHandler, "dispatchHandler");
         this.serverRequestFactory = Objects.requireNonNull(serverRequestFactory, "serverRequestFactory");
+        this.receiveTimer = Objects.requireNonNull(receiveTimer, "receiveTimer");
     }
 
     @Override
@@ -108,10 +115,12 @@ public class StatService extends StatGrpc.StatImplBase {
     }
 
     private void send(final Message<? extends GeneratedMessageV3> message, StreamObserver<Empty> responseObserver) {
+        final long startTime = receiveTimer.start();
         try {
             ServerRequest<?> request = serverRequestFactory.newServerRequest(message);
             this.dispatchHandler.dispatchSendMessage(request);
         } catch (Exception e) {
+            receiveTimer.error();
             logger.warn("Failed to request. message={}", message, e);
             if (e instanceof StatusException || e instanceof StatusRuntimeException) {
                 responseObserver.onError(e);
@@ -119,6 +128,8 @@ public class StatService extends StatGrpc.StatImplBase {
                 // Avoid detailed exception
                 responseObserver.onError(Status.INTERNAL.withDescription("Bad Request").asException());
             }
+        } finally {
+            receiveTimer.stop(startTime);
         }
     }
 
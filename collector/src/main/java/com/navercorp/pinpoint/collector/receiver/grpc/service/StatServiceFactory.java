@@ -28,7 +28,7 @@ public class StatServiceFactory extends AbstractServerServiceFactory {
 
     @Override
     protected ServerServiceDefinition newServerServiceDefinition() {
-        BindableService spanService = new StatService(dispatchHandler, serverRequestFactory);
+        BindableService spanService = new StatService(dispatchHandler, serverRequestFactory, getReceiveTimer());
         return spanService.bindService();
     }
 
@@ -35,6 +35,7 @@ public class StreamExecutorServerInterceptorFactory implements FactoryBean<Serve
     private final ScheduledExecutorService scheduledExecutorService;
     private final int periodMillis;
     private final int recoveryMessagesCount;
+    private StreamFlowController flowController;
 
     public StreamExecutorServerInterceptorFactory(Executor executor, int initRequestCount, ScheduledExecutorService scheduledExecutorService, int periodMillis, int recoveryMessagesCount) {
         this.executor = Objects.requireNonNull(executor, "executor");
@@ -44,9 +45,21 @@ public class StreamExecutorServerInterceptorFactory implements FactoryBean<Serve
         this.recoveryMessagesCount = recoveryMessagesCount;
     }
 
+    public void setFlowController(StreamFlowController flowController) {
+        this.flowController = flowController;
+    }
+
     @Override
     public ServerInterceptor getObject() throws Exception {
-        return new StreamExecutorServerInterceptor(this.beanName, this.executor, initRequestCount, this.scheduledExecutorService, this.periodMillis, recoveryMessagesCount);
+        return new StreamExecutorServerInterceptor(this.beanName, this.executor, getInitRequestCount(), this.scheduledExecutorService, this.periodMillis, recoveryMessagesCount);
+    }
+
+    private int getInitRequestCount() {
+        if (flowController != null) {
+            // the credits are managed by the flow controller
+            return flowController.getInitialRequestCount();
+        }
+        return initRequestCount;
     }
 
     @Override
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.service;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server driven inbound flow control of client streams, tied to the worker queue depth.
+ * The stream disables auto inbound flow control and hands its credit back after each processed message.
+ * <ul>
+ *     <li>queue depth below highWatermark : request the next message immediately</li>
+ *     <li>otherwise : the credit is deferred, and returned by the scheduled resume job once the queue depth falls below lowWatermark</li>
+ * </ul>
+ * The withheld credits fill the HTTP/2 flow control window, so the agent stream becomes not ready
+ * instead of the collector rejecting the messages of a saturated worker.
+ */
+public class StreamFlowController {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ThreadPoolExecutor executor;
+    private final int highWatermark;
+    private final int lowWatermark;
+
+    private final Queue<ServerCallStreamObserver<?>> deferredCredits = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger deferredCount = new AtomicInteger();
+    private final AtomicLong totalDeferredCount = new AtomicLong();
+
+    private final ScheduledFuture<?> resumeFuture;
+
+    public StreamFlowController(Executor executor, int highWatermark, int lowWatermark,
+                                ScheduledExecutorService scheduledExecutorService, long periodMillis) {
+        Objects.requireNonNull(executor, "executor");
+        if (!(executor instanceof ThreadPoolExecutor)) {
+            throw new IllegalArgumentException("ThreadPoolExecutor required. executor:" + executor.getClass());
+        }
+        if (highWatermark <= 0) {
+            throw new IllegalArgumentException("highWatermark must be 'highWatermark > 0'");
+        }
+        if (lowWatermark < 0 || lowWatermark > highWatermark) {
+            throw new IllegalArgumentException("lowWatermark must be '0 <= lowWatermark <= highWatermark'");
+        }
+        Objects.requireNonNull(scheduledExecutorService, "scheduledExecutorService");
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("periodMillis must be 'periodMillis > 0'");
+        }
+        this.executor = (ThreadPoolExecutor) executor;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.resumeFuture = scheduledExecutorService.scheduleAtFixedRate(this::resume, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Must be called before the stream handler returns.
+     * The initial credit is requested by the StreamExecutorServerInterceptor, see {@link #getInitialRequestCount()}.
+     */
+    public void start(ServerCallStreamObserver<?> stream) {
+        stream.disableAutoInboundFlowControl();
+    }
+
+    /**
+     * @return credits requested when the call starts. each processed message returns its own credit
+     */
+    public int getInitialRequestCount() {
+        return 1;
+    }
+
+    /**
+     * Called after a message of the stream is processed.
+     */
+    public void onMessage(ServerCallStreamObserver<?> stream) {
+        if (deferredCount.get() == 0 && queueDepth() < highWatermark) {
+            stream.request(1);
+            return;
+        }
+        deferredCredits.offer(stream);
+        deferredCount.incrementAndGet();
+        totalDeferredCount.incrementAndGet();
+    }
+
+    void resume() {
+        try {
+            while (queueDepth() <= lowWatermark) {
+                final ServerCallStreamObserver<?> stream = deferredCredits.poll();
+                if (stream == null) {
+                    return;
+                }
+                deferredCount.decrementAndGet();
+                if (!stream.isCancelled()) {
+                    stream.request(1);
+                }
+            }
+        } catch (RuntimeException e) {
+            // keep the scheduled job alive
+            logger.warn("Failed to resume stream. Caused:{}", e.getMessage(), e);
+        }
+    }
+
+    private int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getDeferredCount() {
+        return deferredCount.get();
+    }
+
+    public long getTotalDeferredCount() {
+        return totalDeferredCount.get();
+    }
+
+    public void close() {
+        resumeFuture.cancel(false);
+        // return the credits of the remaining streams
+        ServerCallStreamObserver<?> stream;
+        while ((stream = deferredCredits.poll()) != null) {
+            deferredCount.decrementAndGet();
+            if (!stream.isCancelled()) {
+                stream.request(1);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamFlowController{" +
+                "highWatermark=" + highWatermark +
+                ", lowWatermark=" + lowWatermark +
+                ", deferredCount=" + deferredCount.get() +
+                ", totalDeferredCount=" + totalDeferredCount.get() +
+                '}';
+    }
+}
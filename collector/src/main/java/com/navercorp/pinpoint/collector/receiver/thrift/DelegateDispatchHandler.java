@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.collector.receiver.thrift;
 
 import com.navercorp.pinpoint.collector.manage.HandlerManager;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.io.request.ServerRequest;
@@ -38,10 +39,17 @@ public class DelegateDispatchHandler implements DispatchHandler {
 
     private final HandlerManager handlerManager;
 
+    private final StageTimer handlerTimer;
+
     public DelegateDispatchHandler(AcceptedTimeService acceptedTimeService, DispatchHandler delegate, HandlerManager handlerManager) {
+        this(acceptedTimeService, delegate, handlerManager, StageTimer.DISABLED);
+    }
+
+    public DelegateDispatchHandler(AcceptedTimeService acceptedTimeService, DispatchHandler delegate, HandlerManager handlerManager, StageTimer handlerTimer) {
         this.acceptedTimeService = Objects.requireNonNull(acceptedTimeService, "acceptedTimeService");
         this.delegate = Objects.requireNonNull(delegate, "delegate");
         this.handlerManager = Objects.requireNonNull(handlerManager, "handlerManager");
+        this.handlerTimer = Objects.requireNonNull(handlerTimer, "handlerTimer");
     }
 
 
@@ -54,7 +62,15 @@ public class DelegateDispatchHandler implements DispatchHandler {
             return;
         }
 
-        this.delegate.dispatchSendMessage(serverRequest);
+        final long startTime = handlerTimer.start();
+        try {
+            this.delegate.dispatchSendMessage(serverRequest);
+        } catch (RuntimeException e) {
+            handlerTimer.error();
+            throw e;
+        } finally {
+            handlerTimer.stop(startTime);
+        }
     }
 
 
@@ -70,7 +86,15 @@ public class DelegateDispatchHandler implements DispatchHandler {
             return;
         }
 
-        delegate.dispatchRequestMessage(serverRequest, serverResponse);
+        final long startTime = handlerTimer.start();
+        try {
+            delegate.dispatchRequestMessage(serverRequest, serverResponse);
+        } catch (RuntimeException e) {
+            handlerTimer.error();
+            throw e;
+        } finally {
+            handlerTimer.stop(startTime);
+        }
 
     }
 
@@ -20,6 +20,8 @@ import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 
 import com.navercorp.pinpoint.collector.manage.HandlerManager;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +39,9 @@ public class DispatchHandlerFactoryBean implements FactoryBean<DispatchHandler>
 
     private HandlerManager handlerManager;
 
+    private CollectorStageMetrics stageMetrics = CollectorStageMetrics.DISABLED;
+    private String transport = CollectorStageMetrics.THRIFT;
+
     public DispatchHandlerFactoryBean() {
 
     }
@@ -54,9 +59,21 @@ public class DispatchHandlerFactoryBean implements FactoryBean<DispatchHandler>
         this.handlerManager = Objects.requireNonNull(handlerManager, "handlerManager");
     }
 
+    public void setStageMetrics(CollectorStageMetrics stageMetrics) {
+        this.stageMetrics = Objects.requireNonNull(stageMetrics, "stageMetrics");
+    }
+
+    /**
+     * {@link CollectorStageMetrics#THRIFT} or {@link CollectorStageMetrics#GRPC}
+     */
+    public void setTransport(String transport) {
+        this.transport = Objects.requireNonNull(transport, "transport");
+    }
+
     @Override
     public DispatchHandler getObject() throws Exception {
-        return new DelegateDispatchHandler(acceptedTimeService, dispatchHandler, handlerManager);
+        final StageTimer handlerTimer = stageMetrics.getStageTimer(transport, CollectorStageMetrics.Stage.HANDLER);
+        return new DelegateDispatchHandler(acceptedTimeService, dispatchHandler, handlerManager, handlerTimer);
     }
 
     @Override
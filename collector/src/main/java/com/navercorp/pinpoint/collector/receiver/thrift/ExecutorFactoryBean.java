@@ -23,9 +23,12 @@ import com.navercorp.pinpoint.collector.monitor.MonitoredThreadPoolExecutor;
 import com.navercorp.pinpoint.collector.monitor.LoggingRejectedExecutionHandler;
 import com.navercorp.pinpoint.collector.monitor.RejectedExecutionHandlerChain;
 import com.navercorp.pinpoint.collector.monitor.MonitoredRunnableDecorator;
+import com.navercorp.pinpoint.collector.monitor.PriorityWorkerQueue;
+import com.navercorp.pinpoint.collector.monitor.WorkPriority;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
@@ -43,6 +46,11 @@ public class ExecutorFactoryBean extends org.springframework.scheduling.concurre
     private MetricRegistry registry;
     private boolean preStartAllCoreThreads;
 
+    private boolean priorityQueueEnable = false;
+    private WorkPriority defaultPriority = WorkPriority.NORMAL;
+    private long codelTargetMillis = 100;
+    private long codelIntervalMillis = 1000;
+
     public ExecutorFactoryBean() {
     }
 
@@ -55,6 +63,14 @@ public class ExecutorFactoryBean extends org.springframework.scheduling.concurre
 
 
 
+    @Override
+    protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+        if (priorityQueueEnable && queueCapacity > 0) {
+            return new PriorityWorkerQueue(queueCapacity, defaultPriority, codelTargetMillis, codelIntervalMillis);
+        }
+        return super.createQueue(queueCapacity);
+    }
+
     @Override
     protected ThreadPoolExecutor createExecutor(
             int corePoolSize, int maxPoolSize, int keepAliveSeconds, BlockingQueue<Runnable> queue,
@@ -91,9 +107,20 @@ public class ExecutorFactoryBean extends org.springframework.scheduling.concurre
         Gauge<Long> completedTaskGauge = () -> (long) monitoredThreadPoolExecutor.getCompletedTaskCount();
         this.registry.register(MetricRegistry.name(beanName, "completed"), completedTaskGauge);
 
+        if (queue instanceof PriorityWorkerQueue) {
+            registerShedGauge((PriorityWorkerQueue) queue);
+        }
+
         return monitoredThreadPoolExecutor;
     }
 
+    private void registerShedGauge(PriorityWorkerQueue priorityWorkerQueue) {
+        for (WorkPriority priority : WorkPriority.values()) {
+            Gauge<Long> shedGauge = () -> priorityWorkerQueue.getShedCount(priority);
+            this.registry.register(MetricRegistry.name(beanName, "shed", priority.name().toLowerCase()), shedGauge);
+        }
+    }
+
     private RejectedExecutionHandler wrapHandlerChain(RejectedExecutionHandler rejectedExecutionHandler) {
 
         final List<RejectedExecutionHandler> handlerList = new ArrayList<>();
@@ -129,4 +156,20 @@ public class ExecutorFactoryBean extends org.springframework.scheduling.concurre
         this.logRate = logRate;
     }
 
+    public void setPriorityQueueEnable(boolean priorityQueueEnable) {
+        this.priorityQueueEnable = priorityQueueEnable;
+    }
+
+    public void setDefaultPriority(WorkPriority defaultPriority) {
+        this.defaultPriority = Objects.requireNonNull(defaultPriority, "defaultPriority");
+    }
+
+    public void setCodelTargetMillis(long codelTargetMillis) {
+        this.codelTargetMillis = codelTargetMillis;
+    }
+
+    public void setCodelIntervalMillis(long codelIntervalMillis) {
+        this.codelIntervalMillis = codelIntervalMillis;
+    }
+
 }
@@ -16,8 +16,11 @@
 
 package com.navercorp.pinpoint.collector.receiver.thrift;
 
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.collector.receiver.thrift.udp.BaseUDPHandlerFactory;
+import com.navercorp.pinpoint.collector.receiver.thrift.udp.BatchUDPReceiver;
+import com.navercorp.pinpoint.collector.receiver.thrift.udp.DatagramReceiver;
 import com.navercorp.pinpoint.collector.receiver.thrift.udp.NetworkAvailabilityCheckPacketFilter;
 import com.navercorp.pinpoint.collector.receiver.thrift.udp.PacketHandlerFactory;
 import com.navercorp.pinpoint.collector.receiver.thrift.udp.ReusePortSocketOptionHolder;
@@ -29,6 +32,7 @@ import com.navercorp.pinpoint.collector.util.DefaultObjectPool;
 import com.navercorp.pinpoint.collector.util.ObjectPool;
 import com.navercorp.pinpoint.collector.util.ObjectPoolFactory;
 import com.navercorp.pinpoint.common.server.util.AddressFilter;
+import com.navercorp.pinpoint.thrift.io.HeaderBodyDecoder;
 
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.DisposableBean;
@@ -55,12 +59,16 @@ public class UDPReceiverBean implements InitializingBean, DisposableBean, BeanNa
     private int udpBufferSize;
     private boolean reusePort = false;
     private int socketCount = -1;
+    private boolean batchEnable = false;
+    private int batchSize = 64;
 
-    private UDPReceiver udpReceiver;
+    private DatagramReceiver udpReceiver;
     private Executor executor;
 
     private DispatchHandler dispatchHandler;
     private AddressFilter addressFilter;
+    private HeaderBodyDecoder bodyDecoder;
+    private CollectorStageMetrics stageMetrics = CollectorStageMetrics.DISABLED;
     private int datagramPoolSize = 1024 * 4;
 
 
@@ -80,16 +88,20 @@ public class UDPReceiverBean implements InitializingBean, DisposableBean, BeanNa
     }
 
 
-    private UDPReceiver createUdpReceiver(String name, String bindIp, int port, int udpBufferSize, Executor executor, DispatchHandler dispatchHandler, AddressFilter ignoreAddressFilter) {
+    private DatagramReceiver createUdpReceiver(String name, String bindIp, int port, int udpBufferSize, Executor executor, DispatchHandler dispatchHandler, AddressFilter ignoreAddressFilter) {
         TBaseFilterChain filterChain = newTBaseFilterChain();
         @SuppressWarnings("unchecked")
-        PacketHandlerFactory<DatagramPacket> packetHandlerFactory = new BaseUDPHandlerFactory<DatagramPacket>(dispatchHandler, filterChain, ignoreAddressFilter);
+        PacketHandlerFactory<DatagramPacket> packetHandlerFactory = new BaseUDPHandlerFactory<DatagramPacket>(dispatchHandler, filterChain, ignoreAddressFilter, bodyDecoder, stageMetrics);
 
         InetSocketAddress bindAddress = new InetSocketAddress(bindIp, port);
 
         ObjectPoolFactory<DatagramPacket> packetFactory = new DatagramPacketFactory();
         ObjectPool<DatagramPacket> pool = new DefaultObjectPool<>(packetFactory, datagramPoolSize);
 
+        if (batchEnable) {
+            ReusePortSocketOptionHolder reusePortSocketOption = reusePort ? ReusePortSocketOptionHolder.create(socketCount) : null;
+            return new BatchUDPReceiver(name, packetHandlerFactory, executor, udpBufferSize, bindAddress, reusePortSocketOption, pool, batchSize);
+        }
         if (reusePort) {
             ReusePortSocketOptionHolder reusePortSocketOption = ReusePortSocketOptionHolder.create(socketCount);
             return new UDPReceiver(name, packetHandlerFactory, executor, udpBufferSize, bindAddress, reusePortSocketOption, pool);
@@ -127,6 +139,17 @@ public class UDPReceiverBean implements InitializingBean, DisposableBean, BeanNa
         this.addressFilter = Objects.requireNonNull(addressFilter, "addressFilter");
     }
 
+    /**
+     * nullable. decode the supported types without the intermediate TBase
+     */
+    public void setBodyDecoder(HeaderBodyDecoder bodyDecoder) {
+        this.bodyDecoder = bodyDecoder;
+    }
+
+    public void setStageMetrics(CollectorStageMetrics stageMetrics) {
+        this.stageMetrics = Objects.requireNonNull(stageMetrics, "stageMetrics");
+    }
+
     public void setBindIp(String bindIp) {
         this.bindIp = Objects.requireNonNull(bindIp, "bindIp");
     }
@@ -147,6 +170,14 @@ public class UDPReceiverBean implements InitializingBean, DisposableBean, BeanNa
         this.socketCount = socketCount;
     }
 
+    public void setBatchEnable(boolean batchEnable) {
+        this.batchEnable = batchEnable;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     public void setDatagramPoolSize(int datagramPoolSize) {
         this.datagramPoolSize = datagramPoolSize;
     }
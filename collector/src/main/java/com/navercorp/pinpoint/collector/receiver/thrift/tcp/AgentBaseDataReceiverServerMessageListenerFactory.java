@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.collector.receiver.thrift.tcp;
 
+import com.navercorp.pinpoint.collector.monitor.PriorityRunnable;
+import com.navercorp.pinpoint.collector.monitor.WorkPriority;
 import com.navercorp.pinpoint.collector.service.async.AgentEventAsyncTaskService;
 import com.navercorp.pinpoint.collector.service.async.AgentLifeCycleAsyncTaskService;
 import com.navercorp.pinpoint.collector.service.async.AgentProperty;
@@ -126,11 +128,17 @@ class AgentBaseDataReceiverServerMessageListenerFactory implements ServerMessage
         // TODO ?
         @Override
         public void handleRequest(RequestPacket requestPacket, PinpointSocket pinpointSocket) {
-            executor.execute(new Runnable() {
+            executor.execute(new PriorityRunnable() {
                 @Override
                 public void run() {
                     tcpPacketHandler.handleRequest(requestPacket, pinpointSocket);
                 }
+
+                @Override
+                public WorkPriority getPriority() {
+                    // agent info, metadata
+                    return WorkPriority.HIGH;
+                }
             });
         }
 
@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.collector.receiver.thrift.tcp;
 
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.collector.util.PacketUtils;
 import com.navercorp.pinpoint.io.request.DefaultServerRequest;
@@ -27,6 +29,7 @@ import com.navercorp.pinpoint.rpc.packet.BasicPacket;
 import com.navercorp.pinpoint.rpc.packet.RequestPacket;
 import com.navercorp.pinpoint.rpc.packet.SendPacket;
 import com.navercorp.pinpoint.thrift.io.DeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderBodyDecoder;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.SerializerFactory;
@@ -52,12 +55,30 @@ public class DefaultTCPPacketHandler implements TCPPacketHandler {
 
     private final SerializerFactory<HeaderTBaseSerializer> serializerFactory;
     private final DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory;
+    // nullable
+    private final HeaderBodyDecoder bodyDecoder;
+
+    private final StageTimer receiveTimer;
+    private final StageTimer decodeTimer;
 
 
     public DefaultTCPPacketHandler(DispatchHandler dispatchHandler, SerializerFactory<HeaderTBaseSerializer> serializerFactory, DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory) {
+        this(dispatchHandler, serializerFactory, deserializerFactory, null);
+    }
+
+    public DefaultTCPPacketHandler(DispatchHandler dispatchHandler, SerializerFactory<HeaderTBaseSerializer> serializerFactory, DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory, HeaderBodyDecoder bodyDecoder) {
+        this(dispatchHandler, serializerFactory, deserializerFactory, bodyDecoder, CollectorStageMetrics.DISABLED);
+    }
+
+    public DefaultTCPPacketHandler(DispatchHandler dispatchHandler, SerializerFactory<HeaderTBaseSerializer> serializerFactory, DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory,
+                                   HeaderBodyDecoder bodyDecoder, CollectorStageMetrics stageMetrics) {
         this.dispatchHandler = Objects.requireNonNull(dispatchHandler, "dispatchHandler");
         this.serializerFactory = Objects.requireNonNull(serializerFactory, "serializerFactory");
         this.deserializerFactory = Objects.requireNonNull(deserializerFactory, "deserializerFactory");
+        this.bodyDecoder = bodyDecoder;
+        Objects.requireNonNull(stageMetrics, "stageMetrics");
+        this.receiveTimer = stageMetrics.getStageTimer(CollectorStageMetrics.THRIFT, CollectorStageMetrics.Stage.RECEIVE);
+        this.decodeTimer = stageMetrics.getStageTimer(CollectorStageMetrics.THRIFT, CollectorStageMetrics.Stage.DECODE);
     }
 
     @Override
@@ -67,22 +88,55 @@ public class DefaultTCPPacketHandler implements TCPPacketHandler {
 
         final byte[] payload = getPayload(packet);
         final InetSocketAddress remoteAddress = (InetSocketAddress) pinpointSocket.getRemoteAddress();
+        final long startTime = receiveTimer.start();
         try {
-            Message<TBase<?, ?>> message = SerializationUtils.deserialize(payload, deserializerFactory);
-            ServerRequest<TBase<?, ?>> serverRequest = newServerRequest(message, remoteAddress);
+            final Message<?> message = decodeSend(payload);
+            ServerRequest<?> serverRequest = newServerRequest(message, remoteAddress);
             dispatchHandler.dispatchSendMessage(serverRequest);
         } catch (TException e) {
+            receiveTimer.error();
             handleTException(payload, remoteAddress, e);
         } catch (Exception e) {
+            receiveTimer.error();
             // there are cases where invalid headers are received
             handleException(payload, remoteAddress, e);
+        } finally {
+            receiveTimer.stop(startTime);
+        }
+    }
+
+    private Message<?> decodeSend(byte[] payload) throws TException {
+        if (bodyDecoder == null) {
+            return decode(payload);
+        }
+        final long startTime = decodeTimer.start();
+        try {
+            final HeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
+            return deserializer.deserialize(payload, 0, payload.length, bodyDecoder);
+        } catch (TException e) {
+            decodeTimer.error();
+            throw e;
+        } finally {
+            decodeTimer.stop(startTime);
+        }
+    }
+
+    private Message<TBase<?, ?>> decode(byte[] payload) throws TException {
+        final long startTime = decodeTimer.start();
+        try {
+            return SerializationUtils.deserialize(payload, deserializerFactory);
+        } catch (TException e) {
+            decodeTimer.error();
+            throw e;
+        } finally {
+            decodeTimer.stop(startTime);
         }
     }
 
-    private ServerRequest<TBase<?, ?>> newServerRequest(Message<TBase<?, ?>> message, InetSocketAddress remoteSocketAddress) {
+    private <T> ServerRequest<T> newServerRequest(Message<T> message, InetSocketAddress remoteSocketAddress) {
         final String remoteAddress = remoteSocketAddress.getAddress().getHostAddress();
         final int remotePort = remoteSocketAddress.getPort();
-        return new DefaultServerRequest<TBase<?, ?>>(message, remoteAddress, remotePort);
+        return new DefaultServerRequest<T>(message, remoteAddress, remotePort);
     }
 
     public byte[] getPayload(BasicPacket packet) {
@@ -99,15 +153,20 @@ public class DefaultTCPPacketHandler implements TCPPacketHandler {
         final byte[] payload = getPayload(packet);
         final InetSocketAddress remoteAddress = (InetSocketAddress) pinpointSocket.getRemoteAddress();
 
+        final long startTime = receiveTimer.start();
         try {
-            Message<TBase<?, ?>> message = SerializationUtils.deserialize(payload, deserializerFactory);
+            Message<TBase<?, ?>> message = decode(payload);
             ServerRequest<TBase<?, ?>> request = newServerRequest(message, remoteAddress);
             ServerResponse<TBase<?, ?>> response = new TCPServerResponse(serializerFactory, pinpointSocket, packet.getRequestId());
             dispatchHandler.dispatchRequestMessage(request, response);
         } catch (TException e) {
+            receiveTimer.error();
             handleTException(payload, remoteAddress, e);
         } catch (Exception e) {
+            receiveTimer.error();
             handleException(payload, remoteAddress, e);
+        } finally {
+            receiveTimer.stop(startTime);
         }
     }
 
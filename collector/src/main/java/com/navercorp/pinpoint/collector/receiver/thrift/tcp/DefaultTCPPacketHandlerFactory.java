@@ -16,8 +16,10 @@
 
 package com.navercorp.pinpoint.collector.receiver.thrift.tcp;
 
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.thrift.io.DeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderBodyDecoder;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
@@ -37,6 +39,8 @@ public class DefaultTCPPacketHandlerFactory implements TCPPacketHandlerFactory {
 
     private SerializerFactory<HeaderTBaseSerializer> serializerFactory;
     private DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory;
+    private HeaderBodyDecoder bodyDecoder;
+    private CollectorStageMetrics stageMetrics = CollectorStageMetrics.DISABLED;
 
 
     public DefaultTCPPacketHandlerFactory() {
@@ -51,6 +55,17 @@ public class DefaultTCPPacketHandlerFactory implements TCPPacketHandlerFactory {
         this.deserializerFactory = deserializerFactory;
     }
 
+    /**
+     * Decode the body of the send packet without the intermediate TBase if the type is supported by the bodyDecoder.
+     */
+    public void setBodyDecoder(HeaderBodyDecoder bodyDecoder) {
+        this.bodyDecoder = bodyDecoder;
+    }
+
+    public void setStageMetrics(CollectorStageMetrics stageMetrics) {
+        this.stageMetrics = Objects.requireNonNull(stageMetrics, "stageMetrics");
+    }
+
     private DeserializerFactory<HeaderTBaseDeserializer> defaultDeserializerFactory() {
         final DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory = new HeaderTBaseDeserializerFactory();
         return new ThreadLocalHeaderTBaseDeserializerFactory<>(deserializerFactory);
@@ -75,7 +90,7 @@ public class DefaultTCPPacketHandlerFactory implements TCPPacketHandlerFactory {
         if (deserializerFactory == null) {
             deserializerFactory = defaultDeserializerFactory();
         }
-        return new DefaultTCPPacketHandler(dispatchHandler, serializerFactory, deserializerFactory);
+        return new DefaultTCPPacketHandler(dispatchHandler, serializerFactory, deserializerFactory, bodyDecoder, stageMetrics);
     }
 
 
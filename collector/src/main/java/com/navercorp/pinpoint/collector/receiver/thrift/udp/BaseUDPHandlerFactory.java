@@ -16,12 +16,15 @@
 
 package com.navercorp.pinpoint.collector.receiver.thrift.udp;
 
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.collector.util.PacketUtils;
 import com.navercorp.pinpoint.common.server.util.AddressFilter;
 import com.navercorp.pinpoint.io.request.DefaultServerRequest;
 import com.navercorp.pinpoint.io.request.ServerRequest;
 import com.navercorp.pinpoint.thrift.io.DeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderBodyDecoder;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
 import com.navercorp.pinpoint.io.request.Message;
@@ -57,10 +60,32 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
     
     private final AddressFilter ignoreAddressFilter;
 
+    // nullable
+    private final HeaderBodyDecoder bodyDecoder;
+
+    private final StageTimer receiveTimer;
+    private final StageTimer decodeTimer;
+
     public BaseUDPHandlerFactory(DispatchHandler dispatchHandler, TBaseFilter<SocketAddress> filter, AddressFilter ignoreAddressFilter) {
+        this(dispatchHandler, filter, ignoreAddressFilter, null);
+    }
+
+    public BaseUDPHandlerFactory(DispatchHandler dispatchHandler, TBaseFilter<SocketAddress> filter, AddressFilter ignoreAddressFilter, HeaderBodyDecoder bodyDecoder) {
+        this(dispatchHandler, filter, ignoreAddressFilter, bodyDecoder, CollectorStageMetrics.DISABLED);
+    }
+
+    /**
+     * @param bodyDecoder decodes the body of the supported types without the intermediate TBase. the TBaseFilter is not applied to them.
+     */
+    public BaseUDPHandlerFactory(DispatchHandler dispatchHandler, TBaseFilter<SocketAddress> filter, AddressFilter ignoreAddressFilter,
+                                 HeaderBodyDecoder bodyDecoder, CollectorStageMetrics stageMetrics) {
         this.dispatchHandler = Objects.requireNonNull(dispatchHandler, "dispatchHandler");
         this.filter = Objects.requireNonNull(filter, "filter");
         this.ignoreAddressFilter = Objects.requireNonNull(ignoreAddressFilter, "ignoreAddressFilter");
+        this.bodyDecoder = bodyDecoder;
+        Objects.requireNonNull(stageMetrics, "stageMetrics");
+        this.receiveTimer = stageMetrics.getStageTimer(CollectorStageMetrics.THRIFT, CollectorStageMetrics.Stage.RECEIVE);
+        this.decodeTimer = stageMetrics.getStageTimer(CollectorStageMetrics.THRIFT, CollectorStageMetrics.Stage.DECODE);
     }
 
     @Override
@@ -84,18 +109,22 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
             
             final HeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
 
-            Message<TBase<?, ?>> message = null;
+            final long startTime = receiveTimer.start();
+            Message<?> message = null;
             try {
-                message = deserializer.deserialize(packet.getData());
-                TBase<?, ?> data = message.getData();
+                message = deserialize(deserializer, packet);
+                final Object data = message.getData();
 
-                if (filter.filter(localSocket, data, remoteSocketAddress) == TBaseFilter.BREAK) {
-                    return;
+                if (data instanceof TBase) {
+                    if (filter.filter(localSocket, (TBase<?, ?>) data, remoteSocketAddress) == TBaseFilter.BREAK) {
+                        return;
+                    }
                 }
-                ServerRequest<TBase<?, ?>> request = newServerRequest(message, remoteSocketAddress);
+                ServerRequest<?> request = newServerRequest(message, remoteSocketAddress);
                 // dispatch signifies business logic execution
                 dispatchHandler.dispatchSendMessage(request);
             } catch (TException e) {
+                receiveTimer.error();
                 if (logger.isWarnEnabled()) {
                     logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", remoteSocketAddress, e.getMessage(), e);
                 }
@@ -103,6 +132,7 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
                     logger.debug("packet dump hex:{}", PacketUtils.dumpDatagramPacket(packet));
                 }
             } catch (Exception e) {
+                receiveTimer.error();
                 // there are cases where invalid headers are received
                 if (logger.isWarnEnabled()) {
                     logger.warn("Unexpected error. SendSocketAddress:{} Cause:{} message:{}", remoteAddress, e.getMessage(), message, e);
@@ -110,9 +140,31 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
                 if (logger.isDebugEnabled()) {
                     logger.debug("packet dump hex:{}", PacketUtils.dumpDatagramPacket(packet));
                 }
+            } finally {
+                receiveTimer.stop(startTime);
             }
         }
         
+        private Message<?> deserialize(HeaderTBaseDeserializer deserializer, T packet) throws TException {
+            final long startTime = decodeTimer.start();
+            try {
+                return deserialize0(deserializer, packet);
+            } catch (TException e) {
+                decodeTimer.error();
+                throw e;
+            } finally {
+                decodeTimer.stop(startTime);
+            }
+        }
+
+        private Message<?> deserialize0(HeaderTBaseDeserializer deserializer, T packet) throws TException {
+            // read the packet buffer in place
+            if (bodyDecoder != null) {
+                return deserializer.deserialize(packet.getData(), packet.getOffset(), packet.getLength(), bodyDecoder);
+            }
+            return deserializer.deserialize(packet.getData(), packet.getOffset(), packet.getLength());
+        }
+
         private boolean isIgnoreAddress(InetAddress remoteAddress) {
             if (remoteAddress == null) {
                 return false;
@@ -127,7 +179,7 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
         }
     }
 
-    private ServerRequest<TBase<?, ?>> newServerRequest(Message<TBase<?, ?>> message, InetSocketAddress remoteSocketAddress) {
+    private <M> ServerRequest<M> newServerRequest(Message<M> message, InetSocketAddress remoteSocketAddress) {
         final String remoteAddress = remoteSocketAddress.getAddress().getHostAddress();
         final int remotePort = remoteSocketAddress.getPort();
 
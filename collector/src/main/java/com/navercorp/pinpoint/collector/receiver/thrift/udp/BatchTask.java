@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.thrift.udp;
+
+import com.navercorp.pinpoint.collector.monitor.PriorityRunnable;
+import com.navercorp.pinpoint.collector.monitor.WorkPriority;
+import com.navercorp.pinpoint.collector.util.PooledObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Handles the datagrams read by a single {@link BatchUDPReceiver} read loop in one worker task.
+ */
+public class BatchTask implements PriorityRunnable {
+    private static final Logger logger = LoggerFactory.getLogger(BatchTask.class);
+
+    private final DatagramSocket localSocket;
+    private final PacketHandlerFactory<DatagramPacket> packetHandlerFactory;
+    private final List<PooledObject<DatagramPacket>> pooledObjects;
+
+    public BatchTask(DatagramSocket localSocket, PacketHandlerFactory<DatagramPacket> packetHandlerFactory, List<PooledObject<DatagramPacket>> pooledObjects) {
+        this.localSocket = Objects.requireNonNull(localSocket, "localSocket");
+        this.packetHandlerFactory = Objects.requireNonNull(packetHandlerFactory, "packetHandlerFactory");
+        this.pooledObjects = Objects.requireNonNull(pooledObjects, "pooledObjects");
+    }
+
+    @Override
+    public void run() {
+        final PacketHandler<DatagramPacket> packetHandler = packetHandlerFactory.createPacketHandler();
+        for (PooledObject<DatagramPacket> pooledObject : pooledObjects) {
+            try {
+                packetHandler.receive(localSocket, pooledObject.getObject());
+            } catch (RuntimeException e) {
+                // do not lose the rest of the batch
+                logger.warn("packet handle fail. Caused:{}", e.getMessage(), e);
+            } finally {
+                pooledObject.returnObject();
+            }
+        }
+    }
+
+    @Override
+    public WorkPriority getPriority() {
+        // default priority of the worker queue
+        return null;
+    }
+
+    @Override
+    public void onShed() {
+        for (PooledObject<DatagramPacket> pooledObject : pooledObjects) {
+            pooledObject.returnObject();
+        }
+    }
+
+    public int size() {
+        return pooledObjects.size();
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.thrift.udp;
+
+import com.navercorp.pinpoint.collector.util.DatagramPacketFactory;
+import com.navercorp.pinpoint.collector.util.ObjectPool;
+import com.navercorp.pinpoint.collector.util.PooledObject;
+import com.navercorp.pinpoint.common.annotations.VisibleForTesting;
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.common.util.CpuUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UDP receiver built on non-blocking {@link DatagramChannel}.
+ * Each io thread owns one channel and a selector. On every wakeup the channel is drained into a direct buffer
+ * and the datagrams are handed to the worker as a single {@link BatchTask} of up to batchSize packets.
+ * With SO_REUSEPORT the kernel shards the datagrams across several channels bound to the same port.
+ */
+public class BatchUDPReceiver implements DatagramReceiver {
+
+    private static final long SELECT_TIMEOUT = 1000;
+
+    private final Logger logger;
+
+    private final String name;
+
+    private final InetSocketAddress bindAddress;
+
+    private final Executor worker;
+
+    private final ObjectPool<DatagramPacket> datagramPacketPool;
+
+    private final PacketHandlerFactory<DatagramPacket> packetHandlerFactory;
+
+    private final int receiveBufferSize;
+    private final ReusePortSocketOptionHolder socketOptionHolder;
+    private final int batchSize;
+
+    private DatagramChannel[] channels;
+    private ExecutorService ioExecutor;
+
+    private final AtomicBoolean state = new AtomicBoolean(true);
+
+    private final LongAdder receiveCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+
+    public BatchUDPReceiver(String name, PacketHandlerFactory<DatagramPacket> packetHandlerFactory, Executor worker,
+                            int receiveBufferSize, InetSocketAddress bindAddress, ReusePortSocketOptionHolder socketOptionHolder,
+                            ObjectPool<DatagramPacket> datagramPacketPool, int batchSize) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.logger = LoggerFactory.getLogger(name);
+
+        this.packetHandlerFactory = Objects.requireNonNull(packetHandlerFactory, "packetHandlerFactory");
+        this.worker = Objects.requireNonNull(worker, "worker");
+        Assert.isTrue(receiveBufferSize > 0, "receiveBufferSize must be greater than 0");
+        this.receiveBufferSize = receiveBufferSize;
+        this.bindAddress = Objects.requireNonNull(bindAddress, "bindAddress");
+        // nullable
+        this.socketOptionHolder = socketOptionHolder;
+        this.datagramPacketPool = Objects.requireNonNull(datagramPacketPool, "datagramPacketPool");
+        Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void start() {
+        if (logger.isInfoEnabled()) {
+            logger.info("{} start() started", name);
+        }
+        this.channels = openChannels();
+        logger.info("Created UDP channels. channels:{}, batchSize:{}", Arrays.asList(channels), batchSize);
+
+        this.ioExecutor = Executors.newCachedThreadPool(new PinpointThreadFactory(name + "-Io", true));
+        for (final DatagramChannel channel : channels) {
+            ioExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    receive(channel);
+                }
+            });
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("{} start() completed", name);
+        }
+    }
+
+    private DatagramChannel[] openChannels() {
+        if (socketOptionHolder == null || !socketOptionHolder.isEnable()) {
+            return new DatagramChannel[]{openChannel(false)};
+        }
+        int socketCount = socketOptionHolder.getSocketCount();
+        if (socketCount == -1) {
+            socketCount = CpuUtils.cpuCount();
+        }
+        final DatagramChannel[] channels = new DatagramChannel[socketCount];
+        for (int i = 0; i < socketCount; i++) {
+            channels[i] = openChannel(true);
+        }
+        return channels;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DatagramChannel openChannel(boolean reusePort) {
+        DatagramChannel channel = null;
+        try {
+            channel = DatagramChannel.open();
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferSize);
+            if (logger.isWarnEnabled()) {
+                final int checkReceiveBufferSize = channel.getOption(StandardSocketOptions.SO_RCVBUF);
+                if (receiveBufferSize != checkReceiveBufferSize) {
+                    logger.warn("DatagramChannel.setOption(SO_RCVBUF) error. {}!={}", receiveBufferSize, checkReceiveBufferSize);
+                }
+            }
+            if (reusePort) {
+                channel.setOption(socketOptionHolder.getSocketOption(), Boolean.TRUE);
+            }
+            channel.configureBlocking(false);
+            logger.info("DatagramChannel.bind() {}/{}", bindAddress.getHostString(), bindAddress.getPort());
+            channel.bind(bindAddress);
+            return channel;
+        } catch (IOException ex) {
+            closeQuietly(channel);
+            throw new IllegalStateException("DatagramChannel bind Fail. port:" + bindAddress.getPort() + " Caused:" + ex.getMessage(), ex);
+        }
+    }
+
+    private void receive(DatagramChannel channel) {
+        final DatagramSocket localSocket = new ChannelDatagramSocket(channel);
+        if (logger.isInfoEnabled()) {
+            logger.info("start ioThread localAddress:{}, IoThread:{}", localSocket.getLocalSocketAddress(), Thread.currentThread().getName());
+        }
+
+        // one direct buffer per io thread. the kernel copies the datagram into it without a temporary buffer
+        final ByteBuffer readBuffer = ByteBuffer.allocateDirect(DatagramPacketFactory.UDP_MAX_PACKET_LENGTH);
+        try (Selector selector = Selector.open()) {
+            channel.register(selector, SelectionKey.OP_READ);
+            while (state.get()) {
+                final int selected = selector.select(SELECT_TIMEOUT);
+                if (selected == 0) {
+                    continue;
+                }
+                selector.selectedKeys().clear();
+                drain(channel, localSocket, readBuffer);
+            }
+        } catch (IOException e) {
+            if (state.get()) {
+                logger.error("IoError, Caused by:{}", e.getMessage(), e);
+            }
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("stop ioThread localAddress:{}, IoThread:{}", localSocket.getLocalSocketAddress(), Thread.currentThread().getName());
+        }
+    }
+
+    @VisibleForTesting
+    void drain(DatagramChannel channel, DatagramSocket localSocket, ByteBuffer readBuffer) throws IOException {
+        List<PooledObject<DatagramPacket>> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                readBuffer.clear();
+                final SocketAddress remoteAddress = channel.receive(readBuffer);
+                if (remoteAddress == null) {
+                    // drained
+                    break;
+                }
+                readBuffer.flip();
+                final PooledObject<DatagramPacket> pooledPacket = read0(readBuffer, remoteAddress);
+                if (pooledPacket == null) {
+                    continue;
+                }
+                batch.add(pooledPacket);
+                if (batch.size() >= batchSize) {
+                    dispatch(localSocket, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        } finally {
+            if (!batch.isEmpty()) {
+                dispatch(localSocket, batch);
+            }
+        }
+    }
+
+    private PooledObject<DatagramPacket> read0(ByteBuffer readBuffer, SocketAddress remoteAddress) {
+        final int length = readBuffer.remaining();
+        // L4 health check packet
+        if (length == 0) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("length is 0 remoteAddress:{}", remoteAddress);
+            }
+            return null;
+        }
+
+        final PooledObject<DatagramPacket> pooledObject = datagramPacketPool.getObject();
+        final DatagramPacket packet = pooledObject.getObject();
+        final byte[] data = packet.getData();
+        final int copyLength = Math.min(length, data.length);
+        readBuffer.get(data, 0, copyLength);
+        packet.setData(data, 0, copyLength);
+        packet.setSocketAddress(remoteAddress);
+        receiveCount.increment();
+        if (logger.isDebugEnabled()) {
+            logger.debug("DatagramPacket SocketAddress:{} read size:{}", remoteAddress, copyLength);
+        }
+        return pooledObject;
+    }
+
+    private void dispatch(DatagramSocket localSocket, List<PooledObject<DatagramPacket>> batch) {
+        batchCount.increment();
+        try {
+            worker.execute(new BatchTask(localSocket, packetHandlerFactory, batch));
+        } catch (RejectedExecutionException e) {
+            logger.warn("{} batch rejected. size:{}", name, batch.size());
+            for (PooledObject<DatagramPacket> pooledObject : batch) {
+                pooledObject.returnObject();
+            }
+        }
+    }
+
+    public long getReceiveCount() {
+        return receiveCount.sum();
+    }
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    @Override
+    public void shutdown() {
+        if (logger.isInfoEnabled()) {
+            logger.info("{} shutdown() started receiveCount:{}, batchCount:{}", this.name, getReceiveCount(), getBatchCount());
+        }
+
+        state.set(false);
+        final DatagramChannel[] channels = this.channels;
+        if (channels != null) {
+            for (DatagramChannel channel : channels) {
+                closeQuietly(channel);
+            }
+        }
+        final ExecutorService ioExecutor = this.ioExecutor;
+        if (ioExecutor != null) {
+            ioExecutor.shutdown();
+            try {
+                ioExecutor.awaitTermination(1000 * 10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                logger.info("{}.shutdown() Interrupted", name, e);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("{} shutdown() completed", this.name);
+        }
+    }
+
+    private void closeQuietly(DatagramChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignore) {
+            // skip
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.thrift.udp;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.DatagramSocketImpl;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Objects;
+
+/**
+ * {@link DatagramSocket} view of a non-blocking {@link DatagramChannel} for {@link PacketHandler}.
+ * The socket adaptor of a non-blocking channel can not send, but {@link NetworkAvailabilityCheckPacketFilter}
+ * must answer from the receiving port. Only send and the local address are supported.
+ */
+class ChannelDatagramSocket extends DatagramSocket {
+
+    private final DatagramChannel channel;
+
+    ChannelDatagramSocket(DatagramChannel channel) {
+        super(new UnsupportedDatagramSocketImpl());
+        this.channel = Objects.requireNonNull(channel, "channel");
+    }
+
+    @Override
+    public void send(DatagramPacket packet) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength());
+        // non-blocking. the datagram is dropped if the socket send buffer is full
+        channel.send(buffer, packet.getSocketAddress());
+    }
+
+    @Override
+    public synchronized void receive(DatagramPacket packet) throws IOException {
+        throw new IOException("receive not supported");
+    }
+
+    @Override
+    public SocketAddress getLocalSocketAddress() {
+        try {
+            return channel.getLocalAddress();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public InetAddress getLocalAddress() {
+        final SocketAddress localAddress = getLocalSocketAddress();
+        if (localAddress instanceof InetSocketAddress) {
+            return ((InetSocketAddress) localAddress).getAddress();
+        }
+        return null;
+    }
+
+    @Override
+    public int getLocalPort() {
+        final SocketAddress localAddress = getLocalSocketAddress();
+        if (localAddress instanceof InetSocketAddress) {
+            return ((InetSocketAddress) localAddress).getPort();
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean isBound() {
+        return getLocalSocketAddress() != null;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public void close() {
+        // the channel is closed by BatchUDPReceiver
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelDatagramSocket{" +
+                "localAddress=" + getLocalSocketAddress() +
+                '}';
+    }
+
+    private static class UnsupportedDatagramSocketImpl extends DatagramSocketImpl {
+
+        private static SocketException unsupported() {
+            return new SocketException("unsupported");
+        }
+
+        @Override
+        protected void create() throws SocketException {
+            throw unsupported();
+        }
+
+        @Override
+        protected void bind(int lport, InetAddress laddr) throws SocketException {
+            throw unsupported();
+        }
+
+        @Override
+        protected void send(DatagramPacket p) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected int peek(InetAddress i) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected int peekData(DatagramPacket p) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected void receive(DatagramPacket p) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        @Deprecated
+        protected void setTTL(byte ttl) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        @Deprecated
+        protected byte getTTL() throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected void setTimeToLive(int ttl) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected int getTimeToLive() throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected void join(InetAddress inetaddr) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected void leave(InetAddress inetaddr) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected void joinGroup(SocketAddress mcastaddr, NetworkInterface netIf) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected void leaveGroup(SocketAddress mcastaddr, NetworkInterface netIf) throws IOException {
+            throw unsupported();
+        }
+
+        @Override
+        protected void close() {
+        }
+
+        @Override
+        public void setOption(int optID, Object value) throws SocketException {
+            throw unsupported();
+        }
+
+        @Override
+        public Object getOption(int optID) throws SocketException {
+            throw unsupported();
+        }
+    }
+}
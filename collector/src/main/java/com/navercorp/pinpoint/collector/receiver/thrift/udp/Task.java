@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.collector.receiver.thrift.udp;
 
+import com.navercorp.pinpoint.collector.monitor.PriorityRunnable;
+import com.navercorp.pinpoint.collector.monitor.WorkPriority;
 import com.navercorp.pinpoint.collector.util.PooledObject;
 
 import java.net.DatagramPacket;
@@ -25,7 +27,7 @@ import java.util.Objects;
 /**
  * @author emeroad
  */
-public class Task implements Runnable {
+public class Task implements PriorityRunnable {
     private final DatagramSocket localSocket;
     private final PacketHandlerFactory<DatagramPacket> packetHandlerFactory;
     private final PooledObject<DatagramPacket> pooledObject;
@@ -46,4 +48,15 @@ public class Task implements Runnable {
             pooledObject.returnObject();
         }
     }
+
+    @Override
+    public WorkPriority getPriority() {
+        // default priority of the worker queue
+        return null;
+    }
+
+    @Override
+    public void onShed() {
+        pooledObject.returnObject();
+    }
 }
@@ -51,7 +51,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @author netspider
  * @author jaehong.kim
  */
-public class UDPReceiver {
+public class UDPReceiver implements DatagramReceiver {
 
     private final Logger logger;
 
@@ -266,6 +266,7 @@ public class UDPReceiver {
         return Executors.newCachedThreadPool(threadFactory);
     }
 
+    @Override
     public void start() {
         if (logger.isInfoEnabled()) {
             logger.info("{} start() started", name);
@@ -296,6 +297,7 @@ public class UDPReceiver {
         }
     }
 
+    @Override
     public void shutdown() {
         if (logger.isInfoEnabled()) {
             logger.info("{} shutdown() started", this.name);
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
+import com.navercorp.pinpoint.collector.dao.AgentStatRollupDao;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DeadlockThreadCountBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
+import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
+import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.util.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Rolls up the agent stat gauges into 1 minute, 10 minutes and 1 hour slots.
+ * Values skipped by the samplers of the web (uncollected values) are skipped here too, so the rollups match the raw charts.
+ */
+@Service("agentStatRollupService")
+public class AgentStatRollupService implements AgentStatService {
+
+    private final AgentStatRollupDao agentStatRollupDao;
+    private final boolean enable;
+
+    @Autowired
+    public AgentStatRollupService(AgentStatRollupDao agentStatRollupDao, CollectorConfiguration collectorConfiguration) {
+        this(agentStatRollupDao, collectorConfiguration.isAgentStatRollupEnable());
+    }
+
+    AgentStatRollupService(AgentStatRollupDao agentStatRollupDao, boolean enable) {
+        this.agentStatRollupDao = Objects.requireNonNull(agentStatRollupDao, "agentStatRollupDao");
+        this.enable = enable;
+    }
+
+    @Override
+    public void save(AgentStatBo agentStatBo) {
+        if (!enable) {
+            return;
+        }
+        final String agentId = agentStatBo.getAgentId();
+        if (agentId == null) {
+            return;
+        }
+        updateCpuLoad(agentId, agentStatBo.getCpuLoadBos());
+        updateResponseTime(agentId, agentStatBo.getResponseTimeBos());
+        updateDeadlock(agentId, agentStatBo.getDeadlockThreadCountBos());
+        updateFileDescriptor(agentId, agentStatBo.getFileDescriptorBos());
+        updateDirectBuffer(agentId, agentStatBo.getDirectBufferBos());
+    }
+
+    private void updateCpuLoad(String agentId, List<CpuLoadBo> cpuLoadBos) {
+        if (CollectionUtils.isEmpty(cpuLoadBos)) {
+            return;
+        }
+        for (CpuLoadBo cpuLoadBo : cpuLoadBos) {
+            final long timestamp = cpuLoadBo.getTimestamp();
+            update(agentId, AgentStatRollupType.CPU_LOAD, 0, timestamp, cpuLoadBo.getJvmCpuLoad(), CpuLoadBo.UNCOLLECTED_VALUE);
+            update(agentId, AgentStatRollupType.CPU_LOAD, 1, timestamp, cpuLoadBo.getSystemCpuLoad(), CpuLoadBo.UNCOLLECTED_VALUE);
+        }
+    }
+
+    private void updateResponseTime(String agentId, List<ResponseTimeBo> responseTimeBos) {
+        if (CollectionUtils.isEmpty(responseTimeBos)) {
+            return;
+        }
+        for (ResponseTimeBo responseTimeBo : responseTimeBos) {
+            final long timestamp = responseTimeBo.getTimestamp();
+            agentStatRollupDao.update(agentId, AgentStatRollupType.RESPONSE_TIME, 0, timestamp, responseTimeBo.getAvg());
+            agentStatRollupDao.update(agentId, AgentStatRollupType.RESPONSE_TIME, 1, timestamp, responseTimeBo.getMax());
+        }
+    }
+
+    private void updateDeadlock(String agentId, List<DeadlockThreadCountBo> deadlockThreadCountBos) {
+        if (CollectionUtils.isEmpty(deadlockThreadCountBos)) {
+            return;
+        }
+        for (DeadlockThreadCountBo deadlockThreadCountBo : deadlockThreadCountBos) {
+            agentStatRollupDao.update(agentId, AgentStatRollupType.DEADLOCK, 0, deadlockThreadCountBo.getTimestamp(), deadlockThreadCountBo.getDeadlockedThreadCount());
+        }
+    }
+
+    private void updateFileDescriptor(String agentId, List<FileDescriptorBo> fileDescriptorBos) {
+        if (CollectionUtils.isEmpty(fileDescriptorBos)) {
+            return;
+        }
+        for (FileDescriptorBo fileDescriptorBo : fileDescriptorBos) {
+            update(agentId, AgentStatRollupType.FILE_DESCRIPTOR, 0, fileDescriptorBo.getTimestamp(), fileDescriptorBo.getOpenFileDescriptorCount(), FileDescriptorBo.UNCOLLECTED_VALUE);
+        }
+    }
+
+    private void updateDirectBuffer(String agentId, List<DirectBufferBo> directBufferBos) {
+        if (CollectionUtils.isEmpty(directBufferBos)) {
+            return;
+        }
+        for (DirectBufferBo directBufferBo : directBufferBos) {
+            final long timestamp = directBufferBo.getTimestamp();
+            update(agentId, AgentStatRollupType.DIRECT_BUFFER, 0, timestamp, directBufferBo.getDirectCount(), DirectBufferBo.UNCOLLECTED_VALUE);
+            update(agentId, AgentStatRollupType.DIRECT_BUFFER, 1, timestamp, directBufferBo.getDirectMemoryUsed(), DirectBufferBo.UNCOLLECTED_VALUE);
+            update(agentId, AgentStatRollupType.DIRECT_BUFFER, 2, timestamp, directBufferBo.getMappedCount(), DirectBufferBo.UNCOLLECTED_VALUE);
+            update(agentId, AgentStatRollupType.DIRECT_BUFFER, 3, timestamp, directBufferBo.getMappedMemoryUsed(), DirectBufferBo.UNCOLLECTED_VALUE);
+        }
+    }
+
+    private void update(String agentId, AgentStatRollupType rollupType, int fieldIndex, long timestamp, double value, double uncollectedValue) {
+        if (value == uncollectedValue) {
+            return;
+        }
+        agentStatRollupDao.update(agentId, rollupType, fieldIndex, timestamp, value);
+    }
+
+    public void flushAll() {
+        if (!enable) {
+            return;
+        }
+        agentStatRollupDao.flushAll();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (!enable) {
+            return;
+        }
+        agentStatRollupDao.closeAll();
+    }
+}
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.collector.service;
 import com.navercorp.pinpoint.collector.dao.AgentStatDaoV2;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DeadlockThreadCountBo;
@@ -25,6 +26,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
 import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import org.slf4j.Logger;
@@ -62,6 +64,10 @@ public class HBaseAgentStatService implements AgentStatService {
 
     private final AgentStatDaoV2<DirectBufferBo> directBufferDao;
 
+    private final AgentStatDaoV2<MetadataCacheListBo> metadataCacheListDao;
+
+    private final AgentStatDaoV2<BatchSizeListBo> batchSizeListDao;
+
     public HBaseAgentStatService(AgentStatDaoV2<JvmGcBo> jvmGcDao,
                                  AgentStatDaoV2<JvmGcDetailedBo> jvmGcDetailedDao,
                                  AgentStatDaoV2<CpuLoadBo> cpuLoadDao,
@@ -71,7 +77,9 @@ public class HBaseAgentStatService implements AgentStatService {
                                  AgentStatDaoV2<ResponseTimeBo> responseTimeDao,
                                  AgentStatDaoV2<DeadlockThreadCountBo> deadlockDao,
                                  AgentStatDaoV2<FileDescriptorBo> fileDescriptorDao,
-                                 AgentStatDaoV2<DirectBufferBo> directBufferDao) {
+                                 AgentStatDaoV2<DirectBufferBo> directBufferDao,
+                                 AgentStatDaoV2<MetadataCacheListBo> metadataCacheListDao,
+                                 AgentStatDaoV2<BatchSizeListBo> batchSizeListDao) {
         this.jvmGcDao = Objects.requireNonNull(jvmGcDao, "jvmGcDao");
         this.jvmGcDetailedDao = Objects.requireNonNull(jvmGcDetailedDao, "jvmGcDetailedDao");
         this.cpuLoadDao = Objects.requireNonNull(cpuLoadDao, "cpuLoadDao");
@@ -82,6 +90,8 @@ public class HBaseAgentStatService implements AgentStatService {
         this.deadlockDao = Objects.requireNonNull(deadlockDao, "deadlockDao");
         this.fileDescriptorDao = Objects.requireNonNull(fileDescriptorDao, "fileDescriptorDao");
         this.directBufferDao = Objects.requireNonNull(directBufferDao, "directBufferDao");
+        this.metadataCacheListDao = Objects.requireNonNull(metadataCacheListDao, "metadataCacheListDao");
+        this.batchSizeListDao = Objects.requireNonNull(batchSizeListDao, "batchSizeListDao");
     }
 
     @Override
@@ -98,6 +108,8 @@ public class HBaseAgentStatService implements AgentStatService {
             this.deadlockDao.insert(agentId, agentStatBo.getDeadlockThreadCountBos());
             this.fileDescriptorDao.insert(agentId, agentStatBo.getFileDescriptorBos());
             this.directBufferDao.insert(agentId, agentStatBo.getDirectBufferBos());
+            this.metadataCacheListDao.insert(agentId, agentStatBo.getMetadataCacheListBos());
+            this.batchSizeListDao.insert(agentId, agentStatBo.getBatchSizeListBos());
         } catch (Exception e) {
             logger.warn("Error inserting AgentStatBo. Caused:{}", e.getMessage(), e);
         }
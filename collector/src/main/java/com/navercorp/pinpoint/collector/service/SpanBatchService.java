@@ -0,0 +1,353 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
+import com.navercorp.pinpoint.collector.monitor.CollectorStageMetrics;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.collector.util.InFlightBytesLimiter;
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Groups the spans and span chunks of the receivers into micro-batches and writes them with {@link TraceService}.
+ * The queued spans are bounded by the estimated bytes. A receiver thread blocks while the limit is exceeded,
+ * and writes the span by itself after offerTimeout. (caller runs)
+ * If the batch is disabled, spans are written by the receiver thread one at a time.
+ */
+@Service
+public class SpanBatchService {
+
+    // rough heap size of the bo objects
+    static final long SPAN_BYTES = 512;
+    static final long SPAN_EVENT_BYTES = 256;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final TraceService traceService;
+    private final StageTimer writeTimer;
+
+    private final boolean enable;
+    private final int threadSize;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final InFlightBytesLimiter inFlightBytesLimiter;
+    private final List<Thread> writerList = new ArrayList<>();
+
+    // offer() enqueues under the read lock, stop() flips running under the write lock.
+    // no span is enqueued after stop() has cleared running, so the final drain sees every queued span
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private volatile boolean running = false;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong batchedSpanCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    private final AtomicLong failedSpanCount = new AtomicLong();
+
+    @Autowired
+    public SpanBatchService(TraceService traceService, CollectorConfiguration collectorConfiguration, CollectorStageMetrics stageMetrics) {
+        this(traceService, collectorConfiguration.isSpanBatchEnable(), collectorConfiguration.getSpanBatchThreadSize(),
+                collectorConfiguration.getSpanBatchSize(), collectorConfiguration.getSpanBatchFlushInterval(),
+                collectorConfiguration.getSpanBatchMaxInFlightBytes(), collectorConfiguration.getSpanBatchOfferTimeout(),
+                stageMetrics.getStageTimer(CollectorStageMetrics.Stage.DAO_WRITE));
+    }
+
+    public SpanBatchService(TraceService traceService, boolean enable, int threadSize, int batchSize,
+                            long flushIntervalMillis, long maxInFlightBytes, long offerTimeoutMillis) {
+        this(traceService, enable, threadSize, batchSize, flushIntervalMillis, maxInFlightBytes, offerTimeoutMillis, StageTimer.DISABLED);
+    }
+
+    /**
+     * @param writeTimer measures each write of {@link TraceService}. a span or a batch
+     */
+    public SpanBatchService(TraceService traceService, boolean enable, int threadSize, int batchSize,
+                            long flushIntervalMillis, long maxInFlightBytes, long offerTimeoutMillis, StageTimer writeTimer) {
+        this.traceService = Objects.requireNonNull(traceService, "traceService");
+        this.writeTimer = Objects.requireNonNull(writeTimer, "writeTimer");
+        this.enable = enable;
+        this.threadSize = Math.max(1, threadSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushIntervalMillis));
+        this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+        this.inFlightBytesLimiter = new InFlightBytesLimiter(Math.max(1, maxInFlightBytes));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enable) {
+            logger.info("SpanBatchService disabled");
+            return;
+        }
+        final ThreadFactory threadFactory = new PinpointThreadFactory("Pinpoint-SpanBatchWriter", true);
+        for (int i = 0; i < threadSize; i++) {
+            final Thread writer = threadFactory.newThread(new Writer());
+            writerList.add(writer);
+        }
+        this.running = true;
+        for (Thread writer : writerList) {
+            writer.start();
+        }
+        logger.info("SpanBatchService started. threadSize:{} batchSize:{} {}", threadSize, batchSize, inFlightBytesLimiter);
+    }
+
+    @PreDestroy
+    public void stop() {
+        final Lock writeLock = runningLock.writeLock();
+        writeLock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            this.running = false;
+        } finally {
+            writeLock.unlock();
+        }
+        for (Thread writer : writerList) {
+            try {
+                writer.join(3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // spans offered while stopping
+        final List<Entry> remain = new ArrayList<>();
+        queue.drainTo(remain);
+        write(remain);
+        logger.info("SpanBatchService stopped. batchCount:{} batchedSpanCount:{} callerRunsCount:{} failedSpanCount:{}",
+                batchCount.get(), batchedSpanCount.get(), callerRunsCount.get(), failedSpanCount.get());
+    }
+
+    public void insertSpan(SpanBo spanBo) {
+        Objects.requireNonNull(spanBo, "spanBo");
+        if (!offer(spanBo, estimateBytes(spanBo.getSpanEventBoList()))) {
+            final long startTime = writeTimer.start();
+            try {
+                traceService.insertSpan(spanBo);
+            } catch (RuntimeException e) {
+                writeTimer.error();
+                throw e;
+            } finally {
+                writeTimer.stop(startTime);
+            }
+        }
+    }
+
+    public void insertSpanChunk(SpanChunkBo spanChunkBo) {
+        Objects.requireNonNull(spanChunkBo, "spanChunkBo");
+        if (!offer(spanChunkBo, estimateBytes(spanChunkBo.getSpanEventBoList()))) {
+            final long startTime = writeTimer.start();
+            try {
+                traceService.insertSpanChunk(spanChunkBo);
+            } catch (RuntimeException e) {
+                writeTimer.error();
+                throw e;
+            } finally {
+                writeTimer.stop(startTime);
+            }
+        }
+    }
+
+    static long estimateBytes(List<SpanEventBo> spanEventBoList) {
+        if (spanEventBoList == null) {
+            return SPAN_BYTES;
+        }
+        return SPAN_BYTES + SPAN_EVENT_BYTES * spanEventBoList.size();
+    }
+
+    private boolean offer(Object message, long bytes) {
+        if (!running) {
+            return false;
+        }
+        try {
+            if (!inFlightBytesLimiter.tryAcquire(bytes, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                final long count = callerRunsCount.incrementAndGet();
+                if (logger.isInfoEnabled() && (count % 1000) == 1) {
+                    logger.info("span batch queue is full. callerRunsCount:{} {}", count, inFlightBytesLimiter);
+                }
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        final Lock readLock = runningLock.readLock();
+        readLock.lock();
+        try {
+            if (running) {
+                queue.add(new Entry(message, bytes));
+                return true;
+            }
+        } finally {
+            readLock.unlock();
+        }
+        // stopped while waiting for the limiter
+        inFlightBytesLimiter.release(bytes);
+        return false;
+    }
+
+    private void write(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final List<SpanBo> spanList = new ArrayList<>(batch.size());
+        final List<SpanChunkBo> spanChunkList = new ArrayList<>();
+        long bytes = 0;
+        for (Entry entry : batch) {
+            bytes += entry.bytes;
+            if (entry.message instanceof SpanBo) {
+                spanList.add((SpanBo) entry.message);
+            } else if (entry.message instanceof SpanChunkBo) {
+                spanChunkList.add((SpanChunkBo) entry.message);
+            }
+        }
+        final long startTime = writeTimer.start();
+        try {
+            if (!spanList.isEmpty()) {
+                traceService.insertSpanList(spanList);
+            }
+            if (!spanChunkList.isEmpty()) {
+                traceService.insertSpanChunkList(spanChunkList);
+            }
+            batchCount.incrementAndGet();
+            batchedSpanCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            // counted per span like a failed insertSpan()
+            writeTimer.error(batch.size());
+            failedSpanCount.addAndGet(batch.size());
+            logger.warn("Failed to write span batch. spanSize:{} spanChunkSize:{}", spanList.size(), spanChunkList.size(), e);
+        } finally {
+            writeTimer.stop(startTime);
+            inFlightBytesLimiter.release(bytes);
+        }
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getBatchedSpanCount() {
+        return batchedSpanCount.get();
+    }
+
+    public long getCallerRunsCount() {
+        return callerRunsCount.get();
+    }
+
+    public long getFailedSpanCount() {
+        return failedSpanCount.get();
+    }
+
+    public long getInFlightBytes() {
+        return inFlightBytesLimiter.getInFlightBytes();
+    }
+
+    private class Writer implements Runnable {
+        private final List<Entry> batch = new ArrayList<>(batchSize);
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    fill();
+                    flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                flush();
+            }
+        }
+
+        private void flush() {
+            try {
+                write(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        private void fill() throws InterruptedException {
+            final Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - batch.size());
+
+            // linger for a full batch
+            final long deadline = System.nanoTime() + flushIntervalNanos;
+            while (batch.size() < batchSize) {
+                final long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return;
+                }
+                final Entry entry = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                if (entry == null) {
+                    return;
+                }
+                batch.add(entry);
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+        }
+    }
+
+    private static class Entry {
+        private final Object message;
+        private final long bytes;
+
+        private Entry(Object message, long bytes) {
+            this.message = message;
+            this.bytes = bytes;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpanBatchService{" +
+                "enable=" + enable +
+                ", threadSize=" + threadSize +
+                ", batchSize=" + batchSize +
+                ", inFlightBytesLimiter=" + inFlightBytesLimiter +
+                ", queueSize=" + queue.size() +
+                '}';
+    }
+}
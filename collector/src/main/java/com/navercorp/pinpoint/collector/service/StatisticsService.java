@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.collector.service;
 import com.navercorp.pinpoint.collector.dao.MapResponseTimeDao;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCallerDao;
+import com.navercorp.pinpoint.collector.dao.ScatterHeatmapDao;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,10 +41,14 @@ public class StatisticsService {
 
     private final MapResponseTimeDao mapResponseTimeDao;
 
-    public StatisticsService(MapStatisticsCalleeDao mapStatisticsCalleeDao, MapStatisticsCallerDao mapStatisticsCallerDao, MapResponseTimeDao mapResponseTimeDao) {
+    private final ScatterHeatmapDao scatterHeatmapDao;
+
+    public StatisticsService(MapStatisticsCalleeDao mapStatisticsCalleeDao, MapStatisticsCallerDao mapStatisticsCallerDao, MapResponseTimeDao mapResponseTimeDao,
+                             ScatterHeatmapDao scatterHeatmapDao) {
         this.mapStatisticsCalleeDao = Objects.requireNonNull(mapStatisticsCalleeDao, "mapStatisticsCalleeDao");
         this.mapStatisticsCallerDao = Objects.requireNonNull(mapStatisticsCallerDao, "mapStatisticsCallerDao");
         this.mapResponseTimeDao = Objects.requireNonNull(mapResponseTimeDao, "mapResponseTimeDao");
+        this.scatterHeatmapDao = Objects.requireNonNull(scatterHeatmapDao, "scatterHeatmapDao");
     }
 
     /**
@@ -85,4 +90,11 @@ public class StatisticsService {
     public void updateResponseTime(String applicationName, ServiceType serviceType, String agentId, int elapsed, boolean isError) {
         mapResponseTimeDao.received(applicationName, serviceType, agentId, elapsed, isError);
     }
+
+    /**
+     * Count the span in the scatter heatmap cell of its accepted time. (same position as the scatter chart dot)
+     */
+    public void updateScatterHeatmap(String applicationName, long acceptedTime, int elapsed, boolean isError) {
+        scatterHeatmapDao.received(applicationName, acceptedTime, elapsed, isError);
+    }
 }
@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.collector.dao.TraceDao;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
 import org.apache.commons.collections.CollectionUtils;
@@ -47,21 +48,40 @@ public class TraceService {
 
     private final ServiceTypeRegistryService registry;
 
+    private final AcceptedTimeService acceptedTimeService;
+
     public TraceService(TraceDao traceDao, ApplicationTraceIndexDao applicationTraceIndexDao, HostApplicationMapDao hostApplicationMapDao,
-                        StatisticsService statisticsService, ServiceTypeRegistryService registry) {
+                        StatisticsService statisticsService, ServiceTypeRegistryService registry, AcceptedTimeService acceptedTimeService) {
         this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
         this.applicationTraceIndexDao = Objects.requireNonNull(applicationTraceIndexDao, "applicationTraceIndexDao");
         this.hostApplicationMapDao = Objects.requireNonNull(hostApplicationMapDao, "hostApplicationMapDao");
         this.statisticsService = Objects.requireNonNull(statisticsService, "statisticsService");
         this.registry = Objects.requireNonNull(registry, "registry");
+        this.acceptedTimeService = Objects.requireNonNull(acceptedTimeService, "acceptedTimeService");
     }
 
     public void insertSpanChunk(final SpanChunkBo spanChunkBo) {
         traceDao.insertSpanChunk(spanChunkBo);
+        insertSpanChunkStat(spanChunkBo);
+    }
+
+    /**
+     * Multi-put of the trace rows of the span chunk list.
+     * The statistics are accumulated in memory and flushed periodically by the statistics dao.
+     */
+    public void insertSpanChunkList(final List<SpanChunkBo> spanChunkBoList) {
+        traceDao.insertSpanChunkList(spanChunkBoList);
+        for (SpanChunkBo spanChunkBo : spanChunkBoList) {
+            // statistics time slot of the receiver thread
+            acceptedTimeService.accept(spanChunkBo.getCollectorAcceptTime());
+            insertSpanChunkStat(spanChunkBo);
+        }
+    }
+
+    private void insertSpanChunkStat(SpanChunkBo spanChunkBo) {
         final ServiceType applicationServiceType = getApplicationServiceType(spanChunkBo);
         final List<SpanEventBo> spanEventList = spanChunkBo.getSpanEventBoList();
         if (spanEventList != null) {
-            // TODO need to batch update later.
             insertSpanEventList(spanEventList, applicationServiceType, spanChunkBo.getApplicationId(), spanChunkBo.getAgentId(), spanChunkBo.getEndPoint());
         }
     }
@@ -79,6 +99,22 @@ public class TraceService {
         insertSpanEventStat(spanBo);
     }
 
+    /**
+     * Multi-put of the trace rows and the application trace index rows of the span list.
+     * The host application map and the statistics are cached in memory and flushed by each dao.
+     */
+    public void insertSpanList(final List<SpanBo> spanBoList) {
+        traceDao.insertSpanList(spanBoList);
+        applicationTraceIndexDao.insertSpanList(spanBoList);
+        for (SpanBo spanBo : spanBoList) {
+            // statistics time slot of the receiver thread
+            acceptedTimeService.accept(spanBo.getCollectorAcceptTime());
+            insertAcceptorHost(spanBo);
+            insertSpanStat(spanBo);
+            insertSpanEventStat(spanBo);
+        }
+    }
+
     private void insertAcceptorHost(SpanEventBo spanEvent, String applicationId, ServiceType serviceType) {
         final String endPoint = spanEvent.getEndPoint();
         if (endPoint == null) {
@@ -176,6 +212,7 @@ public class TraceService {
         // the data may be different due to timeout or network error.
 
         statisticsService.updateResponseTime(span.getApplicationId(), applicationServiceType, span.getAgentId(), span.getElapsed(), isError);
+        statisticsService.updateScatterHeatmap(span.getApplicationId(), span.getCollectorAcceptTime(), span.getElapsed(), isError);
 
         if (bugCheck != 1) {
             logger.warn("ambiguous span found(bug). span:{}", span);
@@ -193,7 +230,6 @@ public class TraceService {
         }
 
         final ServiceType applicationServiceType = getApplicationServiceType(span);
-        // TODO need to batch update later.
         insertSpanEventList(spanEventList, applicationServiceType, span.getApplicationId(), span.getAgentId(), span.getEndPoint());
     }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Byte budget of the data queued but not written yet.
+ * acquire() blocks the producer while the budget is exhausted. The consumer returns the budget with release().
+ * A single acquisition larger than maxBytes is allowed when nothing is in flight, so an oversized message can not block forever.
+ */
+public class InFlightBytesLimiter {
+
+    private final long maxBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private long inFlightBytes = 0;
+
+    public InFlightBytesLimiter(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be 'maxBytes > 0'");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return false if the budget is not available within the timeout
+     */
+    public boolean tryAcquire(long bytes, long timeout, TimeUnit unit) throws InterruptedException {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("negative bytes:" + bytes);
+        }
+        long remainingNanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (!isAvailable(bytes)) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = released.awaitNanos(remainingNanos);
+            }
+            inFlightBytes += bytes;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isAvailable(long bytes) {
+        if (inFlightBytes == 0) {
+            return true;
+        }
+        return inFlightBytes + bytes <= maxBytes;
+    }
+
+    public void release(long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            inFlightBytes = Math.max(0, inFlightBytes - bytes);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getInFlightBytes() {
+        lock.lock();
+        try {
+            return inFlightBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "InFlightBytesLimiter{" +
+                "maxBytes=" + maxBytes +
+                ", inFlightBytes=" + getInFlightBytes() +
+                '}';
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache answering "is this key already written in this time slot?" without allocation.
+ * The key is a 64-bit hash of the caller's fields. (see {@link #hash(long, String)})
+ * An entry packs the key fingerprint and the slot generation into a single long, so an update is one CAS.
+ * The table is 4-way set associative. A full set evicts the entry of the oldest generation.
+ * <p>
+ * An eviction or a lost CAS only causes a duplicate write. A false "already written" requires
+ * a fingerprint collision in the same set and the same generation.
+ */
+public class SlotDedupCache {
+
+    static final int WAYS = 4;
+
+    static final int GENERATION_BITS = 28;
+    private static final long GENERATION_MASK = (1L << GENERATION_BITS) - 1;
+    private static final int GENERATION_SHIFT = Long.SIZE - GENERATION_BITS;
+
+    private static final long EMPTY = 0;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray table;
+    private final int setMask;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictCount = new LongAdder();
+
+    public SlotDedupCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be 'capacity > 0'");
+        }
+        final int sets = nextPowerOfTwo(Math.max(1, capacity / WAYS));
+        this.setMask = sets - 1;
+        this.table = new AtomicLongArray(sets * WAYS);
+    }
+
+    static int nextPowerOfTwo(int value) {
+        if (value > (1 << 28)) {
+            throw new IllegalArgumentException("capacity too large:" + value);
+        }
+        int powerOfTwo = 1;
+        while (powerOfTwo < value) {
+            powerOfTwo <<= 1;
+        }
+        return powerOfTwo;
+    }
+
+    /**
+     * @param keyHash 64-bit hash of the key
+     * @param slotTime time slot in milliseconds. slots must be at least 1 second apart
+     * @return true if the key is not written in the slot yet. the caller should write it
+     */
+    public boolean update(long keyHash, long slotTime) {
+        final long generation = generation(slotTime);
+        final long fingerprint = fingerprint(keyHash);
+        final long newEntry = (fingerprint << GENERATION_BITS) | generation;
+
+        final int base = ((int) keyHash & setMask) * WAYS;
+        int victim = base;
+        long victimEntry = table.get(base);
+        for (int i = 0; i < WAYS; i++) {
+            final int index = base + i;
+            final long entry = table.get(index);
+            if (entry == EMPTY) {
+                if (victimEntry != EMPTY) {
+                    victim = index;
+                    victimEntry = EMPTY;
+                }
+                continue;
+            }
+            if ((entry >>> GENERATION_BITS) == fingerprint) {
+                return updateGeneration(index, entry, newEntry, generation);
+            }
+            if (victimEntry != EMPTY && compareGeneration(entry & GENERATION_MASK, victimEntry & GENERATION_MASK) < 0) {
+                victim = index;
+                victimEntry = entry;
+            }
+        }
+
+        missCount.increment();
+        if (table.compareAndSet(victim, victimEntry, newEntry)) {
+            if (victimEntry != EMPTY) {
+                evictCount.increment();
+            }
+        }
+        // a lost CAS is not retried. the next update of the key writes again
+        return true;
+    }
+
+    private boolean updateGeneration(int index, long entry, long newEntry, long generation) {
+        if (compareGeneration(entry & GENERATION_MASK, generation) >= 0) {
+            // written in this slot (or a late data of the previous slot)
+            hitCount.increment();
+            return false;
+        }
+        missCount.increment();
+        if (table.compareAndSet(index, entry, newEntry)) {
+            return true;
+        }
+        // another thread updated the entry
+        final long current = table.get(index);
+        if (current == newEntry) {
+            hitCount.increment();
+            return false;
+        }
+        return true;
+    }
+
+    static long generation(long slotTime) {
+        return (slotTime / 1000) & GENERATION_MASK;
+    }
+
+    private static long fingerprint(long keyHash) {
+        final long fingerprint = keyHash >>> GENERATION_BITS;
+        // 0 is reserved for the empty entry
+        if (fingerprint == 0) {
+            return 1;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * wrap around safe comparison of the generations
+     */
+    static long compareGeneration(long generation1, long generation2) {
+        return ((generation1 - generation2) << GENERATION_SHIFT) >> GENERATION_SHIFT;
+    }
+
+    public static long hash(long hash, String value) {
+        if (value == null) {
+            return hash(hash, -1);
+        }
+        final int length = value.length();
+        long h = hash(hash, length);
+        for (int i = 0; i < length; i++) {
+            h = (h ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    public static long hash(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    public static long newHash() {
+        return FNV_OFFSET_BASIS;
+    }
+
+    /**
+     * spreads the bits of the FNV hash. (fmix64 of MurmurHash3)
+     */
+    public static long finish(long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public int getCapacity() {
+        return table.length();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictCount() {
+        return evictCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "SlotDedupCache{" +
+                "capacity=" + table.length() +
+                ", hitCount=" + hitCount.sum() +
+                ", missCount=" + missCount.sum() +
+                ", evictCount=" + evictCount.sum() +
+                '}';
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.TableDescriptor;
+import com.navercorp.pinpoint.common.hbase.distributor.RangeOneByteSimpleHash;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupResolution;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupValue;
+import com.navercorp.pinpoint.common.server.util.AgentStatRollupUtils;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class HbaseAgentStatRollupDaoTest {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("AgentStatRollup");
+    private static final byte[] FAMILY = HbaseColumnFamily.AGENT_STAT_ROLLUP_STATISTICS.getName();
+    private static final long WRITER_ID = 1234L;
+
+    private final RowKeyDistributorByHashPrefix rowKeyDistributor = new RowKeyDistributorByHashPrefix(new RangeOneByteSimpleHash(0, 26, 8));
+
+    private HbaseOperations2 hbaseTemplate;
+    private TableDescriptor<HbaseColumnFamily.AgentStatRollup> descriptor;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        hbaseTemplate = Mockito.mock(HbaseOperations2.class);
+        descriptor = Mockito.mock(TableDescriptor.class);
+        Mockito.when(descriptor.getTableName()).thenReturn(TABLE_NAME);
+        Mockito.when(descriptor.getColumnFamilyName()).thenReturn(FAMILY);
+    }
+
+    private HbaseAgentStatRollupDao newDao() {
+        return new HbaseAgentStatRollupDao(hbaseTemplate, descriptor, rowKeyDistributor, WRITER_ID, StageTimer.DISABLED);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flushAll() {
+        HbaseAgentStatRollupDao dao = newDao();
+
+        final long timestamp = TimeUnit.HOURS.toMillis(1000) + TimeUnit.MINUTES.toMillis(12) + 5000;
+        dao.update("agent", AgentStatRollupType.FILE_DESCRIPTOR, 0, timestamp, 10);
+        dao.update("agent", AgentStatRollupType.FILE_DESCRIPTOR, 0, timestamp + 5000, 30);
+        dao.update("agent", AgentStatRollupType.FILE_DESCRIPTOR, 0, timestamp + 10000, 20);
+        dao.flushAll();
+
+        ArgumentCaptor<List<Put>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(hbaseTemplate).put(Mockito.eq(TABLE_NAME), captor.capture());
+        List<Put> puts = captor.getValue();
+        // a row per resolution
+        Assert.assertEquals(AgentStatRollupResolution.values().length, puts.size());
+
+        List<byte[]> rowKeys = new ArrayList<>();
+        for (Put put : puts) {
+            rowKeys.add(rowKeyDistributor.getOriginalKey(put.getRow()));
+
+            List<Cell> cells = put.get(FAMILY, AgentStatRollupUtils.makeColumnName(0, WRITER_ID, 1));
+            Assert.assertEquals(1, cells.size());
+            Cell cell = cells.get(0);
+            AgentStatRollupValue rollupValue = AgentStatRollupValue.fromBytes(cell.getValueArray(), cell.getValueOffset());
+            Assert.assertEquals(10, rollupValue.getMin(), 0);
+            Assert.assertEquals(30, rollupValue.getMax(), 0);
+            Assert.assertEquals(60, rollupValue.getSum(), 0);
+            Assert.assertEquals(3, rollupValue.getCount());
+        }
+        for (AgentStatRollupResolution resolution : AgentStatRollupResolution.values()) {
+            byte[] expected = AgentStatRollupUtils.makeRowKey("agent", AgentStatRollupType.FILE_DESCRIPTOR, resolution, resolution.getSlotTime(timestamp));
+            Assert.assertTrue(containsRowKey(rowKeys, expected));
+        }
+
+        // aggregates are handed over
+        dao.flushAll();
+        Mockito.verify(hbaseTemplate, Mockito.times(1)).put(Mockito.eq(TABLE_NAME), Mockito.anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flushAll_newColumnPerFlush() {
+        HbaseAgentStatRollupDao dao = newDao();
+
+        final long timestamp = TimeUnit.HOURS.toMillis(1000);
+        dao.update("agent", AgentStatRollupType.CPU_LOAD, 1, timestamp, 0.5);
+        dao.flushAll();
+        dao.update("agent", AgentStatRollupType.CPU_LOAD, 1, timestamp + 5000, 0.7);
+        dao.flushAll();
+
+        ArgumentCaptor<List<Put>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(hbaseTemplate, Mockito.times(2)).put(Mockito.eq(TABLE_NAME), captor.capture());
+        List<List<Put>> flushes = captor.getAllValues();
+
+        Put first = flushes.get(0).get(0);
+        Put second = flushes.get(1).get(0);
+        Assert.assertTrue(first.has(FAMILY, AgentStatRollupUtils.makeColumnName(1, WRITER_ID, 1)));
+        Assert.assertTrue(second.has(FAMILY, AgentStatRollupUtils.makeColumnName(1, WRITER_ID, 2)));
+        // field 0 (jvmCpuLoad) was not updated
+        Assert.assertFalse(first.has(FAMILY, AgentStatRollupUtils.makeColumnName(0, WRITER_ID, 1)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flushAll_openCoarseSlot() {
+        HbaseAgentStatRollupDao dao = newDao();
+
+        final long timestamp = TimeUnit.HOURS.toMillis(1000) + TimeUnit.MINUTES.toMillis(12);
+        dao.update("agent", AgentStatRollupType.DEADLOCK, 0, timestamp, 1);
+        dao.flushAll(timestamp + TimeUnit.MINUTES.toMillis(1));
+        dao.update("agent", AgentStatRollupType.DEADLOCK, 0, timestamp + TimeUnit.MINUTES.toMillis(1), 3);
+        // 10 minutes slot is closed
+        dao.flushAll(timestamp + TimeUnit.MINUTES.toMillis(8));
+        dao.closeAll();
+
+        ArgumentCaptor<List<Put>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(hbaseTemplate, Mockito.times(3)).put(Mockito.eq(TABLE_NAME), captor.capture());
+        List<List<Put>> flushes = captor.getAllValues();
+
+        final long nextMinute = timestamp + TimeUnit.MINUTES.toMillis(1);
+        assertRows(flushes.get(0), deadlockRowKey(AgentStatRollupResolution.ONE_MINUTE, timestamp));
+        assertRows(flushes.get(1), deadlockRowKey(AgentStatRollupResolution.ONE_MINUTE, nextMinute),
+                deadlockRowKey(AgentStatRollupResolution.TEN_MINUTES, timestamp));
+        assertRows(flushes.get(2), deadlockRowKey(AgentStatRollupResolution.ONE_HOUR, timestamp));
+
+        Put hour = flushes.get(2).get(0);
+        List<Cell> cells = hour.get(FAMILY, AgentStatRollupUtils.makeColumnName(0, WRITER_ID, 3));
+        Cell cell = cells.get(0);
+        AgentStatRollupValue rollupValue = AgentStatRollupValue.fromBytes(cell.getValueArray(), cell.getValueOffset());
+        Assert.assertEquals(2, rollupValue.getCount());
+        Assert.assertEquals(3, rollupValue.getMax(), 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flushAll_restoreOnFailure() {
+        HbaseAgentStatRollupDao dao = newDao();
+
+        final long timestamp = TimeUnit.HOURS.toMillis(1000);
+        dao.update("agent", AgentStatRollupType.CPU_LOAD, 1, timestamp, 0.5);
+        Mockito.doThrow(new RuntimeException("test")).doNothing()
+                .when(hbaseTemplate).put(Mockito.eq(TABLE_NAME), Mockito.anyList());
+        try {
+            dao.flushAll();
+            Assert.fail();
+        } catch (RuntimeException ignore) {
+            // expected
+        }
+        dao.update("agent", AgentStatRollupType.CPU_LOAD, 1, timestamp + 5000, 0.7);
+        dao.flushAll();
+
+        ArgumentCaptor<List<Put>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(hbaseTemplate, Mockito.times(2)).put(Mockito.eq(TABLE_NAME), captor.capture());
+        List<Put> retry = captor.getAllValues().get(1);
+        Assert.assertEquals(AgentStatRollupResolution.values().length, retry.size());
+        for (Put put : retry) {
+            Cell cell = put.get(FAMILY, AgentStatRollupUtils.makeColumnName(1, WRITER_ID, 2)).get(0);
+            AgentStatRollupValue rollupValue = AgentStatRollupValue.fromBytes(cell.getValueArray(), cell.getValueOffset());
+            Assert.assertEquals("failed rows are merged", 2, rollupValue.getCount());
+        }
+    }
+
+    @Test
+    public void flushAll_empty() {
+        HbaseAgentStatRollupDao dao = newDao();
+        dao.flushAll();
+
+        Mockito.verifyZeroInteractions(hbaseTemplate);
+    }
+
+    private byte[] deadlockRowKey(AgentStatRollupResolution resolution, long timestamp) {
+        return AgentStatRollupUtils.makeRowKey("agent", AgentStatRollupType.DEADLOCK, resolution, resolution.getSlotTime(timestamp));
+    }
+
+    private void assertRows(List<Put> puts, byte[]... expectedRowKeys) {
+        Assert.assertEquals(expectedRowKeys.length, puts.size());
+        List<byte[]> rowKeys = new ArrayList<>();
+        for (Put put : puts) {
+            rowKeys.add(rowKeyDistributor.getOriginalKey(put.getRow()));
+        }
+        for (byte[] expected : expectedRowKeys) {
+            Assert.assertTrue(containsRowKey(rowKeys, expected));
+        }
+    }
+
+    private boolean containsRowKey(List<byte[]> rowKeys, byte[] rowKey) {
+        for (byte[] key : rowKeys) {
+            if (Bytes.equals(key, rowKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -18,14 +18,21 @@ package com.navercorp.pinpoint.collector.dao.hbase;
 
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.HbaseTableConstatns;
+import com.navercorp.pinpoint.common.hbase.TableDescriptor;
+import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.server.util.DefaultTimeSlot;
 import com.navercorp.pinpoint.common.server.util.TimeSlot;
 import com.navercorp.pinpoint.common.util.TimeUtils;
 
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.TableName;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,4 +58,45 @@ public class HbaseHostApplicationMapDaoTest {
         Assert.assertEquals("serviceType check", code, ServiceType.STAND_ALONE.getCode());
         Assert.assertEquals("time check", statisticsRowSlot, time);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void insert_dedup() {
+        HbaseOperations2 hbaseTemplate = Mockito.mock(HbaseOperations2.class);
+        @SuppressWarnings("unchecked")
+        TableDescriptor<HbaseColumnFamily.HostStatMap> descriptor = Mockito.mock(TableDescriptor.class);
+        Mockito.when(descriptor.getTableName()).thenReturn(TableName.valueOf("HostApplicationMap_Ver2"));
+        AbstractRowKeyDistributor rowKeyDistributor = Mockito.mock(AbstractRowKeyDistributor.class);
+        Mockito.when(rowKeyDistributor.getDistributedKey(Mockito.any(byte[].class))).thenAnswer(invocation -> invocation.getArgument(0));
+        AcceptedTimeService acceptedTimeService = Mockito.mock(AcceptedTimeService.class);
+        final long acceptedTime = timeSlot.getTimeSlot(System.currentTimeMillis());
+        Mockito.when(acceptedTimeService.getAcceptedTime()).thenReturn(acceptedTime);
+
+        HbaseHostApplicationMapDao dao = new HbaseHostApplicationMapDao(hbaseTemplate, descriptor, rowKeyDistributor, acceptedTimeService, timeSlot, 1024);
+        final short serviceType = ServiceType.STAND_ALONE.getCode();
+        dao.insert("127.0.0.1", "app", serviceType, "parentApp", serviceType);
+        dao.insert("127.0.0.1", "app", serviceType, "parentApp", serviceType);
+        dao.insert("127.0.0.1", "app", serviceType, null, serviceType);
+        verifyPut(hbaseTemplate, 2);
+
+        // next slot
+        Mockito.when(acceptedTimeService.getAcceptedTime()).thenReturn(acceptedTime + 60 * 1000);
+        dao.insert("127.0.0.1", "app", serviceType, "parentApp", serviceType);
+        verifyPut(hbaseTemplate, 3);
+    }
+
+    private void verifyPut(HbaseOperations2 hbaseTemplate, int times) {
+        Mockito.verify(hbaseTemplate, Mockito.times(times)).put(Mockito.any(TableName.class), Mockito.any(byte[].class),
+                Mockito.any(), Mockito.any(byte[].class), Mockito.isNull(byte[].class));
+    }
+
+    @Test
+    public void mappingHash() {
+        final short serviceType = ServiceType.STAND_ALONE.getCode();
+        long hash1 = HbaseHostApplicationMapDao.mappingHash("host", "app", serviceType, "parentApp", serviceType);
+        long hash2 = HbaseHostApplicationMapDao.mappingHash("host", "app", serviceType, "parentApp", serviceType);
+        Assert.assertEquals(hash1, hash2);
+
+        long nullParentHash = HbaseHostApplicationMapDao.mappingHash("host", "app", serviceType, null, serviceType);
+        Assert.assertNotEquals(hash1, nullParentHash);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementer;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKeyMerge;
+import com.navercorp.pinpoint.collector.monitor.StageTimer;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.TableDescriptor;
+import com.navercorp.pinpoint.common.hbase.distributor.RangeOneByteSimpleHash;
+import com.navercorp.pinpoint.common.server.util.ScatterHeatmapUtils;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Increment;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+public class HbaseScatterHeatmapDaoTest {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("ScatterHeatmap");
+
+    private final RowKeyDistributorByHashPrefix rowKeyDistributor = new RowKeyDistributorByHashPrefix(new RangeOneByteSimpleHash(0, 24, 8));
+
+    private HbaseOperations2 hbaseTemplate;
+    private TableDescriptor<HbaseColumnFamily.ScatterHeatmap> descriptor;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        hbaseTemplate = Mockito.mock(HbaseOperations2.class);
+        descriptor = Mockito.mock(TableDescriptor.class);
+        Mockito.when(descriptor.getTableName()).thenReturn(TABLE_NAME);
+    }
+
+    private HbaseScatterHeatmapDao newDao(boolean enable) {
+        BulkIncrementer bulkIncrementer = new BulkIncrementer(new RowKeyMerge(HbaseColumnFamily.SCATTER_HEATMAP_COUNTER));
+        return new HbaseScatterHeatmapDao(hbaseTemplate, descriptor, rowKeyDistributor, bulkIncrementer, enable, StageTimer.DISABLED);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flushAll() {
+        HbaseScatterHeatmapDao dao = newDao(true);
+
+        final long rowTimeSlot = ScatterHeatmapUtils.getRowTimeSlot(System.currentTimeMillis());
+        final long acceptedTime = rowTimeSlot + 25 * 1000;
+        dao.received("app", acceptedTime, 120, false);
+        dao.received("app", acceptedTime + 1000, 150, false);
+        dao.received("app", acceptedTime, 150, true);
+        dao.flushAll();
+
+        ArgumentCaptor<List<Increment>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(hbaseTemplate).increment(Mockito.eq(TABLE_NAME), captor.capture());
+        List<Increment> increments = captor.getValue();
+        Assert.assertEquals(1, increments.size());
+
+        Increment increment = increments.get(0);
+        byte[] rowKey = rowKeyDistributor.getOriginalKey(increment.getRow());
+        Assert.assertArrayEquals(ScatterHeatmapUtils.makeRowKey("app", rowTimeSlot), rowKey);
+
+        Map<byte[], NavigableMap<byte[], Long>> familyMap = increment.getFamilyMapOfLongs();
+        NavigableMap<byte[], Long> columns = familyMap.get(HbaseColumnFamily.SCATTER_HEATMAP_COUNTER.getName());
+        Assert.assertEquals(2, columns.size());
+        final int bucket = ScatterHeatmapUtils.getElapsedBucket(150);
+        Assert.assertEquals(Long.valueOf(2), columns.get(ScatterHeatmapUtils.makeColumnName(2, bucket, false)));
+        Assert.assertEquals(Long.valueOf(1), columns.get(ScatterHeatmapUtils.makeColumnName(2, bucket, true)));
+
+        // counters are handed over
+        dao.flushAll();
+        Mockito.verify(hbaseTemplate, Mockito.times(1)).increment(Mockito.eq(TABLE_NAME), Mockito.anyList());
+    }
+
+    @Test
+    public void disable() {
+        HbaseScatterHeatmapDao dao = newDao(false);
+        dao.received("app", System.currentTimeMillis(), 100, false);
+        dao.flushAll();
+
+        Mockito.verifyZeroInteractions(hbaseTemplate);
+    }
+}
@@ -90,6 +90,35 @@ public class BulkIncrementerTest {
         verifier.verify(testDataSetA_0_1);
     }
 
+    @Test
+    public void probeKeys() {
+        // Given
+        TableName tableA = TableName.valueOf("A");
+        CallRowKey rowKeyProbe = CallRowKey.newProbe();
+        ResponseColumnName columnNameProbe = ResponseColumnName.newProbe();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            bulkIncrementer.increment(tableA, rowKeyProbe.set("app1", (short) 1000, 0), columnNameProbe.set("agent1", (short) 1));
+        }
+        for (int i = 0; i < 2; i++) {
+            bulkIncrementer.increment(tableA, rowKeyProbe.set("app2", (short) 1000, 0), columnNameProbe.set("agent2", (short) 1));
+        }
+
+        // Then
+        Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributor);
+        List<Increment> increments = incrementMap.get(tableA);
+        Assert.assertEquals(2, increments.size());
+        List<Long> counts = new ArrayList<>();
+        for (Increment increment : increments) {
+            for (NavigableMap<byte[], Long> columns : increment.getFamilyMapOfLongs().values()) {
+                counts.addAll(columns.values());
+            }
+        }
+        Collections.sort(counts);
+        Assert.assertEquals(Lists.newArrayList(2L, 3L), counts);
+    }
+
     @Test
     public void multipleTables() {
         // Given
@@ -225,6 +254,44 @@ public class BulkIncrementerTest {
         }
     }
 
+    @Test
+    public void stripeSize() {
+        Assert.assertEquals(1, BulkIncrementer.stripeSize(1));
+        Assert.assertEquals(4, BulkIncrementer.stripeSize(3));
+        Assert.assertEquals(8, BulkIncrementer.stripeSize(8));
+        Assert.assertEquals(64, BulkIncrementer.stripeSize(1000));
+    }
+
+    @Test
+    public void mergeStripes() throws Exception {
+        // Given
+        final BulkIncrementer bulkIncrementer = new BulkIncrementer(new RowKeyMerge(CF), 16);
+        TableName tableA = TableName.valueOf("A");
+        final TestDataSet testDataSet = new TestDataSet(tableA, 0, 0, 1000);
+
+        // When
+        final int numIncrementers = 8;
+        Thread[] threads = new Thread[numIncrementers];
+        for (int i = 0; i < numIncrementers; i++) {
+            threads[i] = new Thread(() -> {
+                for (TestData testData : testDataSet.getTestDatas()) {
+                    bulkIncrementer.increment(testData.getTableName(), testData.getRowKey(), testData.getColumnName());
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        // Then
+        Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributor);
+        Assert.assertEquals(1, incrementMap.get(tableA).size());
+        TestVerifier verifier = new TestVerifier(incrementMap);
+        verifier.verify(new TestDataSet(tableA, 0, 0, 1000 * numIncrementers));
+        Assert.assertTrue(bulkIncrementer.getIncrements(rowKeyDistributor).isEmpty());
+    }
+
     private class Incrementer implements Runnable {
 
         private final Logger logger = LoggerFactory.getLogger(this.getClass());
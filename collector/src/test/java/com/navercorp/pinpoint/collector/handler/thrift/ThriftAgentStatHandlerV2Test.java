@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.collector.service.AgentStatService;
 import com.navercorp.pinpoint.collector.service.HBaseAgentStatService;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DeadlockThreadCountBo;
@@ -30,6 +31,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
 import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheListBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
@@ -97,6 +99,12 @@ public class ThriftAgentStatHandlerV2Test {
     @Mock
     private AgentStatDaoV2<DirectBufferBo> directBufferDao;
 
+    @Mock
+    private AgentStatDaoV2<MetadataCacheListBo> metadataCacheListDao;
+
+    @Mock
+    private AgentStatDaoV2<BatchSizeListBo> batchSizeListDao;
+
 
     @Spy
     private List<AgentStatService> agentStatServiceList = new ArrayList<>();
@@ -108,7 +116,7 @@ public class ThriftAgentStatHandlerV2Test {
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
         hBaseAgentStatService = new HBaseAgentStatService(jvmGcDao, jvmGcDetailedDao, cpuLoadDao, transactionDao,
-                activeTraceDao, dataSourceDao, responseTimeDao, deadlockDao, fileDescriptorDao, directBufferDao);
+                activeTraceDao, dataSourceDao, responseTimeDao, deadlockDao, fileDescriptorDao, directBufferDao, metadataCacheListDao, batchSizeListDao);
         agentStatServiceList.add(hBaseAgentStatService);
         thriftAgentStatHandlerV2 = new ThriftAgentStatHandlerV2(agentStatMapper, agentStatBatchMapper, Optional.of(agentStatServiceList));
     }
@@ -134,6 +142,8 @@ public class ThriftAgentStatHandlerV2Test {
         verify(deadlockDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDeadlockThreadCountBos());
         verify(fileDescriptorDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getFileDescriptorBos());
         verify(directBufferDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDirectBufferBos());
+        verify(metadataCacheListDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getMetadataCacheListBos());
+        verify(batchSizeListDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getBatchSizeListBos());
 
     }
 
@@ -159,6 +169,8 @@ public class ThriftAgentStatHandlerV2Test {
         verify(deadlockDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDeadlockThreadCountBos());
         verify(fileDescriptorDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getFileDescriptorBos());
         verify(directBufferDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDirectBufferBos());
+        verify(metadataCacheListDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getMetadataCacheListBos());
+        verify(batchSizeListDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getBatchSizeListBos());
     }
 
     @Test
@@ -181,6 +193,8 @@ public class ThriftAgentStatHandlerV2Test {
         verifyZeroInteractions(responseTimeDao);
         verifyZeroInteractions(fileDescriptorDao);
         verifyZeroInteractions(directBufferDao);
+        verifyZeroInteractions(metadataCacheListDao);
+        verifyZeroInteractions(batchSizeListDao);
     }
 
     @Test
@@ -204,6 +218,8 @@ public class ThriftAgentStatHandlerV2Test {
         verifyZeroInteractions(responseTimeDao);
         verifyZeroInteractions(fileDescriptorDao);
         verifyZeroInteractions(directBufferDao);
+        verifyZeroInteractions(metadataCacheListDao);
+        verifyZeroInteractions(batchSizeListDao);
     }
 
     @Test(expected=IllegalArgumentException.class)
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.mapper.thrift.stat;
+
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeBo;
+import com.navercorp.pinpoint.thrift.dto.TBatchSizeHistogram;
+import org.junit.Assert;
+
+public class ThriftBatchSizeBoMapperTest extends ThriftBoMapperTestBase<TBatchSizeHistogram, BatchSizeBo> {
+
+    @Override
+    protected TBatchSizeHistogram create() {
+        TBatchSizeHistogram batchSizeHistogram = new TBatchSizeHistogram();
+        batchSizeHistogram.setExecutorName("Pinpoint-UdpStatDataExecutor-" + getRandomInteger(0, 10));
+        for (int i = 0; i < 12; i++) {
+            batchSizeHistogram.addToHistogram(getRandomLong(0, 100000));
+        }
+        return batchSizeHistogram;
+    }
+
+    @Override
+    protected BatchSizeBo convert(TBatchSizeHistogram original) {
+        ThriftBatchSizeBoMapper batchSizeBoMapper = new ThriftBatchSizeBoMapper();
+        return batchSizeBoMapper.map(original);
+    }
+
+    @Override
+    protected void verify(TBatchSizeHistogram original, BatchSizeBo mappedStatDataPoint) {
+        Assert.assertEquals("ExecutorName", original.getExecutorName(), mappedStatDataPoint.getExecutorName());
+        Assert.assertEquals("Histogram", original.getHistogram(), mappedStatDataPoint.getHistogram());
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.mapper.thrift.stat;
+
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheBo;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCache;
+import org.junit.Assert;
+
+public class ThriftMetadataCacheBoMapperTest extends ThriftBoMapperTestBase<TMetadataCache, MetadataCacheBo> {
+
+    @Override
+    protected TMetadataCache create() {
+        TMetadataCache metadataCache = new TMetadataCache();
+        metadataCache.setName("sqlCache-" + getRandomInteger(0, 10));
+        metadataCache.setHitCount(getRandomLong(0, 1000000));
+        metadataCache.setMissCount(getRandomLong(0, 5000));
+        metadataCache.setEvictionCount(getRandomLong(0, 5000));
+        metadataCache.setSize(getRandomLong(0, 1024));
+        metadataCache.setWeight(getRandomLong(0, 1024));
+        return metadataCache;
+    }
+
+    @Override
+    protected MetadataCacheBo convert(TMetadataCache original) {
+        ThriftMetadataCacheBoMapper metadataCacheBoMapper = new ThriftMetadataCacheBoMapper();
+        return metadataCacheBoMapper.map(original);
+    }
+
+    @Override
+    protected void verify(TMetadataCache original, MetadataCacheBo mappedStatDataPoint) {
+        Assert.assertEquals("Name", original.getName(), mappedStatDataPoint.getName());
+        Assert.assertEquals("HitCount", original.getHitCount(), mappedStatDataPoint.getHitCount());
+        Assert.assertEquals("MissCount", original.getMissCount(), mappedStatDataPoint.getMissCount());
+        Assert.assertEquals("EvictionCount", original.getEvictionCount(), mappedStatDataPoint.getEvictionCount());
+        Assert.assertEquals("Size", original.getSize(), mappedStatDataPoint.getSize());
+        Assert.assertEquals("Weight", original.getWeight(), mappedStatDataPoint.getWeight());
+    }
+
+}
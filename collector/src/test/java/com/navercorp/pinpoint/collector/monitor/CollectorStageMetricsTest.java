@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Timer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class CollectorStageMetricsTest {
+
+    @Test
+    public void getStageTimer() {
+        CollectorStageMetrics stageMetrics = new CollectorStageMetrics(true);
+
+        StageTimer decodeTimer = stageMetrics.getStageTimer(CollectorStageMetrics.THRIFT, CollectorStageMetrics.Stage.DECODE);
+        Assert.assertEquals("collector.stage.thrift.decode", decodeTimer.getName());
+        Assert.assertSame(decodeTimer, stageMetrics.getStageTimer(CollectorStageMetrics.THRIFT, CollectorStageMetrics.Stage.DECODE));
+
+        StageTimer writeTimer = stageMetrics.getStageTimer(CollectorStageMetrics.Stage.DAO_WRITE);
+        Assert.assertEquals("collector.stage.dao.write", writeTimer.getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getStageTimer_unknownTransport() {
+        CollectorStageMetrics stageMetrics = new CollectorStageMetrics(true);
+        stageMetrics.getStageTimer("unknown", CollectorStageMetrics.Stage.RECEIVE);
+    }
+
+    @Test
+    public void record() {
+        CollectorStageMetrics stageMetrics = new CollectorStageMetrics(true);
+        StageTimer stageTimer = stageMetrics.getStageTimer(CollectorStageMetrics.GRPC, CollectorStageMetrics.Stage.RECEIVE);
+
+        long startTime = stageTimer.start();
+        stageTimer.stop(startTime);
+        stageTimer.error();
+
+        Map<String, Metric> metrics = stageMetrics.getMetrics();
+        Timer timer = (Timer) metrics.get("collector.stage.grpc.receive");
+        Assert.assertEquals(1, timer.getCount());
+        Assert.assertEquals(1, stageTimer.getErrorCounter().getCount());
+
+        StageTimerSnapshot snapshot = new StageTimerSnapshot(stageTimer);
+        Assert.assertEquals(1, snapshot.getCount());
+        Assert.assertEquals(1, snapshot.getErrorCount());
+    }
+
+    @Test
+    public void disabled() {
+        CollectorStageMetrics stageMetrics = new CollectorStageMetrics(false);
+        StageTimer stageTimer = stageMetrics.getStageTimer(CollectorStageMetrics.THRIFT, CollectorStageMetrics.Stage.MAP);
+        Assert.assertSame(StageTimer.DISABLED, stageTimer);
+        Assert.assertFalse(stageTimer.isEnable());
+
+        stageTimer.stop(stageTimer.start());
+        stageTimer.error();
+
+        Assert.assertTrue(stageMetrics.getMetrics().isEmpty());
+        Assert.assertEquals(0, new StageTimerSnapshot(stageTimer).getCount());
+    }
+}
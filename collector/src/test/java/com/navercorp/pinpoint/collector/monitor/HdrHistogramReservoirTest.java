@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HdrHistogramReservoirTest {
+
+    @Test
+    public void snapshot() {
+        HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+        for (int i = 1; i <= 1000; i++) {
+            reservoir.update(i);
+        }
+
+        Snapshot snapshot = reservoir.getSnapshot();
+        Assert.assertEquals(1000, snapshot.size());
+        Assert.assertEquals(1, snapshot.getMin());
+        Assert.assertEquals(1000, snapshot.getMax(), 10);
+        Assert.assertEquals(500, snapshot.getMedian(), 5);
+        Assert.assertEquals(990, snapshot.get99thPercentile(), 10);
+        Assert.assertEquals(1000, snapshot.getValues().length);
+    }
+
+    @Test
+    public void snapshot_keepValues() {
+        HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+        reservoir.update(10);
+        reservoir.getSnapshot();
+        reservoir.update(20);
+
+        // getSnapshot() does not reset the current window
+        Assert.assertEquals(2, reservoir.getSnapshot().size());
+    }
+
+    @Test
+    public void window() {
+        HdrHistogramReservoir reservoir = new HdrHistogramReservoir(1000);
+        final long startTime = System.currentTimeMillis();
+        reservoir.update(10);
+
+        Histogram first = reservoir.snapshot(startTime + 1000);
+        Assert.assertEquals(1, first.getTotalCount());
+
+        reservoir.update(20);
+        Histogram second = reservoir.snapshot(startTime + 1500);
+        Assert.assertEquals(2, second.getTotalCount());
+
+        // the first window is expired
+        Histogram third = reservoir.snapshot(startTime + 2500);
+        Assert.assertEquals(1, third.getTotalCount());
+        Assert.assertEquals(20, third.getMaxValue(), 1);
+    }
+
+    @Test
+    public void update_negative() {
+        HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+        reservoir.update(-1);
+
+        Assert.assertEquals(0, reservoir.getSnapshot().getMax());
+    }
+}
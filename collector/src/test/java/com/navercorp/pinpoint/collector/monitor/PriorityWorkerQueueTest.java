@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class PriorityWorkerQueueTest {
+
+    @Test
+    public void priorityOrder() {
+        PriorityWorkerQueue queue = new PriorityWorkerQueue(10, WorkPriority.NORMAL, 0, 1000);
+        Runnable low = new TestTask(WorkPriority.LOW);
+        Runnable normal = new TestTask(null);
+        Runnable high = new TestTask(WorkPriority.HIGH);
+        queue.offer(low);
+        queue.offer(normal);
+        queue.offer(high);
+
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(1, queue.size(WorkPriority.NORMAL));
+        Assert.assertSame(high, queue.poll());
+        Assert.assertSame(normal, queue.poll());
+        Assert.assertSame(low, queue.poll());
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test
+    public void full_shedLowerClass() {
+        PriorityWorkerQueue queue = new PriorityWorkerQueue(2, WorkPriority.NORMAL, 0, 1000);
+        TestTask low1 = new TestTask(WorkPriority.LOW);
+        TestTask low2 = new TestTask(WorkPriority.LOW);
+        Assert.assertTrue(queue.offer(low1));
+        Assert.assertTrue(queue.offer(low2));
+        // same class is rejected
+        Assert.assertFalse(queue.offer(new TestTask(WorkPriority.LOW)));
+
+        Runnable high = new TestTask(WorkPriority.HIGH);
+        Assert.assertTrue(queue.offer(high));
+        Assert.assertEquals(2, queue.size());
+        Assert.assertEquals(1, queue.getShedCount(WorkPriority.LOW));
+        Assert.assertTrue("shed task is released", low1.shed);
+        Assert.assertFalse(low2.shed);
+
+        Assert.assertSame(high, queue.poll());
+        // the oldest low task is shed
+        Assert.assertSame(low2, queue.poll());
+    }
+
+    @Test
+    public void codel_shedLowestClass() throws InterruptedException {
+        PriorityWorkerQueue queue = new PriorityWorkerQueue(100, WorkPriority.NORMAL, 1, 5);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(new TestTask(WorkPriority.LOW));
+            queue.offer(new TestTask(WorkPriority.HIGH));
+        }
+        TimeUnit.MILLISECONDS.sleep(10);
+        // above target. start of interval
+        Assert.assertNotNull(queue.poll());
+        Assert.assertEquals(0, queue.getShedCount(WorkPriority.LOW));
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        Assert.assertNotNull(queue.poll());
+        Assert.assertEquals(1, queue.getShedCount(WorkPriority.LOW));
+        Assert.assertEquals(0, queue.getShedCount(WorkPriority.HIGH));
+        Assert.assertEquals(10 - 2, queue.size(WorkPriority.HIGH));
+        Assert.assertEquals(10 - 1, queue.size(WorkPriority.LOW));
+    }
+
+    @Test
+    public void codel_neverShedHigh() throws InterruptedException {
+        PriorityWorkerQueue queue = new PriorityWorkerQueue(100, WorkPriority.HIGH, 1, 1);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(new TestTask(null));
+        }
+        TimeUnit.MILLISECONDS.sleep(10);
+        List<Runnable> tasks = new ArrayList<>();
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            tasks.add(task);
+            TimeUnit.MILLISECONDS.sleep(2);
+        }
+        Assert.assertEquals(10, tasks.size());
+        Assert.assertEquals(0, queue.getShedCount(WorkPriority.HIGH));
+    }
+
+    @Test
+    public void executor() throws InterruptedException {
+        PriorityWorkerQueue queue = new PriorityWorkerQueue(100, WorkPriority.NORMAL, 100, 1000);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, queue);
+        try {
+            final CountDownLatch latch = new CountDownLatch(20);
+            for (int i = 0; i < 20; i++) {
+                executor.execute(latch::countDown);
+            }
+            Assert.assertTrue(latch.await(3, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class TestTask implements PriorityRunnable {
+        private final WorkPriority priority;
+        private boolean shed;
+
+        private TestTask(WorkPriority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public WorkPriority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public void onShed() {
+            shed = true;
+        }
+    }
+}
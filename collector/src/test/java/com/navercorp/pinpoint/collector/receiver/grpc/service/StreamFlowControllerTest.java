@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.service;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StreamFlowControllerTest {
+
+    private ThreadPoolExecutor executor;
+    private BlockingQueue<Runnable> queue;
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        queue = new ArrayBlockingQueue<>(10);
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, queue);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void start() {
+        StreamFlowController controller = new StreamFlowController(executor, 4, 2, scheduler, 100000);
+        ServerCallStreamObserver<?> stream = mock(ServerCallStreamObserver.class);
+
+        controller.start(stream);
+
+        verify(stream).disableAutoInboundFlowControl();
+        // the initial credit is requested by the interceptor
+        verify(stream, never()).request(anyInt());
+        Assert.assertEquals(1, controller.getInitialRequestCount());
+        controller.close();
+    }
+
+    @Test
+    public void requestBelowHighWatermark() {
+        StreamFlowController controller = new StreamFlowController(executor, 4, 2, scheduler, 100000);
+        ServerCallStreamObserver<?> stream = mock(ServerCallStreamObserver.class);
+
+        controller.onMessage(stream);
+        verify(stream).request(1);
+        Assert.assertEquals(0, controller.getDeferredCount());
+        controller.close();
+    }
+
+    @Test
+    public void deferAboveHighWatermark() {
+        StreamFlowController controller = new StreamFlowController(executor, 4, 2, scheduler, 100000);
+        ServerCallStreamObserver<?> stream = mock(ServerCallStreamObserver.class);
+        fillQueue(5);
+
+        controller.onMessage(stream);
+        controller.onMessage(stream);
+        verify(stream, never()).request(1);
+        Assert.assertEquals(2, controller.getDeferredCount());
+
+        // not drained enough
+        queue.poll();
+        controller.resume();
+        verify(stream, never()).request(1);
+
+        // below low watermark
+        queue.clear();
+        controller.resume();
+        verify(stream, times(2)).request(1);
+        Assert.assertEquals(0, controller.getDeferredCount());
+        Assert.assertEquals(2, controller.getTotalDeferredCount());
+        controller.close();
+    }
+
+    @Test
+    public void skipCancelledStream() {
+        StreamFlowController controller = new StreamFlowController(executor, 4, 2, scheduler, 100000);
+        ServerCallStreamObserver<?> stream = mock(ServerCallStreamObserver.class);
+        when(stream.isCancelled()).thenReturn(true);
+        fillQueue(5);
+
+        controller.onMessage(stream);
+        queue.clear();
+        controller.resume();
+        verify(stream, never()).request(1);
+        Assert.assertEquals(0, controller.getDeferredCount());
+        controller.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidWatermark() {
+        new StreamFlowController(executor, 2, 4, scheduler, 100);
+    }
+
+    private void fillQueue(int size) {
+        for (int i = 0; i < size; i++) {
+            queue.offer(() -> { });
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.thrift.udp;
+
+import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
+import com.navercorp.pinpoint.common.profiler.util.TransactionIdUtils;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.thrift.ThriftSpanBoDecoder;
+import com.navercorp.pinpoint.common.server.util.AddressFilter;
+import com.navercorp.pinpoint.io.request.ServerRequest;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import org.apache.thrift.TBase;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+public class BaseUDPHandlerFactoryTest {
+
+    @Test
+    public void receive() throws Exception {
+        TSpan tSpan = newSpan();
+        DispatchHandler dispatchHandler = Mockito.mock(DispatchHandler.class);
+
+        PacketHandler<DatagramPacket> packetHandler = newPacketHandlerFactory(dispatchHandler, null).createPacketHandler();
+        packetHandler.receive(null, newPacket(tSpan));
+
+        Assert.assertEquals(tSpan, captureRequest(dispatchHandler).getData());
+    }
+
+    @Test
+    public void receive_bodyDecoder() throws Exception {
+        TSpan tSpan = newSpan();
+        DispatchHandler dispatchHandler = Mockito.mock(DispatchHandler.class);
+
+        PacketHandler<DatagramPacket> packetHandler = newPacketHandlerFactory(dispatchHandler, new ThriftSpanBoDecoder()).createPacketHandler();
+        packetHandler.receive(null, newPacket(tSpan));
+
+        SpanBo spanBo = (SpanBo) captureRequest(dispatchHandler).getData();
+        Assert.assertEquals(tSpan.getAgentId(), spanBo.getAgentId());
+        Assert.assertEquals(tSpan.getSpanId(), spanBo.getSpanId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private BaseUDPHandlerFactory<DatagramPacket> newPacketHandlerFactory(DispatchHandler dispatchHandler, ThriftSpanBoDecoder bodyDecoder) {
+        TBaseFilter<SocketAddress> filter = (TBaseFilter<SocketAddress>) TBaseFilter.CONTINUE_FILTER;
+        return new BaseUDPHandlerFactory<>(dispatchHandler, filter, AddressFilter.ALL, bodyDecoder);
+    }
+
+    private ServerRequest<?> captureRequest(DispatchHandler dispatchHandler) {
+        ArgumentCaptor<ServerRequest> captor = ArgumentCaptor.forClass(ServerRequest.class);
+        Mockito.verify(dispatchHandler).dispatchSendMessage(captor.capture());
+        return captor.getValue();
+    }
+
+    private TSpan newSpan() {
+        TSpan tSpan = new TSpan();
+        tSpan.setAgentId("agentId");
+        tSpan.setApplicationName("applicationName");
+        tSpan.setTransactionId(TransactionIdUtils.formatBytes("agentId", 1, 2));
+        tSpan.setSpanId(10);
+        tSpan.setStartTime(System.currentTimeMillis());
+        return tSpan;
+    }
+
+    private DatagramPacket newPacket(TBase<?, ?> tBase) throws Exception {
+        byte[] bytes = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer().serialize(tBase);
+        // the packet is a region of the pooled buffer
+        final int offset = 3;
+        byte[] buffer = new byte[1024];
+        System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+
+        DatagramPacket packet = new DatagramPacket(buffer, offset, bytes.length);
+        packet.setSocketAddress(new InetSocketAddress("127.0.0.1", 9996));
+        return packet;
+    }
+}
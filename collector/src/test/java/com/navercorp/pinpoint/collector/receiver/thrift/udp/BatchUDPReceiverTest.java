@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.thrift.udp;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.navercorp.pinpoint.collector.util.DatagramPacketFactory;
+import com.navercorp.pinpoint.collector.util.DefaultObjectPool;
+import com.navercorp.pinpoint.collector.util.ObjectPool;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.SocketUtils;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BatchUDPReceiverTest {
+
+    private static final String ADDRESS = "127.0.0.1";
+
+    @Test
+    public void receive() throws Exception {
+        final int packetCount = 100;
+        final CountDownLatch latch = new CountDownLatch(packetCount);
+        final AtomicInteger zeroLengthCount = new AtomicInteger();
+        PacketHandler<DatagramPacket> packetHandler = new PacketHandler<DatagramPacket>() {
+            @Override
+            public void receive(DatagramSocket localSocket, DatagramPacket packet) {
+                if (packet.getLength() == 0) {
+                    zeroLengthCount.incrementAndGet();
+                }
+                latch.countDown();
+            }
+        };
+
+        final int port = SocketUtils.findAvailableUdpPort(11999);
+        BatchUDPReceiver receiver = newReceiver(port, packetHandler);
+        receiver.start();
+        try (DatagramSocket client = new DatagramSocket()) {
+            client.connect(new InetSocketAddress(ADDRESS, port));
+            // L4 health check
+            client.send(new DatagramPacket(new byte[0], 0));
+            for (int i = 0; i < packetCount; i++) {
+                byte[] data = ("data" + i).getBytes(StandardCharsets.UTF_8);
+                client.send(new DatagramPacket(data, data.length));
+            }
+
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(0, zeroLengthCount.get());
+            Assert.assertEquals(packetCount, receiver.getReceiveCount());
+            Assert.assertTrue(receiver.getBatchCount() <= packetCount);
+        } finally {
+            receiver.shutdown();
+        }
+    }
+
+    @Test
+    public void response() throws Exception {
+        final byte[] pong = "pong".getBytes(StandardCharsets.UTF_8);
+        PacketHandler<DatagramPacket> packetHandler = new PacketHandler<DatagramPacket>() {
+            @Override
+            public void receive(DatagramSocket localSocket, DatagramPacket packet) {
+                try {
+                    localSocket.send(new DatagramPacket(pong, pong.length, packet.getSocketAddress()));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+
+        final int port = SocketUtils.findAvailableUdpPort(12999);
+        BatchUDPReceiver receiver = newReceiver(port, packetHandler);
+        receiver.start();
+        try (DatagramSocket client = new DatagramSocket()) {
+            client.setSoTimeout(10000);
+            // replies must come from the receiving port
+            client.connect(new InetSocketAddress(ADDRESS, port));
+            client.send(new DatagramPacket(new byte[1], 1));
+
+            DatagramPacket response = new DatagramPacket(new byte[16], 16);
+            client.receive(response);
+            Assert.assertEquals("pong", new String(response.getData(), 0, response.getLength(), StandardCharsets.UTF_8));
+        } finally {
+            receiver.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private BatchUDPReceiver newReceiver(int port, PacketHandler<DatagramPacket> packetHandler) {
+        PacketHandlerFactory<DatagramPacket> packetHandlerFactory = mock(PacketHandlerFactory.class);
+        when(packetHandlerFactory.createPacketHandler()).thenReturn(packetHandler);
+        ObjectPool<DatagramPacket> pool = new DefaultObjectPool<>(new DatagramPacketFactory(), 10);
+        InetSocketAddress bindAddress = new InetSocketAddress(ADDRESS, port);
+        return new BatchUDPReceiver("test", packetHandlerFactory, MoreExecutors.directExecutor(), 1024 * 64, bindAddress, null, pool, 16);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.dao.AgentStatRollupDao;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class AgentStatRollupServiceTest {
+
+    @Test
+    public void save() {
+        AgentStatRollupDao dao = mock(AgentStatRollupDao.class);
+        AgentStatRollupService service = new AgentStatRollupService(dao, true);
+
+        service.save(newAgentStatBo(0.25, CpuLoadBo.UNCOLLECTED_VALUE));
+
+        verify(dao).update("agent", AgentStatRollupType.CPU_LOAD, 0, 1000L, 0.25);
+        // uncollected values are skipped like the samplers of the web
+        verify(dao, never()).update(anyString(), eq(AgentStatRollupType.CPU_LOAD), eq(1), anyLong(), anyDouble());
+    }
+
+    @Test
+    public void disabled() {
+        AgentStatRollupDao dao = mock(AgentStatRollupDao.class);
+        AgentStatRollupService service = new AgentStatRollupService(dao, false);
+
+        service.save(newAgentStatBo(0.25, 0.5));
+        service.flushAll();
+
+        verifyZeroInteractions(dao);
+    }
+
+    private AgentStatBo newAgentStatBo(double jvmCpuLoad, double systemCpuLoad) {
+        CpuLoadBo cpuLoadBo = new CpuLoadBo();
+        cpuLoadBo.setAgentId("agent");
+        cpuLoadBo.setTimestamp(1000L);
+        cpuLoadBo.setJvmCpuLoad(jvmCpuLoad);
+        cpuLoadBo.setSystemCpuLoad(systemCpuLoad);
+
+        AgentStatBo agentStatBo = new AgentStatBo();
+        agentStatBo.setAgentId("agent");
+        agentStatBo.setCpuLoadBos(Collections.singletonList(cpuLoadBo));
+        return agentStatBo;
+    }
+}
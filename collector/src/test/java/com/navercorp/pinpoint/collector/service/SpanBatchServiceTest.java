@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class SpanBatchServiceTest {
+
+    @Test
+    public void disabled() {
+        TraceService traceService = mock(TraceService.class);
+        SpanBatchService spanBatchService = new SpanBatchService(traceService, false, 1, 10, 10, 1024 * 1024, 10);
+        spanBatchService.start();
+
+        SpanBo spanBo = new SpanBo();
+        spanBatchService.insertSpan(spanBo);
+        verify(traceService).insertSpan(spanBo);
+        verify(traceService, never()).insertSpanList(anyList());
+
+        spanBatchService.stop();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void batch() {
+        TraceService traceService = mock(TraceService.class);
+        SpanBatchService spanBatchService = new SpanBatchService(traceService, true, 1, 100, 1000, 1024 * 1024, 1000);
+        spanBatchService.start();
+
+        for (int i = 0; i < 10; i++) {
+            spanBatchService.insertSpan(new SpanBo());
+        }
+        spanBatchService.insertSpanChunk(new SpanChunkBo());
+        spanBatchService.stop();
+
+        ArgumentCaptor<List<SpanBo>> spanCaptor = ArgumentCaptor.forClass(List.class);
+        verify(traceService, atLeastOnce()).insertSpanList(spanCaptor.capture());
+        int spanCount = 0;
+        for (List<SpanBo> spanList : spanCaptor.getAllValues()) {
+            spanCount += spanList.size();
+        }
+        Assert.assertEquals(10, spanCount);
+        verify(traceService, atLeastOnce()).insertSpanChunkList(anyList());
+        verify(traceService, never()).insertSpan(any(SpanBo.class));
+
+        Assert.assertEquals(0, spanBatchService.getInFlightBytes());
+        Assert.assertEquals(11, spanBatchService.getBatchedSpanCount());
+    }
+
+    @Test
+    public void callerRuns() throws Exception {
+        TraceService traceService = mock(TraceService.class);
+        // writer is blocked by the first batch
+        final Object lock = new Object();
+        Mockito.doAnswer(invocation -> {
+            synchronized (lock) {
+                lock.wait(3000);
+            }
+            return null;
+        }).when(traceService).insertSpanList(anyList());
+
+        SpanBatchService spanBatchService = new SpanBatchService(traceService, true, 1, 1, 0, SpanBatchService.SPAN_BYTES, 10);
+        spanBatchService.start();
+
+        spanBatchService.insertSpan(new SpanBo());
+        // in flight bytes are exhausted
+        SpanBo callerRunsSpan = new SpanBo();
+        spanBatchService.insertSpan(callerRunsSpan);
+        verify(traceService).insertSpan(callerRunsSpan);
+        Assert.assertEquals(1, spanBatchService.getCallerRunsCount());
+
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        spanBatchService.stop();
+    }
+
+    @Test
+    public void failedBatch() {
+        TraceService traceService = mock(TraceService.class);
+        Mockito.doThrow(new IllegalStateException("test")).when(traceService).insertSpanList(anyList());
+
+        SpanBatchService spanBatchService = new SpanBatchService(traceService, true, 1, 100, 1000, 1024 * 1024, 1000);
+        spanBatchService.start();
+        for (int i = 0; i < 3; i++) {
+            spanBatchService.insertSpan(new SpanBo());
+        }
+        spanBatchService.stop();
+
+        Assert.assertEquals(3, spanBatchService.getFailedSpanCount());
+        Assert.assertEquals(0, spanBatchService.getBatchedSpanCount());
+        Assert.assertEquals(0, spanBatchService.getInFlightBytes());
+    }
+
+    @Test
+    public void insertAfterStop() {
+        TraceService traceService = mock(TraceService.class);
+        SpanBatchService spanBatchService = new SpanBatchService(traceService, true, 1, 100, 1000, 1024 * 1024, 1000);
+        spanBatchService.start();
+        spanBatchService.stop();
+
+        SpanBo spanBo = new SpanBo();
+        spanBatchService.insertSpan(spanBo);
+        verify(traceService).insertSpan(spanBo);
+        Assert.assertEquals(0, spanBatchService.getInFlightBytes());
+    }
+}
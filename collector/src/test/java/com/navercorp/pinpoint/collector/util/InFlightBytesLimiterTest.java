@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class InFlightBytesLimiterTest {
+
+    @Test
+    public void acquireAndRelease() throws Exception {
+        InFlightBytesLimiter limiter = new InFlightBytesLimiter(100);
+        Assert.assertTrue(limiter.tryAcquire(60, 0, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(limiter.tryAcquire(60, 10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(60, limiter.getInFlightBytes());
+
+        limiter.release(60);
+        Assert.assertTrue(limiter.tryAcquire(60, 0, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(limiter.tryAcquire(40, 0, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(100, limiter.getInFlightBytes());
+    }
+
+    @Test
+    public void oversized() throws Exception {
+        InFlightBytesLimiter limiter = new InFlightBytesLimiter(100);
+        Assert.assertTrue("nothing in flight", limiter.tryAcquire(1000, 0, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(limiter.tryAcquire(1, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void blockUntilRelease() throws Exception {
+        final InFlightBytesLimiter limiter = new InFlightBytesLimiter(100);
+        Assert.assertTrue(limiter.tryAcquire(100, 0, TimeUnit.MILLISECONDS));
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean acquired = new AtomicBoolean();
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    acquired.set(limiter.tryAcquire(50, 5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        producer.start();
+        started.await();
+
+        limiter.release(100);
+        producer.join(5000);
+        Assert.assertTrue(acquired.get());
+        Assert.assertEquals(50, limiter.getInFlightBytes());
+    }
+}
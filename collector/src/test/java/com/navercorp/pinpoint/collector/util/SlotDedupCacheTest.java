@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class SlotDedupCacheTest {
+
+    private static final long SLOT = TimeUnit.MINUTES.toMillis(1);
+
+    @Test
+    public void update() {
+        SlotDedupCache cache = new SlotDedupCache(1024);
+        final long key = SlotDedupCache.finish(SlotDedupCache.hash(SlotDedupCache.newHash(), "key"));
+        final long slotTime = 1000 * SLOT;
+
+        Assert.assertTrue(cache.update(key, slotTime));
+        Assert.assertFalse(cache.update(key, slotTime));
+
+        // next slot
+        Assert.assertTrue(cache.update(key, slotTime + SLOT));
+        Assert.assertFalse(cache.update(key, slotTime + SLOT));
+
+        // late data of the previous slot
+        Assert.assertFalse(cache.update(key, slotTime));
+
+        Assert.assertEquals(3, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void update_differentKey() {
+        SlotDedupCache cache = new SlotDedupCache(1024);
+        final long slotTime = 1000 * SLOT;
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(cache.update(newKey(i), slotTime));
+        }
+        for (int i = 0; i < 100; i++) {
+            Assert.assertFalse(cache.update(newKey(i), slotTime));
+        }
+    }
+
+    @Test
+    public void evict() {
+        // single set
+        SlotDedupCache cache = new SlotDedupCache(SlotDedupCache.WAYS);
+        Assert.assertEquals(SlotDedupCache.WAYS, cache.getCapacity());
+
+        final long slotTime = 1000 * SLOT;
+        for (int i = 0; i < SlotDedupCache.WAYS; i++) {
+            Assert.assertTrue(cache.update(newKey(i), slotTime + i * SLOT));
+        }
+        // the oldest generation is evicted
+        Assert.assertTrue(cache.update(newKey(100), slotTime + 10 * SLOT));
+        Assert.assertEquals(1, cache.getEvictCount());
+        Assert.assertTrue(cache.update(newKey(0), slotTime));
+        Assert.assertFalse(cache.update(newKey(SlotDedupCache.WAYS - 1), slotTime + (SlotDedupCache.WAYS - 1) * SLOT));
+    }
+
+    @Test
+    public void compareGeneration() {
+        final long maxGeneration = (1L << SlotDedupCache.GENERATION_BITS) - 1;
+        Assert.assertTrue(SlotDedupCache.compareGeneration(2, 1) > 0);
+        Assert.assertTrue(SlotDedupCache.compareGeneration(1, 2) < 0);
+        Assert.assertEquals(0, SlotDedupCache.compareGeneration(5, 5));
+        // wrap around
+        Assert.assertTrue(SlotDedupCache.compareGeneration(0, maxGeneration) > 0);
+    }
+
+    @Test
+    public void hash() {
+        long hash1 = SlotDedupCache.hash(SlotDedupCache.hash(SlotDedupCache.newHash(), "ab"), "c");
+        long hash2 = SlotDedupCache.hash(SlotDedupCache.hash(SlotDedupCache.newHash(), "a"), "bc");
+        Assert.assertNotEquals(hash1, hash2);
+
+        long nullHash = SlotDedupCache.hash(SlotDedupCache.newHash(), (String) null);
+        long emptyHash = SlotDedupCache.hash(SlotDedupCache.newHash(), "");
+        Assert.assertNotEquals(nullHash, emptyHash);
+    }
+
+    private long newKey(int i) {
+        // same set for the single set cache
+        return SlotDedupCache.finish(SlotDedupCache.hash(SlotDedupCache.newHash(), i));
+    }
+}
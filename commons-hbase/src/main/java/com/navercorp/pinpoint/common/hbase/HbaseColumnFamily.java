@@ -63,6 +63,13 @@ public class HbaseColumnFamily {
         }
     }
 
+    public static final AgentStatRollup AGENT_STAT_ROLLUP_STATISTICS = new AgentStatRollup(HbaseTable.AGENT_STAT_ROLLUP, Bytes.toBytes("S"));
+    public static class AgentStatRollup extends HbaseColumnFamily {
+        private AgentStatRollup(HbaseTable hBaseTable, byte[] columnFamilyName) {
+            super(hBaseTable, columnFamilyName);
+        }
+    }
+
     public static final ApiMetadata API_METADATA_API = new ApiMetadata(HbaseTable.API_METADATA, Bytes.toBytes("Api"));
     public static class ApiMetadata extends HbaseColumnFamily {
         public byte[] QUALIFIER_SIGNATURE = Bytes.toBytes("P_api_signature");
@@ -125,6 +132,13 @@ public class HbaseColumnFamily {
         }
     }
 
+    public static final ScatterHeatmap SCATTER_HEATMAP_COUNTER = new ScatterHeatmap(HbaseTable.SCATTER_HEATMAP, Bytes.toBytes("C"));
+    public static class ScatterHeatmap extends HbaseColumnFamily {
+        private ScatterHeatmap(HbaseTable hBaseTable, byte[] columnFamilyName) {
+            super(hBaseTable, columnFamilyName);
+        }
+    }
+
 
     public static final SqlMetadataV2 SQL_METADATA_VER2_SQL = new SqlMetadataV2(HbaseTable.SQL_METADATA_VER2, Bytes.toBytes("Sql"));
     public static class SqlMetadataV2 extends HbaseColumnFamily {
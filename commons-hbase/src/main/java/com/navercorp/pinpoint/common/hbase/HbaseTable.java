@@ -26,6 +26,7 @@ public enum HbaseTable {
     AGENT_EVENT("AgentEvent"),
     AGENT_LIFECYCLE("AgentLifeCycle"),
     AGENT_STAT_VER2("AgentStatV2"),
+    AGENT_STAT_ROLLUP("AgentStatRollup"),
     API_METADATA("ApiMetaData"),
     APPLICATION_INDEX("ApplicationIndex"),
     APPLICATION_STAT_AGGRE("ApplicationStatAggre"),
@@ -34,6 +35,7 @@ public enum HbaseTable {
     MAP_STATISTICS_CALLEE_VER2("ApplicationMapStatisticsCallee_Ver2"),
     MAP_STATISTICS_CALLER_VER2("ApplicationMapStatisticsCaller_Ver2"),
     MAP_STATISTICS_SELF_VER2("ApplicationMapStatisticsSelf_Ver2"),
+    SCATTER_HEATMAP("ScatterHeatmap"),
     SQL_METADATA_VER2("SqlMetaData_Ver2"),
     STRING_METADATA("StringMetaData"),
     TRACE_V2("TraceV2");
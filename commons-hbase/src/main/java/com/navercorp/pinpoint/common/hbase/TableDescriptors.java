@@ -78,6 +78,14 @@ public class TableDescriptors {
         return new DefaultTableDescriptor<>(tableNameProvider, HbaseColumnFamily.MAP_STATISTICS_SELF_VER2_COUNTER);
     }
 
+    public TableDescriptor<HbaseColumnFamily.AgentStatRollup> getAgentStatRollup() {
+        return new DefaultTableDescriptor<>(tableNameProvider, HbaseColumnFamily.AGENT_STAT_ROLLUP_STATISTICS);
+    }
+
+    public TableDescriptor<HbaseColumnFamily.ScatterHeatmap> getScatterHeatmap() {
+        return new DefaultTableDescriptor<>(tableNameProvider, HbaseColumnFamily.SCATTER_HEATMAP_COUNTER);
+    }
+
     public TableDescriptor<HbaseColumnFamily.SqlMetadataV2> getSqlMetadataV2() {
         return new DefaultTableDescriptor<>(tableNameProvider, HbaseColumnFamily.SQL_METADATA_VER2_SQL);
     }
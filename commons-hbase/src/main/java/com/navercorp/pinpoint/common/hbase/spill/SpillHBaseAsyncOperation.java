@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import com.navercorp.pinpoint.common.hbase.HBaseAsyncOperation;
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.util.CollectionUtils;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link HBaseAsyncOperation} that writes the puts rejected by the delegate to a {@link SpillLog}
+ * and replays them when the delegate accepts puts again.
+ * A rejected put is reported as accepted if it is spilled.
+ */
+public class SpillHBaseAsyncOperation implements HBaseAsyncOperation, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final HBaseAsyncOperation delegate;
+    private final SpillLog spillLog;
+    private final int replayBatchSize;
+
+    private final ScheduledExecutorService replayExecutor;
+
+    private final LongAdder spillCount = new LongAdder();
+    private long lastRejectedCount;
+
+    public SpillHBaseAsyncOperation(HBaseAsyncOperation delegate, SpillLog spillLog, long replayIntervalMillis, int replayBatchSize) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.spillLog = Objects.requireNonNull(spillLog, "spillLog");
+        if (replayIntervalMillis <= 0) {
+            throw new IllegalArgumentException("replayIntervalMillis must be 'replayIntervalMillis > 0'");
+        }
+        if (replayBatchSize <= 0) {
+            throw new IllegalArgumentException("replayBatchSize must be 'replayBatchSize > 0'");
+        }
+        this.replayBatchSize = replayBatchSize;
+        this.lastRejectedCount = delegate.getOpsRejectedCount();
+
+        this.replayExecutor = Executors.newSingleThreadScheduledExecutor(new PinpointThreadFactory("Pinpoint-HBaseSpillReplayer", true));
+        this.replayExecutor.scheduleWithFixedDelay(this::replay, replayIntervalMillis, replayIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    @Override
+    public boolean put(TableName tableName, Put put) {
+        if (delegate.put(tableName, put)) {
+            return true;
+        }
+        return spill(tableName, put);
+    }
+
+    @Override
+    public List<Put> put(TableName tableName, List<Put> puts) {
+        final List<Put> rejectPuts = delegate.put(tableName, puts);
+        if (CollectionUtils.isEmpty(rejectPuts)) {
+            return rejectPuts;
+        }
+        final List<Put> dropPuts = new ArrayList<>();
+        for (Put rejectPut : rejectPuts) {
+            if (!spill(tableName, rejectPut)) {
+                dropPuts.add(rejectPut);
+            }
+        }
+        return dropPuts;
+    }
+
+    private boolean spill(TableName tableName, Put put) {
+        final boolean spilled = spillLog.append(tableName, put);
+        if (spilled) {
+            spillCount.increment();
+        }
+        return spilled;
+    }
+
+    /**
+     * replay only if the delegate did not reject a put since the last replay
+     */
+    void replay() {
+        try {
+            final long rejectedCount = delegate.getOpsRejectedCount();
+            final boolean recovered = rejectedCount == lastRejectedCount;
+            this.lastRejectedCount = rejectedCount;
+            if (!recovered) {
+                return;
+            }
+            replay0();
+            // rejects of the replay itself are not a new stall
+            this.lastRejectedCount = delegate.getOpsRejectedCount();
+        } catch (Throwable th) {
+            logger.warn("spill replay fail. Caused:{}", th.getMessage(), th);
+        }
+    }
+
+    private void replay0() {
+        for (int i = 0; i < replayBatchSize; i++) {
+            final SpillRecord record = spillLog.peek();
+            if (record == null) {
+                return;
+            }
+            if (!delegate.put(record.getTableName(), record.getPut())) {
+                // still busy. retry the same record next time
+                return;
+            }
+            spillLog.advance();
+        }
+    }
+
+    public long getSpillCount() {
+        return spillCount.sum();
+    }
+
+    public long getSpillDropCount() {
+        return spillLog.getDropCount();
+    }
+
+    public long getSpillReplayCount() {
+        return spillLog.getReplayCount();
+    }
+
+    public long getSpillCorruptedCount() {
+        return spillLog.getCorruptedCount();
+    }
+
+    public int getSpillSegmentCount() {
+        return spillLog.getSegmentCount();
+    }
+
+    @Override
+    public Long getOpsCount() {
+        return delegate.getOpsCount();
+    }
+
+    @Override
+    public Long getOpsRejectedCount() {
+        return delegate.getOpsRejectedCount();
+    }
+
+    @Override
+    public Long getCurrentOpsCount() {
+        return delegate.getCurrentOpsCount();
+    }
+
+    @Override
+    public Long getOpsFailedCount() {
+        return delegate.getOpsFailedCount();
+    }
+
+    @Override
+    public Long getOpsAverageLatency() {
+        return delegate.getOpsAverageLatency();
+    }
+
+    @Override
+    public Map<String, Long> getCurrentOpsCountForEachRegionServer() {
+        return delegate.getCurrentOpsCountForEachRegionServer();
+    }
+
+    @Override
+    public Map<String, Long> getOpsFailedCountForEachRegionServer() {
+        return delegate.getOpsFailedCountForEachRegionServer();
+    }
+
+    @Override
+    public Map<String, Long> getOpsAverageLatencyForEachRegionServer() {
+        return delegate.getOpsAverageLatencyForEachRegionServer();
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("SpillHBaseAsyncOperation.destroy() spillCount:{}, segments:{}", getSpillCount(), getSpillSegmentCount());
+        replayExecutor.shutdown();
+        try {
+            replayExecutor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // not replayed puts are kept in the segment files
+        spillLog.flush();
+    }
+}
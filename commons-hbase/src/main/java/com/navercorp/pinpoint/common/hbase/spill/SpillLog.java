@@ -0,0 +1,309 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local append only log of the puts rejected by the async put path.
+ * Records are appended to a memory mapped active segment. A full segment is sealed and a new one is created.
+ * The total size of the segments is capped by maxBytes, puts beyond the cap are dropped.
+ * Segments are read in order by {@link #peek()}/{@link #advance()} and deleted when fully replayed.
+ * The active segment is read in place, the following appends go on filling it.
+ * A record with a crc mismatch is skipped and its segment is kept as a corrupted file.
+ * Segments left by a previous process are replayed after restart. (at least once)
+ */
+public class SpillLog {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final File directory;
+    private final int segmentSize;
+    private final long maxBytes;
+
+    private final Deque<SpillSegment> sealedSegments = new ArrayDeque<>();
+    private SpillSegment activeSegment;
+    private long nextSequence;
+
+    // may be the active segment
+    private SpillSegment readSegment;
+    private int readOffset;
+    private boolean readCorrupted;
+    private Cursor cursor;
+
+    private final LongAdder appendCount = new LongAdder();
+    private final LongAdder dropCount = new LongAdder();
+    private final LongAdder replayCount = new LongAdder();
+    private final LongAdder corruptedCount = new LongAdder();
+
+    public SpillLog(File directory, int segmentSize, long maxBytes) throws IOException {
+        this.directory = Objects.requireNonNull(directory, "directory");
+        if (segmentSize <= SpillSegment.RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize must be 'segmentSize > " + SpillSegment.RECORD_HEADER_SIZE + "'");
+        }
+        if (maxBytes < segmentSize) {
+            throw new IllegalArgumentException("maxBytes must be 'maxBytes >= segmentSize'");
+        }
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("spill directory create fail. " + directory);
+        }
+        recover();
+    }
+
+    private void recover() throws IOException {
+        final File[] files = directory.listFiles((dir, name) -> SpillSegment.isSegmentFile(name));
+        if (files == null) {
+            throw new IOException("spill directory list fail. " + directory);
+        }
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        long lastSequence = -1;
+        for (File file : files) {
+            final SpillSegment segment = SpillSegment.open(file);
+            sealedSegments.addLast(segment);
+            lastSequence = Math.max(lastSequence, segment.getSequence());
+        }
+        this.nextSequence = lastSequence + 1;
+        if (!sealedSegments.isEmpty()) {
+            logger.info("recover spill segments. directory:{}, segments:{}", directory, sealedSegments.size());
+        }
+    }
+
+    public boolean append(TableName tableName, Put put) {
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(put, "put");
+
+        final byte[] payload = SpillPutCodec.encode(tableName, put);
+        synchronized (this) {
+            try {
+                if (activeSegment == null || !activeSegment.hasRemaining(payload.length)) {
+                    if (!rotate(payload.length)) {
+                        dropCount.increment();
+                        return false;
+                    }
+                }
+                activeSegment.append(payload);
+                appendCount.increment();
+                return true;
+            } catch (IOException e) {
+                logger.warn("spill append fail. directory:{} Caused:{}", directory, e.getMessage(), e);
+                dropCount.increment();
+                return false;
+            }
+        }
+    }
+
+    private boolean rotate(int payloadSize) throws IOException {
+        if (SpillSegment.RECORD_HEADER_SIZE + payloadSize > segmentSize) {
+            logger.warn("put is larger than segmentSize. size:{}", payloadSize);
+            return false;
+        }
+        if ((long) (segmentCount() + 1) * segmentSize > maxBytes) {
+            return false;
+        }
+        seal();
+        this.activeSegment = SpillSegment.create(directory, nextSequence++, segmentSize);
+        return true;
+    }
+
+    private void seal() {
+        final SpillSegment active = this.activeSegment;
+        if (active == null) {
+            return;
+        }
+        active.flush();
+        if (active != readSegment) {
+            sealedSegments.addLast(active);
+        }
+        this.activeSegment = null;
+    }
+
+    /**
+     * @return the oldest record not replayed yet, or null if the log is empty
+     */
+    public synchronized SpillRecord peek() {
+        while (true) {
+            if (cursor != null) {
+                return cursor.record;
+            }
+            if (readSegment == null) {
+                if (!sealedSegments.isEmpty()) {
+                    readSegment = sealedSegments.pollFirst();
+                } else if (activeSegment != null && activeSegment.getWritePosition() > 0) {
+                    // replay the partially filled segment in place
+                    readSegment = activeSegment;
+                } else {
+                    return null;
+                }
+                readOffset = 0;
+                readCorrupted = false;
+            }
+
+            final int length = readSegment.readLength(readOffset);
+            if (length == 0) {
+                if (readSegment == activeSegment) {
+                    // caught up with the appends
+                    return null;
+                }
+                closeReadSegment();
+                continue;
+            }
+            if (length < 0) {
+                // the following records can not be located
+                logger.warn("corrupted spill record length, skip the rest of the segment. segment:{}, offset:{}", readSegment, readOffset);
+                corruptedCount.increment();
+                readCorrupted = true;
+                if (readSegment == activeSegment) {
+                    seal();
+                }
+                closeReadSegment();
+                continue;
+            }
+            final int nextOffset = SpillSegment.nextOffset(readOffset, length);
+            final ByteBuffer payload = readSegment.readPayload(readOffset, length);
+            if (payload == null) {
+                logger.warn("spill record crc mismatch, skip the record. segment:{}, offset:{}", readSegment, readOffset);
+                corruptedCount.increment();
+                readCorrupted = true;
+                readOffset = nextOffset;
+                continue;
+            }
+            try {
+                this.cursor = new Cursor(SpillPutCodec.decode(payload), nextOffset);
+            } catch (RuntimeException e) {
+                logger.warn("invalid spill record. segment:{}, offset:{}", readSegment, readOffset, e);
+                readOffset = nextOffset;
+            }
+        }
+    }
+
+    /**
+     * skip the record returned by {@link #peek()}
+     */
+    public synchronized void advance() {
+        final Cursor cursor = this.cursor;
+        if (cursor == null) {
+            return;
+        }
+        this.readOffset = cursor.nextOffset;
+        this.cursor = null;
+        replayCount.increment();
+    }
+
+    private void closeReadSegment() {
+        final SpillSegment segment = this.readSegment;
+        final boolean corrupted = this.readCorrupted;
+        this.readSegment = null;
+        this.readOffset = 0;
+        this.readCorrupted = false;
+        if (corrupted) {
+            if (segment.keepCorrupted()) {
+                logger.warn("corrupted spill segment is kept. {}{}", segment.getFile(), SpillSegment.CORRUPTED_SUFFIX);
+            } else {
+                logger.warn("corrupted spill segment rename fail. {}", segment.getFile());
+            }
+            return;
+        }
+        if (!segment.delete()) {
+            logger.warn("spill segment delete fail. {}", segment.getFile());
+        }
+    }
+
+    public synchronized void flush() {
+        if (activeSegment != null) {
+            activeSegment.flush();
+        }
+    }
+
+    public synchronized int getSegmentCount() {
+        return segmentCount();
+    }
+
+    private int segmentCount() {
+        final boolean readSealed = readSegment != null && readSegment != activeSegment;
+        return sealedSegments.size() + (readSealed ? 1 : 0) + (activeSegment != null ? 1 : 0);
+    }
+
+    public synchronized boolean isEmpty() {
+        if (cursor != null || !sealedSegments.isEmpty()) {
+            return false;
+        }
+        if (readSegment != null && readSegment != activeSegment) {
+            return false;
+        }
+        if (activeSegment == null) {
+            return true;
+        }
+        final int replayedPosition = readSegment == activeSegment ? readOffset : 0;
+        return activeSegment.getWritePosition() == replayedPosition;
+    }
+
+    public long getAppendCount() {
+        return appendCount.sum();
+    }
+
+    public long getDropCount() {
+        return dropCount.sum();
+    }
+
+    public long getReplayCount() {
+        return replayCount.sum();
+    }
+
+    public long getCorruptedCount() {
+        return corruptedCount.sum();
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    private static class Cursor {
+        private final SpillRecord record;
+        private final int nextOffset;
+
+        private Cursor(SpillRecord record, int nextOffset) {
+            this.record = record;
+            this.nextOffset = nextOffset;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpillLog{" +
+                "directory=" + directory +
+                ", segmentSize=" + segmentSize +
+                ", maxBytes=" + maxBytes +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Binary format of a spilled {@link Put}.
+ * <pre>
+ * tableName(int length + bytes) row(int length + bytes) cellCount(int)
+ * cell : family(int length + bytes) qualifier(int length + bytes) timestamp(long) value(int length + bytes)
+ * </pre>
+ * Only the cells are kept. attributes, durability and ttl of the Put are not spilled.
+ */
+public final class SpillPutCodec {
+
+    private SpillPutCodec() {
+    }
+
+    public static byte[] encode(TableName tableName, Put put) {
+        final byte[] tableNameBytes = tableName.getName();
+        final byte[] row = put.getRow();
+        final NavigableMap<byte[], List<Cell>> familyCellMap = put.getFamilyCellMap();
+
+        int size = 4 + tableNameBytes.length + 4 + row.length + 4;
+        int cellCount = 0;
+        for (List<Cell> cells : familyCellMap.values()) {
+            for (Cell cell : cells) {
+                size += 4 + cell.getFamilyLength() + 4 + cell.getQualifierLength() + 8 + 4 + cell.getValueLength();
+                cellCount++;
+            }
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        putBytes(buffer, tableNameBytes);
+        putBytes(buffer, row);
+        buffer.putInt(cellCount);
+        for (Map.Entry<byte[], List<Cell>> entry : familyCellMap.entrySet()) {
+            for (Cell cell : entry.getValue()) {
+                putBytes(buffer, CellUtil.cloneFamily(cell));
+                putBytes(buffer, CellUtil.cloneQualifier(cell));
+                buffer.putLong(cell.getTimestamp());
+                putBytes(buffer, CellUtil.cloneValue(cell));
+            }
+        }
+        return buffer.array();
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    public static SpillRecord decode(ByteBuffer buffer) {
+        final TableName tableName = TableName.valueOf(getBytes(buffer));
+        final Put put = new Put(getBytes(buffer));
+        final int cellCount = buffer.getInt();
+        for (int i = 0; i < cellCount; i++) {
+            final byte[] family = getBytes(buffer);
+            final byte[] qualifier = getBytes(buffer);
+            final long timestamp = buffer.getLong();
+            final byte[] value = getBytes(buffer);
+            put.addColumn(family, qualifier, timestamp, value);
+        }
+        return new SpillRecord(tableName, put);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("invalid length:" + length);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.util.Objects;
+
+/**
+ * A {@link Put} read back from the {@link SpillLog}
+ */
+public class SpillRecord {
+
+    private final TableName tableName;
+    private final Put put;
+
+    public SpillRecord(TableName tableName, Put put) {
+        this.tableName = Objects.requireNonNull(tableName, "tableName");
+        this.put = Objects.requireNonNull(put, "put");
+    }
+
+    public TableName getTableName() {
+        return tableName;
+    }
+
+    public Put getPut() {
+        return put;
+    }
+
+    @Override
+    public String toString() {
+        return "SpillRecord{" +
+                "tableName=" + tableName +
+                ", put=" + put +
+                '}';
+    }
+}
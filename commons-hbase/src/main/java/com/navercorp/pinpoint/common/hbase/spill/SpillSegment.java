@@ -0,0 +1,189 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Memory mapped append only file of the {@link SpillLog}.
+ * <pre>
+ * record : length(int) crc32(int) payload
+ * </pre>
+ * The file is zero filled by the mapping, a zero length marks the end of the segment.
+ * A segment with a corrupted record is kept as a {@value #CORRUPTED_SUFFIX} file for inspection.
+ */
+class SpillSegment {
+
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private static final String PREFIX = "spill-";
+    private static final String SUFFIX = ".log";
+    static final String CORRUPTED_SUFFIX = ".corrupted";
+
+    private final long sequence;
+    private final File file;
+    private final int capacity;
+    private MappedByteBuffer buffer;
+
+    private SpillSegment(long sequence, File file, int capacity, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.file = file;
+        this.capacity = capacity;
+        this.buffer = buffer;
+    }
+
+    static SpillSegment create(File directory, long sequence, int capacity) throws IOException {
+        final File file = new File(directory, fileName(sequence));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            return new SpillSegment(sequence, file, capacity, buffer);
+        }
+    }
+
+    static SpillSegment open(File file) throws IOException {
+        final long sequence = parseSequence(file.getName());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            final int capacity = (int) Math.min(channel.size(), Integer.MAX_VALUE);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, capacity);
+            return new SpillSegment(sequence, file, capacity, buffer);
+        }
+    }
+
+    static String fileName(long sequence) {
+        return String.format("%s%020d%s", PREFIX, sequence, SUFFIX);
+    }
+
+    static boolean isSegmentFile(String fileName) {
+        return fileName.startsWith(PREFIX) && fileName.endsWith(SUFFIX) && parseSequence(fileName) >= 0;
+    }
+
+    static long parseSequence(String fileName) {
+        final String sequence = fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length());
+        try {
+            return Long.parseLong(sequence);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    boolean hasRemaining(int payloadSize) {
+        return buffer.remaining() >= RECORD_HEADER_SIZE + payloadSize;
+    }
+
+    int getWritePosition() {
+        return buffer.position();
+    }
+
+    void append(byte[] payload) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(payload, 0, payload.length);
+        final int position = buffer.position();
+        // write the length last. a torn record is read as the end of the segment
+        buffer.position(position + 4);
+        buffer.putInt((int) crc32.getValue());
+        buffer.put(payload);
+        buffer.putInt(position, payload.length);
+    }
+
+    /**
+     * @return payload length of the record at the offset, 0 at the end of the segment, or -1 if the length is corrupted
+     */
+    int readLength(int offset) {
+        if (offset + RECORD_HEADER_SIZE > capacity) {
+            return 0;
+        }
+        final int length = buffer.getInt(offset);
+        if (length == 0) {
+            return 0;
+        }
+        if (length < 0 || offset + RECORD_HEADER_SIZE + length > capacity) {
+            return -1;
+        }
+        return length;
+    }
+
+    /**
+     * @param length see {@link #readLength(int)}
+     * @return payload of the record, or null if the crc does not match
+     */
+    ByteBuffer readPayload(int offset, int length) {
+        final int crc = buffer.getInt(offset + 4);
+        final ByteBuffer payload = buffer.duplicate();
+        payload.position(offset + RECORD_HEADER_SIZE);
+        payload.limit(offset + RECORD_HEADER_SIZE + length);
+        final byte[] bytes = new byte[length];
+        payload.get(bytes);
+
+        final CRC32 crc32 = new CRC32();
+        crc32.update(bytes, 0, bytes.length);
+        if ((int) crc32.getValue() != crc) {
+            return null;
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    static int nextOffset(int offset, int length) {
+        return offset + RECORD_HEADER_SIZE + length;
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    boolean delete() {
+        // the mapping is released by gc
+        this.buffer = null;
+        return file.delete();
+    }
+
+    /**
+     * rename the file so that it is not replayed again
+     */
+    boolean keepCorrupted() {
+        this.buffer = null;
+        return file.renameTo(new File(file.getParentFile(), file.getName() + CORRUPTED_SUFFIX));
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return "SpillSegment{" +
+                "file=" + file +
+                ", capacity=" + capacity +
+                '}';
+    }
+}
@@ -60,6 +60,13 @@ public class HbaseTableTest {
         Assert.assertEquals(5 * 60 * 1000, agentStatStatistics.TIMESPAN_MS);
     }
 
+    @Test
+    public void agentStatRollupStatisticsTest() {
+        HbaseColumnFamily agentStatRollupStatistics = HbaseColumnFamily.AGENT_STAT_ROLLUP_STATISTICS;
+        Assert.assertTrue(Arrays.equals(Bytes.toBytes("S"), agentStatRollupStatistics.getName()));
+        Assert.assertEquals("AgentStatRollup", agentStatRollupStatistics.getTable().getName());
+    }
+
     @Test
     public void apiMetadataApiTest() {
         HbaseColumnFamily.ApiMetadata apiMetadataApi = HbaseColumnFamily.API_METADATA_API;
@@ -119,6 +126,13 @@ public class HbaseTableTest {
         Assert.assertEquals("ApplicationMapStatisticsSelf_Ver2", mapStatisticsSelfVer2Counter.getTable().getName());
     }
 
+    @Test
+    public void scatterHeatmapCounterTest() {
+        HbaseColumnFamily scatterHeatmapCounter = HbaseColumnFamily.SCATTER_HEATMAP_COUNTER;
+        Assert.assertTrue(Arrays.equals(Bytes.toBytes("C"), scatterHeatmapCounter.getName()));
+        Assert.assertEquals("ScatterHeatmap", scatterHeatmapCounter.getTable().getName());
+    }
+
     @Test
     public void sqlMetadataVer2SqlTest() {
         HbaseColumnFamily.SqlMetadataV2 sqlMetadataVer2Sql = HbaseColumnFamily.SQL_METADATA_VER2_SQL;
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import com.navercorp.pinpoint.common.hbase.HBaseAsyncOperation;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SpillHBaseAsyncOperationTest {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("TraceV2");
+    private static final byte[] FAMILY = Bytes.toBytes("S");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void spillAndReplay() throws Exception {
+        HBaseAsyncOperation delegate = mock(HBaseAsyncOperation.class);
+        when(delegate.getOpsRejectedCount()).thenReturn(0L);
+        SpillLog spillLog = new SpillLog(temporaryFolder.newFolder(), 1024, 1024 * 4);
+        SpillHBaseAsyncOperation operation = new SpillHBaseAsyncOperation(delegate, spillLog, 1000 * 60, 100);
+        try {
+            // rejected
+            when(delegate.put(any(TableName.class), any(Put.class))).thenReturn(false);
+            Put put = newPut("row1");
+            Assert.assertTrue(operation.put(TABLE_NAME, put));
+
+            List<Put> puts = Arrays.asList(newPut("row2"), newPut("row3"));
+            when(delegate.put(any(TableName.class), any(List.class))).thenReturn(puts);
+            Assert.assertTrue(operation.put(TABLE_NAME, puts).isEmpty());
+            Assert.assertEquals(3, operation.getSpillCount());
+
+            // still busy
+            when(delegate.getOpsRejectedCount()).thenReturn(3L);
+            operation.replay();
+            Assert.assertEquals(0, operation.getSpillReplayCount());
+
+            // recovered
+            when(delegate.put(any(TableName.class), any(Put.class))).thenReturn(true);
+            operation.replay();
+            Assert.assertEquals(3, operation.getSpillReplayCount());
+            Assert.assertTrue(spillLog.isEmpty());
+        } finally {
+            operation.destroy();
+        }
+    }
+
+    private Put newPut(String row) {
+        Put put = new Put(Bytes.toBytes(row));
+        put.addColumn(FAMILY, Bytes.toBytes("q"), Bytes.toBytes("value"));
+        return put;
+    }
+}
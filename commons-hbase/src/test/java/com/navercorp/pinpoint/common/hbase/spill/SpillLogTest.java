@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+public class SpillLogTest {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("TraceV2");
+    private static final byte[] FAMILY = Bytes.toBytes("S");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void appendAndReplay() throws Exception {
+        SpillLog spillLog = new SpillLog(temporaryFolder.newFolder(), 1024, 1024 * 8);
+        Assert.assertNull(spillLog.peek());
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(spillLog.append(TABLE_NAME, newPut(i)));
+        }
+        for (int i = 0; i < 10; i++) {
+            SpillRecord record = spillLog.peek();
+            Assert.assertNotNull(record);
+            // not advanced yet
+            Assert.assertSame(record, spillLog.peek());
+            assertPut(record, i);
+            spillLog.advance();
+        }
+        Assert.assertNull(spillLog.peek());
+        Assert.assertTrue(spillLog.isEmpty());
+        Assert.assertEquals(10, spillLog.getReplayCount());
+    }
+
+    @Test
+    public void rotateAndCap() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        SpillLog spillLog = new SpillLog(directory, 256, 256 * 3);
+
+        int appendCount = 0;
+        while (spillLog.append(TABLE_NAME, newPut(appendCount))) {
+            appendCount++;
+        }
+        Assert.assertEquals(3, spillLog.getSegmentCount());
+        Assert.assertEquals(3, segmentFiles(directory).length);
+        Assert.assertEquals(1, spillLog.getDropCount());
+
+        for (int i = 0; i < appendCount; i++) {
+            assertPut(spillLog.peek(), i);
+            spillLog.advance();
+        }
+        Assert.assertNull(spillLog.peek());
+        Assert.assertEquals("replayed segments are deleted except the active one", 1, segmentFiles(directory).length);
+        Assert.assertTrue(spillLog.append(TABLE_NAME, newPut(0)));
+    }
+
+    @Test
+    public void replayActiveSegmentInPlace() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        SpillLog spillLog = new SpillLog(directory, 1024, 1024 * 2);
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(spillLog.append(TABLE_NAME, newPut(i)));
+            assertPut(spillLog.peek(), i);
+            spillLog.advance();
+            Assert.assertNull(spillLog.peek());
+            Assert.assertTrue(spillLog.isEmpty());
+        }
+        Assert.assertEquals("replay does not seal the active segment", 1, spillLog.getSegmentCount());
+        Assert.assertEquals(1, segmentFiles(directory).length);
+        Assert.assertEquals(0, spillLog.getDropCount());
+    }
+
+    @Test
+    public void skipCorruptedRecord() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        SpillLog spillLog = new SpillLog(directory, 1024, 1024 * 2);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(spillLog.append(TABLE_NAME, newPut(i)));
+        }
+        spillLog.flush();
+
+        File[] files = segmentFiles(directory);
+        Assert.assertEquals(1, files.length);
+        try (RandomAccessFile file = new RandomAccessFile(files[0], "rw")) {
+            // flip the crc of the second record
+            final int secondOffset = SpillSegment.RECORD_HEADER_SIZE + file.readInt();
+            file.seek(secondOffset + 4);
+            final int crc = file.readInt();
+            file.seek(secondOffset + 4);
+            file.writeInt(~crc);
+        }
+
+        SpillLog recovered = new SpillLog(directory, 1024, 1024 * 2);
+        assertPut(recovered.peek(), 0);
+        recovered.advance();
+        assertPut(recovered.peek(), 2);
+        recovered.advance();
+        Assert.assertNull(recovered.peek());
+        Assert.assertEquals(1, recovered.getCorruptedCount());
+
+        Assert.assertEquals(0, segmentFiles(directory).length);
+        File[] corrupted = directory.listFiles((dir, name) -> name.endsWith(SpillSegment.CORRUPTED_SUFFIX));
+        Assert.assertEquals("corrupted segment is kept", 1, corrupted.length);
+    }
+
+    @Test
+    public void recover() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        SpillLog spillLog = new SpillLog(directory, 256, 256 * 8);
+        for (int i = 0; i < 8; i++) {
+            Assert.assertTrue(spillLog.append(TABLE_NAME, newPut(i)));
+        }
+        spillLog.flush();
+
+        SpillLog recovered = new SpillLog(directory, 256, 256 * 8);
+        for (int i = 0; i < 8; i++) {
+            assertPut(recovered.peek(), i);
+            recovered.advance();
+        }
+        Assert.assertNull(recovered.peek());
+
+        Assert.assertTrue(recovered.append(TABLE_NAME, newPut(100)));
+        assertPut(recovered.peek(), 100);
+    }
+
+    @Test
+    public void tooLarge() throws Exception {
+        SpillLog spillLog = new SpillLog(temporaryFolder.newFolder(), 64, 64 * 4);
+        Put put = new Put(Bytes.toBytes("row"));
+        put.addColumn(FAMILY, Bytes.toBytes("q"), new byte[128]);
+        Assert.assertFalse(spillLog.append(TABLE_NAME, put));
+        Assert.assertEquals(1, spillLog.getDropCount());
+    }
+
+    private File[] segmentFiles(File directory) {
+        return directory.listFiles((dir, name) -> SpillSegment.isSegmentFile(name));
+    }
+
+    private Put newPut(int id) {
+        Put put = new Put(Bytes.toBytes("row" + id));
+        put.addColumn(FAMILY, Bytes.toBytes("q" + id), id, Bytes.toBytes("value" + id));
+        return put;
+    }
+
+    private void assertPut(SpillRecord record, int id) {
+        Assert.assertNotNull(record);
+        Assert.assertEquals(TABLE_NAME, record.getTableName());
+        Put put = record.getPut();
+        Assert.assertArrayEquals(Bytes.toBytes("row" + id), put.getRow());
+        List<Cell> cells = put.get(FAMILY, Bytes.toBytes("q" + id));
+        Assert.assertEquals(1, cells.size());
+        Assert.assertEquals(id, cells.get(0).getTimestamp());
+        Assert.assertArrayEquals(Bytes.toBytes("value" + id), CellUtil.cloneValue(cells.get(0)));
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.profiler.sql;
+
+import java.util.List;
+
+/**
+ * {@link SqlParser} producing the same result as {@link DefaultSqlParser}.
+ * <p>
+ * The normalized sql and the output parameter are written to char arrays reused by each thread,
+ * and nothing is copied until the first literal is found.
+ * A sql without literals (e.g. PreparedStatement) is scanned without any allocation.
+ * <p>
+ * combineOutputParams() and combineBindValues() are delegated to {@link DefaultSqlParser}.
+ */
+public class CharArraySqlParser implements SqlParser {
+
+    private static final NormalizedSql NULL_OBJECT = new DefaultNormalizedSql("", "");
+
+    private static final int NEXT_TOKEN_NOT_EXIST = -1;
+    private static final int NORMALIZED_SQL_BUFFER = 32;
+    private static final int OUTPUT_BUFFER = 32;
+    // do not keep the buffer of a huge sql
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+
+    private static final ThreadLocal<Buffers> BUFFERS = new ThreadLocal<Buffers>() {
+        @Override
+        protected Buffers initialValue() {
+            return new Buffers();
+        }
+    };
+
+    private final SqlParser delegate = new DefaultSqlParser();
+
+    public CharArraySqlParser() {
+    }
+
+    @Override
+    public NormalizedSql normalizedSql(final String sql) {
+        if (sql == null) {
+            return NULL_OBJECT;
+        }
+
+        final int length = sql.length();
+        final Buffers buffers = BUFFERS.get();
+        final CharArrayBuffer normalized = buffers.normalized;
+        final CharArrayBuffer parsedParameter = buffers.parsedParameter;
+        normalized.reset(length + NORMALIZED_SQL_BUFFER);
+        parsedParameter.reset(OUTPUT_BUFFER);
+        try {
+            return normalizedSql(sql, length, normalized, parsedParameter);
+        } finally {
+            normalized.release();
+            parsedParameter.release();
+        }
+    }
+
+    private NormalizedSql normalizedSql(final String sql, final int length, final CharArrayBuffer normalized, final CharArrayBuffer parsedParameter) {
+        boolean change = false;
+        int replaceIndex = 0;
+        boolean numberTokenStartEnable = true;
+        for (int i = 0; i < length; i++) {
+            final char ch = sql.charAt(i);
+            switch (ch) {
+                // COMMENT start check
+                case '/':
+                    final int lookAhead1Char = lookAhead1(sql, i);
+                    // multi line comment and oracle hint /*+ */
+                    if (lookAhead1Char == '*') {
+                        normalized.append('/', '*');
+                        i += 2;
+                        for (; i < length; i++) {
+                            final char stateCh = sql.charAt(i);
+                            if (stateCh == '*') {
+                                if (lookAhead1(sql, i) == '/') {
+                                    normalized.append('*', '/');
+                                    i++;
+                                    break;
+                                }
+                            }
+                            normalized.append(stateCh);
+                        }
+                        break;
+                        // single line comment
+                    } else if (lookAhead1Char == '/') {
+                        normalized.append('/', '/');
+                        i += 2;
+                        i = readLine(sql, normalized, i);
+                        break;
+                    } else {
+                        // unary operator
+                        numberTokenStartEnable = true;
+                        normalized.append(ch);
+                        break;
+                    }
+                case '-':
+                    // single line comment state
+                    if (lookAhead1(sql, i) == '-') {
+                        normalized.append('-', '-');
+                        i += 2;
+                        i = readLine(sql, normalized, i);
+                        break;
+                    } else {
+                        // unary operator
+                        numberTokenStartEnable = true;
+                        normalized.append(ch);
+                        break;
+                    }
+
+                    // SYMBOL start check
+                case '\'':
+                    // empty symbol
+                    if (lookAhead1(sql, i) == '\'') {
+                        // same as DefaultSqlParser. the character after '' is skipped. it is no longer a copy of the sql
+                        normalized.materialize(sql, i);
+                        normalized.append('\'', '\'');
+                        i += 2;
+                        break;
+                    } else {
+                        change = true;
+                        normalized.materialize(sql, i);
+                        normalized.append('\'');
+                        i++;
+                        appendOutputSeparator(parsedParameter);
+                        for (; i < length; i++) {
+                            final char stateCh = sql.charAt(i);
+                            if (stateCh == '\'') {
+                                // a consecutive ' is the same as \'
+                                if (lookAhead1(sql, i) == '\'') {
+                                    i++;
+                                    parsedParameter.append('\'', '\'');
+                                    continue;
+                                } else {
+                                    normalized.append(replaceIndex++);
+                                    normalized.append(DefaultSqlParser.SYMBOL_REPLACE);
+                                    normalized.append('\'');
+                                    break;
+                                }
+                            }
+                            appendSeparatorCheckOutputParam(parsedParameter, stateCh);
+                        }
+                        break;
+                    }
+
+                    // number start check
+                case '0':
+                case '1':
+                case '2':
+                case '3':
+                case '4':
+                case '5':
+                case '6':
+                case '7':
+                case '8':
+                case '9':
+                    if (numberTokenStartEnable) {
+                        change = true;
+                        normalized.materialize(sql, i);
+                        normalized.append(replaceIndex++);
+                        normalized.append(DefaultSqlParser.NUMBER_REPLACE);
+                        // number token start
+                        appendOutputSeparator(parsedParameter);
+                        parsedParameter.append(ch);
+                        i++;
+                        tokenEnd:
+                        for (; i < length; i++) {
+                            final char stateCh = sql.charAt(i);
+                            switch (stateCh) {
+                                case '0':
+                                case '1':
+                                case '2':
+                                case '3':
+                                case '4':
+                                case '5':
+                                case '6':
+                                case '7':
+                                case '8':
+                                case '9':
+                                case '.':
+                                case 'E':
+                                case 'e':
+                                    parsedParameter.append(stateCh);
+                                    break;
+                                default:
+                                    i--;
+                                    break tokenEnd;
+                            }
+                        }
+                        break;
+                    } else {
+                        normalized.append(ch);
+                        break;
+                    }
+
+                    // empty space
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\r':
+                    // operator
+                case '*':
+                case '+':
+                case '%':
+                case '=':
+                case '<':
+                case '>':
+                case '&':
+                case '|':
+                case '^':
+                case '~':
+                case '!':
+                case '(':
+                case ')':
+                case ',':
+                case ';':
+                    numberTokenStartEnable = true;
+                    normalized.append(ch);
+                    break;
+
+                case '.':
+                case '_':
+                case '@':
+                case ':':
+                    numberTokenStartEnable = false;
+                    normalized.append(ch);
+                    break;
+
+                default:
+                    numberTokenStartEnable = !(ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z');
+                    normalized.append(ch);
+                    break;
+            }
+        }
+        if (change) {
+            final String parsedParameterString = parsedParameter.toString();
+            return new DefaultNormalizedSql(normalized.toString(), parsedParameterString);
+        } else {
+            // Reuse if not modified.
+            return new DefaultNormalizedSql(sql, "");
+        }
+    }
+
+    private int readLine(String sql, CharArrayBuffer normalized, int index) {
+        final int length = sql.length();
+        for (; index < length; index++) {
+            final char ch = sql.charAt(index);
+            normalized.append(ch);
+            if (ch == '\n') {
+                break;
+            }
+        }
+        return index;
+    }
+
+    private void appendOutputSeparator(CharArrayBuffer output) {
+        if (output.length() == 0) {
+            // first parameter
+            return;
+        }
+        output.append(DefaultSqlParser.SEPARATOR);
+    }
+
+    private void appendSeparatorCheckOutputParam(CharArrayBuffer output, char ch) {
+        if (ch == ',') {
+            output.append(',', ',');
+        } else {
+            output.append(ch);
+        }
+    }
+
+    private int lookAhead1(String sql, int index) {
+        index++;
+        if (index < sql.length()) {
+            return sql.charAt(index);
+        } else {
+            return NEXT_TOKEN_NOT_EXIST;
+        }
+    }
+
+    @Override
+    public String combineOutputParams(String sql, List<String> outputParams) {
+        return delegate.combineOutputParams(sql, outputParams);
+    }
+
+    @Override
+    public String combineBindValues(String sql, List<String> bindValues) {
+        return delegate.combineBindValues(sql, bindValues);
+    }
+
+    private static class Buffers {
+        private final CharArrayBuffer normalized = new CharArrayBuffer(true);
+        private final CharArrayBuffer parsedParameter = new CharArrayBuffer(false);
+    }
+
+    /**
+     * Growable char array. A lazy buffer ignores append() until materialize() copies the sql prefix.
+     */
+    static class CharArrayBuffer {
+        private static final char[] EMPTY = new char[0];
+
+        private final boolean lazy;
+        private char[] buffer = EMPTY;
+        private int length;
+        private boolean active;
+
+        CharArrayBuffer(boolean lazy) {
+            this.lazy = lazy;
+        }
+
+        void reset(int capacity) {
+            this.length = 0;
+            this.active = !lazy;
+            if (buffer.length < capacity) {
+                buffer = new char[capacity];
+            }
+        }
+
+        void release() {
+            if (buffer.length > MAX_RETAINED_BUFFER) {
+                buffer = EMPTY;
+            }
+        }
+
+        void materialize(String sql, int end) {
+            if (active) {
+                return;
+            }
+            ensureCapacity(end);
+            sql.getChars(0, end, buffer, 0);
+            length = end;
+            active = true;
+        }
+
+        private void ensureCapacity(int minCapacity) {
+            if (minCapacity > buffer.length) {
+                final int newCapacity = Math.max(minCapacity, buffer.length * 2);
+                final char[] newBuffer = new char[newCapacity];
+                System.arraycopy(buffer, 0, newBuffer, 0, length);
+                buffer = newBuffer;
+            }
+        }
+
+        void append(char ch) {
+            if (!active) {
+                return;
+            }
+            ensureCapacity(length + 1);
+            buffer[length++] = ch;
+        }
+
+        void append(char ch1, char ch2) {
+            if (!active) {
+                return;
+            }
+            ensureCapacity(length + 2);
+            buffer[length++] = ch1;
+            buffer[length++] = ch2;
+        }
+
+        void append(int value) {
+            if (!active) {
+                return;
+            }
+            // replaceIndex is never negative
+            int digits = 1;
+            for (int v = value; v >= 10; v /= 10) {
+                digits++;
+            }
+            ensureCapacity(length + digits);
+            int pos = length + digits;
+            int v = value;
+            do {
+                buffer[--pos] = (char) ('0' + (v % 10));
+                v /= 10;
+            } while (v != 0);
+            length += digits;
+        }
+
+        int length() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            if (length == 0) {
+                return "";
+            }
+            return new String(buffer, 0, length);
+        }
+    }
+}
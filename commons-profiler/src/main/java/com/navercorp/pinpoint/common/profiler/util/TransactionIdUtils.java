@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.common.profiler.util;
 
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
 import com.navercorp.pinpoint.common.util.ArrayUtils;
 import com.navercorp.pinpoint.common.util.BytesUtils;
 
@@ -99,6 +100,18 @@ public final class TransactionIdUtils {
             throw new NullPointerException("transactionId");
         }
         final Buffer buffer = new FixedBuffer(transactionId);
+        return readTransactionId(buffer);
+    }
+
+    public static TransactionId parseTransactionId(final byte[] transactionId, final int offset, final int length) {
+        if (transactionId == null) {
+            throw new NullPointerException("transactionId");
+        }
+        final Buffer buffer = new OffsetFixedBuffer(transactionId, offset, length);
+        return readTransactionId(buffer);
+    }
+
+    private static TransactionId readTransactionId(Buffer buffer) {
         final byte version = buffer.readByte();
         if (version != VERSION) {
             throw new IllegalArgumentException("invalid Version");
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.profiler.sql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Runs the test cases of {@link DefaultSqlParserTest} and compares the result with {@link DefaultSqlParser}
+ */
+public class CharArraySqlParserTest extends DefaultSqlParserTest {
+
+    private static final String ALPHABET = "ab Z_.@:'/*-+=,()?019\n\t;";
+
+    @Override
+    protected SqlParser newSqlParser() {
+        return new CharArraySqlParser();
+    }
+
+    @Test
+    public void sameAsDefaultSqlParser() {
+        SqlParser expectedParser = new DefaultSqlParser();
+        SqlParser sqlParser = new CharArraySqlParser();
+
+        Random random = new Random(1234);
+        for (int i = 0; i < 100000; i++) {
+            final String sql = randomSql(random, random.nextInt(40));
+            final NormalizedSql expected = expectedParser.normalizedSql(sql);
+            final NormalizedSql actual = sqlParser.normalizedSql(sql);
+            Assert.assertEquals(sql, expected.getNormalizedSql(), actual.getNormalizedSql());
+            Assert.assertEquals(sql, expected.getParseParameter(), actual.getParseParameter());
+        }
+    }
+
+    @Test
+    public void notModified() {
+        SqlParser sqlParser = new CharArraySqlParser();
+        final String sql = "select a.id, a.name from account a where a.id = ? and a.type in (?, ?) -- 1\n";
+        NormalizedSql normalizedSql = sqlParser.normalizedSql(sql);
+        Assert.assertSame(sql, normalizedSql.getNormalizedSql());
+        Assert.assertEquals("", normalizedSql.getParseParameter());
+    }
+
+    @Test
+    public void replaceIndex() {
+        SqlParser sqlParser = new CharArraySqlParser();
+        final StringBuilder sql = new StringBuilder("select * from t where id in (");
+        final StringBuilder expected = new StringBuilder(sql);
+        for (int i = 0; i < 120; i++) {
+            if (i > 0) {
+                sql.append(',');
+                expected.append(',');
+            }
+            sql.append(i);
+            expected.append(i).append('#');
+        }
+        sql.append(')');
+        expected.append(')');
+        NormalizedSql normalizedSql = sqlParser.normalizedSql(sql.toString());
+        Assert.assertEquals(expected.toString(), normalizedSql.getNormalizedSql());
+    }
+
+    private String randomSql(Random random, int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+}
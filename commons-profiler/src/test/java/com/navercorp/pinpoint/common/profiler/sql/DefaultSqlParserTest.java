@@ -31,9 +31,13 @@ public class DefaultSqlParserTest {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private SqlParser sqlParser = new DefaultSqlParser();
+    private SqlParser sqlParser = newSqlParser();
     private OutputParameterParser outputParameterParser = new OutputParameterParser();
 
+    protected SqlParser newSqlParser() {
+        return new DefaultSqlParser();
+    }
+
     @Test
     public void normalizedSql() {
 
@@ -64,6 +64,19 @@ public class TransactionIdUtilsTest {
     }
 
 
+    @Test
+    public void testParseTransactionIdByte_offset() {
+        long time = System.currentTimeMillis();
+        byte[] bytes = TransactionIdUtils.formatBytes(AGENT_ID, time, 2);
+        byte[] buffer = new byte[bytes.length + 10];
+        System.arraycopy(bytes, 0, buffer, 5, bytes.length);
+
+        TransactionId transactionId = TransactionIdUtils.parseTransactionId(buffer, 5, bytes.length);
+        Assert.assertEquals(transactionId.getAgentId(), AGENT_ID);
+        Assert.assertEquals(transactionId.getAgentStartTime(), time);
+        Assert.assertEquals(transactionId.getTransactionSequence(), 2L);
+    }
+
     @Test
     public void testParseTransactionIdByte1() {
         long time = System.currentTimeMillis();
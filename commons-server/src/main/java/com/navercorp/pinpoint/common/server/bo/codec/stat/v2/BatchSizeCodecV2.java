@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StringEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeListBo;
+import org.apache.commons.collections.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Component("batchSizeCodecV2")
+public class BatchSizeCodecV2 implements AgentStatCodec<BatchSizeListBo> {
+
+    private static final byte VERSION = 2;
+
+    private final AgentStatDataPointCodec codec;
+
+    @Autowired
+    public BatchSizeCodecV2(AgentStatDataPointCodec codec) {
+        this.codec = Objects.requireNonNull(codec, "agentStatDataPointCodec");
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void encodeValues(Buffer valueBuffer, List<BatchSizeListBo> batchSizeListBos) {
+        if (CollectionUtils.isEmpty(batchSizeListBos)) {
+            throw new IllegalArgumentException("batchSizeListBos must not be empty");
+        }
+        final int numValues = batchSizeListBos.size();
+        valueBuffer.putVInt(numValues);
+
+        for (BatchSizeListBo batchSizeListBo : batchSizeListBos) {
+            encodeBatchSizeListBo(valueBuffer, batchSizeListBo);
+        }
+    }
+
+    private void encodeBatchSizeListBo(Buffer valueBuffer, BatchSizeListBo batchSizeListBo) {
+        final int numValues = batchSizeListBo.size();
+        valueBuffer.putVInt(numValues);
+
+        if (numValues == 0) {
+            return;
+        }
+
+        final List<BatchSizeBo> batchSizeBos = batchSizeListBo.getList();
+        // executorName     // string
+        // histogram        // long column per bucket, shorter histograms are padded with 0
+        int numBuckets = 0;
+        for (BatchSizeBo batchSizeBo : batchSizeBos) {
+            numBuckets = Math.max(numBuckets, batchSizeBo.getHistogram().size());
+        }
+        valueBuffer.putVInt(numBuckets);
+
+        List<Long> startTimestamps = new ArrayList<Long>(numValues);
+        List<Long> timestamps = new ArrayList<Long>(numValues);
+
+        StringEncodingStrategy.Analyzer.Builder executorNameAnalyzerBuilder = new StringEncodingStrategy.Analyzer.Builder();
+        List<UnsignedLongEncodingStrategy.Analyzer.Builder> bucketAnalyzerBuilders = new ArrayList<UnsignedLongEncodingStrategy.Analyzer.Builder>(numBuckets);
+        for (int bucket = 0; bucket < numBuckets; bucket++) {
+            bucketAnalyzerBuilders.add(new UnsignedLongEncodingStrategy.Analyzer.Builder());
+        }
+
+        for (BatchSizeBo batchSizeBo : batchSizeBos) {
+            startTimestamps.add(batchSizeBo.getStartTimestamp());
+            timestamps.add(batchSizeBo.getTimestamp());
+
+            executorNameAnalyzerBuilder.addValue(batchSizeBo.getExecutorName());
+            final List<Long> histogram = batchSizeBo.getHistogram();
+            for (int bucket = 0; bucket < numBuckets; bucket++) {
+                final long count = bucket < histogram.size() ? histogram.get(bucket) : 0;
+                bucketAnalyzerBuilders.get(bucket).addValue(count);
+            }
+        }
+        this.codec.encodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, startTimestamps);
+        this.codec.encodeTimestamps(valueBuffer, timestamps);
+
+        List<StrategyAnalyzer<Long>> bucketAnalyzers = new ArrayList<StrategyAnalyzer<Long>>(numBuckets);
+        for (UnsignedLongEncodingStrategy.Analyzer.Builder bucketAnalyzerBuilder : bucketAnalyzerBuilders) {
+            bucketAnalyzers.add(bucketAnalyzerBuilder.build());
+        }
+        this.encodeDataPoints(valueBuffer, executorNameAnalyzerBuilder.build(), bucketAnalyzers);
+    }
+
+    private void encodeDataPoints(Buffer valueBuffer, StrategyAnalyzer<String> executorNameAnalyzer, List<StrategyAnalyzer<Long>> bucketAnalyzers) {
+        // encode header
+        AgentStatHeaderEncoder headerEncoder = new BitCountingHeaderEncoder();
+        headerEncoder.addCode(executorNameAnalyzer.getBestStrategy().getCode());
+        for (StrategyAnalyzer<Long> bucketAnalyzer : bucketAnalyzers) {
+            headerEncoder.addCode(bucketAnalyzer.getBestStrategy().getCode());
+        }
+
+        final byte[] header = headerEncoder.getHeader();
+        valueBuffer.putPrefixedBytes(header);
+
+        // encode values
+        this.codec.encodeValues(valueBuffer, executorNameAnalyzer.getBestStrategy(), executorNameAnalyzer.getValues());
+        for (StrategyAnalyzer<Long> bucketAnalyzer : bucketAnalyzers) {
+            this.codec.encodeValues(valueBuffer, bucketAnalyzer.getBestStrategy(), bucketAnalyzer.getValues());
+        }
+    }
+
+    @Override
+    public List<BatchSizeListBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
+        int numValues = valueBuffer.readVInt();
+
+        List<BatchSizeListBo> batchSizeListBos = new ArrayList<BatchSizeListBo>(numValues);
+        for (int i = 0; i < numValues; i++) {
+            BatchSizeListBo batchSizeListBo = decodeValue(valueBuffer, decodingContext);
+            batchSizeListBos.add(batchSizeListBo);
+        }
+        return batchSizeListBos;
+    }
+
+    private BatchSizeListBo decodeValue(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
+        final String agentId = decodingContext.getAgentId();
+        final long baseTimestamp = decodingContext.getBaseTimestamp();
+        final long timestampDelta = decodingContext.getTimestampDelta();
+        final long initialTimestamp = baseTimestamp + timestampDelta;
+
+        int numValues = valueBuffer.readVInt();
+        if (numValues == 0) {
+            return new BatchSizeListBo();
+        }
+        int numBuckets = valueBuffer.readVInt();
+
+        List<Long> startTimestamps = this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, numValues);
+        List<Long> timestamps = this.codec.decodeTimestamps(initialTimestamp, valueBuffer, numValues);
+
+        // decode headers
+        final byte[] header = valueBuffer.readPrefixedBytes();
+        AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
+
+        EncodingStrategy<String> executorNameEncodingStrategy = StringEncodingStrategy.getFromCode(headerDecoder.getCode());
+        List<EncodingStrategy<Long>> bucketEncodingStrategies = new ArrayList<EncodingStrategy<Long>>(numBuckets);
+        for (int bucket = 0; bucket < numBuckets; bucket++) {
+            bucketEncodingStrategies.add(UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode()));
+        }
+
+        List<String> executorNames = this.codec.decodeValues(valueBuffer, executorNameEncodingStrategy, numValues);
+        List<List<Long>> buckets = new ArrayList<List<Long>>(numBuckets);
+        for (EncodingStrategy<Long> bucketEncodingStrategy : bucketEncodingStrategies) {
+            buckets.add(this.codec.decodeValues(valueBuffer, bucketEncodingStrategy, numValues));
+        }
+
+        BatchSizeListBo batchSizeListBo = new BatchSizeListBo();
+        for (int i = 0; i < numValues; i++) {
+            if (i == 0) {
+                batchSizeListBo.setAgentId(agentId);
+                batchSizeListBo.setTimestamp(timestamps.get(i));
+                batchSizeListBo.setStartTimestamp(startTimestamps.get(i));
+            }
+
+            BatchSizeBo batchSizeBo = new BatchSizeBo();
+            batchSizeBo.setAgentId(agentId);
+            batchSizeBo.setStartTimestamp(startTimestamps.get(i));
+            batchSizeBo.setTimestamp(timestamps.get(i));
+
+            batchSizeBo.setExecutorName(executorNames.get(i));
+            List<Long> histogram = new ArrayList<Long>(numBuckets);
+            for (List<Long> bucket : buckets) {
+                histogram.add(bucket.get(i));
+            }
+            batchSizeBo.setHistogram(histogram);
+            batchSizeListBo.add(batchSizeBo);
+        }
+        return batchSizeListBo;
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StringEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheListBo;
+import org.apache.commons.collections.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Component("metadataCacheCodecV2")
+public class MetadataCacheCodecV2 implements AgentStatCodec<MetadataCacheListBo> {
+
+    private static final byte VERSION = 2;
+
+    private final AgentStatDataPointCodec codec;
+
+    @Autowired
+    public MetadataCacheCodecV2(AgentStatDataPointCodec codec) {
+        this.codec = Objects.requireNonNull(codec, "agentStatDataPointCodec");
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void encodeValues(Buffer valueBuffer, List<MetadataCacheListBo> metadataCacheListBos) {
+        if (CollectionUtils.isEmpty(metadataCacheListBos)) {
+            throw new IllegalArgumentException("metadataCacheListBos must not be empty");
+        }
+        final int numValues = metadataCacheListBos.size();
+        valueBuffer.putVInt(numValues);
+
+        for (MetadataCacheListBo metadataCacheListBo : metadataCacheListBos) {
+            encodeMetadataCacheListBo(valueBuffer, metadataCacheListBo);
+        }
+    }
+
+    private void encodeMetadataCacheListBo(Buffer valueBuffer, MetadataCacheListBo metadataCacheListBo) {
+        final int numValues = metadataCacheListBo.size();
+        valueBuffer.putVInt(numValues);
+
+        if (numValues == 0) {
+            return;
+        }
+
+        // name             // string
+        // hitCount         // long
+        // missCount        // long
+        // evictionCount    // long
+        // size             // long
+        // weight           // long
+        List<Long> startTimestamps = new ArrayList<Long>(numValues);
+        List<Long> timestamps = new ArrayList<Long>(numValues);
+
+        StringEncodingStrategy.Analyzer.Builder nameAnalyzerBuilder = new StringEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder hitCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder missCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder evictionCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder sizeAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder weightAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+
+        for (MetadataCacheBo metadataCacheBo : metadataCacheListBo.getList()) {
+            startTimestamps.add(metadataCacheBo.getStartTimestamp());
+            timestamps.add(metadataCacheBo.getTimestamp());
+
+            nameAnalyzerBuilder.addValue(metadataCacheBo.getName());
+            hitCountAnalyzerBuilder.addValue(metadataCacheBo.getHitCount());
+            missCountAnalyzerBuilder.addValue(metadataCacheBo.getMissCount());
+            evictionCountAnalyzerBuilder.addValue(metadataCacheBo.getEvictionCount());
+            sizeAnalyzerBuilder.addValue(metadataCacheBo.getSize());
+            weightAnalyzerBuilder.addValue(metadataCacheBo.getWeight());
+        }
+        this.codec.encodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, startTimestamps);
+        this.codec.encodeTimestamps(valueBuffer, timestamps);
+        this.encodeDataPoints(valueBuffer, nameAnalyzerBuilder.build(), hitCountAnalyzerBuilder.build(),
+                missCountAnalyzerBuilder.build(), evictionCountAnalyzerBuilder.build(),
+                sizeAnalyzerBuilder.build(), weightAnalyzerBuilder.build());
+    }
+
+    private void encodeDataPoints(Buffer valueBuffer, StrategyAnalyzer<String> nameAnalyzer, StrategyAnalyzer<Long> hitCountAnalyzer,
+                                  StrategyAnalyzer<Long> missCountAnalyzer, StrategyAnalyzer<Long> evictionCountAnalyzer,
+                                  StrategyAnalyzer<Long> sizeAnalyzer, StrategyAnalyzer<Long> weightAnalyzer) {
+        // encode header
+        AgentStatHeaderEncoder headerEncoder = new BitCountingHeaderEncoder();
+        headerEncoder.addCode(nameAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(hitCountAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(missCountAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(evictionCountAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(sizeAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(weightAnalyzer.getBestStrategy().getCode());
+
+        final byte[] header = headerEncoder.getHeader();
+        valueBuffer.putPrefixedBytes(header);
+
+        // encode values
+        this.codec.encodeValues(valueBuffer, nameAnalyzer.getBestStrategy(), nameAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, hitCountAnalyzer.getBestStrategy(), hitCountAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, missCountAnalyzer.getBestStrategy(), missCountAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, evictionCountAnalyzer.getBestStrategy(), evictionCountAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, sizeAnalyzer.getBestStrategy(), sizeAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, weightAnalyzer.getBestStrategy(), weightAnalyzer.getValues());
+    }
+
+    @Override
+    public List<MetadataCacheListBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
+        int numValues = valueBuffer.readVInt();
+
+        List<MetadataCacheListBo> metadataCacheListBos = new ArrayList<MetadataCacheListBo>(numValues);
+        for (int i = 0; i < numValues; i++) {
+            MetadataCacheListBo metadataCacheListBo = decodeValue(valueBuffer, decodingContext);
+            metadataCacheListBos.add(metadataCacheListBo);
+        }
+        return metadataCacheListBos;
+    }
+
+    private MetadataCacheListBo decodeValue(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
+        final String agentId = decodingContext.getAgentId();
+        final long baseTimestamp = decodingContext.getBaseTimestamp();
+        final long timestampDelta = decodingContext.getTimestampDelta();
+        final long initialTimestamp = baseTimestamp + timestampDelta;
+
+        int numValues = valueBuffer.readVInt();
+
+        List<Long> startTimestamps = this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, numValues);
+        List<Long> timestamps = this.codec.decodeTimestamps(initialTimestamp, valueBuffer, numValues);
+
+        // decode headers
+        final byte[] header = valueBuffer.readPrefixedBytes();
+        AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
+
+        EncodingStrategy<String> nameEncodingStrategy = StringEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> hitCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> missCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> evictionCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> sizeEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> weightEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+
+        List<String> names = this.codec.decodeValues(valueBuffer, nameEncodingStrategy, numValues);
+        List<Long> hitCounts = this.codec.decodeValues(valueBuffer, hitCountEncodingStrategy, numValues);
+        List<Long> missCounts = this.codec.decodeValues(valueBuffer, missCountEncodingStrategy, numValues);
+        List<Long> evictionCounts = this.codec.decodeValues(valueBuffer, evictionCountEncodingStrategy, numValues);
+        List<Long> sizes = this.codec.decodeValues(valueBuffer, sizeEncodingStrategy, numValues);
+        List<Long> weights = this.codec.decodeValues(valueBuffer, weightEncodingStrategy, numValues);
+
+        MetadataCacheListBo metadataCacheListBo = new MetadataCacheListBo();
+        for (int i = 0; i < numValues; i++) {
+            if (i == 0) {
+                metadataCacheListBo.setAgentId(agentId);
+                metadataCacheListBo.setTimestamp(timestamps.get(i));
+                metadataCacheListBo.setStartTimestamp(startTimestamps.get(i));
+            }
+
+            MetadataCacheBo metadataCacheBo = new MetadataCacheBo();
+            metadataCacheBo.setAgentId(agentId);
+            metadataCacheBo.setStartTimestamp(startTimestamps.get(i));
+            metadataCacheBo.setTimestamp(timestamps.get(i));
+
+            metadataCacheBo.setName(names.get(i));
+            metadataCacheBo.setHitCount(hitCounts.get(i));
+            metadataCacheBo.setMissCount(missCounts.get(i));
+            metadataCacheBo.setEvictionCount(evictionCounts.get(i));
+            metadataCacheBo.setSize(sizes.get(i));
+            metadataCacheBo.setWeight(weights.get(i));
+            metadataCacheListBo.add(metadataCacheBo);
+        }
+        return metadataCacheListBo;
+    }
+
+}
@@ -37,6 +37,8 @@ public class AgentStatBo {
     private List<DeadlockThreadCountBo> deadlockThreadCountBos;
     private List<FileDescriptorBo> fileDescriptorBos;
     private List<DirectBufferBo> directBufferBos;
+    private List<MetadataCacheListBo> metadataCacheListBos;
+    private List<BatchSizeListBo> batchSizeListBos;
 
     public long getStartTimestamp() {
         return startTimestamp;
@@ -130,6 +132,22 @@ public class AgentStatBo {
 
     public void setDirectBufferBos(List<DirectBufferBo> directBufferBos) { this.directBufferBos = directBufferBos; }
 
+    public List<MetadataCacheListBo> getMetadataCacheListBos() {
+        return metadataCacheListBos;
+    }
+
+    public void setMetadataCacheListBos(List<MetadataCacheListBo> metadataCacheListBos) {
+        this.metadataCacheListBos = metadataCacheListBos;
+    }
+
+    public List<BatchSizeListBo> getBatchSizeListBos() {
+        return batchSizeListBos;
+    }
+
+    public void setBatchSizeListBos(List<BatchSizeListBo> batchSizeListBos) {
+        this.batchSizeListBos = batchSizeListBos;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("AgentStatBo{");
@@ -144,6 +162,8 @@ public class AgentStatBo {
         sb.append(", deadlockThreadCountBos=").append(deadlockThreadCountBos);
         sb.append(", fileDescriptorBos=").append(fileDescriptorBos);
         sb.append(", directBufferBos=").append(directBufferBos);
+        sb.append(", metadataCacheListBos=").append(metadataCacheListBos);
+        sb.append(", batchSizeListBos=").append(batchSizeListBos);
         sb.append('}');
         return sb.toString();
     }
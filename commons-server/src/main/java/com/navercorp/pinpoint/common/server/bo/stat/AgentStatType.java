@@ -33,7 +33,9 @@ public enum AgentStatType {
     RESPONSE_TIME((byte) 7, "Response Time"),
     DEADLOCK((byte) 8, "Deadlock"),
     FILE_DESCRIPTOR((byte) 9, "FileDescriptor"),
-    DIRECT_BUFFER((byte) 10, "DirectBuffer");
+    DIRECT_BUFFER((byte) 10, "DirectBuffer"),
+    METADATA_CACHE((byte) 11, "MetadataCache"),
+    BATCH_SIZE((byte) 12, "BatchSize");
 
 
     public static final int TYPE_CODE_BYTE_LENGTH = 1;
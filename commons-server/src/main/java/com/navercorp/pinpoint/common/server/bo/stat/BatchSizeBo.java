@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchSizeBo implements AgentStatDataPoint {
+
+    public static final String UNCOLLECTED_STRING_VALUE = "";
+
+    private String agentId;
+    private long startTimestamp;
+    private long timestamp;
+
+    private String executorName = UNCOLLECTED_STRING_VALUE;
+    // cumulative count per power-of-two batch size bucket
+    private List<Long> histogram = new ArrayList<>();
+
+    @Override
+    public String getAgentId() {
+        return agentId;
+    }
+
+    @Override
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    @Override
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    @Override
+    public void setStartTimestamp(long startTimestamp) {
+        this.startTimestamp = startTimestamp;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public AgentStatType getAgentStatType() {
+        return AgentStatType.BATCH_SIZE;
+    }
+
+    public String getExecutorName() {
+        return executorName;
+    }
+
+    public void setExecutorName(String executorName) {
+        this.executorName = executorName;
+    }
+
+    public List<Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(List<Long> histogram) {
+        this.histogram = histogram;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        BatchSizeBo that = (BatchSizeBo) o;
+
+        if (startTimestamp != that.startTimestamp) return false;
+        if (timestamp != that.timestamp) return false;
+        if (agentId != null ? !agentId.equals(that.agentId) : that.agentId != null) return false;
+        if (executorName != null ? !executorName.equals(that.executorName) : that.executorName != null) return false;
+        return histogram != null ? histogram.equals(that.histogram) : that.histogram == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = agentId != null ? agentId.hashCode() : 0;
+        result = 31 * result + (int) (startTimestamp ^ (startTimestamp >>> 32));
+        result = 31 * result + (int) (timestamp ^ (timestamp >>> 32));
+        result = 31 * result + (executorName != null ? executorName.hashCode() : 0);
+        result = 31 * result + (histogram != null ? histogram.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BatchSizeBo{");
+        sb.append("agentId='").append(agentId).append('\'');
+        sb.append(", startTimestamp=").append(startTimestamp);
+        sb.append(", timestamp=").append(timestamp);
+        sb.append(", executorName='").append(executorName).append('\'');
+        sb.append(", histogram=").append(histogram);
+        sb.append('}');
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.rollup;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A rollup slot of an agent stat. values are indexed by the field index of {@link AgentStatRollupType}
+ */
+public class AgentStatRollupBo {
+
+    private final long timestamp;
+    private final AgentStatRollupValue[] values;
+
+    public AgentStatRollupBo(long timestamp, AgentStatRollupValue[] values) {
+        this.timestamp = timestamp;
+        this.values = Objects.requireNonNull(values, "values");
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public AgentStatRollupValue[] getValues() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "AgentStatRollupBo{" +
+                "timestamp=" + timestamp +
+                ", values=" + Arrays.toString(values) +
+                '}';
+    }
+}
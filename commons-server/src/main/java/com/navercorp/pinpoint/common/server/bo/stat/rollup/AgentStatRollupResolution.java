@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.rollup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot sizes of the AgentStatRollup table.
+ * The collector writes every resolution. The web reads the coarsest resolution that fits the time window slot.
+ */
+public enum AgentStatRollupResolution {
+    ONE_MINUTE(1, TimeUnit.MINUTES.toMillis(1)),
+    TEN_MINUTES(2, TimeUnit.MINUTES.toMillis(10)),
+    ONE_HOUR(3, TimeUnit.HOURS.toMillis(1));
+
+    private static final AgentStatRollupResolution[] VALUES = values();
+
+    private final byte code;
+    private final long slotSize;
+
+    AgentStatRollupResolution(int code, long slotSize) {
+        this.code = (byte) code;
+        this.slotSize = slotSize;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public long getSlotSize() {
+        return slotSize;
+    }
+
+    public long getSlotTime(long timestamp) {
+        return timestamp - (timestamp % slotSize);
+    }
+
+    /**
+     * @return the coarsest resolution whose slots fit exactly into a window slot, or null if the window slot is smaller than a minute
+     */
+    public static AgentStatRollupResolution getCoarsest(long windowSlotSize) {
+        for (int i = VALUES.length - 1; i >= 0; i--) {
+            final AgentStatRollupResolution resolution = VALUES[i];
+            if (windowSlotSize >= resolution.slotSize && windowSlotSize % resolution.slotSize == 0) {
+                return resolution;
+            }
+        }
+        return null;
+    }
+
+    public static AgentStatRollupResolution fromCode(byte code) {
+        for (AgentStatRollupResolution resolution : VALUES) {
+            if (resolution.code == code) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("unknown resolution code:" + code);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+
+/**
+ * Agent stats kept in the AgentStatRollup table, and the field index of each rolled up value.
+ * Only gauges are rolled up. Stats sampled from the previous data point or from cumulative counters stay in AgentStatV2.
+ */
+public enum AgentStatRollupType {
+    /**
+     * 0 : jvmCpuLoad, 1 : systemCpuLoad (ratio, not percentage)
+     */
+    CPU_LOAD(AgentStatType.CPU_LOAD, 2),
+    /**
+     * 0 : avg, 1 : max
+     */
+    RESPONSE_TIME(AgentStatType.RESPONSE_TIME, 2),
+    /**
+     * 0 : deadlockedThreadCount
+     */
+    DEADLOCK(AgentStatType.DEADLOCK, 1),
+    /**
+     * 0 : openFileDescriptorCount
+     */
+    FILE_DESCRIPTOR(AgentStatType.FILE_DESCRIPTOR, 1),
+    /**
+     * 0 : directCount, 1 : directMemoryUsed, 2 : mappedCount, 3 : mappedMemoryUsed
+     */
+    DIRECT_BUFFER(AgentStatType.DIRECT_BUFFER, 4);
+
+    private final AgentStatType agentStatType;
+    private final int fieldCount;
+
+    AgentStatRollupType(AgentStatType agentStatType, int fieldCount) {
+        this.agentStatType = agentStatType;
+        this.fieldCount = fieldCount;
+    }
+
+    public AgentStatType getAgentStatType() {
+        return agentStatType;
+    }
+
+    public byte getRawTypeCode() {
+        return agentStatType.getRawTypeCode();
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.rollup;
+
+import com.navercorp.pinpoint.common.util.BytesUtils;
+
+/**
+ * min, max, sum and count of a field in a rollup slot.
+ * HBase can not increment min/max, so each flush of the collector writes its own cell and the web merges them.
+ */
+public class AgentStatRollupValue {
+
+    public static final int BYTE_LENGTH = BytesUtils.LONG_BYTE_LENGTH * 4;
+
+    private double min = Double.MAX_VALUE;
+    private double max = -Double.MAX_VALUE;
+    private double sum;
+    private long count;
+
+    public AgentStatRollupValue() {
+    }
+
+    public AgentStatRollupValue(double min, double max, double sum, long count) {
+        this.min = min;
+        this.max = max;
+        this.sum = sum;
+        this.count = count;
+    }
+
+    public void add(double value) {
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        sum += value;
+        count++;
+    }
+
+    public void merge(AgentStatRollupValue value) {
+        if (value == null || value.count == 0) {
+            return;
+        }
+        if (value.min < min) {
+            min = value.min;
+        }
+        if (value.max > max) {
+            max = value.max;
+        }
+        sum += value.sum;
+        count += value.count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAvg() {
+        if (count == 0) {
+            return 0;
+        }
+        return sum / count;
+    }
+
+    public byte[] toBytes() {
+        final byte[] bytes = new byte[BYTE_LENGTH];
+        int offset = 0;
+        offset = BytesUtils.writeLong(Double.doubleToLongBits(min), bytes, offset);
+        offset = BytesUtils.writeLong(Double.doubleToLongBits(max), bytes, offset);
+        offset = BytesUtils.writeLong(Double.doubleToLongBits(sum), bytes, offset);
+        BytesUtils.writeLong(count, bytes, offset);
+        return bytes;
+    }
+
+    public static AgentStatRollupValue fromBytes(byte[] bytes, int offset) {
+        final double min = Double.longBitsToDouble(BytesUtils.bytesToLong(bytes, offset));
+        final double max = Double.longBitsToDouble(BytesUtils.bytesToLong(bytes, offset + 8));
+        final double sum = Double.longBitsToDouble(BytesUtils.bytesToLong(bytes, offset + 16));
+        final long count = BytesUtils.bytesToLong(bytes, offset + 24);
+        return new AgentStatRollupValue(min, max, sum, count);
+    }
+
+    @Override
+    public String toString() {
+        return "AgentStatRollupValue{" +
+                "min=" + min +
+                ", max=" + max +
+                ", sum=" + sum +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,959 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.thrift;
+
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.profiler.util.TransactionIdUtils;
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
+import com.navercorp.pinpoint.common.server.bo.AnnotationComparator;
+import com.navercorp.pinpoint.common.server.bo.LocalAsyncIdBo;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventComparator;
+import com.navercorp.pinpoint.common.server.bo.filter.EmptySpanEventFilter;
+import com.navercorp.pinpoint.common.server.bo.filter.SpanEventFilter;
+import com.navercorp.pinpoint.common.util.IntBooleanIntBooleanValue;
+import com.navercorp.pinpoint.common.util.IntStringStringValue;
+import com.navercorp.pinpoint.common.util.IntStringValue;
+import com.navercorp.pinpoint.common.util.LongIntIntByteByteStringValue;
+import com.navercorp.pinpoint.common.util.StringStringValue;
+import com.navercorp.pinpoint.thrift.io.DefaultTBaseLocator;
+import com.navercorp.pinpoint.thrift.io.HeaderBodyDecoder;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TField;
+import org.apache.thrift.protocol.TList;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolException;
+import org.apache.thrift.protocol.TProtocolUtil;
+import org.apache.thrift.protocol.TType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming version of {@link SpanFactory}.
+ * Reads TSpan and TSpanChunk directly from the protocol into {@link SpanBo} and {@link SpanChunkBo}
+ * without building the intermediate TSpan, TSpanEvent and TAnnotation objects.
+ * The field ids follow Trace.thrift. Unknown fields are skipped.
+ * <p>
+ * The collectorAcceptTime is not set because the body is decoded before the request is dispatched.
+ *
+ * @see SpanFactory
+ */
+@Component
+public class ThriftSpanBoDecoder implements HeaderBodyDecoder {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private SpanEventFilter spanEventFilter = new EmptySpanEventFilter();
+
+    private final boolean fastAsyncIdGen;
+
+    public ThriftSpanBoDecoder() {
+        this(fastAsyncIdGen());
+    }
+
+    private static boolean fastAsyncIdGen() {
+        final String fastAsyncIdGen = System.getProperty("collector.spanfactory.fastasyncidgen", "true");
+        return Boolean.parseBoolean(fastAsyncIdGen);
+    }
+
+    public ThriftSpanBoDecoder(boolean fastAsyncIdGen) {
+        this.fastAsyncIdGen = fastAsyncIdGen;
+    }
+
+    @Autowired(required = false)
+    public void setSpanEventFilter(SpanEventFilter spanEventFilter) {
+        this.spanEventFilter = spanEventFilter;
+    }
+
+    @Override
+    public boolean isSupport(short type) {
+        return type == DefaultTBaseLocator.SPAN || type == DefaultTBaseLocator.SPANCHUNK;
+    }
+
+    @Override
+    public Object decode(short type, TProtocol protocol) throws TException {
+        switch (type) {
+            case DefaultTBaseLocator.SPAN:
+                return readSpan(protocol);
+            case DefaultTBaseLocator.SPANCHUNK:
+                return readSpanChunk(protocol);
+        }
+        throw new TException("unsupported type:" + type);
+    }
+
+    public SpanBo readSpan(TProtocol protocol) throws TException {
+        final SpanBo spanBo = new SpanBo();
+        spanBo.setParentSpanId(-1);
+
+        ByteBuffer transactionId = null;
+        boolean applicationServiceTypeSet = false;
+        List<AnnotationBo> annotationBoList = null;
+        List<SpanEventBo> spanEventBoList = null;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            switch (field.id) {
+                case 1:
+                    if (field.type == TType.STRING) {
+                        spanBo.setAgentId(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 2:
+                    if (field.type == TType.STRING) {
+                        spanBo.setApplicationId(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 3:
+                    if (field.type == TType.I64) {
+                        spanBo.setAgentStartTime(protocol.readI64());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 4:
+                    if (field.type == TType.STRING) {
+                        transactionId = protocol.readBinary();
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 7:
+                    if (field.type == TType.I64) {
+                        spanBo.setSpanId(protocol.readI64());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 8:
+                    if (field.type == TType.I64) {
+                        spanBo.setParentSpanId(protocol.readI64());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 9:
+                    if (field.type == TType.I64) {
+                        spanBo.setStartTime(protocol.readI64());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 10:
+                    if (field.type == TType.I32) {
+                        spanBo.setElapsed(protocol.readI32());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 11:
+                    if (field.type == TType.STRING) {
+                        spanBo.setRpc(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 12:
+                    if (field.type == TType.I16) {
+                        spanBo.setServiceType(protocol.readI16());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 13:
+                    if (field.type == TType.STRING) {
+                        spanBo.setEndPoint(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 14:
+                    if (field.type == TType.STRING) {
+                        spanBo.setRemoteAddr(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 15:
+                    if (field.type == TType.LIST) {
+                        annotationBoList = readAnnotationList(protocol);
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 16:
+                    if (field.type == TType.I16) {
+                        spanBo.setFlag(protocol.readI16());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 17:
+                    if (field.type == TType.I32) {
+                        spanBo.setErrCode(protocol.readI32());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 18:
+                    if (field.type == TType.LIST) {
+                        spanEventBoList = readSpanEventList(protocol, null);
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 19:
+                    if (field.type == TType.STRING) {
+                        spanBo.setParentApplicationId(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 20:
+                    if (field.type == TType.I16) {
+                        spanBo.setParentApplicationServiceType(protocol.readI16());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 21:
+                    if (field.type == TType.STRING) {
+                        spanBo.setAcceptorHost(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 25:
+                    if (field.type == TType.I32) {
+                        spanBo.setApiId(protocol.readI32());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 26:
+                    if (field.type == TType.STRUCT) {
+                        final IntStringValue exceptionInfo = readIntStringValue(protocol);
+                        spanBo.setExceptionInfo(exceptionInfo.getIntValue(), exceptionInfo.getStringValue());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 30:
+                    if (field.type == TType.I16) {
+                        spanBo.setApplicationServiceType(protocol.readI16());
+                        applicationServiceTypeSet = true;
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 31:
+                    if (field.type == TType.BYTE) {
+                        spanBo.setLoggingTransactionInfo(protocol.readByte());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                default:
+                    TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+
+        spanBo.setTransactionId(newTransactionId(transactionId, spanBo.getAgentId()));
+
+        // FIXME (2015.03) Legacy - applicationServiceType added in v1.1.0
+        if (!applicationServiceTypeSet) {
+            spanBo.setApplicationServiceType(spanBo.getServiceType());
+        }
+        if (annotationBoList != null) {
+            spanBo.setAnnotationBoList(annotationBoList);
+        }
+        if (spanEventBoList != null) {
+            spanBo.addSpanEventBoList(spanEventBoList);
+        }
+        return spanBo;
+    }
+
+    public SpanChunkBo readSpanChunk(TProtocol protocol) throws TException {
+        final SpanChunkBo spanChunkBo = new SpanChunkBo();
+
+        ByteBuffer transactionId = null;
+        boolean applicationServiceTypeSet = false;
+        LocalAsyncIdBo localAsyncIdBo = null;
+        List<SpanEventBo> spanEventBoList = null;
+        final LocalAsyncIdCollector localAsyncIdCollector = new LocalAsyncIdCollector();
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            switch (field.id) {
+                case 1:
+                    if (field.type == TType.STRING) {
+                        spanChunkBo.setAgentId(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 2:
+                    if (field.type == TType.STRING) {
+                        spanChunkBo.setApplicationId(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 3:
+                    if (field.type == TType.I64) {
+                        spanChunkBo.setAgentStartTime(protocol.readI64());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 4:
+                    if (field.type == TType.I16) {
+                        spanChunkBo.setServiceType(protocol.readI16());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 5:
+                    if (field.type == TType.STRING) {
+                        transactionId = protocol.readBinary();
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 8:
+                    if (field.type == TType.I64) {
+                        spanChunkBo.setSpanId(protocol.readI64());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 9:
+                    if (field.type == TType.STRING) {
+                        spanChunkBo.setEndPoint(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 10:
+                    if (field.type == TType.LIST) {
+                        spanEventBoList = readSpanEventList(protocol, localAsyncIdCollector);
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 11:
+                    if (field.type == TType.I16) {
+                        spanChunkBo.setApplicationServiceType(protocol.readI16());
+                        applicationServiceTypeSet = true;
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 14:
+                    if (field.type == TType.STRUCT) {
+                        localAsyncIdBo = readLocalAsyncId(protocol);
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                default:
+                    TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+
+        spanChunkBo.setTransactionId(newTransactionId(transactionId, spanChunkBo.getAgentId()));
+
+        if (!applicationServiceTypeSet) {
+            spanChunkBo.setApplicationServiceType(spanChunkBo.getServiceType());
+        }
+
+        // for compatibility
+        // https://github.com/naver/pinpoint/issues/5156
+        if (localAsyncIdBo == null) {
+            localAsyncIdBo = localAsyncIdCollector.getLocalAsyncId();
+        }
+        if (localAsyncIdBo != null) {
+            spanChunkBo.setLocalAsyncId(localAsyncIdBo);
+        }
+        if (spanEventBoList != null) {
+            spanChunkBo.addSpanEventBoList(spanEventBoList);
+        }
+        return spanChunkBo;
+    }
+
+    private TransactionId newTransactionId(ByteBuffer transactionIdBuffer, String spanAgentId) throws TException {
+        if (transactionIdBuffer == null) {
+            throw new TProtocolException("transactionId must not be null");
+        }
+        final TransactionId transactionId = parseTransactionId(transactionIdBuffer);
+        if (transactionId.getAgentId() != null) {
+            return transactionId;
+        }
+        return new TransactionId(spanAgentId, transactionId.getAgentStartTime(), transactionId.getTransactionSequence());
+    }
+
+    private TransactionId parseTransactionId(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            // binary of TCompactProtocol is a view of the transport buffer
+            final int offset = buffer.arrayOffset() + buffer.position();
+            return TransactionIdUtils.parseTransactionId(buffer.array(), offset, buffer.remaining());
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return TransactionIdUtils.parseTransactionId(bytes);
+    }
+
+    private List<SpanEventBo> readSpanEventList(TProtocol protocol, LocalAsyncIdCollector localAsyncIdCollector) throws TException {
+        final TList list = protocol.readListBegin();
+        final List<SpanEventBo> spanEventBoList = new ArrayList<>(list.size);
+        for (int i = 0; i < list.size; i++) {
+            final SpanEventBo spanEventBo = readSpanEvent(protocol, localAsyncIdCollector);
+            if (!spanEventFilter.filter(spanEventBo)) {
+                continue;
+            }
+            spanEventBoList.add(spanEventBo);
+        }
+        protocol.readListEnd();
+
+        spanEventBoList.sort(SpanEventComparator.INSTANCE);
+        return spanEventBoList;
+    }
+
+    private SpanEventBo readSpanEvent(TProtocol protocol, LocalAsyncIdCollector localAsyncIdCollector) throws TException {
+        final SpanEventBo spanEvent = new SpanEventBo();
+        List<AnnotationBo> annotationBoList = null;
+
+        boolean asyncIdSet = false;
+        int asyncId = -1;
+        boolean asyncSequenceSet = false;
+        short asyncSequence = -1;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            switch (field.id) {
+                case 8:
+                    if (field.type == TType.I16) {
+                        spanEvent.setSequence(protocol.readI16());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 9:
+                    if (field.type == TType.I32) {
+                        spanEvent.setStartElapsed(protocol.readI32());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 10:
+                    if (field.type == TType.I32) {
+                        spanEvent.setEndElapsed(protocol.readI32());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 11:
+                    if (field.type == TType.STRING) {
+                        spanEvent.setRpc(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 12:
+                    if (field.type == TType.I16) {
+                        spanEvent.setServiceType(protocol.readI16());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 13:
+                    if (field.type == TType.STRING) {
+                        spanEvent.setEndPoint(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 14:
+                    if (field.type == TType.LIST) {
+                        annotationBoList = readAnnotationList(protocol);
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 15:
+                    if (field.type == TType.I32) {
+                        spanEvent.setDepth(protocol.readI32());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 16:
+                    if (field.type == TType.I64) {
+                        spanEvent.setNextSpanId(protocol.readI64());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 20:
+                    if (field.type == TType.STRING) {
+                        spanEvent.setDestinationId(protocol.readString());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 25:
+                    if (field.type == TType.I32) {
+                        spanEvent.setApiId(protocol.readI32());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 26:
+                    if (field.type == TType.STRUCT) {
+                        final IntStringValue exceptionInfo = readIntStringValue(protocol);
+                        spanEvent.setExceptionInfo(exceptionInfo.getIntValue(), exceptionInfo.getStringValue());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 30:
+                    if (field.type == TType.I32) {
+                        asyncId = protocol.readI32();
+                        asyncIdSet = true;
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 31:
+                    if (field.type == TType.I32) {
+                        spanEvent.setNextAsyncId(protocol.readI32());
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 32:
+                    if (field.type == TType.I16) {
+                        asyncSequence = protocol.readI16();
+                        asyncSequenceSet = true;
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                default:
+                    TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+
+        if (annotationBoList == null) {
+            annotationBoList = new ArrayList<>();
+        }
+        spanEvent.setAnnotationBoList(annotationBoList);
+
+        if (localAsyncIdCollector != null) {
+            localAsyncIdCollector.add(asyncIdSet && asyncSequenceSet, asyncId, asyncSequence);
+        }
+        return spanEvent;
+    }
+
+    private List<AnnotationBo> readAnnotationList(TProtocol protocol) throws TException {
+        final TList list = protocol.readListBegin();
+        final List<AnnotationBo> annotationBoList = new ArrayList<>(list.size);
+        for (int i = 0; i < list.size; i++) {
+            annotationBoList.add(readAnnotation(protocol));
+        }
+        protocol.readListEnd();
+
+        annotationBoList.sort(AnnotationComparator.INSTANCE);
+        return annotationBoList;
+    }
+
+    private AnnotationBo readAnnotation(TProtocol protocol) throws TException {
+        int key = 0;
+        Object value = null;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            switch (field.id) {
+                case 1:
+                    if (field.type == TType.I32) {
+                        key = protocol.readI32();
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                case 2:
+                    if (field.type == TType.STRUCT) {
+                        value = readAnnotationValue(protocol);
+                        break;
+                    }
+                    TProtocolUtil.skip(protocol, field.type);
+                    break;
+                default:
+                    TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+
+        return new AnnotationBo(key, value);
+    }
+
+    /**
+     * TAnnotationValue is a union. the value of the first known field is returned.
+     */
+    private Object readAnnotationValue(TProtocol protocol) throws TException {
+        Object value = null;
+        boolean read = false;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            if (read) {
+                TProtocolUtil.skip(protocol, field.type);
+            } else {
+                value = readAnnotationValueField(protocol, field);
+                read = true;
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+        return value;
+    }
+
+    private Object readAnnotationValueField(TProtocol protocol, TField field) throws TException {
+        final byte type = field.type;
+        switch (field.id) {
+            case 1:
+                if (type == TType.STRING) {
+                    return protocol.readString();
+                }
+                break;
+            case 2:
+                if (type == TType.BOOL) {
+                    return protocol.readBool();
+                }
+                break;
+            case 3:
+                if (type == TType.I32) {
+                    return protocol.readI32();
+                }
+                break;
+            case 4:
+                if (type == TType.I64) {
+                    return protocol.readI64();
+                }
+                break;
+            case 5:
+                if (type == TType.I16) {
+                    return protocol.readI16();
+                }
+                break;
+            case 6:
+                if (type == TType.DOUBLE) {
+                    return protocol.readDouble();
+                }
+                break;
+            case 7:
+                if (type == TType.STRING) {
+                    return readBytes(protocol);
+                }
+                break;
+            case 8:
+                if (type == TType.BYTE) {
+                    return protocol.readByte();
+                }
+                break;
+            case 9:
+                if (type == TType.STRUCT) {
+                    return readIntStringValue(protocol);
+                }
+                break;
+            case 10:
+                if (type == TType.STRUCT) {
+                    return readIntStringStringValue(protocol);
+                }
+                break;
+            case 11:
+                if (type == TType.STRUCT) {
+                    return readLongIntIntByteByteStringValue(protocol);
+                }
+                break;
+            case 12:
+                if (type == TType.STRUCT) {
+                    return readIntBooleanIntBooleanValue(protocol);
+                }
+                break;
+            case 13:
+                if (type == TType.STRUCT) {
+                    return readStringStringValue(protocol);
+                }
+                break;
+        }
+        TProtocolUtil.skip(protocol, type);
+        return null;
+    }
+
+    private byte[] readBytes(TProtocol protocol) throws TException {
+        final ByteBuffer buffer = protocol.readBinary();
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private IntStringValue readIntStringValue(TProtocol protocol) throws TException {
+        int intValue = 0;
+        String stringValue = null;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            if (field.id == 1 && field.type == TType.I32) {
+                intValue = protocol.readI32();
+            } else if (field.id == 2 && field.type == TType.STRING) {
+                stringValue = protocol.readString();
+            } else {
+                TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+        return new IntStringValue(intValue, stringValue);
+    }
+
+    private IntStringStringValue readIntStringStringValue(TProtocol protocol) throws TException {
+        int intValue = 0;
+        String stringValue1 = null;
+        String stringValue2 = null;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            if (field.id == 1 && field.type == TType.I32) {
+                intValue = protocol.readI32();
+            } else if (field.id == 2 && field.type == TType.STRING) {
+                stringValue1 = protocol.readString();
+            } else if (field.id == 3 && field.type == TType.STRING) {
+                stringValue2 = protocol.readString();
+            } else {
+                TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+        return new IntStringStringValue(intValue, stringValue1, stringValue2);
+    }
+
+    private LongIntIntByteByteStringValue readLongIntIntByteByteStringValue(TProtocol protocol) throws TException {
+        long longValue = 0;
+        int intValue1 = 0;
+        int intValue2 = 0;
+        byte byteValue1 = 0;
+        byte byteValue2 = 0;
+        String stringValue = null;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            if (field.id == 1 && field.type == TType.I64) {
+                longValue = protocol.readI64();
+            } else if (field.id == 2 && field.type == TType.I32) {
+                intValue1 = protocol.readI32();
+            } else if (field.id == 3 && field.type == TType.I32) {
+                intValue2 = protocol.readI32();
+            } else if (field.id == 4 && field.type == TType.BYTE) {
+                byteValue1 = protocol.readByte();
+            } else if (field.id == 5 && field.type == TType.BYTE) {
+                byteValue2 = protocol.readByte();
+            } else if (field.id == 6 && field.type == TType.STRING) {
+                stringValue = protocol.readString();
+            } else {
+                TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+        return new LongIntIntByteByteStringValue(longValue, intValue1, intValue2, byteValue1, byteValue2, stringValue);
+    }
+
+    private IntBooleanIntBooleanValue readIntBooleanIntBooleanValue(TProtocol protocol) throws TException {
+        int intValue1 = 0;
+        boolean boolValue1 = false;
+        int intValue2 = 0;
+        boolean boolValue2 = false;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            if (field.id == 1 && field.type == TType.I32) {
+                intValue1 = protocol.readI32();
+            } else if (field.id == 2 && field.type == TType.BOOL) {
+                boolValue1 = protocol.readBool();
+            } else if (field.id == 3 && field.type == TType.I32) {
+                intValue2 = protocol.readI32();
+            } else if (field.id == 4 && field.type == TType.BOOL) {
+                boolValue2 = protocol.readBool();
+            } else {
+                TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+        return new IntBooleanIntBooleanValue(intValue1, boolValue1, intValue2, boolValue2);
+    }
+
+    private StringStringValue readStringStringValue(TProtocol protocol) throws TException {
+        String stringValue1 = null;
+        String stringValue2 = null;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            if (field.id == 1 && field.type == TType.STRING) {
+                stringValue1 = protocol.readString();
+            } else if (field.id == 2 && field.type == TType.STRING) {
+                stringValue2 = protocol.readString();
+            } else {
+                TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+        return new StringStringValue(stringValue1, stringValue2);
+    }
+
+    private LocalAsyncIdBo readLocalAsyncId(TProtocol protocol) throws TException {
+        int asyncId = 0;
+        int sequence = 0;
+
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            if (field.id == 1 && field.type == TType.I32) {
+                asyncId = protocol.readI32();
+            } else if (field.id == 2 && field.type == TType.I32) {
+                sequence = protocol.readI32();
+            } else {
+                TProtocolUtil.skip(protocol, field.type);
+            }
+            protocol.readFieldEnd();
+        }
+        protocol.readStructEnd();
+        return new LocalAsyncIdBo(asyncId, sequence);
+    }
+
+    /**
+     * Same as {@link SpanFactory#fastLocalAsyncIdBo(List)} and {@link SpanFactory#fullScanLocalAsyncIdBo(com.navercorp.pinpoint.thrift.dto.TSpanChunk)}
+     * while the span events are read.
+     */
+    private class LocalAsyncIdCollector {
+        private boolean first = true;
+        private boolean firstAsyncIdSet = false;
+        private int asyncId = -1;
+        private int asyncSequence = -1;
+        private boolean asyncIdNotSame = false;
+
+        private void add(boolean asyncIdSet, int asyncId, short asyncSequence) {
+            if (first) {
+                first = false;
+                if (asyncIdSet) {
+                    this.firstAsyncIdSet = true;
+                    this.asyncId = asyncId;
+                    this.asyncSequence = asyncSequence;
+                }
+                return;
+            }
+            if (fastAsyncIdGen || !asyncIdSet) {
+                return;
+            }
+            if (this.asyncId != asyncId || this.asyncSequence != asyncSequence) {
+                this.asyncIdNotSame = true;
+            }
+        }
+
+        private LocalAsyncIdBo getLocalAsyncId() {
+            if (fastAsyncIdGen) {
+                if (firstAsyncIdSet) {
+                    return new LocalAsyncIdBo(asyncId, asyncSequence);
+                }
+                return null;
+            }
+            if (asyncIdNotSame) {
+                logger.warn("AsyncId consistency is broken. asyncId:{} asyncSequence:{}", asyncId, asyncSequence);
+                return null;
+            }
+            if (asyncId != -1 && asyncSequence != -1) {
+                return new LocalAsyncIdBo(asyncId, asyncSequence);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.util;
+
+import com.navercorp.pinpoint.common.PinpointConstants;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupResolution;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.common.util.TimeUtils;
+
+/**
+ * Row key and column layout of the AgentStatRollup table.
+ * <pre>
+ * row    : agentId(fixed 24 bytes) + stat type(1 byte) + resolution(1 byte) + reversed slot time(8 bytes)
+ * column : field index(1 byte) + writer id(8 bytes) + flush sequence(8 bytes)
+ * value  : min, max, sum(double) and count(long) of the values flushed by the writer
+ * </pre>
+ * A collector writes a new column on every flush, so the columns of a row are merged on read.
+ */
+public final class AgentStatRollupUtils {
+
+    public static final int ROW_KEY_PREFIX_LENGTH = PinpointConstants.AGENT_NAME_MAX_LEN + 2;
+    private static final int ROW_KEY_LENGTH = ROW_KEY_PREFIX_LENGTH + BytesUtils.LONG_BYTE_LENGTH;
+
+    private static final int COLUMN_NAME_LENGTH = 1 + BytesUtils.LONG_BYTE_LENGTH + BytesUtils.LONG_BYTE_LENGTH;
+
+    private AgentStatRollupUtils() {
+    }
+
+    public static byte[] makeRowKey(String agentId, AgentStatRollupType rollupType, AgentStatRollupResolution resolution, long slotTime) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId");
+        }
+        if (rollupType == null) {
+            throw new NullPointerException("rollupType");
+        }
+        if (resolution == null) {
+            throw new NullPointerException("resolution");
+        }
+        final byte[] agentIdBytes = BytesUtils.toBytes(agentId);
+        if (agentIdBytes.length > PinpointConstants.AGENT_NAME_MAX_LEN) {
+            throw new IndexOutOfBoundsException("agentId too long:" + agentId);
+        }
+        final byte[] rowKey = new byte[ROW_KEY_LENGTH];
+        BytesUtils.writeBytes(rowKey, 0, agentIdBytes);
+        rowKey[PinpointConstants.AGENT_NAME_MAX_LEN] = rollupType.getRawTypeCode();
+        rowKey[PinpointConstants.AGENT_NAME_MAX_LEN + 1] = resolution.getCode();
+        BytesUtils.writeLong(TimeUtils.reverseTimeMillis(slotTime), rowKey, ROW_KEY_PREFIX_LENGTH);
+        return rowKey;
+    }
+
+    public static long getSlotTimeFromRowKey(byte[] rowKey) {
+        if (rowKey == null) {
+            throw new NullPointerException("rowKey");
+        }
+        final long reverseTimeMillis = BytesUtils.bytesToLong(rowKey, ROW_KEY_PREFIX_LENGTH);
+        return TimeUtils.recoveryTimeMillis(reverseTimeMillis);
+    }
+
+    public static byte[] makeColumnName(int fieldIndex, long writerId, long sequence) {
+        final byte[] columnName = new byte[COLUMN_NAME_LENGTH];
+        columnName[0] = (byte) fieldIndex;
+        final int offset = BytesUtils.writeLong(writerId, columnName, 1);
+        BytesUtils.writeLong(sequence, columnName, offset);
+        return columnName;
+    }
+
+    public static boolean isColumnName(int qualifierLength) {
+        return qualifierLength == COLUMN_NAME_LENGTH;
+    }
+
+    public static int getFieldIndexFromColumnName(byte[] bytes, int offset) {
+        return bytes[offset];
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.util;
+
+import com.navercorp.pinpoint.common.PinpointConstants;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.common.util.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * Row key and column layout of the ScatterHeatmap table.
+ * <pre>
+ * row    : applicationName(fixed 24 bytes) + reversed row time slot(8 bytes). a row holds 1 minute
+ * column : cell index(1 byte, 10 seconds) + elapsed bucket(1 byte) + error(1 byte)
+ * value  : number of transactions
+ * </pre>
+ * The collector bins each span at its accepted time, so a cell matches the dots of the scatter chart.
+ */
+public final class ScatterHeatmapUtils {
+
+    public static final long ROW_TIME_SLOT = 60 * 1000;
+    public static final long CELL_TIME_SLOT = 10 * 1000;
+
+    private static final int COLUMN_NAME_LENGTH = 3;
+
+    // upper bound(inclusive) of each elapsed bucket. the last bucket is unbounded
+    private static final int[] ELAPSED_BUCKET_UPPER_BOUNDS = {
+            100, 200, 300, 500, 700,
+            1000, 1500, 2000, 3000, 5000, 7000,
+            10000, 15000, 20000, 30000, 60000
+    };
+
+    private ScatterHeatmapUtils() {
+    }
+
+    public static int getElapsedBucketSize() {
+        return ELAPSED_BUCKET_UPPER_BOUNDS.length + 1;
+    }
+
+    public static int getElapsedBucket(int elapsed) {
+        final int index = Arrays.binarySearch(ELAPSED_BUCKET_UPPER_BOUNDS, elapsed);
+        if (index >= 0) {
+            return index;
+        }
+        // insertion point. ELAPSED_BUCKET_UPPER_BOUNDS.length is the unbounded bucket
+        return -(index + 1);
+    }
+
+    public static int getElapsedBucketLowerBound(int elapsedBucket) {
+        checkElapsedBucket(elapsedBucket);
+        if (elapsedBucket == 0) {
+            return 0;
+        }
+        return ELAPSED_BUCKET_UPPER_BOUNDS[elapsedBucket - 1] + 1;
+    }
+
+    /**
+     * @return upper bound(inclusive) of the bucket. Integer.MAX_VALUE for the last bucket
+     */
+    public static int getElapsedBucketUpperBound(int elapsedBucket) {
+        checkElapsedBucket(elapsedBucket);
+        if (elapsedBucket == ELAPSED_BUCKET_UPPER_BOUNDS.length) {
+            return Integer.MAX_VALUE;
+        }
+        return ELAPSED_BUCKET_UPPER_BOUNDS[elapsedBucket];
+    }
+
+    private static void checkElapsedBucket(int elapsedBucket) {
+        if (elapsedBucket < 0 || elapsedBucket > ELAPSED_BUCKET_UPPER_BOUNDS.length) {
+            throw new IndexOutOfBoundsException("elapsedBucket:" + elapsedBucket);
+        }
+    }
+
+    public static long getRowTimeSlot(long time) {
+        return time - (time % ROW_TIME_SLOT);
+    }
+
+    public static int getCellIndex(long time) {
+        return (int) ((time % ROW_TIME_SLOT) / CELL_TIME_SLOT);
+    }
+
+    public static byte[] makeRowKey(String applicationName, long rowTimeSlot) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName");
+        }
+        final byte[] applicationNameBytes = BytesUtils.toBytes(applicationName);
+        final long reverseTimeMillis = TimeUtils.reverseTimeMillis(rowTimeSlot);
+        return RowKeyUtils.concatFixedByteAndLong(applicationNameBytes, PinpointConstants.APPLICATION_NAME_MAX_LEN, reverseTimeMillis);
+    }
+
+    public static long getRowTimeSlotFromRowKey(byte[] rowKey) {
+        if (rowKey == null) {
+            throw new NullPointerException("rowKey");
+        }
+        final long reverseTimeMillis = BytesUtils.bytesToLong(rowKey, PinpointConstants.APPLICATION_NAME_MAX_LEN);
+        return TimeUtils.recoveryTimeMillis(reverseTimeMillis);
+    }
+
+    public static byte[] makeColumnName(int cellIndex, int elapsedBucket, boolean error) {
+        final byte[] columnName = new byte[COLUMN_NAME_LENGTH];
+        columnName[0] = (byte) cellIndex;
+        columnName[1] = (byte) elapsedBucket;
+        columnName[2] = (byte) (error ? 1 : 0);
+        return columnName;
+    }
+
+    public static boolean isColumnName(int qualifierLength) {
+        return qualifierLength == COLUMN_NAME_LENGTH;
+    }
+
+    public static int getCellIndexFromColumnName(byte[] bytes, int offset) {
+        return bytes[offset];
+    }
+
+    public static int getElapsedBucketFromColumnName(byte[] bytes, int offset) {
+        return bytes[offset + 1];
+    }
+
+    public static boolean isErrorFromColumnName(byte[] bytes, int offset) {
+        return bytes[offset + 2] != 0;
+    }
+}
@@ -34,6 +34,8 @@ public class TestAgentStatFactory {
 
     private static final long TIMESTAMP_INTERVAL = 5000L;
 
+    private static final int BATCH_SIZE_BUCKET_COUNT = 12;
+
     private static final Random RANDOM = new Random();
 
     public static List<JvmGcBo> createJvmGcBos(String agentId, long startTimestamp, long initialTimestamp) {
@@ -408,6 +410,95 @@ public class TestAgentStatFactory {
         }
         return directBufferBos;
     }
+
+    public static List<MetadataCacheListBo> createMetadataCacheListBos(String agentId, long startTimestamp, long initialTimestamp) {
+        final int numValues = RandomUtils.nextInt(1, MAX_NUM_TEST_VALUES);
+        return createMetadataCacheListBos(agentId, startTimestamp, initialTimestamp, numValues);
+    }
+
+    public static List<MetadataCacheListBo> createMetadataCacheListBos(String agentId, long startTimestamp, long initialTimestamp, int numValues) {
+        List<MetadataCacheListBo> metadataCacheListBos = new ArrayList<MetadataCacheListBo>(numValues);
+
+        for (int i = 0; i < numValues; i++) {
+            int metadataCacheBoSize = RandomUtils.nextInt(1, MAX_NUM_TEST_VALUES);
+            MetadataCacheListBo metadataCacheListBo = createMetadataCacheListBo(agentId, startTimestamp, initialTimestamp, "cache-" + i, metadataCacheBoSize);
+            metadataCacheListBos.add(metadataCacheListBo);
+        }
+        return metadataCacheListBos;
+    }
+
+    private static MetadataCacheListBo createMetadataCacheListBo(String agentId, long startTimestamp, long initialTimestamp, String name, int numValues) {
+        MetadataCacheListBo metadataCacheListBo = new MetadataCacheListBo();
+        metadataCacheListBo.setAgentId(agentId);
+        metadataCacheListBo.setStartTimestamp(startTimestamp);
+        metadataCacheListBo.setTimestamp(initialTimestamp);
+
+        List<Long> startTimestamps = createStartTimestamps(startTimestamp, numValues);
+        List<Long> timestamps = createTimestamps(initialTimestamp, numValues);
+        List<Long> hitCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 100000L, numValues);
+        List<Long> missCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 1000L, numValues);
+        List<Long> evictionCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 1000L, numValues);
+        List<Long> sizes = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 1024L, numValues);
+
+        for (int i = 0; i < numValues; i++) {
+            MetadataCacheBo metadataCacheBo = new MetadataCacheBo();
+            metadataCacheBo.setAgentId(agentId);
+            metadataCacheBo.setStartTimestamp(startTimestamps.get(i));
+            metadataCacheBo.setTimestamp(timestamps.get(i));
+
+            metadataCacheBo.setName(name);
+            metadataCacheBo.setHitCount(hitCounts.get(i));
+            metadataCacheBo.setMissCount(missCounts.get(i));
+            metadataCacheBo.setEvictionCount(evictionCounts.get(i));
+            metadataCacheBo.setSize(sizes.get(i));
+            metadataCacheBo.setWeight(sizes.get(i));
+
+            metadataCacheListBo.add(metadataCacheBo);
+        }
+
+        return metadataCacheListBo;
+    }
+
+    public static List<BatchSizeListBo> createBatchSizeListBos(String agentId, long startTimestamp, long initialTimestamp) {
+        final int numValues = RandomUtils.nextInt(1, MAX_NUM_TEST_VALUES);
+        return createBatchSizeListBos(agentId, startTimestamp, initialTimestamp, numValues);
+    }
+
+    public static List<BatchSizeListBo> createBatchSizeListBos(String agentId, long startTimestamp, long initialTimestamp, int numValues) {
+        List<BatchSizeListBo> batchSizeListBos = new ArrayList<BatchSizeListBo>(numValues);
+
+        for (int i = 0; i < numValues; i++) {
+            int batchSizeBoSize = RandomUtils.nextInt(1, MAX_NUM_TEST_VALUES);
+            BatchSizeListBo batchSizeListBo = createBatchSizeListBo(agentId, startTimestamp, initialTimestamp, "executor-" + i, batchSizeBoSize);
+            batchSizeListBos.add(batchSizeListBo);
+        }
+        return batchSizeListBos;
+    }
+
+    private static BatchSizeListBo createBatchSizeListBo(String agentId, long startTimestamp, long initialTimestamp, String executorName, int numValues) {
+        BatchSizeListBo batchSizeListBo = new BatchSizeListBo();
+        batchSizeListBo.setAgentId(agentId);
+        batchSizeListBo.setStartTimestamp(startTimestamp);
+        batchSizeListBo.setTimestamp(initialTimestamp);
+
+        List<Long> startTimestamps = createStartTimestamps(startTimestamp, numValues);
+        List<Long> timestamps = createTimestamps(initialTimestamp, numValues);
+
+        for (int i = 0; i < numValues; i++) {
+            BatchSizeBo batchSizeBo = new BatchSizeBo();
+            batchSizeBo.setAgentId(agentId);
+            batchSizeBo.setStartTimestamp(startTimestamps.get(i));
+            batchSizeBo.setTimestamp(timestamps.get(i));
+
+            batchSizeBo.setExecutorName(executorName);
+            batchSizeBo.setHistogram(TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 100000L, BATCH_SIZE_BUCKET_COUNT));
+
+            batchSizeListBo.add(batchSizeBo);
+        }
+
+        return batchSizeListBo;
+    }
+
     private static List<Long> createStartTimestamps(long startTimestamp, int numValues) {
         return TestAgentStatDataPointFactory.LONG.createConstantValues(startTimestamp, startTimestamp, numValues);
     }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodecTestBase;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.TestAgentStatFactory;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.BatchSizeListBo;
+import org.junit.Assert;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.List;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:applicationContext-test.xml")
+public class BatchSizeCodecV2Test extends AgentStatCodecTestBase<BatchSizeListBo> {
+
+    @Autowired
+    private BatchSizeCodecV2 batchSizeCodecV2;
+
+    @Override
+    protected List<BatchSizeListBo> createAgentStats(String agentId, long startTimestamp, long initialTimestamp) {
+        return TestAgentStatFactory.createBatchSizeListBos(agentId, startTimestamp, initialTimestamp);
+    }
+
+    @Override
+    protected AgentStatCodec<BatchSizeListBo> getCodec() {
+        return batchSizeCodecV2;
+    }
+
+    @Override
+    protected void verify(BatchSizeListBo expected, BatchSizeListBo actual) {
+        Assert.assertEquals("agentId", expected.getAgentId(), actual.getAgentId());
+        Assert.assertEquals("startTimestamp", expected.getStartTimestamp(), actual.getStartTimestamp());
+        Assert.assertEquals("timestamp", expected.getTimestamp(), actual.getTimestamp());
+        Assert.assertEquals(expected.size(), actual.size());
+
+        List<BatchSizeBo> expectedBatchSizeList = expected.getList();
+        List<BatchSizeBo> actualBatchSizeList = actual.getList();
+
+        for (int i = 0; i < expectedBatchSizeList.size(); i++) {
+            verify(expectedBatchSizeList.get(i), actualBatchSizeList.get(i));
+        }
+    }
+
+    private void verify(BatchSizeBo expected, BatchSizeBo actual) {
+        Assert.assertEquals("agentId", expected.getAgentId(), actual.getAgentId());
+        Assert.assertEquals("startTimestamp", expected.getStartTimestamp(), actual.getStartTimestamp());
+        Assert.assertEquals("timestamp", expected.getTimestamp(), actual.getTimestamp());
+
+        Assert.assertEquals("executorName", expected.getExecutorName(), actual.getExecutorName());
+        Assert.assertEquals("histogram", expected.getHistogram(), actual.getHistogram());
+    }
+
+}
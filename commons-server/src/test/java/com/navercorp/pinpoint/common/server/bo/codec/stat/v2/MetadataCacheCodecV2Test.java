@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodecTestBase;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.TestAgentStatFactory;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheBo;
+import com.navercorp.pinpoint.common.server.bo.stat.MetadataCacheListBo;
+import org.junit.Assert;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.List;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:applicationContext-test.xml")
+public class MetadataCacheCodecV2Test extends AgentStatCodecTestBase<MetadataCacheListBo> {
+
+    @Autowired
+    private MetadataCacheCodecV2 metadataCacheCodecV2;
+
+    @Override
+    protected List<MetadataCacheListBo> createAgentStats(String agentId, long startTimestamp, long initialTimestamp) {
+        return TestAgentStatFactory.createMetadataCacheListBos(agentId, startTimestamp, initialTimestamp);
+    }
+
+    @Override
+    protected AgentStatCodec<MetadataCacheListBo> getCodec() {
+        return metadataCacheCodecV2;
+    }
+
+    @Override
+    protected void verify(MetadataCacheListBo expected, MetadataCacheListBo actual) {
+        Assert.assertEquals("agentId", expected.getAgentId(), actual.getAgentId());
+        Assert.assertEquals("startTimestamp", expected.getStartTimestamp(), actual.getStartTimestamp());
+        Assert.assertEquals("timestamp", expected.getTimestamp(), actual.getTimestamp());
+        Assert.assertEquals(expected.size(), actual.size());
+
+        List<MetadataCacheBo> expectedMetadataCacheList = expected.getList();
+        List<MetadataCacheBo> actualMetadataCacheList = actual.getList();
+
+        for (int i = 0; i < expectedMetadataCacheList.size(); i++) {
+            verify(expectedMetadataCacheList.get(i), actualMetadataCacheList.get(i));
+        }
+    }
+
+    private void verify(MetadataCacheBo expected, MetadataCacheBo actual) {
+        Assert.assertEquals("agentId", expected.getAgentId(), actual.getAgentId());
+        Assert.assertEquals("startTimestamp", expected.getStartTimestamp(), actual.getStartTimestamp());
+        Assert.assertEquals("timestamp", expected.getTimestamp(), actual.getTimestamp());
+
+        Assert.assertEquals("name", expected.getName(), actual.getName());
+        Assert.assertEquals("hitCount", expected.getHitCount(), actual.getHitCount());
+        Assert.assertEquals("missCount", expected.getMissCount(), actual.getMissCount());
+        Assert.assertEquals("evictionCount", expected.getEvictionCount(), actual.getEvictionCount());
+        Assert.assertEquals("size", expected.getSize(), actual.getSize());
+        Assert.assertEquals("weight", expected.getWeight(), actual.getWeight());
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.rollup;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class AgentStatRollupValueTest {
+
+    @Test
+    public void add() {
+        AgentStatRollupValue value = new AgentStatRollupValue();
+        value.add(3);
+        value.add(1);
+        value.add(5);
+
+        Assert.assertEquals(1, value.getMin(), 0);
+        Assert.assertEquals(5, value.getMax(), 0);
+        Assert.assertEquals(9, value.getSum(), 0);
+        Assert.assertEquals(3, value.getCount());
+        Assert.assertEquals(3, value.getAvg(), 0);
+    }
+
+    @Test
+    public void merge() {
+        AgentStatRollupValue value = new AgentStatRollupValue(2, 4, 6, 2);
+        value.merge(new AgentStatRollupValue(1, 3, 4, 2));
+        value.merge(new AgentStatRollupValue());
+
+        Assert.assertEquals(1, value.getMin(), 0);
+        Assert.assertEquals(4, value.getMax(), 0);
+        Assert.assertEquals(10, value.getSum(), 0);
+        Assert.assertEquals(4, value.getCount());
+        Assert.assertEquals(2.5, value.getAvg(), 0);
+    }
+
+    @Test
+    public void bytes() {
+        AgentStatRollupValue value = new AgentStatRollupValue(0.125, 0.75, 1.5, 4);
+
+        byte[] bytes = value.toBytes();
+        Assert.assertEquals(AgentStatRollupValue.BYTE_LENGTH, bytes.length);
+
+        AgentStatRollupValue decoded = AgentStatRollupValue.fromBytes(bytes, 0);
+        Assert.assertEquals(value.getMin(), decoded.getMin(), 0);
+        Assert.assertEquals(value.getMax(), decoded.getMax(), 0);
+        Assert.assertEquals(value.getSum(), decoded.getSum(), 0);
+        Assert.assertEquals(value.getCount(), decoded.getCount());
+    }
+
+    @Test
+    public void coarsestResolution() {
+        Assert.assertNull(AgentStatRollupResolution.getCoarsest(TimeUnit.SECONDS.toMillis(5)));
+        Assert.assertEquals(AgentStatRollupResolution.ONE_MINUTE, AgentStatRollupResolution.getCoarsest(TimeUnit.MINUTES.toMillis(1)));
+        Assert.assertEquals(AgentStatRollupResolution.ONE_MINUTE, AgentStatRollupResolution.getCoarsest(TimeUnit.MINUTES.toMillis(5)));
+        Assert.assertEquals(AgentStatRollupResolution.TEN_MINUTES, AgentStatRollupResolution.getCoarsest(TimeUnit.MINUTES.toMillis(10)));
+        Assert.assertEquals(AgentStatRollupResolution.TEN_MINUTES, AgentStatRollupResolution.getCoarsest(TimeUnit.MINUTES.toMillis(30)));
+        Assert.assertEquals(AgentStatRollupResolution.ONE_HOUR, AgentStatRollupResolution.getCoarsest(TimeUnit.HOURS.toMillis(1)));
+        Assert.assertEquals(AgentStatRollupResolution.ONE_HOUR, AgentStatRollupResolution.getCoarsest(TimeUnit.HOURS.toMillis(3)));
+    }
+
+    @Test
+    public void slotTime() {
+        final long timestamp = TimeUnit.HOURS.toMillis(5) + TimeUnit.MINUTES.toMillis(37) + 1234;
+        Assert.assertEquals(TimeUnit.HOURS.toMillis(5) + TimeUnit.MINUTES.toMillis(37), AgentStatRollupResolution.ONE_MINUTE.getSlotTime(timestamp));
+        Assert.assertEquals(TimeUnit.HOURS.toMillis(5) + TimeUnit.MINUTES.toMillis(30), AgentStatRollupResolution.TEN_MINUTES.getSlotTime(timestamp));
+        Assert.assertEquals(TimeUnit.HOURS.toMillis(5), AgentStatRollupResolution.ONE_HOUR.getSlotTime(timestamp));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.thrift;
+
+import com.navercorp.pinpoint.common.profiler.util.TransactionIdUtils;
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
+import com.navercorp.pinpoint.common.server.bo.LocalAsyncIdBo;
+import com.navercorp.pinpoint.common.server.bo.RandomTSpan;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.util.IntStringValue;
+import com.navercorp.pinpoint.common.util.LongIntIntByteByteStringValue;
+import com.navercorp.pinpoint.io.request.Message;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
+import com.navercorp.pinpoint.thrift.dto.TLocalAsyncId;
+import com.navercorp.pinpoint.thrift.dto.TLongIntIntByteByteStringValue;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ThriftSpanBoDecoderTest {
+
+    private static final int REPEAT_COUNT = 10;
+
+    private final SpanFactory spanFactory = new SpanFactory();
+
+    private final ThriftSpanBoDecoder decoder = new ThriftSpanBoDecoder();
+
+    private final RandomTSpan random = new RandomTSpan();
+
+    @Test
+    public void readSpan() throws TException {
+        for (int i = 0; i < REPEAT_COUNT; i++) {
+            TSpan tSpan = random.randomTSpan();
+            tSpan.setSpanEventList(randomTSpanEventList());
+
+            SpanBo expected = spanFactory.buildSpanBo(tSpan);
+            expected.setCollectorAcceptTime(0);
+
+            SpanBo actual = decoder.readSpan(newProtocol(tSpan));
+
+            Assert.assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void readSpan_default() throws TException {
+        TSpan tSpan = new TSpan();
+        tSpan.setAgentId("agentId");
+        tSpan.setApplicationName("applicationName");
+        tSpan.setTransactionId(TransactionIdUtils.formatBytes(null, 1, 2));
+        tSpan.setServiceType((short) 1000);
+
+        SpanBo expected = spanFactory.buildSpanBo(tSpan);
+        expected.setCollectorAcceptTime(0);
+
+        SpanBo actual = decoder.readSpan(newProtocol(tSpan));
+
+        Assert.assertEquals(expected.toString(), actual.toString());
+        Assert.assertEquals(-1, actual.getParentSpanId());
+        Assert.assertEquals(1000, actual.getApplicationServiceType());
+        Assert.assertEquals("agentId", actual.getTransactionId().getAgentId());
+    }
+
+    @Test
+    public void readSpanChunk() throws TException {
+        for (int i = 0; i < REPEAT_COUNT; i++) {
+            TSpanChunk tSpanChunk = random.randomTSpanChunk();
+            tSpanChunk.setSpanEventList(randomTSpanEventList());
+
+            SpanChunkBo expected = spanFactory.buildSpanChunkBo(tSpanChunk);
+            expected.setCollectorAcceptTime(0);
+
+            SpanChunkBo actual = decoder.readSpanChunk(newProtocol(tSpanChunk));
+
+            Assert.assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void readSpanChunk_localAsyncId() throws TException {
+        TSpanChunk tSpanChunk = random.randomTSpanChunk();
+        tSpanChunk.setSpanEventList(randomTSpanEventList());
+        tSpanChunk.setLocalAsyncId(new TLocalAsyncId(10, 20));
+
+        SpanChunkBo actual = decoder.readSpanChunk(newProtocol(tSpanChunk));
+
+        Assert.assertEquals(new LocalAsyncIdBo(10, 20), actual.getLocalAsyncId());
+    }
+
+    @Test
+    public void readSpanChunk_fullScanLocalAsyncId() throws TException {
+        ThriftSpanBoDecoder fullScanDecoder = new ThriftSpanBoDecoder(false);
+
+        TSpanEvent event1 = random.randomTSpanEvent((short) 1);
+        event1.setAsyncId(1);
+        event1.setAsyncSequence((short) 2);
+        TSpanEvent event2 = random.randomTSpanEvent((short) 2);
+        event2.setAsyncId(3);
+        event2.setAsyncSequence((short) 2);
+
+        TSpanChunk tSpanChunk = random.randomTSpanChunk();
+        tSpanChunk.setSpanEventList(Arrays.asList(event1, event2));
+
+        SpanChunkBo actual = fullScanDecoder.readSpanChunk(newProtocol(tSpanChunk));
+        Assert.assertNull(actual.getLocalAsyncId());
+
+        event2.setAsyncId(1);
+        actual = fullScanDecoder.readSpanChunk(newProtocol(tSpanChunk));
+        Assert.assertEquals(new LocalAsyncIdBo(1, 2), actual.getLocalAsyncId());
+    }
+
+    @Test
+    public void readAnnotation_customValue() throws TException {
+        TAnnotation intString = new TAnnotation(1);
+        intString.setValue(TAnnotationValue.intStringValue(new TIntStringValue(10)));
+        TAnnotation longIntIntByteByteString = new TAnnotation(2);
+        longIntIntByteByteString.setValue(TAnnotationValue.longIntIntByteByteStringValue(new TLongIntIntByteByteStringValue(1L, 2)));
+        TAnnotation empty = new TAnnotation(3);
+
+        TSpan tSpan = random.randomTSpan();
+        tSpan.setAnnotations(Arrays.asList(empty, longIntIntByteByteString, intString));
+
+        SpanBo spanBo = decoder.readSpan(newProtocol(tSpan));
+
+        List<AnnotationBo> annotationBoList = spanBo.getAnnotationBoList();
+        Assert.assertEquals(3, annotationBoList.size());
+
+        IntStringValue intStringValue = (IntStringValue) annotationBoList.get(0).getValue();
+        Assert.assertEquals(10, intStringValue.getIntValue());
+        Assert.assertNull(intStringValue.getStringValue());
+
+        LongIntIntByteByteStringValue longValue = (LongIntIntByteByteStringValue) annotationBoList.get(1).getValue();
+        Assert.assertEquals(1L, longValue.getLongValue());
+        Assert.assertEquals(2, longValue.getIntValue1());
+
+        Assert.assertNull(annotationBoList.get(2).getValue());
+    }
+
+    @Test
+    public void headerBodyDecoder() throws TException {
+        TSpan tSpan = random.randomTSpan();
+        tSpan.setSpanEventList(randomTSpanEventList());
+        byte[] packet = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer().serialize(tSpan);
+
+        HeaderTBaseDeserializer deserializer = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+        Message<Object> message = deserializer.deserialize(packet, 0, packet.length, decoder);
+
+        SpanBo expected = spanFactory.buildSpanBo(tSpan);
+        expected.setCollectorAcceptTime(0);
+        Assert.assertEquals(expected.toString(), message.getData().toString());
+    }
+
+    private List<TSpanEvent> randomTSpanEventList() {
+        List<TSpanEvent> spanEventList = new ArrayList<>();
+        // reverse order
+        for (int i = 5; i > 0; i--) {
+            spanEventList.add(random.randomTSpanEvent((short) i));
+        }
+        return spanEventList;
+    }
+
+    private TProtocol newProtocol(TBase<?, ?> tBase) throws TException {
+        byte[] bytes = new TSerializer(new TCompactProtocol.Factory()).serialize(tBase);
+        return new TCompactProtocol(new TMemoryInputTransport(bytes));
+    }
+}
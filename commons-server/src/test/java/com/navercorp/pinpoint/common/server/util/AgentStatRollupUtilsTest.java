@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.util;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupResolution;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AgentStatRollupUtilsTest {
+
+    @Test
+    public void rowKey() {
+        final long slotTime = AgentStatRollupResolution.TEN_MINUTES.getSlotTime(1580000123456L);
+        final byte[] rowKey = AgentStatRollupUtils.makeRowKey("agentId", AgentStatRollupType.CPU_LOAD, AgentStatRollupResolution.TEN_MINUTES, slotTime);
+
+        Assert.assertEquals(AgentStatRollupUtils.ROW_KEY_PREFIX_LENGTH + 8, rowKey.length);
+        Assert.assertEquals(slotTime, AgentStatRollupUtils.getSlotTimeFromRowKey(rowKey));
+    }
+
+    @Test
+    public void rowKey_reversedTime() {
+        final AgentStatRollupResolution resolution = AgentStatRollupResolution.ONE_MINUTE;
+        final byte[] older = AgentStatRollupUtils.makeRowKey("agentId", AgentStatRollupType.DEADLOCK, resolution, 60000);
+        final byte[] newer = AgentStatRollupUtils.makeRowKey("agentId", AgentStatRollupType.DEADLOCK, resolution, 120000);
+
+        Assert.assertTrue(Bytes.compareTo(newer, older) < 0);
+    }
+
+    @Test
+    public void rowKey_separatedByTypeAndResolution() {
+        final byte[] cpuLoad = AgentStatRollupUtils.makeRowKey("agentId", AgentStatRollupType.CPU_LOAD, AgentStatRollupResolution.ONE_HOUR, 0);
+        final byte[] deadlock = AgentStatRollupUtils.makeRowKey("agentId", AgentStatRollupType.DEADLOCK, AgentStatRollupResolution.ONE_HOUR, 0);
+        final byte[] oneMinute = AgentStatRollupUtils.makeRowKey("agentId", AgentStatRollupType.CPU_LOAD, AgentStatRollupResolution.ONE_MINUTE, 0);
+
+        final int prefixLength = AgentStatRollupUtils.ROW_KEY_PREFIX_LENGTH;
+        Assert.assertNotEquals(0, Bytes.compareTo(cpuLoad, 0, prefixLength, deadlock, 0, prefixLength));
+        Assert.assertNotEquals(0, Bytes.compareTo(cpuLoad, 0, prefixLength, oneMinute, 0, prefixLength));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rowKey_agentIdTooLong() {
+        AgentStatRollupUtils.makeRowKey("0123456789012345678901234", AgentStatRollupType.CPU_LOAD, AgentStatRollupResolution.ONE_MINUTE, 0);
+    }
+
+    @Test
+    public void columnName() {
+        final byte[] columnName = AgentStatRollupUtils.makeColumnName(3, 1234L, 5L);
+
+        Assert.assertTrue(AgentStatRollupUtils.isColumnName(columnName.length));
+        Assert.assertEquals(3, AgentStatRollupUtils.getFieldIndexFromColumnName(columnName, 0));
+        Assert.assertFalse(Bytes.equals(columnName, AgentStatRollupUtils.makeColumnName(3, 1234L, 6L)));
+        Assert.assertFalse(Bytes.equals(columnName, AgentStatRollupUtils.makeColumnName(3, 4321L, 5L)));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.util;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ScatterHeatmapUtilsTest {
+
+    @Test
+    public void elapsedBucket() {
+        Assert.assertEquals(0, ScatterHeatmapUtils.getElapsedBucket(0));
+        Assert.assertEquals(0, ScatterHeatmapUtils.getElapsedBucket(100));
+        Assert.assertEquals(1, ScatterHeatmapUtils.getElapsedBucket(101));
+        Assert.assertEquals(5, ScatterHeatmapUtils.getElapsedBucket(1000));
+
+        final int lastBucket = ScatterHeatmapUtils.getElapsedBucketSize() - 1;
+        Assert.assertEquals(lastBucket, ScatterHeatmapUtils.getElapsedBucket(60001));
+        Assert.assertEquals(lastBucket, ScatterHeatmapUtils.getElapsedBucket(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void elapsedBucketBound() {
+        for (int bucket = 0; bucket < ScatterHeatmapUtils.getElapsedBucketSize(); bucket++) {
+            final int lowerBound = ScatterHeatmapUtils.getElapsedBucketLowerBound(bucket);
+            final int upperBound = ScatterHeatmapUtils.getElapsedBucketUpperBound(bucket);
+            Assert.assertEquals(bucket, ScatterHeatmapUtils.getElapsedBucket(lowerBound));
+            Assert.assertEquals(bucket, ScatterHeatmapUtils.getElapsedBucket(upperBound));
+        }
+        Assert.assertEquals(Integer.MAX_VALUE, ScatterHeatmapUtils.getElapsedBucketUpperBound(ScatterHeatmapUtils.getElapsedBucketSize() - 1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void elapsedBucketBound_outOfRange() {
+        ScatterHeatmapUtils.getElapsedBucketUpperBound(ScatterHeatmapUtils.getElapsedBucketSize());
+    }
+
+    @Test
+    public void rowKey() {
+        final long time = 1577836800000L + 95 * 1000 + 123;
+        final long rowTimeSlot = ScatterHeatmapUtils.getRowTimeSlot(time);
+        Assert.assertEquals(1577836860000L, rowTimeSlot);
+        Assert.assertEquals(3, ScatterHeatmapUtils.getCellIndex(time));
+
+        final byte[] rowKey = ScatterHeatmapUtils.makeRowKey("app", rowTimeSlot);
+        Assert.assertEquals(rowTimeSlot, ScatterHeatmapUtils.getRowTimeSlotFromRowKey(rowKey));
+
+        // reversed time. the latest row comes first
+        final byte[] nextRowKey = ScatterHeatmapUtils.makeRowKey("app", rowTimeSlot + ScatterHeatmapUtils.ROW_TIME_SLOT);
+        Assert.assertTrue(Bytes.compareTo(nextRowKey, rowKey) < 0);
+    }
+
+    @Test
+    public void columnName() {
+        final byte[] columnName = ScatterHeatmapUtils.makeColumnName(5, 16, true);
+        Assert.assertTrue(ScatterHeatmapUtils.isColumnName(columnName.length));
+        Assert.assertEquals(5, ScatterHeatmapUtils.getCellIndexFromColumnName(columnName, 0));
+        Assert.assertEquals(16, ScatterHeatmapUtils.getElapsedBucketFromColumnName(columnName, 0));
+        Assert.assertTrue(ScatterHeatmapUtils.isErrorFromColumnName(columnName, 0));
+        Assert.assertFalse(ScatterHeatmapUtils.isErrorFromColumnName(ScatterHeatmapUtils.makeColumnName(0, 0, false), 0));
+    }
+}
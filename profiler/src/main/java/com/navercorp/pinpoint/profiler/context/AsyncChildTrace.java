@@ -144,10 +144,11 @@ public class AsyncChildTrace implements Trace {
         if (spanEvent.isTimeRecording()) {
             spanEvent.markAfterTime();
         }
-        logSpan(spanEvent);
-        // state restore
+        // state restore before the spanEvent is handed over to the storage.
+        // a flushed spanEvent can be released to the SpanEventPool and reused by another trace
         final SpanEvent previous = callStack.peek();
         wrappedSpanEventRecorder.setWrapped(previous);
+        logSpan(spanEvent);
     }
 
 
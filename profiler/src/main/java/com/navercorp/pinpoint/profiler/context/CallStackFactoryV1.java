@@ -21,11 +21,16 @@ package com.navercorp.pinpoint.profiler.context;
  */
 public class CallStackFactoryV1 implements CallStackFactory<SpanEvent> {
 
-    private final CallStack.Factory<SpanEvent> factory = new SpanEventFactory();
+    private final CallStack.Factory<SpanEvent> factory;
     private final int maxDepth;
 
     public CallStackFactoryV1(int maxDepth) {
+        this(maxDepth, EmptySpanEventPool.INSTANCE);
+    }
+
+    public CallStackFactoryV1(int maxDepth, SpanEventPool spanEventPool) {
         this.maxDepth = maxDepth;
+        this.factory = new SpanEventFactory(spanEventPool);
     }
 
     @Override
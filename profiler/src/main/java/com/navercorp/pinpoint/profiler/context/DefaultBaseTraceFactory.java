@@ -32,6 +32,8 @@ import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
 import com.navercorp.pinpoint.profiler.context.recorder.WrappedSpanEventRecorder;
 import com.navercorp.pinpoint.profiler.context.storage.Storage;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.sampler.TraceSamplerUtils;
+import com.navercorp.pinpoint.profiler.sampler.UrlPathTraceSampler;
 
 
 /**
@@ -97,6 +99,14 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         return activeTraceRepository.register(traceRoot);
     }
 
+    private ActiveTraceHandle registerActiveTrace(TraceRoot traceRoot, String urlPath) {
+        final ActiveTraceHandle handle = registerActiveTrace(traceRoot);
+        if (urlPath == null || !(traceSampler instanceof UrlPathTraceSampler)) {
+            return handle;
+        }
+        return new UrlErrorActiveTraceHandle(handle, traceRoot, urlPath, (UrlPathTraceSampler) traceSampler);
+    }
+
     private ActiveTraceHandle registerActiveTrace(long localTransactionId, long startTime, long threadId) {
         return activeTraceRepository.register(localTransactionId, startTime, threadId);
     }
@@ -105,6 +115,16 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
     public Trace newTraceObject() {
         // TODO need to modify how to inject a datasender
         final TraceSampler.State state = traceSampler.isNewSampled();
+        return newTraceObject(state, null);
+    }
+
+    @Override
+    public Trace newTraceObject(String urlPath) {
+        final TraceSampler.State state = TraceSamplerUtils.isNewSampled(traceSampler, urlPath);
+        return newTraceObject(state, urlPath);
+    }
+
+    private Trace newTraceObject(TraceSampler.State state, String urlPath) {
         final boolean sampling = state.isSampled();
         if (sampling) {
             final TraceRoot traceRoot = traceRootFactory.newTraceRoot(state.nextId());
@@ -117,7 +137,7 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
             final SpanRecorder spanRecorder = recorderFactory.newSpanRecorder(span, traceId.isRoot(), sampling);
             final WrappedSpanEventRecorder wrappedSpanEventRecorder = recorderFactory.newWrappedSpanEventRecorder(traceRoot);
 
-            final ActiveTraceHandle handle = registerActiveTrace(traceRoot);
+            final ActiveTraceHandle handle = registerActiveTrace(traceRoot, urlPath);
             final DefaultTrace trace = new DefaultTrace(span, callStack, storage, sampling, spanRecorder, wrappedSpanEventRecorder, handle);
 
             return trace;
@@ -182,6 +202,17 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
     @Override
     public Trace newAsyncTraceObject() {
         final TraceSampler.State state = traceSampler.isNewSampled();
+        return newAsyncTraceObject(state, null);
+    }
+
+    // entry point async trace.
+    @Override
+    public Trace newAsyncTraceObject(String urlPath) {
+        final TraceSampler.State state = TraceSamplerUtils.isNewSampled(traceSampler, urlPath);
+        return newAsyncTraceObject(state, urlPath);
+    }
+
+    private Trace newAsyncTraceObject(TraceSampler.State state, String urlPath) {
         final boolean sampling = state.isSampled();
         if (sampling) {
             final TraceRoot traceRoot = traceRootFactory.newTraceRoot(state.nextId());
@@ -190,7 +221,7 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
             final Storage storage = storageFactory.createStorage(spanChunkFactory);
             final CallStack<SpanEvent> callStack = callStackFactory.newCallStack();
 
-            final ActiveTraceHandle handle = registerActiveTrace(traceRoot);
+            final ActiveTraceHandle handle = registerActiveTrace(traceRoot, urlPath);
             final SpanAsyncStateListener asyncStateListener = new SpanAsyncStateListener(span, storageFactory);
             final AsyncState asyncState = new ListenableAsyncState(asyncStateListener, handle);
 
@@ -224,4 +255,29 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         final Trace disableTrace = new DisableTrace(nextDisabledId, traceStartTime, activeTraceHandle);
         return disableTrace;
     }
-}
\ No newline at end of file
+
+    /**
+     * Reports the error of the transaction to the url sampler when the transaction ends.
+     */
+    private static class UrlErrorActiveTraceHandle implements ActiveTraceHandle {
+        private final ActiveTraceHandle handle;
+        private final TraceRoot traceRoot;
+        private final String urlPath;
+        private final UrlPathTraceSampler traceSampler;
+
+        private UrlErrorActiveTraceHandle(ActiveTraceHandle handle, TraceRoot traceRoot, String urlPath, UrlPathTraceSampler traceSampler) {
+            this.handle = handle;
+            this.traceRoot = traceRoot;
+            this.urlPath = urlPath;
+            this.traceSampler = traceSampler;
+        }
+
+        @Override
+        public void purge(long purgeTime) {
+            handle.purge(purgeTime);
+            if (traceRoot.getShared().getErrorCode() != 0) {
+                traceSampler.onError(urlPath);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of {@link SpanEvent} and SpanEvent list.
+ * Objects are taken by application threads and returned by the sender thread after the message conversion.
+ * The pool is striped by thread id to reduce lock contention. A full pool simply drops the returned object.
+ */
+public class DefaultSpanEventPool implements SpanEventPool {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final int poolSize;
+    private final int stripeMask;
+    private final ArrayBlockingQueue<SpanEvent>[] spanEventStripes;
+    private final ArrayBlockingQueue<ArrayList<SpanEvent>>[] listStripes;
+
+    // Caution. release() is called from the sender thread. racy update is harmless
+    private int releaseStripe = 0;
+
+    private final AtomicLong allocateCount = new AtomicLong();
+    private final AtomicLong releaseCount = new AtomicLong();
+    private final AtomicLong discardCount = new AtomicLong();
+    private final AtomicLong invalidReleaseCount = new AtomicLong();
+
+    public DefaultSpanEventPool(int poolSize) {
+        this(poolSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    public DefaultSpanEventPool(int poolSize, int concurrencyLevel) {
+        Assert.isTrue(poolSize > 0, "poolSize must be 'poolSize > 0'");
+        Assert.isTrue(concurrencyLevel > 0, "concurrencyLevel must be 'concurrencyLevel > 0'");
+        this.poolSize = poolSize;
+
+        final int stripes = stripeSize(concurrencyLevel);
+        this.stripeMask = stripes - 1;
+        final int stripePoolSize = Math.max(1, poolSize / stripes);
+        this.spanEventStripes = new ArrayBlockingQueue[stripes];
+        this.listStripes = new ArrayBlockingQueue[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.spanEventStripes[i] = new ArrayBlockingQueue<SpanEvent>(stripePoolSize);
+            // a list holds bufferSize events. fewer lists are needed than events
+            this.listStripes[i] = new ArrayBlockingQueue<ArrayList<SpanEvent>>(Math.max(1, stripePoolSize / 8));
+        }
+    }
+
+    private static int stripeSize(int concurrencyLevel) {
+        int stripes = 1;
+        while (stripes < concurrencyLevel && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    private int acquireStripe() {
+        return (int) Thread.currentThread().getId() & stripeMask;
+    }
+
+    private int nextReleaseStripe() {
+        final int stripe = releaseStripe++ & stripeMask;
+        return stripe;
+    }
+
+    @Override
+    public SpanEvent newSpanEvent() {
+        final SpanEvent spanEvent = spanEventStripes[acquireStripe()].poll();
+        if (spanEvent != null) {
+            spanEvent.reset();
+            return spanEvent;
+        }
+        allocateCount.incrementAndGet();
+        return new SpanEvent();
+    }
+
+    @Override
+    public List<SpanEvent> newSpanEventList(int capacity) {
+        final ArrayList<SpanEvent> list = listStripes[acquireStripe()].poll();
+        if (list != null) {
+            list.ensureCapacity(capacity);
+            return list;
+        }
+        return new ArrayList<SpanEvent>(capacity);
+    }
+
+    @Override
+    public void release(Span span) {
+        if (span == null) {
+            return;
+        }
+        final List<SpanEvent> spanEventList = span.getSpanEventList();
+        span.setSpanEventList(null);
+        releaseList(spanEventList);
+    }
+
+    @Override
+    public void release(SpanChunk spanChunk) {
+        if (spanChunk == null) {
+            return;
+        }
+        releaseList(spanChunk.getSpanEventList());
+    }
+
+    private void releaseList(List<SpanEvent> spanEventList) {
+        if (spanEventList == null) {
+            return;
+        }
+        final int size = spanEventList.size();
+        for (int i = 0; i < size; i++) {
+            releaseSpanEvent(spanEventList.get(i));
+        }
+        spanEventList.clear();
+
+        if (spanEventList.getClass() == ArrayList.class) {
+            final ArrayList<SpanEvent> arrayList = (ArrayList<SpanEvent>) spanEventList;
+            listStripes[nextReleaseStripe()].offer(arrayList);
+        }
+    }
+
+    private void releaseSpanEvent(SpanEvent spanEvent) {
+        // DummySpanEvent and other subclasses are not pooled
+        if (spanEvent == null || spanEvent.getClass() != SpanEvent.class) {
+            return;
+        }
+        if (spanEvent.isReleased()) {
+            final long count = invalidReleaseCount.incrementAndGet();
+            if (logger.isWarnEnabled()) {
+                logger.warn("SpanEvent already released. invalidReleaseCount:{}", count);
+            }
+            return;
+        }
+        spanEvent.markReleased();
+        releaseCount.incrementAndGet();
+        if (!spanEventStripes[nextReleaseStripe()].offer(spanEvent)) {
+            discardCount.incrementAndGet();
+        }
+    }
+
+    public long getAllocateCount() {
+        return allocateCount.get();
+    }
+
+    public long getReleaseCount() {
+        return releaseCount.get();
+    }
+
+    public long getDiscardCount() {
+        return discardCount.get();
+    }
+
+    public long getInvalidReleaseCount() {
+        return invalidReleaseCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultSpanEventPool{" +
+                "poolSize=" + poolSize +
+                ", stripes=" + spanEventStripes.length +
+                ", allocateCount=" + allocateCount.get() +
+                ", releaseCount=" + releaseCount.get() +
+                ", discardCount=" + discardCount.get() +
+                ", invalidReleaseCount=" + invalidReleaseCount.get() +
+                '}';
+    }
+}
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.profiler.context;
 
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.context.EntryPointTraceFactory;
 import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
 import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
 import com.navercorp.pinpoint.bootstrap.context.ServerMetaDataHolder;
@@ -40,7 +41,7 @@ import org.slf4j.LoggerFactory;
  * @author HyunGil Jeong
  * @author Taejin Koo
  */
-public class DefaultTraceContext implements TraceContext {
+public class DefaultTraceContext implements TraceContext, EntryPointTraceFactory {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
@@ -131,12 +132,22 @@ public class DefaultTraceContext implements TraceContext {
         return traceFactory.newTraceObject();
     }
 
+    @Override
+    public Trace newTraceObject(String urlPath) {
+        return traceFactory.newTraceObject(urlPath);
+    }
+
     @InterfaceAudience.LimitedPrivate("vert.x")
     @Override
     public Trace newAsyncTraceObject() {
         return traceFactory.newAsyncTraceObject();
     }
 
+    @Override
+    public Trace newAsyncTraceObject(String urlPath) {
+        return traceFactory.newAsyncTraceObject(urlPath);
+    }
+
     @InterfaceAudience.LimitedPrivate("vert.x")
     @Override
     public Trace continueAsyncTraceObject(final TraceId traceId) {
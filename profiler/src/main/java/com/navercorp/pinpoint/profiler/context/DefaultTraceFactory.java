@@ -117,6 +117,15 @@ public class DefaultTraceFactory implements TraceFactory {
         return trace;
     }
 
+    @Override
+    public Trace newTraceObject(String urlPath) {
+        final Reference<Trace> reference = checkAndGet();
+        final Trace trace = this.baseTraceFactory.newTraceObject(urlPath);
+
+        bind(reference, trace);
+        return trace;
+    }
+
     private void bind(Reference<Trace> reference, Trace trace) {
         reference.set(trace);
 
@@ -153,4 +162,15 @@ public class DefaultTraceFactory implements TraceFactory {
         bind(reference, trace);
         return trace;
     }
+
+    // entry point async trace.
+    @Override
+    public Trace newAsyncTraceObject(String urlPath) {
+        final Reference<Trace> reference = checkAndGet();
+
+        final Trace trace = this.baseTraceFactory.newAsyncTraceObject(urlPath);
+
+        bind(reference, trace);
+        return trace;
+    }
 }
\ No newline at end of file
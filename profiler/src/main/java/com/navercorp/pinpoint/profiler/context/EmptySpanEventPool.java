@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * recycle disabled
+ */
+public class EmptySpanEventPool implements SpanEventPool {
+
+    public static final SpanEventPool INSTANCE = new EmptySpanEventPool();
+
+    @Override
+    public SpanEvent newSpanEvent() {
+        return new SpanEvent();
+    }
+
+    @Override
+    public List<SpanEvent> newSpanEventList(int capacity) {
+        return new ArrayList<SpanEvent>(capacity);
+    }
+
+    @Override
+    public void release(Span span) {
+    }
+
+    @Override
+    public void release(SpanChunk spanChunk) {
+    }
+
+    @Override
+    public String toString() {
+        return "EmptySpanEventPool";
+    }
+}
@@ -88,6 +88,13 @@ public class LoggingBaseTraceFactory implements BaseTraceFactory {
         return baseTraceFactory.newTraceObject();
     }
 
+    @Override
+    public Trace newTraceObject(String urlPath) {
+        logger.debug("newTraceObject(urlPath:{})", urlPath);
+
+        return baseTraceFactory.newTraceObject(urlPath);
+    }
+
     @Override
     @InterfaceAudience.LimitedPrivate("vert.x")
     public Trace newAsyncTraceObject() {
@@ -95,4 +102,11 @@ public class LoggingBaseTraceFactory implements BaseTraceFactory {
 
         return baseTraceFactory.newAsyncTraceObject();
     }
+
+    @Override
+    public Trace newAsyncTraceObject(String urlPath) {
+        logger.debug("newAsyncTraceObject(urlPath:{})", urlPath);
+
+        return baseTraceFactory.newAsyncTraceObject(urlPath);
+    }
 }
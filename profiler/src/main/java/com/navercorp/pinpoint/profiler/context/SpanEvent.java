@@ -52,6 +52,9 @@ public class SpanEvent extends DefaultFrameAttachment {
 
     private AsyncId asyncIdObject;
 
+    // recycle state. SpanEventPool publishes this field safely between threads
+    private boolean released = false;
+
     public SpanEvent() {
     }
 
@@ -211,6 +214,42 @@ public class SpanEvent extends DefaultFrameAttachment {
         return asyncIdObject;
     }
 
+    public boolean isReleased() {
+        return released;
+    }
+
+    void markReleased() {
+        this.released = true;
+    }
+
+    /**
+     * clear all fields for reuse. the annotation list is cleared and reused too.
+     */
+    void reset() {
+        this.timeRecording = true;
+        this.stackId = 0;
+        this.startTime = 0;
+        this.elapsedTime = 0;
+        this.sequence = 0;
+        this.serviceType = 0;
+        this.endPoint = null;
+        final List<Annotation> annotations = this.annotations;
+        if (annotations instanceof ArrayList) {
+            // reuse the list allocated by addAnnotation()
+            annotations.clear();
+        } else {
+            this.annotations = null;
+        }
+        this.depth = -1;
+        this.nextSpanId = -1;
+        this.destinationId = null;
+        this.apiId = 0;
+        this.exceptionInfo = null;
+        this.asyncIdObject = null;
+        detachFrameObject();
+        this.released = false;
+    }
+
     @Override
     public String toString() {
         return "SpanEvent{" +
@@ -228,6 +267,7 @@ public class SpanEvent extends DefaultFrameAttachment {
                 ", destinationId='" + destinationId + '\'' +
                 ", apiId=" + apiId +
                 ", exceptionInfo=" + exceptionInfo +
+                (released ? ", released=true" : "") +
                 "} ";
     }
 }
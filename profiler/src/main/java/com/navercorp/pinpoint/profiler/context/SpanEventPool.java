@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import java.util.List;
+
+/**
+ * Recycles {@link SpanEvent} and SpanEvent list after the span has been converted to the transport message.
+ */
+public interface SpanEventPool {
+
+    SpanEvent newSpanEvent();
+
+    List<SpanEvent> newSpanEventList(int capacity);
+
+    /**
+     * Caution. the spanEvents of the span must not be used after release.
+     */
+    void release(Span span);
+
+    /**
+     * Caution. the spanEvents of the spanChunk must not be used after release.
+     */
+    void release(SpanChunk spanChunk);
+
+}
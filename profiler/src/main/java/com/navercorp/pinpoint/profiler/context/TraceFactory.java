@@ -43,6 +43,10 @@ public interface TraceFactory {
 
     Trace newTraceObject();
 
+    Trace newTraceObject(String urlPath);
+
     @InterfaceAudience.LimitedPrivate("vert.x")
     Trace newAsyncTraceObject();
+
+    Trace newAsyncTraceObject(String urlPath);
 }
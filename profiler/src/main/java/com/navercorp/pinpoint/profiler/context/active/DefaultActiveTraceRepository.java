@@ -16,8 +16,6 @@
 
 package com.navercorp.pinpoint.profiler.context.active;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
 import com.navercorp.pinpoint.common.trace.HistogramSchema;
 import com.navercorp.pinpoint.common.trace.HistogramSlot;
@@ -28,10 +26,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Taejin Koo
@@ -44,8 +41,9 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean isDebug = logger.isDebugEnabled();
 
-    // oom safe cache
-    private final ConcurrentMap<ActiveTraceHandle, ActiveTrace> activeTraceInfoMap;
+    // oom safe registry
+    private final StripedActiveTraceRegistry activeTraceRegistry;
+    private final AtomicLong registerFailCount = new AtomicLong();
 
     private final ResponseTimeCollector responseTimeCollector;
 
@@ -58,26 +56,16 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
 
     public DefaultActiveTraceRepository(ResponseTimeCollector responseTimeCollector, int maxActiveTraceSize) {
         this.responseTimeCollector = Assert.requireNonNull(responseTimeCollector, "responseTimeCollector");
-        this.activeTraceInfoMap = createCache(maxActiveTraceSize);
+        this.activeTraceRegistry = new StripedActiveTraceRegistry(maxActiveTraceSize);
     }
 
-    private ConcurrentMap<ActiveTraceHandle, ActiveTrace> createCache(int maxActiveTraceSize) {
-        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
-        cacheBuilder.concurrencyLevel(64);
-        cacheBuilder.initialCapacity(maxActiveTraceSize);
-        cacheBuilder.maximumSize(maxActiveTraceSize);
-
-        final Cache<ActiveTraceHandle, ActiveTrace> localCache = cacheBuilder.build();
-        return localCache.asMap();
-    }
-
-
-    private void remove(ActiveTraceHandle key, long purgeTime) {
+    private void remove(DefaultActiveTraceHandle handle, long purgeTime) {
         if (isDebug) {
-            logger.debug("remove ActiveTrace key:{}", key);
+            logger.debug("remove ActiveTrace key:{}", handle);
         }
-        final ActiveTrace activeTrace = this.activeTraceInfoMap.remove(key);
-        if (activeTrace != null) {
+        final ActiveTrace activeTrace = handle.activeTrace;
+        final boolean notRegistered = handle.index == StripedActiveTraceRegistry.FAILED;
+        if (notRegistered || this.activeTraceRegistry.remove(handle.index, activeTrace)) {
             final long responseTime = purgeTime - activeTrace.getStartTime();
             responseTimeCollector.add(responseTime);
         }
@@ -108,39 +96,33 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
             logger.debug("register ActiveTrace key:{}", activeTrace);
         }
 
-        final long id = activeTrace.getId();
-        final ActiveTraceHandle handle = new DefaultActiveTraceHandle(id);
-        final ActiveTrace old = this.activeTraceInfoMap.put(handle, activeTrace);
-        if (old != null) {
+        final int index = this.activeTraceRegistry.register(activeTrace);
+        if (index == StripedActiveTraceRegistry.FAILED) {
+            // the trace is not visible to the snapshot but the response time is still collected
+            final long failCount = registerFailCount.incrementAndGet();
             if (logger.isWarnEnabled()) {
-                logger.warn("old activeTrace exist:{}", old);
+                logger.warn("activeTrace registry is full. registry:{} registerFailCount:{}", activeTraceRegistry, failCount);
             }
         }
-        return handle;
+        return new DefaultActiveTraceHandle(index, activeTrace);
     }
 
+    public long getRegisterFailCount() {
+        return registerFailCount.get();
+    }
 
     // @ThreadSafe
     @Override
     public List<ActiveTraceSnapshot> snapshot() {
-        if (this.activeTraceInfoMap.isEmpty()) {
-            return Collections.emptyList();
-        }
-        final Collection<ActiveTrace> activeTraceCollection = this.activeTraceInfoMap.values();
-        final List<ActiveTraceSnapshot> collectData = new ArrayList<ActiveTraceSnapshot>(activeTraceCollection.size());
-
-        for (ActiveTrace trace : activeTraceCollection) {
-            final long startTime = trace.getStartTime();
-            // not started
-            if (!isStarted(startTime)) {
-                continue;
-            }
-            final ActiveTraceSnapshot snapshot = trace.snapshot();
-            collectData.add(snapshot);
-        }
+        final SnapshotCollector collector = new SnapshotCollector();
+        this.activeTraceRegistry.forEach(collector);
+        final List<ActiveTraceSnapshot> collectData = collector.collectData;
         if (isDebug) {
             logger.debug("activeTraceSnapshot size:{}", collectData.size());
         }
+        if (collectData.isEmpty()) {
+            return Collections.emptyList();
+        }
         return collectData;
     }
 
@@ -148,86 +130,109 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
     // @ThreadSafe
     @Override
     public List<Long> getThreadIdList() {
-        if (this.activeTraceInfoMap.isEmpty()) {
-            return Collections.emptyList();
-        }
-        final Collection<ActiveTrace> activeTraceCollection = this.activeTraceInfoMap.values();
-        final List<Long> collectData = new ArrayList<Long>(activeTraceCollection.size());
-
-        for (ActiveTrace trace : activeTraceCollection) {
-            final long startTime = trace.getStartTime();
-            // not started
-            if (!isStarted(startTime)) {
-                continue;
-            }
-            final ActiveTraceSnapshot snapshot = trace.snapshot();
-            collectData.add(snapshot.getThreadId());
-        }
+        final ThreadIdCollector collector = new ThreadIdCollector();
+        this.activeTraceRegistry.forEach(collector);
+        final List<Long> collectData = collector.collectData;
         if (isDebug) {
             logger.debug("activeTraceSnapshot size:{}", collectData.size());
         }
+        if (collectData.isEmpty()) {
+            return Collections.emptyList();
+        }
         return collectData;
     }
 
     // @ThreadSafe
     @Override
     public ActiveTraceHistogram getActiveTraceHistogram(long currentTime) {
-        if (this.activeTraceInfoMap.isEmpty()) {
+        final HistogramCollector collector = new HistogramCollector(currentTime);
+        this.activeTraceRegistry.forEach(collector);
+        if (collector.count == 0) {
             return emptyActiveTraceHistogram;
         }
-        final Collection<ActiveTrace> activeTraceCollection = this.activeTraceInfoMap.values();
+        return collector.histogram;
+    }
 
+    private static boolean isStarted(long startTime) {
+        return startTime > 0;
+    }
 
-        final DefaultActiveTraceHistogram histogram = new DefaultActiveTraceHistogram(histogramSchema);
-        for (ActiveTrace activeTraceInfo : activeTraceCollection) {
-            final long startTime = activeTraceInfo.getStartTime();
-            if (!isStarted(startTime)) {
-                continue;
+    private static class SnapshotCollector implements StripedActiveTraceRegistry.ActiveTraceVisitor {
+        private final List<ActiveTraceSnapshot> collectData = new ArrayList<ActiveTraceSnapshot>();
+
+        @Override
+        public void visit(ActiveTrace activeTrace) {
+            // not started
+            if (!isStarted(activeTrace.getStartTime())) {
+                return;
             }
-            final int elapsedTime = (int) (currentTime - startTime);
-            final HistogramSlot slot = histogramSchema.findHistogramSlot(elapsedTime, false);
-            histogram.increment(slot);
+            collectData.add(activeTrace.snapshot());
         }
-
-        return histogram;
     }
 
-    private boolean isStarted(long startTime) {
-        return startTime > 0;
-    }
+    private static class ThreadIdCollector implements StripedActiveTraceRegistry.ActiveTraceVisitor {
+        private final List<Long> collectData = new ArrayList<Long>();
 
+        @Override
+        public void visit(ActiveTrace activeTrace) {
+            // not started
+            if (!isStarted(activeTrace.getStartTime())) {
+                return;
+            }
+            final ActiveTraceSnapshot snapshot = activeTrace.snapshot();
+            collectData.add(snapshot.getThreadId());
+        }
+    }
 
-    private class DefaultActiveTraceHandle implements ActiveTraceHandle {
-        private final long id;
+    private class HistogramCollector implements StripedActiveTraceRegistry.ActiveTraceVisitor {
+        private final long currentTime;
+        private final DefaultActiveTraceHistogram histogram = new DefaultActiveTraceHistogram(histogramSchema);
+        private int count = 0;
 
-        DefaultActiveTraceHandle(long id) {
-            this.id = id;
+        private HistogramCollector(long currentTime) {
+            this.currentTime = currentTime;
         }
 
         @Override
-        public void purge(long purgeTime) {
-            remove(this, purgeTime);
+        public void visit(ActiveTrace activeTrace) {
+            final long startTime = activeTrace.getStartTime();
+            if (!isStarted(startTime)) {
+                return;
+            }
+            final int elapsedTime = (int) (currentTime - startTime);
+            final HistogramSlot slot = histogramSchema.findHistogramSlot(elapsedTime, false);
+            histogram.increment(slot);
+            count++;
         }
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
 
-            DefaultActiveTraceHandle that = (DefaultActiveTraceHandle) o;
+    private class DefaultActiveTraceHandle implements ActiveTraceHandle {
+        private final int index;
+        private final ActiveTrace activeTrace;
+        // a trace which failed to register can not be removed from the registry,
+        // so the handle itself remembers the purge to collect the response time only once.
+        private volatile boolean purged = false;
 
-            return id == that.id;
+        DefaultActiveTraceHandle(int index, ActiveTrace activeTrace) {
+            this.index = index;
+            this.activeTrace = activeTrace;
         }
 
         @Override
-        public int hashCode() {
-            return (int) (id ^ (id >>> 32));
+        public void purge(long purgeTime) {
+            if (purged) {
+                return;
+            }
+            purged = true;
+            remove(this, purgeTime);
         }
 
         @Override
         public String toString() {
             return "DefaultActiveTraceHandle{" +
-                    "id=" + id +
+                    "index=" + index +
+                    ", id=" + activeTrace.getId() +
                     '}';
         }
     }
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed size slot table of {@link ActiveTrace}.
+ * The table is striped by thread id. A thread registers into its own stripe first, so register() and remove()
+ * are O(1) CAS operations on a cache line that is rarely shared with other threads.
+ * Readers scan the slots without a lock. A trace is visible to readers from register() until remove().
+ * If every stripe is full, register() fails instead of evicting a live trace. (memory leak defense)
+ */
+public class StripedActiveTraceRegistry {
+
+    public static final int FAILED = -1;
+
+    private static final int MAX_STRIPES = 64;
+
+    private final int capacity;
+    private final int stripeMask;
+    private final int stripeCapacity;
+    private final Stripe[] stripes;
+
+    public StripedActiveTraceRegistry(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public StripedActiveTraceRegistry(int capacity, int concurrencyLevel) {
+        Assert.isTrue(capacity > 0, "capacity must be 'capacity > 0'");
+        Assert.isTrue(concurrencyLevel > 0, "concurrencyLevel must be 'concurrencyLevel > 0'");
+        this.capacity = capacity;
+
+        final int stripeSize = stripeSize(concurrencyLevel, capacity);
+        this.stripeMask = stripeSize - 1;
+        this.stripeCapacity = (capacity + stripeSize - 1) / stripeSize;
+        this.stripes = new Stripe[stripeSize];
+        for (int i = 0; i < stripeSize; i++) {
+            this.stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    static int stripeSize(int concurrencyLevel, int capacity) {
+        int stripes = 1;
+        while (stripes < concurrencyLevel && stripes < MAX_STRIPES && stripes < capacity) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * @return slot index for {@link #remove(int, ActiveTrace)} or {@link #FAILED} if the registry is full
+     */
+    public int register(ActiveTrace activeTrace) {
+        Assert.requireNonNull(activeTrace, "activeTrace");
+
+        final int homeStripe = (int) Thread.currentThread().getId() & stripeMask;
+        for (int i = 0; i < stripes.length; i++) {
+            final int stripeIndex = (homeStripe + i) & stripeMask;
+            final int slot = stripes[stripeIndex].register(activeTrace);
+            if (slot != FAILED) {
+                return stripeIndex * stripeCapacity + slot;
+            }
+        }
+        return FAILED;
+    }
+
+    /**
+     * @return true if activeTrace was registered at index
+     */
+    public boolean remove(int index, ActiveTrace activeTrace) {
+        if (index < 0) {
+            return false;
+        }
+        final int stripeIndex = index / stripeCapacity;
+        if (stripeIndex >= stripes.length) {
+            return false;
+        }
+        return stripes[stripeIndex].remove(index - (stripeIndex * stripeCapacity), activeTrace);
+    }
+
+    /**
+     * Visits registered traces. The traversal is weakly consistent like the iterator of ConcurrentHashMap.
+     */
+    public void forEach(ActiveTraceVisitor visitor) {
+        Assert.requireNonNull(visitor, "visitor");
+
+        for (Stripe stripe : stripes) {
+            final AtomicReferenceArray<ActiveTrace> slots = stripe.slots;
+            final int length = slots.length();
+            for (int i = 0; i < length; i++) {
+                final ActiveTrace activeTrace = slots.get(i);
+                if (activeTrace != null) {
+                    visitor.visit(activeTrace);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        final CountVisitor countVisitor = new CountVisitor();
+        forEach(countVisitor);
+        return countVisitor.count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getStripeSize() {
+        return stripes.length;
+    }
+
+    public interface ActiveTraceVisitor {
+        void visit(ActiveTrace activeTrace);
+    }
+
+    private static class CountVisitor implements ActiveTraceVisitor {
+        private int count;
+
+        @Override
+        public void visit(ActiveTrace activeTrace) {
+            count++;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Stripe {
+        // prevent false sharing between the hint of neighbouring stripes
+        private long p1, p2, p3, p4, p5, p6, p7;
+
+        private final AtomicReferenceArray<ActiveTrace> slots;
+        // search start position. racy update is harmless
+        private int nextSlot = 0;
+
+        private long p8, p9, p10, p11, p12, p13, p14;
+
+        private Stripe(int stripeCapacity) {
+            this.slots = new AtomicReferenceArray<ActiveTrace>(stripeCapacity);
+        }
+
+        private int register(ActiveTrace activeTrace) {
+            final int length = slots.length();
+            int slot = nextSlot;
+            for (int i = 0; i < length; i++) {
+                if (slot >= length) {
+                    slot = 0;
+                }
+                if (slots.get(slot) == null && slots.compareAndSet(slot, null, activeTrace)) {
+                    nextSlot = slot + 1;
+                    return slot;
+                }
+                slot++;
+            }
+            return FAILED;
+        }
+
+        private boolean remove(int slot, ActiveTrace activeTrace) {
+            if (slots.compareAndSet(slot, activeTrace, null)) {
+                // reuse the slot of the most recently finished trace. it is likely to be in the cache
+                nextSlot = slot;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StripedActiveTraceRegistry{" +
+                "capacity=" + capacity +
+                ", stripes=" + stripes.length +
+                ", stripeCapacity=" + stripeCapacity +
+                '}';
+    }
+}
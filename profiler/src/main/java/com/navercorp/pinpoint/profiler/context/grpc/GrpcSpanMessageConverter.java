@@ -38,10 +38,12 @@ import com.navercorp.pinpoint.grpc.trace.PTransactionId;
 import com.navercorp.pinpoint.profiler.context.Annotation;
 import com.navercorp.pinpoint.profiler.context.AsyncId;
 import com.navercorp.pinpoint.profiler.context.AsyncSpanChunk;
+import com.navercorp.pinpoint.profiler.context.EmptySpanEventPool;
 import com.navercorp.pinpoint.profiler.context.LocalAsyncId;
 import com.navercorp.pinpoint.profiler.context.Span;
 import com.navercorp.pinpoint.profiler.context.SpanChunk;
 import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
 import com.navercorp.pinpoint.profiler.context.id.Shared;
 import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
@@ -62,6 +64,7 @@ public class GrpcSpanMessageConverter implements MessageConverter<GeneratedMessa
     private final short applicationServiceType;
 
     private final SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessor;
+    private final SpanEventPool spanEventPool;
     // WARNING not thread safe
     private final GrpcAnnotationValueMapper grpcAnnotationValueMapper = new GrpcAnnotationValueMapper();
 
@@ -71,10 +74,15 @@ public class GrpcSpanMessageConverter implements MessageConverter<GeneratedMessa
 
     public GrpcSpanMessageConverter(String agentId, short applicationServiceType,
                                     SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessor) {
+        this(agentId, applicationServiceType, spanProcessor, EmptySpanEventPool.INSTANCE);
+    }
+
+    public GrpcSpanMessageConverter(String agentId, short applicationServiceType,
+                                    SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessor, SpanEventPool spanEventPool) {
         this.agentId = Assert.requireNonNull(agentId, "agentId");
         this.applicationServiceType = applicationServiceType;
         this.spanProcessor = Assert.requireNonNull(spanProcessor, "spanProcessor");
-
+        this.spanEventPool = Assert.requireNonNull(spanEventPool, "spanEventPool");
     }
 
     @Override
@@ -82,11 +90,15 @@ public class GrpcSpanMessageConverter implements MessageConverter<GeneratedMessa
         if (message instanceof SpanChunk) {
             final SpanChunk spanChunk = (SpanChunk) message;
             final PSpanChunk pSpanChunk = buildPSpanChunk(spanChunk);
+            // the converted message is a copy. spanEvents can be reused
+            spanEventPool.release(spanChunk);
             return pSpanChunk;
         }
         if (message instanceof Span) {
             final Span span = (Span) message;
-            return buildPSpan(span);
+            final PSpan pSpan = buildPSpan(span);
+            spanEventPool.release(span);
+            return pSpan;
         }
         return null;
     }
@@ -265,6 +277,9 @@ public class GrpcSpanMessageConverter implements MessageConverter<GeneratedMessa
 
     @VisibleForTesting
     public PSpanEvent.Builder buildPSpanEvent(SpanEvent spanEvent) {
+        if (spanEvent.isReleased()) {
+            throw new IllegalStateException("spanEvent already released. " + spanEvent);
+        }
         final PSpanEvent.Builder pSpanEvent = getSpanEventBuilder();
 
 //        if (spanEvent.getStartElapsed() != 0) {
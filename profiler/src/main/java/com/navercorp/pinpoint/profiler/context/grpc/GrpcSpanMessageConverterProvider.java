@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.grpc.trace.PSpan;
 import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
 import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.ApplicationServerType;
@@ -39,17 +40,19 @@ public class GrpcSpanMessageConverterProvider implements Provider<MessageConvert
     private final short applicationServiceTypeCode;
 
     private final SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanPostProcessor;
+    private final SpanEventPool spanEventPool;
 
     @Inject
     public GrpcSpanMessageConverterProvider(@AgentId String agentId, @ApplicationServerType ServiceType applicationServiceType,
-                                            SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanPostProcessor) {
+                                            SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanPostProcessor, SpanEventPool spanEventPool) {
         this.agentId = Assert.requireNonNull(agentId, "agentId");
         this.applicationServiceTypeCode = applicationServiceType.getCode();
         this.spanPostProcessor = Assert.requireNonNull(spanPostProcessor, "spanPostProcessor");
+        this.spanEventPool = Assert.requireNonNull(spanEventPool, "spanEventPool");
     }
 
     @Override
     public MessageConverter<GeneratedMessageV3> get() {
-        return new GrpcSpanMessageConverter(agentId, applicationServiceTypeCode, spanPostProcessor);
+        return new GrpcSpanMessageConverter(agentId, applicationServiceTypeCode, spanPostProcessor, spanEventPool);
     }
 }
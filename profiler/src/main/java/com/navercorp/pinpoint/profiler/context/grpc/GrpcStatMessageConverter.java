@@ -30,12 +30,17 @@ import com.navercorp.pinpoint.grpc.trace.PFileDescriptor;
 import com.navercorp.pinpoint.grpc.trace.PJvmGc;
 import com.navercorp.pinpoint.grpc.trace.PJvmGcDetailed;
 import com.navercorp.pinpoint.grpc.trace.PJvmGcType;
+import com.navercorp.pinpoint.grpc.trace.PMetadataCache;
+import com.navercorp.pinpoint.grpc.trace.PMetadataCacheList;
+import com.navercorp.pinpoint.grpc.trace.PBatchSizeHistogram;
+import com.navercorp.pinpoint.grpc.trace.PBatchSizeHistogramList;
 import com.navercorp.pinpoint.grpc.trace.PResponseTime;
 import com.navercorp.pinpoint.grpc.trace.PThreadDump;
 import com.navercorp.pinpoint.grpc.trace.PTransaction;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHistogram;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHistogramUtils;
 import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
+import com.navercorp.pinpoint.profiler.metadata.CacheStats;
 import com.navercorp.pinpoint.profiler.monitor.metric.AgentStatMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.AgentStatMetricSnapshotBatch;
 import com.navercorp.pinpoint.profiler.monitor.metric.JvmGcDetailedMetricSnapshot;
@@ -47,10 +52,13 @@ import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetri
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.ThreadDumpMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.metadata.MetadataCacheMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.BatchSizeMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author jaehong.kim
@@ -137,6 +145,18 @@ public class GrpcStatMessageConverter implements MessageConverter<GeneratedMessa
             final PDirectBuffer directBuffer = convertDirectBuffer(bufferMetricSnapshot);
             agentStatBuilder.setDirectBuffer(directBuffer);
         }
+
+        final MetadataCacheMetricSnapshot metadataCacheMetricSnapshot = agentStatMetricSnapshot.getMetadataCache();
+        if (metadataCacheMetricSnapshot != null) {
+            final PMetadataCacheList metadataCacheList = convertMetadataCacheList(metadataCacheMetricSnapshot);
+            agentStatBuilder.setMetadataCacheList(metadataCacheList);
+        }
+
+        final BatchSizeMetricSnapshot batchSizeMetricSnapshot = agentStatMetricSnapshot.getBatchSize();
+        if (batchSizeMetricSnapshot != null && !batchSizeMetricSnapshot.getHistograms().isEmpty()) {
+            final PBatchSizeHistogramList batchSizeHistogramList = convertBatchSizeHistogramList(batchSizeMetricSnapshot);
+            agentStatBuilder.setBatchSizeHistogramList(batchSizeHistogramList);
+        }
         return agentStatBuilder.build();
     }
 
@@ -258,4 +278,33 @@ public class GrpcStatMessageConverter implements MessageConverter<GeneratedMessa
         directBufferBuilder.setMappedMemoryUsed(directBufferCollectData.getMappedMemoryUsed());
         return directBufferBuilder.build();
     }
+
+    private PMetadataCacheList convertMetadataCacheList(MetadataCacheMetricSnapshot metadataCacheMetricSnapshot) {
+        final PMetadataCacheList.Builder metadataCacheListBuilder = PMetadataCacheList.newBuilder();
+        for (Map.Entry<String, CacheStats> entry : metadataCacheMetricSnapshot.getCacheStats().entrySet()) {
+            final CacheStats cacheStats = entry.getValue();
+            final PMetadataCache.Builder metadataCacheBuilder = PMetadataCache.newBuilder();
+            metadataCacheBuilder.setName(entry.getKey());
+            metadataCacheBuilder.setHitCount(cacheStats.getHitCount());
+            metadataCacheBuilder.setMissCount(cacheStats.getMissCount());
+            metadataCacheBuilder.setEvictionCount(cacheStats.getEvictionCount());
+            metadataCacheBuilder.setSize(cacheStats.getSize());
+            metadataCacheBuilder.setWeight(cacheStats.getWeight());
+            metadataCacheListBuilder.addMetadataCache(metadataCacheBuilder.build());
+        }
+        return metadataCacheListBuilder.build();
+    }
+
+    private PBatchSizeHistogramList convertBatchSizeHistogramList(BatchSizeMetricSnapshot batchSizeMetricSnapshot) {
+        final PBatchSizeHistogramList.Builder batchSizeHistogramListBuilder = PBatchSizeHistogramList.newBuilder();
+        for (Map.Entry<String, long[]> entry : batchSizeMetricSnapshot.getHistograms().entrySet()) {
+            final PBatchSizeHistogram.Builder batchSizeHistogramBuilder = PBatchSizeHistogram.newBuilder();
+            batchSizeHistogramBuilder.setExecutorName(entry.getKey());
+            for (long count : entry.getValue()) {
+                batchSizeHistogramBuilder.addHistogram(count);
+            }
+            batchSizeHistogramListBuilder.addBatchSizeHistogram(batchSizeHistogramBuilder.build());
+        }
+        return batchSizeHistogramListBuilder.build();
+    }
 }
\ No newline at end of file
@@ -48,6 +48,7 @@ public class GrpcTransportConfig {
 
     private static final int DEFAULT_DISCARD_LOG_RATE_LIMIT = 100;
     private static final long DEFAULT_DISCARD_MAX_PENDING_THRESHOLD = 1024;
+    private static final long DEFAULT_SPAN_READY_WAIT_MILLIS = 0;
 
     private static final int DEFAULT_METADATA_RETRY_MAX_COUNT = 3;
     private static final int DEFAULT_METADATA_RETRY_DELAY_MILLIS = 1000;
@@ -92,6 +93,7 @@ public class GrpcTransportConfig {
 
     private int spanDiscardLogRateLimit = DEFAULT_DISCARD_LOG_RATE_LIMIT;
     private long spanDiscardMaxPendingThreshold = DEFAULT_DISCARD_MAX_PENDING_THRESHOLD;
+    private long spanReadyWaitMillis = DEFAULT_SPAN_READY_WAIT_MILLIS;
 
     public void read(ProfilerConfig profilerConfig) {
         final ProfilerConfig.ValueResolver placeHolderResolver = new DefaultProfilerConfig.PlaceHolderResolver();
@@ -130,6 +132,7 @@ public class GrpcTransportConfig {
         this.spanChannelExecutorQueueSize = profilerConfig.readInt("profiler.transport.grpc.span.sender.channel.executor.queue.size", DEFAULT_SPAN_CHANNEL_EXECUTOR_QUEUE_SIZE);
         this.spanDiscardLogRateLimit = profilerConfig.readInt("profiler.transport.grpc.span.sender.discardpolicy.logger.discard.ratelimit", DEFAULT_DISCARD_LOG_RATE_LIMIT);
         this.spanDiscardMaxPendingThreshold = profilerConfig.readLong("profiler.transport.grpc.span.sender.discardpolicy.maxpendingthreshold", DEFAULT_DISCARD_MAX_PENDING_THRESHOLD);
+        this.spanReadyWaitMillis = profilerConfig.readLong("profiler.transport.grpc.span.sender.backpressure.ready.wait.millis", DEFAULT_SPAN_READY_WAIT_MILLIS);
 
         // Netty
         this.nettySystemPropertyTryReflectiveSetAccessible = profilerConfig.readBoolean(KEY_PROFILER_CONFIG_NETTY_TRY_REFLECTION_SET_ACCESSIBLE, DEFAULT_NETTY_SYSTEM_PROPERTY_TRY_REFLECTIVE_SET_ACCESSIBLE);
@@ -225,6 +228,10 @@ public class GrpcTransportConfig {
         return spanDiscardMaxPendingThreshold;
     }
 
+    public long getSpanReadyWaitMillis() {
+        return spanReadyWaitMillis;
+    }
+
     public long getAgentRequestTimeout() {
         return agentRequestTimeout;
     }
@@ -317,6 +324,7 @@ public class GrpcTransportConfig {
         sb.append(", nettySystemPropertyTryReflectiveSetAccessible=").append(nettySystemPropertyTryReflectiveSetAccessible);
         sb.append(", spanDiscardLogRateLimit=").append(spanDiscardLogRateLimit);
         sb.append(", spanDiscardMaxPendingThreshold=").append(spanDiscardMaxPendingThreshold);
+        sb.append(", spanReadyWaitMillis=").append(spanReadyWaitMillis);
         sb.append('}');
         return sb.toString();
     }
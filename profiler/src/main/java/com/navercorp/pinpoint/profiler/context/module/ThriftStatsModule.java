@@ -28,6 +28,8 @@ import com.navercorp.pinpoint.profiler.context.provider.stat.datasource.DataSour
 import com.navercorp.pinpoint.profiler.context.provider.stat.deadlock.DeadlockMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.filedescriptor.FileDescriptorMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.jvmgc.JvmGcMetricCollectorProvider;
+import com.navercorp.pinpoint.profiler.context.provider.stat.batch.BatchSizeMetricCollectorProvider;
+import com.navercorp.pinpoint.profiler.context.provider.stat.metadata.MetadataCacheMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.response.ResponseTimeMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.transaction.TransactionMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatCollector;
@@ -39,6 +41,8 @@ import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CpuLoadMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.BatchSizeMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.metadata.MetadataCacheMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 import org.slf4j.Logger;
@@ -93,6 +97,14 @@ public class ThriftStatsModule extends AbstractModule {
         TypeLiteral<AgentStatMetricCollector<DeadlockMetricSnapshot>> deadlockCollector = new TypeLiteral<AgentStatMetricCollector<DeadlockMetricSnapshot>>() {};
         bind(deadlockCollector).toProvider(DeadlockMetricCollectorProvider.class).in(Scopes.SINGLETON);
 
+        // metadata cache
+        TypeLiteral<AgentStatMetricCollector<MetadataCacheMetricSnapshot>> metadataCacheCollector = new TypeLiteral<AgentStatMetricCollector<MetadataCacheMetricSnapshot>>() {};
+        bind(metadataCacheCollector).toProvider(MetadataCacheMetricCollectorProvider.class).in(Scopes.SINGLETON);
+
+        // batch size
+        TypeLiteral<AgentStatMetricCollector<BatchSizeMetricSnapshot>> batchSizeCollector = new TypeLiteral<AgentStatMetricCollector<BatchSizeMetricSnapshot>>() {};
+        bind(batchSizeCollector).toProvider(BatchSizeMetricCollectorProvider.class).in(Scopes.SINGLETON);
+
         // stat
         TypeLiteral<AgentStatMetricCollector<AgentStatMetricSnapshot>> statMetric = new TypeLiteral<AgentStatMetricCollector<AgentStatMetricSnapshot>>() {};
         bind(statMetric).annotatedWith(Names.named("AgentStatCollector"))
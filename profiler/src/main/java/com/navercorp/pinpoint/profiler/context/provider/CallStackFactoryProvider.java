@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.profiler.context.CallStackFactory;
 import com.navercorp.pinpoint.profiler.context.CallStackFactoryV1;
 import com.navercorp.pinpoint.profiler.context.CallStackFactoryV2;
 import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.context.TraceDataFormatVersion;
 
 /**
@@ -33,22 +34,24 @@ public class CallStackFactoryProvider implements Provider<CallStackFactory<SpanE
 
     private final TraceDataFormatVersion version;
     private final int callStackMaxDepth;
+    private final SpanEventPool spanEventPool;
 
 
     @Inject
     public CallStackFactoryProvider(@Named("profiler.callstack.max.depth") int callStackMaxDepth,
-                                    TraceDataFormatVersion version) {
+                                    TraceDataFormatVersion version, SpanEventPool spanEventPool) {
         this.version = Assert.requireNonNull(version, "version");
         this.callStackMaxDepth = callStackMaxDepth;
+        this.spanEventPool = Assert.requireNonNull(spanEventPool, "spanEventPool");
     }
 
     @Override
     public CallStackFactory<SpanEvent> get() {
         if (version == TraceDataFormatVersion.V2) {
-            return new CallStackFactoryV2(callStackMaxDepth);
+            return new CallStackFactoryV2(callStackMaxDepth, spanEventPool);
         }
         if (version == TraceDataFormatVersion.V1) {
-            return new CallStackFactoryV1(callStackMaxDepth);
+            return new CallStackFactoryV1(callStackMaxDepth, spanEventPool);
         }
         throw new UnsupportedOperationException("unknown version :" + version);
     }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanEventPool;
+import com.navercorp.pinpoint.profiler.context.EmptySpanEventPool;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SpanEventPoolProvider implements Provider<SpanEventPool> {
+
+    public static final String RECYCLE_ENABLE = "profiler.span.event.recycle.enable";
+    public static final String RECYCLE_POOL_SIZE = "profiler.span.event.recycle.pool.size";
+
+    private static final int DEFAULT_POOL_SIZE = 8192;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ProfilerConfig profilerConfig;
+
+    @Inject
+    public SpanEventPoolProvider(ProfilerConfig profilerConfig) {
+        this.profilerConfig = Assert.requireNonNull(profilerConfig, "profilerConfig");
+    }
+
+    @Override
+    public SpanEventPool get() {
+        final boolean recycleEnable = profilerConfig.readBoolean(RECYCLE_ENABLE, false);
+        if (!recycleEnable) {
+            return EmptySpanEventPool.INSTANCE;
+        }
+        int poolSize = profilerConfig.readInt(RECYCLE_POOL_SIZE, DEFAULT_POOL_SIZE);
+        if (poolSize <= 0) {
+            logger.warn("Invalid {}:{}. use default:{}", RECYCLE_POOL_SIZE, poolSize, DEFAULT_POOL_SIZE);
+            poolSize = DEFAULT_POOL_SIZE;
+        }
+        final SpanEventPool spanEventPool = new DefaultSpanEventPool(poolSize);
+        logger.info("SpanEvent recycle enabled. {}", spanEventPool);
+        return spanEventPool;
+    }
+}
@@ -20,8 +20,10 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
 import com.navercorp.pinpoint.profiler.context.storage.BufferedStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.FlushPolicy;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.TraceLogDelegateStorage;
 import com.navercorp.pinpoint.profiler.context.storage.TraceLogDelegateStorageFactory;
@@ -34,13 +36,18 @@ import org.slf4j.LoggerFactory;
  */
 public class StorageFactoryProvider implements Provider<StorageFactory> {
 
+    public static final String IO_BUFFERING_FLUSH_BYTES = "profiler.io.buffering.flush.bytes";
+    public static final String IO_BUFFERING_FLUSH_AGE = "profiler.io.buffering.flush.age";
+
     private final ProfilerConfig profilerConfig;
     private final DataSender spanDataSender;
+    private final SpanEventPool spanEventPool;
 
     @Inject
-    public StorageFactoryProvider(ProfilerConfig profilerConfig, @SpanDataSender DataSender spanDataSender) {
+    public StorageFactoryProvider(ProfilerConfig profilerConfig, @SpanDataSender DataSender spanDataSender, SpanEventPool spanEventPool) {
         this.profilerConfig = Assert.requireNonNull(profilerConfig, "profilerConfig");
         this.spanDataSender = Assert.requireNonNull(spanDataSender, "spanDataSender");
+        this.spanEventPool = Assert.requireNonNull(spanEventPool, "spanEventPool");
     }
 
     @Override
@@ -54,13 +61,20 @@ public class StorageFactoryProvider implements Provider<StorageFactory> {
 
     private StorageFactory newStorageFactory() {
         if (profilerConfig.isIoBufferingEnable()) {
-            int ioBufferingBufferSize = this.profilerConfig.getIoBufferingBufferSize();
-            return new BufferedStorageFactory(ioBufferingBufferSize, this.spanDataSender);
+            final FlushPolicy flushPolicy = newFlushPolicy();
+            return new BufferedStorageFactory(flushPolicy, this.spanDataSender, this.spanEventPool);
         } else {
-            return new BufferedStorageFactory(Integer.MAX_VALUE, this.spanDataSender);
+            return new BufferedStorageFactory(FlushPolicy.UNBOUNDED, this.spanDataSender, this.spanEventPool);
         }
     }
 
+    private FlushPolicy newFlushPolicy() {
+        final int ioBufferingBufferSize = this.profilerConfig.getIoBufferingBufferSize();
+        final int maxBytes = this.profilerConfig.readInt(IO_BUFFERING_FLUSH_BYTES, 0);
+        final long maxAgeMillis = this.profilerConfig.readLong(IO_BUFFERING_FLUSH_AGE, 0);
+        return new FlushPolicy(Math.max(1, ioBufferingBufferSize), Math.max(0, maxBytes), Math.max(0, maxAgeMillis));
+    }
+
     @Override
     public String toString() {
         return "StorageFactoryProvider{" +
@@ -73,8 +73,10 @@ public class SpanGrpcDataSenderProvider implements Provider<DataSender<Object>>
         final ChannelFactoryBuilder channelFactoryBuilder = newChannelFactoryBuilder();
         final ChannelFactory channelFactory = channelFactoryBuilder.build();
 
+        final long readyWaitMillis = grpcTransportConfig.getSpanReadyWaitMillis();
+
         final ReconnectExecutor reconnectExecutor = this.reconnectExecutor.get();
-        return new SpanGrpcDataSender(collectorIp, collectorPort, senderExecutorQueueSize, messageConverter, reconnectExecutor, channelFactory);
+        return new SpanGrpcDataSender(collectorIp, collectorPort, senderExecutorQueueSize, messageConverter, reconnectExecutor, channelFactory, readyWaitMillis);
     }
 
     protected ChannelFactoryBuilder newChannelFactoryBuilder() {
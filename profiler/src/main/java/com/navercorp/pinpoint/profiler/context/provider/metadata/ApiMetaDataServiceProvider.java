@@ -43,7 +43,7 @@ public class ApiMetaDataServiceProvider implements Provider<ApiMetaDataService>
     @Override
     public ApiMetaDataService get() {
         final EnhancedDataSender<Object> enhancedDataSender = this.enhancedDataSenderProvider.get();
-        final SimpleCache<String> simpleCache = simpleCacheFactory.newSimpleCache();
+        final SimpleCache<String> simpleCache = simpleCacheFactory.newSimpleCache("api");
         return new DefaultApiMetaDataService(enhancedDataSender, simpleCache);
     }
 }
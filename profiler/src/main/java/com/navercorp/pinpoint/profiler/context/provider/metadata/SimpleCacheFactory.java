@@ -17,24 +17,55 @@
 package com.navercorp.pinpoint.profiler.context.provider.metadata;
 
 import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.metadata.CacheStats;
 import com.navercorp.pinpoint.profiler.metadata.SimpleCache;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * @author Woonduk Kang(emeroad)
  */
 public class SimpleCacheFactory {
 
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
     private final SimpleCache.IdTransformer idTransformer;
 
+    // name -> cache. for the metadata cache metric
+    private final Map<String, SimpleCache<?>> cacheMap = new LinkedHashMap<String, SimpleCache<?>>();
+
     public SimpleCacheFactory(SimpleCache.IdTransformer idTransformer) {
         this.idTransformer = Assert.requireNonNull(idTransformer, "idTransformer");
     }
 
-    public <T> SimpleCache<T> newSimpleCache() {
-        return new SimpleCache<T>(idTransformer);
+    public <T> SimpleCache<T> newSimpleCache(String name) {
+        return newSimpleCache(name, DEFAULT_CACHE_SIZE, 0);
+    }
+
+    public <T> SimpleCache<T> newSimpleCache(String name, int size) {
+        return newSimpleCache(name, size, 0);
+    }
+
+    /**
+     * @param maxBytes upper bound of the estimated memory usage. 0 is unlimited.
+     */
+    public <T> SimpleCache<T> newSimpleCache(String name, int size, long maxBytes) {
+        Assert.requireNonNull(name, "name");
+        final SimpleCache<T> simpleCache = new SimpleCache<T>(idTransformer, size, 1, maxBytes);
+        synchronized (cacheMap) {
+            cacheMap.put(name, simpleCache);
+        }
+        return simpleCache;
     }
 
-    public <T> SimpleCache<T> newSimpleCache(int size ) {
-        return new SimpleCache<T>(idTransformer, size);
+    public Map<String, CacheStats> getCacheStats() {
+        synchronized (cacheMap) {
+            final Map<String, CacheStats> cacheStats = new LinkedHashMap<String, CacheStats>(cacheMap.size());
+            for (Map.Entry<String, SimpleCache<?>> entry : cacheMap.entrySet()) {
+                cacheStats.put(entry.getKey(), entry.getValue().getStats());
+            }
+            return cacheStats;
+        }
     }
 }
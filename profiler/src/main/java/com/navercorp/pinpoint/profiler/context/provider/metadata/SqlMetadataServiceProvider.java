@@ -48,7 +48,9 @@ public class SqlMetadataServiceProvider implements Provider<SqlMetaDataService>
     @Override
     public SqlMetaDataService get() {
         final int jdbcSqlCacheSize = profilerConfig.getJdbcSqlCacheSize();
-        final SimpleCache<String> stringCache = simpleCacheFactory.newSimpleCache(jdbcSqlCacheSize);
-        return new DefaultSqlMetaDataService(enhancedDataSender, stringCache);
+        final long jdbcSqlCacheMaxBytes = profilerConfig.readLong("profiler.jdbc.sqlcache.max.bytes", 0);
+        final SimpleCache<String> stringCache = simpleCacheFactory.newSimpleCache("sql", jdbcSqlCacheSize, jdbcSqlCacheMaxBytes);
+        final int parsingResultCacheSize = profilerConfig.readInt("profiler.jdbc.sql.parsing.cache.size", 1024);
+        return new DefaultSqlMetaDataService(enhancedDataSender, stringCache, parsingResultCacheSize, jdbcSqlCacheMaxBytes);
     }
 }
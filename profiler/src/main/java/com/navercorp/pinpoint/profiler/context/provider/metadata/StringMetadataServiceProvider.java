@@ -43,7 +43,7 @@ public class StringMetadataServiceProvider implements Provider<StringMetaDataSer
 
     @Override
     public StringMetaDataService get() {
-        final SimpleCache<String> stringCache = simpleCacheFactory.newSimpleCache();
+        final SimpleCache<String> stringCache = simpleCacheFactory.newSimpleCache("string");
         return new DefaultStringMetaDataService(enhancedDataSender, stringCache);
     }
 }
@@ -20,26 +20,79 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.common.util.StringUtils;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSamplerSettings;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSamplerSettingsLoader;
 import com.navercorp.pinpoint.profiler.sampler.SamplerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Woonduk Kang(emeroad)
  */
 public class SamplerProvider implements Provider<Sampler> {
 
+    public static final String SAMPLING_TYPE = "profiler.sampling.type";
+    public static final String ADAPTIVE_TARGET_THROUGHPUT = AdaptiveSamplerSettingsLoader.TARGET_THROUGHPUT;
+    public static final String ADAPTIVE_BOOST_RATIO = AdaptiveSamplerSettingsLoader.BOOST_RATIO;
+    public static final String ADAPTIVE_INTERVAL = "profiler.sampling.adaptive.interval";
+    public static final String ADAPTIVE_URL_WINDOW = "profiler.sampling.adaptive.url.window";
+    public static final String ADAPTIVE_URL_MAX_SIZE = "profiler.sampling.adaptive.url.max.size";
+    public static final String ADAPTIVE_FILE = "profiler.sampling.adaptive.file";
+    public static final String ADAPTIVE_FILE_RELOAD_INTERVAL = "profiler.sampling.adaptive.file.reload.interval";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
     private final ProfilerConfig profilerConfig;
+    private final ActiveTraceRepository activeTraceRepository;
+    private final ResponseTimeCollector responseTimeCollector;
 
     @Inject
-    public SamplerProvider(ProfilerConfig profilerConfig) {
+    public SamplerProvider(ProfilerConfig profilerConfig, ActiveTraceRepository activeTraceRepository, ResponseTimeCollector responseTimeCollector) {
         this.profilerConfig = profilerConfig;
+        this.activeTraceRepository = Assert.requireNonNull(activeTraceRepository, "activeTraceRepository");
+        this.responseTimeCollector = Assert.requireNonNull(responseTimeCollector, "responseTimeCollector");
     }
 
     @Override
     public Sampler get() {
         boolean samplingEnable = profilerConfig.isSamplingEnable();
-        int samplingRate = profilerConfig.getSamplingRate();
 
         SamplerFactory samplerFactory = new SamplerFactory();
+        final String samplingType = profilerConfig.readString(SAMPLING_TYPE, "COUNTING");
+        if ("ADAPTIVE".equalsIgnoreCase(samplingType)) {
+            int targetThroughput = profilerConfig.readInt(ADAPTIVE_TARGET_THROUGHPUT, 20);
+            int boostRatio = profilerConfig.readInt(ADAPTIVE_BOOST_RATIO, 4);
+            final long interval = profilerConfig.readLong(ADAPTIVE_INTERVAL, 1000);
+            final long urlWindow = profilerConfig.readLong(ADAPTIVE_URL_WINDOW, AdaptiveSampler.DEFAULT_URL_WINDOW_MILLIS);
+            final int urlMaxSize = profilerConfig.readInt(ADAPTIVE_URL_MAX_SIZE, AdaptiveSampler.DEFAULT_MAX_URL_SIZE);
+            final AdaptiveSamplerSettingsLoader settingsLoader = newSettingsLoader(targetThroughput, boostRatio);
+            if (settingsLoader != null) {
+                final AdaptiveSamplerSettings settings = settingsLoader.load();
+                targetThroughput = settings.getTargetThroughput();
+                boostRatio = settings.getMaxBoostRatio();
+            }
+            final Sampler sampler = samplerFactory.createAdaptiveSampler(samplingEnable, targetThroughput, boostRatio, settingsLoader,
+                    interval, urlWindow, urlMaxSize, activeTraceRepository, responseTimeCollector);
+            logger.info("new {}", sampler);
+            return sampler;
+        }
+
+        int samplingRate = profilerConfig.getSamplingRate();
         return samplerFactory.createSampler(samplingEnable, samplingRate);
     }
+
+    private AdaptiveSamplerSettingsLoader newSettingsLoader(int targetThroughput, int boostRatio) {
+        final String file = profilerConfig.readString(ADAPTIVE_FILE, "");
+        if (!StringUtils.hasLength(file) || targetThroughput <= 0) {
+            return null;
+        }
+        final long reloadInterval = profilerConfig.readLong(ADAPTIVE_FILE_RELOAD_INTERVAL, 10000);
+        final AdaptiveSamplerSettings defaultSettings = new AdaptiveSamplerSettings(targetThroughput, Math.max(0, boostRatio));
+        return new AdaptiveSamplerSettingsLoader(file, reloadInterval, defaultSettings);
+    }
 }
@@ -23,9 +23,13 @@ import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
 import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
 import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.common.util.StringUtils;
 import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
 import com.navercorp.pinpoint.profiler.sampler.BasicTraceSampler;
 import com.navercorp.pinpoint.profiler.sampler.RateLimitTraceSampler;
+import com.navercorp.pinpoint.profiler.sampler.SamplingRuleFileLoader;
+import com.navercorp.pinpoint.profiler.sampler.SamplingRuleTable;
+import com.navercorp.pinpoint.profiler.sampler.UrlTraceSampler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +37,12 @@ import org.slf4j.LoggerFactory;
  * @author Woonduk Kang(emeroad)
  */
 public class TraceSamplerProvider implements Provider<TraceSampler> {
+
+    public static final String URL_RULES = "profiler.sampling.url.rules";
+    public static final String URL_RULES_FILE = "profiler.sampling.url.rules.file";
+    public static final String URL_RULES_RELOAD_INTERVAL = "profiler.sampling.url.rules.reload.interval";
+    public static final String URL_RULES_CACHE_SIZE = "profiler.sampling.url.rules.cache.size";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final Sampler sampler;
@@ -50,6 +60,7 @@ public class TraceSamplerProvider implements Provider<TraceSampler> {
     public TraceSampler get() {
         logger.info("new BasicTraceSampler()");
         TraceSampler traceSampler = new BasicTraceSampler(idGenerator, sampler);
+        traceSampler = newUrlTraceSampler(traceSampler);
         final int samplingNewThroughput = profilerConfig.getSamplingNewThroughput();
         final int samplingContinueThroughput = profilerConfig.getSamplingContinueThroughput();
         if (samplingNewThroughput > 0 || samplingContinueThroughput > 0) {
@@ -58,4 +69,24 @@ public class TraceSamplerProvider implements Provider<TraceSampler> {
         }
         return traceSampler;
     }
+
+    private TraceSampler newUrlTraceSampler(TraceSampler traceSampler) {
+        final int cacheSize = profilerConfig.readInt(URL_RULES_CACHE_SIZE, SamplingRuleTable.DEFAULT_MAX_CACHE_SIZE);
+        final String rulesFile = profilerConfig.readString(URL_RULES_FILE, "");
+        if (StringUtils.hasLength(rulesFile)) {
+            final long reloadInterval = profilerConfig.readLong(URL_RULES_RELOAD_INTERVAL, 10000);
+            final SamplingRuleFileLoader ruleFileLoader = new SamplingRuleFileLoader(rulesFile, reloadInterval, cacheSize);
+            final SamplingRuleTable ruleTable = ruleFileLoader.load();
+            logger.info("new UrlTraceSampler {} {}", ruleFileLoader, ruleTable);
+            return new UrlTraceSampler(idGenerator, traceSampler, ruleTable, ruleFileLoader);
+        }
+
+        final String rules = profilerConfig.readString(URL_RULES, "");
+        final SamplingRuleTable ruleTable = SamplingRuleTable.parse(rules, cacheSize);
+        if (ruleTable.isEmpty()) {
+            return traceSampler;
+        }
+        logger.info("new UrlTraceSampler {}", ruleTable);
+        return new UrlTraceSampler(idGenerator, traceSampler, ruleTable);
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.provider.stat.batch;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.batch.DefaultBatchSizeMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.BatchSizeMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.BatchSizeMetricSnapshot;
+
+public class BatchSizeMetricCollectorProvider implements Provider<AgentStatMetricCollector<BatchSizeMetricSnapshot>> {
+
+    private final BatchSizeMetric batchSizeMetric;
+
+    @Inject
+    public BatchSizeMetricCollectorProvider(BatchSizeMetric batchSizeMetric) {
+        this.batchSizeMetric = Assert.requireNonNull(batchSizeMetric, "batchSizeMetric");
+    }
+
+    @Override
+    public AgentStatMetricCollector<BatchSizeMetricSnapshot> get() {
+        return new DefaultBatchSizeMetricCollector(batchSizeMetric);
+    }
+}
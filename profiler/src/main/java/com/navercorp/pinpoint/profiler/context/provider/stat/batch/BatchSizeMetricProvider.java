@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.provider.stat.batch;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.BatchSizeMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.DefaultBatchSizeMetric;
+import com.navercorp.pinpoint.profiler.sender.BatchSizeHistogramRegistry;
+
+public class BatchSizeMetricProvider implements Provider<BatchSizeMetric> {
+
+    private final BatchSizeHistogramRegistry histogramRegistry;
+
+    @Inject
+    public BatchSizeMetricProvider(BatchSizeHistogramRegistry histogramRegistry) {
+        this.histogramRegistry = Assert.requireNonNull(histogramRegistry, "histogramRegistry");
+    }
+
+    @Override
+    public BatchSizeMetric get() {
+        return new DefaultBatchSizeMetric(histogramRegistry);
+    }
+}
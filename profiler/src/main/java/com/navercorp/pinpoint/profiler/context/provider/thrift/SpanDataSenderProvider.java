@@ -23,7 +23,10 @@ import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.profiler.context.module.SpanClientFactory;
 import com.navercorp.pinpoint.profiler.context.module.SpanConverter;
 import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueingExecutorFactory;
+import com.navercorp.pinpoint.profiler.sender.BatchSizeHistogramRegistry;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.DrainPolicy;
 import com.navercorp.pinpoint.profiler.sender.MessageSerializer;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
 import com.navercorp.pinpoint.profiler.sender.ThriftMessageSerializer;
@@ -51,11 +54,13 @@ public class SpanDataSenderProvider  implements Provider<DataSender> {
     private final int sendBufferSize;
     private final String ioType;
     private final String transportType;
+    private final AsyncQueueingExecutorFactory executorFactory;
     private final MessageConverter<TBase<?, ?>> messageConverter;
 
     @Inject
     public SpanDataSenderProvider(ThriftTransportConfig thriftTransportConfig, @SpanClientFactory Provider<PinpointClientFactory> clientFactoryProvider,
-                                  @SpanConverter MessageConverter<TBase<?, ?>> messageConverter) {
+                                  @SpanConverter MessageConverter<TBase<?, ?>> messageConverter,
+                                  BatchSizeHistogramRegistry batchSizeHistogramRegistry) {
         Assert.requireNonNull(thriftTransportConfig, "thriftTransportConfig");
         this.clientFactoryProvider = Assert.requireNonNull(clientFactoryProvider, "clientFactoryProvider");
 
@@ -66,6 +71,10 @@ public class SpanDataSenderProvider  implements Provider<DataSender> {
         this.sendBufferSize = thriftTransportConfig.getSpanDataSenderSocketSendBufferSize();
         this.ioType = thriftTransportConfig.getSpanDataSenderSocketType();
         this.transportType = thriftTransportConfig.getSpanDataSenderTransportType();
+        final DrainPolicy drainPolicy = DrainPolicy.of(thriftTransportConfig.getSpanDataSenderWriteDrainSizeMin(),
+                thriftTransportConfig.getSpanDataSenderWriteDrainSizeMax(), thriftTransportConfig.getSpanDataSenderWriteLingerTime());
+        this.executorFactory = AsyncQueueingExecutorFactory.of(thriftTransportConfig.getSpanDataSenderWriteQueueType(),
+                thriftTransportConfig.getSpanDataSenderWriteQueueWaitStrategy(), drainPolicy, batchSizeHistogramRegistry);
         this.messageConverter = Assert.requireNonNull(messageConverter, "messageConverter");
     }
 
@@ -78,9 +87,9 @@ public class SpanDataSenderProvider  implements Provider<DataSender> {
 
             PinpointClientFactory pinpointClientFactory = clientFactoryProvider.get();
             MessageSerializer<byte[]> messageSerializer = new ThriftMessageSerializer(messageConverter);
-            return new TcpDataSender("SpanDataSender", ip, port, pinpointClientFactory, messageSerializer, writeQueueSize);
+            return new TcpDataSender("SpanDataSender", ip, port, pinpointClientFactory, messageSerializer, writeQueueSize, executorFactory);
         } else {
-            UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize, messageConverter);
+            UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize, messageConverter, executorFactory);
             return factory.create(ioType);
         }
     }
@@ -95,6 +104,7 @@ public class SpanDataSenderProvider  implements Provider<DataSender> {
         sb.append(", sendBufferSize=").append(sendBufferSize);
         sb.append(", ioType='").append(ioType).append('\'');
         sb.append(", transportType='").append(transportType).append('\'');
+        sb.append(", executorFactory=").append(executorFactory);
         sb.append('}');
         return sb.toString();
     }
@@ -24,7 +24,10 @@ import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.profiler.context.module.StatClientFactory;
 import com.navercorp.pinpoint.profiler.context.module.StatConverter;
 import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueingExecutorFactory;
+import com.navercorp.pinpoint.profiler.sender.BatchSizeHistogramRegistry;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.DrainPolicy;
 import com.navercorp.pinpoint.profiler.sender.MessageSerializer;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
 import com.navercorp.pinpoint.profiler.sender.ThriftMessageSerializer;
@@ -52,11 +55,12 @@ public class StatDataSenderProvider implements Provider<DataSender> {
     private final int sendBufferSize;
     private final String ioType;
     private final String transportType;
+    private final AsyncQueueingExecutorFactory executorFactory;
 
     private final MessageConverter<TBase<?, ?>> messageConverter;
 
     @Inject
-    public StatDataSenderProvider(ProfilerConfig profilerConfig, @StatClientFactory Provider<PinpointClientFactory> clientFactoryProvider, @StatConverter MessageConverter<TBase<?, ?>> messageConverter) {
+    public StatDataSenderProvider(ProfilerConfig profilerConfig, @StatClientFactory Provider<PinpointClientFactory> clientFactoryProvider, @StatConverter MessageConverter<TBase<?, ?>> messageConverter, BatchSizeHistogramRegistry batchSizeHistogramRegistry) {
         Assert.requireNonNull(profilerConfig, "profilerConfig");
 
         this.clientFactoryProvider = Assert.requireNonNull(clientFactoryProvider, "clientFactoryProvider");
@@ -69,6 +73,10 @@ public class StatDataSenderProvider implements Provider<DataSender> {
         this.sendBufferSize = thriftTransportConfig.getStatDataSenderSocketSendBufferSize();
         this.ioType = thriftTransportConfig.getStatDataSenderSocketType();
         this.transportType = thriftTransportConfig.getStatDataSenderTransportType();
+        final DrainPolicy drainPolicy = DrainPolicy.of(thriftTransportConfig.getStatDataSenderWriteDrainSizeMin(),
+                thriftTransportConfig.getStatDataSenderWriteDrainSizeMax(), thriftTransportConfig.getStatDataSenderWriteLingerTime());
+        this.executorFactory = AsyncQueueingExecutorFactory.of(thriftTransportConfig.getStatDataSenderWriteQueueType(),
+                thriftTransportConfig.getStatDataSenderWriteQueueWaitStrategy(), drainPolicy, batchSizeHistogramRegistry);
         this.messageConverter = messageConverter;
     }
 
@@ -81,9 +89,9 @@ public class StatDataSenderProvider implements Provider<DataSender> {
 
             PinpointClientFactory pinpointClientFactory = clientFactoryProvider.get();
             MessageSerializer<byte[]> messageSerializer = new ThriftMessageSerializer(messageConverter);
-            return new TcpDataSender("StatDataSender", ip, port, pinpointClientFactory, messageSerializer, writeQueueSize);
+            return new TcpDataSender("StatDataSender", ip, port, pinpointClientFactory, messageSerializer, writeQueueSize, executorFactory);
         } else {
-            UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize, messageConverter);
+            UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize, messageConverter, executorFactory);
             return factory.create(ioType);
         }
     }
@@ -98,6 +106,7 @@ public class StatDataSenderProvider implements Provider<DataSender> {
         sb.append(", sendBufferSize=").append(sendBufferSize);
         sb.append(", ioType='").append(ioType).append('\'');
         sb.append(", transportType='").append(transportType).append('\'');
+        sb.append(", executorFactory=").append(executorFactory);
         sb.append('}');
         return sb.toString();
     }
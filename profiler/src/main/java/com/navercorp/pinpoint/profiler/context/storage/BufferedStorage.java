@@ -24,7 +24,6 @@ import com.navercorp.pinpoint.profiler.sender.DataSender;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -36,40 +35,73 @@ public class BufferedStorage implements Storage {
     private static final boolean isDebug = logger.isDebugEnabled();
 
     private static final int DEFAULT_BUFFER_SIZE = 20;
+    // buffering disabled : maxEventCount is Integer.MAX_VALUE
+    private static final int MAX_INITIAL_CAPACITY = 1024;
 
-    private final int bufferSize;
+    private final FlushPolicy flushPolicy;
+    private final int initialCapacity;
 
     private final SpanChunkFactory spanChunkFactory;
     private List<SpanEvent> storage;
     private final DataSender<Object> dataSender;
+    private final SpanEventPool spanEventPool;
 
+    private long bufferedBytes;
+    private long bufferStartTime;
 
 
     public BufferedStorage(SpanChunkFactory spanChunkFactory, DataSender<Object> dataSender, int bufferSize) {
+        this(spanChunkFactory, dataSender, bufferSize, EmptySpanEventPool.INSTANCE);
+    }
+
+    public BufferedStorage(SpanChunkFactory spanChunkFactory, DataSender<Object> dataSender, int bufferSize, SpanEventPool spanEventPool) {
+        this(spanChunkFactory, dataSender, FlushPolicy.eventCount(bufferSize), spanEventPool);
+    }
+
+    public BufferedStorage(SpanChunkFactory spanChunkFactory, DataSender<Object> dataSender, FlushPolicy flushPolicy, SpanEventPool spanEventPool) {
         this.spanChunkFactory = Assert.requireNonNull(spanChunkFactory, "spanChunkFactory");
         this.dataSender = Assert.requireNonNull(dataSender, "dataSender");
-        this.bufferSize = bufferSize;
+        this.flushPolicy = Assert.requireNonNull(flushPolicy, "flushPolicy");
+        this.initialCapacity = Math.min(flushPolicy.getMaxEventCount(), MAX_INITIAL_CAPACITY);
+        this.spanEventPool = Assert.requireNonNull(spanEventPool, "spanEventPool");
         this.storage = allocateBuffer();
     }
 
     @Override
     public void store(SpanEvent spanEvent) {
+        if (spanEvent.isReleased()) {
+            // use after release. the spanEvent may already belong to another trace
+            logger.warn("Drop released spanEvent. stackId:{}", spanEvent.getStackId());
+            return;
+        }
         final List<SpanEvent> storage = getBuffer();
         storage.add(spanEvent);
 
-        if (overflow(storage)) {
+        if (overflow(storage, spanEvent)) {
             final List<SpanEvent> flushData = clearBuffer();
             sendSpanChunk(flushData);
         }
     }
 
-    private boolean overflow(List<SpanEvent> storage) {
-        return storage.size() >= bufferSize;
+    private boolean overflow(List<SpanEvent> storage, SpanEvent spanEvent) {
+        final FlushPolicy flushPolicy = this.flushPolicy;
+        if (flushPolicy.isSizeLimit()) {
+            this.bufferedBytes += SpanEventSizeEstimator.estimate(spanEvent);
+        }
+        long ageMillis = 0;
+        if (flushPolicy.isAgeLimit()) {
+            final long currentTime = System.currentTimeMillis();
+            if (storage.size() == 1) {
+                this.bufferStartTime = currentTime;
+            }
+            ageMillis = currentTime - this.bufferStartTime;
+        }
+        return flushPolicy.isFlush(storage.size(), this.bufferedBytes, ageMillis);
     }
 
 
     private List<SpanEvent> allocateBuffer() {
-        return new ArrayList<SpanEvent>(this.bufferSize);
+        return spanEventPool.newSpanEventList(this.initialCapacity);
     }
 
     private List<SpanEvent> getBuffer() {
@@ -84,6 +116,8 @@ public class BufferedStorage implements Storage {
     private List<SpanEvent> clearBuffer() {
         final List<SpanEvent> copy = this.storage;
         this.storage = null;
+        this.bufferedBytes = 0;
+        this.bufferStartTime = 0;
         return copy;
     }
 
@@ -132,6 +166,6 @@ public class BufferedStorage implements Storage {
 
     @Override
     public String toString() {
-        return "BufferedStorage{" + "bufferSize=" + bufferSize + ", dataSender=" + dataSender + '}';
+        return "BufferedStorage{" + "flushPolicy=" + flushPolicy + ", dataSender=" + dataSender + '}';
     }
 }
\ No newline at end of file
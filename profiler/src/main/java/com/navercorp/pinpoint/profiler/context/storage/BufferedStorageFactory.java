@@ -17,7 +17,9 @@
 package com.navercorp.pinpoint.profiler.context.storage;
 
 import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.EmptySpanEventPool;
 import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 
 /**
@@ -26,17 +28,27 @@ import com.navercorp.pinpoint.profiler.sender.DataSender;
 public class BufferedStorageFactory implements StorageFactory {
 
     private final DataSender dataSender;
-    private final int ioBufferingBufferSize;
+    private final FlushPolicy flushPolicy;
+    private final SpanEventPool spanEventPool;
 
     public BufferedStorageFactory(int ioBufferingBufferSize, DataSender dataSender) {
+        this(ioBufferingBufferSize, dataSender, EmptySpanEventPool.INSTANCE);
+    }
+
+    public BufferedStorageFactory(int ioBufferingBufferSize, DataSender dataSender, SpanEventPool spanEventPool) {
+        this(FlushPolicy.eventCount(ioBufferingBufferSize), dataSender, spanEventPool);
+    }
+
+    public BufferedStorageFactory(FlushPolicy flushPolicy, DataSender dataSender, SpanEventPool spanEventPool) {
         this.dataSender = Assert.requireNonNull(dataSender, "dataSender");
-        this.ioBufferingBufferSize = ioBufferingBufferSize;
+        this.flushPolicy = Assert.requireNonNull(flushPolicy, "flushPolicy");
+        this.spanEventPool = Assert.requireNonNull(spanEventPool, "spanEventPool");
     }
 
 
     @Override
     public Storage createStorage(SpanChunkFactory spanChunkFactory) {
-        Storage storage = new BufferedStorage(spanChunkFactory, this.dataSender, this.ioBufferingBufferSize);
+        Storage storage = new BufferedStorage(spanChunkFactory, this.dataSender, this.flushPolicy, this.spanEventPool);
         return storage;
     }
 
@@ -44,7 +56,8 @@ public class BufferedStorageFactory implements StorageFactory {
     public String toString() {
         return "BufferedStorageFactory{" +
                 "dataSender=" + dataSender +
-                ", ioBufferingBufferSize=" + ioBufferingBufferSize +
+                ", flushPolicy=" + flushPolicy +
+                ", spanEventPool=" + spanEventPool +
                 '}';
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+/**
+ * Flush condition of {@link BufferedStorage}.
+ * A SpanChunk is flushed when any of the limits is reached. A limit of 0 disables the condition.
+ * <ul>
+ *     <li>maxEventCount : number of buffered SpanEvents</li>
+ *     <li>maxBytes : estimated serialized size of buffered SpanEvents</li>
+ *     <li>maxAgeMillis : age of the oldest buffered SpanEvent. checked when a SpanEvent is stored</li>
+ * </ul>
+ */
+public class FlushPolicy {
+
+    public static final FlushPolicy UNBOUNDED = new FlushPolicy(Integer.MAX_VALUE, 0, 0);
+
+    private final int maxEventCount;
+    private final int maxBytes;
+    private final long maxAgeMillis;
+
+    public FlushPolicy(int maxEventCount, int maxBytes, long maxAgeMillis) {
+        if (maxEventCount <= 0) {
+            throw new IllegalArgumentException("maxEventCount must be 'maxEventCount > 0'");
+        }
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must be 'maxBytes >= 0'");
+        }
+        if (maxAgeMillis < 0) {
+            throw new IllegalArgumentException("maxAgeMillis must be 'maxAgeMillis >= 0'");
+        }
+        this.maxEventCount = maxEventCount;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public static FlushPolicy eventCount(int maxEventCount) {
+        return new FlushPolicy(maxEventCount, 0, 0);
+    }
+
+    public boolean isFlush(int eventCount, long bytes, long ageMillis) {
+        if (eventCount >= maxEventCount) {
+            return true;
+        }
+        if (maxBytes > 0 && bytes >= maxBytes) {
+            return true;
+        }
+        if (maxAgeMillis > 0 && ageMillis >= maxAgeMillis) {
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isSizeLimit() {
+        return maxBytes > 0;
+    }
+
+    public boolean isAgeLimit() {
+        return maxAgeMillis > 0;
+    }
+
+    public int getMaxEventCount() {
+        return maxEventCount;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getMaxAgeMillis() {
+        return maxAgeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "FlushPolicy{" +
+                "maxEventCount=" + maxEventCount +
+                ", maxBytes=" + maxBytes +
+                ", maxAgeMillis=" + maxAgeMillis +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.util.IntStringStringValue;
+import com.navercorp.pinpoint.common.util.IntStringValue;
+import com.navercorp.pinpoint.common.util.LongIntIntByteByteStringValue;
+import com.navercorp.pinpoint.common.util.StringStringValue;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+
+import java.util.List;
+
+/**
+ * Rough estimation of the serialized size of {@link SpanEvent}.
+ * Does not serialize. Fixed size fields are counted as a constant and variable length fields by their length.
+ */
+final class SpanEventSizeEstimator {
+
+    // sequence, depth, startElapsed, endElapsed, serviceType, apiId, nextSpanId, asyncId and field headers
+    static final int SPAN_EVENT_BASE_SIZE = 32;
+    // key and field headers
+    static final int ANNOTATION_BASE_SIZE = 8;
+    static final int UNKNOWN_VALUE_SIZE = 16;
+
+    private SpanEventSizeEstimator() {
+    }
+
+    static int estimate(SpanEvent spanEvent) {
+        int size = SPAN_EVENT_BASE_SIZE;
+        size += length(spanEvent.getEndPoint());
+        size += length(spanEvent.getDestinationId());
+
+        final IntStringValue exceptionInfo = spanEvent.getExceptionInfo();
+        if (exceptionInfo != null) {
+            size += 4 + length(exceptionInfo.getStringValue());
+        }
+
+        final List<Annotation> annotations = spanEvent.getAnnotations();
+        if (annotations != null) {
+            for (int i = 0; i < annotations.size(); i++) {
+                size += ANNOTATION_BASE_SIZE + valueSize(annotations.get(i).getValue());
+            }
+        }
+        return size;
+    }
+
+    private static int valueSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return length((String) value);
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof IntStringValue) {
+            return 4 + length(((IntStringValue) value).getStringValue());
+        }
+        if (value instanceof StringStringValue) {
+            final StringStringValue stringStringValue = (StringStringValue) value;
+            return length(stringStringValue.getStringValue1()) + length(stringStringValue.getStringValue2());
+        }
+        if (value instanceof IntStringStringValue) {
+            final IntStringStringValue intStringStringValue = (IntStringStringValue) value;
+            return 4 + length(intStringStringValue.getStringValue1()) + length(intStringStringValue.getStringValue2());
+        }
+        if (value instanceof LongIntIntByteByteStringValue) {
+            return 18 + length(((LongIntIntByteByteStringValue) value).getStringValue());
+        }
+        return UNKNOWN_VALUE_SIZE;
+    }
+
+    private static int length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        // assume ascii
+        return value.length();
+    }
+}
@@ -24,10 +24,12 @@ import com.navercorp.pinpoint.common.util.IntStringValue;
 import com.navercorp.pinpoint.profiler.context.Annotation;
 import com.navercorp.pinpoint.profiler.context.AsyncId;
 import com.navercorp.pinpoint.profiler.context.AsyncSpanChunk;
+import com.navercorp.pinpoint.profiler.context.EmptySpanEventPool;
 import com.navercorp.pinpoint.profiler.context.LocalAsyncId;
 import com.navercorp.pinpoint.profiler.context.Span;
 import com.navercorp.pinpoint.profiler.context.SpanChunk;
 import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
 import com.navercorp.pinpoint.profiler.context.id.Shared;
 import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
@@ -56,16 +58,23 @@ public class SpanThriftMessageConverter implements MessageConverter<TBase<?, ?>>
     private final short applicationServiceType;
     private final TransactionIdEncoder transactionIdEncoder;
     private final SpanProcessor<TSpan, TSpanChunk> spanPostProcessor;
+    private final SpanEventPool spanEventPool;
 
     public SpanThriftMessageConverter(String applicationName, String agentId, long agentStartTime, short applicationServiceType,
                                       TransactionIdEncoder transactionIdEncoder, SpanProcessor<TSpan, TSpanChunk> spanPostProcessor) {
+        this(applicationName, agentId, agentStartTime, applicationServiceType, transactionIdEncoder, spanPostProcessor, EmptySpanEventPool.INSTANCE);
+    }
+
+    public SpanThriftMessageConverter(String applicationName, String agentId, long agentStartTime, short applicationServiceType,
+                                      TransactionIdEncoder transactionIdEncoder, SpanProcessor<TSpan, TSpanChunk> spanPostProcessor,
+                                      SpanEventPool spanEventPool) {
         this.applicationName = Assert.requireNonNull(applicationName, "applicationName");
         this.agentId = Assert.requireNonNull(agentId, "agentId");
         this.agentStartTime = agentStartTime;
         this.applicationServiceType = applicationServiceType;
         this.transactionIdEncoder = Assert.requireNonNull(transactionIdEncoder, "transactionIdEncoder");
         this.spanPostProcessor = Assert.requireNonNull(spanPostProcessor, "spanPostProcessor");
-
+        this.spanEventPool = Assert.requireNonNull(spanEventPool, "spanEventPool");
     }
 
 
@@ -73,11 +82,16 @@ public class SpanThriftMessageConverter implements MessageConverter<TBase<?, ?>>
     public TBase<?, ?> toMessage(Object message) {
         if (message instanceof SpanChunk) {
             final SpanChunk spanChunk = (SpanChunk) message;
-            return buildTSpanChunk(spanChunk);
+            final TSpanChunk tSpanChunk = buildTSpanChunk(spanChunk);
+            // the converted message is a copy. spanEvents can be reused
+            spanEventPool.release(spanChunk);
+            return tSpanChunk;
         }
         if (message instanceof Span) {
             final Span span = (Span) message;
-            return buildTSpan(span);
+            final TSpan tSpan = buildTSpan(span);
+            spanEventPool.release(span);
+            return tSpan;
         }
         return null;
     }
@@ -192,6 +206,9 @@ public class SpanThriftMessageConverter implements MessageConverter<TBase<?, ?>>
 
     @VisibleForTesting
     TSpanEvent buildTSpanEvent(SpanEvent spanEvent) {
+        if (spanEvent.isReleased()) {
+            throw new IllegalStateException("spanEvent already released. " + spanEvent);
+        }
         final TSpanEvent tSpanEvent = new TSpanEvent();
 
 //        if (spanEvent.getStartElapsed() != 0) {
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.context.thrift;
 
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
 import com.navercorp.pinpoint.profiler.context.id.TransactionIdEncoder;
 import com.navercorp.pinpoint.profiler.context.module.AgentId;
@@ -42,21 +43,24 @@ public class SpanThriftMessageConverterProvider implements Provider<MessageConve
     private final ServiceType applicationServiceType;
     private final TransactionIdEncoder transactionIdEncoder;
     private final SpanProcessor<TSpan, TSpanChunk> spanPostProcessor;
+    private final SpanEventPool spanEventPool;
 
     @Inject
     public SpanThriftMessageConverterProvider(@ApplicationName String applicationName, @AgentId String agentId, @AgentStartTime long agentStartTime,
                                               @ApplicationServerType ServiceType applicationServiceType,
-                                              TransactionIdEncoder transactionIdEncoder, SpanProcessor<TSpan, TSpanChunk> spanPostProcessor) {
+                                              TransactionIdEncoder transactionIdEncoder, SpanProcessor<TSpan, TSpanChunk> spanPostProcessor,
+                                              SpanEventPool spanEventPool) {
         this.applicationName = Assert.requireNonNull(applicationName, "applicationName");
         this.agentId = Assert.requireNonNull(agentId, "agentId");
         this.agentStartTime = agentStartTime;
         this.applicationServiceType = Assert.requireNonNull(applicationServiceType, "applicationServiceType");
         this.transactionIdEncoder = Assert.requireNonNull(transactionIdEncoder, "transactionIdEncoder");
         this.spanPostProcessor = Assert.requireNonNull(spanPostProcessor, "spanPostProcessor");
+        this.spanEventPool = Assert.requireNonNull(spanEventPool, "spanEventPool");
     }
 
     @Override
     public MessageConverter<TBase<?, ?>> get() {
-        return new SpanThriftMessageConverter(applicationName, agentId, agentStartTime, applicationServiceType.getCode(), transactionIdEncoder, spanPostProcessor);
+        return new SpanThriftMessageConverter(applicationName, agentId, agentStartTime, applicationServiceType.getCode(), transactionIdEncoder, spanPostProcessor, spanEventPool);
     }
 }
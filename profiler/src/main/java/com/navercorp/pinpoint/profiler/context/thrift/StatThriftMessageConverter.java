@@ -28,7 +28,10 @@ import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSource;
 import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.ThreadDumpMetricSnapshot;
+import com.navercorp.pinpoint.profiler.metadata.CacheStats;
 import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.metadata.MetadataCacheMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.BatchSizeMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 import com.navercorp.pinpoint.thrift.dto.TActiveTrace;
@@ -44,12 +47,17 @@ import com.navercorp.pinpoint.thrift.dto.TFileDescriptor;
 import com.navercorp.pinpoint.thrift.dto.TJvmGc;
 import com.navercorp.pinpoint.thrift.dto.TJvmGcDetailed;
 import com.navercorp.pinpoint.thrift.dto.TJvmGcType;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCache;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCacheList;
+import com.navercorp.pinpoint.thrift.dto.TBatchSizeHistogram;
+import com.navercorp.pinpoint.thrift.dto.TBatchSizeHistogramList;
 import com.navercorp.pinpoint.thrift.dto.TResponseTime;
 import com.navercorp.pinpoint.thrift.dto.TTransaction;
 import com.navercorp.pinpoint.thrift.dto.command.TThreadDump;
 import org.apache.thrift.TBase;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author jaehong.kim
@@ -142,6 +150,18 @@ public class StatThriftMessageConverter implements MessageConverter<TBase<?, ?>>
             agentStat.setDirectBuffer(directBuffer);
         }
 
+        final MetadataCacheMetricSnapshot metadataCacheMetricSnapshot = agentStatMetricSnapshot.getMetadataCache();
+        if (metadataCacheMetricSnapshot != null) {
+            final TMetadataCacheList metadataCacheList = convertMetadataCacheList(metadataCacheMetricSnapshot);
+            agentStat.setMetadataCacheList(metadataCacheList);
+        }
+
+        final BatchSizeMetricSnapshot batchSizeMetricSnapshot = agentStatMetricSnapshot.getBatchSize();
+        if (batchSizeMetricSnapshot != null && !batchSizeMetricSnapshot.getHistograms().isEmpty()) {
+            final TBatchSizeHistogramList batchSizeHistogramList = convertBatchSizeHistogramList(batchSizeMetricSnapshot);
+            agentStat.setBatchSizeHistogramList(batchSizeHistogramList);
+        }
+
         return agentStat;
     }
 
@@ -263,4 +283,33 @@ public class StatThriftMessageConverter implements MessageConverter<TBase<?, ?>>
         tdirectBuffer.setMappedMemoryUsed(bufferMetricSnapshot.getMappedMemoryUsed());
         return tdirectBuffer;
     }
+
+    private TMetadataCacheList convertMetadataCacheList(MetadataCacheMetricSnapshot metadataCacheMetricSnapshot) {
+        final TMetadataCacheList metadataCacheList = new TMetadataCacheList();
+        for (Map.Entry<String, CacheStats> entry : metadataCacheMetricSnapshot.getCacheStats().entrySet()) {
+            final CacheStats cacheStats = entry.getValue();
+            final TMetadataCache metadataCache = new TMetadataCache();
+            metadataCache.setName(entry.getKey());
+            metadataCache.setHitCount(cacheStats.getHitCount());
+            metadataCache.setMissCount(cacheStats.getMissCount());
+            metadataCache.setEvictionCount(cacheStats.getEvictionCount());
+            metadataCache.setSize(cacheStats.getSize());
+            metadataCache.setWeight(cacheStats.getWeight());
+            metadataCacheList.addToMetadataCacheList(metadataCache);
+        }
+        return metadataCacheList;
+    }
+
+    private TBatchSizeHistogramList convertBatchSizeHistogramList(BatchSizeMetricSnapshot batchSizeMetricSnapshot) {
+        final TBatchSizeHistogramList batchSizeHistogramList = new TBatchSizeHistogramList();
+        for (Map.Entry<String, long[]> entry : batchSizeMetricSnapshot.getHistograms().entrySet()) {
+            final TBatchSizeHistogram batchSizeHistogram = new TBatchSizeHistogram();
+            batchSizeHistogram.setExecutorName(entry.getKey());
+            for (long count : entry.getValue()) {
+                batchSizeHistogram.addToHistogram(count);
+            }
+            batchSizeHistogramList.addToBatchSizeHistogramList(batchSizeHistogram);
+        }
+        return batchSizeHistogramList;
+    }
 }
\ No newline at end of file
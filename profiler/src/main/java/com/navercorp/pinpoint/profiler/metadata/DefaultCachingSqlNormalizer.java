@@ -18,7 +18,7 @@ package com.navercorp.pinpoint.profiler.metadata;
 
 import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
 import com.navercorp.pinpoint.common.util.Assert;
-import com.navercorp.pinpoint.common.profiler.sql.DefaultSqlParser;
+import com.navercorp.pinpoint.common.profiler.sql.CharArraySqlParser;
 import com.navercorp.pinpoint.common.profiler.sql.NormalizedSql;
 import com.navercorp.pinpoint.common.profiler.sql.SqlParser;
 import org.slf4j.Logger;
@@ -35,10 +35,26 @@ public class DefaultCachingSqlNormalizer implements CachingSqlNormalizer {
 
     private final SimpleCache<String> sqlCache;
     private final SqlParser sqlParser;
+    // original sql -> parsing result. skips the normalization of the sql seen before. null if disabled
+    private final TinyLfuCache<String, CachedParsingResult> parsingResultCache;
 
     public DefaultCachingSqlNormalizer(SimpleCache<String> sqlCache) {
+        this(sqlCache, 0, 0);
+    }
+
+    /**
+     * @param parsingResultCacheSize max number of the original sql cached. 0 disables the parsing result cache.
+     * @param parsingResultCacheMaxBytes upper bound of the memory estimated from the original sql length. 0 is unlimited.
+     */
+    public DefaultCachingSqlNormalizer(SimpleCache<String> sqlCache, int parsingResultCacheSize, long parsingResultCacheMaxBytes) {
         this.sqlCache = Assert.requireNonNull(sqlCache, "sqlCache");
-        this.sqlParser = new DefaultSqlParser();
+        this.sqlParser = new CharArraySqlParser();
+        if (parsingResultCacheSize > 0) {
+            this.parsingResultCache = new TinyLfuCache<String, CachedParsingResult>(parsingResultCacheSize,
+                    Math.max(0, parsingResultCacheMaxBytes), StringLengthWeigher.INSTANCE, 64);
+        } else {
+            this.parsingResultCache = null;
+        }
     }
 
     @Override
@@ -72,23 +88,58 @@ public class DefaultCachingSqlNormalizer implements CachingSqlNormalizer {
         final ParsingResultInternal parsingResultInternal = (ParsingResultInternal) parsingResult;
 
         final String originalSql = parsingResultInternal.getOriginalSql();
+        if (parsingResultCache != null) {
+            // fast path. the sql metadata was already sent with this id
+            final CachedParsingResult cached = parsingResultCache.get(originalSql);
+            if (cached != null) {
+                setParsingResult(parsingResultInternal, cached.id, cached.normalizedSql, cached.output);
+                return false;
+            }
+        }
+
         final NormalizedSql normalizedSql = this.sqlParser.normalizedSql(originalSql);
 
         final Result cachingResult = this.sqlCache.put(normalizedSql.getNormalizedSql());
 
         // set normalizedSql
         // set sqlId
-        final boolean success = parsingResultInternal.setId(cachingResult.getId());
+        setParsingResult(parsingResultInternal, cachingResult.getId(), normalizedSql.getNormalizedSql(), normalizedSql.getParseParameter());
+
+        if (parsingResultCache != null) {
+            final CachedParsingResult cached = new CachedParsingResult(cachingResult.getId(), normalizedSql.getNormalizedSql(), normalizedSql.getParseParameter());
+            parsingResultCache.putIfAbsent(originalSql, cached);
+        }
+        return cachingResult.isNewValue();
+    }
+
+    private void setParsingResult(ParsingResultInternal parsingResultInternal, int id, String normalizedSql, String output) {
+        final boolean success = parsingResultInternal.setId(id);
         if (!success) {
             if (logger.isWarnEnabled()) {
-                logger.warn("invalid state. setSqlId fail setId:{}, ParsingResultInternal:{}", cachingResult.getId(), parsingResultInternal);
+                logger.warn("invalid state. setSqlId fail setId:{}, ParsingResultInternal:{}", id, parsingResultInternal);
             }
         }
+        parsingResultInternal.setSql(normalizedSql);
+        parsingResultInternal.setOutput(output);
+    }
+
+    CacheStats getParsingResultCacheStats() {
+        if (parsingResultCache == null) {
+            return null;
+        }
+        return parsingResultCache.stats();
+    }
 
-        parsingResultInternal.setSql(normalizedSql.getNormalizedSql());
-        parsingResultInternal.setOutput(normalizedSql.getParseParameter());
+    private static class CachedParsingResult {
+        private final int id;
+        private final String normalizedSql;
+        private final String output;
 
-        return cachingResult.isNewValue();
+        private CachedParsingResult(int id, String normalizedSql, String output) {
+            this.id = id;
+            this.normalizedSql = normalizedSql;
+            this.output = output;
+        }
     }
 
 
@@ -35,10 +35,15 @@ public class DefaultSqlMetaDataService implements SqlMetaDataService {
     private final EnhancedDataSender<Object> enhancedDataSender;
 
     public DefaultSqlMetaDataService(EnhancedDataSender<Object> enhancedDataSender, SimpleCache<String> sqlCache) {
+        this(enhancedDataSender, sqlCache, 0, 0);
+    }
+
+    public DefaultSqlMetaDataService(EnhancedDataSender<Object> enhancedDataSender, SimpleCache<String> sqlCache,
+                                     int parsingResultCacheSize, long parsingResultCacheMaxBytes) {
         this.enhancedDataSender = Assert.requireNonNull(enhancedDataSender, "enhancedDataSender");
 
         Assert.requireNonNull(sqlCache, "sqlCache");
-        this.cachingSqlNormalizer = new DefaultCachingSqlNormalizer(sqlCache);
+        this.cachingSqlNormalizer = new DefaultCachingSqlNormalizer(sqlCache, parsingResultCacheSize, parsingResultCacheMaxBytes);
     }
 
     @Override
@@ -16,14 +16,8 @@
 
 package com.navercorp.pinpoint.profiler.metadata;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-
-import java.util.concurrent.ConcurrentMap;
-
-
 /**
- * Concurrent LRU cache
+ * Concurrent bounded cache. the eviction policy is W-TinyLFU. see {@link TinyLfuCache}
  * @author emeroad
  */
 public class LRUCache<T> {
@@ -31,16 +25,11 @@ public class LRUCache<T> {
     private static final Object V = new Object();
     public static final int DEFAULT_CACHE_SIZE = 1024;
 
-    private final ConcurrentMap<T, Object> cache;
+    private final TinyLfuCache<T, Object> cache;
 
 
     public LRUCache(int maxCacheSize) {
-        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
-        cacheBuilder.concurrencyLevel(32);
-        cacheBuilder.initialCapacity(maxCacheSize);
-        cacheBuilder.maximumSize(maxCacheSize);
-        Cache<T, Object> localCache = cacheBuilder.build();
-        this.cache = localCache.asMap();
+        this.cache = new TinyLfuCache<T, Object>(maxCacheSize, 0, StringLengthWeigher.INSTANCE, 32);
     }
 
     public LRUCache() {
@@ -49,7 +38,10 @@ public class LRUCache<T> {
 
 
     public boolean put(T value) {
-
+        // get() records the access frequency
+        if (cache.get(value) != null) {
+            return false;
+        }
         Object oldValue = cache.putIfAbsent(value, V);
         if (oldValue == null) {
             return true;
@@ -62,4 +54,8 @@ public class LRUCache<T> {
         return cache.size();
     }
 
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
 }
@@ -16,12 +16,9 @@
 
 package com.navercorp.pinpoint.profiler.metadata;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.common.util.BytesUtils;
 
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -31,7 +28,7 @@ public class SimpleCache<T> {
 
     // zero means not exist.
     private final AtomicInteger idGen;
-    private final ConcurrentMap<T, Result> cache;
+    private final TinyLfuCache<T, Result> cache;
     private final IdTransformer idTransformer;
 
     public SimpleCache(IdTransformer idTransformer) {
@@ -43,20 +40,16 @@ public class SimpleCache<T> {
     }
 
     public SimpleCache(IdTransformer idTransformer, int cacheSize, int startValue) {
-        this.idGen = new AtomicInteger(startValue);
-        this.cache = createCache(cacheSize);
-        this.idTransformer = Assert.requireNonNull(idTransformer, "idTransformer");
-
+        this(idTransformer, cacheSize, startValue, 0);
     }
 
-    private ConcurrentMap<T, Result> createCache(int maxCacheSize) {
-        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
-        cacheBuilder.concurrencyLevel(64);
-        cacheBuilder.initialCapacity(maxCacheSize);
-        cacheBuilder.maximumSize(maxCacheSize);
-        Cache<T, Result> localCache = cacheBuilder.build();
-        ConcurrentMap<T, Result> cache = localCache.asMap();
-        return cache;
+    /**
+     * @param maxBytes upper bound of the memory estimated by {@link StringLengthWeigher}. 0 is unlimited.
+     */
+    public SimpleCache(IdTransformer idTransformer, int cacheSize, int startValue, long maxBytes) {
+        this.idGen = new AtomicInteger(startValue);
+        this.cache = new TinyLfuCache<T, Result>(cacheSize, maxBytes, StringLengthWeigher.INSTANCE, 64);
+        this.idTransformer = Assert.requireNonNull(idTransformer, "idTransformer");
     }
 
     public Result put(T value) {
@@ -75,6 +68,10 @@ public class SimpleCache<T> {
         return new Result(true, newId);
     }
 
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
     private int nextId() {
         int nextId = idGen.getAndIncrement();
         return this.idTransformer.transform(nextId);
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+/**
+ * Weighs the metadata cache entry by the length of the key string.
+ * The estimate assumes a UTF-16 char array and includes the entry and String object overhead.
+ */
+public class StringLengthWeigher implements Weigher<Object> {
+
+    public static final StringLengthWeigher INSTANCE = new StringLengthWeigher();
+
+    // cache node + hash map entry + value object
+    static final int ENTRY_OVERHEAD = 64;
+    // String object + char array header
+    static final int STRING_OVERHEAD = 40;
+
+    @Override
+    public int weigh(Object key) {
+        if (key instanceof String) {
+            final long weight = ENTRY_OVERHEAD + STRING_OVERHEAD + ((String) key).length() * 2L;
+            return (int) Math.min(weight, Integer.MAX_VALUE);
+        }
+        return ENTRY_OVERHEAD;
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded concurrent cache with the W-TinyLFU eviction policy.
+ * <p>
+ * New entries are admitted to a small LRU window. An entry leaving the window competes with the LRU victim of the
+ * main SLRU (probation + protected) region, and the one with the lower estimated access frequency is evicted.
+ * One-hit wonders such as the dynamically generated SQL can not flush out the frequently used entries.
+ * <p>
+ * The cache is split into segments guarded by their own lock.
+ * Each segment is bounded by the entry count and by the estimated memory usage of the {@link Weigher}.
+ */
+public class TinyLfuCache<K, V> {
+
+    static final int MAX_SEGMENTS = 64;
+    static final int MIN_SEGMENT_SIZE = 32;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final Weigher<? super K> weigher;
+
+    private final int maxSize;
+    private final long maxWeight;
+
+    /**
+     * @param maxSize max number of entries
+     * @param maxWeight max estimated memory usage. 0 is unlimited.
+     */
+    @SuppressWarnings("unchecked")
+    public TinyLfuCache(int maxSize, long maxWeight, Weigher<? super K> weigher, int concurrencyLevel) {
+        Assert.isTrue(maxSize > 0, "maxSize must be 'maxSize > 0'");
+        Assert.isTrue(maxWeight >= 0, "maxWeight must be 'maxWeight >= 0'");
+        Assert.isTrue(concurrencyLevel > 0, "concurrencyLevel must be 'concurrencyLevel > 0'");
+        this.weigher = Assert.requireNonNull(weigher, "weigher");
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+
+        final int segmentCount = segmentCount(maxSize, concurrencyLevel);
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.segmentMask = segmentCount - 1;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // distribute the remainder so that the sum of the segments is maxSize
+            final int segmentSize = maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0);
+            final long segmentWeight = maxWeight == 0 ? 0 : Math.max(1, maxWeight / segmentCount);
+            this.segments[i] = new Segment<K, V>(segmentSize, segmentWeight);
+        }
+    }
+
+    static int segmentCount(int maxSize, int concurrencyLevel) {
+        // a small segment makes the frequency comparison meaningless
+        final int limit = Math.min(Math.min(concurrencyLevel, MAX_SEGMENTS), Math.max(1, maxSize / MIN_SEGMENT_SIZE));
+        int segmentCount = 1;
+        while (segmentCount << 1 <= limit) {
+            segmentCount <<= 1;
+        }
+        return segmentCount;
+    }
+
+    static int spread(int hashCode) {
+        int h = hashCode;
+        h ^= h >>> 17;
+        h *= 0xed5ad4bb;
+        h ^= h >>> 11;
+        h *= 0xac4c1b51;
+        h ^= h >>> 15;
+        return h;
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        if (segmentMask == 0) {
+            return segments[0];
+        }
+        return segments[(hash >>> segmentShift) & segmentMask];
+    }
+
+    /**
+     * Returns the cached value and records the access frequency of the key.
+     */
+    public V get(K key) {
+        Assert.requireNonNull(key, "key");
+        final int hash = spread(key.hashCode());
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * @return the existing value, or null if the value is added
+     */
+    public V putIfAbsent(K key, V value) {
+        Assert.requireNonNull(key, "key");
+        Assert.requireNonNull(value, "value");
+        final int hash = spread(key.hashCode());
+        final int weight = weigher.weigh(key);
+        return segmentFor(hash).putIfAbsent(key, hash, value, weight);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public long weight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            weight += segment.weight;
+        }
+        return weight;
+    }
+
+    public CacheStats stats() {
+        long hitCount = 0;
+        long missCount = 0;
+        long evictionCount = 0;
+        long size = 0;
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            hitCount += segment.hitCount;
+            missCount += segment.missCount;
+            evictionCount += segment.evictionCount;
+            size += segment.size;
+            weight += segment.weight;
+        }
+        return new CacheStats(hitCount, missCount, evictionCount, size, weight);
+    }
+
+    int getSegmentCount() {
+        return segments.length;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "TinyLfuCache{" +
+                "maxSize=" + maxSize +
+                ", maxWeight=" + maxWeight +
+                ", segments=" + segments.length +
+                ", stats=" + stats() +
+                '}';
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final class Node<K, V> {
+        final K key;
+        final int hash;
+        final V value;
+        final int weight;
+        int queue;
+
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, int hash, V value, int weight) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        // sentinel of the circular access order list
+        Node() {
+            this.key = null;
+            this.hash = 0;
+            this.value = null;
+            this.weight = 0;
+            this.prev = this;
+            this.next = this;
+        }
+    }
+
+    private static final class Segment<K, V> {
+
+        private final Map<K, Node<K, V>> map;
+        private final FrequencySketch sketch;
+
+        // head.next is the least recently used entry
+        private final Node<K, V> window = new Node<K, V>();
+        private final Node<K, V> probation = new Node<K, V>();
+        private final Node<K, V> protect = new Node<K, V>();
+
+        private final int maxSize;
+        private final long maxWeight;
+        private final int maxWindowSize;
+        private final int maxProtectedSize;
+
+        private int windowSize;
+        private int protectedSize;
+
+        // written under the lock, read without the lock by the stat collector
+        private volatile int size;
+        private volatile long weight;
+        private volatile long hitCount;
+        private volatile long missCount;
+        private volatile long evictionCount;
+
+        Segment(int maxSize, long maxWeight) {
+            this.maxSize = maxSize;
+            this.maxWeight = maxWeight;
+            // 1% window, 80% of the main region is protected
+            this.maxWindowSize = Math.max(1, maxSize / 100);
+            this.maxProtectedSize = (maxSize - maxWindowSize) * 4 / 5;
+            this.map = new HashMap<K, Node<K, V>>(Math.min(maxSize, 1024) * 4 / 3 + 1);
+            this.sketch = new FrequencySketch(maxSize);
+        }
+
+        synchronized V get(K key, int hash) {
+            sketch.increment(hash);
+            final Node<K, V> node = map.get(key);
+            if (node == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+            onAccess(node);
+            return node.value;
+        }
+
+        synchronized V putIfAbsent(K key, int hash, V value, int weight) {
+            final Node<K, V> exist = map.get(key);
+            if (exist != null) {
+                return exist.value;
+            }
+            final Node<K, V> node = new Node<K, V>(key, hash, value, weight);
+            map.put(key, node);
+            node.queue = WINDOW;
+            linkLast(window, node);
+            windowSize++;
+            size++;
+            this.weight += weight;
+
+            evict();
+            return null;
+        }
+
+        private void onAccess(Node<K, V> node) {
+            if (node.queue == WINDOW) {
+                moveToTail(window, node);
+            } else if (node.queue == PROBATION) {
+                // promote
+                unlink(node);
+                node.queue = PROTECTED;
+                linkLast(protect, node);
+                protectedSize++;
+                demoteProtected();
+            } else {
+                moveToTail(protect, node);
+            }
+        }
+
+        private void demoteProtected() {
+            while (protectedSize > maxProtectedSize) {
+                final Node<K, V> demote = protect.next;
+                unlink(demote);
+                protectedSize--;
+                demote.queue = PROBATION;
+                linkLast(probation, demote);
+            }
+        }
+
+        private void evict() {
+            // entries overflowing the window become the admission candidates
+            Node<K, V> candidate = null;
+            while (windowSize > maxWindowSize) {
+                final Node<K, V> node = window.next;
+                unlink(node);
+                windowSize--;
+                node.queue = PROBATION;
+                linkLast(probation, node);
+                if (candidate == null) {
+                    candidate = node;
+                }
+            }
+
+            while (isOverflow()) {
+                final Node<K, V> victim = probation.next;
+                if (victim == probation) {
+                    // probation is empty
+                    final Node<K, V> lru = protect.next != protect ? protect.next : window.next;
+                    remove(lru);
+                    continue;
+                }
+                if (candidate == null || candidate == victim) {
+                    if (candidate == victim) {
+                        candidate = nextCandidate(candidate);
+                    }
+                    remove(victim);
+                    continue;
+                }
+                // TinyLFU admission. the victim wins the tie to keep the established entries
+                if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                    remove(victim);
+                } else {
+                    final Node<K, V> reject = candidate;
+                    candidate = nextCandidate(candidate);
+                    remove(reject);
+                }
+            }
+        }
+
+        private Node<K, V> nextCandidate(Node<K, V> candidate) {
+            final Node<K, V> next = candidate.next;
+            if (next == probation) {
+                return null;
+            }
+            return next;
+        }
+
+        private boolean isOverflow() {
+            if (size > maxSize) {
+                return true;
+            }
+            return maxWeight > 0 && weight > maxWeight;
+        }
+
+        private void remove(Node<K, V> node) {
+            unlink(node);
+            if (node.queue == WINDOW) {
+                windowSize--;
+            } else if (node.queue == PROTECTED) {
+                protectedSize--;
+            }
+            map.remove(node.key);
+            size--;
+            weight -= node.weight;
+            evictionCount++;
+        }
+
+        private static <K, V> void linkLast(Node<K, V> head, Node<K, V> node) {
+            final Node<K, V> last = head.prev;
+            node.prev = last;
+            node.next = head;
+            last.next = node;
+            head.prev = node;
+        }
+
+        private static <K, V> void unlink(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+
+        private static <K, V> void moveToTail(Node<K, V> head, Node<K, V> node) {
+            unlink(node);
+            linkLast(head, node);
+        }
+    }
+}
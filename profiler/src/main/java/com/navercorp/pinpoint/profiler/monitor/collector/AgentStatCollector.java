@@ -28,6 +28,8 @@ import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CpuLoadMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.metadata.MetadataCacheMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.BatchSizeMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 
@@ -47,6 +49,8 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
     private final AgentStatMetricCollector<DeadlockMetricSnapshot> deadlockMetricCollector;
     private final AgentStatMetricCollector<FileDescriptorMetricSnapshot> fileDescriptorMetricCollector;
     private final AgentStatMetricCollector<BufferMetricSnapshot> bufferMetricCollector;
+    private final AgentStatMetricCollector<MetadataCacheMetricSnapshot> metadataCacheMetricCollector;
+    private final AgentStatMetricCollector<BatchSizeMetricSnapshot> batchSizeMetricCollector;
 
     @Inject
     public AgentStatCollector(
@@ -60,7 +64,9 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
             AgentStatMetricCollector<ResponseTimeValue> responseTimeMetricCollector,
             AgentStatMetricCollector<DeadlockMetricSnapshot> deadlockMetricCollector,
             AgentStatMetricCollector<FileDescriptorMetricSnapshot> fileDescriptorMetricCollector,
-            AgentStatMetricCollector<BufferMetricSnapshot> bufferMetricCollector) {
+            AgentStatMetricCollector<BufferMetricSnapshot> bufferMetricCollector,
+            AgentStatMetricCollector<MetadataCacheMetricSnapshot> metadataCacheMetricCollector,
+            AgentStatMetricCollector<BatchSizeMetricSnapshot> batchSizeMetricCollector) {
         this.agentId = Assert.requireNonNull(agentId, "agentId");
         this.agentStartTimestamp = agentStartTimestamp;
         this.jvmGcMetricCollector = Assert.requireNonNull(jvmGcMetricCollector, "jvmGcMetricCollector");
@@ -72,6 +78,8 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
         this.deadlockMetricCollector = Assert.requireNonNull(deadlockMetricCollector, "deadlockMetricCollector");
         this.fileDescriptorMetricCollector = Assert.requireNonNull(fileDescriptorMetricCollector, "fileDescriptorMetricCollector");
         this.bufferMetricCollector = Assert.requireNonNull(bufferMetricCollector, "bufferMetricCollector");
+        this.metadataCacheMetricCollector = Assert.requireNonNull(metadataCacheMetricCollector, "metadataCacheMetricCollector");
+        this.batchSizeMetricCollector = Assert.requireNonNull(batchSizeMetricCollector, "batchSizeMetricCollector");
     }
 
     @Override
@@ -88,6 +96,8 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
         agentStat.setDeadlock(deadlockMetricCollector.collect());
         agentStat.setFileDescriptor(fileDescriptorMetricCollector.collect());
         agentStat.setDirectBuffer(bufferMetricCollector.collect());
+        agentStat.setMetadataCache(metadataCacheMetricCollector.collect());
+        agentStat.setBatchSize(batchSizeMetricCollector.collect());
 
         return agentStat;
     }
@@ -106,6 +116,8 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
         sb.append(", deadlockMetricCollector=").append(deadlockMetricCollector);
         sb.append(", fileDescriptorMetricCollector=").append(fileDescriptorMetricCollector);
         sb.append(", bufferMetricCollector=").append(bufferMetricCollector);
+        sb.append(", metadataCacheMetricCollector=").append(metadataCacheMetricCollector);
+        sb.append(", batchSizeMetricCollector=").append(batchSizeMetricCollector);
         sb.append('}');
         return sb.toString();
     }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.collector.metadata;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.metadata.MetadataCacheMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.metadata.MetadataCacheMetricSnapshot;
+
+public class DefaultMetadataCacheMetricCollector implements AgentStatMetricCollector<MetadataCacheMetricSnapshot> {
+
+    private final MetadataCacheMetric metadataCacheMetric;
+
+    public DefaultMetadataCacheMetricCollector(MetadataCacheMetric metadataCacheMetric) {
+        this.metadataCacheMetric = Assert.requireNonNull(metadataCacheMetric, "metadataCacheMetric");
+    }
+
+    @Override
+    public MetadataCacheMetricSnapshot collect() {
+        return metadataCacheMetric.getSnapshot();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultMetadataCacheMetricCollector{" +
+                "metadataCacheMetric=" + metadataCacheMetric +
+                '}';
+    }
+}
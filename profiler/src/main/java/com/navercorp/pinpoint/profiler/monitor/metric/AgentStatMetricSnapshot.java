@@ -22,6 +22,8 @@ import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CpuLoadMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.metadata.MetadataCacheMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.BatchSizeMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 
@@ -42,6 +44,8 @@ public class AgentStatMetricSnapshot {
     private DeadlockMetricSnapshot deadlock;
     private FileDescriptorMetricSnapshot fileDescriptor;
     private BufferMetricSnapshot directBuffer;
+    private MetadataCacheMetricSnapshot metadataCache;
+    private BatchSizeMetricSnapshot batchSize;
     private String metadata;
 
     public String getAgentId() {
@@ -148,6 +152,22 @@ public class AgentStatMetricSnapshot {
         this.directBuffer = directBuffer;
     }
 
+    public MetadataCacheMetricSnapshot getMetadataCache() {
+        return metadataCache;
+    }
+
+    public void setMetadataCache(MetadataCacheMetricSnapshot metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
+    public BatchSizeMetricSnapshot getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(BatchSizeMetricSnapshot batchSize) {
+        this.batchSize = batchSize;
+    }
+
     public String getMetadata() {
         return metadata;
     }
@@ -172,6 +192,8 @@ public class AgentStatMetricSnapshot {
         sb.append(", deadlock=").append(deadlock);
         sb.append(", fileDescriptor=").append(fileDescriptor);
         sb.append(", directBuffer=").append(directBuffer);
+        sb.append(", metadataCache=").append(metadataCache);
+        sb.append(", batchSize=").append(batchSize);
         sb.append(", metadata='").append(metadata).append('\'');
         sb.append('}');
         return sb.toString();
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.metric.batch;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Cumulative batch size histogram per executor name.
+ * The buckets are the ones of {@link com.navercorp.pinpoint.profiler.sender.BatchSizeHistogram}.
+ */
+public class BatchSizeMetricSnapshot {
+
+    private final Map<String, long[]> histograms;
+
+    public BatchSizeMetricSnapshot(Map<String, long[]> histograms) {
+        this.histograms = Assert.requireNonNull(histograms, "histograms");
+    }
+
+    public Map<String, long[]> getHistograms() {
+        return histograms;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BatchSizeMetricSnapshot{");
+        boolean first = true;
+        for (Map.Entry<String, long[]> entry : histograms.entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append(entry.getKey()).append('=').append(Arrays.toString(entry.getValue()));
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
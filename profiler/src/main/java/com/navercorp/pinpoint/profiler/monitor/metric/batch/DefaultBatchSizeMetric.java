@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.metric.batch;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.sender.BatchSizeHistogram;
+import com.navercorp.pinpoint.profiler.sender.BatchSizeHistogramRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the cumulative histograms of the executors registered in {@link BatchSizeHistogramRegistry}.
+ */
+public class DefaultBatchSizeMetric implements BatchSizeMetric {
+
+    private final BatchSizeHistogramRegistry histogramRegistry;
+
+    public DefaultBatchSizeMetric(BatchSizeHistogramRegistry histogramRegistry) {
+        this.histogramRegistry = Assert.requireNonNull(histogramRegistry, "histogramRegistry");
+    }
+
+    @Override
+    public BatchSizeMetricSnapshot getSnapshot() {
+        final Map<String, BatchSizeHistogram> histograms = histogramRegistry.getHistograms();
+        final Map<String, long[]> snapshot = new HashMap<String, long[]>(histograms.size());
+        for (Map.Entry<String, BatchSizeHistogram> entry : histograms.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new BatchSizeMetricSnapshot(snapshot);
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultBatchSizeMetric";
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.metric.metadata;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.provider.metadata.SimpleCacheFactory;
+
+/**
+ * Reads the cumulative statistics of the caches created by {@link SimpleCacheFactory}.
+ */
+public class DefaultMetadataCacheMetric implements MetadataCacheMetric {
+
+    private final SimpleCacheFactory simpleCacheFactory;
+
+    public DefaultMetadataCacheMetric(SimpleCacheFactory simpleCacheFactory) {
+        this.simpleCacheFactory = Assert.requireNonNull(simpleCacheFactory, "simpleCacheFactory");
+    }
+
+    @Override
+    public MetadataCacheMetricSnapshot getSnapshot() {
+        return new MetadataCacheMetricSnapshot(simpleCacheFactory.getCacheStats());
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultMetadataCacheMetric";
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.metric.metadata;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.metadata.CacheStats;
+
+import java.util.Map;
+
+/**
+ * Cumulative statistics per metadata cache name.
+ */
+public class MetadataCacheMetricSnapshot {
+
+    private final Map<String, CacheStats> cacheStats;
+
+    public MetadataCacheMetricSnapshot(Map<String, CacheStats> cacheStats) {
+        this.cacheStats = Assert.requireNonNull(cacheStats, "cacheStats");
+    }
+
+    public Map<String, CacheStats> getCacheStats() {
+        return cacheStats;
+    }
+
+    @Override
+    public String toString() {
+        return "MetadataCacheMetricSnapshot{" +
+                "cacheStats=" + cacheStats +
+                '}';
+    }
+}
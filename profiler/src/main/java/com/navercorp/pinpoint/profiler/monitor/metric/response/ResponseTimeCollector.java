@@ -22,5 +22,10 @@ package com.navercorp.pinpoint.profiler.monitor.metric.response;
 public interface ResponseTimeCollector {
     void add(long value);
 
+    /**
+     * value of the current collection period. does not reset
+     */
+    ResponseTimeValue getValue();
+
     ResponseTimeValue resetAndGetValue();
 }
@@ -39,13 +39,21 @@ public class ReuseResponseTimeCollector implements ResponseTimeCollector {
         this.currentResponseTimeCollector.add(value);
     }
 
+    @Override
+    public ResponseTimeValue getValue() {
+        return newResponseTimeValue(this.currentResponseTimeCollector);
+    }
+
     @Override
     public ResponseTimeValue resetAndGetValue() {
         final ResponseTimeCollector reset = reset();
+        return newResponseTimeValue(reset);
+    }
 
-        final long totalValue = reset.getTotalValue();
-        final long maxValue = reset.getMaxValue();
-        final long transactionCount = reset.getTransactionCount();
+    private ResponseTimeValue newResponseTimeValue(ResponseTimeCollector collector) {
+        final long totalValue = collector.getTotalValue();
+        final long maxValue = collector.getMaxValue();
+        final long transactionCount = collector.getTransactionCount();
         ResponseTimeValue result = new ResponseTimeValue0(totalValue, maxValue, transactionCount);
         return result;
     }
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHistogram;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sampler targeting a traces per second budget.
+ * <p>
+ * The sampling probability is recalculated every interval from the observed request rate. ( probability = targetThroughput / requestRate )
+ * When the tail latency grows, the probability is boosted up to (1 + maxBoostRatio) times so that slow transactions are not missed.
+ * The tail latency signal is taken from the slow/very slow active traces of {@link ActiveTraceRepository}
+ * and the increase of the average response time of {@link ResponseTimeCollector} over its moving average.
+ * <p>
+ * When the entry point url is known ( {@link #isSampling(String)} ), a url which is not sampled within urlWindowMillis is sampled once,
+ * and a url which ended with an error within urlWindowMillis is sampled with the boosted probability.
+ * These extra samples are limited to targetThroughput per second, and at most maxUrlSize urls are tracked.
+ * <p>
+ * The decision is counter based ( the n-th request is sampled if floor(n * p) increases ). it does not take a lock.
+ * targetThroughput and maxBoostRatio are reloaded from the {@link AdaptiveSamplerSettingsLoader} every interval.
+ */
+public class AdaptiveSampler implements UrlPathSampler {
+
+    static final long PROBABILITY_SCALE = 1000000;
+
+    public static final long DEFAULT_URL_WINDOW_MILLIS = 60000;
+    public static final int DEFAULT_MAX_URL_SIZE = 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ActiveTraceRepository activeTraceRepository;
+    private final ResponseTimeCollector responseTimeCollector;
+    private final long intervalMillis;
+
+    private volatile AdaptiveSamplerSettings settings;
+    // @Nullable
+    private final AdaptiveSamplerSettingsLoader settingsLoader;
+
+    private final AtomicLong counter = new AtomicLong();
+    // probability * PROBABILITY_SCALE
+    private volatile long scaledProbability = PROBABILITY_SCALE;
+
+    private final AtomicLong nextAdjustTime;
+    // written only by the thread which won nextAdjustTime, but the winner differs every interval
+    private volatile long lastAdjustCounter = 0;
+    private volatile long lastAdjustTime;
+    // moving average of the response time
+    private volatile double baselineResponseTime = -1;
+
+    private final long urlWindowMillis;
+    private final int maxUrlSize;
+    private final ConcurrentMap<String, UrlState> urlStates = new ConcurrentHashMap<String, UrlState>();
+    // extra samples of rare or failed urls in the current interval
+    private final AtomicLong urlSampleCount = new AtomicLong();
+    private volatile long urlSampleLimit;
+
+    public AdaptiveSampler(int targetThroughput, int maxBoostRatio, long intervalMillis,
+                           ActiveTraceRepository activeTraceRepository, ResponseTimeCollector responseTimeCollector) {
+        this(new AdaptiveSamplerSettings(targetThroughput, maxBoostRatio), null, intervalMillis, DEFAULT_URL_WINDOW_MILLIS, DEFAULT_MAX_URL_SIZE,
+                activeTraceRepository, responseTimeCollector);
+    }
+
+    /**
+     * @param settingsLoader nullable
+     * @param urlWindowMillis 0 disables the url based sampling
+     */
+    public AdaptiveSampler(AdaptiveSamplerSettings settings, AdaptiveSamplerSettingsLoader settingsLoader,
+                           long intervalMillis, long urlWindowMillis, int maxUrlSize,
+                           ActiveTraceRepository activeTraceRepository, ResponseTimeCollector responseTimeCollector) {
+        this.settings = Assert.requireNonNull(settings, "settings");
+        this.settingsLoader = settingsLoader;
+        Assert.isTrue(intervalMillis > 0, "intervalMillis must be 'intervalMillis > 0'");
+        Assert.isTrue(urlWindowMillis >= 0, "urlWindowMillis must be 'urlWindowMillis >= 0'");
+        Assert.isTrue(maxUrlSize >= 0, "maxUrlSize must be 'maxUrlSize >= 0'");
+        this.activeTraceRepository = Assert.requireNonNull(activeTraceRepository, "activeTraceRepository");
+        this.responseTimeCollector = Assert.requireNonNull(responseTimeCollector, "responseTimeCollector");
+        this.intervalMillis = intervalMillis;
+        this.urlWindowMillis = urlWindowMillis;
+        this.maxUrlSize = maxUrlSize;
+        this.urlSampleLimit = urlSampleLimit(settings);
+
+        final long currentTime = System.currentTimeMillis();
+        this.lastAdjustTime = currentTime;
+        this.nextAdjustTime = new AtomicLong(currentTime + intervalMillis);
+    }
+
+    @Override
+    public boolean isSampling() {
+        final long currentTime = System.currentTimeMillis();
+        return sample(currentTime);
+    }
+
+    private boolean sample(long currentTime) {
+        final long adjustTime = nextAdjustTime.get();
+        if (currentTime >= adjustTime) {
+            // only one thread adjusts
+            if (nextAdjustTime.compareAndSet(adjustTime, currentTime + intervalMillis)) {
+                adjust(currentTime);
+            }
+        }
+
+        final long count = counter.incrementAndGet();
+        return isSampled(count, this.scaledProbability);
+    }
+
+    private static boolean isSampled(long count, long probability) {
+        return (count * probability) / PROBABILITY_SCALE != ((count - 1) * probability) / PROBABILITY_SCALE;
+    }
+
+    @Override
+    public boolean isSampling(String urlPath) {
+        final long currentTime = System.currentTimeMillis();
+        final boolean sampled = sample(currentTime);
+        if (urlPath == null || urlWindowMillis == 0) {
+            return sampled;
+        }
+        final UrlState urlState = getUrlState(urlPath);
+        if (urlState == null) {
+            return sampled;
+        }
+        if (sampled) {
+            urlState.lastSampledTime.set(currentTime);
+            return true;
+        }
+
+        if (currentTime - urlState.lastErrorTime < urlWindowMillis) {
+            final long count = urlState.errorCounter.incrementAndGet();
+            if (isSampled(count, boostedProbability()) && acquireUrlSample()) {
+                urlState.lastSampledTime.set(currentTime);
+                return true;
+            }
+        }
+        final long lastSampledTime = urlState.lastSampledTime.get();
+        if (currentTime - lastSampledTime >= urlWindowMillis) {
+            // rare url
+            return urlState.lastSampledTime.compareAndSet(lastSampledTime, currentTime) && acquireUrlSample();
+        }
+        return false;
+    }
+
+    private long boostedProbability() {
+        final long probability = this.scaledProbability * (1 + settings.getMaxBoostRatio());
+        return Math.min(PROBABILITY_SCALE, probability);
+    }
+
+    private boolean acquireUrlSample() {
+        return urlSampleCount.incrementAndGet() <= urlSampleLimit;
+    }
+
+    @Override
+    public void onError(String urlPath) {
+        if (urlPath == null || urlWindowMillis == 0) {
+            return;
+        }
+        final UrlState urlState = getUrlState(urlPath);
+        if (urlState != null) {
+            urlState.lastErrorTime = System.currentTimeMillis();
+        }
+    }
+
+    private UrlState getUrlState(String urlPath) {
+        final UrlState urlState = urlStates.get(urlPath);
+        if (urlState != null) {
+            return urlState;
+        }
+        if (urlStates.size() >= maxUrlSize) {
+            return null;
+        }
+        final UrlState newState = new UrlState();
+        final UrlState old = urlStates.putIfAbsent(urlPath, newState);
+        if (old != null) {
+            return old;
+        }
+        return newState;
+    }
+
+    void adjust(long currentTime) {
+        final AdaptiveSamplerSettings settings = reloadSettings(currentTime);
+
+        final long elapsed = Math.max(1, currentTime - lastAdjustTime);
+        final long currentCounter = counter.get();
+        final long requestCount = currentCounter - lastAdjustCounter;
+        this.lastAdjustTime = currentTime;
+        this.lastAdjustCounter = currentCounter;
+
+        final double requestRate = requestCount * 1000.0 / elapsed;
+        final double baseProbability = baseProbability(settings.getTargetThroughput(), requestRate);
+        final double tailSignal = tailLatencySignal(currentTime);
+        final double probability = Math.min(1.0, baseProbability * (1 + settings.getMaxBoostRatio() * tailSignal));
+
+        this.scaledProbability = (long) (probability * PROBABILITY_SCALE);
+        this.urlSampleLimit = urlSampleLimit(settings);
+        this.urlSampleCount.set(0);
+        evictUrlStates(currentTime);
+        if (logger.isDebugEnabled()) {
+            logger.debug("adjust requestRate:{} baseProbability:{} tailSignal:{} probability:{}", requestRate, baseProbability, tailSignal, probability);
+        }
+    }
+
+    private AdaptiveSamplerSettings reloadSettings(long currentTime) {
+        if (settingsLoader != null) {
+            final AdaptiveSamplerSettings reloaded = settingsLoader.reloadIfModified(currentTime);
+            if (reloaded != null) {
+                logger.info("adaptive sampler settings changed. {}", reloaded);
+                this.settings = reloaded;
+            }
+        }
+        return this.settings;
+    }
+
+    private long urlSampleLimit(AdaptiveSamplerSettings settings) {
+        return Math.max(1, settings.getTargetThroughput() * intervalMillis / 1000);
+    }
+
+    private void evictUrlStates(long currentTime) {
+        if (urlStates.size() < maxUrlSize) {
+            return;
+        }
+        // a url which is neither sampled nor failed within the window behaves the same as an unknown url
+        final Iterator<Map.Entry<String, UrlState>> iterator = urlStates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final UrlState urlState = iterator.next().getValue();
+            if (currentTime - urlState.lastSampledTime.get() >= urlWindowMillis && currentTime - urlState.lastErrorTime >= urlWindowMillis) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private double baseProbability(int targetThroughput, double requestRate) {
+        if (requestRate <= targetThroughput) {
+            return 1.0;
+        }
+        return targetThroughput / requestRate;
+    }
+
+    /**
+     * @return 0.0 (normal) ~ 1.0 (slow)
+     */
+    private double tailLatencySignal(long currentTime) {
+        double slowRatio = 0;
+        final ActiveTraceHistogram histogram = activeTraceRepository.getActiveTraceHistogram(currentTime);
+        final int activeCount = histogram.getFastCount() + histogram.getNormalCount() + histogram.getSlowCount() + histogram.getVerySlowCount();
+        if (activeCount > 0) {
+            slowRatio = (histogram.getSlowCount() + histogram.getVerySlowCount()) / (double) activeCount;
+        }
+
+        double degradation = 0;
+        final ResponseTimeValue responseTimeValue = responseTimeCollector.getValue();
+        if (responseTimeValue.getTransactionCount() > 0) {
+            final long avg = responseTimeValue.getAvg();
+            final double baseline = this.baselineResponseTime;
+            if (baseline < 0) {
+                this.baselineResponseTime = avg;
+            } else {
+                if (baseline > 0 && avg > baseline) {
+                    // 2x slower than usual -> 1.0
+                    degradation = Math.min(1.0, (avg - baseline) / baseline);
+                }
+                // exponential moving average. slowly follows the new latency level
+                this.baselineResponseTime = baseline * 0.9 + avg * 0.1;
+            }
+        }
+        return Math.max(slowRatio, degradation);
+    }
+
+    public int getTargetThroughput() {
+        return settings.getTargetThroughput();
+    }
+
+    public int getMaxBoostRatio() {
+        return settings.getMaxBoostRatio();
+    }
+
+    public double getProbability() {
+        return scaledProbability / (double) PROBABILITY_SCALE;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSampler{" +
+                "settings=" + settings +
+                ", settingsLoader=" + settingsLoader +
+                ", intervalMillis=" + intervalMillis +
+                ", urlWindowMillis=" + urlWindowMillis +
+                ", maxUrlSize=" + maxUrlSize +
+                ", probability=" + getProbability() +
+                '}';
+    }
+
+    private static class UrlState {
+        private final AtomicLong lastSampledTime = new AtomicLong();
+        private volatile long lastErrorTime;
+        // counter of the boosted sampling after an error
+        private final AtomicLong errorCounter = new AtomicLong();
+    }
+}
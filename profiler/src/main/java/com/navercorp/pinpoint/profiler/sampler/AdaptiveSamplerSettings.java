@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+/**
+ * Runtime changeable settings of {@link AdaptiveSampler}.
+ */
+public class AdaptiveSamplerSettings {
+
+    private final int targetThroughput;
+    private final int maxBoostRatio;
+
+    public AdaptiveSamplerSettings(int targetThroughput, int maxBoostRatio) {
+        Assert.isTrue(targetThroughput > 0, "targetThroughput must be 'targetThroughput > 0'");
+        Assert.isTrue(maxBoostRatio >= 0, "maxBoostRatio must be 'maxBoostRatio >= 0'");
+        this.targetThroughput = targetThroughput;
+        this.maxBoostRatio = maxBoostRatio;
+    }
+
+    public int getTargetThroughput() {
+        return targetThroughput;
+    }
+
+    public int getMaxBoostRatio() {
+        return maxBoostRatio;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSamplerSettings{" +
+                "targetThroughput=" + targetThroughput +
+                ", maxBoostRatio=" + maxBoostRatio +
+                '}';
+    }
+}
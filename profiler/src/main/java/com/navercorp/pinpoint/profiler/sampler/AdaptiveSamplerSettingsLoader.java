@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Loads {@link AdaptiveSamplerSettings} from a properties file. the keys are the same as the profiler config.
+ * A missing or invalid value keeps the value of the profiler config.
+ */
+public class AdaptiveSamplerSettingsLoader extends ReloadableFileLoader<AdaptiveSamplerSettings> {
+
+    public static final String TARGET_THROUGHPUT = "profiler.sampling.adaptive.target.throughput";
+    public static final String BOOST_RATIO = "profiler.sampling.adaptive.boost.ratio";
+
+    private final AdaptiveSamplerSettings defaultSettings;
+
+    public AdaptiveSamplerSettingsLoader(String filePath, long checkIntervalMillis, AdaptiveSamplerSettings defaultSettings) {
+        super(filePath, checkIntervalMillis);
+        this.defaultSettings = Assert.requireNonNull(defaultSettings, "defaultSettings");
+    }
+
+    @Override
+    protected AdaptiveSamplerSettings read(File file) {
+        if (!file.isFile()) {
+            logger.warn("adaptive sampler settings file not found. file:{}", file);
+            return defaultSettings;
+        }
+        final Properties properties = new Properties();
+        InputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            properties.load(in);
+        } catch (IOException e) {
+            logger.warn("adaptive sampler settings read fail. file:{}", file, e);
+            return defaultSettings;
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignore) {
+                    // skip
+                }
+            }
+        }
+        final int targetThroughput = readInt(properties, TARGET_THROUGHPUT, defaultSettings.getTargetThroughput(), 1);
+        final int maxBoostRatio = readInt(properties, BOOST_RATIO, defaultSettings.getMaxBoostRatio(), 0);
+        return new AdaptiveSamplerSettings(targetThroughput, maxBoostRatio);
+    }
+
+    private int readInt(Properties properties, String key, int defaultValue, int minValue) {
+        final String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            final int intValue = Integer.parseInt(value.trim());
+            if (intValue >= minValue) {
+                return intValue;
+            }
+        } catch (NumberFormatException ignore) {
+            // fall through
+        }
+        logger.warn("invalid adaptive sampler setting {}={}. file:{}", key, value, getFile());
+        return defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSamplerSettingsLoader{" +
+                "file=" + getFile() +
+                ", checkIntervalMillis=" + getCheckIntervalMillis() +
+                ", defaultSettings=" + defaultSettings +
+                '}';
+    }
+}
@@ -17,16 +17,17 @@
 package com.navercorp.pinpoint.profiler.sampler;
 
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
-import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
 import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
 
 /**
  * @author Woonduk Kang(emeroad)
  */
-public class BasicTraceSampler implements TraceSampler {
+public class BasicTraceSampler implements UrlPathTraceSampler {
 
     private final Sampler sampler;
+    // @Nullable
+    private final UrlPathSampler urlPathSampler;
 
     private final State newSuccessState;
     private final State newDisableState;
@@ -38,6 +39,7 @@ public class BasicTraceSampler implements TraceSampler {
     public BasicTraceSampler(final IdGenerator idGenerator, Sampler sampler) {
         Assert.requireNonNull(idGenerator, "idGenerator");
         this.sampler = Assert.requireNonNull(sampler, "sampler");
+        this.urlPathSampler = sampler instanceof UrlPathSampler ? (UrlPathSampler) sampler : null;
 
         this.newSuccessState = new State() {
             @Override
@@ -100,6 +102,25 @@ public class BasicTraceSampler implements TraceSampler {
         }
     }
 
+    @Override
+    public State isNewSampled(String urlPath) {
+        if (urlPathSampler == null) {
+            return isNewSampled();
+        }
+        if (urlPathSampler.isSampling(urlPath)) {
+            return newSuccessState;
+        } else {
+            return newDisableState;
+        }
+    }
+
+    @Override
+    public void onError(String urlPath) {
+        if (urlPathSampler != null) {
+            urlPathSampler.onError(urlPath);
+        }
+    }
+
     @Override
     public State isContinueSampled() {
         return continueSuccessState;
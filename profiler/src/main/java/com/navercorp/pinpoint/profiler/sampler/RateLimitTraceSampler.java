@@ -26,7 +26,7 @@ import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
 /**
  * @author jaehong.kim
  */
-public class RateLimitTraceSampler implements TraceSampler {
+public class RateLimitTraceSampler implements UrlPathTraceSampler {
 
     private final TraceSampler traceSampler;
 
@@ -87,6 +87,20 @@ public class RateLimitTraceSampler implements TraceSampler {
         return newState;
     }
 
+    @Override
+    public State isNewSampled(String urlPath) {
+        final State newState = TraceSamplerUtils.isNewSampled(traceSampler, urlPath);
+        if (newState.isSampled()) {
+            return getState(this.newRateLimiter, newState, newSkipState);
+        }
+        return newState;
+    }
+
+    @Override
+    public void onError(String urlPath) {
+        TraceSamplerUtils.onError(traceSampler, urlPath);
+    }
+
 
     @Override
     public State isContinueSampled() {
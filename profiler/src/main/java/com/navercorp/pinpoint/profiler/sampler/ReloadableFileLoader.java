@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a value from a file and reloads it when the file is modified.
+ * The modification time of the file is checked at most once every checkIntervalMillis.
+ */
+public abstract class ReloadableFileLoader<T> {
+
+    protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final File file;
+    private final long checkIntervalMillis;
+
+    private final AtomicLong nextCheckTime = new AtomicLong();
+    private volatile long lastModified = -1;
+
+    public ReloadableFileLoader(String filePath, long checkIntervalMillis) {
+        Assert.requireNonNull(filePath, "filePath");
+        this.file = new File(filePath);
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    public T load() {
+        this.lastModified = file.lastModified();
+        this.nextCheckTime.set(System.currentTimeMillis() + checkIntervalMillis);
+        return read(file);
+    }
+
+    /**
+     * @return null if the file is not modified or not the time to check
+     */
+    public T reloadIfModified(long currentTime) {
+        if (checkIntervalMillis <= 0) {
+            return null;
+        }
+        final long checkTime = nextCheckTime.get();
+        if (currentTime < checkTime) {
+            return null;
+        }
+        if (!nextCheckTime.compareAndSet(checkTime, currentTime + checkIntervalMillis)) {
+            // another thread is checking
+            return null;
+        }
+        final long modified = file.lastModified();
+        if (modified == this.lastModified) {
+            return null;
+        }
+        this.lastModified = modified;
+        final T value = read(file);
+        logger.info("reloaded. file:{} {}", file, value);
+        return value;
+    }
+
+    /**
+     * @return the value of the file. never null, a default value is returned if the file can not be read
+     */
+    protected abstract T read(File file);
+
+    protected File getFile() {
+        return file;
+    }
+
+    protected long getCheckIntervalMillis() {
+        return checkIntervalMillis;
+    }
+}
@@ -17,6 +17,8 @@
 package com.navercorp.pinpoint.profiler.sampler;
 
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
 
 /**
  * @author emeroad
@@ -31,4 +33,27 @@ public class SamplerFactory {
         }
         return new SamplingRateSampler(samplingRate);
     }
+
+    public Sampler createAdaptiveSampler(boolean sampling, int targetThroughput, int maxBoostRatio, long intervalMillis,
+                                         ActiveTraceRepository activeTraceRepository, ResponseTimeCollector responseTimeCollector) {
+        if (!sampling || targetThroughput <= 0) {
+            return new FalseSampler();
+        }
+        return new AdaptiveSampler(targetThroughput, Math.max(0, maxBoostRatio), Math.max(1, intervalMillis),
+                activeTraceRepository, responseTimeCollector);
+    }
+
+    /**
+     * @param settingsLoader nullable. reloads targetThroughput and maxBoostRatio when the file is modified
+     */
+    public Sampler createAdaptiveSampler(boolean sampling, int targetThroughput, int maxBoostRatio, AdaptiveSamplerSettingsLoader settingsLoader,
+                                         long intervalMillis, long urlWindowMillis, int maxUrlSize,
+                                         ActiveTraceRepository activeTraceRepository, ResponseTimeCollector responseTimeCollector) {
+        if (!sampling || targetThroughput <= 0) {
+            return new FalseSampler();
+        }
+        final AdaptiveSamplerSettings settings = new AdaptiveSamplerSettings(targetThroughput, Math.max(0, maxBoostRatio));
+        return new AdaptiveSampler(settings, settingsLoader, Math.max(1, intervalMillis), Math.max(0, urlWindowMillis), Math.max(0, maxUrlSize),
+                activeTraceRepository, responseTimeCollector);
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
+import com.navercorp.pinpoint.common.util.Assert;
+
+/**
+ * Sampling rate of the entry point url pattern.
+ * samplingRate is the same as profiler.sampling.rate. 0 = never, 1 = always, N = 1/N
+ */
+public class SamplingRule {
+
+    private final String pattern;
+    private final PathMatcher pathMatcher;
+    private final int samplingRate;
+    private final Sampler sampler;
+
+    public SamplingRule(String pattern, PathMatcher pathMatcher, int samplingRate) {
+        this.pattern = Assert.requireNonNull(pattern, "pattern");
+        this.pathMatcher = Assert.requireNonNull(pathMatcher, "pathMatcher");
+        this.samplingRate = samplingRate;
+        this.sampler = new SamplerFactory().createSampler(true, samplingRate);
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public boolean isMatched(String urlPath) {
+        return pathMatcher.isMatched(urlPath);
+    }
+
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    public boolean isSampling() {
+        return sampler.isSampling();
+    }
+
+    @Override
+    public String toString() {
+        return "SamplingRule{" +
+                "pattern='" + pattern + '\'' +
+                ", samplingRate=" + samplingRate +
+                '}';
+    }
+}
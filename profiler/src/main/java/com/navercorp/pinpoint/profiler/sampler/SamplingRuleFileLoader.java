@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Loads {@link SamplingRuleTable} from a file. one rule per line, '#' is a comment.
+ * The modification time of the file is checked at most once every checkIntervalMillis.
+ */
+public class SamplingRuleFileLoader extends ReloadableFileLoader<SamplingRuleTable> {
+
+    private final int maxCacheSize;
+
+    public SamplingRuleFileLoader(String filePath, long checkIntervalMillis, int maxCacheSize) {
+        super(filePath, checkIntervalMillis);
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    @Override
+    protected SamplingRuleTable read(File file) {
+        if (!file.isFile()) {
+            logger.warn("sampling rule file not found. file:{}", file);
+            return SamplingRuleTable.EMPTY;
+        }
+        final StringBuilder rules = new StringBuilder();
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                rules.append(line).append(',');
+            }
+        } catch (IOException e) {
+            logger.warn("sampling rule read fail. file:{}", file, e);
+            return SamplingRuleTable.EMPTY;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException ignore) {
+                    // skip
+                }
+            }
+        }
+        return SamplingRuleTable.parse(rules.toString(), maxCacheSize);
+    }
+
+    @Override
+    public String toString() {
+        return "SamplingRuleFileLoader{" +
+                "file=" + getFile() +
+                ", checkIntervalMillis=" + getCheckIntervalMillis() +
+                '}';
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.RegexPathMatcher;
+import com.navercorp.pinpoint.common.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable table of {@link SamplingRule}. Reloading replaces the whole table.
+ * <p>
+ * rule format : {@code pattern=samplingRate} separated by ','
+ * <ul>
+ *     <li>/health=0 : exact match</li>
+ *     <li>/static/**=0 : ant style pattern</li>
+ *     <li>regex:/api/v[0-9]+/.*=10 : regular expression</li>
+ * </ul>
+ * Exact rules are looked up from a hash map. Pattern rules are evaluated in order and the first match wins.
+ * The result of the pattern evaluation is cached per url up to maxCacheSize urls.
+ */
+public class SamplingRuleTable {
+
+    public static final String REGEX_PREFIX = "regex:";
+    public static final int DEFAULT_MAX_CACHE_SIZE = 1024;
+
+    private static final Logger logger = LoggerFactory.getLogger(SamplingRuleTable.class);
+
+    public static final SamplingRuleTable EMPTY = new SamplingRuleTable(new ArrayList<SamplingRule>(), 0);
+
+    // marker of the cached miss
+    private static final SamplingRule NOT_MATCHED = new SamplingRule("", new EqualsPathMatcher(""), 1);
+
+    private final Map<String, SamplingRule> exactRules;
+    private final SamplingRule[] patternRules;
+    private final int size;
+
+    private final ConcurrentMap<String, SamplingRule> hotUrlCache;
+    private final int maxCacheSize;
+
+    public SamplingRuleTable(List<SamplingRule> rules, int maxCacheSize) {
+        final Map<String, SamplingRule> exactRules = new HashMap<String, SamplingRule>();
+        final List<SamplingRule> patternRules = new ArrayList<SamplingRule>();
+        for (SamplingRule rule : rules) {
+            if (isExactPattern(rule.getPattern())) {
+                if (!exactRules.containsKey(rule.getPattern())) {
+                    exactRules.put(rule.getPattern(), rule);
+                }
+            } else {
+                patternRules.add(rule);
+            }
+        }
+        this.exactRules = exactRules;
+        this.patternRules = patternRules.toArray(new SamplingRule[0]);
+        this.size = rules.size();
+        this.maxCacheSize = maxCacheSize;
+        this.hotUrlCache = new ConcurrentHashMap<String, SamplingRule>();
+    }
+
+    private static boolean isExactPattern(String pattern) {
+        return !pattern.startsWith(REGEX_PREFIX) && !AntPathMatcher.isAntStylePattern(pattern);
+    }
+
+    public static SamplingRuleTable parse(String rules) {
+        return parse(rules, DEFAULT_MAX_CACHE_SIZE);
+    }
+
+    public static SamplingRuleTable parse(String rules, int maxCacheSize) {
+        if (StringUtils.isEmpty(rules)) {
+            return EMPTY;
+        }
+        final List<String> tokens = StringUtils.tokenizeToStringList(rules, ",");
+        final List<SamplingRule> ruleList = new ArrayList<SamplingRule>(tokens.size());
+        for (String token : tokens) {
+            final SamplingRule rule = parseRule(token);
+            if (rule != null) {
+                ruleList.add(rule);
+            }
+        }
+        return new SamplingRuleTable(ruleList, maxCacheSize);
+    }
+
+    static SamplingRule parseRule(String rule) {
+        final int separator = rule.lastIndexOf('=');
+        if (separator <= 0) {
+            logger.warn("Invalid sampling rule:{}", rule);
+            return null;
+        }
+        final String pattern = rule.substring(0, separator).trim();
+        final String rateString = rule.substring(separator + 1).trim();
+        final int samplingRate;
+        try {
+            samplingRate = Integer.parseInt(rateString);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid sampling rate. rule:{}", rule);
+            return null;
+        }
+
+        if (pattern.startsWith(REGEX_PREFIX)) {
+            final String regex = pattern.substring(REGEX_PREFIX.length());
+            try {
+                return new SamplingRule(pattern, new RegexPathMatcher(Pattern.compile(regex)), samplingRate);
+            } catch (PatternSyntaxException e) {
+                logger.warn("Invalid sampling rule regex:{}", regex, e);
+                return null;
+            }
+        }
+        if (AntPathMatcher.isAntStylePattern(pattern)) {
+            return new SamplingRule(pattern, new AntPathMatcher(pattern), samplingRate);
+        }
+        return new SamplingRule(pattern, new EqualsPathMatcher(pattern), samplingRate);
+    }
+
+    /**
+     * @return null if no rule matched
+     */
+    public SamplingRule match(String urlPath) {
+        if (urlPath == null || size == 0) {
+            return null;
+        }
+        final SamplingRule exactRule = exactRules.get(urlPath);
+        if (exactRule != null) {
+            return exactRule;
+        }
+        if (patternRules.length == 0) {
+            return null;
+        }
+
+        final SamplingRule cached = hotUrlCache.get(urlPath);
+        if (cached != null) {
+            return cached == NOT_MATCHED ? null : cached;
+        }
+        final SamplingRule rule = matchPattern(urlPath);
+        // stop caching when the cache is full. prevent the memory leak from path variables
+        if (hotUrlCache.size() < maxCacheSize) {
+            hotUrlCache.putIfAbsent(urlPath, rule == null ? NOT_MATCHED : rule);
+        }
+        return rule;
+    }
+
+    private SamplingRule matchPattern(String urlPath) {
+        for (SamplingRule rule : patternRules) {
+            if (rule.isMatched(urlPath)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SamplingRuleTable{" +
+                "exactRules=" + exactRules.values() +
+                ", patternRules=" + Arrays.toString(patternRules) +
+                ", maxCacheSize=" + maxCacheSize +
+                '}';
+    }
+}
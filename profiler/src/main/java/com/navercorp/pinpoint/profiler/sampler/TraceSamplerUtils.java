@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
+
+/**
+ * Utility methods for {@link TraceSampler}
+ */
+public final class TraceSamplerUtils {
+
+    private TraceSamplerUtils() {
+    }
+
+    /**
+     * Applies the url rule when the given TraceSampler is a {@link UrlPathTraceSampler}.
+     * Otherwise falls back to {@link TraceSampler#isNewSampled()}.
+     */
+    public static TraceSampler.State isNewSampled(TraceSampler traceSampler, String urlPath) {
+        if (traceSampler instanceof UrlPathTraceSampler) {
+            return ((UrlPathTraceSampler) traceSampler).isNewSampled(urlPath);
+        }
+        return traceSampler.isNewSampled();
+    }
+
+    /**
+     * Reports the error of the url when the given TraceSampler is a {@link UrlPathTraceSampler}.
+     */
+    public static void onError(TraceSampler traceSampler, String urlPath) {
+        if (traceSampler instanceof UrlPathTraceSampler) {
+            ((UrlPathTraceSampler) traceSampler).onError(urlPath);
+        }
+    }
+}
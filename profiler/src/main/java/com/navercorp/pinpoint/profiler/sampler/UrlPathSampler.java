@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+
+/**
+ * Sampler which takes the entry point url into account.
+ * Agent internal extension of {@link Sampler}, the plugin api is left unchanged.
+ */
+public interface UrlPathSampler extends Sampler {
+
+    /**
+     * @param urlPath entry point url. nullable
+     */
+    boolean isSampling(String urlPath);
+
+    /**
+     * Called when a sampled transaction of the url ends with an error.
+     */
+    void onError(String urlPath);
+
+}
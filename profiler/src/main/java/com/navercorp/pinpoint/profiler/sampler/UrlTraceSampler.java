@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
+
+/**
+ * Applies the {@link SamplingRule} of the entry point url.
+ * Urls not matched by any rule are delegated to the default TraceSampler.
+ */
+public class UrlTraceSampler implements UrlPathTraceSampler {
+
+    private final TraceSampler traceSampler;
+
+    private final State newSuccessState;
+    private final State newDisableState;
+
+    private volatile SamplingRuleTable samplingRuleTable;
+    // @Nullable
+    private final SamplingRuleFileLoader ruleFileLoader;
+
+    public UrlTraceSampler(IdGenerator idGenerator, TraceSampler traceSampler, SamplingRuleTable samplingRuleTable) {
+        this(idGenerator, traceSampler, samplingRuleTable, null);
+    }
+
+    public UrlTraceSampler(final IdGenerator idGenerator, TraceSampler traceSampler, SamplingRuleTable samplingRuleTable, SamplingRuleFileLoader ruleFileLoader) {
+        Assert.requireNonNull(idGenerator, "idGenerator");
+        this.traceSampler = Assert.requireNonNull(traceSampler, "traceSampler");
+        this.samplingRuleTable = Assert.requireNonNull(samplingRuleTable, "samplingRuleTable");
+        this.ruleFileLoader = ruleFileLoader;
+
+        this.newSuccessState = new State() {
+            @Override
+            public boolean isSampled() {
+                return true;
+            }
+
+            @Override
+            public long nextId() {
+                return idGenerator.nextTransactionId();
+            }
+        };
+
+        this.newDisableState = new State() {
+            @Override
+            public boolean isSampled() {
+                return false;
+            }
+
+            @Override
+            public long nextId() {
+                return idGenerator.nextDisabledId();
+            }
+        };
+    }
+
+    @Override
+    public State isNewSampled() {
+        return traceSampler.isNewSampled();
+    }
+
+    @Override
+    public State isNewSampled(String urlPath) {
+        final SamplingRule rule = getSamplingRuleTable().match(urlPath);
+        if (rule == null) {
+            return TraceSamplerUtils.isNewSampled(traceSampler, urlPath);
+        }
+        if (rule.isSampling()) {
+            return newSuccessState;
+        }
+        return newDisableState;
+    }
+
+    @Override
+    public void onError(String urlPath) {
+        TraceSamplerUtils.onError(traceSampler, urlPath);
+    }
+
+    private SamplingRuleTable getSamplingRuleTable() {
+        if (ruleFileLoader != null) {
+            final SamplingRuleTable reloaded = ruleFileLoader.reloadIfModified(System.currentTimeMillis());
+            if (reloaded != null) {
+                this.samplingRuleTable = reloaded;
+            }
+        }
+        return samplingRuleTable;
+    }
+
+    public void setSamplingRuleTable(SamplingRuleTable samplingRuleTable) {
+        this.samplingRuleTable = Assert.requireNonNull(samplingRuleTable, "samplingRuleTable");
+    }
+
+    @Override
+    public State isContinueSampled() {
+        return traceSampler.isContinueSampled();
+    }
+
+    @Override
+    public State getContinueDisableState() {
+        return traceSampler.getContinueDisableState();
+    }
+
+    @Override
+    public String toString() {
+        return "UrlTraceSampler{" +
+                "samplingRuleTable=" + samplingRuleTable +
+                ", ruleFileLoader=" + ruleFileLoader +
+                '}';
+    }
+}
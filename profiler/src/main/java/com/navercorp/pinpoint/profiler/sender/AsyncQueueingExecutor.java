@@ -22,10 +22,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author emeroad
@@ -35,28 +35,43 @@ public class AsyncQueueingExecutor<T> implements Runnable {
     private final Logger logger;
     private final boolean isWarn;
 
-    private final LinkedBlockingQueue<T> queue;
+    private final AsyncQueue<T> queue;
     private final AtomicBoolean isRun = new AtomicBoolean(true);
     private final Thread executeThread;
     private final String executorName;
 
+    private final DrainPolicy drainPolicy;
     private final int maxDrainSize;
     // Caution. single thread only. this Collection is simpler than ArrayList.
     private final Collection<T> drain;
 
     private final AsyncQueueingExecutorListener<T> listener;
 
+    private final AtomicLong queueFullCount = new AtomicLong();
+    private final AtomicLong dropCount = new AtomicLong();
+
+    private final BatchSizeHistogram batchSizeHistogram = new BatchSizeHistogram();
+
 
     public AsyncQueueingExecutor(int queueSize, String executorName, AsyncQueueingExecutorListener<T> listener) {
+        this(new LinkedAsyncQueue<T>(queueSize), executorName, listener);
+    }
+
+    public AsyncQueueingExecutor(AsyncQueue<T> queue, String executorName, AsyncQueueingExecutorListener<T> listener) {
+        this(queue, DrainPolicy.DEFAULT, executorName, listener);
+    }
+
+    public AsyncQueueingExecutor(AsyncQueue<T> queue, DrainPolicy drainPolicy, String executorName, AsyncQueueingExecutorListener<T> listener) {
         Assert.requireNonNull(executorName, "executorName");
 
         this.logger = LoggerFactory.getLogger(this.getClass().getName() + "@" + executorName);
         this.isWarn = logger.isWarnEnabled();
 
         // BEFORE executeThread start
-        this.maxDrainSize = 10;
+        this.drainPolicy = Assert.requireNonNull(drainPolicy, "drainPolicy");
+        this.maxDrainSize = drainPolicy.getMaxDrainSize();
         this.drain = new UnsafeArrayCollection<T>(maxDrainSize);
-        this.queue = new LinkedBlockingQueue<T>(queueSize);
+        this.queue = Assert.requireNonNull(queue, "queue");
 
         this.executeThread = this.createExecuteThread(executorName);
         this.executorName = executeThread.getName();
@@ -82,7 +97,7 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         while (isRun()) {
             try {
                 final Collection<T> dtoList = getDrainQueue();
-                final int drainSize = takeN(dtoList, this.maxDrainSize);
+                final int drainSize = drain(dtoList);
                 if (drainSize > 0) {
                     doExecute(dtoList);
                     continue;
@@ -91,7 +106,15 @@ public class AsyncQueueingExecutor<T> implements Runnable {
                 while (isRun()) {
                     final T dto = takeOne();
                     if (dto != null) {
-                        doExecute(dto);
+                        if (drainPolicy.isLinger()) {
+                            final Collection<T> lingerList = getDrainQueue();
+                            lingerList.add(dto);
+                            linger(lingerList, 1, drainPolicy.getDrainSize(queue.size() + 1));
+                            doExecute(lingerList);
+                        } else {
+                            batchSizeHistogram.record(1);
+                            doExecute(dto);
+                        }
                         continue drainStartEntry;
                     }
                 }
@@ -133,6 +156,47 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         return queue.drainTo(drain, maxDrainSize);
     }
 
+    private int drain(Collection<T> drain) {
+        final int drainSize = drainPolicy.getDrainSize(queue.size());
+        final int size = takeN(drain, drainSize);
+        if (size == 0) {
+            return 0;
+        }
+        if (size < drainSize && drainPolicy.isLinger()) {
+            return linger(drain, size, drainSize);
+        }
+        batchSizeHistogram.record(size);
+        return size;
+    }
+
+    /**
+     * wait up to lingerTime for more data until the batch is filled
+     */
+    private int linger(Collection<T> drain, int size, int drainSize) {
+        final long deadline = System.nanoTime() + drainPolicy.getLingerTimeNanos();
+        while (size < drainSize && isRun()) {
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                break;
+            }
+            final T dto;
+            try {
+                dto = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (dto == null) {
+                break;
+            }
+            drain.add(dto);
+            size++;
+            size += takeN(drain, drainSize - size);
+        }
+        batchSizeHistogram.record(size);
+        return size;
+    }
+
     public boolean execute(T data) {
         if (data == null) {
             if (isWarn) {
@@ -141,6 +205,7 @@ public class AsyncQueueingExecutor<T> implements Runnable {
             return false;
         }
         if (!isRun.get()) {
+            dropCount.incrementAndGet();
             if (isWarn) {
                 logger.warn("{} is shutdown. discard data:{}", executorName, data);
             }
@@ -148,8 +213,10 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         }
         boolean offer = queue.offer(data);
         if (!offer) {
+            queueFullCount.incrementAndGet();
+            final long drop = dropCount.incrementAndGet();
             if (isWarn) {
-                logger.warn("{} Drop data. queue is full. size:{}", executorName, queue.size());
+                logger.warn("{} Drop data. queue is full. size:{} dropCount:{}", executorName, queue.size(), drop);
             }
         }
         return offer;
@@ -168,6 +235,28 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         return queue.isEmpty();
     }
 
+    /**
+     * @return number of rejected data because the queue was full
+     */
+    public long getQueueFullCount() {
+        return queueFullCount.get();
+    }
+
+    /**
+     * @return number of discarded data. queue full + discarded after shutdown
+     */
+    public long getDropCount() {
+        return dropCount.get();
+    }
+
+    public BatchSizeHistogram getBatchSizeHistogram() {
+        return batchSizeHistogram;
+    }
+
+    public DrainPolicy getDrainPolicy() {
+        return drainPolicy;
+    }
+
     public boolean isRun() {
         return isRun.get();
     }
@@ -186,7 +275,7 @@ public class AsyncQueueingExecutor<T> implements Runnable {
             logger.warn("{} stopped incompletely.", executorName);
         }
 
-        logger.info("{} stopped.", executorName);
+        logger.info("{} stopped. queueFullCount:{} dropCount:{} {}", executorName, queueFullCount.get(), dropCount.get(), batchSizeHistogram);
     }
 
     Collection<T> getDrainQueue() {
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+/**
+ * Creates {@link AsyncQueueingExecutor} with the configured queue backend.
+ */
+public class AsyncQueueingExecutorFactory {
+
+    public static final AsyncQueueingExecutorFactory DEFAULT = new AsyncQueueingExecutorFactory(AsyncQueueType.LINKED, WaitStrategy.PARK, DrainPolicy.DEFAULT);
+
+    private final AsyncQueueType queueType;
+    private final WaitStrategy waitStrategy;
+    private final DrainPolicy drainPolicy;
+    private final BatchSizeHistogramRegistry histogramRegistry;
+
+    public AsyncQueueingExecutorFactory(AsyncQueueType queueType, WaitStrategy waitStrategy) {
+        this(queueType, waitStrategy, DrainPolicy.DEFAULT);
+    }
+
+    public AsyncQueueingExecutorFactory(AsyncQueueType queueType, WaitStrategy waitStrategy, DrainPolicy drainPolicy) {
+        this(queueType, waitStrategy, drainPolicy, new BatchSizeHistogramRegistry());
+    }
+
+    public AsyncQueueingExecutorFactory(AsyncQueueType queueType, WaitStrategy waitStrategy, DrainPolicy drainPolicy, BatchSizeHistogramRegistry histogramRegistry) {
+        this.queueType = Assert.requireNonNull(queueType, "queueType");
+        this.waitStrategy = Assert.requireNonNull(waitStrategy, "waitStrategy");
+        this.drainPolicy = Assert.requireNonNull(drainPolicy, "drainPolicy");
+        this.histogramRegistry = Assert.requireNonNull(histogramRegistry, "histogramRegistry");
+    }
+
+    public static AsyncQueueingExecutorFactory of(String queueType, String waitStrategy) {
+        return of(queueType, waitStrategy, DrainPolicy.DEFAULT);
+    }
+
+    public static AsyncQueueingExecutorFactory of(String queueType, String waitStrategy, DrainPolicy drainPolicy) {
+        return of(queueType, waitStrategy, drainPolicy, new BatchSizeHistogramRegistry());
+    }
+
+    public static AsyncQueueingExecutorFactory of(String queueType, String waitStrategy, DrainPolicy drainPolicy, BatchSizeHistogramRegistry histogramRegistry) {
+        final AsyncQueueType asyncQueueType = getQueueType(queueType);
+        final WaitStrategy strategy = WaitStrategy.of(waitStrategy, WaitStrategy.PARK);
+        return new AsyncQueueingExecutorFactory(asyncQueueType, strategy, drainPolicy, histogramRegistry);
+    }
+
+    private static AsyncQueueType getQueueType(String queueType) {
+        if (queueType == null) {
+            return AsyncQueueType.LINKED;
+        }
+        for (AsyncQueueType type : AsyncQueueType.values()) {
+            if (type.name().equalsIgnoreCase(queueType.trim())) {
+                return type;
+            }
+        }
+        return AsyncQueueType.LINKED;
+    }
+
+    public <T> AsyncQueue<T> newQueue(int queueSize) {
+        if (queueType == AsyncQueueType.RING_BUFFER) {
+            return new MpscRingBufferQueue<T>(queueSize, waitStrategy);
+        }
+        return new LinkedAsyncQueue<T>(queueSize);
+    }
+
+    public <T> AsyncQueueingExecutor<T> newExecutor(int queueSize, String executorName, AsyncQueueingExecutorListener<T> listener) {
+        final AsyncQueue<T> queue = newQueue(queueSize);
+        final AsyncQueueingExecutor<T> executor = new AsyncQueueingExecutor<T>(queue, drainPolicy, executorName, listener);
+        histogramRegistry.register(executorName, executor.getBatchSizeHistogram());
+        return executor;
+    }
+
+    public AsyncQueueType getQueueType() {
+        return queueType;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public DrainPolicy getDrainPolicy() {
+        return drainPolicy;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncQueueingExecutorFactory{" +
+                "queueType=" + queueType +
+                ", waitStrategy=" + waitStrategy +
+                ", drainPolicy=" + drainPolicy +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Power of two buckets histogram of the batch size delivered to {@link AsyncQueueingExecutorListener}.
+ * bucket[0] = 1, bucket[1] = 2, bucket[2] = 3~4, bucket[3] = 5~8 ... last bucket = overflow
+ * Caution. record() is called only by the executor thread.
+ */
+public class BatchSizeHistogram {
+
+    private static final int BUCKET_SIZE = 12;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_SIZE);
+
+    public void record(int batchSize) {
+        if (batchSize <= 0) {
+            return;
+        }
+        final int index = bucketIndex(batchSize);
+        // single writer
+        buckets.lazySet(index, buckets.get(index) + 1);
+    }
+
+    static int bucketIndex(int batchSize) {
+        // ceil(log2(batchSize))
+        final int index = 32 - Integer.numberOfLeadingZeros(batchSize - 1);
+        return Math.min(index, BUCKET_SIZE - 1);
+    }
+
+    static int bucketUpperBound(int index) {
+        if (index >= BUCKET_SIZE - 1) {
+            return Integer.MAX_VALUE;
+        }
+        return 1 << index;
+    }
+
+    public long[] snapshot() {
+        final long[] snapshot = new long[BUCKET_SIZE];
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            snapshot[i] = buckets.get(i);
+        }
+        return snapshot;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BatchSizeHistogram{");
+        boolean first = true;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            final long count = buckets.get(i);
+            if (count == 0) {
+                continue;
+            }
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            final int upperBound = bucketUpperBound(i);
+            if (upperBound == Integer.MAX_VALUE) {
+                sb.append('>').append(bucketUpperBound(i - 1));
+            } else {
+                sb.append("<=").append(upperBound);
+            }
+            sb.append('=').append(count);
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
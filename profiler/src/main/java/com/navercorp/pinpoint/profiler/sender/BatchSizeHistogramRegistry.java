@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.google.inject.Inject;
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link BatchSizeHistogram} of each {@link AsyncQueueingExecutor} by executor name, read by the agent stat.
+ */
+public class BatchSizeHistogramRegistry {
+
+    private final ConcurrentMap<String, BatchSizeHistogram> histograms = new ConcurrentHashMap<String, BatchSizeHistogram>();
+
+    @Inject
+    public BatchSizeHistogramRegistry() {
+    }
+
+    public void register(String executorName, BatchSizeHistogram histogram) {
+        Assert.requireNonNull(executorName, "executorName");
+        Assert.requireNonNull(histogram, "histogram");
+        histograms.put(executorName, histogram);
+    }
+
+    public Map<String, BatchSizeHistogram> getHistograms() {
+        return new HashMap<String, BatchSizeHistogram>(histograms);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchSizeHistogramRegistry{" +
+                "histograms=" + histograms +
+                '}';
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch size policy of {@link AsyncQueueingExecutor}.
+ * The drain size grows with the queue depth from minDrainSize up to maxDrainSize.
+ * If lingerTimeMillis is positive, a partially filled batch waits up to lingerTimeMillis for more data. (like linger.ms of kafka)
+ */
+public class DrainPolicy {
+
+    public static final int DEFAULT_DRAIN_SIZE = 10;
+
+    /**
+     * fixed batch size of 10, no linger
+     */
+    public static final DrainPolicy DEFAULT = new DrainPolicy(DEFAULT_DRAIN_SIZE, DEFAULT_DRAIN_SIZE, 0);
+
+    private final int minDrainSize;
+    private final int maxDrainSize;
+    private final long lingerTimeMillis;
+    private final long lingerTimeNanos;
+
+    public DrainPolicy(int minDrainSize, int maxDrainSize, long lingerTimeMillis) {
+        if (minDrainSize <= 0) {
+            throw new IllegalArgumentException("minDrainSize must be 'minDrainSize > 0'");
+        }
+        if (maxDrainSize < minDrainSize) {
+            throw new IllegalArgumentException("maxDrainSize must be 'maxDrainSize >= minDrainSize'");
+        }
+        if (lingerTimeMillis < 0) {
+            throw new IllegalArgumentException("lingerTimeMillis must be 'lingerTimeMillis >= 0'");
+        }
+        this.minDrainSize = minDrainSize;
+        this.maxDrainSize = maxDrainSize;
+        this.lingerTimeMillis = lingerTimeMillis;
+        this.lingerTimeNanos = TimeUnit.MILLISECONDS.toNanos(lingerTimeMillis);
+    }
+
+    public static DrainPolicy of(int minDrainSize, int maxDrainSize, long lingerTimeMillis) {
+        // fix misconfiguration instead of failing the agent
+        final int min = Math.max(1, minDrainSize);
+        final int max = Math.max(min, maxDrainSize);
+        final long linger = Math.max(0, lingerTimeMillis);
+        return new DrainPolicy(min, max, linger);
+    }
+
+    public int getDrainSize(int queueSize) {
+        if (queueSize <= minDrainSize) {
+            return minDrainSize;
+        }
+        return Math.min(queueSize, maxDrainSize);
+    }
+
+    public boolean isLinger() {
+        return lingerTimeNanos > 0;
+    }
+
+    public int getMinDrainSize() {
+        return minDrainSize;
+    }
+
+    public int getMaxDrainSize() {
+        return maxDrainSize;
+    }
+
+    public long getLingerTimeMillis() {
+        return lingerTimeMillis;
+    }
+
+    public long getLingerTimeNanos() {
+        return lingerTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "DrainPolicy{" +
+                "minDrainSize=" + minDrainSize +
+                ", maxDrainSize=" + maxDrainSize +
+                ", lingerTimeMillis=" + lingerTimeMillis +
+                '}';
+    }
+}
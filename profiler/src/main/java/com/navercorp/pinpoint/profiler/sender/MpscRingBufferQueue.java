@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer/single-consumer ring buffer.
+ * offer() does not take a lock and does not allocate.
+ * Caution. poll() and drainTo() must be called from a single consumer thread.
+ */
+public class MpscRingBufferQueue<T> implements AsyncQueue<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> buffer;
+
+    private final AtomicLong producerIndex = new PaddedAtomicLong();
+    private final AtomicLong consumerIndex = new PaddedAtomicLong();
+    // producer side cache of consumerIndex, reduces cache line traffic of the consumer index
+    private volatile long consumerIndexCache = 0;
+
+    private final WaitStrategy waitStrategy;
+
+    public MpscRingBufferQueue(int capacity, WaitStrategy waitStrategy) {
+        Assert.isTrue(capacity > 0, "capacity must be 'capacity > 0'");
+        this.waitStrategy = Assert.requireNonNull(waitStrategy, "waitStrategy");
+
+        this.capacity = capacity;
+        final int bufferSize = nextPowerOfTwo(capacity);
+        this.mask = bufferSize - 1;
+        this.buffer = new AtomicReferenceArray<T>(bufferSize);
+    }
+
+    static int nextPowerOfTwo(int value) {
+        if (value > (1 << 30)) {
+            throw new IllegalArgumentException("capacity too large:" + value);
+        }
+        int powerOfTwo = 1;
+        while (powerOfTwo < value) {
+            powerOfTwo <<= 1;
+        }
+        return powerOfTwo;
+    }
+
+    @Override
+    public boolean offer(T data) {
+        Assert.requireNonNull(data, "data");
+
+        long currentProducerIndex;
+        do {
+            currentProducerIndex = producerIndex.get();
+            final long wrapPoint = currentProducerIndex - capacity;
+            if (consumerIndexCache <= wrapPoint) {
+                final long currentConsumerIndex = consumerIndex.get();
+                if (currentConsumerIndex <= wrapPoint) {
+                    // queue is full
+                    return false;
+                }
+                consumerIndexCache = currentConsumerIndex;
+            }
+        } while (!producerIndex.compareAndSet(currentProducerIndex, currentProducerIndex + 1));
+
+        // slot is claimed. publish it to the consumer
+        buffer.lazySet(offset(currentProducerIndex), data);
+        return true;
+    }
+
+    private int offset(long index) {
+        return (int) (index & mask);
+    }
+
+    private T poll() {
+        final long currentConsumerIndex = consumerIndex.get();
+        final int offset = offset(currentConsumerIndex);
+        T data = buffer.get(offset);
+        if (data == null) {
+            if (currentConsumerIndex == producerIndex.get()) {
+                return null;
+            }
+            // slot is claimed but not published yet. the producer is between CAS and lazySet
+            do {
+                data = buffer.get(offset);
+            } while (data == null);
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(currentConsumerIndex + 1);
+        return data;
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T data = poll();
+        if (data != null) {
+            return data;
+        }
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            data = poll();
+            if (data != null) {
+                return data;
+            }
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return null;
+            }
+            waitStrategy.idle(remainingNanos);
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> drain, int maxElements) {
+        int count = 0;
+        while (count < maxElements) {
+            final T data = poll();
+            if (data == null) {
+                break;
+            }
+            drain.add(data);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        // read consumerIndex first. size can not be negative
+        final long currentConsumerIndex = consumerIndex.get();
+        final long size = producerIndex.get() - currentConsumerIndex;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return consumerIndex.get() == producerIndex.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    @Override
+    public String toString() {
+        return "MpscRingBufferQueue{" +
+                "capacity=" + capacity +
+                ", size=" + size() +
+                ", waitStrategy=" + waitStrategy +
+                '}';
+    }
+
+    // prevent false sharing between producerIndex and consumerIndex
+    @SuppressWarnings("unused")
+    private static class PaddedAtomicLong extends AtomicLong {
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+}
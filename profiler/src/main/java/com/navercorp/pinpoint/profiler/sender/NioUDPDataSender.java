@@ -61,6 +61,11 @@ public class NioUDPDataSender implements DataSender {
 
     public NioUDPDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize,
                             MessageConverter<TBase<?, ?>> messageConverter) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, messageConverter, AsyncQueueingExecutorFactory.DEFAULT);
+    }
+
+    public NioUDPDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize,
+                            MessageConverter<TBase<?, ?>> messageConverter, AsyncQueueingExecutorFactory executorFactory) {
         Assert.requireNonNull(host, "host");
         Assert.requireNonNull(threadName, "threadName");
         Assert.isTrue(queueSize > 0, "queueSize");
@@ -68,6 +73,7 @@ public class NioUDPDataSender implements DataSender {
         Assert.isTrue(sendBufferSize > 0, "sendBufferSize");
 
         this.messageConverter = Assert.requireNonNull(messageConverter, "messageConverter");
+        Assert.requireNonNull(executorFactory, "executorFactory");
 
         // TODO If fail to create socket, stop agent start
         logger.info("NioUDPDataSender initialized. host={}, port={}", host, port);
@@ -80,17 +86,17 @@ public class NioUDPDataSender implements DataSender {
         ByteBuffer byteBuffer = bufferFactory.getBuffer(UDP_MAX_PACKET_LENGTH);
         this.byteBufferOutputStream = new ByteBufferOutputStream(byteBuffer);
 
-        this.executor = createAsyncQueueingExecutor(queueSize, threadName);
+        this.executor = createAsyncQueueingExecutor(executorFactory, queueSize, threadName);
     }
 
-    private AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName) {
+    private AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(AsyncQueueingExecutorFactory executorFactory, int queueSize, String executorName) {
         AsyncQueueingExecutorListener<Object> listener = new DefaultAsyncQueueingExecutorListener() {
             @Override
             public void execute(Object message) {
                 NioUDPDataSender.this.sendPacket(message);
             }
         };
-        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queueSize, executorName, listener);
+        final AsyncQueueingExecutor<Object> executor = executorFactory.newExecutor(queueSize, executorName, listener);
         return executor;
     }
 
@@ -78,7 +78,7 @@ public class TcpDataSender implements EnhancedDataSender<Object> {
 
 
     public TcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory) {
-        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), newDefaultMessageSerializer(), DEFAULT_QUEUE_SIZE);
+        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), newDefaultMessageSerializer(), DEFAULT_QUEUE_SIZE, AsyncQueueingExecutorFactory.DEFAULT);
     }
 
     private static ThriftMessageSerializer newDefaultMessageSerializer() {
@@ -87,14 +87,20 @@ public class TcpDataSender implements EnhancedDataSender<Object> {
     }
 
     public TcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory, MessageSerializer<byte[]> messageSerializer) {
-        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer, DEFAULT_QUEUE_SIZE);
+        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer, DEFAULT_QUEUE_SIZE, AsyncQueueingExecutorFactory.DEFAULT);
     }
 
     public TcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory, MessageSerializer<byte[]> messageSerializer, int queueSize) {
-        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer, queueSize);
+        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer, queueSize, AsyncQueueingExecutorFactory.DEFAULT);
     }
 
-    private TcpDataSender(String name, ClientFactoryUtils.PinpointClientProvider clientProvider, MessageSerializer<byte[]> messageSerializer, int queueSize) {
+    public TcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory, MessageSerializer<byte[]> messageSerializer, int queueSize,
+                         AsyncQueueingExecutorFactory executorFactory) {
+        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer, queueSize, executorFactory);
+    }
+
+    private TcpDataSender(String name, ClientFactoryUtils.PinpointClientProvider clientProvider, MessageSerializer<byte[]> messageSerializer, int queueSize,
+                          AsyncQueueingExecutorFactory executorFactory) {
         this.logger = newLogger(name);
 
         Assert.requireNonNull(clientProvider, "clientProvider");
@@ -103,22 +109,23 @@ public class TcpDataSender implements EnhancedDataSender<Object> {
         Assert.isTrue(queueSize > 0, "queueSize must be 'queueSize > 0'");
 
         this.messageSerializer = Assert.requireNonNull(messageSerializer, "messageSerializer");
+        Assert.requireNonNull(executorFactory, "executorFactory");
         this.timer = createTimer(name);
 
         this.writeFailFutureListener = new WriteFailFutureListener(logger, "io write fail.", clientProvider.getAddressAsString());
 
         final String executorName = getExecutorName(name);
-        this.executor = createAsyncQueueingExecutor(queueSize, executorName);
+        this.executor = createAsyncQueueingExecutor(executorFactory, queueSize, executorName);
     }
 
-    private AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName) {
+    private AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(AsyncQueueingExecutorFactory executorFactory, int queueSize, String executorName) {
         AsyncQueueingExecutorListener<Object> listener = new DefaultAsyncQueueingExecutorListener() {
             @Override
             public void execute(Object message) {
                 TcpDataSender.this.sendPacket(message);
             }
         };
-        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queueSize, executorName, listener);
+        final AsyncQueueingExecutor<Object> executor = executorFactory.newExecutor(queueSize, executorName, listener);
         return executor;
     }
 
@@ -55,6 +55,12 @@ public class UdpDataSender implements DataSender {
     public UdpDataSender(String host, int port, String threadName,
                          int queueSize, int timeout, int sendBufferSize,
                          MessageSerializer<ByteMessage> messageSerializer) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, messageSerializer, AsyncQueueingExecutorFactory.DEFAULT);
+    }
+
+    public UdpDataSender(String host, int port, String threadName,
+                         int queueSize, int timeout, int sendBufferSize,
+                         MessageSerializer<ByteMessage> messageSerializer, AsyncQueueingExecutorFactory executorFactory) {
         Assert.requireNonNull(host, "host");
         if (!HostAndPort.isValidPort(port)) {
             throw new IllegalArgumentException("port out of range:" + port);
@@ -65,6 +71,7 @@ public class UdpDataSender implements DataSender {
         Assert.isTrue(sendBufferSize > 0, "sendBufferSize");
 
         this.messageSerializer = Assert.requireNonNull(messageSerializer, "messageSerializer");
+        Assert.requireNonNull(executorFactory, "executorFactory");
 
         final SocketAddressProvider socketAddressProvider = new DnsSocketAddressProvider(host, port);
         this.socketAddressProvider = new RefreshStrategy(socketAddressProvider);
@@ -73,7 +80,7 @@ public class UdpDataSender implements DataSender {
         // TODO If fail to create socket, stop agent start
         this.udpSocket = createSocket(timeout, sendBufferSize);
 
-        this.executor = createAsyncQueueingExecutor(queueSize, threadName);
+        this.executor = createAsyncQueueingExecutor(executorFactory, queueSize, threadName);
 
     }
 
@@ -82,14 +89,14 @@ public class UdpDataSender implements DataSender {
         return executor.execute(data);
     }
 
-    private AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName) {
+    private AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(AsyncQueueingExecutorFactory executorFactory, int queueSize, String executorName) {
         AsyncQueueingExecutorListener<Object> listener = new DefaultAsyncQueueingExecutorListener() {
             @Override
             public void execute(Object message) {
                 UdpDataSender.this.sendPacket(message);
             }
         };
-        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queueSize, executorName, listener);
+        final AsyncQueueingExecutor<Object> executor = executorFactory.newExecutor(queueSize, executorName, listener);
         return executor;
     }
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Idle strategy of the consumer thread while {@link MpscRingBufferQueue} is empty.
+ */
+public enum WaitStrategy {
+
+    /**
+     * lowest latency. burns a core while the queue is empty.
+     */
+    SPIN {
+        @Override
+        void idle(long remainingNanos) {
+            // busy spin
+        }
+    },
+    YIELD {
+        @Override
+        void idle(long remainingNanos) {
+            Thread.yield();
+        }
+    },
+    /**
+     * default. wakes up every {@link #MAX_PARK_NANOS} at most.
+     */
+    PARK {
+        @Override
+        void idle(long remainingNanos) {
+            LockSupport.parkNanos(Math.min(remainingNanos, MAX_PARK_NANOS));
+        }
+    };
+
+    static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    abstract void idle(long remainingNanos);
+
+    public static WaitStrategy of(String name, WaitStrategy defaultStrategy) {
+        if (name == null) {
+            return defaultStrategy;
+        }
+        for (WaitStrategy waitStrategy : values()) {
+            if (waitStrategy.name().equalsIgnoreCase(name.trim())) {
+                return waitStrategy;
+            }
+        }
+        return defaultStrategy;
+    }
+}
@@ -35,11 +35,19 @@ public class ResponseStreamObserver<ReqT, RespT> implements ClientResponseObserv
 
     private final StreamId name;
     private final Reconnector reconnector;
+    private final Runnable onReadyListener;
 
     public ResponseStreamObserver(StreamId name, Reconnector reconnector) {
+        this(name, reconnector, null);
+    }
+
+    /**
+     * @param onReadyListener notified whenever the request stream becomes ready. nullable
+     */
+    public ResponseStreamObserver(StreamId name, Reconnector reconnector, Runnable onReadyListener) {
         this.name = Assert.requireNonNull(name, "name");
         this.reconnector = Assert.requireNonNull(reconnector, "reconnector");
-
+        this.onReadyListener = onReadyListener;
     }
 
     @Override
@@ -49,8 +57,17 @@ public class ResponseStreamObserver<ReqT, RespT> implements ClientResponseObserv
             private final AtomicInteger counter = new AtomicInteger();
             @Override
             public void run() {
-                logger.info("onReadyHandler:{} eventNumber:{}", name, counter.getAndIncrement());
+                final int eventNumber = counter.getAndIncrement();
+                if (eventNumber == 0) {
+                    logger.info("onReadyHandler:{} eventNumber:{}", name, eventNumber);
+                } else if (logger.isDebugEnabled()) {
+                    // called on every flow control window update
+                    logger.debug("onReadyHandler:{} eventNumber:{}", name, eventNumber);
+                }
                 reconnector.reset();
+                if (onReadyListener != null) {
+                    onReadyListener.run();
+                }
             }
         });
     }
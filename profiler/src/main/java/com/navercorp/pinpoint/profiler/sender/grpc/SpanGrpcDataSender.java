@@ -27,9 +27,12 @@ import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
 import com.navercorp.pinpoint.grpc.trace.SpanGrpc;
 import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
 import io.grpc.ClientInterceptor;
+import io.grpc.stub.ClientCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.navercorp.pinpoint.grpc.MessageFormatUtils.debugLog;
 
@@ -44,12 +47,31 @@ public class SpanGrpcDataSender extends GrpcDataSender {
     private volatile StreamObserver<PSpanMessage> spanStream;
     private final Reconnector spanStreamReconnector;
 
+    // max wait time of the sender thread while the stream is not ready. 0 : disable
+    private final long readyWaitNanos;
+    // signaled by the onReady handler of the stream
+    private final Object readyLock = new Object();
+    private final AtomicLong readyWaitCount = new AtomicLong();
+    private final AtomicLong readyTimeoutCount = new AtomicLong();
+    private final AtomicLong notReadyDropCount = new AtomicLong();
+
     public SpanGrpcDataSender(String host, int port,
                               int executorQueueSize,
                               MessageConverter<GeneratedMessageV3> messageConverter,
                               ReconnectExecutor reconnectExecutor,
                               ChannelFactory channelFactory) {
+        this(host, port, executorQueueSize, messageConverter, reconnectExecutor, channelFactory, 0);
+    }
+
+    public SpanGrpcDataSender(String host, int port,
+                              int executorQueueSize,
+                              MessageConverter<GeneratedMessageV3> messageConverter,
+                              ReconnectExecutor reconnectExecutor,
+                              ChannelFactory channelFactory,
+                              long readyWaitMillis) {
         super(host, port, executorQueueSize, messageConverter, channelFactory);
+        Assert.isTrue(readyWaitMillis >= 0, "readyWaitMillis must be 'readyWaitMillis >= 0'");
+        this.readyWaitNanos = TimeUnit.MILLISECONDS.toNanos(readyWaitMillis);
 
         this.spanStub = newSpanStub();
         this.reconnectExecutor = Assert.requireNonNull(reconnectExecutor, "reconnectExecutor");
@@ -73,10 +95,22 @@ public class SpanGrpcDataSender extends GrpcDataSender {
 
     private StreamObserver<PSpanMessage> newSpanStream() {
         StreamId spanId = StreamId.newStreamId("SpanStream");
-        ResponseStreamObserver<PSpanMessage, Empty> responseStreamObserver = new ResponseStreamObserver<PSpanMessage, Empty>(spanId, spanStreamReconnector);
+        final Runnable onReadyListener = new Runnable() {
+            @Override
+            public void run() {
+                onReady();
+            }
+        };
+        ResponseStreamObserver<PSpanMessage, Empty> responseStreamObserver = new ResponseStreamObserver<PSpanMessage, Empty>(spanId, spanStreamReconnector, onReadyListener);
         return spanStub.sendSpan(responseStreamObserver);
     }
 
+    void onReady() {
+        synchronized (readyLock) {
+            readyLock.notifyAll();
+        }
+    }
+
     @Override
     public boolean send(final Object data) {
         final Runnable command = new Runnable() {
@@ -99,6 +133,15 @@ public class SpanGrpcDataSender extends GrpcDataSender {
     }
 
     private boolean send0(Object data) {
+        // throttle the sender thread first. the bounded executor queue rejects new spans while waiting
+        if (!awaitReady(this.spanStream)) {
+            notReadyDropCount.incrementAndGet();
+            if (logger.isDebugEnabled()) {
+                logger.debug("drop message, stream is not ready. data:{}", data);
+            }
+            return false;
+        }
+
         final GeneratedMessageV3 message = messageConverter.toMessage(data);
         if (logger.isDebugEnabled()) {
             logger.debug("Send message={}", debugLog(message));
@@ -118,12 +161,66 @@ public class SpanGrpcDataSender extends GrpcDataSender {
         throw new IllegalStateException("unsupported message " + data);
     }
 
+    /**
+     * Backpressure of the collector. The stream is not ready while the HTTP/2 flow control window is exhausted.
+     * The sender thread waits for the onReady handler of the stream up to readyWaitNanos, and the message is dropped after that.
+     * @return false if the stream is still not ready (timeout, shutdown or interrupt)
+     */
+    boolean awaitReady(StreamObserver<PSpanMessage> stream) {
+        if (readyWaitNanos <= 0) {
+            return true;
+        }
+        if (!(stream instanceof ClientCallStreamObserver)) {
+            return true;
+        }
+        final ClientCallStreamObserver<PSpanMessage> callStream = (ClientCallStreamObserver<PSpanMessage>) stream;
+        if (callStream.isReady()) {
+            return true;
+        }
+        readyWaitCount.incrementAndGet();
+        final long deadline = System.nanoTime() + readyWaitNanos;
+        synchronized (readyLock) {
+            // isReady() is true before the onReady handler is called, the signal can not be missed under the lock
+            while (!callStream.isReady()) {
+                if (shutdown) {
+                    return false;
+                }
+                final long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    readyTimeoutCount.incrementAndGet();
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(readyLock, remainingNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public long getReadyWaitCount() {
+        return readyWaitCount.get();
+    }
+
+    public long getReadyTimeoutCount() {
+        return readyTimeoutCount.get();
+    }
+
+    public long getNotReadyDropCount() {
+        return notReadyDropCount.get();
+    }
+
     @Override
     public void stop() {
         if (shutdown) {
             return;
         }
         this.shutdown = true;
+        // wake up the sender thread waiting for the stream
+        onReady();
 
         logger.info("Stop {}, channel={}", name, managedChannel);
         final ReconnectExecutor reconnectExecutor = this.reconnectExecutor;
@@ -141,6 +238,9 @@ public class SpanGrpcDataSender extends GrpcDataSender {
                 "name='" + name + '\'' +
                 ", host='" + host + '\'' +
                 ", port=" + port +
+                ", readyWaitCount=" + readyWaitCount.get() +
+                ", readyTimeoutCount=" + readyTimeoutCount.get() +
+                ", notReadyDropCount=" + notReadyDropCount.get() +
                 "} " + super.toString();
     }
 
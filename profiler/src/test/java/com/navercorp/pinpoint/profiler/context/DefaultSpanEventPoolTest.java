@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+public class DefaultSpanEventPoolTest {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final TraceRoot traceRoot = new DefaultTraceRoot(new DefaultTraceId("agentId", 0, 0), "agentId", System.currentTimeMillis(), 0);
+
+    @Test
+    public void reuseSpanEvent() {
+        DefaultSpanEventPool pool = new DefaultSpanEventPool(16, 1);
+
+        SpanEvent spanEvent = pool.newSpanEvent();
+        spanEvent.setApiId(10);
+        spanEvent.setEndPoint("endPoint");
+        spanEvent.addAnnotation(new Annotation(1, "value"));
+
+        List<SpanEvent> spanEventList = pool.newSpanEventList(4);
+        spanEventList.add(spanEvent);
+        Span span = new Span(traceRoot);
+        span.setSpanEventList(spanEventList);
+
+        pool.release(span);
+        Assert.assertNull(span.getSpanEventList());
+        Assert.assertTrue(spanEvent.isReleased());
+        Assert.assertEquals(1, pool.getReleaseCount());
+
+        SpanEvent reused = pool.newSpanEvent();
+        Assert.assertSame(spanEvent, reused);
+        Assert.assertFalse(reused.isReleased());
+        Assert.assertEquals(0, reused.getApiId());
+        Assert.assertNull(reused.getEndPoint());
+        Assert.assertEquals(-1, reused.getDepth());
+        Assert.assertEquals(-1, reused.getNextSpanId());
+        Assert.assertTrue(reused.getAnnotations().isEmpty());
+
+        List<SpanEvent> reusedList = pool.newSpanEventList(4);
+        Assert.assertSame(spanEventList, reusedList);
+        Assert.assertTrue(reusedList.isEmpty());
+        Assert.assertEquals(1, pool.getAllocateCount());
+    }
+
+    @Test
+    public void releaseSpanChunk() {
+        DefaultSpanEventPool pool = new DefaultSpanEventPool(16, 1);
+
+        List<SpanEvent> spanEventList = pool.newSpanEventList(4);
+        spanEventList.add(pool.newSpanEvent());
+        spanEventList.add(pool.newSpanEvent());
+        SpanChunk spanChunk = new DefaultSpanChunk(traceRoot, spanEventList);
+
+        pool.release(spanChunk);
+        Assert.assertEquals(2, pool.getReleaseCount());
+        Assert.assertTrue(spanEventList.isEmpty());
+    }
+
+    @Test
+    public void doubleRelease() {
+        DefaultSpanEventPool pool = new DefaultSpanEventPool(16, 1);
+
+        SpanEvent spanEvent = pool.newSpanEvent();
+        pool.release(newSpanChunk(pool, spanEvent));
+        pool.release(newSpanChunk(pool, spanEvent));
+
+        Assert.assertEquals(1, pool.getReleaseCount());
+        Assert.assertEquals(1, pool.getInvalidReleaseCount());
+
+        // pooled only once
+        Assert.assertSame(spanEvent, pool.newSpanEvent());
+        Assert.assertNotSame(spanEvent, pool.newSpanEvent());
+    }
+
+    @Test
+    public void dummySpanEventNotPooled() {
+        DefaultSpanEventPool pool = new DefaultSpanEventPool(16, 1);
+
+        SpanEvent dummy = new SpanEvent() {
+        };
+        pool.release(newSpanChunk(pool, dummy));
+
+        Assert.assertEquals(0, pool.getReleaseCount());
+        Assert.assertFalse(dummy.isReleased());
+        Assert.assertNotSame(dummy, pool.newSpanEvent());
+    }
+
+    @Test
+    public void poolFull() {
+        DefaultSpanEventPool pool = new DefaultSpanEventPool(1, 1);
+
+        pool.release(newSpanChunk(pool, new SpanEvent(), new SpanEvent()));
+
+        Assert.assertEquals(2, pool.getReleaseCount());
+        Assert.assertEquals(1, pool.getDiscardCount());
+    }
+
+    private SpanChunk newSpanChunk(SpanEventPool pool, SpanEvent... spanEvents) {
+        List<SpanEvent> spanEventList = pool.newSpanEventList(spanEvents.length);
+        for (SpanEvent spanEvent : spanEvents) {
+            spanEventList.add(spanEvent);
+        }
+        return new DefaultSpanChunk(traceRoot, spanEventList);
+    }
+
+    @Test
+    public void allocationRate() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        Assume.assumeTrue(sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled());
+
+        final int iteration = 10000;
+        final SpanEventPool emptyPool = EmptySpanEventPool.INSTANCE;
+        final SpanEventPool defaultPool = new DefaultSpanEventPool(1024, 1);
+        // warm up
+        simulate(emptyPool, iteration);
+        simulate(defaultPool, iteration);
+
+        final long threadId = Thread.currentThread().getId();
+        final long emptyStart = sunThreadMXBean.getThreadAllocatedBytes(threadId);
+        simulate(emptyPool, iteration);
+        final long emptyAllocated = sunThreadMXBean.getThreadAllocatedBytes(threadId) - emptyStart;
+
+        final long pooledStart = sunThreadMXBean.getThreadAllocatedBytes(threadId);
+        simulate(defaultPool, iteration);
+        final long pooledAllocated = sunThreadMXBean.getThreadAllocatedBytes(threadId) - pooledStart;
+
+        logger.debug("allocated bytes. empty:{} pooled:{}", emptyAllocated, pooledAllocated);
+        Assert.assertTrue("pooled:" + pooledAllocated + " empty:" + emptyAllocated, pooledAllocated < emptyAllocated);
+    }
+
+    private void simulate(SpanEventPool pool, int iteration) {
+        for (int i = 0; i < iteration; i++) {
+            List<SpanEvent> spanEventList = pool.newSpanEventList(20);
+            for (int j = 0; j < 20; j++) {
+                SpanEvent spanEvent = pool.newSpanEvent();
+                spanEvent.setApiId(j);
+                spanEventList.add(spanEvent);
+            }
+            pool.release(new DefaultSpanChunk(traceRoot, spanEventList));
+        }
+    }
+}
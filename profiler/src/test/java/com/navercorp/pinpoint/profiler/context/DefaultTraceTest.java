@@ -34,8 +34,13 @@ import com.navercorp.pinpoint.profiler.metadata.StringMetaDataService;
 import org.junit.*;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -93,6 +98,30 @@ public class DefaultTraceTest {
         trace.close();
     }
 
+    @Test
+    public void restoreRecorderBeforeStore() {
+        Storage storage = mock(Storage.class);
+        final Trace trace = newTrace(64, storage);
+        final SpanEventRecorder recorder1 = trace.traceBlockBegin();
+        recorder1.attachFrameObject("1");
+        SpanEventRecorder recorder2 = trace.traceBlockBegin();
+        recorder2.attachFrameObject("2");
+
+        // the stored spanEvent can be flushed and released to the SpanEventPool at once
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                SpanEvent spanEvent = invocation.getArgument(0);
+                Assert.assertEquals("2", spanEvent.getFrameObject());
+                Assert.assertEquals("recorder must not wrap the stored spanEvent", "1", recorder1.getFrameObject());
+                return null;
+            }
+        }).when(storage).store(any(SpanEvent.class));
+
+        trace.traceBlockEnd();
+        verify(storage).store(any(SpanEvent.class));
+    }
+
     @Test
     public void overflow() {
         Trace trace = newTrace(2);
@@ -142,6 +171,10 @@ public class DefaultTraceTest {
     }
 
     private Trace newTrace(final int maxCallStackDepth) {
+        return newTrace(maxCallStackDepth, mock(Storage.class));
+    }
+
+    private Trace newTrace(final int maxCallStackDepth, Storage storage) {
         when(traceRoot.getShared()).thenReturn(shared);
 
         TraceId traceId = new DefaultTraceId(agentId, agentStartTime, 0);
@@ -152,7 +185,6 @@ public class DefaultTraceTest {
 
         SpanFactory spanFactory = new DefaultSpanFactory();
 
-        Storage storage = mock(Storage.class);
 
         final Span span = spanFactory.newSpan(traceRoot);
         final boolean root = span.getTraceRoot().getTraceId().isRoot();
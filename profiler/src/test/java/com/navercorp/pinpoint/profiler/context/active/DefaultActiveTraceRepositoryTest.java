@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class DefaultActiveTraceRepositoryTest {
+
+    @Test
+    public void purge() {
+        ResponseTimeCollector responseTimeCollector = mock(ResponseTimeCollector.class);
+        DefaultActiveTraceRepository repository = new DefaultActiveTraceRepository(responseTimeCollector, 8);
+
+        ActiveTraceHandle handle = repository.register(1, 100, 1);
+        handle.purge(150);
+        handle.purge(200);
+
+        verify(responseTimeCollector, times(1)).add(50);
+        Mockito.verifyNoMoreInteractions(responseTimeCollector);
+    }
+
+    @Test
+    public void purge_registerFailed() {
+        ResponseTimeCollector responseTimeCollector = mock(ResponseTimeCollector.class);
+        DefaultActiveTraceRepository repository = new DefaultActiveTraceRepository(responseTimeCollector, 8);
+
+        long localTransactionId = 0;
+        while (repository.getRegisterFailCount() == 0) {
+            repository.register(localTransactionId++, 100, 1);
+        }
+        ActiveTraceHandle handle = repository.register(localTransactionId, 100, 1);
+        handle.purge(150);
+        handle.purge(200);
+        handle.purge(300);
+
+        verify(responseTimeCollector, times(1)).add(50);
+        Mockito.verifyNoMoreInteractions(responseTimeCollector);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class StripedActiveTraceRegistryTest {
+
+    @Test
+    public void registerAndRemove() {
+        StripedActiveTraceRegistry registry = new StripedActiveTraceRegistry(16, 4);
+        ActiveTrace activeTrace = new UnsampledActiveTrace(1, 100, 1);
+
+        int index = registry.register(activeTrace);
+        Assert.assertNotEquals(StripedActiveTraceRegistry.FAILED, index);
+        Assert.assertEquals(1, registry.size());
+
+        Assert.assertTrue(registry.remove(index, activeTrace));
+        Assert.assertEquals(0, registry.size());
+        // second remove is ignored
+        Assert.assertFalse(registry.remove(index, activeTrace));
+    }
+
+    @Test
+    public void removeAnotherTrace() {
+        StripedActiveTraceRegistry registry = new StripedActiveTraceRegistry(16, 4);
+        ActiveTrace activeTrace = new UnsampledActiveTrace(1, 100, 1);
+        int index = registry.register(activeTrace);
+        registry.remove(index, activeTrace);
+
+        ActiveTrace newTrace = new UnsampledActiveTrace(2, 200, 1);
+        int newIndex = registry.register(newTrace);
+        Assert.assertEquals("reuse slot", index, newIndex);
+        // stale handle must not remove the new trace
+        Assert.assertFalse(registry.remove(index, activeTrace));
+        Assert.assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void full() {
+        StripedActiveTraceRegistry registry = new StripedActiveTraceRegistry(8, 4);
+        for (int i = 0; i < 8; i++) {
+            int index = registry.register(new UnsampledActiveTrace(i, 100, 1));
+            Assert.assertNotEquals(StripedActiveTraceRegistry.FAILED, index);
+        }
+        Assert.assertEquals(StripedActiveTraceRegistry.FAILED, registry.register(new UnsampledActiveTrace(9, 100, 1)));
+        Assert.assertEquals(8, registry.size());
+    }
+
+    @Test
+    public void stripeSize() {
+        Assert.assertEquals(1, StripedActiveTraceRegistry.stripeSize(1, 1024));
+        Assert.assertEquals(8, StripedActiveTraceRegistry.stripeSize(5, 1024));
+        Assert.assertEquals(64, StripedActiveTraceRegistry.stripeSize(1000, 1024));
+        Assert.assertEquals(2, StripedActiveTraceRegistry.stripeSize(64, 2));
+    }
+
+    @Test
+    public void concurrentRegister() throws Exception {
+        final int threads = 8;
+        final int tracePerThread = 1000;
+        final StripedActiveTraceRegistry registry = new StripedActiveTraceRegistry(threads * 4, threads);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        startLatch.await();
+                        int failCount = 0;
+                        for (int j = 0; j < tracePerThread; j++) {
+                            ActiveTrace activeTrace = new UnsampledActiveTrace(j, 100, Thread.currentThread().getId());
+                            int index = registry.register(activeTrace);
+                            if (index == StripedActiveTraceRegistry.FAILED || !registry.remove(index, activeTrace)) {
+                                failCount++;
+                            }
+                        }
+                        return failCount;
+                    }
+                }));
+            }
+            startLatch.countDown();
+            for (Future<Integer> future : futures) {
+                Assert.assertEquals(Integer.valueOf(0), future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(0, registry.size());
+    }
+}
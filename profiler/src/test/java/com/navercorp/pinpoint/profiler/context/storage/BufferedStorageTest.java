@@ -17,7 +17,9 @@
 package com.navercorp.pinpoint.profiler.context.storage;
 
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.profiler.context.Annotation;
 import com.navercorp.pinpoint.profiler.context.DefaultSpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.EmptySpanEventPool;
 import com.navercorp.pinpoint.profiler.context.Span;
 import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
 import com.navercorp.pinpoint.profiler.context.SpanEvent;
@@ -128,6 +130,70 @@ public class BufferedStorageTest {
         Assert.assertEquals(1, countingDataSender.getSpanChunkCounter());
     }
 
+    @Test
+    public void testStore_sizeFlush() throws Exception {
+        final int spanEventSize = SpanEventSizeEstimator.estimate(newSpanEvent("endPoint"));
+        FlushPolicy flushPolicy = new FlushPolicy(100, spanEventSize * 3, 0);
+        BufferedStorage bufferedStorage = newBufferedStorage(flushPolicy);
+
+        bufferedStorage.store(newSpanEvent("endPoint"));
+        bufferedStorage.store(newSpanEvent("endPoint"));
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+
+        bufferedStorage.store(newSpanEvent("endPoint"));
+        Assert.assertEquals(1, countingDataSender.getSpanChunkCounter());
+
+        // counter is cleared after flush
+        bufferedStorage.store(newSpanEvent("endPoint"));
+        Assert.assertEquals(1, countingDataSender.getSpanChunkCounter());
+    }
+
+    @Test
+    public void testStore_largeSpanEventFlush() throws Exception {
+        FlushPolicy flushPolicy = new FlushPolicy(100, 1024, 0);
+        BufferedStorage bufferedStorage = newBufferedStorage(flushPolicy);
+
+        SpanEvent spanEvent = new SpanEvent();
+        spanEvent.addAnnotation(new Annotation(1, new String(new char[2048])));
+        bufferedStorage.store(spanEvent);
+
+        Assert.assertEquals(1, countingDataSender.getSpanChunkCounter());
+    }
+
+    @Test
+    public void testStore_ageFlush() throws Exception {
+        FlushPolicy flushPolicy = new FlushPolicy(100, 0, 10);
+        BufferedStorage bufferedStorage = newBufferedStorage(flushPolicy);
+
+        bufferedStorage.store(new SpanEvent());
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+
+        Thread.sleep(20);
+        bufferedStorage.store(new SpanEvent());
+        Assert.assertEquals(1, countingDataSender.getSpanChunkCounter());
+    }
+
+    @Test
+    public void testStore_unbounded() throws Exception {
+        BufferedStorage bufferedStorage = newBufferedStorage(FlushPolicy.UNBOUNDED);
+
+        for (int i = 0; i < 100; i++) {
+            bufferedStorage.store(new SpanEvent());
+        }
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+    }
+
+    private SpanEvent newSpanEvent(String endPoint) {
+        SpanEvent spanEvent = new SpanEvent();
+        spanEvent.setEndPoint(endPoint);
+        return spanEvent;
+    }
+
+    private BufferedStorage newBufferedStorage(FlushPolicy flushPolicy) {
+        SpanChunkFactory spanChunkFactory = new DefaultSpanChunkFactory(internalTraceId);
+        return new BufferedStorage(spanChunkFactory, countingDataSender, flushPolicy, EmptySpanEventPool.INSTANCE);
+    }
+
     private BufferedStorage newBufferedStorage(int bufferSize) {
         SpanChunkFactory spanChunkFactory = new DefaultSpanChunkFactory(internalTraceId);
         return new BufferedStorage(spanChunkFactory, countingDataSender, bufferSize);
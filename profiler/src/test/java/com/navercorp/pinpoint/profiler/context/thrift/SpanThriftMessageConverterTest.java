@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.common.util.IntStringValue;
 import com.navercorp.pinpoint.profiler.context.Annotation;
 import com.navercorp.pinpoint.profiler.context.DefaultAsyncId;
 import com.navercorp.pinpoint.profiler.context.DefaultSpanChunk;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanEventPool;
 import com.navercorp.pinpoint.profiler.context.Span;
 import com.navercorp.pinpoint.profiler.context.SpanChunk;
 import com.navercorp.pinpoint.profiler.context.SpanEvent;
@@ -39,6 +40,7 @@ import org.apache.commons.lang3.RandomUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -187,5 +189,31 @@ public class SpanThriftMessageConverterTest {
         Assert.assertEquals(annotation.getValue(), tAnnotation.getValue().getStringValue());
     }
 
+    @Test
+    public void toMessage_releaseSpanEvent() {
+        DefaultSpanEventPool spanEventPool = new DefaultSpanEventPool(16, 1);
+        SpanThriftMessageConverter converter = new SpanThriftMessageConverter(APPLICATION_NAME, AGENT_ID, AGENT_START_TIME,
+                ServiceType.STAND_ALONE.getCode(), transactionIdEncoder, spanPostProcessor, spanEventPool);
+
+        final Span span = newSpan();
+        final SpanEvent spanEvent = spanEventPool.newSpanEvent();
+        spanEvent.setApiId(10);
+        final List<SpanEvent> spanEventList = spanEventPool.newSpanEventList(1);
+        spanEventList.add(spanEvent);
+        span.setSpanEventList(spanEventList);
+
+        TSpan tSpan = (TSpan) converter.toMessage(span);
+        Assert.assertEquals(10, tSpan.getSpanEventList().get(0).getApiId());
+        Assert.assertTrue(spanEvent.isReleased());
+        Assert.assertEquals(1, spanEventPool.getReleaseCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void buildTSpanEvent_released() {
+        DefaultSpanEventPool spanEventPool = new DefaultSpanEventPool(16, 1);
+        final SpanEvent spanEvent = spanEventPool.newSpanEvent();
+        spanEventPool.release(new DefaultSpanChunk(newSpan().getTraceRoot(), new ArrayList<SpanEvent>(Arrays.asList(spanEvent))));
 
-}
\ No newline at end of file
+        messageConverter.buildTSpanEvent(spanEvent);
+    }
+}
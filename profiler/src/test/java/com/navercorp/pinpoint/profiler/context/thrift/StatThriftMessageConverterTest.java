@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.thrift;
+
+import com.navercorp.pinpoint.profiler.metadata.CacheStats;
+import com.navercorp.pinpoint.profiler.monitor.metric.AgentStatMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.batch.BatchSizeMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.metadata.MetadataCacheMetricSnapshot;
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TBatchSizeHistogram;
+import com.navercorp.pinpoint.thrift.dto.TBatchSizeHistogramList;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCache;
+import com.navercorp.pinpoint.thrift.dto.TMetadataCacheList;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class StatThriftMessageConverterTest {
+
+    @Test
+    public void convertMetadataCache() throws Exception {
+        Map<String, CacheStats> cacheStats = new LinkedHashMap<String, CacheStats>();
+        cacheStats.put("sql", new CacheStats(10, 2, 1, 100, 4096));
+        cacheStats.put("api", new CacheStats(20, 3, 0, 50, 1024));
+
+        AgentStatMetricSnapshot agentStatMetricSnapshot = new AgentStatMetricSnapshot();
+        agentStatMetricSnapshot.setAgentId("agentId");
+        agentStatMetricSnapshot.setMetadataCache(new MetadataCacheMetricSnapshot(cacheStats));
+
+        StatThriftMessageConverter converter = new StatThriftMessageConverter();
+        TAgentStat agentStat = (TAgentStat) converter.toMessage(agentStatMetricSnapshot);
+
+        Assert.assertFalse(agentStat.isSetMetadata());
+        TMetadataCacheList metadataCacheList = agentStat.getMetadataCacheList();
+        Assert.assertEquals(2, metadataCacheList.getMetadataCacheListSize());
+
+        TMetadataCache sql = metadataCacheList.getMetadataCacheList().get(0);
+        Assert.assertEquals("sql", sql.getName());
+        Assert.assertEquals(10, sql.getHitCount());
+        Assert.assertEquals(2, sql.getMissCount());
+        Assert.assertEquals(1, sql.getEvictionCount());
+        Assert.assertEquals(100, sql.getSize());
+        Assert.assertEquals(4096, sql.getWeight());
+
+        // wire format
+        byte[] bytes = new TSerializer(new TCompactProtocol.Factory()).serialize(agentStat);
+        TAgentStat deserialized = new TAgentStat();
+        new TDeserializer(new TCompactProtocol.Factory()).deserialize(deserialized, bytes);
+        Assert.assertEquals(agentStat, deserialized);
+    }
+
+    @Test
+    public void convertBatchSize() {
+        Map<String, long[]> histograms = new LinkedHashMap<String, long[]>();
+        histograms.put("Pinpoint-UdpStatDataExecutor", new long[]{3, 0, 1});
+
+        AgentStatMetricSnapshot agentStatMetricSnapshot = new AgentStatMetricSnapshot();
+        agentStatMetricSnapshot.setAgentId("agentId");
+        agentStatMetricSnapshot.setBatchSize(new BatchSizeMetricSnapshot(histograms));
+
+        StatThriftMessageConverter converter = new StatThriftMessageConverter();
+        TAgentStat agentStat = (TAgentStat) converter.toMessage(agentStatMetricSnapshot);
+
+        TBatchSizeHistogramList batchSizeHistogramList = agentStat.getBatchSizeHistogramList();
+        Assert.assertEquals(1, batchSizeHistogramList.getBatchSizeHistogramListSize());
+        TBatchSizeHistogram batchSizeHistogram = batchSizeHistogramList.getBatchSizeHistogramList().get(0);
+        Assert.assertEquals("Pinpoint-UdpStatDataExecutor", batchSizeHistogram.getExecutorName());
+        Assert.assertEquals(Arrays.asList(3L, 0L, 1L), batchSizeHistogram.getHistogram());
+    }
+
+    @Test
+    public void convertBatchSize_empty() {
+        AgentStatMetricSnapshot agentStatMetricSnapshot = new AgentStatMetricSnapshot();
+        agentStatMetricSnapshot.setAgentId("agentId");
+        agentStatMetricSnapshot.setBatchSize(new BatchSizeMetricSnapshot(Collections.<String, long[]>emptyMap()));
+
+        StatThriftMessageConverter converter = new StatThriftMessageConverter();
+        TAgentStat agentStat = (TAgentStat) converter.toMessage(agentStatMetricSnapshot);
+
+        Assert.assertFalse(agentStat.isSetBatchSizeHistogramList());
+    }
+}
@@ -61,6 +61,26 @@ public class DefaultCachingSqlNormalizerTest {
         Assert.assertTrue(newCache_parsingResult1_recached);
     }
 
+    @Test
+    public void testNormalizedSql_parsingResultCache() throws Exception {
+        SimpleCache<String> cache = newCache(10);
+        DefaultCachingSqlNormalizer normalizer = new DefaultCachingSqlNormalizer(cache, 10, 0);
+        final String sql = "select * from table1 where id = 10 and name = 'pinpoint'";
+
+        ParsingResult parsingResult = normalizer.wrapSql(sql);
+        Assert.assertTrue(normalizer.normalizedSql(parsingResult));
+        Assert.assertEquals(0, normalizer.getParsingResultCacheStats().getHitCount());
+
+        ParsingResult cached = normalizer.wrapSql(sql);
+        Assert.assertFalse(normalizer.normalizedSql(cached));
+        Assert.assertEquals(1, normalizer.getParsingResultCacheStats().getHitCount());
+
+        Assert.assertEquals(parsingResult.getId(), cached.getId());
+        Assert.assertEquals("select * from table1 where id = 0# and name = '1$'", cached.getSql());
+        Assert.assertEquals(parsingResult.getOutput(), cached.getOutput());
+        Assert.assertEquals("10,pinpoint", cached.getOutput());
+    }
+
     private SimpleCache<String> newCache(int size) {
         return new SimpleCache<String>(new SimpleCache.ZigZagTransformer(), size);
     }
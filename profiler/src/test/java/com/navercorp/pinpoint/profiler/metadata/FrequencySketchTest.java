@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrequencySketchTest {
+
+    @Test
+    public void increment() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        final int hash = TinyLfuCache.spread("test".hashCode());
+        Assert.assertEquals(0, sketch.frequency(hash));
+        sketch.increment(hash);
+        sketch.increment(hash);
+        Assert.assertEquals(2, sketch.frequency(hash));
+    }
+
+    @Test
+    public void saturate() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        final int hash = TinyLfuCache.spread("test".hashCode());
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(hash);
+        }
+        Assert.assertEquals(15, sketch.frequency(hash));
+    }
+
+    @Test
+    public void reset() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        final int hash = TinyLfuCache.spread("test".hashCode());
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(hash);
+        }
+        sketch.reset();
+        Assert.assertEquals(4, sketch.frequency(hash));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TinyLfuCacheTest {
+
+    @Test
+    public void putIfAbsent() {
+        TinyLfuCache<String, Integer> cache = newCache(16, 0);
+        Assert.assertNull(cache.get("a"));
+        Assert.assertNull(cache.putIfAbsent("a", 1));
+        Assert.assertEquals(Integer.valueOf(1), cache.putIfAbsent("a", 2));
+        Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+
+        CacheStats stats = cache.stats();
+        Assert.assertEquals(1, stats.getHitCount());
+        Assert.assertEquals(1, stats.getMissCount());
+        Assert.assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void maxSize() {
+        TinyLfuCache<String, Integer> cache = newCache(100, 0);
+        for (int i = 0; i < 1000; i++) {
+            final String key = "key" + i;
+            if (cache.get(key) == null) {
+                cache.putIfAbsent(key, i);
+            }
+        }
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(900, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    public void frequentKeySurvivesScan() {
+        TinyLfuCache<String, Integer> cache = newCache(64, 0);
+        int hotHit = 0;
+        int hotAccess = 0;
+        for (int i = 0; i < 20000; i++) {
+            // the reuse distance of the hot keys (32 hot + 64 one-hit wonders) exceeds the cache size.
+            // LRU would never hit
+            final boolean hit = access(cache, "hot" + (i % 32));
+            access(cache, "scan" + (2 * i));
+            access(cache, "scan" + (2 * i + 1));
+            if (i >= 1000) {
+                hotAccess++;
+                if (hit) {
+                    hotHit++;
+                }
+            }
+        }
+        final double hotHitRatio = (double) hotHit / hotAccess;
+        Assert.assertTrue("hotHitRatio:" + hotHitRatio, hotHitRatio > 0.9);
+    }
+
+    @Test
+    public void maxWeight() {
+        final int maxWeight = 10 * 1024;
+        TinyLfuCache<String, Integer> cache = newCache(1000, maxWeight);
+        final String longSql = newString(1000);
+        for (int i = 0; i < 100; i++) {
+            access(cache, longSql + i);
+        }
+        Assert.assertTrue("weight:" + cache.weight(), cache.weight() <= maxWeight);
+        Assert.assertTrue(cache.size() < 100);
+
+        final long expectedWeight = cache.size() * (long) StringLengthWeigher.INSTANCE.weigh(longSql + 0);
+        Assert.assertEquals(expectedWeight, cache.weight());
+    }
+
+    @Test
+    public void entryLargerThanMaxWeight() {
+        TinyLfuCache<String, Integer> cache = newCache(10, 100);
+        Assert.assertNull(cache.putIfAbsent(newString(1000), 1));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.weight());
+    }
+
+    @Test
+    public void segmentCount() {
+        Assert.assertEquals(1, TinyLfuCache.segmentCount(2, 64));
+        Assert.assertEquals(2, TinyLfuCache.segmentCount(100, 64));
+        Assert.assertEquals(32, TinyLfuCache.segmentCount(1024, 64));
+        Assert.assertEquals(4, TinyLfuCache.segmentCount(1024, 4));
+        Assert.assertEquals(TinyLfuCache.MAX_SEGMENTS, TinyLfuCache.segmentCount(1024 * 1024, 1024));
+    }
+
+    private boolean access(TinyLfuCache<String, Integer> cache, String key) {
+        if (cache.get(key) != null) {
+            return true;
+        }
+        cache.putIfAbsent(key, 0);
+        return false;
+    }
+
+    private TinyLfuCache<String, Integer> newCache(int maxSize, long maxWeight) {
+        return new TinyLfuCache<String, Integer>(maxSize, maxWeight, StringLengthWeigher.INSTANCE, 64);
+    }
+
+    private String newString(int length) {
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append('a');
+        }
+        return sb.toString();
+    }
+}
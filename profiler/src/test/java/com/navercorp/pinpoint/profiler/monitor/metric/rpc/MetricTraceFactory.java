@@ -72,6 +72,11 @@ public class MetricTraceFactory implements TraceFactory {
         return delegate.newAsyncTraceObject();
     }
 
+    @Override
+    public Trace newAsyncTraceObject(String urlPath) {
+        return delegate.newAsyncTraceObject(urlPath);
+    }
+
     @Override
     public Trace continueAsyncTraceObject(TraceId traceId) {
         return delegate.continueAsyncTraceObject(traceId);
@@ -83,6 +88,11 @@ public class MetricTraceFactory implements TraceFactory {
         return delegate.newTraceObject();
     }
 
+    @Override
+    public Trace newTraceObject(String urlPath) {
+        return delegate.newTraceObject(urlPath);
+    }
+
     @Override
     public Trace removeTraceObject() {
         final Trace trace = delegate.removeTraceObject();
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.DefaultActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ReuseResponseTimeCollector;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveSamplerTest {
+
+    private static final long NO_AUTO_ADJUST = TimeUnit.HOURS.toMillis(1);
+
+    private final ResponseTimeCollector responseTimeCollector = new ReuseResponseTimeCollector();
+    private final ActiveTraceRepository activeTraceRepository = new DefaultActiveTraceRepository(responseTimeCollector);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void underBudget() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 0, NO_AUTO_ADJUST, activeTraceRepository, responseTimeCollector);
+
+        final long startTime = System.currentTimeMillis();
+        Assert.assertEquals(50, sampling(sampler, 50));
+        sampler.adjust(startTime + 1000);
+
+        Assert.assertEquals(1.0, sampler.getProbability(), 0.0001);
+        Assert.assertEquals(50, sampling(sampler, 50));
+    }
+
+    @Test
+    public void overBudget() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 0, NO_AUTO_ADJUST, activeTraceRepository, responseTimeCollector);
+
+        final long startTime = System.currentTimeMillis();
+        sampling(sampler, 1000);
+        sampler.adjust(startTime + 1000);
+        Assert.assertEquals(0.1, sampler.getProbability(), 0.01);
+
+        final int sampled = sampling(sampler, 1000);
+        Assert.assertEquals(100, sampled, 2);
+    }
+
+    @Test
+    public void boost_slowActiveTrace() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 4, NO_AUTO_ADJUST, activeTraceRepository, responseTimeCollector);
+
+        final long currentTime = System.currentTimeMillis();
+        // very slow active trace
+        activeTraceRepository.register(1, currentTime - TimeUnit.SECONDS.toMillis(30), 1);
+
+        final long startTime = System.currentTimeMillis();
+        sampling(sampler, 1000);
+        sampler.adjust(startTime + 1000);
+        // 0.1 * (1 + 4 * 1.0)
+        Assert.assertEquals(0.5, sampler.getProbability(), 0.01);
+    }
+
+    @Test
+    public void boost_responseTimeDegradation() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 4, NO_AUTO_ADJUST, activeTraceRepository, responseTimeCollector);
+
+        final long startTime = System.currentTimeMillis();
+        responseTimeCollector.add(100);
+        sampling(sampler, 1000);
+        sampler.adjust(startTime + 1000);
+        Assert.assertEquals(0.1, sampler.getProbability(), 0.01);
+
+        responseTimeCollector.resetAndGetValue();
+        // 2x slower
+        responseTimeCollector.add(200);
+        sampling(sampler, 1000);
+        sampler.adjust(startTime + 2000);
+        Assert.assertEquals(0.5, sampler.getProbability(), 0.01);
+    }
+
+    @Test
+    public void targetThroughput() {
+        AdaptiveSampler sampler = new AdaptiveSampler(500, 0, NO_AUTO_ADJUST, activeTraceRepository, responseTimeCollector);
+
+        final long startTime = System.currentTimeMillis();
+        sampling(sampler, 1000);
+        sampler.adjust(startTime + 1000);
+
+        Assert.assertEquals(0.5, sampler.getProbability(), 0.01);
+    }
+
+    @Test
+    public void rareUrl() {
+        AdaptiveSampler sampler = new AdaptiveSampler(1, 0, NO_AUTO_ADJUST, activeTraceRepository, responseTimeCollector);
+
+        final long startTime = System.currentTimeMillis();
+        sampling(sampler, 1000);
+        sampler.adjust(startTime + 1000);
+        Assert.assertEquals(0.001, sampler.getProbability(), 0.0001);
+
+        // not sampled within the url window
+        Assert.assertTrue(sampler.isSampling("/rare"));
+        Assert.assertEquals(0, sampling(sampler, "/rare", 10));
+        Assert.assertTrue(sampler.isSampling("/other"));
+    }
+
+    @Test
+    public void errorUrl() {
+        AdaptiveSampler sampler = new AdaptiveSampler(1, 4, NO_AUTO_ADJUST, activeTraceRepository, responseTimeCollector);
+
+        final long startTime = System.currentTimeMillis();
+        sampling(sampler, 1000);
+        sampler.adjust(startTime + 1000);
+
+        sampler.onError("/error");
+        final int errorSampled = sampling(sampler, "/error", 1000);
+        final int okSampled = sampling(sampler, "/ok", 1000);
+        // rare url + 0.001 * (1 + 4)
+        Assert.assertTrue("errorSampled:" + errorSampled, errorSampled >= 5);
+        Assert.assertTrue("okSampled:" + okSampled, okSampled <= 2);
+    }
+
+    @Test
+    public void reloadSettings() throws IOException {
+        File settingsFile = temporaryFolder.newFile("adaptive-sampler.properties");
+        write(settingsFile, AdaptiveSamplerSettingsLoader.TARGET_THROUGHPUT + "=500\n");
+
+        AdaptiveSamplerSettingsLoader loader = new AdaptiveSamplerSettingsLoader(settingsFile.getPath(), 1, new AdaptiveSamplerSettings(100, 4));
+        AdaptiveSampler sampler = new AdaptiveSampler(loader.load(), loader, NO_AUTO_ADJUST, AdaptiveSampler.DEFAULT_URL_WINDOW_MILLIS,
+                AdaptiveSampler.DEFAULT_MAX_URL_SIZE, activeTraceRepository, responseTimeCollector);
+        Assert.assertEquals(500, sampler.getTargetThroughput());
+        Assert.assertEquals(4, sampler.getMaxBoostRatio());
+
+        write(settingsFile, AdaptiveSamplerSettingsLoader.TARGET_THROUGHPUT + "=50\n" + AdaptiveSamplerSettingsLoader.BOOST_RATIO + "=invalid\n");
+        Assert.assertTrue(settingsFile.setLastModified(settingsFile.lastModified() + 2000));
+
+        final long startTime = System.currentTimeMillis();
+        sampling(sampler, 1000);
+        sampler.adjust(startTime + 1000);
+        Assert.assertEquals(50, sampler.getTargetThroughput());
+        Assert.assertEquals(4, sampler.getMaxBoostRatio());
+        Assert.assertEquals(0.05, sampler.getProbability(), 0.01);
+    }
+
+    private void write(File file, String contents) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(contents.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private int sampling(AdaptiveSampler sampler, String urlPath, int count) {
+        int sampled = 0;
+        for (int i = 0; i < count; i++) {
+            if (sampler.isSampling(urlPath)) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+
+    private int sampling(AdaptiveSampler sampler, int count) {
+        int sampled = 0;
+        for (int i = 0; i < count; i++) {
+            if (sampler.isSampling()) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+}
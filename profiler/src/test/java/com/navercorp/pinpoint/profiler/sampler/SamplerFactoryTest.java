@@ -17,6 +17,10 @@
 package com.navercorp.pinpoint.profiler.sampler;
 
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.DefaultActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ReuseResponseTimeCollector;
 
 import org.junit.Assert;
 
@@ -41,4 +45,17 @@ public class SamplerFactoryTest {
         boolean sampling = sampler.isSampling();
         Assert.assertFalse(sampling);
     }
+
+    @Test
+    public void createAdaptiveSampler() {
+        SamplerFactory samplerFactory = new SamplerFactory();
+        ResponseTimeCollector responseTimeCollector = new ReuseResponseTimeCollector();
+        ActiveTraceRepository activeTraceRepository = new DefaultActiveTraceRepository(responseTimeCollector);
+
+        Sampler sampler = samplerFactory.createAdaptiveSampler(true, 10, 4, 1000, activeTraceRepository, responseTimeCollector);
+        Assert.assertTrue(sampler instanceof AdaptiveSampler);
+
+        Sampler disabled = samplerFactory.createAdaptiveSampler(false, 10, 4, 1000, activeTraceRepository, responseTimeCollector);
+        Assert.assertFalse(disabled.isSampling());
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SamplingRuleTableTest {
+
+    @Test
+    public void parse() {
+        SamplingRuleTable table = SamplingRuleTable.parse("/health=0, /static/**=0, regex:/api/v[0-9]+/orders/.*=10, /*=1");
+        Assert.assertEquals(4, table.size());
+
+        Assert.assertEquals(0, table.match("/health").getSamplingRate());
+        Assert.assertEquals("/static/**", table.match("/static/js/app.js").getPattern());
+        Assert.assertEquals(10, table.match("/api/v2/orders/1").getSamplingRate());
+        Assert.assertEquals("/*", table.match("/index").getPattern());
+        Assert.assertNull(table.match("/api/v2/users/1"));
+        Assert.assertNull(table.match(null));
+    }
+
+    @Test
+    public void parse_invalidRule() {
+        SamplingRuleTable table = SamplingRuleTable.parse("/health, /a=abc, regex:[=1, /b=5");
+        Assert.assertEquals(1, table.size());
+        Assert.assertEquals(5, table.match("/b").getSamplingRate());
+    }
+
+    @Test
+    public void parse_empty() {
+        Assert.assertSame(SamplingRuleTable.EMPTY, SamplingRuleTable.parse(""));
+        Assert.assertSame(SamplingRuleTable.EMPTY, SamplingRuleTable.parse(null));
+        Assert.assertNull(SamplingRuleTable.EMPTY.match("/"));
+    }
+
+    @Test
+    public void firstMatchWins() {
+        SamplingRuleTable table = SamplingRuleTable.parse("/api/**=0, /api/orders/**=1");
+        Assert.assertEquals(0, table.match("/api/orders/1").getSamplingRate());
+    }
+
+    @Test
+    public void exactMatchPriority() {
+        SamplingRuleTable table = SamplingRuleTable.parse("/api/**=0, /api/orders=1");
+        Assert.assertEquals(1, table.match("/api/orders").getSamplingRate());
+    }
+
+    @Test
+    public void hotUrlCache() {
+        SamplingRuleTable table = SamplingRuleTable.parse("/static/**=0", 2);
+
+        SamplingRule rule = table.match("/static/a.js");
+        Assert.assertSame(rule, table.match("/static/a.js"));
+        Assert.assertNull(table.match("/api"));
+        Assert.assertNull(table.match("/api"));
+        // cache is full. still matched
+        Assert.assertSame(rule, table.match("/static/b.js"));
+    }
+
+    @Test
+    public void samplingRate() {
+        SamplingRuleTable table = SamplingRuleTable.parse("/a=0, /b=1, /c=2");
+
+        SamplingRule never = table.match("/a");
+        SamplingRule always = table.match("/b");
+        SamplingRule half = table.match("/c");
+        int sampled = 0;
+        for (int i = 0; i < 10; i++) {
+            Assert.assertFalse(never.isSampling());
+            Assert.assertTrue(always.isSampling());
+            if (half.isSampling()) {
+                sampled++;
+            }
+        }
+        Assert.assertEquals(5, sampled);
+    }
+}
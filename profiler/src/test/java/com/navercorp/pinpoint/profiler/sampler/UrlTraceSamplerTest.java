@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
+import com.navercorp.pinpoint.profiler.context.id.AtomicIdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class UrlTraceSamplerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final IdGenerator idGenerator = new AtomicIdGenerator();
+    private final TraceSampler defaultTraceSampler = new BasicTraceSampler(idGenerator, new TrueSampler());
+
+    @Test
+    public void isNewSampled() {
+        SamplingRuleTable table = SamplingRuleTable.parse("/health=0, /static/**=0");
+        UrlTraceSampler sampler = new UrlTraceSampler(idGenerator, defaultTraceSampler, table);
+
+        Assert.assertFalse(sampler.isNewSampled("/health").isSampled());
+        Assert.assertFalse(sampler.isNewSampled("/static/a.css").isSampled());
+        // default sampler
+        Assert.assertTrue(sampler.isNewSampled("/order").isSampled());
+        Assert.assertTrue(sampler.isNewSampled(null).isSampled());
+        Assert.assertTrue(sampler.isNewSampled().isSampled());
+    }
+
+    @Test
+    public void ruleOverridesDefaultRate() {
+        TraceSampler falseTraceSampler = new BasicTraceSampler(idGenerator, new FalseSampler());
+        SamplingRuleTable table = SamplingRuleTable.parse("/important=1");
+        UrlTraceSampler sampler = new UrlTraceSampler(idGenerator, falseTraceSampler, table);
+
+        Assert.assertTrue(sampler.isNewSampled("/important").isSampled());
+        Assert.assertFalse(sampler.isNewSampled("/other").isSampled());
+    }
+
+    @Test
+    public void urlPathSampler() {
+        final List<String> errors = new ArrayList<String>();
+        UrlPathSampler urlPathSampler = new UrlPathSampler() {
+            @Override
+            public boolean isSampling(String urlPath) {
+                return "/order".equals(urlPath);
+            }
+
+            @Override
+            public void onError(String urlPath) {
+                errors.add(urlPath);
+            }
+
+            @Override
+            public boolean isSampling() {
+                return false;
+            }
+        };
+        SamplingRuleTable table = SamplingRuleTable.parse("/health=0");
+        UrlTraceSampler sampler = new UrlTraceSampler(idGenerator, new BasicTraceSampler(idGenerator, urlPathSampler), table);
+
+        Assert.assertTrue(sampler.isNewSampled("/order").isSampled());
+        Assert.assertFalse(sampler.isNewSampled("/other").isSampled());
+        Assert.assertFalse(sampler.isNewSampled().isSampled());
+
+        sampler.onError("/order");
+        Assert.assertEquals(Collections.singletonList("/order"), errors);
+    }
+
+    @Test
+    public void setSamplingRuleTable() {
+        UrlTraceSampler sampler = new UrlTraceSampler(idGenerator, defaultTraceSampler, SamplingRuleTable.EMPTY);
+        Assert.assertTrue(sampler.isNewSampled("/health").isSampled());
+
+        sampler.setSamplingRuleTable(SamplingRuleTable.parse("/health=0"));
+        Assert.assertFalse(sampler.isNewSampled("/health").isSampled());
+    }
+
+    @Test
+    public void reloadRuleFile() throws IOException {
+        File ruleFile = temporaryFolder.newFile("sampling-rule.txt");
+        write(ruleFile, "# comment\n/health=0\n");
+
+        SamplingRuleFileLoader loader = new SamplingRuleFileLoader(ruleFile.getPath(), 1, 16);
+        UrlTraceSampler sampler = new UrlTraceSampler(idGenerator, defaultTraceSampler, loader.load(), loader);
+        Assert.assertFalse(sampler.isNewSampled("/health").isSampled());
+
+        write(ruleFile, "/static/**=0\n");
+        Assert.assertTrue(ruleFile.setLastModified(ruleFile.lastModified() + 2000));
+        sleep(5);
+
+        Assert.assertTrue(sampler.isNewSampled("/health").isSampled());
+        Assert.assertFalse(sampler.isNewSampled("/static/a.js").isSampled());
+    }
+
+    private void write(File file, String contents) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(contents.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
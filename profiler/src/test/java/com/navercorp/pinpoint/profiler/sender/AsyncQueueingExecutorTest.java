@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncQueueingExecutorTest {
+
+    @Test
+    public void execute_ringBuffer() throws InterruptedException {
+        AsyncQueueingExecutorFactory factory = AsyncQueueingExecutorFactory.of("ring_buffer", "yield");
+        Assert.assertEquals(AsyncQueueType.RING_BUFFER, factory.getQueueType());
+        Assert.assertEquals(WaitStrategy.YIELD, factory.getWaitStrategy());
+
+        final CountDownLatch latch = new CountDownLatch(100);
+        AsyncQueueingExecutor<Object> executor = factory.newExecutor(1024, "test-executor", new CountDownListener(latch));
+        try {
+            for (int i = 0; i < 100; i++) {
+                Assert.assertTrue(executor.execute(i));
+            }
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.stop();
+        }
+        Assert.assertEquals(0, executor.getDropCount());
+    }
+
+    @Test
+    public void queueFull() throws InterruptedException {
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        AsyncQueueingExecutorListener<Object> blockingListener = new DefaultAsyncQueueingExecutorListener() {
+            @Override
+            public void execute(Object message) {
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        AsyncQueue<Object> queue = new MpscRingBufferQueue<Object>(1, WaitStrategy.PARK);
+        AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queue, "test-executor", blockingListener);
+        try {
+            int rejected = 0;
+            for (int i = 0; i < 10; i++) {
+                if (!executor.execute(i)) {
+                    rejected++;
+                }
+            }
+            Assert.assertTrue(rejected > 0);
+            Assert.assertEquals(rejected, executor.getQueueFullCount());
+            Assert.assertEquals(rejected, executor.getDropCount());
+        } finally {
+            blockLatch.countDown();
+            executor.stop();
+        }
+
+        Assert.assertFalse(executor.execute("stopped"));
+        Assert.assertEquals(executor.getQueueFullCount() + 1, executor.getDropCount());
+    }
+
+    @Test
+    public void linger() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(30);
+        final BatchRecordListener listener = new BatchRecordListener(latch);
+        DrainPolicy drainPolicy = new DrainPolicy(10, 100, 1000);
+        AsyncQueue<Object> queue = new LinkedAsyncQueue<Object>(1024);
+        AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queue, drainPolicy, "test-executor", listener);
+        try {
+            for (int i = 0; i < 30; i++) {
+                Assert.assertTrue(executor.execute(i));
+            }
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.stop();
+        }
+        // linger merges the single polled data with the following data
+        Assert.assertEquals(0, listener.singleCount);
+        Assert.assertTrue(listener.maxBatchSize >= 10);
+        Assert.assertEquals(executor.getBatchSizeHistogram().getCount(), listener.batchCount);
+    }
+
+    @Test
+    public void drainPolicy() {
+        DrainPolicy drainPolicy = new DrainPolicy(10, 100, 0);
+        Assert.assertFalse(drainPolicy.isLinger());
+        Assert.assertEquals(10, drainPolicy.getDrainSize(0));
+        Assert.assertEquals(50, drainPolicy.getDrainSize(50));
+        Assert.assertEquals(100, drainPolicy.getDrainSize(5000));
+
+        DrainPolicy fixed = DrainPolicy.of(0, -1, -1);
+        Assert.assertEquals(1, fixed.getMinDrainSize());
+        Assert.assertEquals(1, fixed.getMaxDrainSize());
+        Assert.assertEquals(0, fixed.getLingerTimeMillis());
+    }
+
+    @Test
+    public void defaultFactory() {
+        AsyncQueueingExecutorFactory factory = AsyncQueueingExecutorFactory.of(null, "unknown");
+        Assert.assertEquals(AsyncQueueType.LINKED, factory.getQueueType());
+        Assert.assertEquals(WaitStrategy.PARK, factory.getWaitStrategy());
+        Assert.assertTrue(factory.newQueue(10) instanceof LinkedAsyncQueue);
+    }
+
+    @Test
+    public void registerBatchSizeHistogram() {
+        BatchSizeHistogramRegistry histogramRegistry = new BatchSizeHistogramRegistry();
+        AsyncQueueingExecutorFactory factory = AsyncQueueingExecutorFactory.of("linked", "park", DrainPolicy.DEFAULT, histogramRegistry);
+
+        AsyncQueueingExecutor<Object> executor = factory.newExecutor(10, "test-executor", new CountDownListener(new CountDownLatch(0)));
+        try {
+            Assert.assertSame(executor.getBatchSizeHistogram(), histogramRegistry.getHistograms().get("test-executor"));
+        } finally {
+            executor.stop();
+        }
+    }
+
+    private static class BatchRecordListener implements AsyncQueueingExecutorListener<Object> {
+        private final CountDownLatch latch;
+        private volatile int singleCount;
+        private volatile int maxBatchSize;
+        private volatile int batchCount;
+
+        private BatchRecordListener(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void execute(Collection<Object> messageList) {
+            final int size = messageList.size();
+            batchCount++;
+            maxBatchSize = Math.max(maxBatchSize, size);
+            for (int i = 0; i < size; i++) {
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void execute(Object message) {
+            singleCount++;
+            batchCount++;
+            latch.countDown();
+        }
+    }
+
+    private static class CountDownListener implements AsyncQueueingExecutorListener<Object> {
+        private final CountDownLatch latch;
+
+        private CountDownListener(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void execute(Collection<Object> messageList) {
+            for (int i = 0; i < messageList.size(); i++) {
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void execute(Object message) {
+            latch.countDown();
+        }
+    }
+}
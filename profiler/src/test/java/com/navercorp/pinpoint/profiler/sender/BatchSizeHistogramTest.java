@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchSizeHistogramTest {
+
+    @Test
+    public void bucketIndex() {
+        Assert.assertEquals(0, BatchSizeHistogram.bucketIndex(1));
+        Assert.assertEquals(1, BatchSizeHistogram.bucketIndex(2));
+        Assert.assertEquals(2, BatchSizeHistogram.bucketIndex(3));
+        Assert.assertEquals(2, BatchSizeHistogram.bucketIndex(4));
+        Assert.assertEquals(3, BatchSizeHistogram.bucketIndex(5));
+        Assert.assertEquals(10, BatchSizeHistogram.bucketIndex(1024));
+        Assert.assertEquals(11, BatchSizeHistogram.bucketIndex(1025));
+        Assert.assertEquals(11, BatchSizeHistogram.bucketIndex(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void record() {
+        BatchSizeHistogram histogram = new BatchSizeHistogram();
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(10);
+        histogram.record(16);
+        histogram.record(2000);
+
+        long[] snapshot = histogram.snapshot();
+        Assert.assertEquals(1, snapshot[0]);
+        Assert.assertEquals(2, snapshot[4]);
+        Assert.assertEquals(1, snapshot[11]);
+        Assert.assertEquals(4, histogram.getCount());
+        Assert.assertEquals("BatchSizeHistogram{<=1=1, <=16=2, >1024=1}", histogram.toString());
+    }
+}
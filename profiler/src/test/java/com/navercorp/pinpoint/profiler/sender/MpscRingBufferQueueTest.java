@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MpscRingBufferQueueTest {
+
+    @Test
+    public void offerAndPoll() throws InterruptedException {
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(3, WaitStrategy.PARK);
+        Assert.assertTrue(queue.isEmpty());
+
+        Assert.assertTrue(queue.offer(1));
+        Assert.assertTrue(queue.offer(2));
+        Assert.assertTrue(queue.offer(3));
+        // capacity is not rounded up to the buffer size
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(3, queue.size());
+
+        Assert.assertEquals(Integer.valueOf(1), queue.poll(1, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(queue.offer(4));
+
+        List<Integer> drain = new ArrayList<Integer>();
+        Assert.assertEquals(2, queue.drainTo(drain, 2));
+        Assert.assertEquals(Integer.valueOf(2), drain.get(0));
+        Assert.assertEquals(Integer.valueOf(3), drain.get(1));
+        Assert.assertEquals(Integer.valueOf(4), queue.poll(1, TimeUnit.MILLISECONDS));
+
+        Assert.assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void nextPowerOfTwo() {
+        Assert.assertEquals(1, MpscRingBufferQueue.nextPowerOfTwo(1));
+        Assert.assertEquals(4, MpscRingBufferQueue.nextPowerOfTwo(3));
+        Assert.assertEquals(8192, MpscRingBufferQueue.nextPowerOfTwo(5120));
+    }
+
+    @Test(expected = InterruptedException.class)
+    public void poll_interrupted() throws InterruptedException {
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(3, WaitStrategy.PARK);
+        Thread.currentThread().interrupt();
+        queue.poll(1000, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void multiProducer() throws InterruptedException {
+        multiProducer(WaitStrategy.PARK);
+        multiProducer(WaitStrategy.YIELD);
+        multiProducer(WaitStrategy.SPIN);
+    }
+
+    private void multiProducer(WaitStrategy waitStrategy) throws InterruptedException {
+        final int producerCount = 4;
+        final int perProducer = 10000;
+        final MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(128, waitStrategy);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger rejected = new AtomicInteger();
+
+        List<Thread> producers = new ArrayList<Thread>();
+        for (int i = 0; i < producerCount; i++) {
+            final int producerId = i;
+            Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < perProducer; j++) {
+                        final Integer value = producerId * perProducer + j;
+                        while (!queue.offer(value)) {
+                            rejected.incrementAndGet();
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        start.countDown();
+
+        final boolean[] received = new boolean[producerCount * perProducer];
+        final int[] lastValue = new int[producerCount];
+        Arrays.fill(lastValue, -1);
+        for (int i = 0; i < received.length; i++) {
+            Integer value = queue.poll(10, TimeUnit.SECONDS);
+            Assert.assertNotNull(value);
+            Assert.assertFalse("duplicated " + value, received[value]);
+            received[value] = true;
+
+            // FIFO per producer
+            final int producerId = value / perProducer;
+            Assert.assertTrue(lastValue[producerId] < value);
+            lastValue[producerId] = value;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import com.google.protobuf.GeneratedMessageV3;
+import com.navercorp.pinpoint.grpc.client.ChannelFactory;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
+import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.ClientCallStreamObserver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SpanGrpcDataSenderTest {
+
+    private ChannelFactory channelFactory;
+    private ReconnectExecutor reconnectExecutor;
+    private ExecutorService awaitExecutor;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ManagedChannel managedChannel = mock(ManagedChannel.class);
+        when(managedChannel.newCall(any(MethodDescriptor.class), any(CallOptions.class))).thenReturn(mock(ClientCall.class));
+
+        channelFactory = mock(ChannelFactory.class);
+        when(channelFactory.getFactoryName()).thenReturn("SpanGrpcDataSenderTest");
+        when(channelFactory.build("localhost", 9993)).thenReturn(managedChannel);
+
+        reconnectExecutor = mock(ReconnectExecutor.class);
+        when(reconnectExecutor.newReconnector(any(Runnable.class))).thenReturn(mock(Reconnector.class));
+
+        awaitExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        awaitExecutor.shutdownNow();
+    }
+
+    @Test
+    public void awaitReady_ready() {
+        SpanGrpcDataSender sender = newSpanGrpcDataSender(10);
+        ClientCallStreamObserver<PSpanMessage> stream = newStream(true);
+
+        Assert.assertTrue(sender.awaitReady(stream));
+        Assert.assertEquals(0, sender.getReadyWaitCount());
+        sender.stop();
+    }
+
+    @Test
+    public void awaitReady_timeout() {
+        SpanGrpcDataSender sender = newSpanGrpcDataSender(20);
+        ClientCallStreamObserver<PSpanMessage> stream = newStream(false);
+
+        final long startTime = System.nanoTime();
+        Assert.assertFalse(sender.awaitReady(stream));
+        final long elapsedTime = System.nanoTime() - startTime;
+
+        Assert.assertTrue("elapsedTime:" + elapsedTime, elapsedTime >= TimeUnit.MILLISECONDS.toNanos(20));
+        verify(stream, atLeast(2)).isReady();
+        Assert.assertEquals(1, sender.getReadyWaitCount());
+        Assert.assertEquals(1, sender.getReadyTimeoutCount());
+        sender.stop();
+    }
+
+    @Test
+    public void awaitReady_shutdown() throws Exception {
+        final SpanGrpcDataSender sender = newSpanGrpcDataSender(TimeUnit.MINUTES.toMillis(1));
+        final ClientCallStreamObserver<PSpanMessage> stream = newStream(false);
+
+        Future<Boolean> future = awaitExecutor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return sender.awaitReady(stream);
+            }
+        });
+        // the sender thread is parked on the not ready stream
+        while (sender.getReadyWaitCount() == 0) {
+            Thread.sleep(1);
+        }
+        sender.stop();
+
+        Assert.assertFalse(future.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, sender.getReadyWaitCount());
+        Assert.assertEquals(0, sender.getReadyTimeoutCount());
+    }
+
+    @Test
+    public void awaitReady_onReady() throws Exception {
+        final SpanGrpcDataSender sender = newSpanGrpcDataSender(TimeUnit.MINUTES.toMillis(1));
+        final AtomicBoolean ready = new AtomicBoolean(false);
+        final ClientCallStreamObserver<PSpanMessage> stream = newStream(ready);
+
+        Future<Boolean> future = awaitExecutor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return sender.awaitReady(stream);
+            }
+        });
+        while (sender.getReadyWaitCount() == 0) {
+            Thread.sleep(1);
+        }
+        ready.set(true);
+        sender.onReady();
+
+        Assert.assertTrue(future.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(0, sender.getReadyTimeoutCount());
+        sender.stop();
+    }
+
+    @Test
+    public void awaitReady_disabled() {
+        SpanGrpcDataSender sender = newSpanGrpcDataSender(0);
+        ClientCallStreamObserver<PSpanMessage> stream = newStream(false);
+
+        Assert.assertTrue(sender.awaitReady(stream));
+        Assert.assertEquals(0, sender.getReadyWaitCount());
+        sender.stop();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClientCallStreamObserver<PSpanMessage> newStream(final AtomicBoolean ready) {
+        ClientCallStreamObserver<PSpanMessage> stream = mock(ClientCallStreamObserver.class);
+        when(stream.isReady()).thenAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) {
+                return ready.get();
+            }
+        });
+        return stream;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClientCallStreamObserver<PSpanMessage> newStream(boolean ready) {
+        ClientCallStreamObserver<PSpanMessage> stream = mock(ClientCallStreamObserver.class);
+        when(stream.isReady()).thenReturn(ready);
+        return stream;
+    }
+
+    @SuppressWarnings("unchecked")
+    private SpanGrpcDataSender newSpanGrpcDataSender(long readyWaitMillis) {
+        MessageConverter<GeneratedMessageV3> messageConverter = mock(MessageConverter.class);
+        return new SpanGrpcDataSender("localhost", 9993, 10, messageConverter, reconnectExecutor, channelFactory, readyWaitMillis);
+    }
+}
@@ -24,6 +24,8 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final org.apache.thrift.protocol.TField DEADLOCK_FIELD_DESC = new org.apache.thrift.protocol.TField("deadlock", org.apache.thrift.protocol.TType.STRUCT, (short)70);
   private static final org.apache.thrift.protocol.TField FILE_DESCRIPTOR_FIELD_DESC = new org.apache.thrift.protocol.TField("fileDescriptor", org.apache.thrift.protocol.TType.STRUCT, (short)80);
   private static final org.apache.thrift.protocol.TField DIRECT_BUFFER_FIELD_DESC = new org.apache.thrift.protocol.TField("directBuffer", org.apache.thrift.protocol.TType.STRUCT, (short)90);
+  private static final org.apache.thrift.protocol.TField METADATA_CACHE_LIST_FIELD_DESC = new org.apache.thrift.protocol.TField("metadataCacheList", org.apache.thrift.protocol.TType.STRUCT, (short)100);
+  private static final org.apache.thrift.protocol.TField BATCH_SIZE_HISTOGRAM_LIST_FIELD_DESC = new org.apache.thrift.protocol.TField("batchSizeHistogramList", org.apache.thrift.protocol.TType.STRUCT, (short)110);
   private static final org.apache.thrift.protocol.TField METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("metadata", org.apache.thrift.protocol.TType.STRING, (short)200);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new TAgentStatStandardSchemeFactory();
@@ -42,6 +44,8 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private TDeadlock deadlock; // optional
   private TFileDescriptor fileDescriptor; // optional
   private TDirectBuffer directBuffer; // optional
+  private TMetadataCacheList metadataCacheList; // optional
+  private TBatchSizeHistogramList batchSizeHistogramList; // optional
   private java.lang.String metadata; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
@@ -59,6 +63,8 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     DEADLOCK((short)70, "deadlock"),
     FILE_DESCRIPTOR((short)80, "fileDescriptor"),
     DIRECT_BUFFER((short)90, "directBuffer"),
+    METADATA_CACHE_LIST((short)100, "metadataCacheList"),
+    BATCH_SIZE_HISTOGRAM_LIST((short)110, "batchSizeHistogramList"),
     METADATA((short)200, "metadata");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
@@ -100,6 +106,10 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           return FILE_DESCRIPTOR;
         case 90: // DIRECT_BUFFER
           return DIRECT_BUFFER;
+        case 100: // METADATA_CACHE_LIST
+          return METADATA_CACHE_LIST;
+        case 110: // BATCH_SIZE_HISTOGRAM_LIST
+          return BATCH_SIZE_HISTOGRAM_LIST;
         case 200: // METADATA
           return METADATA;
         default:
@@ -146,7 +156,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final int __TIMESTAMP_ISSET_ID = 1;
   private static final int __COLLECTINTERVAL_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.DATA_SOURCE_LIST,_Fields.RESPONSE_TIME,_Fields.DEADLOCK,_Fields.FILE_DESCRIPTOR,_Fields.DIRECT_BUFFER,_Fields.METADATA};
+  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.DATA_SOURCE_LIST,_Fields.RESPONSE_TIME,_Fields.DEADLOCK,_Fields.FILE_DESCRIPTOR,_Fields.DIRECT_BUFFER,_Fields.METADATA_CACHE_LIST,_Fields.BATCH_SIZE_HISTOGRAM_LIST,_Fields.METADATA};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -176,6 +186,10 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT        , "TFileDescriptor")));
     tmpMap.put(_Fields.DIRECT_BUFFER, new org.apache.thrift.meta_data.FieldMetaData("directBuffer", org.apache.thrift.TFieldRequirementType.OPTIONAL,
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TDirectBuffer.class)));
+    tmpMap.put(_Fields.METADATA_CACHE_LIST, new org.apache.thrift.meta_data.FieldMetaData("metadataCacheList", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TMetadataCacheList.class)));
+    tmpMap.put(_Fields.BATCH_SIZE_HISTOGRAM_LIST, new org.apache.thrift.meta_data.FieldMetaData("batchSizeHistogramList", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBatchSizeHistogramList.class)));
     tmpMap.put(_Fields.METADATA, new org.apache.thrift.meta_data.FieldMetaData("metadata", org.apache.thrift.TFieldRequirementType.OPTIONAL,
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
@@ -223,6 +237,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (other.isSetDirectBuffer()) {
       this.directBuffer = new TDirectBuffer(other.directBuffer);
     }
+    if (other.isSetMetadataCacheList()) {
+      this.metadataCacheList = new TMetadataCacheList(other.metadataCacheList);
+    }
+    if (other.isSetBatchSizeHistogramList()) {
+      this.batchSizeHistogramList = new TBatchSizeHistogramList(other.batchSizeHistogramList);
+    }
     if (other.isSetMetadata()) {
       this.metadata = other.metadata;
     }
@@ -250,6 +270,8 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     this.deadlock = null;
     this.fileDescriptor = null;
     this.directBuffer = null;
+    this.metadataCacheList = null;
+    this.batchSizeHistogramList = null;
     this.metadata = null;
   }
 
@@ -549,6 +571,52 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     }
   }
 
+  public TMetadataCacheList getMetadataCacheList() {
+    return this.metadataCacheList;
+  }
+
+  public void setMetadataCacheList(TMetadataCacheList metadataCacheList) {
+    this.metadataCacheList = metadataCacheList;
+  }
+
+  public void unsetMetadataCacheList() {
+    this.metadataCacheList = null;
+  }
+
+  /** Returns true if field metadataCacheList is set (has been assigned a value) and false otherwise */
+  public boolean isSetMetadataCacheList() {
+    return this.metadataCacheList != null;
+  }
+
+  public void setMetadataCacheListIsSet(boolean value) {
+    if (!value) {
+      this.metadataCacheList = null;
+    }
+  }
+
+  public TBatchSizeHistogramList getBatchSizeHistogramList() {
+    return this.batchSizeHistogramList;
+  }
+
+  public void setBatchSizeHistogramList(TBatchSizeHistogramList batchSizeHistogramList) {
+    this.batchSizeHistogramList = batchSizeHistogramList;
+  }
+
+  public void unsetBatchSizeHistogramList() {
+    this.batchSizeHistogramList = null;
+  }
+
+  /** Returns true if field batchSizeHistogramList is set (has been assigned a value) and false otherwise */
+  public boolean isSetBatchSizeHistogramList() {
+    return this.batchSizeHistogramList != null;
+  }
+
+  public void setBatchSizeHistogramListIsSet(boolean value) {
+    if (!value) {
+      this.batchSizeHistogramList = null;
+    }
+  }
+
   public java.lang.String getMetadata() {
     return this.metadata;
   }
@@ -678,6 +746,22 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       break;
 
+    case METADATA_CACHE_LIST:
+      if (value == null) {
+        unsetMetadataCacheList();
+      } else {
+        setMetadataCacheList((TMetadataCacheList)value);
+      }
+      break;
+
+    case BATCH_SIZE_HISTOGRAM_LIST:
+      if (value == null) {
+        unsetBatchSizeHistogramList();
+      } else {
+        setBatchSizeHistogramList((TBatchSizeHistogramList)value);
+      }
+      break;
+
     case METADATA:
       if (value == null) {
         unsetMetadata();
@@ -730,6 +814,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     case DIRECT_BUFFER:
       return getDirectBuffer();
 
+    case METADATA_CACHE_LIST:
+      return getMetadataCacheList();
+
+    case BATCH_SIZE_HISTOGRAM_LIST:
+      return getBatchSizeHistogramList();
+
     case METADATA:
       return getMetadata();
 
@@ -770,6 +860,10 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       return isSetFileDescriptor();
     case DIRECT_BUFFER:
       return isSetDirectBuffer();
+    case METADATA_CACHE_LIST:
+      return isSetMetadataCacheList();
+    case BATCH_SIZE_HISTOGRAM_LIST:
+      return isSetBatchSizeHistogramList();
     case METADATA:
       return isSetMetadata();
     }
@@ -908,6 +1002,24 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return false;
     }
 
+    boolean this_present_metadataCacheList = true && this.isSetMetadataCacheList();
+    boolean that_present_metadataCacheList = true && that.isSetMetadataCacheList();
+    if (this_present_metadataCacheList || that_present_metadataCacheList) {
+      if (!(this_present_metadataCacheList && that_present_metadataCacheList))
+        return false;
+      if (!this.metadataCacheList.equals(that.metadataCacheList))
+        return false;
+    }
+
+    boolean this_present_batchSizeHistogramList = true && this.isSetBatchSizeHistogramList();
+    boolean that_present_batchSizeHistogramList = true && that.isSetBatchSizeHistogramList();
+    if (this_present_batchSizeHistogramList || that_present_batchSizeHistogramList) {
+      if (!(this_present_batchSizeHistogramList && that_present_batchSizeHistogramList))
+        return false;
+      if (!this.batchSizeHistogramList.equals(that.batchSizeHistogramList))
+        return false;
+    }
+
     boolean this_present_metadata = true && this.isSetMetadata();
     boolean that_present_metadata = true && that.isSetMetadata();
     if (this_present_metadata || that_present_metadata) {
@@ -976,6 +1088,14 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (isSetDirectBuffer())
       hashCode = hashCode * 8191 + directBuffer.hashCode();
 
+    hashCode = hashCode * 8191 + ((isSetMetadataCacheList()) ? 131071 : 524287);
+    if (isSetMetadataCacheList())
+      hashCode = hashCode * 8191 + metadataCacheList.hashCode();
+
+    hashCode = hashCode * 8191 + ((isSetBatchSizeHistogramList()) ? 131071 : 524287);
+    if (isSetBatchSizeHistogramList())
+      hashCode = hashCode * 8191 + batchSizeHistogramList.hashCode();
+
     hashCode = hashCode * 8191 + ((isSetMetadata()) ? 131071 : 524287);
     if (isSetMetadata())
       hashCode = hashCode * 8191 + metadata.hashCode();
@@ -1121,6 +1241,26 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(isSetMetadataCacheList()).compareTo(other.isSetMetadataCacheList());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetMetadataCacheList()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.metadataCacheList, other.metadataCacheList);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(isSetBatchSizeHistogramList()).compareTo(other.isSetBatchSizeHistogramList());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetBatchSizeHistogramList()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.batchSizeHistogramList, other.batchSizeHistogramList);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     lastComparison = java.lang.Boolean.valueOf(isSetMetadata()).compareTo(other.isSetMetadata());
     if (lastComparison != 0) {
       return lastComparison;
@@ -1268,6 +1408,26 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       first = false;
     }
+    if (isSetMetadataCacheList()) {
+      if (!first) sb.append(", ");
+      sb.append("metadataCacheList:");
+      if (this.metadataCacheList == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.metadataCacheList);
+      }
+      first = false;
+    }
+    if (isSetBatchSizeHistogramList()) {
+      if (!first) sb.append(", ");
+      sb.append("batchSizeHistogramList:");
+      if (this.batchSizeHistogramList == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.batchSizeHistogramList);
+      }
+      first = false;
+    }
     if (isSetMetadata()) {
       if (!first) sb.append(", ");
       sb.append("metadata:");
@@ -1306,6 +1466,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (directBuffer != null) {
       directBuffer.validate();
     }
+    if (metadataCacheList != null) {
+      metadataCacheList.validate();
+    }
+    if (batchSizeHistogramList != null) {
+      batchSizeHistogramList.validate();
+    }
   }
 
   private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -1457,6 +1623,24 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 100: // METADATA_CACHE_LIST
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.metadataCacheList = new TMetadataCacheList();
+              struct.metadataCacheList.read(iprot);
+              struct.setMetadataCacheListIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 110: // BATCH_SIZE_HISTOGRAM_LIST
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.batchSizeHistogramList = new TBatchSizeHistogramList();
+              struct.batchSizeHistogramList.read(iprot);
+              struct.setBatchSizeHistogramListIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           case 200: // METADATA
             if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
               struct.metadata = iprot.readString();
@@ -1563,6 +1747,20 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           oprot.writeFieldEnd();
         }
       }
+      if (struct.metadataCacheList != null) {
+        if (struct.isSetMetadataCacheList()) {
+          oprot.writeFieldBegin(METADATA_CACHE_LIST_FIELD_DESC);
+          struct.metadataCacheList.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.batchSizeHistogramList != null) {
+        if (struct.isSetBatchSizeHistogramList()) {
+          oprot.writeFieldBegin(BATCH_SIZE_HISTOGRAM_LIST_FIELD_DESC);
+          struct.batchSizeHistogramList.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
       if (struct.metadata != null) {
         if (struct.isSetMetadata()) {
           oprot.writeFieldBegin(METADATA_FIELD_DESC);
@@ -1627,10 +1825,16 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetDirectBuffer()) {
         optionals.set(12);
       }
-      if (struct.isSetMetadata()) {
+      if (struct.isSetMetadataCacheList()) {
         optionals.set(13);
       }
-      oprot.writeBitSet(optionals, 14);
+      if (struct.isSetBatchSizeHistogramList()) {
+        optionals.set(14);
+      }
+      if (struct.isSetMetadata()) {
+        optionals.set(15);
+      }
+      oprot.writeBitSet(optionals, 16);
       if (struct.isSetAgentId()) {
         oprot.writeString(struct.agentId);
       }
@@ -1670,6 +1874,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetDirectBuffer()) {
         struct.directBuffer.write(oprot);
       }
+      if (struct.isSetMetadataCacheList()) {
+        struct.metadataCacheList.write(oprot);
+      }
+      if (struct.isSetBatchSizeHistogramList()) {
+        struct.batchSizeHistogramList.write(oprot);
+      }
       if (struct.isSetMetadata()) {
         oprot.writeString(struct.metadata);
       }
@@ -1678,7 +1888,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TAgentStat struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(14);
+      java.util.BitSet incoming = iprot.readBitSet(16);
       if (incoming.get(0)) {
         struct.agentId = iprot.readString();
         struct.setAgentIdIsSet(true);
@@ -1741,6 +1951,16 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         struct.setDirectBufferIsSet(true);
       }
       if (incoming.get(13)) {
+        struct.metadataCacheList = new TMetadataCacheList();
+        struct.metadataCacheList.read(iprot);
+        struct.setMetadataCacheListIsSet(true);
+      }
+      if (incoming.get(14)) {
+        struct.batchSizeHistogramList = new TBatchSizeHistogramList();
+        struct.batchSizeHistogramList.read(iprot);
+        struct.setBatchSizeHistogramListIsSet(true);
+      }
+      if (incoming.get(15)) {
         struct.metadata = iprot.readString();
         struct.setMetadataIsSet(true);
       }
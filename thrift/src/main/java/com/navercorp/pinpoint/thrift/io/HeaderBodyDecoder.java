@@ -0,0 +1,33 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.thrift.io;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TProtocol;
+
+/**
+ * Reads the message body directly from the protocol without building the intermediate {@link org.apache.thrift.TBase}.
+ * Bodies of unsupported types are read as TBase by {@link HeaderTBaseDeserializer}.
+ */
+public interface HeaderBodyDecoder {
+
+    boolean isSupport(short type);
+
+    Object decode(short type, TProtocol protocol) throws TException;
+
+}
@@ -60,9 +60,20 @@ public class HeaderTBaseDeserializer {
      * @param bytes   The array to read from
      */
     public Message<TBase<?, ?>> deserialize(byte[] bytes) throws TException {
+        return deserialize(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Deserialize the Thrift object from a region of the byte array without copying it.
+     *
+     * @param bytes   The array to read from
+     * @param offset  The offset of the message
+     * @param length  The length of the message
+     */
+    public Message<TBase<?, ?>> deserialize(byte[] bytes, int offset, int length) throws TException {
 
         try {
-            trans.reset(bytes, 0, bytes.length);
+            trans.reset(bytes, offset, length);
             return readInternal();
         } finally {
             trans.clear();
@@ -70,21 +81,61 @@ public class HeaderTBaseDeserializer {
         }
     }
 
+    /**
+     * Deserialize the message from a region of the byte array without copying it.
+     * The body is read by the bodyDecoder if the header type is supported, otherwise as a TBase.
+     *
+     * @param bytes   The array to read from
+     * @param offset  The offset of the message
+     * @param length  The length of the message
+     * @param bodyDecoder  The decoder that reads the body directly from the protocol
+     */
+    public Message<Object> deserialize(byte[] bytes, int offset, int length, HeaderBodyDecoder bodyDecoder) throws TException {
+        if (bodyDecoder == null) {
+            throw new NullPointerException("bodyDecoder");
+        }
+
+        try {
+            trans.reset(bytes, offset, length);
+
+            final HeaderReader reader = newHeaderReader();
+            final Header header = readHeader(reader);
+            final HeaderEntity headerEntity = readHeaderEntity(reader, header);
+            skipHeaderOffset(reader);
+
+            final short type = header.getType();
+            final Object body;
+            if (bodyDecoder.isSupport(type)) {
+                body = bodyDecoder.decode(type, protocol);
+            } else {
+                body = readBody(header);
+            }
+            return new DefaultMessage<Object>(header, headerEntity, body);
+        } finally {
+            trans.clear();
+            protocol.reset();
+        }
+    }
+
     private Message<TBase<?, ?>> readInternal() throws TException {
         final HeaderReader reader = newHeaderReader();
         final Header header = readHeader(reader);
         final HeaderEntity headerEntity = readHeaderEntity(reader, header);
         skipHeaderOffset(reader);
 
+        final TBase<?, ?> base = readBody(header);
+
+        return new DefaultMessage<TBase<?, ?>>(header, headerEntity, base);
+    }
 
+    private TBase<?, ?> readBody(Header header) throws TException {
         final TBase<?, ?> base = locator.bodyLookup(header.getType());
         if (base == null) {
             throw new TException("base must not be null type:" + header.getType());
         }
 
         base.read(protocol);
-
-        return new DefaultMessage<TBase<?, ?>>(header, headerEntity, base);
+        return base;
     }
 
     private void skipHeaderOffset(HeaderReader reader) {
@@ -68,6 +68,28 @@ struct TDirectBuffer {
     4: optional i64 mappedMemoryUsed
 }
 
+struct TMetadataCache {
+    1: optional string name
+    2: optional i64 hitCount
+    3: optional i64 missCount
+    4: optional i64 evictionCount
+    5: optional i64 size
+    6: optional i64 weight
+}
+
+struct TMetadataCacheList {
+    1: optional list<TMetadataCache> metadataCacheList
+}
+
+struct TBatchSizeHistogram {
+    1: optional string executorName
+    2: optional list<i64> histogram
+}
+
+struct TBatchSizeHistogramList {
+    1: optional list<TBatchSizeHistogram> batchSizeHistogramList
+}
+
 struct TJvmGcDetailed {
     1: optional i64 jvmGcNewCount
     2: optional i64 jvmGcNewTime
@@ -127,6 +149,8 @@ struct TAgentStat {
     70: optional TDeadlock deadlock
     80: optional TFileDescriptor fileDescriptor
     90: optional TDirectBuffer directBuffer
+    100: optional TMetadataCacheList metadataCacheList
+    110: optional TBatchSizeHistogramList batchSizeHistogramList
     200: optional string    metadata
 }
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.thrift.io;
+
+import com.navercorp.pinpoint.io.request.Message;
+import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TProtocol;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HeaderTBaseDeserializerTest {
+
+    private final HeaderTBaseSerializer serializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+    private final HeaderTBaseDeserializer deserializer = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+
+    @Test
+    public void deserializeOffset() throws TException {
+        TSpan span = newSpan("agentId");
+        byte[] packet = serializer.serialize(span);
+
+        final int offset = 7;
+        byte[] buffer = new byte[offset + packet.length + 13];
+        System.arraycopy(packet, 0, buffer, offset, packet.length);
+
+        Message<TBase<?, ?>> message = deserializer.deserialize(buffer, offset, packet.length);
+        Assert.assertEquals(span, message.getData());
+        Assert.assertEquals(DefaultTBaseLocator.SPAN, message.getHeader().getType());
+    }
+
+    @Test
+    public void deserializeBodyDecoder() throws TException {
+        byte[] packet = serializer.serialize(newSpan("agentId"));
+
+        Message<Object> message = deserializer.deserialize(packet, 0, packet.length, new AgentIdDecoder());
+        Assert.assertEquals("agentId", message.getData());
+        Assert.assertEquals(DefaultTBaseLocator.SPAN, message.getHeader().getType());
+    }
+
+    @Test
+    public void deserializeBodyDecoder_unsupportedType() throws TException {
+        TAgentInfo agentInfo = new TAgentInfo();
+        agentInfo.setAgentId("agentId");
+        agentInfo.setHostname("hostname");
+        byte[] packet = serializer.serialize(agentInfo);
+
+        Message<Object> message = deserializer.deserialize(packet, 0, packet.length, new AgentIdDecoder());
+        Assert.assertEquals(agentInfo, message.getData());
+    }
+
+    private TSpan newSpan(String agentId) {
+        TSpan span = new TSpan();
+        span.setAgentId(agentId);
+        span.setApplicationName("applicationName");
+        span.setSpanId(10);
+        span.setStartTime(System.currentTimeMillis());
+        return span;
+    }
+
+    private static class AgentIdDecoder implements HeaderBodyDecoder {
+        @Override
+        public boolean isSupport(short type) {
+            return type == DefaultTBaseLocator.SPAN;
+        }
+
+        @Override
+        public Object decode(short type, TProtocol protocol) throws TException {
+            TSpan span = new TSpan();
+            span.read(protocol);
+            return span.getAgentId();
+        }
+    }
+}
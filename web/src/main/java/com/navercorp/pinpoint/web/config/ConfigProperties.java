@@ -51,6 +51,9 @@ public class ConfigProperties {
     @Value("${config.enable.serverMapRealTime:false}")
     private boolean enableServerMapRealTime;
 
+    @Value("${config.enable.scatterHeatmap:false}")
+    private boolean enableScatterHeatmap;
+
     @Value("${config.openSource:true}")
     private boolean openSource;
 
@@ -94,6 +97,10 @@ public class ConfigProperties {
         return enableServerMapRealTime;
     }
 
+    public boolean isEnableScatterHeatmap() {
+        return enableScatterHeatmap;
+    }
+
     public boolean isOpenSource() {
         return this.openSource;
     }
@@ -126,6 +133,7 @@ public class ConfigProperties {
         sb.append(", showActiveThreadDump=").append(showActiveThreadDump);
         sb.append(", enableActiveThreadDump=").append(enableActiveThreadDump);
         sb.append(", enableServerMapRealTime=").append(enableServerMapRealTime);
+        sb.append(", enableScatterHeatmap=").append(enableScatterHeatmap);
         sb.append(", openSource=").append(openSource);
         sb.append(", securityGuideUrl='").append(securityGuideUrl).append('\'');
         sb.append(", showApplicationStat=").append(showApplicationStat);
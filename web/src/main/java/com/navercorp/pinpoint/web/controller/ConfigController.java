@@ -57,6 +57,7 @@ public class ConfigController {
         result.put("showActiveThread", webProperties.isShowActiveThread());
         result.put("showActiveThreadDump", webProperties.isShowActiveThreadDump());
         result.put("enableServerMapRealTime", webProperties.isEnableServerMapRealTime());
+        result.put("enableScatterHeatmap", webProperties.isEnableScatterHeatmap());
         result.put("showApplicationStat", webProperties.isShowApplicationStat());
         result.put("showStackTraceOnError", webProperties.isShowStackTraceOnError());
         result.put("openSource", webProperties.isOpenSource());
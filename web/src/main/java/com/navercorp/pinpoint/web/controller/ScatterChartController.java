@@ -21,9 +21,11 @@ import com.navercorp.pinpoint.common.util.DateUtils;
 import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.common.profiler.util.TransactionIdComparator;
 import com.navercorp.pinpoint.common.profiler.util.TransactionIdUtils;
+import com.navercorp.pinpoint.web.config.ConfigProperties;
 import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.filter.FilterBuilder;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
+import com.navercorp.pinpoint.web.scatter.ScatterHeatmap;
 import com.navercorp.pinpoint.web.service.FilteredMapService;
 import com.navercorp.pinpoint.web.service.ScatterChartService;
 import com.navercorp.pinpoint.web.util.LimitUtils;
@@ -70,6 +72,9 @@ public class ScatterChartController {
     @Autowired
     private FilterBuilder<SpanBo> filterBuilder;
 
+    @Autowired
+    private ConfigProperties webProperties;
+
     private static final String PREFIX_TRANSACTION_ID = "I";
     private static final String PREFIX_TIME = "T";
     private static final String PREFIX_RESPONSE_TIME = "R";
@@ -199,6 +204,10 @@ public class ScatterChartController {
             boolean requestComplete = scatterData.getDotSize() < limit;
 
             mv = createScatterDataV1(scatterData, requestComplete);
+        } else if (version == 2 && webProperties.isEnableScatterHeatmap()) {
+            // zoomed-out view from the heatmap counters. a drag selection still reads the raw trace index
+            final ScatterHeatmap scatterHeatmap = scatter.selectScatterHeatmap(applicationName, range, xGroupUnit);
+            mv = createScatterHeatmap(scatterHeatmap);
         } else {
             mv = new ModelAndView();
         }
@@ -251,4 +260,14 @@ public class ScatterChartController {
         return mv;
     }
 
+    private ModelAndView createScatterHeatmap(ScatterHeatmap scatterHeatmap) {
+        ModelAndView mv = new ModelAndView();
+
+        // counters of the whole range are always read at once
+        mv.addObject("complete", true);
+        mv.addObject("heatmap", scatterHeatmap);
+
+        return mv;
+    }
+
 }
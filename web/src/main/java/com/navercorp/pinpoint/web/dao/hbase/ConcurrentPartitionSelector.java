@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseSystemException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Runs the partitions of a multi-get concurrently on a shared executor.
+ * <ul>
+ *     <li>the result keeps the partition order</li>
+ *     <li>at most maxConcurrency partitions of a request run at the same time</li>
+ *     <li>the whole request fails with {@link HbaseSystemException} after timeoutMillis</li>
+ * </ul>
+ */
+public class ConcurrentPartitionSelector {
+
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final long timeoutMillis;
+
+    public ConcurrentPartitionSelector(Executor executor, int maxConcurrency, long timeoutMillis) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be 'maxConcurrency > 0'");
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("timeoutMillis must be 'timeoutMillis > 0'");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public <P, R> List<R> select(List<P> partitionList, Function<P, List<R>> partitionSelect) {
+        Objects.requireNonNull(partitionList, "partitionList");
+        Objects.requireNonNull(partitionSelect, "partitionSelect");
+        if (partitionList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (partitionList.size() == 1) {
+            return partitionSelect.apply(partitionList.get(0));
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        final List<CompletableFuture<List<R>>> futureList = new ArrayList<>(partitionList.size());
+        final List<R> result = new ArrayList<>();
+        int completed = 0;
+        try {
+            for (P partition : partitionList) {
+                if (futureList.size() - completed >= maxConcurrency) {
+                    // sliding window. wait for the oldest partition
+                    result.addAll(await(futureList.get(completed++), deadline));
+                }
+                futureList.add(CompletableFuture.supplyAsync(() -> partitionSelect.apply(partition), executor));
+            }
+            while (completed < futureList.size()) {
+                result.addAll(await(futureList.get(completed++), deadline));
+            }
+            return result;
+        } finally {
+            for (int i = completed; i < futureList.size(); i++) {
+                futureList.get(i).cancel(true);
+            }
+        }
+    }
+
+    private <R> List<R> await(CompletableFuture<List<R>> future, long deadline) {
+        final long remainingNanos = deadline - System.nanoTime();
+        try {
+            return future.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new HbaseSystemException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HbaseSystemException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new HbaseSystemException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentPartitionSelector{" +
+                "maxConcurrency=" + maxConcurrency +
+                ", timeoutMillis=" + timeoutMillis +
+                '}';
+    }
+}
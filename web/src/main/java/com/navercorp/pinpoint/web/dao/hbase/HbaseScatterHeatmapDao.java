@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
+import com.navercorp.pinpoint.common.hbase.TableDescriptor;
+import com.navercorp.pinpoint.common.server.util.ScatterHeatmapUtils;
+import com.navercorp.pinpoint.web.dao.ScatterHeatmapDao;
+import com.navercorp.pinpoint.web.mapper.ScatterHeatmapResultsExtractor;
+import com.navercorp.pinpoint.web.scatter.ScatterHeatmap;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.client.Scan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.Objects;
+
+/**
+ * Reads the ScatterHeatmap counters written by the collector. a row holds 1 minute of an application
+ */
+@Repository
+public class HbaseScatterHeatmapDao implements ScatterHeatmapDao {
+
+    private static final int SCATTER_HEATMAP_NUM_PARTITIONS = 8;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private int scanCacheSize = 60;
+
+    @Autowired
+    private HbaseOperations2 hbaseOperations2;
+
+    @Autowired
+    @Qualifier("scatterHeatmapRowKeyDistributor")
+    private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
+
+    @Autowired
+    private TableDescriptor<HbaseColumnFamily.ScatterHeatmap> descriptor;
+
+    @Override
+    public ScatterHeatmap selectScatterHeatmap(String applicationName, Range range, int xGroupUnit) {
+        Objects.requireNonNull(applicationName, "applicationName");
+        Objects.requireNonNull(range, "range");
+        if (logger.isDebugEnabled()) {
+            logger.debug("selectScatterHeatmap applicationName:{}, {}", applicationName, range);
+        }
+
+        final Scan scan = createScan(applicationName, range, descriptor.getColumnFamilyName());
+        final ResultsExtractor<ScatterHeatmap> resultsExtractor = new ScatterHeatmapResultsExtractor(rowKeyDistributorByHashPrefix, range.getFrom(), range.getTo(), xGroupUnit);
+        return hbaseOperations2.findParallel(descriptor.getTableName(), scan, rowKeyDistributorByHashPrefix, resultsExtractor, SCATTER_HEATMAP_NUM_PARTITIONS);
+    }
+
+    private Scan createScan(String applicationName, Range range, byte[] family) {
+        final long fromRowTimeSlot = ScatterHeatmapUtils.getRowTimeSlot(range.getFrom());
+        final long toRowTimeSlot = ScatterHeatmapUtils.getRowTimeSlot(range.getTo());
+
+        // start key is replaced by end key because timestamp has been reversed
+        final byte[] startKey = ScatterHeatmapUtils.makeRowKey(applicationName, toRowTimeSlot);
+        // stop row is exclusive. include the row of fromRowTimeSlot
+        final byte[] endKey = ScatterHeatmapUtils.makeRowKey(applicationName, fromRowTimeSlot - 1);
+
+        final Scan scan = new Scan();
+        scan.setCaching(this.scanCacheSize);
+        scan.setStartRow(startKey);
+        scan.setStopRow(endKey);
+        scan.addFamily(family);
+        scan.setId("ScatterHeatmapScan");
+
+        return scan;
+    }
+}
@@ -52,6 +52,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Repository;
 
 import javax.annotation.PostConstruct;
@@ -60,6 +61,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -88,6 +90,22 @@ public class HbaseTraceDaoV2 implements TraceDao {
     @Value("${web.hbase.selectAllSpans.limit:500}")
     private int selectAllSpansLimit;
 
+    @Value("${web.hbase.trace.concurrent.fetch.enable:false}")
+    private boolean concurrentFetchEnable;
+
+    @Value("${web.hbase.trace.concurrent.fetch.max:4}")
+    private int concurrentFetchMax;
+
+    @Value("${web.hbase.trace.concurrent.fetch.timeout.millis:10000}")
+    private long concurrentFetchTimeoutMillis;
+
+    @Autowired(required = false)
+    @Qualifier("traceFetchExecutor")
+    private Executor traceFetchExecutor;
+
+    // @Nullable
+    private ConcurrentPartitionSelector concurrentPartitionSelector;
+
     private final Filter spanFilter = createSpanQualifierFilter();
 
     @Autowired
@@ -96,12 +114,16 @@ public class HbaseTraceDaoV2 implements TraceDao {
     @PostConstruct
     private void setup() {
         SpanMapperV2 spanMapperV2 = new SpanMapperV2(rowKeyDecoder);
-        final Logger logger = LoggerFactory.getLogger(spanMapperV2.getClass());
-        if (logger.isDebugEnabled()) {
+        final Logger spanMapperLogger = LoggerFactory.getLogger(spanMapperV2.getClass());
+        if (spanMapperLogger.isDebugEnabled()) {
             this.spanMapperV2 = CellTraceMapper.wrap(spanMapperV2);
         } else {
             this.spanMapperV2 = spanMapperV2;
         }
+        if (concurrentFetchEnable && traceFetchExecutor != null) {
+            this.concurrentPartitionSelector = new ConcurrentPartitionSelector(traceFetchExecutor, concurrentFetchMax, concurrentFetchTimeoutMillis);
+            logger.info("{} enabled", concurrentPartitionSelector);
+        }
     }
 
     @Override
@@ -161,6 +183,14 @@ public class HbaseTraceDaoV2 implements TraceDao {
             throw new NullPointerException("columnFamily");
         }
 
+        if (concurrentPartitionSelector != null) {
+            try {
+                return concurrentPartitionSelector.select(partitionGetTraceInfoList, getTraceInfoList -> bulkSelect(getTraceInfoList, columnFamily, filter));
+            } catch (TaskRejectedException e) {
+                logger.info("traceFetchExecutor is full, fall back to sequential select. partitions:{}", partitionGetTraceInfoList.size());
+            }
+        }
+
         List<List<SpanBo>> spanBoList = new ArrayList<>();
         for (List<GetTraceInfo> getTraceInfoList : partitionGetTraceInfoList) {
             List<List<SpanBo>> result = bulkSelect(getTraceInfoList, columnFamily, filter);
@@ -106,6 +106,18 @@ public class TableDescriptorConfig extends TableDescriptors {
         return super.getSelfStatMap();
     }
 
+    @Bean
+    @Override
+    public TableDescriptor<HbaseColumnFamily.AgentStatRollup> getAgentStatRollup() {
+        return super.getAgentStatRollup();
+    }
+
+    @Bean
+    @Override
+    public TableDescriptor<HbaseColumnFamily.ScatterHeatmap> getScatterHeatmap() {
+        return super.getScatterHeatmap();
+    }
+
     @Bean
     @Override
     public TableDescriptor<HbaseColumnFamily.SqlMetadataV2> getSqlMetadataV2() {
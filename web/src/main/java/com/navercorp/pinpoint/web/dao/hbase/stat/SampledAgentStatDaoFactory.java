@@ -42,6 +42,7 @@ import com.navercorp.pinpoint.web.vo.stat.SampledTransaction;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -51,7 +52,16 @@ abstract class SampledAgentStatDaoFactory<S extends SampledAgentStatDataPoint, D
 
     protected D v2;
 
+    // reads the AgentStatRollup table. only the gauge stats have a rollup dao
+    protected D rollup;
+
+    @Value("${web.stat.rollup.enable:false}")
+    private boolean rollupEnable;
+
     D getDao() throws Exception {
+        if (rollupEnable && rollup != null) {
+            return rollup;
+        }
         return v2;
     }
 
@@ -111,6 +121,11 @@ abstract class SampledAgentStatDaoFactory<S extends SampledAgentStatDataPoint, D
             this.v2 = v2;
         }
 
+        @Autowired
+        public void setRollup(@Qualifier("sampledCpuLoadRollupDao") SampledCpuLoadDao rollup) {
+            this.rollup = rollup;
+        }
+
         @Override
         public SampledCpuLoadDao getObject() throws Exception {
             return super.getDao();
@@ -207,6 +222,11 @@ abstract class SampledAgentStatDaoFactory<S extends SampledAgentStatDataPoint, D
             this.v2 = v2;
         }
 
+        @Autowired
+        public void setRollup(@Qualifier("sampledResponseTimeRollupDao") SampledResponseTimeDao rollup) {
+            this.rollup = rollup;
+        }
+
         @Override
         public SampledResponseTimeDao getObject() throws Exception {
             return super.getDao();
@@ -231,6 +251,11 @@ abstract class SampledAgentStatDaoFactory<S extends SampledAgentStatDataPoint, D
             this.v2 = v2;
         }
 
+        @Autowired
+        public void setRollup(@Qualifier("sampledDeadlockRollupDao") SampledDeadlockDao rollup) {
+            this.rollup = rollup;
+        }
+
         @Override
         public SampledDeadlockDao getObject() throws Exception {
             return super.getDao();
@@ -255,6 +280,11 @@ abstract class SampledAgentStatDaoFactory<S extends SampledAgentStatDataPoint, D
             this.v2 = v2;
         }
 
+        @Autowired
+        public void setRollup(@Qualifier("sampledFileDescriptorRollupDao") SampledFileDescriptorDao rollup) {
+            this.rollup = rollup;
+        }
+
         @Override
         public SampledFileDescriptorDao getObject() throws Exception {
             return super.getDao();
@@ -279,6 +309,11 @@ abstract class SampledAgentStatDaoFactory<S extends SampledAgentStatDataPoint, D
             this.v2 = v2;
         }
 
+        @Autowired
+        public void setRollup(@Qualifier("sampledDirectBufferRollupDao") SampledDirectBufferDao rollup) {
+            this.rollup = rollup;
+        }
+
         @Override
         public SampledDirectBufferDao getObject() throws Exception {
             return super.getDao();
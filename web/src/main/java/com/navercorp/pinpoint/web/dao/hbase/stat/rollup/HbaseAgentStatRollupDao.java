@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase.stat.rollup;
+
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
+import com.navercorp.pinpoint.common.hbase.TableDescriptor;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupResolution;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.server.util.AgentStatRollupUtils;
+import com.navercorp.pinpoint.web.dao.stat.AgentStatRollupDao;
+import com.navercorp.pinpoint.web.mapper.stat.AgentStatRollupResultsExtractor;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.client.Scan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads the AgentStatRollup table written by the collector. a row holds a slot of an agent, stat type and resolution
+ */
+@Repository
+public class HbaseAgentStatRollupDao implements AgentStatRollupDao {
+
+    private static final int AGENT_STAT_ROLLUP_NUM_PARTITIONS = 8;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private int scanCacheSize = 256;
+
+    @Autowired
+    private HbaseOperations2 hbaseOperations2;
+
+    @Autowired
+    @Qualifier("agentStatRollupRowKeyDistributor")
+    private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
+
+    @Autowired
+    private TableDescriptor<HbaseColumnFamily.AgentStatRollup> descriptor;
+
+    @Override
+    public List<AgentStatRollupBo> getAgentStatRollupList(String agentId, AgentStatRollupType rollupType, AgentStatRollupResolution resolution, Range range) {
+        Objects.requireNonNull(agentId, "agentId");
+        Objects.requireNonNull(rollupType, "rollupType");
+        Objects.requireNonNull(resolution, "resolution");
+        Objects.requireNonNull(range, "range");
+        if (logger.isDebugEnabled()) {
+            logger.debug("getAgentStatRollupList agentId:{}, {}, {}, {}", agentId, rollupType, resolution, range);
+        }
+
+        final Scan scan = createScan(agentId, rollupType, resolution, range, descriptor.getColumnFamilyName());
+        final ResultsExtractor<List<AgentStatRollupBo>> resultsExtractor = new AgentStatRollupResultsExtractor(rowKeyDistributorByHashPrefix, rollupType);
+        return hbaseOperations2.findParallel(descriptor.getTableName(), scan, rowKeyDistributorByHashPrefix, resultsExtractor, AGENT_STAT_ROLLUP_NUM_PARTITIONS);
+    }
+
+    private Scan createScan(String agentId, AgentStatRollupType rollupType, AgentStatRollupResolution resolution, Range range, byte[] family) {
+        final long fromSlotTime = resolution.getSlotTime(range.getFrom());
+        final long toSlotTime = resolution.getSlotTime(range.getTo());
+
+        // start key is replaced by end key because timestamp has been reversed
+        final byte[] startKey = AgentStatRollupUtils.makeRowKey(agentId, rollupType, resolution, toSlotTime);
+        // stop row is exclusive. include the row of fromSlotTime
+        final byte[] endKey = AgentStatRollupUtils.makeRowKey(agentId, rollupType, resolution, fromSlotTime - 1);
+
+        final Scan scan = new Scan();
+        scan.setCaching(this.scanCacheSize);
+        scan.setStartRow(startKey);
+        scan.setStopRow(endKey);
+        scan.addFamily(family);
+        scan.setId("AgentStatRollupScan");
+
+        return scan;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase.stat.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupResolution;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupValue;
+import com.navercorp.pinpoint.web.dao.SampledAgentStatDao;
+import com.navercorp.pinpoint.web.dao.stat.AgentStatRollupDao;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.chart.Point;
+import com.navercorp.pinpoint.web.vo.stat.SampledAgentStatDataPoint;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Samples the agent stat from the rollup of the coarsest resolution that fits the time window slot,
+ * instead of reading every data point of AgentStatV2.
+ * Falls back to the raw dao if the window slot is smaller than the finest resolution or the range has no rollup.
+ */
+public abstract class RollupSampledAgentStatDao<S extends SampledAgentStatDataPoint> implements SampledAgentStatDao<S> {
+
+    private final AgentStatRollupType rollupType;
+    private final AgentStatRollupDao agentStatRollupDao;
+    private final SampledAgentStatDao<S> rawDao;
+
+    protected RollupSampledAgentStatDao(AgentStatRollupType rollupType, AgentStatRollupDao agentStatRollupDao, SampledAgentStatDao<S> rawDao) {
+        this.rollupType = Objects.requireNonNull(rollupType, "rollupType");
+        this.agentStatRollupDao = Objects.requireNonNull(agentStatRollupDao, "agentStatRollupDao");
+        this.rawDao = Objects.requireNonNull(rawDao, "rawDao");
+    }
+
+    @Override
+    public List<S> getSampledAgentStatList(String agentId, TimeWindow timeWindow) {
+        final AgentStatRollupResolution resolution = AgentStatRollupResolution.getCoarsest(timeWindow.getWindowSlotSize());
+        if (resolution == null) {
+            return rawDao.getSampledAgentStatList(agentId, timeWindow);
+        }
+
+        final long scanFrom = timeWindow.getWindowRange().getFrom();
+        final long scanTo = timeWindow.getWindowRange().getTo() + timeWindow.getWindowSlotSize();
+        final Range range = new Range(scanFrom, scanTo);
+        final List<AgentStatRollupBo> rollupBos = agentStatRollupDao.getAgentStatRollupList(agentId, rollupType, resolution, range);
+        if (rollupBos.isEmpty()) {
+            return rawDao.getSampledAgentStatList(agentId, timeWindow);
+        }
+
+        final SortedMap<Long, AgentStatRollupValue[]> windowSlots = new TreeMap<>();
+        for (AgentStatRollupBo rollupBo : rollupBos) {
+            final long slotTime = rollupBo.getTimestamp();
+            if (slotTime < scanFrom || slotTime >= scanTo) {
+                continue;
+            }
+            final long windowSlotTime = timeWindow.refineTimestamp(slotTime);
+            final AgentStatRollupValue[] merged = windowSlots.computeIfAbsent(windowSlotTime, k -> newValues());
+            final AgentStatRollupValue[] values = rollupBo.getValues();
+            for (int i = 0; i < merged.length && i < values.length; i++) {
+                merged[i].merge(values[i]);
+            }
+        }
+
+        final List<S> sampledPoints = new ArrayList<>(windowSlots.size());
+        for (Map.Entry<Long, AgentStatRollupValue[]> entry : windowSlots.entrySet()) {
+            sampledPoints.add(createSampledPoint(entry.getKey(), entry.getValue()));
+        }
+        return sampledPoints;
+    }
+
+    private AgentStatRollupValue[] newValues() {
+        final AgentStatRollupValue[] values = new AgentStatRollupValue[rollupType.getFieldCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new AgentStatRollupValue();
+        }
+        return values;
+    }
+
+    /**
+     * @param values merged rollup of the window slot, indexed by the field index of {@link AgentStatRollupType}
+     */
+    protected abstract S createSampledPoint(long timestamp, AgentStatRollupValue[] values);
+
+    protected static AgentStatPoint<Long> createLongPoint(long timestamp, AgentStatRollupValue value, Point.UncollectedPointCreator<AgentStatPoint<Long>> uncollectedPointCreator) {
+        if (value.getCount() == 0) {
+            return uncollectedPointCreator.createUnCollectedPoint(timestamp);
+        }
+        return new AgentStatPoint<>(timestamp, (long) value.getMin(), (long) value.getMax(), value.getAvg(), (long) value.getSum());
+    }
+
+    protected static AgentStatPoint<Integer> createIntegerPoint(long timestamp, AgentStatRollupValue value, Point.UncollectedPointCreator<AgentStatPoint<Integer>> uncollectedPointCreator) {
+        if (value.getCount() == 0) {
+            return uncollectedPointCreator.createUnCollectedPoint(timestamp);
+        }
+        return new AgentStatPoint<>(timestamp, (int) value.getMin(), (int) value.getMax(), value.getAvg(), (int) value.getSum());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase.stat.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupValue;
+import com.navercorp.pinpoint.web.dao.stat.AgentStatRollupDao;
+import com.navercorp.pinpoint.web.dao.stat.SampledCpuLoadDao;
+import com.navercorp.pinpoint.web.vo.stat.SampledCpuLoad;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * percentage with 1 decimal place, same as CpuLoadSampler
+ */
+@Repository("sampledCpuLoadRollupDao")
+public class RollupSampledCpuLoadDao extends RollupSampledAgentStatDao<SampledCpuLoad> implements SampledCpuLoadDao {
+
+    private static final int NUM_DECIMAL_PLACES = 1;
+
+    @Autowired
+    public RollupSampledCpuLoadDao(AgentStatRollupDao agentStatRollupDao, @Qualifier("sampledCpuLoadDaoV2") SampledCpuLoadDao rawDao) {
+        super(AgentStatRollupType.CPU_LOAD, agentStatRollupDao, rawDao);
+    }
+
+    @Override
+    protected SampledCpuLoad createSampledPoint(long timestamp, AgentStatRollupValue[] values) {
+        final AgentStatPoint<Double> jvmCpuLoad = createPercentagePoint(timestamp, values[0]);
+        final AgentStatPoint<Double> systemCpuLoad = createPercentagePoint(timestamp, values[1]);
+        return new SampledCpuLoad(jvmCpuLoad, systemCpuLoad);
+    }
+
+    private AgentStatPoint<Double> createPercentagePoint(long timestamp, AgentStatRollupValue value) {
+        if (value.getCount() == 0) {
+            return SampledCpuLoad.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp);
+        }
+        return new AgentStatPoint<>(
+                timestamp,
+                toPercentage(value.getMin()),
+                toPercentage(value.getMax()),
+                toPercentage(value.getAvg()),
+                value.getSum() * 100);
+    }
+
+    private double toPercentage(double value) {
+        return BigDecimal.valueOf(value * 100).setScale(NUM_DECIMAL_PLACES, RoundingMode.HALF_UP).doubleValue();
+    }
+}
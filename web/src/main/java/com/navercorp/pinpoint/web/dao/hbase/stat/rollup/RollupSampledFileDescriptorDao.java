@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase.stat.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupValue;
+import com.navercorp.pinpoint.web.dao.stat.AgentStatRollupDao;
+import com.navercorp.pinpoint.web.dao.stat.SampledFileDescriptorDao;
+import com.navercorp.pinpoint.web.vo.stat.SampledFileDescriptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+@Repository("sampledFileDescriptorRollupDao")
+public class RollupSampledFileDescriptorDao extends RollupSampledAgentStatDao<SampledFileDescriptor> implements SampledFileDescriptorDao {
+
+    @Autowired
+    public RollupSampledFileDescriptorDao(AgentStatRollupDao agentStatRollupDao, @Qualifier("sampledFileDescriptorDaoV2") SampledFileDescriptorDao rawDao) {
+        super(AgentStatRollupType.FILE_DESCRIPTOR, agentStatRollupDao, rawDao);
+    }
+
+    @Override
+    protected SampledFileDescriptor createSampledPoint(long timestamp, AgentStatRollupValue[] values) {
+        return new SampledFileDescriptor(createLongPoint(timestamp, values[0], SampledFileDescriptor.UNCOLLECTED_POINT_CREATOR));
+    }
+}
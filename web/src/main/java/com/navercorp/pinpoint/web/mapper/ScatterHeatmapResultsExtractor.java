@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.mapper;
+
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
+import com.navercorp.pinpoint.common.server.util.ScatterHeatmapUtils;
+import com.navercorp.pinpoint.web.scatter.ScatterHeatmap;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.Objects;
+
+/**
+ * Folds the ScatterHeatmap rows of a scan into a {@link ScatterHeatmap}.
+ */
+public class ScatterHeatmapResultsExtractor implements ResultsExtractor<ScatterHeatmap> {
+
+    private final AbstractRowKeyDistributor rowKeyDistributor;
+    private final long from;
+    private final long to;
+    private final int xGroupUnit;
+
+    public ScatterHeatmapResultsExtractor(AbstractRowKeyDistributor rowKeyDistributor, long from, long to, int xGroupUnit) {
+        this.rowKeyDistributor = Objects.requireNonNull(rowKeyDistributor, "rowKeyDistributor");
+        this.from = from;
+        this.to = to;
+        this.xGroupUnit = xGroupUnit;
+    }
+
+    @Override
+    public ScatterHeatmap extractData(ResultScanner results) throws Exception {
+        final ScatterHeatmap scatterHeatmap = new ScatterHeatmap(from, to, xGroupUnit);
+        for (Result result : results) {
+            if (result.isEmpty()) {
+                continue;
+            }
+            final byte[] rowKey = rowKeyDistributor.getOriginalKey(result.getRow());
+            final long rowTimeSlot = ScatterHeatmapUtils.getRowTimeSlotFromRowKey(rowKey);
+
+            for (Cell cell : result.rawCells()) {
+                if (!ScatterHeatmapUtils.isColumnName(cell.getQualifierLength())) {
+                    continue;
+                }
+                final byte[] qualifier = cell.getQualifierArray();
+                final int offset = cell.getQualifierOffset();
+                final int cellIndex = ScatterHeatmapUtils.getCellIndexFromColumnName(qualifier, offset);
+                final int elapsedBucket = ScatterHeatmapUtils.getElapsedBucketFromColumnName(qualifier, offset);
+                final boolean error = ScatterHeatmapUtils.isErrorFromColumnName(qualifier, offset);
+
+                final long cellTime = rowTimeSlot + cellIndex * ScatterHeatmapUtils.CELL_TIME_SLOT;
+                final long count = Bytes.toLong(cell.getValueArray(), cell.getValueOffset());
+                scatterHeatmap.addCount(cellTime, elapsedBucket, error, count);
+            }
+        }
+        return scatterHeatmap;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat;
+
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupValue;
+import com.navercorp.pinpoint.common.server.util.AgentStatRollupUtils;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Merges the columns written by each flush of the collectors into a {@link AgentStatRollupBo} per row.
+ */
+public class AgentStatRollupResultsExtractor implements ResultsExtractor<List<AgentStatRollupBo>> {
+
+    private final AbstractRowKeyDistributor rowKeyDistributor;
+    private final int fieldCount;
+
+    public AgentStatRollupResultsExtractor(AbstractRowKeyDistributor rowKeyDistributor, AgentStatRollupType rollupType) {
+        this.rowKeyDistributor = Objects.requireNonNull(rowKeyDistributor, "rowKeyDistributor");
+        this.fieldCount = Objects.requireNonNull(rollupType, "rollupType").getFieldCount();
+    }
+
+    @Override
+    public List<AgentStatRollupBo> extractData(ResultScanner results) throws Exception {
+        final List<AgentStatRollupBo> rollupBos = new ArrayList<>();
+        for (Result result : results) {
+            if (result.isEmpty()) {
+                continue;
+            }
+            final byte[] rowKey = rowKeyDistributor.getOriginalKey(result.getRow());
+            final long slotTime = AgentStatRollupUtils.getSlotTimeFromRowKey(rowKey);
+
+            final AgentStatRollupValue[] values = new AgentStatRollupValue[fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                values[i] = new AgentStatRollupValue();
+            }
+            for (Cell cell : result.rawCells()) {
+                if (!AgentStatRollupUtils.isColumnName(cell.getQualifierLength())) {
+                    continue;
+                }
+                if (cell.getValueLength() != AgentStatRollupValue.BYTE_LENGTH) {
+                    continue;
+                }
+                final int fieldIndex = AgentStatRollupUtils.getFieldIndexFromColumnName(cell.getQualifierArray(), cell.getQualifierOffset());
+                if (fieldIndex < 0 || fieldIndex >= fieldCount) {
+                    continue;
+                }
+                values[fieldIndex].merge(AgentStatRollupValue.fromBytes(cell.getValueArray(), cell.getValueOffset()));
+            }
+            rollupBos.add(new AgentStatRollupBo(slotTime, values));
+        }
+        return rollupBos;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.scatter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.navercorp.pinpoint.common.server.util.ScatterHeatmapUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Zoomed-out scatter chart built from the ScatterHeatmap counters.
+ * Each cell holds the success/fail count of an (x, elapsed bucket) pair instead of the dots.
+ * x is the offset from {@link #getFrom()} like {@link ScatterData}, grouped by xGroupUnit(at least 10 seconds).
+ */
+public class ScatterHeatmap {
+
+    private final long from;
+    private final long to;
+    private final int xGroupUnitMillis;
+
+    // x -> success/fail count of each elapsed bucket
+    private final Map<Long, long[]> counts = new TreeMap<>();
+
+    private long totalCount;
+
+    public ScatterHeatmap(long from, long to, int xGroupUnitMillis) {
+        if (from <= 0) {
+            throw new IllegalArgumentException("from value must be higher than 0");
+        }
+        if (from > to) {
+            throw new IllegalArgumentException("from value must be lower or equal to to value");
+        }
+        if (xGroupUnitMillis <= 0) {
+            throw new IllegalArgumentException("xGroupUnitMillis must be positive number");
+        }
+
+        this.from = from;
+        this.to = to;
+        // finer groups than a heatmap cell are meaningless
+        this.xGroupUnitMillis = (int) Math.max(xGroupUnitMillis, ScatterHeatmapUtils.CELL_TIME_SLOT);
+    }
+
+    /**
+     * @param cellTime start time of the heatmap cell
+     */
+    public void addCount(long cellTime, int elapsedBucket, boolean error, long count) {
+        if (count <= 0) {
+            return;
+        }
+        // skip the cells not overlapping [from, to]
+        if (cellTime + ScatterHeatmapUtils.CELL_TIME_SLOT <= from || cellTime > to) {
+            return;
+        }
+        if (elapsedBucket < 0 || elapsedBucket >= ScatterHeatmapUtils.getElapsedBucketSize()) {
+            return;
+        }
+
+        final long timeDiff = cellTime - from;
+        long x = timeDiff - (timeDiff % xGroupUnitMillis);
+        if (x < 0) {
+            x = 0L;
+        }
+        final long[] bucketCounts = counts.computeIfAbsent(x, k -> new long[ScatterHeatmapUtils.getElapsedBucketSize() * 2]);
+        bucketCounts[elapsedBucket * 2 + (error ? 1 : 0)] += count;
+        totalCount += count;
+    }
+
+    public List<Cell> getCells() {
+        final List<Cell> cells = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : counts.entrySet()) {
+            final long[] bucketCounts = entry.getValue();
+            for (int elapsedBucket = 0; elapsedBucket < ScatterHeatmapUtils.getElapsedBucketSize(); elapsedBucket++) {
+                final long successCount = bucketCounts[elapsedBucket * 2];
+                final long failCount = bucketCounts[elapsedBucket * 2 + 1];
+                if (successCount == 0 && failCount == 0) {
+                    continue;
+                }
+                cells.add(new Cell(entry.getKey(), elapsedBucket, successCount, failCount));
+            }
+        }
+        return cells;
+    }
+
+    public long getFrom() {
+        return from;
+    }
+
+    public long getTo() {
+        return to;
+    }
+
+    @JsonProperty("xGroupUnit")
+    public int getXGroupUnit() {
+        return xGroupUnitMillis;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public static class Cell {
+        private final long x;
+        private final int elapsedBucket;
+        private final long successCount;
+        private final long failCount;
+
+        public Cell(long x, int elapsedBucket, long successCount, long failCount) {
+            this.x = x;
+            this.elapsedBucket = elapsedBucket;
+            this.successCount = successCount;
+            this.failCount = failCount;
+        }
+
+        public long getX() {
+            return x;
+        }
+
+        public int getMinElapsed() {
+            return ScatterHeatmapUtils.getElapsedBucketLowerBound(elapsedBucket);
+        }
+
+        /**
+         * @return inclusive. Integer.MAX_VALUE for the last bucket
+         */
+        public int getMaxElapsed() {
+            return ScatterHeatmapUtils.getElapsedBucketUpperBound(elapsedBucket);
+        }
+
+        public long getSuccessCount() {
+            return successCount;
+        }
+
+        public long getFailCount() {
+            return failCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Cell{" +
+                    "x=" + x +
+                    ", elapsedBucket=" + elapsedBucket +
+                    ", successCount=" + successCount +
+                    ", failCount=" + failCount +
+                    '}';
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ScatterHeatmap{" +
+                "from=" + from +
+                ", to=" + to +
+                ", xGroupUnitMillis=" + xGroupUnitMillis +
+                ", totalCount=" + totalCount +
+                '}';
+    }
+}
@@ -42,6 +42,7 @@ import com.navercorp.pinpoint.web.scatter.ScatterData;
 import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
 import com.navercorp.pinpoint.web.service.map.FilteredMap;
 import com.navercorp.pinpoint.web.service.map.FilteredMapBuilder;
+import com.navercorp.pinpoint.web.service.map.FilteredMapStreamer;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
 import com.navercorp.pinpoint.web.vo.LoadFactor;
@@ -93,6 +94,9 @@ public class FilteredMapServiceImpl implements FilteredMapService {
     @Autowired
     private ApplicationMapBuilderFactory applicationMapBuilderFactory;
 
+    @Autowired(required=false)
+    private FilteredMapStreamer filteredMapStreamer;
+
     private static final Object V = new Object();
 
     @Override
@@ -232,10 +236,16 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        final List<List<SpanBo>> filterList = selectFilteredSpan(transactionIdList, filter);
         FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, originalRange, version);
         filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
-        filteredMapBuilder.addTransactions(filterList);
+        if (filteredMapStreamer != null && filteredMapStreamer.isEnable()) {
+            // fold span batches into the builder without holding every span
+            final List<TransactionId> recursiveFilterList = recursiveCallFilter(transactionIdList);
+            filteredMapStreamer.stream(recursiveFilterList, traceDao, filter, filteredMapBuilder);
+        } else {
+            final List<List<SpanBo>> filterList = selectFilteredSpan(transactionIdList, filter);
+            filteredMapBuilder.addTransactions(filterList);
+        }
         FilteredMap filteredMap = filteredMapBuilder.build();
 
         ApplicationMap map = createMap(originalRange, filteredMap);
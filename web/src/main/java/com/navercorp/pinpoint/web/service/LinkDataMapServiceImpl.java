@@ -36,13 +36,26 @@ public class LinkDataMapServiceImpl implements LinkDataMapService {
     @Autowired
     private MapStatisticsCalleeDao mapStatisticsCalleeDao;
 
+    @Autowired(required = false)
+    private LinkDataMapSlotCache linkDataMapSlotCache;
+
     @Override
     public LinkDataMap selectCallerLinkDataMap(Application application, Range range) {
+        if (isCacheEnable()) {
+            return linkDataMapSlotCache.select(application, LinkDataMapSlotCache.Direction.CALLER, range, mapStatisticsCallerDao::selectCaller);
+        }
         return mapStatisticsCallerDao.selectCaller(application, range);
     }
 
     @Override
     public LinkDataMap selectCalleeLinkDataMap(Application application, Range range) {
+        if (isCacheEnable()) {
+            return linkDataMapSlotCache.select(application, LinkDataMapSlotCache.Direction.CALLEE, range, mapStatisticsCalleeDao::selectCallee);
+        }
         return mapStatisticsCalleeDao.selectCallee(application, range);
     }
+
+    private boolean isCacheEnable() {
+        return linkDataMapSlotCache != null && linkDataMapSlotCache.isEnable();
+    }
 }
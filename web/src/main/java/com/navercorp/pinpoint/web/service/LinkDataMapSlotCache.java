@@ -0,0 +1,249 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.navercorp.pinpoint.common.server.util.TimeSlot;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkCallData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.util.TimeWindowDownSampler;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Per statistics time slot cache of {@link LinkDataMap}.
+ * Closed slots never change once the late arriving data has been flushed by the collectors.
+ * A request reads only the missing and the open slots from HBase, and merges the cached closed slots.
+ * <ul>
+ *     <li>closed slot : older than (now - lateArrivalMillis). cached</li>
+ *     <li>open slot : read from HBase on every request</li>
+ * </ul>
+ * Memory is bounded by the number of cached histograms. Entries expire after expireAfterWriteMillis,
+ * so data arriving later than lateArrivalMillis is reflected eventually.
+ */
+public class LinkDataMapSlotCache {
+
+    public enum Direction {
+        CALLER,
+        CALLEE
+    }
+
+    private static final long SLOT_SIZE = TimeUnit.MINUTES.toMillis(1);
+    // the dao keeps the 1 minute resolution while the range is not longer than 1 hour. see TimeWindowDownSampler
+    private static final int MAX_FETCH_SLOT_COUNT = 60;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final boolean enable;
+    private final TimeSlot timeSlot;
+    private final long lateArrivalMillis;
+    private final Cache<SlotKey, LinkDataMap> cache;
+
+    public LinkDataMapSlotCache(boolean enable, TimeSlot timeSlot, long maxHistogramCount, long expireAfterWriteMillis, long lateArrivalMillis) {
+        this.enable = enable;
+        this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
+        if (maxHistogramCount <= 0) {
+            throw new IllegalArgumentException("maxHistogramCount must be 'maxHistogramCount > 0'");
+        }
+        if (expireAfterWriteMillis <= 0) {
+            throw new IllegalArgumentException("expireAfterWriteMillis must be 'expireAfterWriteMillis > 0'");
+        }
+        if (lateArrivalMillis < 0) {
+            throw new IllegalArgumentException("lateArrivalMillis must be 'lateArrivalMillis >= 0'");
+        }
+        this.lateArrivalMillis = lateArrivalMillis;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxHistogramCount)
+                .weigher((SlotKey key, LinkDataMap value) -> weight(value))
+                .expireAfterWrite(expireAfterWriteMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    /**
+     * @param select dao function. must return the link data of the given range with the 1 minute resolution
+     */
+    public LinkDataMap select(Application application, Direction direction, Range range, BiFunction<Application, Range, LinkDataMap> select) {
+        Objects.requireNonNull(application, "application");
+        Objects.requireNonNull(direction, "direction");
+        Objects.requireNonNull(range, "range");
+        Objects.requireNonNull(select, "select");
+
+        final TimeWindow timeWindow = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
+        final LinkDataMap result = new LinkDataMap(timeWindow);
+
+        final long fromSlot = timeSlot.getTimeSlot(range.getFrom());
+        final long toSlot = timeSlot.getTimeSlot(range.getTo());
+        final long lastClosedSlot = timeSlot.getTimeSlot(currentTimeMillis() - lateArrivalMillis) - SLOT_SIZE;
+
+        // closed slots
+        final long closedToSlot = Math.min(toSlot, lastClosedSlot);
+        long missingFromSlot = -1;
+        for (long slot = fromSlot; slot <= closedToSlot; slot += SLOT_SIZE) {
+            final LinkDataMap cached = cache.getIfPresent(new SlotKey(application, direction, slot));
+            if (cached != null) {
+                if (missingFromSlot != -1) {
+                    fetch(application, direction, missingFromSlot, slot - SLOT_SIZE, select, result);
+                    missingFromSlot = -1;
+                }
+                result.addLinkDataMap(cached);
+                continue;
+            }
+            if (missingFromSlot == -1) {
+                missingFromSlot = slot;
+            } else if ((slot - missingFromSlot) / SLOT_SIZE >= MAX_FETCH_SLOT_COUNT) {
+                fetch(application, direction, missingFromSlot, slot - SLOT_SIZE, select, result);
+                missingFromSlot = slot;
+            }
+        }
+        if (missingFromSlot != -1) {
+            fetch(application, direction, missingFromSlot, closedToSlot, select, result);
+        }
+
+        // open slots
+        final long openFromSlot = Math.max(fromSlot, lastClosedSlot + SLOT_SIZE);
+        if (openFromSlot <= toSlot) {
+            final LinkDataMap open = select.apply(application, new Range(openFromSlot, Math.max(openFromSlot, range.getTo())));
+            if (open != null) {
+                result.addLinkDataMap(open);
+            }
+        }
+        return result;
+    }
+
+    private void fetch(Application application, Direction direction, long fromSlot, long toSlot,
+                       BiFunction<Application, Range, LinkDataMap> select, LinkDataMap result) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("fetch {} {} slot:{}~{}", application, direction, fromSlot, toSlot);
+        }
+        final LinkDataMap linkDataMap = select.apply(application, new Range(fromSlot, toSlot));
+        final Map<Long, LinkDataMap> slotMap = splitBySlot(linkDataMap);
+        for (long slot = fromSlot; slot <= toSlot; slot += SLOT_SIZE) {
+            // cache the empty slot too
+            LinkDataMap slotLinkDataMap = slotMap.get(slot);
+            if (slotLinkDataMap == null) {
+                slotLinkDataMap = new LinkDataMap();
+            }
+            cache.put(new SlotKey(application, direction, slot), slotLinkDataMap);
+        }
+        if (linkDataMap != null) {
+            result.addLinkDataMap(linkDataMap);
+        }
+    }
+
+    private Map<Long, LinkDataMap> splitBySlot(LinkDataMap linkDataMap) {
+        if (linkDataMap == null || linkDataMap.size() == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<Long, LinkDataMap> slotMap = new HashMap<>();
+        for (LinkData linkData : linkDataMap.getLinkDataList()) {
+            final Application fromApplication = linkData.getFromApplication();
+            final Application toApplication = linkData.getToApplication();
+            for (LinkCallData linkCallData : linkData.getLinkCallDataMap().getLinkDataList()) {
+                for (TimeHistogram timeHistogram : linkCallData.getTimeHistogram()) {
+                    final long slot = timeSlot.getTimeSlot(timeHistogram.getTimeStamp());
+                    final LinkData slotLinkData = new LinkData(fromApplication, toApplication);
+                    slotLinkData.getLinkCallDataMap().addCallData(linkCallData.getSource(), linkCallData.getSourceServiceType(),
+                            linkCallData.getTarget(), linkCallData.getTargetServiceType(), Collections.singletonList(timeHistogram));
+                    slotMap.computeIfAbsent(slot, key -> new LinkDataMap()).addLinkData(slotLinkData);
+                }
+            }
+        }
+        return slotMap;
+    }
+
+    private static int weight(LinkDataMap linkDataMap) {
+        int weight = 1;
+        for (LinkData linkData : linkDataMap.getLinkDataList()) {
+            final Collection<LinkCallData> linkCallDataList = linkData.getLinkCallDataMap().getLinkDataList();
+            for (LinkCallData linkCallData : linkCallDataList) {
+                weight += linkCallData.getTimeHistogram().size();
+            }
+        }
+        return weight;
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public String toString() {
+        return "LinkDataMapSlotCache{" +
+                "enable=" + enable +
+                ", lateArrivalMillis=" + lateArrivalMillis +
+                ", size=" + cache.size() +
+                '}';
+    }
+
+    private static class SlotKey {
+        private final Application application;
+        private final Direction direction;
+        private final long slot;
+
+        private SlotKey(Application application, Direction direction, long slot) {
+            this.application = application;
+            this.direction = direction;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            SlotKey slotKey = (SlotKey) o;
+
+            if (slot != slotKey.slot) return false;
+            if (!application.equals(slotKey.application)) return false;
+            return direction == slotKey.direction;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = application.hashCode();
+            result = 31 * result + direction.hashCode();
+            result = 31 * result + (int) (slot ^ (slot >>> 32));
+            return result;
+        }
+    }
+}
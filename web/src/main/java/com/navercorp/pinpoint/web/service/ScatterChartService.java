@@ -20,6 +20,7 @@ import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
+import com.navercorp.pinpoint.web.scatter.ScatterHeatmap;
 import com.navercorp.pinpoint.web.vo.GetTraceInfo;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.SelectedScatterArea;
@@ -65,4 +66,10 @@ public interface ScatterChartService {
 
     ScatterData selectScatterData(List<TransactionId> transactionIdList, String applicationName, Range range, int xGroupUnit, int yGroupUnit, Filter filter);
 
+    /**
+     * Queries for the zoomed-out scatter chart from the pre-aggregated heatmap counters.
+     * The transactions of a cell are queried with {@link #selectScatterData(String, SelectedScatterArea, TransactionId, int, int)}
+     */
+    ScatterHeatmap selectScatterHeatmap(String applicationName, Range range, int xGroupUnit);
+
 }
@@ -19,9 +19,11 @@ package com.navercorp.pinpoint.web.service;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.web.dao.ApplicationTraceIndexDao;
+import com.navercorp.pinpoint.web.dao.ScatterHeatmapDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
 import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
+import com.navercorp.pinpoint.web.scatter.ScatterHeatmap;
 import com.navercorp.pinpoint.web.vo.GetTraceInfo;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.SelectedScatterArea;
@@ -53,6 +55,9 @@ public class ScatterChartServiceImpl implements ScatterChartService {
     @Qualifier("hbaseTraceDaoFactory")
     private TraceDao traceDao;
 
+    @Autowired
+    private ScatterHeatmapDao scatterHeatmapDao;
+
     @Override
     public List<Dot> selectScatterData(String applicationName, SelectedScatterArea area, TransactionId offsetTransactionId, int offsetTransactionElapsed, int limit) {
         Objects.requireNonNull(applicationName, "applicationName");
@@ -114,6 +119,14 @@ public class ScatterChartServiceImpl implements ScatterChartService {
         return applicationTraceIndexDao.scanTraceScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection);
     }
 
+    @Override
+    public ScatterHeatmap selectScatterHeatmap(String applicationName, Range range, int xGroupUnit) {
+        Objects.requireNonNull(applicationName, "applicationName");
+        Objects.requireNonNull(range, "range");
+
+        return scatterHeatmapDao.selectScatterHeatmap(applicationName, range, xGroupUnit);
+    }
+
     @Override
     public ScatterData selectScatterData(List<TransactionId> transactionIdList, String applicationName, Range range, int xGroupUnit, int yGroupUnit, Filter filter) {
         Objects.requireNonNull(transactionIdList, "transactionIdList");
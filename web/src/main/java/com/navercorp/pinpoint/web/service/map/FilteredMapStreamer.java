@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service.map;
+
+import com.google.common.collect.Lists;
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.filter.Filter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Streams the spans of the selected transactions into {@link FilteredMapBuilder}.
+ * Transactions are fetched in batches on the executor, filtered, folded into the builder and discarded,
+ * instead of holding every span of every transaction at once.
+ * The number of in-flight spans (fetched but not folded yet) is capped by maxInFlightSpans.
+ * The cap is soft, each worker may overshoot it by the spans of one batch.
+ */
+public class FilteredMapStreamer {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final boolean enable;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxInFlightSpans;
+
+    public FilteredMapStreamer(boolean enable, Executor executor, int batchSize, int maxInFlightSpans) {
+        this.enable = enable;
+        this.executor = Objects.requireNonNull(executor, "executor");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be 'batchSize > 0'");
+        }
+        if (maxInFlightSpans < batchSize) {
+            throw new IllegalArgumentException("maxInFlightSpans must be 'maxInFlightSpans >= batchSize'");
+        }
+        this.batchSize = batchSize;
+        this.maxInFlightSpans = maxInFlightSpans;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void stream(List<TransactionId> transactionIdList, TraceDao traceDao, Filter<SpanBo> filter, FilteredMapBuilder filteredMapBuilder) {
+        Objects.requireNonNull(transactionIdList, "transactionIdList");
+        Objects.requireNonNull(traceDao, "traceDao");
+        Objects.requireNonNull(filter, "filter");
+        Objects.requireNonNull(filteredMapBuilder, "filteredMapBuilder");
+
+        final InFlightSpans inFlightSpans = new InFlightSpans(maxInFlightSpans);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (List<TransactionId> batch : Lists.partition(transactionIdList, batchSize)) {
+            // a transaction has at least one span
+            inFlightSpans.reserve(batch.size());
+            final Runnable task = () -> fold(batch, traceDao, filter, filteredMapBuilder, inFlightSpans);
+            futures.add(runAsync(task));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        if (logger.isDebugEnabled()) {
+            logger.debug("stream completed. transactions:{}, batches:{}, peakInFlightSpans:{}", transactionIdList.size(), futures.size(), inFlightSpans.getPeak());
+        }
+    }
+
+    private CompletableFuture<Void> runAsync(Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            logger.debug("executor rejected. run in the caller thread");
+            try {
+                task.run();
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException ex) {
+                final CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(ex);
+                return failed;
+            }
+        }
+    }
+
+    private void fold(List<TransactionId> batch, TraceDao traceDao, Filter<SpanBo> filter, FilteredMapBuilder filteredMapBuilder, InFlightSpans inFlightSpans) {
+        int spanCount = batch.size();
+        try {
+            final List<List<SpanBo>> transactionList = traceDao.selectAllSpans(batch);
+            spanCount = inFlightSpans.adjust(batch.size(), countSpans(transactionList));
+
+            final List<List<SpanBo>> filteredList = new ArrayList<>(transactionList.size());
+            for (List<SpanBo> transaction : transactionList) {
+                if (filter.include(transaction)) {
+                    filteredList.add(transaction);
+                }
+            }
+            // FilteredMapBuilder is not thread safe
+            synchronized (filteredMapBuilder) {
+                filteredMapBuilder.addTransactions(filteredList);
+            }
+        } finally {
+            inFlightSpans.release(spanCount);
+        }
+    }
+
+    private static int countSpans(List<List<SpanBo>> transactionList) {
+        int count = 0;
+        for (List<SpanBo> transaction : transactionList) {
+            count += transaction.size();
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "FilteredMapStreamer{" +
+                "enable=" + enable +
+                ", batchSize=" + batchSize +
+                ", maxInFlightSpans=" + maxInFlightSpans +
+                '}';
+    }
+
+    static class InFlightSpans {
+        private final int max;
+        private int count;
+        private int peak;
+
+        InFlightSpans(int max) {
+            this.max = max;
+        }
+
+        synchronized void reserve(int spans) {
+            while (count > 0 && count + spans > max) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while waiting for in-flight spans", e);
+                }
+            }
+            count += spans;
+            peak = Math.max(peak, count);
+        }
+
+        /**
+         * replace the reservation with the actual span count. does not block.
+         */
+        synchronized int adjust(int reserved, int spans) {
+            count += spans - reserved;
+            peak = Math.max(peak, count);
+            return spans;
+        }
+
+        synchronized void release(int spans) {
+            count -= spans;
+            notifyAll();
+        }
+
+        synchronized int getCount() {
+            return count;
+        }
+
+        synchronized int getPeak() {
+            return peak;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.google.common.collect.Lists;
+import com.navercorp.pinpoint.common.hbase.HbaseSystemException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentPartitionSelectorTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void keepOrder() {
+        ConcurrentPartitionSelector selector = new ConcurrentPartitionSelector(executor, 4, 10000);
+        List<List<Integer>> partitionList = Lists.partition(newList(100), 7);
+
+        List<Integer> result = selector.select(partitionList, partition -> {
+            sleep(partition.get(0) % 3);
+            return new ArrayList<>(partition);
+        });
+        Assert.assertEquals(newList(100), result);
+    }
+
+    @Test
+    public void maxConcurrency() {
+        final int maxConcurrency = 3;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        ConcurrentPartitionSelector selector = new ConcurrentPartitionSelector(executor, maxConcurrency, 10000);
+
+        selector.select(Lists.partition(newList(50), 2), partition -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(2);
+            running.decrementAndGet();
+            return partition;
+        });
+        Assert.assertTrue("peak:" + peak.get(), peak.get() <= maxConcurrency);
+    }
+
+    @Test(expected = HbaseSystemException.class)
+    public void deadline() {
+        ConcurrentPartitionSelector selector = new ConcurrentPartitionSelector(executor, 2, 50);
+        selector.select(Lists.partition(newList(10), 1), partition -> {
+            sleep(TimeUnit.SECONDS.toMillis(1));
+            return partition;
+        });
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void partitionFail() {
+        ConcurrentPartitionSelector selector = new ConcurrentPartitionSelector(executor, 2, 10000);
+        selector.select(Lists.partition(newList(10), 2), partition -> {
+            throw new IllegalStateException("test");
+        });
+    }
+
+    @Test(expected = TaskRejectedException.class)
+    public void rejected() {
+        Executor rejectExecutor = command -> {
+            throw new TaskRejectedException("test");
+        };
+        ConcurrentPartitionSelector selector = new ConcurrentPartitionSelector(rejectExecutor, 2, 10000);
+        selector.select(Lists.partition(newList(10), 2), partition -> partition);
+    }
+
+    private List<Integer> newList(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase.stat.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupResolution;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupValue;
+import com.navercorp.pinpoint.web.dao.stat.AgentStatRollupDao;
+import com.navercorp.pinpoint.web.dao.stat.SampledCpuLoadDao;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.stat.SampledCpuLoad;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class RollupSampledCpuLoadDaoTest {
+
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long TEN_MINUTES = TimeUnit.MINUTES.toMillis(10);
+
+    private AgentStatRollupDao rollupDao;
+    private SampledCpuLoadDao rawDao;
+    private RollupSampledCpuLoadDao dao;
+
+    @Before
+    public void setUp() {
+        rollupDao = Mockito.mock(AgentStatRollupDao.class);
+        rawDao = Mockito.mock(SampledCpuLoadDao.class);
+        dao = new RollupSampledCpuLoadDao(rollupDao, rawDao);
+    }
+
+    @Test
+    public void coarsestResolution() {
+        // 12 hours -> 10 minutes window slot
+        final long to = TimeUnit.DAYS.toMillis(100);
+        final TimeWindow timeWindow = new TimeWindow(new Range(to - TimeUnit.HOURS.toMillis(12), to));
+        Assert.assertEquals(TEN_MINUTES, timeWindow.getWindowSlotSize());
+
+        final long slot = timeWindow.getWindowRange().getFrom();
+        final List<AgentStatRollupBo> rollupBos = Arrays.asList(
+                newRollupBo(slot, new AgentStatRollupValue(0.1, 0.3, 0.4, 2), new AgentStatRollupValue()),
+                newRollupBo(slot + ONE_MINUTE * 5, new AgentStatRollupValue(0.2, 0.6, 0.8, 2), new AgentStatRollupValue()));
+        Mockito.when(rollupDao.getAgentStatRollupList(eq("agent"), eq(AgentStatRollupType.CPU_LOAD), eq(AgentStatRollupResolution.TEN_MINUTES), any(Range.class)))
+                .thenReturn(rollupBos);
+
+        List<SampledCpuLoad> sampledCpuLoads = dao.getSampledAgentStatList("agent", timeWindow);
+
+        // both rollups are merged into the first window slot
+        Assert.assertEquals(1, sampledCpuLoads.size());
+        AgentStatPoint<Double> jvmCpuLoad = sampledCpuLoads.get(0).getJvmCpuLoad();
+        Assert.assertEquals(slot, jvmCpuLoad.getXVal());
+        Assert.assertEquals(10.0, jvmCpuLoad.getMinYVal(), 0);
+        Assert.assertEquals(60.0, jvmCpuLoad.getMaxYVal(), 0);
+        Assert.assertEquals(30.0, jvmCpuLoad.getAvgYVal(), 0);
+
+        AgentStatPoint<Double> systemCpuLoad = sampledCpuLoads.get(0).getSystemCpuLoad();
+        Assert.assertEquals(SampledCpuLoad.UNCOLLECTED_PERCENTAGE, systemCpuLoad.getMinYVal());
+        Mockito.verifyZeroInteractions(rawDao);
+    }
+
+    @Test
+    public void fallback_smallWindowSlot() {
+        final TimeWindow timeWindow = new TimeWindow(new Range(0, TimeUnit.MINUTES.toMillis(30)), range -> 5000L);
+        dao.getSampledAgentStatList("agent", timeWindow);
+
+        Mockito.verify(rawDao).getSampledAgentStatList("agent", timeWindow);
+        Mockito.verifyZeroInteractions(rollupDao);
+    }
+
+    @Test
+    public void fallback_noRollup() {
+        final TimeWindow timeWindow = new TimeWindow(new Range(0, TimeUnit.DAYS.toMillis(7)));
+        Mockito.when(rollupDao.getAgentStatRollupList(anyString(), any(AgentStatRollupType.class), any(AgentStatRollupResolution.class), any(Range.class)))
+                .thenReturn(Collections.emptyList());
+
+        dao.getSampledAgentStatList("agent", timeWindow);
+
+        Mockito.verify(rollupDao).getAgentStatRollupList(eq("agent"), eq(AgentStatRollupType.CPU_LOAD), eq(AgentStatRollupResolution.ONE_HOUR), any(Range.class));
+        Mockito.verify(rawDao).getSampledAgentStatList("agent", timeWindow);
+    }
+
+    private AgentStatRollupBo newRollupBo(long timestamp, AgentStatRollupValue... values) {
+        return new AgentStatRollupBo(timestamp, values);
+    }
+}
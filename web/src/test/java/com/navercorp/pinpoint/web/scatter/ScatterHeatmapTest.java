@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.scatter;
+
+import com.navercorp.pinpoint.common.server.util.ScatterHeatmapUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ScatterHeatmapTest {
+
+    private static final long FROM = 1577836800000L;
+    private static final long TO = FROM + 10 * 60 * 1000;
+
+    @Test
+    public void addCount() {
+        ScatterHeatmap scatterHeatmap = new ScatterHeatmap(FROM, TO, 60 * 1000);
+        final int bucket = ScatterHeatmapUtils.getElapsedBucket(250);
+        scatterHeatmap.addCount(FROM, bucket, false, 3);
+        scatterHeatmap.addCount(FROM + 50 * 1000, bucket, false, 2);
+        scatterHeatmap.addCount(FROM + 50 * 1000, bucket, true, 1);
+        scatterHeatmap.addCount(FROM + 60 * 1000, bucket, false, 4);
+
+        List<ScatterHeatmap.Cell> cells = scatterHeatmap.getCells();
+        Assert.assertEquals(2, cells.size());
+
+        ScatterHeatmap.Cell first = cells.get(0);
+        Assert.assertEquals(0, first.getX());
+        Assert.assertEquals(5, first.getSuccessCount());
+        Assert.assertEquals(1, first.getFailCount());
+        Assert.assertEquals(201, first.getMinElapsed());
+        Assert.assertEquals(300, first.getMaxElapsed());
+
+        ScatterHeatmap.Cell second = cells.get(1);
+        Assert.assertEquals(60 * 1000, second.getX());
+        Assert.assertEquals(4, second.getSuccessCount());
+
+        Assert.assertEquals(10, scatterHeatmap.getTotalCount());
+    }
+
+    @Test
+    public void addCount_outOfRange() {
+        ScatterHeatmap scatterHeatmap = new ScatterHeatmap(FROM + 5000, TO, 60 * 1000);
+        // the cell overlaps the range
+        scatterHeatmap.addCount(FROM, 0, false, 1);
+        scatterHeatmap.addCount(FROM - ScatterHeatmapUtils.CELL_TIME_SLOT, 0, false, 1);
+        scatterHeatmap.addCount(TO + 1, 0, false, 1);
+        scatterHeatmap.addCount(FROM, ScatterHeatmapUtils.getElapsedBucketSize(), false, 1);
+
+        List<ScatterHeatmap.Cell> cells = scatterHeatmap.getCells();
+        Assert.assertEquals(1, cells.size());
+        Assert.assertEquals(0, cells.get(0).getX());
+        Assert.assertEquals(1, scatterHeatmap.getTotalCount());
+    }
+
+    @Test
+    public void xGroupUnit() {
+        ScatterHeatmap scatterHeatmap = new ScatterHeatmap(FROM, TO, 100);
+        Assert.assertEquals(ScatterHeatmapUtils.CELL_TIME_SLOT, scatterHeatmap.getXGroupUnit());
+    }
+}
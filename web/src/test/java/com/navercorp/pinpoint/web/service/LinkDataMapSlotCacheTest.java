@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.server.util.DefaultTimeSlot;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class LinkDataMapSlotCacheTest {
+
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long NOW = 1_000_000 * ONE_MINUTE + 30_000;
+
+    private final Application caller = new Application("caller", ServiceType.STAND_ALONE);
+    private final Application callee = new Application("callee", ServiceType.STAND_ALONE);
+
+    @Test
+    public void readOnlyOpenSlots() {
+        LinkDataMapSlotCache cache = newCache();
+        FakeDao dao = new FakeDao();
+        Range range = new Range(NOW - TimeUnit.MINUTES.toMillis(30), NOW);
+
+        LinkDataMap first = cache.select(caller, LinkDataMapSlotCache.Direction.CALLER, range, dao::select);
+        Assert.assertEquals(31, first.getTotalCount());
+        Assert.assertEquals(2, dao.ranges.size());
+
+        dao.ranges.clear();
+        LinkDataMap second = cache.select(caller, LinkDataMapSlotCache.Direction.CALLER, range, dao::select);
+        Assert.assertEquals(31, second.getTotalCount());
+        Assert.assertEquals(1, dao.ranges.size());
+        // open slots only
+        final long lastClosedSlot = (NOW / ONE_MINUTE) * ONE_MINUTE - TimeUnit.MINUTES.toMillis(3) - ONE_MINUTE;
+        Assert.assertEquals(lastClosedSlot + ONE_MINUTE, dao.ranges.get(0).getFrom());
+    }
+
+    @Test
+    public void openSlotUpdate() {
+        LinkDataMapSlotCache cache = newCache();
+        FakeDao dao = new FakeDao();
+        Range range = new Range(NOW - TimeUnit.MINUTES.toMillis(10), NOW);
+
+        cache.select(caller, LinkDataMapSlotCache.Direction.CALLER, range, dao::select);
+        dao.counts.put((NOW / ONE_MINUTE) * ONE_MINUTE, 5L);
+        LinkDataMap linkDataMap = cache.select(caller, LinkDataMapSlotCache.Direction.CALLER, range, dao::select);
+        Assert.assertEquals(11 - 1 + 5, linkDataMap.getTotalCount());
+    }
+
+    @Test
+    public void directionKey() {
+        LinkDataMapSlotCache cache = newCache();
+        FakeDao dao = new FakeDao();
+        Range range = new Range(NOW - TimeUnit.MINUTES.toMillis(30), NOW);
+
+        cache.select(caller, LinkDataMapSlotCache.Direction.CALLER, range, dao::select);
+        dao.ranges.clear();
+        cache.select(caller, LinkDataMapSlotCache.Direction.CALLEE, range, dao::select);
+        Assert.assertEquals(2, dao.ranges.size());
+    }
+
+    @Test
+    public void fetchWithMinuteResolution() {
+        LinkDataMapSlotCache cache = newCache();
+        FakeDao dao = new FakeDao();
+        Range range = new Range(NOW - TimeUnit.HOURS.toMillis(3), NOW);
+
+        LinkDataMap linkDataMap = cache.select(caller, LinkDataMapSlotCache.Direction.CALLER, range, dao::select);
+        Assert.assertEquals(181, linkDataMap.getTotalCount());
+        for (Range fetchRange : dao.ranges) {
+            Assert.assertTrue(fetchRange.toString(), fetchRange.getRange() < TimeUnit.HOURS.toMillis(1));
+        }
+    }
+
+    private LinkDataMapSlotCache newCache() {
+        return new LinkDataMapSlotCache(true, new DefaultTimeSlot(), 10000, TimeUnit.MINUTES.toMillis(10), TimeUnit.MINUTES.toMillis(3)) {
+            @Override
+            protected long currentTimeMillis() {
+                return NOW;
+            }
+        };
+    }
+
+    private class FakeDao {
+        private final List<Range> ranges = new ArrayList<>();
+        private final Map<Long, Long> counts = new HashMap<>();
+
+        private LinkDataMap select(Application application, Range range) {
+            ranges.add(range);
+            LinkDataMap linkDataMap = new LinkDataMap();
+            final long from = (range.getFrom() / ONE_MINUTE) * ONE_MINUTE;
+            final long to = (range.getTo() / ONE_MINUTE) * ONE_MINUTE;
+            for (long slot = from; slot <= to; slot += ONE_MINUTE) {
+                final long count = counts.getOrDefault(slot, 1L);
+                linkDataMap.addLinkData(application, "agent", callee, "callee-host", slot, (short) 100, count);
+            }
+            return linkDataMap;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service.map;
+
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.filter.Filter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FilteredMapStreamerTest {
+
+    private static final int SPAN_PER_TRANSACTION = 2;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void stream() {
+        final AtomicInteger inFlightSpans = new AtomicInteger();
+        final AtomicInteger peakInFlightSpans = new AtomicInteger();
+        final AtomicInteger foldedTransactions = new AtomicInteger();
+
+        TraceDao traceDao = mock(TraceDao.class);
+        when(traceDao.selectAllSpans(anyList())).thenAnswer(invocation -> {
+            List<TransactionId> batch = invocation.getArgument(0);
+            List<List<SpanBo>> result = new ArrayList<>();
+            for (TransactionId transactionId : batch) {
+                result.add(newTransaction(transactionId));
+            }
+            final int current = inFlightSpans.addAndGet(batch.size() * SPAN_PER_TRANSACTION);
+            peakInFlightSpans.accumulateAndGet(current, Math::max);
+            return result;
+        });
+        FilteredMapBuilder builder = mock(FilteredMapBuilder.class);
+        doAnswer(invocation -> {
+            List<List<SpanBo>> transactionList = invocation.getArgument(0);
+            foldedTransactions.addAndGet(transactionList.size());
+            return builder;
+        }).when(builder).addTransactions(anyList());
+
+        // even transactions only. a transaction leaves the in-flight spans once filtered
+        Filter<SpanBo> filter = transaction -> {
+            inFlightSpans.addAndGet(-transaction.size());
+            return transaction.get(0).getTransactionId().getTransactionSequence() % 2 == 0;
+        };
+
+        final int batchSize = 10;
+        final int maxInFlightSpans = 40;
+        FilteredMapStreamer streamer = new FilteredMapStreamer(true, executor, batchSize, maxInFlightSpans);
+        streamer.stream(newTransactionIdList(1000), traceDao, filter, builder);
+
+        Assert.assertEquals(500, foldedTransactions.get());
+        // soft cap : may overshoot by one batch of each worker
+        Assert.assertTrue("peak:" + peakInFlightSpans.get(), peakInFlightSpans.get() <= maxInFlightSpans + 4 * batchSize * SPAN_PER_TRANSACTION);
+    }
+
+    @Test(expected = CompletionException.class)
+    public void fetchFail() {
+        TraceDao traceDao = mock(TraceDao.class);
+        when(traceDao.selectAllSpans(anyList())).thenThrow(new IllegalStateException("test"));
+        FilteredMapBuilder builder = mock(FilteredMapBuilder.class);
+
+        FilteredMapStreamer streamer = new FilteredMapStreamer(true, executor, 10, 20);
+        streamer.stream(newTransactionIdList(100), traceDao, Filter.acceptAllFilter(), builder);
+    }
+
+    @Test
+    public void inFlightSpans() {
+        FilteredMapStreamer.InFlightSpans inFlightSpans = new FilteredMapStreamer.InFlightSpans(10);
+        inFlightSpans.reserve(5);
+        Assert.assertEquals(20, inFlightSpans.adjust(5, 20));
+        Assert.assertEquals(20, inFlightSpans.getCount());
+        inFlightSpans.release(20);
+        Assert.assertEquals(0, inFlightSpans.getCount());
+        Assert.assertEquals(20, inFlightSpans.getPeak());
+    }
+
+    private List<TransactionId> newTransactionIdList(int size) {
+        List<TransactionId> transactionIdList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactionIdList.add(new TransactionId("agent", 1000, i));
+        }
+        return transactionIdList;
+    }
+
+    private List<SpanBo> newTransaction(TransactionId transactionId) {
+        List<SpanBo> transaction = new ArrayList<>(SPAN_PER_TRANSACTION);
+        for (int i = 0; i < SPAN_PER_TRANSACTION; i++) {
+            SpanBo spanBo = new SpanBo();
+            spanBo.setTransactionId(transactionId);
+            spanBo.setSpanId(i);
+            transaction.add(spanBo);
+        }
+        return transaction;
+    }
+}